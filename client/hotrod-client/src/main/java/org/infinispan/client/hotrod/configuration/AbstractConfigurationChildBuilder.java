@@ -66,6 +66,11 @@ public ConfigurationBuilder clientIntelligence(ClientIntelligence clientIntellig
       return builder.clientIntelligence(clientIntelligence);
    }
 
+   @Override
+   public ConfigurationBuilder readPolicy(ReadPolicy readPolicy) {
+      return builder.readPolicy(readPolicy);
+   }
+
    @Override
    public ConnectionPoolConfigurationBuilder connectionPool() {
       return builder.connectionPool();
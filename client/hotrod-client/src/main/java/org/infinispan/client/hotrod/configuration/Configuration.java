@@ -25,6 +25,7 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.MARSHALLER;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.MAX_RETRIES;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.PROTOCOL_VERSION;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.READ_POLICY;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.REQUEST_BALANCING_STRATEGY;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.SASL_MECHANISM;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.SASL_PROPERTIES_PREFIX;
@@ -109,6 +110,7 @@ public class Configuration implements org.infinispan.api.configuration.Configura
    private final int dnsResolverNegativeTTL;
    private final RemoteCacheManagerMetricsRegistry metricRegistry;
    private final int serverFailureTimeout;
+   private final ReadPolicy readPolicy;
    private final long transactionTimeout;
 
    public Configuration(ExecutorFactoryConfiguration asyncExecutorFactory, Supplier<FailoverRequestBalancingStrategy> balancingStrategyFactory, ClassLoader classLoader,
@@ -123,7 +125,7 @@ public Configuration(ExecutorFactoryConfiguration asyncExecutorFactory, Supplier
                         List<SerializationContextInitializer> contextInitializers,
                         Map<String, RemoteCacheConfiguration> remoteCaches,
                         TransportFactory transportFactory, boolean tracingPropagationEnabled, RemoteCacheManagerMetricsRegistry metricRegistry,
-                        int serverFailureTimeout) {
+                        int serverFailureTimeout, ReadPolicy readPolicy) {
       this.asyncExecutorFactory = asyncExecutorFactory;
       this.balancingStrategyFactory = balancingStrategyFactory;
       this.maxRetries = maxRetries;
@@ -157,6 +159,7 @@ public Configuration(ExecutorFactoryConfiguration asyncExecutorFactory, Supplier
       this.tracingPropagationEnabled = tracingPropagationEnabled;
       this.metricRegistry = Objects.requireNonNullElse(metricRegistry, RemoteCacheManagerMetricsRegistry.DISABLED);
       this.serverFailureTimeout = serverFailureTimeout;
+      this.readPolicy = readPolicy;
    }
 
    public ExecutorFactoryConfiguration asyncExecutorFactory() {
@@ -176,6 +179,13 @@ public ClientIntelligence clientIntelligence() {
       return clientIntelligence;
    }
 
+   /**
+    * Which owner of a key receives the reads of the key.
+    */
+   public ReadPolicy readPolicy() {
+      return readPolicy;
+   }
+
    public ConnectionPoolConfiguration connectionPool() {
       return connectionPool;
    }
@@ -357,6 +367,7 @@ public String toString() {
             + ", statistics=" + statistics
             + ", metricRegistry=" + metricRegistry
             + ", serverFailureTimeout=" + serverFailureTimeout
+            + ", readPolicy=" + readPolicy
             + "]";
    }
 
@@ -371,6 +382,7 @@ public Properties properties() {
       }
       properties.setProperty(REQUEST_BALANCING_STRATEGY, balancingStrategyFactory().get().getClass().getName());
       properties.setProperty(CLIENT_INTELLIGENCE, clientIntelligence().name());
+      properties.setProperty(READ_POLICY, readPolicy().name());
       properties.setProperty(CONNECT_TIMEOUT, Integer.toString(connectionTimeout()));
       for (int i = 0; i < consistentHashImpl().length; i++) {
          int version = i + 1;
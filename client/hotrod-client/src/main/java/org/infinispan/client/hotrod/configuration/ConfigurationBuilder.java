@@ -67,6 +67,7 @@ public class ConfigurationBuilder implements ConfigurationChildBuilder, Builder<
    private final ExecutorFactoryConfigurationBuilder asyncExecutorFactory;
    private Supplier<FailoverRequestBalancingStrategy> balancingStrategyFactory = RoundRobinBalancingStrategy::new;
    private ClientIntelligence clientIntelligence = ClientIntelligence.getDefault();
+   private ReadPolicy readPolicy = ReadPolicy.getDefault();
    private final ConnectionPoolConfigurationBuilder connectionPool;
    private int connectionTimeout = ConfigurationProperties.DEFAULT_CONNECT_TIMEOUT;
    @SuppressWarnings("unchecked")
@@ -186,6 +187,12 @@ public ConfigurationBuilder clientIntelligence(ClientIntelligence clientIntellig
       return this;
    }
 
+   @Override
+   public ConfigurationBuilder readPolicy(ReadPolicy readPolicy) {
+      this.readPolicy = readPolicy;
+      return this;
+   }
+
    @Override
    public ConnectionPoolConfigurationBuilder connectionPool() {
       return connectionPool;
@@ -399,6 +406,9 @@ public ConfigurationBuilder withProperties(Properties properties) {
       if (typed.containsKey(ConfigurationProperties.CLIENT_INTELLIGENCE)) {
          this.clientIntelligence(typed.getEnumProperty(ConfigurationProperties.CLIENT_INTELLIGENCE, ClientIntelligence.class, ClientIntelligence.getDefault(), true));
       }
+      if (typed.containsKey(ConfigurationProperties.READ_POLICY)) {
+         this.readPolicy(typed.getEnumProperty(ConfigurationProperties.READ_POLICY, ReadPolicy.class, ReadPolicy.getDefault(), true));
+      }
       this.connectionPool.withPoolProperties(typed);
       if (typed.containsKey(ConfigurationProperties.CONNECT_TIMEOUT)) {
          this.connectionTimeout((int) typed.getDurationProperty(ConfigurationProperties.CONNECT_TIMEOUT, connectionTimeout, true));
@@ -584,7 +594,8 @@ public Configuration create() {
             forceReturnValues, buildMarshaller, buildMarshallerClass, protocolVersion, servers, socketTimeout,
             security.create(), tcpNoDelay, tcpKeepAlive, maxRetries,
             serverClusterConfigs, allowListRegExs, batchSize, transactionTimeout, statistics.create(), features,
-            contextInitializers, remoteCaches, transportFactory, tracingPropagationEnabled, metricRegistry, serverFailureTimeout);
+            contextInitializers, remoteCaches, transportFactory, tracingPropagationEnabled, metricRegistry, serverFailureTimeout,
+            readPolicy);
    }
 
    // Method that handles default marshaller - needed as a placeholder
@@ -640,6 +651,7 @@ public ConfigurationBuilder read(Configuration template, Combine combine) {
       this.contextInitializers.clear();
       this.contextInitializers.addAll(template.getContextInitializers());
       this.clientIntelligence = template.clientIntelligence();
+      this.readPolicy = template.readPolicy();
       return this;
    }
 
@@ -71,6 +71,13 @@ public interface ConfigurationChildBuilder {
     */
    ConfigurationBuilder clientIntelligence(ClientIntelligence clientIntelligence);
 
+   /**
+    * Specifies which owner of a key receives the reads of the key when the client is
+    * {@link ClientIntelligence#HASH_DISTRIBUTION_AWARE hash distribution aware}. Defaults to
+    * {@link ReadPolicy#PRIMARY}.
+    */
+   ConfigurationBuilder readPolicy(ReadPolicy readPolicy);
+
    /**
     * This property defines the maximum socket connect timeout in milliseconds before giving up connecting to the
     * server. Defaults to {@link org.infinispan.client.hotrod.impl.ConfigurationProperties#DEFAULT_CONNECT_TIMEOUT}
@@ -0,0 +1,26 @@
+package org.infinispan.client.hotrod.configuration;
+
+/**
+ * ReadPolicy selects the server that receives a read of a key when the client is
+ * {@link ClientIntelligence#HASH_DISTRIBUTION_AWARE hash distribution aware}.
+ * <ul>
+ * <li><b>PRIMARY</b> sends the read to the primary owner of the key. This is the default</li>
+ * <li><b>LEAST_OUTSTANDING</b> sends the read to the owner of the key with the fewest reads from this client still
+ * waiting for a response, preferring the primary owner when there is a tie</li>
+ * <li><b>LATENCY_AWARE</b> sends the read to the owner of the key with the lowest average read latency, weighted by its
+ * outstanding reads</li>
+ * </ul>
+ * Writes are always sent to the primary owner. The owners of a key serve the same value once a write completed, so
+ * reading from a backup owner does not change the consistency observed by the client.
+ *
+ * @since 16.3
+ */
+public enum ReadPolicy {
+   PRIMARY,
+   LEAST_OUTSTANDING,
+   LATENCY_AWARE;
+
+   public static ReadPolicy getDefault() {
+      return PRIMARY;
+   }
+}
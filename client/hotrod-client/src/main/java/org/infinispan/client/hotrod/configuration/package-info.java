@@ -63,6 +63,12 @@
  *          <td>The {@link org.infinispan.client.hotrod.configuration.ConfigurationBuilder#clientIntelligence(ClientIntelligence) ClientIntelligence}</td>
  *       </tr>
  *       <tr>
+ *          <td><b>infinispan.client.hotrod.read_policy</b></td>
+ *          <td>String</td>
+ *          <td>{@link org.infinispan.client.hotrod.configuration.ReadPolicy#PRIMARY PRIMARY}</td>
+ *          <td>The {@link org.infinispan.client.hotrod.configuration.ConfigurationBuilder#readPolicy(ReadPolicy) ReadPolicy}</td>
+ *       </tr>
+ *       <tr>
  *          <td><b>infinispan.client.hotrod.request_balancing_strategy</b></td>
  *          <td>String (class name)</td>
  *          <td>{@link org.infinispan.client.hotrod.impl.transport.tcp.RoundRobinBalancingStrategy RoundRobinBalancingStrategy}</td>
@@ -9,6 +9,7 @@
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.configuration.ExhaustedAction;
+import org.infinispan.client.hotrod.configuration.ReadPolicy;
 import org.infinispan.client.hotrod.configuration.StatisticsConfiguration;
 import org.infinispan.client.hotrod.impl.async.DefaultAsyncExecutorFactory;
 import org.infinispan.client.hotrod.impl.transport.tcp.RoundRobinBalancingStrategy;
@@ -29,6 +30,7 @@ public class ConfigurationProperties {
    public static final String CONTEXT_INITIALIZERS = ICH + "context-initializers";
    public static final String ASYNC_EXECUTOR_FACTORY = ICH + "async_executor_factory";
    public static final String CLIENT_INTELLIGENCE = ICH + "client_intelligence";
+   public static final String READ_POLICY = ICH + "read_policy";
    public static final String DEFAULT_EXECUTOR_FACTORY_POOL_SIZE = ICH + "default_executor_factory.pool_size";
    public static final String DEFAULT_EXECUTOR_FACTORY_THREADNAME_PREFIX = ICH + "default_executor_factory.threadname_prefix";
    public static final String DEFAULT_EXECUTOR_FACTORY_THREADNAME_SUFFIX = ICH + "default_executor_factory.threadname_suffix";
@@ -277,6 +279,14 @@ public void setClientIntelligence(String clientIntelligence) {
       props.setProperty(CLIENT_INTELLIGENCE, clientIntelligence);
    }
 
+   public String getReadPolicy() {
+      return props.getProperty(READ_POLICY, ReadPolicy.getDefault().name());
+   }
+
+   public void setReadPolicy(String readPolicy) {
+      props.setProperty(READ_POLICY, readPolicy);
+   }
+
    public int getConnectTimeout() {
       return props.getIntProperty(CONNECT_TIMEOUT, DEFAULT_CONNECT_TIMEOUT);
    }
@@ -29,6 +29,7 @@
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.configuration.ClusterConfiguration;
 import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.configuration.ReadPolicy;
 import org.infinispan.client.hotrod.configuration.ServerConfiguration;
 import org.infinispan.client.hotrod.event.impl.ClientEventDispatcher;
 import org.infinispan.client.hotrod.event.impl.ClientListenerNotifier;
@@ -56,6 +57,7 @@
 import org.infinispan.commons.reactive.Functions;
 import org.infinispan.commons.reactive.RxJavaInterop;
 import org.infinispan.commons.stat.CounterTracker;
+import org.infinispan.commons.stat.TargetLoadTracker;
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.concurrent.CompletionStages;
 
@@ -111,6 +113,8 @@ public class OperationDispatcher {
    private final CounterTracker totalRetriesMetric;
    private volatile boolean isRunning;
    private final long awaitTimeout;
+   private final ReadPolicy readPolicy;
+   private final TargetLoadTracker<SocketAddress> readLoadTracker;
 
    public OperationDispatcher(Configuration configuration, ExecutorService executorService, TimeService timeService,
                               ClientListenerNotifier clientListenerNotifier, Consumer<ChannelPipeline> pipelineDecorator) {
@@ -119,6 +123,8 @@ public OperationDispatcher(Configuration configuration, ExecutorService executor
       this.clientListenerNotifier = clientListenerNotifier;
       this.maxRetries = configuration.maxRetries();
       this.awaitTimeout = Math.max(TimeUnit.MINUTES.toMillis(2), configuration.socketTimeout());
+      this.readPolicy = configuration.readPolicy();
+      this.readLoadTracker = new TargetLoadTracker<>(timeService);
 
       this.connectionFailedServers = configuration.serverFailureTimeout() > 0 ?
             Collections.newSetFromMap(Caffeine.newBuilder()
@@ -282,7 +288,9 @@ private <E> CompletionStage<E> execute(HotRodOperation<E> operation, Set<SocketA
       Object routingObj = operation.getRoutingObject();
       SocketAddress targetAddress = null;
       if (routingObj != null) {
-         targetAddress = addressForObject(routingObj, operation.getCacheName(), opFailedServers);
+         targetAddress = isBalancedRead(operation) ?
+               readAddressForObject(operation, routingObj, opFailedServers) :
+               addressForObject(routingObj, operation.getCacheName(), opFailedServers);
       }
       if (targetAddress == null) {
          targetAddress = getBalancer(operation.getCacheName()).nextServer(opFailedServers);
@@ -290,6 +298,41 @@ private <E> CompletionStage<E> execute(HotRodOperation<E> operation, Set<SocketA
       return executeOnSingleAddress(operation, targetAddress);
    }
 
+   private boolean isBalancedRead(HotRodOperation<?> operation) {
+      if (readPolicy == ReadPolicy.PRIMARY) {
+         return false;
+      }
+      short opCode = operation.requestOpCode();
+      return opCode == HotRodConstants.GET_REQUEST || opCode == HotRodConstants.GET_WITH_METADATA ||
+            opCode == HotRodConstants.CONTAINS_KEY_REQUEST;
+   }
+
+   /**
+    * Selects the owner of the routing object that should serve a read according to the {@link ReadPolicy}, and tracks
+    * the read until the operation completes.
+    */
+   private SocketAddress readAddressForObject(HotRodOperation<?> operation, Object routingObject,
+                                              Set<SocketAddress> opFailedServers) {
+      CacheInfo cacheInfo = getCacheInfo(operation.getCacheName());
+      if (cacheInfo == null || !(cacheInfo.getConsistentHash() instanceof SegmentConsistentHash ch)) {
+         return addressForObject(routingObject, operation.getCacheName(), opFailedServers);
+      }
+      List<SocketAddress> owners = Arrays.asList(ch.getSegmentOwners()[ch.getSegment(routingObject)]);
+      if (!opFailedServers.isEmpty()) {
+         owners = new ArrayList<>(owners);
+         owners.removeAll(opFailedServers);
+      }
+      if (owners.isEmpty()) {
+         return null;
+      }
+      SocketAddress server = owners.get(readLoadTracker.leastLoaded(owners, readPolicy == ReadPolicy.LATENCY_AWARE));
+      long startNanos = readLoadTracker.start(server);
+      operation.asCompletableFuture().whenComplete((v, t) -> readLoadTracker.complete(server, startNanos));
+      if (log.isTraceEnabled())
+         log.tracef("Selected server %s out of %s for read %s", server, owners, operation);
+      return server;
+   }
+
    public SocketAddress addressForObject(Object routingObject, String cacheName) {
       return addressForObject(routingObject, cacheName, Set.of());
    }
@@ -467,6 +510,9 @@ protected void updateCacheInfo(String cacheName, CacheInfo newCacheInfo) {
 
       // Then update the server list for new operations
       topologyInfo.updateCacheInfo(cacheName, oldCacheInfo, newCacheInfo);
+      if (!removedServers.isEmpty()) {
+         readLoadTracker.retainAll(newServers);
+      }
 
       // And finally remove the failed servers
       for (SocketAddress server : removedServers) {
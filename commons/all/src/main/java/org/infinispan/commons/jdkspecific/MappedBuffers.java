@@ -0,0 +1,29 @@
+package org.infinispan.commons.jdkspecific;
+
+import java.nio.MappedByteBuffer;
+
+/**
+ * Releases the memory mapping of a {@link MappedByteBuffer} without waiting for the buffer to be garbage collected.
+ *
+ * @since 16.3
+ */
+public final class MappedBuffers {
+
+   private MappedBuffers() {
+   }
+
+   /**
+    * Unmaps the buffer. The buffer, and every buffer sliced or duplicated from it, must not be accessed anymore, as the
+    * access would crash the JVM.
+    *
+    * @return {@code false} if the buffer could not be unmapped, and the mapping is released when it is collected
+    */
+   public static boolean unmap(MappedByteBuffer buffer) {
+      try {
+         UnsafeHolder.UNSAFE.invokeCleaner(buffer);
+         return true;
+      } catch (RuntimeException | LinkageError e) {
+         return false;
+      }
+   }
+}
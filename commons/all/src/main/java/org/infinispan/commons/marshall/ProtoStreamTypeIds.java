@@ -442,6 +442,19 @@ public interface ProtoStreamTypeIds {
    int COLLECTOR_FINALIZER_SUPPLIER = CORE_LOWER_BOUND + 335;
    int COLLECTOR_REDUCER_SUPPLIER = CORE_LOWER_BOUND + 336;
 
+   // Transport command batching
+   int MULTIPLE_RPC_COMMAND = CORE_LOWER_BOUND + 337;
+
+   // Entries linked in access order by the intrusive eviction policies
+   int ACCESS_ORDER_IMMORTAL_CACHE_ENTRY = CORE_LOWER_BOUND + 338;
+   int ACCESS_ORDER_MORTAL_CACHE_ENTRY = CORE_LOWER_BOUND + 339;
+   int ACCESS_ORDER_TRANSIENT_CACHE_ENTRY = CORE_LOWER_BOUND + 340;
+   int ACCESS_ORDER_TRANSIENT_MORTAL_CACHE_ENTRY = CORE_LOWER_BOUND + 341;
+   int ACCESS_ORDER_METADATA_IMMORTAL_CACHE_ENTRY = CORE_LOWER_BOUND + 342;
+   int ACCESS_ORDER_METADATA_MORTAL_CACHE_ENTRY = CORE_LOWER_BOUND + 343;
+   int ACCESS_ORDER_METADATA_TRANSIENT_CACHE_ENTRY = CORE_LOWER_BOUND + 344;
+   int ACCESS_ORDER_METADATA_TRANSIENT_MORTAL_CACHE_ENTRY = CORE_LOWER_BOUND + 345;
+
    // Counter range 4000 -> 4199
    int COUNTERS_LOWER_BOUND = 4000;
    int COUNTER_STATE = COUNTERS_LOWER_BOUND;
@@ -588,6 +601,23 @@ public interface ProtoStreamTypeIds {
    int MULTIMAP_SORTED_SET_RANDOM_FUNCTION = MULTIMAP_LOWER_BOUND + 46;
    int MULTIMAP_SUBSET_FUNCTION = MULTIMAP_LOWER_BOUND + 47;
    int MULTIMAP_TRIM_FUNCTION = MULTIMAP_LOWER_BOUND + 48;
+   int MULTIMAP_STREAM_BUCKET = MULTIMAP_LOWER_BOUND + 49;
+   int MULTIMAP_STREAM_ID = MULTIMAP_LOWER_BOUND + 50;
+   int MULTIMAP_STREAM_ENTRY = MULTIMAP_LOWER_BOUND + 51;
+   int MULTIMAP_STREAM_CONSUMER_GROUP = MULTIMAP_LOWER_BOUND + 52;
+   int MULTIMAP_STREAM_PENDING_ENTRY = MULTIMAP_LOWER_BOUND + 53;
+   int MULTIMAP_STREAM_CONSUMER = MULTIMAP_LOWER_BOUND + 54;
+   int MULTIMAP_STREAM_ADD_FUNCTION = MULTIMAP_LOWER_BOUND + 55;
+   int MULTIMAP_STREAM_RANGE_FUNCTION = MULTIMAP_LOWER_BOUND + 56;
+   int MULTIMAP_STREAM_TRIM_FUNCTION = MULTIMAP_LOWER_BOUND + 57;
+   int MULTIMAP_STREAM_DELETE_FUNCTION = MULTIMAP_LOWER_BOUND + 58;
+   int MULTIMAP_STREAM_GROUP_FUNCTION = MULTIMAP_LOWER_BOUND + 59;
+   int MULTIMAP_STREAM_GROUP_OPERATION = MULTIMAP_LOWER_BOUND + 60;
+   int MULTIMAP_STREAM_READ_GROUP_FUNCTION = MULTIMAP_LOWER_BOUND + 61;
+   int MULTIMAP_STREAM_ACK_FUNCTION = MULTIMAP_LOWER_BOUND + 62;
+   int MULTIMAP_STREAM_PENDING_FUNCTION = MULTIMAP_LOWER_BOUND + 63;
+   int MULTIMAP_LIST_BUCKET_CHUNK = MULTIMAP_LOWER_BOUND + 64;
+   int MULTIMAP_BUCKET_SNAPSHOT_FUNCTION = MULTIMAP_LOWER_BOUND + 65;
 
    // Server Core 5400 -> 5799
    int SERVER_CORE_LOWER_BOUND = 5400;
@@ -0,0 +1,129 @@
+package org.infinispan.commons.stat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.time.TimeService;
+
+/**
+ * Tracks the load of the targets of requests, such as the nodes of a cluster, in order to pick the least loaded one.
+ *
+ * <p>
+ * For each target, the tracker counts the requests that are still outstanding and keeps an exponentially weighted
+ * moving average of their latency, giving a weight of 1/8 to every new sample. The average is updated without
+ * synchronization, so concurrent completions may occasionally lose a sample.
+ * </p>
+ *
+ * <p>
+ * Every {@link #start(Object)} must be followed by a {@link #complete(Object, long)} for the same target, including
+ * when the request fails.
+ * </p>
+ *
+ * @since 16.3
+ */
+public final class TargetLoadTracker<T> {
+
+   private static final int LATENCY_WEIGHT_SHIFT = 3;
+
+   private final TimeService timeService;
+   private final ConcurrentHashMap<T, Load> loads = new ConcurrentHashMap<>();
+
+   public TargetLoadTracker(TimeService timeService) {
+      this.timeService = timeService;
+   }
+
+   /**
+    * Records the start of a request to the target.
+    *
+    * @return the start time, to be passed to {@link #complete(Object, long)}
+    */
+   public long start(T target) {
+      load(target).outstanding.incrementAndGet();
+      return timeService.time();
+   }
+
+   /**
+    * Records the completion of a request to the target started at {@code startNanos}.
+    */
+   public void complete(T target, long startNanos) {
+      Load load = loads.get(target);
+      if (load == null) {
+         // The target was removed while the request was in progress
+         return;
+      }
+      // A target removed and added again while the request was in progress must not go below 0
+      load.outstanding.getAndUpdate(v -> v > 0 ? v - 1 : 0);
+      long latency = timeService.timeDuration(startNanos, TimeUnit.NANOSECONDS);
+      long average = load.latencyNanos;
+      load.latencyNanos = average == 0 ? latency : average + ((latency - average) >> LATENCY_WEIGHT_SHIFT);
+   }
+
+   /**
+    * @return the number of requests to the target that have not completed yet.
+    */
+   public int outstanding(T target) {
+      Load load = loads.get(target);
+      return load == null ? 0 : load.outstanding.get();
+   }
+
+   /**
+    * @return the average latency of the requests to the target in nanoseconds, or {@code 0} if no request completed.
+    */
+   public long latencyNanos(T target) {
+      Load load = loads.get(target);
+      return load == null ? 0 : load.latencyNanos;
+   }
+
+   /**
+    * Selects the least loaded target.
+    * <p>
+    * Without {@code latencyAware}, the least loaded target is the one with the fewest outstanding requests. With
+    * {@code latencyAware}, it is the one with the lowest average latency multiplied by the number of outstanding
+    * requests plus one, so that a target without any completed request is tried first. Ties go to the target that
+    * comes first in {@code candidates}.
+    *
+    * @return the index of the least loaded target in {@code candidates}
+    */
+   public int leastLoaded(List<T> candidates, boolean latencyAware) {
+      int selected = 0;
+      long selectedScore = Long.MAX_VALUE;
+      for (int i = 0; i < candidates.size(); i++) {
+         Load load = loads.get(candidates.get(i));
+         long score;
+         if (load == null) {
+            score = 0;
+         } else {
+            int outstanding = load.outstanding.get();
+            score = latencyAware ? load.latencyNanos * (outstanding + 1) : outstanding;
+         }
+         if (score < selectedScore) {
+            selected = i;
+            selectedScore = score;
+         }
+      }
+      return selected;
+   }
+
+   /**
+    * Forgets the targets that are not in {@code targets}.
+    */
+   public void retainAll(Collection<?> targets) {
+      loads.keySet().retainAll(targets);
+   }
+
+   private Load load(T target) {
+      Load load = loads.get(target);
+      if (load == null) {
+         load = loads.computeIfAbsent(target, t -> new Load());
+      }
+      return load;
+   }
+
+   private static final class Load {
+      final AtomicInteger outstanding = new AtomicInteger();
+      volatile long latencyNanos;
+   }
+}
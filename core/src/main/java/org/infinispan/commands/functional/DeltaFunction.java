@@ -0,0 +1,47 @@
+package org.infinispan.commands.functional;
+
+import java.util.function.Function;
+
+import org.infinispan.functional.EntryView.ReadWriteEntryView;
+
+/**
+ * A read-write function that can describe the changes it applied to an entry.
+ * <p>
+ * The function passed to a {@link ReadWriteKeyCommand} is executed on the primary owner and, by default, the same
+ * function is sent to the backup owners, where it is executed again against their copy of the entry. A function
+ * implementing this interface instead returns from {@link #applyWithDelta(ReadWriteEntryView)} a function that
+ * reproduces the changes of the execution on the primary owner. This is required when the function is not
+ * deterministic, and it is useful when reproducing the changes is cheaper than executing the function again.
+ * <p>
+ * The delta is kept by the command that executed the function, and it replaces the function in the commands sent to
+ * the backup owners. Transactional caches and persistence are not affected.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ * @param <R> the type of the result
+ * @since 16.3
+ */
+public interface DeltaFunction<K, V, R> extends Function<ReadWriteEntryView<K, V>, R> {
+
+   /**
+    * Executes the function and describes the changes it applied to the entry.
+    *
+    * @return the result of the function, and the function to execute on the backup owners
+    */
+   Delta<K, V, R> applyWithDelta(ReadWriteEntryView<K, V> entryView);
+
+   @Override
+   default R apply(ReadWriteEntryView<K, V> entryView) {
+      return applyWithDelta(entryView).result();
+   }
+
+   /**
+    * The result of an execution of a {@link DeltaFunction}.
+    *
+    * @param result the result of the function
+    * @param delta  a function applying the same changes to the entry, or {@code null} to send the original function to
+    *               the backup owners
+    */
+   record Delta<K, V, R>(R result, Function<ReadWriteEntryView<K, V>, ?> delta) {
+   }
+}
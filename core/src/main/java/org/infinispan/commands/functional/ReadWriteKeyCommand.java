@@ -28,6 +28,8 @@
 public final class ReadWriteKeyCommand<K, V, R> extends AbstractWriteKeyCommand<K, V> {
 
    private Function<ReadWriteEntryView<K, V>, R> f;
+   // The changes applied by the last local execution of a DeltaFunction
+   private transient Function<ReadWriteEntryView<K, V>, ?> delta;
 
    public ReadWriteKeyCommand(ByteString cacheName, Object key, Function<ReadWriteEntryView<K, V>, R> f, int segment,
                               CommandInvocationId id, ValueMatcher valueMatcher, Params params,
@@ -84,6 +86,43 @@ public Function<ReadWriteEntryView<K, V>, R> getFunction() {
       return f;
    }
 
+   /**
+    * Executes the function against the entry, keeping the changes it applied when it is a {@link DeltaFunction}.
+    */
+   public R apply(ReadWriteEntryView<K, V> entryView) {
+      if (f instanceof DeltaFunction<K, V, R> deltaFunction) {
+         DeltaFunction.Delta<K, V, R> result = deltaFunction.applyWithDelta(entryView);
+         delta = result.delta();
+         return result.result();
+      }
+      return f.apply(entryView);
+   }
+
+   /**
+    * @return the function to execute on the backup owners, which is the delta of the last local execution of the
+    * function when it is a {@link DeltaFunction}
+    */
+   public Function<ReadWriteEntryView<K, V>, ?> getBackupFunction() {
+      return delta != null ? delta : f;
+   }
+
+   /**
+    * @return the command to send to the backup owners, executing {@link #getBackupFunction()} with the same flags,
+    * topology and invocation id as this command
+    */
+   public ReadWriteKeyCommand<K, V, ?> toBackupCommand() {
+      Function<ReadWriteEntryView<K, V>, ?> backupFunction = getBackupFunction();
+      if (backupFunction == f) {
+         return this;
+      }
+      ReadWriteKeyCommand<K, V, ?> command = new ReadWriteKeyCommand<>(cacheName, key, backupFunction, segment,
+            commandInvocationId, valueMatcher, params, keyDataConversion, valueDataConversion);
+      command.setFlagsBitSet(getFlagsBitSet());
+      command.setTopologyId(getTopologyId());
+      command.setInternalMetadata(internalMetadata);
+      return command;
+   }
+
    @Override
    public NodeVersion supportedSince() {
       return NodeVersion.SIXTEEN;
@@ -0,0 +1,62 @@
+package org.infinispan.commands.remote;
+
+import java.util.List;
+
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.marshall.protostream.impl.MarshallableList;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+import org.infinispan.remoting.transport.NodeVersion;
+
+/**
+ * A batch of commands sent by the transport to the same destination in a single message.
+ * <p>
+ * The transport only batches commands that do not expect a response. The receiver handles the commands one by one, in
+ * the order they were sent, as if each one had been sent in its own message with the delivery order of the batch.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIPLE_RPC_COMMAND)
+public class MultipleRpcCommand implements ReplicableCommand {
+
+   public static final NodeVersion SUPPORTED_SINCE = NodeVersion.from((byte) 16, (byte) 3, (byte) 0);
+
+   private final List<ReplicableCommand> commands;
+
+   public MultipleRpcCommand(List<ReplicableCommand> commands) {
+      this.commands = commands;
+   }
+
+   @ProtoFactory
+   MultipleRpcCommand(MarshallableList<ReplicableCommand> wrappedCommands) {
+      this(MarshallableList.unwrap(wrappedCommands));
+   }
+
+   @ProtoField(1)
+   MarshallableList<ReplicableCommand> getWrappedCommands() {
+      return MarshallableList.create(commands);
+   }
+
+   public List<ReplicableCommand> getCommands() {
+      return commands;
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return false;
+   }
+
+   @Override
+   public NodeVersion supportedSince() {
+      return SUPPORTED_SINCE;
+   }
+
+   @Override
+   public String toString() {
+      return "MultipleRpcCommand{" +
+            "commands=" + commands +
+            '}';
+   }
+}
@@ -74,7 +74,7 @@ private SingleKeyFunctionalBackupWriteCommand(ByteString cacheName, AbstractWrit
 
    public static SingleKeyFunctionalBackupWriteCommand create(ByteString cacheName, ReadWriteKeyCommand<?, ?, ?> command, long sequence, int segmentId) {
       return new SingleKeyFunctionalBackupWriteCommand(cacheName, command, sequence, segmentId, READ_WRITE, command.getKey(), null, null,
-            null, command.getFunction());
+            null, command.getBackupFunction());
    }
 
    public static SingleKeyFunctionalBackupWriteCommand create(ByteString cacheName, ReadWriteKeyValueCommand<?, ?, ?, ?> command, long sequence, int segmentId) {
@@ -17,9 +17,10 @@ public class AsyncStoreConfiguration extends ConfigurationElement<AsyncStoreConf
    public static final AttributeDefinition<Boolean> ENABLED = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.ENABLED, false).immutable().build();
    public static final AttributeDefinition<Integer> MODIFICATION_QUEUE_SIZE  = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.MODIFICATION_QUEUE_SIZE, 1024).immutable().build();
    public static final AttributeDefinition<Boolean> FAIL_SILENTLY = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.FAIL_SILENTLY, false).immutable().build();
+   public static final AttributeDefinition<Boolean> JOURNAL = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.JOURNAL, false).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(AsyncStoreConfiguration.class, ENABLED, MODIFICATION_QUEUE_SIZE, FAIL_SILENTLY);
+      return new AttributeSet(AsyncStoreConfiguration.class, ENABLED, MODIFICATION_QUEUE_SIZE, FAIL_SILENTLY, JOURNAL);
    }
 
    private final Attribute<Boolean> failSilently;
@@ -49,4 +50,12 @@ public int modificationQueueSize() {
    public boolean failSilently() {
       return failSilently.get();
    }
+
+   /**
+    * If true, the modifications that do not fit in the modification queue are appended to a journal in the global
+    * persistent location instead of blocking the writers, and the journal is replayed when the store is restarted.
+    */
+   public boolean journal() {
+      return attributes.attribute(JOURNAL).get();
+   }
 }
@@ -2,6 +2,7 @@
 
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.ENABLED;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.FAIL_SILENTLY;
+import static org.infinispan.configuration.cache.AsyncStoreConfiguration.JOURNAL;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.MODIFICATION_QUEUE_SIZE;
 
 import org.infinispan.commons.configuration.Builder;
@@ -79,6 +80,17 @@ public AsyncStoreConfigurationBuilder<S> failSilently(boolean failSilently) {
       return this;
    }
 
+   /**
+    * If true, the modifications that do not fit in the modification queue are appended to a local journal instead of
+    * blocking the writers until the current batch completes. The journal is kept in the global persistent location,
+    * its modifications are written to the underlying store as the queue drains and they are replayed if the store
+    * is restarted before they are written. Defaults to false.
+    */
+   public AsyncStoreConfigurationBuilder<S> journal(boolean journal) {
+      attributes.attribute(JOURNAL).set(journal);
+      return this;
+   }
+
    @Override
    public AsyncStoreConfiguration create() {
       return new AsyncStoreConfiguration(attributes.protect());
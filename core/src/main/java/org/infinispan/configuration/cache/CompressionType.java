@@ -0,0 +1,22 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Compression algorithm applied to marshalled values by the data container and the persistence layer.
+ *
+ * @since 16.3
+ */
+public enum CompressionType {
+   /**
+    * Values are kept as they are marshalled.
+    */
+   NONE,
+   /**
+    * Values are compressed with the Deflate algorithm provided by the JDK. Trades some CPU on writes and reads for a
+    * smaller memory and storage footprint, and it works best with large, repetitive payloads such as JSON documents.
+    */
+   DEFLATE;
+
+   public boolean isEnabled() {
+      return this != NONE;
+   }
+}
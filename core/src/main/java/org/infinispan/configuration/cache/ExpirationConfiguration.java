@@ -17,9 +17,10 @@ public class ExpirationConfiguration extends ConfigurationElement<ExpirationConf
    public static final AttributeDefinition<Boolean> REAPER_ENABLED = AttributeDefinition.builder("reaperEnabled", true).immutable().autoPersist(false).build();
    public static final AttributeDefinition<TimeQuantity> WAKEUP_INTERVAL = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.INTERVAL, TimeQuantity.valueOf("1m")).parser(TimeQuantity.PARSER).build();
    public static final AttributeDefinition<TouchMode> TOUCH = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.TOUCH, TouchMode.SYNC).immutable().build();
+   public static final AttributeDefinition<Boolean> INDEX = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.INDEX, false).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ExpirationConfiguration.class, LIFESPAN, MAX_IDLE, REAPER_ENABLED, WAKEUP_INTERVAL, TOUCH);
+      return new AttributeSet(ExpirationConfiguration.class, LIFESPAN, MAX_IDLE, REAPER_ENABLED, WAKEUP_INTERVAL, TOUCH, INDEX);
    }
 
    private final Attribute<TimeQuantity> lifespan;
@@ -27,6 +28,7 @@ static AttributeSet attributeDefinitionSet() {
    private final Attribute<Boolean> reaperEnabled;
    private final Attribute<TimeQuantity> wakeUpInterval;
    private final Attribute<TouchMode> touch;
+   private final Attribute<Boolean> index;
 
    ExpirationConfiguration(AttributeSet attributes) {
       super(Element.EXPIRATION, attributes);
@@ -35,6 +37,7 @@ static AttributeSet attributeDefinitionSet() {
       reaperEnabled = attributes.attribute(REAPER_ENABLED);
       wakeUpInterval = attributes.attribute(WAKEUP_INTERVAL);
       touch = attributes.attribute(TOUCH);
+      index = attributes.attribute(INDEX);
    }
 
    /**
@@ -84,4 +87,13 @@ public long wakeUpInterval() {
    public TouchMode touch() {
       return touch.get();
    }
+
+   /**
+    * Whether the data container keeps an index of the entries that can expire, ordered by their expiration time.
+    * When enabled, the expiration reaper only visits the entries that are due instead of iterating over the whole
+    * container, at the cost of some additional memory for every entry with a lifespan or max idle.
+    */
+   public boolean index() {
+      return index.get();
+   }
 }
@@ -1,5 +1,6 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.ExpirationConfiguration.INDEX;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.LIFESPAN;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.MAX_IDLE;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.REAPER_ENABLED;
@@ -171,6 +172,16 @@ public ExpirationConfigurationBuilder touch(TouchMode touchMode) {
       return this;
    }
 
+   /**
+    * Enables an index of the entries that can expire, ordered by their expiration time, so that the expiration reaper
+    * only visits the entries that are due instead of iterating over the whole data container. This is worthwhile
+    * when only a small fraction of the entries have a lifespan or max idle.
+    */
+   public ExpirationConfigurationBuilder index(boolean index) {
+      attributes.attribute(INDEX).set(index);
+      return this;
+   }
+
    @Override
    public void validate() {
       Attribute<TouchMode> touch = attributes.attribute(TOUCH);
@@ -32,15 +32,17 @@ public class HashConfiguration extends ConfigurationElement<HashConfiguration> {
          .initializer(HashFunctionPartitioner::new)
          .serializer(AttributeSerializer.INSTANCE_CLASS_NAME)
          .immutable().build();
+   public static final AttributeDefinition<ReadPolicy> READ_POLICY = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.READ_POLICY, ReadPolicy.PRIMARY).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(HashConfiguration.class, NUM_OWNERS,
-            NUM_SEGMENTS, CAPACITY_FACTOR, KEY_PARTITIONER);
+            NUM_SEGMENTS, CAPACITY_FACTOR, KEY_PARTITIONER, READ_POLICY);
    }
 
    private final Attribute<Integer> numOwners;
    private final Attribute<Integer> numSegments;
    private final Attribute<Float> capacityFactor;
+   private final Attribute<ReadPolicy> readPolicy;
 
    private final GroupsConfiguration groupsConfiguration;
 
@@ -50,6 +52,7 @@ static AttributeSet attributeDefinitionSet() {
       numOwners = attributes.attribute(NUM_OWNERS);
       numSegments = attributes.attribute(NUM_SEGMENTS);
       capacityFactor = attributes.attribute(CAPACITY_FACTOR);
+      readPolicy = attributes.attribute(READ_POLICY);
       attributes.attribute(KEY_PARTITIONER).get().init(this);
    }
 
@@ -88,6 +91,15 @@ public KeyPartitioner keyPartitioner() {
       return attributes.attribute(KEY_PARTITIONER).get();
    }
 
+   /**
+    * Selects the owner that serves the reads of keys that are not owned by the local node.
+    *
+    * @see ReadPolicy
+    */
+   public ReadPolicy readPolicy() {
+      return readPolicy.get();
+   }
+
    /**
     * Configuration for various grouper definitions. See the user guide for more information.
     */
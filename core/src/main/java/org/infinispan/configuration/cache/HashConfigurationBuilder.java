@@ -4,6 +4,7 @@
 import static org.infinispan.configuration.cache.HashConfiguration.KEY_PARTITIONER;
 import static org.infinispan.configuration.cache.HashConfiguration.NUM_OWNERS;
 import static org.infinispan.configuration.cache.HashConfiguration.NUM_SEGMENTS;
+import static org.infinispan.configuration.cache.HashConfiguration.READ_POLICY;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.Combine;
@@ -99,6 +100,17 @@ public KeyPartitioner keyPartitioner() {
       return attributes.attribute(KEY_PARTITIONER).get();
    }
 
+   /**
+    * Selects the owner that serves the reads of keys that are not owned by the local node. The default,
+    * {@link ReadPolicy#PRIMARY}, sends the reads to the primary owner first.
+    *
+    * @since 16.3
+    */
+   public HashConfigurationBuilder readPolicy(ReadPolicy readPolicy) {
+      attributes.attribute(READ_POLICY).set(readPolicy);
+      return this;
+   }
+
    public GroupsConfigurationBuilder groups() {
       return groupsConfigurationBuilder;
    }
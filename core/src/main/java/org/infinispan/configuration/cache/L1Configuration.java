@@ -18,15 +18,17 @@ public class L1Configuration extends ConfigurationElement<L1Configuration> {
    public static final AttributeDefinition<TimeQuantity> LIFESPAN = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.L1_LIFESPAN, TimeQuantity.valueOf("10m")).immutable().build();
 
    public static final AttributeDefinition<TimeQuantity> CLEANUP_TASK_FREQUENCY = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.INVALIDATION_CLEANUP_TASK_FREQUENCY, TimeQuantity.valueOf("1m")).immutable().build();
+   public static final AttributeDefinition<Integer> HOT_KEYS = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.L1_HOT_KEYS, 0).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(L1Configuration.class, ENABLED, INVALIDATION_THRESHOLD, LIFESPAN, CLEANUP_TASK_FREQUENCY);
+      return new AttributeSet(L1Configuration.class, ENABLED, INVALIDATION_THRESHOLD, LIFESPAN, CLEANUP_TASK_FREQUENCY, HOT_KEYS);
    }
 
    private final Attribute<Boolean> enabled;
    private final Attribute<Integer> invalidationThreshold;
    private final Attribute<TimeQuantity> lifespan;
    private final Attribute<TimeQuantity> cleanupTaskFrequency;
+   private final Attribute<Integer> hotKeys;
 
    L1Configuration(AttributeSet attributes) {
       super(Element.L1, attributes);
@@ -34,6 +36,7 @@ static AttributeSet attributeDefinitionSet() {
       invalidationThreshold = attributes.attribute(INVALIDATION_THRESHOLD);
       lifespan = attributes.attribute(LIFESPAN);
       cleanupTaskFrequency = attributes.attribute(CLEANUP_TASK_FREQUENCY);
+      hotKeys = attributes.attribute(HOT_KEYS);
    }
 
    public boolean enabled() {
@@ -72,4 +75,13 @@ public long cleanupTaskFrequency() {
    public long lifespan() {
       return lifespan.get().longValue();
    }
+
+   /**
+    * The number of most frequently read keys that each node detects as hot keys. When positive and L1 is enabled, the
+    * L1 cache only stores the hot keys of the node, and the other keys are always read from their owners. Default 0,
+    * which disables the detection and stores every key read from a remote owner in L1.
+    */
+   public int hotKeys() {
+      return hotKeys.get();
+   }
 }
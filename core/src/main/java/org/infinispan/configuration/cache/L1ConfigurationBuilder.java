@@ -2,6 +2,7 @@
 
 import static org.infinispan.configuration.cache.L1Configuration.CLEANUP_TASK_FREQUENCY;
 import static org.infinispan.configuration.cache.L1Configuration.ENABLED;
+import static org.infinispan.configuration.cache.L1Configuration.HOT_KEYS;
 import static org.infinispan.configuration.cache.L1Configuration.INVALIDATION_THRESHOLD;
 import static org.infinispan.configuration.cache.L1Configuration.LIFESPAN;
 import static org.infinispan.util.logging.Log.CONFIG;
@@ -102,6 +103,19 @@ public L1ConfigurationBuilder cleanupTaskFrequency(long frequencyMillis, TimeUni
       return cleanupTaskFrequency(unit.toMillis(frequencyMillis));
    }
 
+   /**
+    * The number of most frequently read keys that each node detects as hot keys. The hot keys are evaluated again at
+    * every {@link #cleanupTaskFrequency(long) cleanup interval}.
+    * <p>
+    * When positive and L1 is enabled, the L1 cache only stores the hot keys of the node, so that the reads of the hot
+    * keys are served locally while the other keys are always read from their owners. Defaults to 0, which disables the
+    * detection and stores every key read from a remote owner in L1.
+    */
+   public L1ConfigurationBuilder hotKeys(int hotKeys) {
+      attributes.attribute(HOT_KEYS).set(hotKeys);
+      return this;
+   }
+
    public L1ConfigurationBuilder enable() {
       attributes.attribute(ENABLED).set(true);
       return this;
@@ -119,6 +133,9 @@ public L1ConfigurationBuilder enabled(boolean enabled) {
 
    @Override
    public void validate() {
+      if (attributes.attribute(HOT_KEYS).get() < 0)
+         throw CONFIG.l1InvalidHotKeys(attributes.attribute(HOT_KEYS).get());
+
       if (attributes.attribute(ENABLED).get()) {
          if (!clustering().cacheMode().isDistributed())
             throw CONFIG.l1OnlyForDistributedCache(clustering().cacheMode().friendlyCacheModeString());
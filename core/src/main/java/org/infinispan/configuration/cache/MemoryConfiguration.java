@@ -8,6 +8,7 @@
 import org.infinispan.commons.util.ByteQuantity;
 import org.infinispan.configuration.parsing.Attribute;
 import org.infinispan.configuration.parsing.Element;
+import org.infinispan.eviction.EvictionPolicy;
 import org.infinispan.eviction.EvictionStrategy;
 
 /**
@@ -23,10 +24,14 @@ public class MemoryConfiguration extends ConfigurationElement<MemoryConfiguratio
             if (value > 0) writer.writeAttribute(name, Long.toString(value));
          }).build();
    public static final AttributeDefinition<EvictionStrategy> WHEN_FULL = AttributeDefinition.builder(Attribute.WHEN_FULL, EvictionStrategy.NONE).immutable().build();
+   public static final AttributeDefinition<EvictionPolicy> EVICTION_POLICY = AttributeDefinition.builder(Attribute.EVICTION_POLICY, EvictionPolicy.W_TINY_LFU).immutable().build();
    public static final AttributeDefinition<String> EVICTION_CONTAINER = AttributeDefinition.builder(Attribute.EVICTION_CONTAINER, null, String.class).immutable().build();
+   public static final AttributeDefinition<CompressionType> COMPRESSION = AttributeDefinition.builder(Attribute.COMPRESSION, CompressionType.NONE).immutable().build();
+   public static final AttributeDefinition<Integer> COMPRESSION_THRESHOLD = AttributeDefinition.builder(Attribute.COMPRESSION_THRESHOLD, 1024).immutable().build();
+   public static final AttributeDefinition<OffHeapAllocatorType> OFF_HEAP_ALLOCATOR = AttributeDefinition.builder(Attribute.OFF_HEAP_ALLOCATOR, OffHeapAllocatorType.UNPOOLED).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(MemoryConfiguration.class, STORAGE, MAX_SIZE, MAX_COUNT, WHEN_FULL, EVICTION_CONTAINER);
+      return new AttributeSet(MemoryConfiguration.class, STORAGE, MAX_SIZE, MAX_COUNT, WHEN_FULL, EVICTION_POLICY, EVICTION_CONTAINER, COMPRESSION, COMPRESSION_THRESHOLD, OFF_HEAP_ALLOCATOR);
    }
 
    MemoryConfiguration(AttributeSet attributes) {
@@ -95,6 +100,14 @@ public boolean isEvictionEnabled() {
       return (isSizeBounded() || isCountBounded()) && whenFull().isRemovalBased();
    }
 
+   /**
+    * The algorithm choosing the entries to evict from a heap based cache
+    * @return The configured {@link EvictionPolicy}.
+    */
+   public EvictionPolicy evictionPolicy() {
+      return attributes.attribute(EVICTION_POLICY).get();
+   }
+
    /**
     * The name of the eviction container used for eviction purposes. Note that when is non null, no other values
     * should be utilized.
@@ -104,6 +117,29 @@ public String evictionContainer() {
       return attributes.attribute(EVICTION_CONTAINER).get();
    }
 
+   /**
+    * The compression applied to marshalled values stored off-heap and in cache stores.
+    * @return the configured {@link CompressionType}
+    */
+   public CompressionType compression() {
+      return attributes.attribute(COMPRESSION).get();
+   }
+
+   /**
+    * The minimum size in bytes that a marshalled value must have before it is compressed.
+    */
+   public int compressionThreshold() {
+      return attributes.attribute(COMPRESSION_THRESHOLD).get();
+   }
+
+   /**
+    * How the native memory of off-heap entries is allocated.
+    * @return the configured {@link OffHeapAllocatorType}
+    */
+   public OffHeapAllocatorType offHeapAllocator() {
+      return attributes.attribute(OFF_HEAP_ALLOCATOR).get();
+   }
+
    private boolean isSizeBounded() {
       return maxSize() != null;
    }
@@ -8,6 +8,7 @@
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.configuration.global.ContainerMemoryConfiguration;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.eviction.EvictionPolicy;
 import org.infinispan.eviction.EvictionStrategy;
 
 /**
@@ -97,6 +98,23 @@ public EvictionStrategy whenFull() {
       return attributes.attribute(MemoryConfiguration.WHEN_FULL).get();
    }
 
+   /**
+    * Sets the algorithm choosing the entries to evict when the cache is full. The {@link EvictionPolicy#LRU} and
+    * {@link EvictionPolicy#TINY_LFU} policies keep the eviction state in the entries, and they require
+    * {@link StorageType#HEAP} storage bounded with {@link #maxCount(long)}.
+    *
+    * @param policy the eviction policy to use
+    * @return this
+    */
+   public MemoryConfigurationBuilder evictionPolicy(EvictionPolicy policy) {
+      attributes.attribute(MemoryConfiguration.EVICTION_POLICY).set(policy);
+      return this;
+   }
+
+   public EvictionPolicy evictionPolicy() {
+      return attributes.attribute(MemoryConfiguration.EVICTION_POLICY).get();
+   }
+
    boolean isSizeBounded() {
       return maxSize() != null;
    }
@@ -120,6 +138,56 @@ public String evictionContainer() {
       return attributes.attribute(MemoryConfiguration.EVICTION_CONTAINER).get();
    }
 
+   /**
+    * Sets the compression applied to marshalled values. Compression happens where values are already in binary form,
+    * so it applies to entries stored {@link StorageType#OFF_HEAP off-heap} and to the values written to cache stores.
+    * Since the off-heap container accounts for the compressed bytes, memory based eviction counts the real footprint.
+    *
+    * @param compression the compression to use
+    * @return this
+    */
+   public MemoryConfigurationBuilder compression(CompressionType compression) {
+      attributes.attribute(MemoryConfiguration.COMPRESSION).set(compression);
+      return this;
+   }
+
+   public CompressionType compression() {
+      return attributes.attribute(MemoryConfiguration.COMPRESSION).get();
+   }
+
+   /**
+    * Sets the minimum size in bytes that a marshalled value must have before it is compressed. Small values rarely
+    * shrink enough to be worth the CPU cost.
+    *
+    * @param threshold the minimum size in bytes
+    * @return this
+    */
+   public MemoryConfigurationBuilder compressionThreshold(int threshold) {
+      attributes.attribute(MemoryConfiguration.COMPRESSION_THRESHOLD).set(threshold);
+      return this;
+   }
+
+   public int compressionThreshold() {
+      return attributes.attribute(MemoryConfiguration.COMPRESSION_THRESHOLD).get();
+   }
+
+   /**
+    * Sets how the native memory of the entries is allocated when using {@link StorageType#OFF_HEAP} storage.
+    * {@link OffHeapAllocatorType#POOLED} allocates the entries from slabs, and exposes the fragmentation of the slabs
+    * as statistics.
+    *
+    * @param allocator the allocator to use
+    * @return this
+    */
+   public MemoryConfigurationBuilder offHeapAllocator(OffHeapAllocatorType allocator) {
+      attributes.attribute(MemoryConfiguration.OFF_HEAP_ALLOCATOR).set(allocator);
+      return this;
+   }
+
+   public OffHeapAllocatorType offHeapAllocator() {
+      return attributes.attribute(MemoryConfiguration.OFF_HEAP_ALLOCATOR).get();
+   }
+
    private void checkBinaryRequirement() {
       if (!storage().canStoreReferences()) {
          if (getBuilder().clustering().hash().groups().isEnabled()) {
@@ -169,6 +237,15 @@ public void validate() {
             }
          }
       }
+      if (evictionPolicy().isIntrusive() && (isSizeBounded() || storage() != StorageType.HEAP)) {
+         throw CONFIG.evictionPolicyRequiresHeapMaxCount(evictionPolicy());
+      }
+      if (compressionThreshold() < 0) {
+         throw CONFIG.invalidCompressionThreshold(compressionThreshold());
+      }
+      if (offHeapAllocator() == OffHeapAllocatorType.POOLED && storage() != StorageType.OFF_HEAP) {
+         throw CONFIG.offHeapAllocatorRequiresOffHeapStorage(offHeapAllocator());
+      }
       checkBinaryRequirement();
    }
 
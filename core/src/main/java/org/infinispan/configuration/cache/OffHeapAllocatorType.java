@@ -0,0 +1,19 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Strategy used to allocate the native memory of caches using {@link StorageType#OFF_HEAP} storage.
+ *
+ * @since 16.3
+ */
+public enum OffHeapAllocatorType {
+   /**
+    * Every entry is allocated separately by the native allocator.
+    */
+   UNPOOLED,
+   /**
+    * Entries are carved out of large slabs of native memory grouped by size, which limits the fragmentation of the
+    * native heap when entries are written and removed frequently. The slabs that become empty are released
+    * periodically.
+    */
+   POOLED
+}
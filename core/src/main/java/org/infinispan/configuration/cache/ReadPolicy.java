@@ -0,0 +1,36 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Selects the owner that serves a read when a distributed cache has to retrieve a key from a remote node.
+ * <p>
+ * Reads that acquire locks or that must observe the value of the primary owner, such as the reads of a write or the
+ * reads of a transaction with write skew checks, always go to the primary owner, regardless of the policy.
+ *
+ * @since 16.3
+ */
+public enum ReadPolicy {
+
+   /**
+    * Reads are sent to the primary owner first. This is the default.
+    */
+   PRIMARY,
+
+   /**
+    * Reads are sent first to the owner with the fewest outstanding reads from this node, preferring the primary owner
+    * when there is a tie.
+    */
+   LEAST_OUTSTANDING,
+
+   /**
+    * Reads are sent first to the owner with the lowest average read latency, weighted by the number of reads from this
+    * node that are still outstanding.
+    */
+   LATENCY_AWARE;
+
+   /**
+    * @return {@code true} if the reads may be sent to a backup owner first.
+    */
+   public boolean isLoadBalanced() {
+      return this != PRIMARY;
+   }
+}
@@ -19,10 +19,11 @@ public class StateTransferConfiguration extends ConfigurationElement<StateTransf
    public static final AttributeDefinition<Boolean> FETCH_IN_MEMORY_STATE = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.ENABLED, true).immutable().build();
    public static final AttributeDefinition<TimeQuantity> TIMEOUT = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.TIMEOUT, TimeQuantity.valueOf("4m")).parser(TimeQuantity.PARSER).immutable().build();
    public static final AttributeDefinition<Integer> CHUNK_SIZE = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.CHUNK_SIZE, 512).immutable().build();
+   public static final AttributeDefinition<Integer> MAX_IN_FLIGHT_CHUNKS = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.MAX_IN_FLIGHT_CHUNKS, 1).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER,
-            AWAIT_LEAVE_TRANSFER);
+            AWAIT_LEAVE_TRANSFER, MAX_IN_FLIGHT_CHUNKS);
    }
 
    private final Attribute<Boolean> awaitInitialTransfer;
@@ -30,6 +31,7 @@ static AttributeSet attributeDefinitionSet() {
    private final Attribute<Boolean> fetchInMemoryState;
    private final Attribute<TimeQuantity> timeout;
    private final Attribute<Integer> chunkSize;
+   private final Attribute<Integer> maxInFlightChunks;
 
    StateTransferConfiguration(AttributeSet attributes) {
       super(Element.STATE_TRANSFER, attributes);
@@ -38,6 +40,7 @@ static AttributeSet attributeDefinitionSet() {
       fetchInMemoryState = attributes.attribute(FETCH_IN_MEMORY_STATE);
       timeout = attributes.attribute(TIMEOUT);
       chunkSize = attributes.attribute(CHUNK_SIZE);
+      maxInFlightChunks = attributes.attribute(MAX_IN_FLIGHT_CHUNKS);
    }
 
    /**
@@ -67,6 +70,15 @@ public int chunkSize() {
       return chunkSize.get();
    }
 
+   /**
+    * The maximum number of chunks that a node sends to another node without waiting for them to be applied. The
+    * sender starts with a single chunk in flight and grows the window up to this value while the receiver keeps up.
+    * The default, 1, sends the next chunk after the previous one was applied.
+    */
+   public int maxInFlightChunks() {
+      return maxInFlightChunks.get();
+   }
+
    /**
     * If {@code true}, this will cause the first call to method {@code CacheManager.getCache()} on the joiner node to
     * block and wait until the joining is complete and the cache has finished receiving state from neighboring caches
@@ -4,6 +4,7 @@
 import static org.infinispan.configuration.cache.StateTransferConfiguration.AWAIT_LEAVE_TRANSFER;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.CHUNK_SIZE;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.FETCH_IN_MEMORY_STATE;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.MAX_IN_FLIGHT_CHUNKS;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.TIMEOUT;
 import static org.infinispan.util.logging.Log.CONFIG;
 
@@ -75,6 +76,17 @@ public StateTransferConfigurationBuilder chunkSize(int i) {
       return this;
    }
 
+   /**
+    * The maximum number of chunks that a node sends to another node without waiting for them to be applied. The sender
+    * starts with a single chunk in flight and grows the window up to this value while the receiver keeps up, shrinking
+    * it again when the chunks take longer to be applied. Defaults to 1, which sends the next chunk after the previous
+    * one was applied.
+    */
+   public StateTransferConfigurationBuilder maxInFlightChunks(int i) {
+      attributes.attribute(MAX_IN_FLIGHT_CHUNKS).set(i);
+      return this;
+   }
+
    /**
     * This is the maximum amount of time - in milliseconds - to wait for state from neighboring
     * caches, before throwing an exception and aborting startup.
@@ -110,6 +122,10 @@ public void validate() {
       if (chunkSize <= 0) {
          throw CONFIG.invalidChunkSize(chunkSize);
       }
+      int maxInFlightChunks = attributes.attribute(MAX_IN_FLIGHT_CHUNKS).get();
+      if (maxInFlightChunks <= 0) {
+         throw CONFIG.invalidMaxInFlightChunks(maxInFlightChunks);
+      }
 
       if (clustering().cacheMode().isInvalidation()) {
          Attribute<Boolean> fetchAttribute = attributes.attribute(FETCH_IN_MEMORY_STATE);
@@ -29,6 +29,12 @@ public class TransportConfiguration extends ConfigurationElement<TransportConfig
          .immutable().build();
    public static final AttributeDefinition<TimeQuantity> INITIAL_CLUSTER_TIMEOUT = AttributeDefinition.builder(
          org.infinispan.configuration.parsing.Attribute.INITIAL_CLUSTER_TIMEOUT, TimeQuantity.valueOf("1m")).parser(TimeQuantity.PARSER).build();
+   public static final AttributeDefinition<Integer> COMMAND_BATCH_LINGER = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.COMMAND_BATCH_LINGER, 0)
+         .immutable().build();
+   public static final AttributeDefinition<Integer> COMMAND_BATCH_SIZE = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.COMMAND_BATCH_SIZE, 64)
+         .immutable().build();
+   public static final AttributeDefinition<Integer> STATE_TRANSFER_BANDWIDTH = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.STATE_TRANSFER_BANDWIDTH, 0)
+         .immutable().build();
    public static final AttributeDefinition<String> STACK = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.STACK, null, String.class).build();
    public static final AttributeDefinition<String> TRANSPORT_EXECUTOR = AttributeDefinition.builder("executor", "transport-pool", String.class).autoPersist(false).build();
    public static final AttributeDefinition<String> REMOTE_EXECUTOR = AttributeDefinition.builder("remoteCommandExecutor", "remote-command-pool", String.class).autoPersist(false).build();
@@ -45,7 +51,7 @@ public class TransportConfiguration extends ConfigurationElement<TransportConfig
    static AttributeSet attributeSet() {
       return new AttributeSet(TransportConfiguration.class, CLUSTER_NAME, MACHINE_ID, RACK_ID, SITE_ID, NODE_NAME,
             DISTRIBUTED_SYNC_TIMEOUT, INITIAL_CLUSTER_SIZE, INITIAL_CLUSTER_TIMEOUT, STACK, TRANSPORT_EXECUTOR, REMOTE_EXECUTOR,
-            RAFT_MEMBERS);
+            RAFT_MEMBERS, COMMAND_BATCH_LINGER, COMMAND_BATCH_SIZE, STATE_TRANSFER_BANDWIDTH);
    }
 
    private final Attribute<String> clusterName;
@@ -105,6 +111,29 @@ public long initialClusterTimeout() {
       return attributes.attribute(INITIAL_CLUSTER_TIMEOUT).get().longValue();
    }
 
+   /**
+    * @return the time in microseconds the transport waits for more commands to the same destination before sending
+    * them in a single message, or 0 if the commands are not batched
+    */
+   public int commandBatchLinger() {
+      return attributes.attribute(COMMAND_BATCH_LINGER).get();
+   }
+
+   /**
+    * @return the maximum number of commands sent to the same destination in a single message
+    */
+   public int commandBatchSize() {
+      return attributes.attribute(COMMAND_BATCH_SIZE).get();
+   }
+
+   /**
+    * @return the maximum rate in megabytes per second at which the node sends state to other nodes, shared by all the
+    * caches, or 0 if the rate is not limited
+    */
+   public int stateTransferBandwidth() {
+      return attributes.attribute(STATE_TRANSFER_BANDWIDTH).get();
+   }
+
    public Transport transport() {
       return jgroupsConfiguration.transport();
    }
@@ -1,6 +1,8 @@
 package org.infinispan.configuration.global;
 
 import static org.infinispan.configuration.global.TransportConfiguration.CLUSTER_NAME;
+import static org.infinispan.configuration.global.TransportConfiguration.COMMAND_BATCH_LINGER;
+import static org.infinispan.configuration.global.TransportConfiguration.COMMAND_BATCH_SIZE;
 import static org.infinispan.configuration.global.TransportConfiguration.DISTRIBUTED_SYNC_TIMEOUT;
 import static org.infinispan.configuration.global.TransportConfiguration.INITIAL_CLUSTER_SIZE;
 import static org.infinispan.configuration.global.TransportConfiguration.INITIAL_CLUSTER_TIMEOUT;
@@ -10,6 +12,7 @@
 import static org.infinispan.configuration.global.TransportConfiguration.RAFT_MEMBERS;
 import static org.infinispan.configuration.global.TransportConfiguration.SITE_ID;
 import static org.infinispan.configuration.global.TransportConfiguration.STACK;
+import static org.infinispan.configuration.global.TransportConfiguration.STATE_TRANSFER_BANDWIDTH;
 import static org.infinispan.util.logging.Log.CONFIG;
 
 import java.util.Arrays;
@@ -147,6 +150,36 @@ public TransportConfigurationBuilder initialClusterTimeout(String initialCluster
       return this;
    }
 
+   /**
+    * Sets the time in microseconds the transport waits for more commands to the same destination before sending the
+    * commands that do not expect a response, like the backup writes and acknowledges of non-transactional caches, in a
+    * single message. The default, 0, sends every command in its own message.
+    */
+   public TransportConfigurationBuilder commandBatchLinger(int commandBatchLinger) {
+      attributes.attribute(COMMAND_BATCH_LINGER).set(commandBatchLinger);
+      return this;
+   }
+
+   /**
+    * Sets the maximum number of commands sent to the same destination in a single message when
+    * {@link #commandBatchLinger(int)} is enabled. A batch reaching this size is sent without waiting for the linger to
+    * elapse. Defaults to 64.
+    */
+   public TransportConfigurationBuilder commandBatchSize(int commandBatchSize) {
+      attributes.attribute(COMMAND_BATCH_SIZE).set(commandBatchSize);
+      return this;
+   }
+
+   /**
+    * Sets the maximum rate in megabytes per second at which the node sends state to other nodes during a rebalance. The
+    * budget is shared by all the caches, so that state transfer leaves enough network capacity to the regular
+    * operations. The default, 0, does not limit the rate.
+    */
+   public TransportConfigurationBuilder stateTransferBandwidth(int megabytesPerSecond) {
+      attributes.attribute(STATE_TRANSFER_BANDWIDTH).set(megabytesPerSecond);
+      return this;
+   }
+
    /**
     * Class that represents a network transport. Must implement
     * org.infinispan.remoting.transport.Transport
@@ -211,6 +244,15 @@ void validate() {
       if(attributes.attribute(CLUSTER_NAME).isNull()){
          throw CONFIG.requireNonNullClusterName();
       }
+      int commandBatchLinger = attributes.attribute(COMMAND_BATCH_LINGER).get();
+      int commandBatchSize = attributes.attribute(COMMAND_BATCH_SIZE).get();
+      if (commandBatchLinger < 0 || commandBatchSize < 1) {
+         throw CONFIG.invalidCommandBatch(commandBatchLinger, commandBatchSize);
+      }
+      int stateTransferBandwidth = attributes.attribute(STATE_TRANSFER_BANDWIDTH).get();
+      if (stateTransferBandwidth < 0) {
+         throw CONFIG.invalidStateTransferBandwidth(stateTransferBandwidth);
+      }
       validateRaftMembers();
    }
 
@@ -43,9 +43,15 @@ public enum Attribute {
     CLASS,
     CLUSTER,
     COLLECTOR_ENDPOINT,
+    COMMAND_BATCH_LINGER,
+    COMMAND_BATCH_SIZE,
     COMMIT_INTERVAL,
+    COMPACTION_MAX_IOPS,
+    COMPACTION_MAX_THROUGHPUT,
     COMPACTION_THRESHOLD,
     COMPLETED_TX_TIMEOUT("complete-timeout"),
+    COMPRESSION,
+    COMPRESSION_THRESHOLD,
     CONCURRENCY_LEVEL,
     CONFIGURATION,
     CONNECTION_ATTEMPTS,
@@ -68,6 +74,7 @@ public enum Attribute {
     EVICTION_CONTAINER,
     @Deprecated(forRemoval=true, since = "11.0")
     EVICTION_EXECUTOR,
+    EVICTION_POLICY,
     @Deprecated(forRemoval=true, since = "11.0")
     EVICTION_STRATEGY,
     EXPIRATION_EXECUTOR,
@@ -82,6 +89,7 @@ public enum Attribute {
     GC_DURATION_THRESHOLD,
     GC_PRESSURE_THRESHOLD,
     GC_PRESSURE_WINDOW,
+    GROUP_COMMIT_DELAY,
     GROUP_NAME,
     GROUP_ONLY_MAPPING,
     HISTOGRAMS,
@@ -97,6 +105,7 @@ public enum Attribute {
     INVALIDATION_CLEANUP_TASK_FREQUENCY("l1-cleanup-interval"),
     ISOLATION,
     JNDI_NAME,
+    JOURNAL,
     JVM,
     KEEP_ALIVE_TIME("keepalive-time"),
     KEY,
@@ -104,6 +113,7 @@ public enum Attribute {
     KEY_PARTITIONER,
     HASH_FUNCTION,
     HIT_COUNT_ACCURACY,
+    L1_HOT_KEYS("l1-hot-keys"),
     L1_LIFESPAN("l1-lifespan"),
     LEGACY,
     LIFESPAN,
@@ -121,6 +131,7 @@ public enum Attribute {
     MAX_ENTRIES,
     MAX_FILE_SIZE,
     MAX_IDLE,
+    MAX_IN_FLIGHT_CHUNKS,
     MAX_NODE_SIZE,
     MAX_RETRIES,
     MIN_SIZE,
@@ -131,6 +142,7 @@ public enum Attribute {
     MBEAN_SERVER_LOOKUP,
     MERGE_POLICY,
     MEDIA_TYPE,
+    MEMORY_MAPPED_READS,
     MEMORY_THRESHOLD,
     MIN_NODE_SIZE,
     MODE,
@@ -143,6 +155,7 @@ public enum Attribute {
     NAMES_AS_TAGS,
     NON_BLOCKING_EXECUTOR,
     NOTIFICATIONS,
+    OFF_HEAP_ALLOCATOR,
     ON_REHASH("onRehash"),
     OPEN_FILES_LIMIT,
     OWNERS,
@@ -151,6 +164,7 @@ public enum Attribute {
     PERMISSIONS,
     @Deprecated(forRemoval=true, since = "11.0")
     PERSISTENCE_EXECUTOR,
+    PERSISTENT_INDEX,
     POSITION,
     @Deprecated(forRemoval = true, since = "16.0")
     PREFIX,
@@ -167,6 +181,7 @@ public enum Attribute {
     RAM_BUFFER_SIZE,
     RAFT_MEMBERS,
     READ_ONLY,
+    READ_POLICY,
     REAPER_WAKE_UP_INTERVAL("reaper-interval"),
     REBATCH_REQUESTS_SIZE,
     RECOVERY_INFO_CACHE_NAME("recovery-cache"),
@@ -188,6 +203,7 @@ public enum Attribute {
     SIMPLE_CACHE,
     SITE,
     SIZE,
+    STATE_TRANSFER_BANDWIDTH,
     STATISTICS,
     START,
     STARTUP_MODE,
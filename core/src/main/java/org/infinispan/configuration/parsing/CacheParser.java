@@ -39,6 +39,7 @@
 import org.infinispan.configuration.cache.MemoryConfigurationBuilder;
 import org.infinispan.configuration.cache.PartitionHandlingConfigurationBuilder;
 import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
+import org.infinispan.configuration.cache.ReadPolicy;
 import org.infinispan.configuration.cache.SecurityConfigurationBuilder;
 import org.infinispan.configuration.cache.StorageType;
 import org.infinispan.configuration.cache.StoreConfigurationBuilder;
@@ -654,6 +655,11 @@ private void parseExpiration(ConfigurationReader reader, ConfigurationBuilder bu
                builder.expiration().touch(ParseUtils.parseEnum(reader, i, TouchMode.class, value));
                break;
             }
+            case INDEX: {
+               ParseUtils.introducedFrom(reader, 16, 3);
+               builder.expiration().index(ParseUtils.parseBoolean(reader, i, value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -798,6 +804,10 @@ protected void parseDistributedCache(ConfigurationReader reader, ConfigurationBu
                builder.clustering().l1().cleanupTaskFrequency(value);
                break;
             }
+            case L1_HOT_KEYS: {
+               builder.clustering().l1().hotKeys(ParseUtils.parseInt(reader, i, value));
+               break;
+            }
             case CAPACITY:
                ParseUtils.attributeRemovedSince(reader, 13, 0, i);
                CONFIG.configDeprecatedUseOther(Attribute.CAPACITY, Attribute.CAPACITY_FACTOR, reader.getLocation());
@@ -806,6 +816,10 @@ protected void parseDistributedCache(ConfigurationReader reader, ConfigurationBu
                builder.clustering().hash().capacityFactor(Float.parseFloat(value));
                break;
             }
+            case READ_POLICY: {
+               builder.clustering().hash().readPolicy(ParseUtils.parseEnum(reader, i, ReadPolicy.class, value));
+               break;
+            }
             default: {
                this.parseSegmentedCacheAttribute(reader, i, attribute, value, builder, holder.getClassLoader());
             }
@@ -953,6 +967,20 @@ protected void parseFileStore(ConfigurationReader reader, ConfigurationBuilderHo
                   throw ParseUtils.unexpectedAttribute(reader, i);
                }
                break;
+            case COMPACTION_MAX_THROUGHPUT:
+               if (fileStoreBuilder != null) {
+                  fileStoreBuilder.compactionMaxThroughput(ParseUtils.parseInt(reader, i, value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            case COMPACTION_MAX_IOPS:
+               if (fileStoreBuilder != null) {
+                  fileStoreBuilder.compactionMaxIops(ParseUtils.parseInt(reader, i, value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
             case PURGE: {
                fileStoreBuilder.purgeOnStartup(ParseUtils.parseBoolean(reader, i, value));
                break;
@@ -1005,6 +1033,12 @@ private void parseData(ConfigurationReader reader, SoftIndexFileStoreConfigurati
             case SYNC_WRITES:
                builder.syncWrites(ParseUtils.parseBoolean(reader, i, value));
                break;
+            case GROUP_COMMIT_DELAY:
+               builder.groupCommitDelay(ParseUtils.parseLong(reader, i, value));
+               break;
+            case MEMORY_MAPPED_READS:
+               builder.memoryMappedReads(ParseUtils.parseBoolean(reader, i, value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1131,6 +1165,9 @@ public static void parseStoreWriteBehind(ConfigurationReader reader, AsyncStoreC
             case FAIL_SILENTLY:
                storeBuilder.failSilently(ParseUtils.parseBoolean(reader, i, value));
                break;
+            case JOURNAL:
+               storeBuilder.journal(ParseUtils.parseBoolean(reader, i, value));
+               break;
             case THREAD_POOL_SIZE: {
                ParseUtils.attributeRemovedSince(reader, 11, 0, i);
                ignoreAttribute(reader, i);
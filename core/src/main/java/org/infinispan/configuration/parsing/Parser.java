@@ -1225,6 +1225,18 @@ private void parseTransport(ConfigurationReader reader, ConfigurationBuilderHold
                   transport.initialClusterTimeout(ParseUtils.parseLong(reader, i, value), TimeUnit.MILLISECONDS);
                   break;
                }
+               case COMMAND_BATCH_LINGER: {
+                  transport.commandBatchLinger(ParseUtils.parseInt(reader, i, value));
+                  break;
+               }
+               case COMMAND_BATCH_SIZE: {
+                  transport.commandBatchSize(ParseUtils.parseInt(reader, i, value));
+                  break;
+               }
+               case STATE_TRANSFER_BANDWIDTH: {
+                  transport.stateTransferBandwidth(ParseUtils.parseInt(reader, i, value));
+                  break;
+               }
                case RAFT_MEMBERS:
                   transport.raftMembers(reader.getListAttributeValue(i));
                   break;
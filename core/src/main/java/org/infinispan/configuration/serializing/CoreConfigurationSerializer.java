@@ -759,7 +759,9 @@ private void writeDataElement(ConfigurationWriter writer, SoftIndexFileStoreConf
       configuration.data().attributes().write(writer, Element.DATA.getLocalName(),
             DataConfiguration.DATA_LOCATION,
             DataConfiguration.MAX_FILE_SIZE,
-            DataConfiguration.SYNC_WRITES);
+            DataConfiguration.SYNC_WRITES,
+            DataConfiguration.GROUP_COMMIT_DELAY,
+            DataConfiguration.MEMORY_MAPPED_READS);
    }
 
    private void writeIndexElement(ConfigurationWriter writer, SoftIndexFileStoreConfiguration configuration) {
@@ -0,0 +1,20 @@
+package org.infinispan.container.entries;
+
+/**
+ * An {@link InternalCacheEntry} that holds the links of an {@link AccessOrderList}.
+ * <p>
+ * The entries are only created by the entry factory of the caches whose eviction policy keeps the access order in the
+ * entries, so the other caches do not pay for the links. A clone does not belong to the access order of the original.
+ *
+ * @since 16.3
+ */
+public interface AccessOrderEntry extends InternalCacheEntry {
+
+   AccessOrderEntry getAccessPrevious();
+
+   void setAccessPrevious(AccessOrderEntry previous);
+
+   AccessOrderEntry getAccessNext();
+
+   void setAccessNext(AccessOrderEntry next);
+}
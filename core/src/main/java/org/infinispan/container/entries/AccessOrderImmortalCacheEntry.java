@@ -0,0 +1,57 @@
+package org.infinispan.container.entries;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.marshall.protostream.impl.MarshallableObject;
+import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * A {@link ImmortalCacheEntry} that can be linked in an {@link AccessOrderList}.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.ACCESS_ORDER_IMMORTAL_CACHE_ENTRY)
+public class AccessOrderImmortalCacheEntry extends ImmortalCacheEntry implements AccessOrderEntry {
+
+   private AccessOrderEntry accessPrevious;
+   private AccessOrderEntry accessNext;
+
+   public AccessOrderImmortalCacheEntry(Object key, Object value, PrivateMetadata internalMetadata) {
+      super(key, value, internalMetadata);
+   }
+
+   @ProtoFactory
+   AccessOrderImmortalCacheEntry(MarshallableObject<?> wrappedKey, MarshallableObject<?> wrappedValue,
+                                 PrivateMetadata internalMetadata) {
+      super(wrappedKey, wrappedValue, internalMetadata);
+   }
+
+   @Override
+   public AccessOrderEntry getAccessPrevious() {
+      return accessPrevious;
+   }
+
+   @Override
+   public void setAccessPrevious(AccessOrderEntry previous) {
+      this.accessPrevious = previous;
+   }
+
+   @Override
+   public AccessOrderEntry getAccessNext() {
+      return accessNext;
+   }
+
+   @Override
+   public void setAccessNext(AccessOrderEntry next) {
+      this.accessNext = next;
+   }
+
+   @Override
+   public AccessOrderImmortalCacheEntry clone() {
+      AccessOrderImmortalCacheEntry clone = (AccessOrderImmortalCacheEntry) super.clone();
+      clone.accessPrevious = null;
+      clone.accessNext = null;
+      return clone;
+   }
+}
@@ -0,0 +1,45 @@
+package org.infinispan.container.entries;
+
+
+/**
+ * A {@link L1InternalCacheEntry} that can be linked in an {@link AccessOrderList}.
+ *
+ * @since 16.3
+ */
+public class AccessOrderL1InternalCacheEntry extends L1InternalCacheEntry implements AccessOrderEntry {
+
+   private AccessOrderEntry accessPrevious;
+   private AccessOrderEntry accessNext;
+
+   public AccessOrderL1InternalCacheEntry(Object key, Object value, long lifespan, long created) {
+      super(key, value, lifespan, created);
+   }
+
+   @Override
+   public AccessOrderEntry getAccessPrevious() {
+      return accessPrevious;
+   }
+
+   @Override
+   public void setAccessPrevious(AccessOrderEntry previous) {
+      this.accessPrevious = previous;
+   }
+
+   @Override
+   public AccessOrderEntry getAccessNext() {
+      return accessNext;
+   }
+
+   @Override
+   public void setAccessNext(AccessOrderEntry next) {
+      this.accessNext = next;
+   }
+
+   @Override
+   public AccessOrderL1InternalCacheEntry clone() {
+      AccessOrderL1InternalCacheEntry clone = (AccessOrderL1InternalCacheEntry) super.clone();
+      clone.accessPrevious = null;
+      clone.accessNext = null;
+      return clone;
+   }
+}
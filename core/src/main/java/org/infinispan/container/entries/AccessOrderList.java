@@ -0,0 +1,126 @@
+package org.infinispan.container.entries;
+
+/**
+ * A doubly linked list of entries in access order, from the least recently used to the most recently used, that keeps
+ * its links in the entries themselves.
+ * <p>
+ * Only {@link AccessOrderEntry} instances can be linked, other entries are ignored. An entry can only belong
+ * to a single list at a time.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @since 16.3
+ */
+public final class AccessOrderList {
+   private AccessOrderEntry first;
+   private AccessOrderEntry last;
+   private long size;
+
+   /**
+    * Adds the entry as the most recently used one, or moves it there if it already belongs to this list.
+    *
+    * @return {@code true} if the entry was added to the list
+    */
+   public boolean addLast(InternalCacheEntry<?, ?> entry) {
+      if (!(entry instanceof AccessOrderEntry e)) {
+         return false;
+      }
+      if (contains(e)) {
+         moveToLast(e);
+         return false;
+      }
+      link(e);
+      size++;
+      return true;
+   }
+
+   /**
+    * Moves the entry to the most recently used position, if it belongs to this list.
+    */
+   public void touch(InternalCacheEntry<?, ?> entry) {
+      if (entry instanceof AccessOrderEntry e && contains(e)) {
+         moveToLast(e);
+      }
+   }
+
+   /**
+    * @return {@code true} if the entry belonged to this list and was removed
+    */
+   public boolean remove(InternalCacheEntry<?, ?> entry) {
+      if (!(entry instanceof AccessOrderEntry e) || !contains(e)) {
+         return false;
+      }
+      unlink(e);
+      size--;
+      return true;
+   }
+
+   /**
+    * @return the least recently used entry, or {@code null} if the list is empty
+    */
+   public InternalCacheEntry<?, ?> first() {
+      return first;
+   }
+
+   public long size() {
+      return size;
+   }
+
+   public boolean isEmpty() {
+      return first == null;
+   }
+
+   public void clear() {
+      AccessOrderEntry e = first;
+      while (e != null) {
+         AccessOrderEntry next = e.getAccessNext();
+         e.setAccessPrevious(null);
+         e.setAccessNext(null);
+         e = next;
+      }
+      first = null;
+      last = null;
+      size = 0;
+   }
+
+   private boolean contains(AccessOrderEntry e) {
+      // The links of an entry may be stale when it was removed from another list
+      AccessOrderEntry previous = e.getAccessPrevious();
+      return previous != null ? previous.getAccessNext() == e : first == e;
+   }
+
+   private void moveToLast(AccessOrderEntry e) {
+      if (e != last) {
+         unlink(e);
+         link(e);
+      }
+   }
+
+   private void link(AccessOrderEntry e) {
+      e.setAccessPrevious(last);
+      e.setAccessNext(null);
+      if (last == null) {
+         first = e;
+      } else {
+         last.setAccessNext(e);
+      }
+      last = e;
+   }
+
+   private void unlink(AccessOrderEntry e) {
+      AccessOrderEntry previous = e.getAccessPrevious();
+      AccessOrderEntry next = e.getAccessNext();
+      if (previous == null) {
+         first = next;
+      } else {
+         previous.setAccessNext(next);
+      }
+      if (next == null) {
+         last = previous;
+      } else {
+         next.setAccessPrevious(previous);
+      }
+      e.setAccessPrevious(null);
+      e.setAccessNext(null);
+   }
+}
@@ -0,0 +1,58 @@
+package org.infinispan.container.entries;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.marshall.protostream.impl.MarshallableObject;
+import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * A {@link MortalCacheEntry} that can be linked in an {@link AccessOrderList}.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.ACCESS_ORDER_MORTAL_CACHE_ENTRY)
+public class AccessOrderMortalCacheEntry extends MortalCacheEntry implements AccessOrderEntry {
+
+   private AccessOrderEntry accessPrevious;
+   private AccessOrderEntry accessNext;
+
+   public AccessOrderMortalCacheEntry(Object key, Object value, PrivateMetadata internalMetadata, long lifespan,
+                                      long created) {
+      super(key, value, internalMetadata, lifespan, created);
+   }
+
+   @ProtoFactory
+   AccessOrderMortalCacheEntry(MarshallableObject<?> wrappedKey, MarshallableObject<?> wrappedValue,
+                               PrivateMetadata internalMetadata, long created, long lifespan) {
+      super(wrappedKey, wrappedValue, internalMetadata, created, lifespan);
+   }
+
+   @Override
+   public AccessOrderEntry getAccessPrevious() {
+      return accessPrevious;
+   }
+
+   @Override
+   public void setAccessPrevious(AccessOrderEntry previous) {
+      this.accessPrevious = previous;
+   }
+
+   @Override
+   public AccessOrderEntry getAccessNext() {
+      return accessNext;
+   }
+
+   @Override
+   public void setAccessNext(AccessOrderEntry next) {
+      this.accessNext = next;
+   }
+
+   @Override
+   public AccessOrderMortalCacheEntry clone() {
+      AccessOrderMortalCacheEntry clone = (AccessOrderMortalCacheEntry) super.clone();
+      clone.accessPrevious = null;
+      clone.accessNext = null;
+      return clone;
+   }
+}
@@ -0,0 +1,58 @@
+package org.infinispan.container.entries;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.marshall.protostream.impl.MarshallableObject;
+import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * A {@link TransientCacheEntry} that can be linked in an {@link AccessOrderList}.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.ACCESS_ORDER_TRANSIENT_CACHE_ENTRY)
+public class AccessOrderTransientCacheEntry extends TransientCacheEntry implements AccessOrderEntry {
+
+   private AccessOrderEntry accessPrevious;
+   private AccessOrderEntry accessNext;
+
+   public AccessOrderTransientCacheEntry(Object key, Object value, PrivateMetadata internalMetadata, long maxIdle,
+                                         long lastUsed) {
+      super(key, value, internalMetadata, maxIdle, lastUsed);
+   }
+
+   @ProtoFactory
+   AccessOrderTransientCacheEntry(MarshallableObject<?> wrappedKey, MarshallableObject<?> wrappedValue,
+                                  PrivateMetadata internalMetadata, long maxIdle, long lastUsed) {
+      super(wrappedKey, wrappedValue, internalMetadata, maxIdle, lastUsed);
+   }
+
+   @Override
+   public AccessOrderEntry getAccessPrevious() {
+      return accessPrevious;
+   }
+
+   @Override
+   public void setAccessPrevious(AccessOrderEntry previous) {
+      this.accessPrevious = previous;
+   }
+
+   @Override
+   public AccessOrderEntry getAccessNext() {
+      return accessNext;
+   }
+
+   @Override
+   public void setAccessNext(AccessOrderEntry next) {
+      this.accessNext = next;
+   }
+
+   @Override
+   public AccessOrderTransientCacheEntry clone() {
+      AccessOrderTransientCacheEntry clone = (AccessOrderTransientCacheEntry) super.clone();
+      clone.accessPrevious = null;
+      clone.accessNext = null;
+      return clone;
+   }
+}
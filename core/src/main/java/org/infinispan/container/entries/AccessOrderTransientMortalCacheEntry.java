@@ -0,0 +1,59 @@
+package org.infinispan.container.entries;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.marshall.protostream.impl.MarshallableObject;
+import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * A {@link TransientMortalCacheEntry} that can be linked in an {@link AccessOrderList}.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.ACCESS_ORDER_TRANSIENT_MORTAL_CACHE_ENTRY)
+public class AccessOrderTransientMortalCacheEntry extends TransientMortalCacheEntry implements AccessOrderEntry {
+
+   private AccessOrderEntry accessPrevious;
+   private AccessOrderEntry accessNext;
+
+   public AccessOrderTransientMortalCacheEntry(Object key, Object value, PrivateMetadata internalMetadata, long maxIdle,
+                                               long lifespan, long lastUsed, long created) {
+      super(key, value, internalMetadata, maxIdle, lifespan, lastUsed, created);
+   }
+
+   @ProtoFactory
+   AccessOrderTransientMortalCacheEntry(MarshallableObject<?> wrappedKey, MarshallableObject<?> wrappedValue,
+                                        PrivateMetadata internalMetadata, long maxIdle, long lastUsed, long lifespan,
+                                        long created) {
+      super(wrappedKey, wrappedValue, internalMetadata, maxIdle, lastUsed, lifespan, created);
+   }
+
+   @Override
+   public AccessOrderEntry getAccessPrevious() {
+      return accessPrevious;
+   }
+
+   @Override
+   public void setAccessPrevious(AccessOrderEntry previous) {
+      this.accessPrevious = previous;
+   }
+
+   @Override
+   public AccessOrderEntry getAccessNext() {
+      return accessNext;
+   }
+
+   @Override
+   public void setAccessNext(AccessOrderEntry next) {
+      this.accessNext = next;
+   }
+
+   @Override
+   public AccessOrderTransientMortalCacheEntry clone() {
+      AccessOrderTransientMortalCacheEntry clone = (AccessOrderTransientMortalCacheEntry) super.clone();
+      clone.accessPrevious = null;
+      clone.accessNext = null;
+      return clone;
+   }
+}
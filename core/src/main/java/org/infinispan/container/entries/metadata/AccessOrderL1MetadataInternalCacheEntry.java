@@ -0,0 +1,48 @@
+package org.infinispan.container.entries.metadata;
+
+import org.infinispan.container.entries.AccessOrderEntry;
+import org.infinispan.metadata.Metadata;
+
+/**
+ * A {@link L1MetadataInternalCacheEntry} that can be linked in an
+ * {@link org.infinispan.container.entries.AccessOrderList}.
+ *
+ * @since 16.3
+ */
+public class AccessOrderL1MetadataInternalCacheEntry extends L1MetadataInternalCacheEntry implements AccessOrderEntry {
+
+   private AccessOrderEntry accessPrevious;
+   private AccessOrderEntry accessNext;
+
+   public AccessOrderL1MetadataInternalCacheEntry(Object key, Object value, Metadata metadata, long created) {
+      super(key, value, metadata, created);
+   }
+
+   @Override
+   public AccessOrderEntry getAccessPrevious() {
+      return accessPrevious;
+   }
+
+   @Override
+   public void setAccessPrevious(AccessOrderEntry previous) {
+      this.accessPrevious = previous;
+   }
+
+   @Override
+   public AccessOrderEntry getAccessNext() {
+      return accessNext;
+   }
+
+   @Override
+   public void setAccessNext(AccessOrderEntry next) {
+      this.accessNext = next;
+   }
+
+   @Override
+   public AccessOrderL1MetadataInternalCacheEntry clone() {
+      AccessOrderL1MetadataInternalCacheEntry clone = (AccessOrderL1MetadataInternalCacheEntry) super.clone();
+      clone.accessPrevious = null;
+      clone.accessNext = null;
+      return clone;
+   }
+}
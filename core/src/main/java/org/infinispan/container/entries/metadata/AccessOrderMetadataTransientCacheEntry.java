@@ -0,0 +1,63 @@
+package org.infinispan.container.entries.metadata;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.container.entries.AccessOrderEntry;
+import org.infinispan.marshall.protostream.impl.MarshallableObject;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * A {@link MetadataTransientCacheEntry} that can be linked in an
+ * {@link org.infinispan.container.entries.AccessOrderList}.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.ACCESS_ORDER_METADATA_TRANSIENT_CACHE_ENTRY)
+public class AccessOrderMetadataTransientCacheEntry extends MetadataTransientCacheEntry implements AccessOrderEntry {
+
+   private AccessOrderEntry accessPrevious;
+   private AccessOrderEntry accessNext;
+
+   public AccessOrderMetadataTransientCacheEntry(Object key, Object value, PrivateMetadata internalMetadata,
+                                                 Metadata metadata, long lastUsed) {
+      super(key, value, internalMetadata, metadata, lastUsed);
+   }
+
+   @ProtoFactory
+   AccessOrderMetadataTransientCacheEntry(MarshallableObject<?> wrappedKey, MarshallableObject<?> wrappedValue,
+                                          PrivateMetadata internalMetadata,
+                                          MarshallableObject<Metadata> wrappedMetadata, long lastUsed) {
+      super(MarshallableObject.unwrap(wrappedKey), MarshallableObject.unwrap(wrappedValue), internalMetadata,
+            MarshallableObject.unwrap(wrappedMetadata), lastUsed);
+   }
+
+   @Override
+   public AccessOrderEntry getAccessPrevious() {
+      return accessPrevious;
+   }
+
+   @Override
+   public void setAccessPrevious(AccessOrderEntry previous) {
+      this.accessPrevious = previous;
+   }
+
+   @Override
+   public AccessOrderEntry getAccessNext() {
+      return accessNext;
+   }
+
+   @Override
+   public void setAccessNext(AccessOrderEntry next) {
+      this.accessNext = next;
+   }
+
+   @Override
+   public AccessOrderMetadataTransientCacheEntry clone() {
+      AccessOrderMetadataTransientCacheEntry clone = (AccessOrderMetadataTransientCacheEntry) super.clone();
+      clone.accessPrevious = null;
+      clone.accessNext = null;
+      return clone;
+   }
+}
@@ -0,0 +1,64 @@
+package org.infinispan.container.entries.metadata;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.container.entries.AccessOrderEntry;
+import org.infinispan.marshall.protostream.impl.MarshallableObject;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * A {@link MetadataTransientMortalCacheEntry} that can be linked in an
+ * {@link org.infinispan.container.entries.AccessOrderList}.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.ACCESS_ORDER_METADATA_TRANSIENT_MORTAL_CACHE_ENTRY)
+public class AccessOrderMetadataTransientMortalCacheEntry extends MetadataTransientMortalCacheEntry
+      implements AccessOrderEntry {
+
+   private AccessOrderEntry accessPrevious;
+   private AccessOrderEntry accessNext;
+
+   public AccessOrderMetadataTransientMortalCacheEntry(Object key, Object value, PrivateMetadata internalMetadata,
+                                                       Metadata metadata, long lastUsed, long created) {
+      super(key, value, internalMetadata, metadata, lastUsed, created);
+   }
+
+   @ProtoFactory
+   AccessOrderMetadataTransientMortalCacheEntry(MarshallableObject<?> wrappedKey, MarshallableObject<?> wrappedValue,
+                                                PrivateMetadata internalMetadata,
+                                                MarshallableObject<Metadata> wrappedMetadata, long created, long lastUsed) {
+      super(MarshallableObject.unwrap(wrappedKey), MarshallableObject.unwrap(wrappedValue), internalMetadata,
+            MarshallableObject.unwrap(wrappedMetadata), lastUsed, created);
+   }
+
+   @Override
+   public AccessOrderEntry getAccessPrevious() {
+      return accessPrevious;
+   }
+
+   @Override
+   public void setAccessPrevious(AccessOrderEntry previous) {
+      this.accessPrevious = previous;
+   }
+
+   @Override
+   public AccessOrderEntry getAccessNext() {
+      return accessNext;
+   }
+
+   @Override
+   public void setAccessNext(AccessOrderEntry next) {
+      this.accessNext = next;
+   }
+
+   @Override
+   public AccessOrderMetadataTransientMortalCacheEntry clone() {
+      AccessOrderMetadataTransientMortalCacheEntry clone = (AccessOrderMetadataTransientMortalCacheEntry) super.clone();
+      clone.accessPrevious = null;
+      clone.accessNext = null;
+      return clone;
+   }
+}
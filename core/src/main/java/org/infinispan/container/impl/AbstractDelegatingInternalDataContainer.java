@@ -232,4 +232,19 @@ public void resize(long newSize) {
    public boolean hasExpirable() {
       return delegate().hasExpirable();
    }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorExpirationCandidates(IntSet segments, long currentTimeMillis) {
+      return delegate().iteratorExpirationCandidates(segments, currentTimeMillis);
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorExpirationCandidates(long currentTimeMillis) {
+      return delegate().iteratorExpirationCandidates(currentTimeMillis);
+   }
+
+   @Override
+   public long expirationIndexSize() {
+      return delegate().expirationIndexSize();
+   }
 }
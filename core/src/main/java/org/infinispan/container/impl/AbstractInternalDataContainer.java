@@ -16,18 +16,21 @@
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import org.infinispan.commons.logging.Log;
 import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.AbstractIterator;
 import org.infinispan.commons.util.ByRef;
+import org.infinispan.commons.util.FilterIterator;
 import org.infinispan.commons.util.FilterSpliterator;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.Util;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.commons.util.concurrent.CompletionStages;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ExpirationConfiguration;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.distribution.ch.KeyPartitioner;
@@ -81,6 +84,12 @@
     */
    private final AtomicLong expirable = new AtomicLong();
 
+   /**
+    * Index of the expirable entries by expiration time, only present when enabled via
+    * {@link org.infinispan.configuration.cache.ExpirationConfiguration#index()}.
+    */
+   protected ExpirationIndex<K, V> expirationIndex;
+
    protected abstract PeekableTouchableMap<K, V> getMapForSegment(int segment);
    protected abstract int getSegmentForKey(Object key);
 
@@ -155,8 +164,8 @@ public void put(int segment, K k, V v, Metadata metadata, PrivateMetadata intern
          if (log.isTraceEnabled())
             log.tracef("Store %s=%s in container", k, copy);
 
-         if (e != null) entryUpdated(copy, e);
-         else entryAdded(copy);
+         if (e != null) entryUpdated(segment, copy, e);
+         else entryAdded(segment, copy);
 
          putEntryInMap(entries, segment, k, copy);
       } else {
@@ -202,7 +211,7 @@ public InternalCacheEntry<K, V> remove(int segment, Object k) {
          }
 
          if (e.canExpire()) {
-            entryRemoved(e);
+            entryRemoved(segment, e);
             if (e.isExpired(timeService.wallClockTime())) {
                return null;
             }
@@ -232,7 +241,7 @@ public CompletionStage<Void> evict(int segment, K key) {
          // - we don't need eviction manager either as it is handled in NotifyHelper
          evictionStageRef.set(handleEviction(entry, null, passivator.running(), null, this, nonBlockingExecutor, null));
          computeEntryRemoved(segment, o, entry);
-         entryRemoved(entry);
+         entryRemoved(segment, entry);
          return null;
       });
       return evictionStageRef.get();
@@ -252,11 +261,11 @@ public InternalCacheEntry<K, V> compute(int segment, K key, DataContainer.Comput
             return oldEntry;
          } else if (newEntry == null) {
             computeEntryRemoved(segment, k, oldEntry);
-            entryRemoved(oldEntry);
+            entryRemoved(segment, oldEntry);
             return null;
          }
          computeEntryWritten(segment, k, newEntry);
-         entryAdded(newEntry);
+         entryAdded(segment, newEntry);
          if (log.isTraceEnabled())
             log.tracef("Store %s in container", newEntry);
          return newEntry;
@@ -273,7 +282,7 @@ public void clear(IntSet segments) {
       segments.forEach((int segment) -> {
          Map<K, InternalCacheEntry<K, V>> map = getMapForSegment(segment);
          if (map != null) {
-            segmentRemoved(map);
+            segmentRemoved(segment, map);
             map.clear();
          }
       });
@@ -322,13 +331,74 @@ public boolean hasExpirable() {
       return expirable.get() > 0;
    }
 
-   protected final void entryAdded(InternalCacheEntry<K, V> ice) {
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorExpirationCandidates(IntSet segments, long currentTimeMillis) {
+      if (expirationIndex == null) {
+         return InternalDataContainer.super.iteratorExpirationCandidates(segments, currentTimeMillis);
+      }
+      return pollExpirationIndex(segments, currentTimeMillis);
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorExpirationCandidates(long currentTimeMillis) {
+      if (expirationIndex == null) {
+         return InternalDataContainer.super.iteratorExpirationCandidates(currentTimeMillis);
+      }
+      return pollExpirationIndex(null, currentTimeMillis);
+   }
+
+   @Override
+   public long expirationIndexSize() {
+      return expirationIndex != null ? expirationIndex.size() : -1;
+   }
+
+   /**
+    * Creates the {@link ExpirationIndex} if it is enabled in the configuration. Must be invoked by segmented
+    * implementations when starting, before any entry is written.
+    * @param numSegments how many segments the container has
+    */
+   protected void startExpirationIndex(int numSegments) {
+      if (configuration.expiration().index()) {
+         long wakeUpInterval = configuration.expiration().wakeUpInterval();
+         if (wakeUpInterval <= 0) {
+            // The reaper may still be invoked manually
+            wakeUpInterval = ExpirationConfiguration.WAKEUP_INTERVAL.getDefaultValue().longValue();
+         }
+         // Each reaper run advances the lowest level of the wheel by about one revolution
+         long tickMillis = Math.max(1, wakeUpInterval / ExpirationIndex.WHEEL_SIZE);
+         expirationIndex = new ExpirationIndex<>(numSegments, tickMillis);
+      }
+   }
+
+   private Iterator<InternalCacheEntry<K, V>> pollExpirationIndex(IntSet segments, long currentTimeMillis) {
+      if (segments != null && expirationIndex.numSegments() == 1) {
+         // Not segmented, the entries of other segments are retried on the next invocation anyway
+         return new FilterIterator<>(pollExpirationIndex(null, currentTimeMillis),
+               e -> segments.contains(keyPartitioner.getSegment(e.getKey())));
+      }
+      // Segments we don't expire are still polled so that their wheel advances
+      return IntStream.range(0, expirationIndex.numSegments())
+            .boxed()
+            .flatMap(segment -> {
+               boolean owned = segments == null || segments.contains(segment);
+               return expirationIndex.pollExpired(segment, owned, currentTimeMillis, k -> peek(segment, k)).stream();
+            }).iterator();
+   }
+
+   protected final void entryAdded(int segment, InternalCacheEntry<K, V> ice) {
       if (ice.canExpire()) {
          expirable.incrementAndGet();
       }
+      if (expirationIndex != null) {
+         expirationIndex.entryWritten(segment, ice);
+      }
    }
 
-   protected final void entryUpdated(InternalCacheEntry<K, V> curr, InternalCacheEntry<K, V> prev) {
+   protected final void entryUpdated(int segment, InternalCacheEntry<K, V> curr, InternalCacheEntry<K, V> prev) {
+      if (expirationIndex != null && (curr.canExpire() || prev.canExpire())) {
+         expirationIndex.entryWritten(segment, curr);
+      }
+
       byte combination = 0b00;
       if (curr.canExpire()) combination |= 0b01;
       if (prev.canExpire()) combination |= 0b10;
@@ -348,15 +418,21 @@ protected final void entryUpdated(InternalCacheEntry<K, V> curr, InternalCacheEn
       }
    }
 
-   protected final void entryRemoved(InternalCacheEntry<K, V> ice) {
+   protected final void entryRemoved(int segment, InternalCacheEntry<K, V> ice) {
       if (ice.canExpire()) {
          expirable.decrementAndGet();
+         if (expirationIndex != null) {
+            expirationIndex.entryRemoved(segment, ice.getKey());
+         }
       }
    }
 
-   protected final void segmentRemoved(Map<K, InternalCacheEntry<K, V>> segment) {
-      long expirableInSegment = segment.values().stream().filter(InternalCacheEntry::canExpire).count();
+   protected final void segmentRemoved(int segment, Map<K, InternalCacheEntry<K, V>> map) {
+      long expirableInSegment = map.values().stream().filter(InternalCacheEntry::canExpire).count();
       expirable.addAndGet(-expirableInSegment);
+      if (expirationIndex != null) {
+         expirationIndex.clear(segment);
+      }
    }
 
    protected class EntryIterator extends AbstractIterator<InternalCacheEntry<K, V>> {
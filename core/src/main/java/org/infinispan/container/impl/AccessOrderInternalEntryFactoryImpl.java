@@ -0,0 +1,78 @@
+package org.infinispan.container.impl;
+
+import org.infinispan.container.entries.AccessOrderImmortalCacheEntry;
+import org.infinispan.container.entries.AccessOrderL1InternalCacheEntry;
+import org.infinispan.container.entries.AccessOrderMortalCacheEntry;
+import org.infinispan.container.entries.AccessOrderTransientCacheEntry;
+import org.infinispan.container.entries.AccessOrderTransientMortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.entries.metadata.AccessOrderL1MetadataInternalCacheEntry;
+import org.infinispan.container.entries.metadata.AccessOrderMetadataImmortalCacheEntry;
+import org.infinispan.container.entries.metadata.AccessOrderMetadataMortalCacheEntry;
+import org.infinispan.container.entries.metadata.AccessOrderMetadataTransientCacheEntry;
+import org.infinispan.container.entries.metadata.AccessOrderMetadataTransientMortalCacheEntry;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.metadata.Metadata;
+
+/**
+ * An {@link InternalEntryFactoryImpl} that creates {@link org.infinispan.container.entries.AccessOrderEntry} instances,
+ * for the caches whose data container is an {@link IntrusiveBoundedSegmentedDataContainer}.
+ *
+ * @since 16.3
+ */
+@Scope(Scopes.NAMED_CACHE)
+public class AccessOrderInternalEntryFactoryImpl extends InternalEntryFactoryImpl {
+
+   @Override
+   protected InternalCacheEntry newImmortal(Object key, Object value) {
+      return new AccessOrderImmortalCacheEntry(key, value, null);
+   }
+
+   @Override
+   protected InternalCacheEntry newMortal(Object key, Object value, long lifespan, long created) {
+      return new AccessOrderMortalCacheEntry(key, value, null, lifespan, created);
+   }
+
+   @Override
+   protected InternalCacheEntry newTransient(Object key, Object value, long maxIdle, long lastUsed) {
+      return new AccessOrderTransientCacheEntry(key, value, null, maxIdle, lastUsed);
+   }
+
+   @Override
+   protected InternalCacheEntry newTransientMortal(Object key, Object value, long maxIdle, long lifespan, long lastUsed,
+                                                   long created) {
+      return new AccessOrderTransientMortalCacheEntry(key, value, null, maxIdle, lifespan, lastUsed, created);
+   }
+
+   @Override
+   protected InternalCacheEntry newMetadataImmortal(Object key, Object value, Metadata metadata) {
+      return new AccessOrderMetadataImmortalCacheEntry(key, value, null, metadata);
+   }
+
+   @Override
+   protected InternalCacheEntry newMetadataMortal(Object key, Object value, Metadata metadata, long created) {
+      return new AccessOrderMetadataMortalCacheEntry(key, value, null, metadata, created);
+   }
+
+   @Override
+   protected InternalCacheEntry newMetadataTransient(Object key, Object value, Metadata metadata, long lastUsed) {
+      return new AccessOrderMetadataTransientCacheEntry(key, value, null, metadata, lastUsed);
+   }
+
+   @Override
+   protected InternalCacheEntry newMetadataTransientMortal(Object key, Object value, Metadata metadata, long lastUsed,
+                                                           long created) {
+      return new AccessOrderMetadataTransientMortalCacheEntry(key, value, null, metadata, lastUsed, created);
+   }
+
+   @Override
+   protected InternalCacheEntry newL1(Object key, Object value, long lifespan, long created) {
+      return new AccessOrderL1InternalCacheEntry(key, value, lifespan, created);
+   }
+
+   @Override
+   protected InternalCacheEntry newL1Metadata(Object key, Object value, Metadata metadata, long created) {
+      return new AccessOrderL1MetadataInternalCacheEntry(key, value, metadata, created);
+   }
+}
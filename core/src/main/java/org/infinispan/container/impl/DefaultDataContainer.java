@@ -16,6 +16,7 @@
 import org.infinispan.container.entries.CacheEntrySizeCalculator;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.entries.PrimitiveEntrySizeCalculator;
+import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.marshall.core.WrappedByteArraySizeCalculator;
 import org.reactivestreams.Publisher;
@@ -160,11 +161,19 @@ public void clear(IntSet segments) {
       }
    }
 
+   @Start
+   public void start() {
+      startExpirationIndex(1);
+   }
+
    @Stop
    @Override
    public void clear() {
       log.tracef("Clearing data container");
       entries.clear();
+      if (expirationIndex != null) {
+         expirationIndex.clear();
+      }
    }
 
    @Override
@@ -53,6 +53,7 @@ public DefaultSegmentedDataContainer(Supplier<PeekableTouchableMap<K, V>> mapSup
 
    @Start
    public void start() {
+      startExpirationIndex(maps.length());
       // Local (invalidation) and replicated we just instantiate all the maps immediately
       // Distributed needs them all only at beginning for preload of data - rehash event will remove others
       for (int i = 0; i < maps.length(); ++i) {
@@ -245,6 +246,9 @@ public void clear() {
             map.clear();
          }
       }
+      if (expirationIndex != null) {
+         expirationIndex.clear();
+      }
    }
 
    @Override
@@ -317,7 +321,7 @@ private void stopMap(int segment, boolean notifyListener) {
          if (notifyListener && !map.isEmpty()) {
             listeners.forEach(c -> c.accept(map.values()));
          }
-         segmentRemoved(map);
+         segmentRemoved(segment, map);
          if (map instanceof AutoCloseable) {
             try {
                ((AutoCloseable) map).close();
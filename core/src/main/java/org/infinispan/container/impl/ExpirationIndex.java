@@ -0,0 +1,355 @@
+package org.infinispan.container.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.infinispan.container.entries.InternalCacheEntry;
+
+/**
+ * Per segment index of the entries that can expire, ordered by their expiration time. This allows the expiration
+ * reaper to only visit entries that are due instead of iterating over the entire data container.
+ * <p>
+ * Each segment keeps a hierarchical timing wheel of {@value #LEVELS} levels with {@value #WHEEL_SIZE} slots each. A
+ * record is placed in the lowest level where its expiration tick and the current tick differ and is cascaded down
+ * a level every time the current tick reaches its slot. Writers never touch the wheel: they only replace the record
+ * mapped to the key and push it on a lock-free pending stack, which the reaper drains before advancing the wheel.
+ * This keeps the write path to a single {@link ConcurrentHashMap} operation and leaves the wheel single threaded.
+ * <p>
+ * The index is maintained lazily: a record is only valid while it is still the one mapped to its key, so removals
+ * and overwrites never have to find the previous record in the wheel. Touching an entry with max idle is not tracked
+ * either; when a record becomes due the current entry is looked up and, if it was touched in the meantime, it is
+ * rescheduled with its new expiration time.
+ * @since 16.3
+ */
+public class ExpirationIndex<K, V> {
+   static final int WHEEL_BITS = 6;
+   static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+   static final int WHEEL_MASK = WHEEL_SIZE - 1;
+   // Enough levels to represent any tick value
+   static final int LEVELS = (Long.SIZE + WHEEL_BITS - 1) / WHEEL_BITS;
+
+   private final SegmentIndex[] segments;
+   private final long tickMillis;
+
+   /**
+    * @param numSegments the number of segments of the data container, an index with a single segment is used for
+    *                    all the keys regardless of their segment
+    * @param tickMillis the resolution of the lowest wheel level in milliseconds
+    */
+   public ExpirationIndex(int numSegments, long tickMillis) {
+      if (tickMillis <= 0) {
+         throw new IllegalArgumentException("tickMillis must be positive, was " + tickMillis);
+      }
+      this.tickMillis = tickMillis;
+      this.segments = new SegmentIndex[numSegments];
+      for (int i = 0; i < numSegments; ++i) {
+         segments[i] = new SegmentIndex(tickMillis);
+      }
+   }
+
+   /**
+    * Updates the index after the given entry was written. Entries that cannot expire are removed from the index.
+    * @param segment the segment of the entry
+    * @param entry the entry that was written
+    */
+   public void entryWritten(int segment, InternalCacheEntry<K, V> entry) {
+      SegmentIndex index = segmentIndex(segment);
+      if (index == null) {
+         return;
+      }
+      if (entry.canExpire()) {
+         Record record = new Record(entry.getKey(), entry.getExpiryTime());
+         index.scheduled.put(record.key, record);
+         index.push(record);
+      } else {
+         index.scheduled.remove(entry.getKey());
+      }
+   }
+
+   /**
+    * Updates the index after the entry mapped to the given key was removed from the container.
+    * @param segment the segment of the key
+    * @param key the key that was removed
+    */
+   public void entryRemoved(int segment, Object key) {
+      SegmentIndex index = segmentIndex(segment);
+      if (index != null) {
+         index.scheduled.remove(key);
+      }
+   }
+
+   /**
+    * Removes all the records for the given segment.
+    * @param segment the segment that was cleared or removed
+    */
+   public void clear(int segment) {
+      SegmentIndex index = segmentIndex(segment);
+      if (index != null) {
+         index.clear();
+      }
+   }
+
+   public void clear() {
+      for (SegmentIndex index : segments) {
+         index.clear();
+      }
+   }
+
+   public int numSegments() {
+      return segments.length;
+   }
+
+   /**
+    * @return how many entries are currently tracked by the index
+    */
+   public long size() {
+      long size = 0;
+      for (SegmentIndex index : segments) {
+         size += index.scheduled.mappingCount();
+      }
+      return size;
+   }
+
+   /**
+    * Advances the timing wheel of the segment to the given time and returns the entries that are expired.
+    * <p>
+    * Every due record is checked against the container using the provided lookup function. Records whose entry was
+    * removed are dropped, entries that were touched since they were indexed are rescheduled and entries that are
+    * really expired are returned. The returned entries stay in the index until the container removes them, so that
+    * an expiration that does not go through (e.g. because the entry was touched on another owner) is retried on the
+    * next invocation.
+    * <p>
+    * When {@code owned} is {@code false} the wheel is still advanced, but due records are kept for a later
+    * invocation and no lookup is performed.
+    * @param segment the segment to poll
+    * @param owned whether the caller is responsible for expiring the entries of this segment
+    * @param currentTimeMillis the current wall clock time
+    * @param lookup function returning the current entry in the container for a key, or null if there is none
+    * @return the expired entries, never null
+    */
+   public List<InternalCacheEntry<K, V>> pollExpired(int segment, boolean owned, long currentTimeMillis,
+                                                     Function<Object, InternalCacheEntry<K, V>> lookup) {
+      SegmentIndex index = segmentIndex(segment);
+      if (index == null) {
+         return Collections.emptyList();
+      }
+      Record due;
+      synchronized (index) {
+         due = index.advance(currentTimeMillis / tickMillis, currentTimeMillis, owned);
+      }
+      if (due == null) {
+         return Collections.emptyList();
+      }
+      List<InternalCacheEntry<K, V>> expired = new ArrayList<>();
+      while (due != null) {
+         Record record = due;
+         due = due.next;
+         record.next = null;
+         InternalCacheEntry<K, V> entry = lookup.apply(record.key);
+         if (entry == null) {
+            // Only remove our own record, a concurrent write may have replaced it
+            index.scheduled.remove(record.key, record);
+            continue;
+         }
+         // Either the entry was touched since and must be moved to its new slot or it is expired and we reschedule it
+         // to retry if the expiration does not remove it. A concurrent write already rescheduled it otherwise.
+         if (entry.canExpire()) {
+            Record rescheduled = new Record(record.key, entry.getExpiryTime());
+            if (index.scheduled.replace(record.key, record, rescheduled)) {
+               index.push(rescheduled);
+            }
+         }
+         if (entry.isExpired(currentTimeMillis)) {
+            expired.add(entry);
+         }
+      }
+      return expired;
+   }
+
+   private SegmentIndex segmentIndex(int segment) {
+      if (segments.length == 1) {
+         return segments[0];
+      }
+      if (segment < 0 || segment >= segments.length) {
+         return null;
+      }
+      return segments[segment];
+   }
+
+   private static final class Record {
+      final Object key;
+      final long expiryTime;
+      // Used to link the record in the pending stack and then in a wheel slot
+      Record next;
+
+      Record(Object key, long expiryTime) {
+         this.key = key;
+         this.expiryTime = expiryTime;
+      }
+   }
+
+   private static final class SegmentIndex {
+      final long tickMillis;
+      // Records are compared by identity, only the latest record for a key is live
+      final ConcurrentHashMap<Object, Record> scheduled = new ConcurrentHashMap<>();
+      final AtomicReference<Record> pending = new AtomicReference<>();
+      // The fields below are only accessed while holding the monitor of this object
+      final Record[][] wheels = new Record[LEVELS][];
+      // How many records are linked in each level, used to skip over empty ticks
+      final int[] counts = new int[LEVELS];
+      long currentTick = -1;
+
+      SegmentIndex(long tickMillis) {
+         this.tickMillis = tickMillis;
+      }
+
+      void push(Record record) {
+         Record head;
+         do {
+            head = pending.get();
+            record.next = head;
+         } while (!pending.compareAndSet(head, record));
+      }
+
+      boolean isLive(Record record) {
+         return scheduled.get(record.key) == record;
+      }
+
+      void clear() {
+         scheduled.clear();
+         pending.set(null);
+         synchronized (this) {
+            for (int i = 0; i < LEVELS; ++i) {
+               wheels[i] = null;
+               counts[i] = 0;
+            }
+         }
+      }
+
+      Record advance(long nowTick, long currentTimeMillis, boolean owned) {
+         if (currentTick < 0) {
+            currentTick = nowTick;
+         }
+         Record pendingRecords = pending.getAndSet(null);
+         while (pendingRecords != null) {
+            Record record = pendingRecords;
+            pendingRecords = pendingRecords.next;
+            if (isLive(record)) {
+               place(record);
+            }
+         }
+         // Head of the due records at index 0 and of the records to keep in the current slot at index 1
+         Record[] lists = new Record[2];
+         // Every record in the slot of a previous tick is due
+         while (currentTick < nowTick) {
+            if (counts[0] > 0) {
+               collect(Long.MAX_VALUE, owned, lists);
+               currentTick++;
+            } else {
+               // Nothing to collect, jump straight to the next tick where a non-empty level has to be cascaded
+               int level = 1;
+               while (level < LEVELS && counts[level] == 0) {
+                  level++;
+               }
+               long shift = (long) level * WHEEL_BITS;
+               long nextTick = level == LEVELS || shift >= Long.SIZE - 1 ? Long.MAX_VALUE : ((currentTick >>> shift) + 1) << shift;
+               if (nextTick > nowTick) {
+                  currentTick = nowTick;
+                  break;
+               }
+               currentTick = nextTick;
+            }
+            cascade();
+         }
+         // The slot of the current tick can also contain records that expire later during the tick
+         collect(currentTimeMillis, owned, lists);
+         Record kept = lists[1];
+         while (kept != null) {
+            Record next = kept.next;
+            overdue(kept);
+            kept = next;
+         }
+         return lists[0];
+      }
+
+      private void collect(long dueTime, boolean owned, Record[] lists) {
+         Record[] slots = wheels[0];
+         if (slots == null) {
+            return;
+         }
+         int slot = (int) (currentTick & WHEEL_MASK);
+         Record record = slots[slot];
+         slots[slot] = null;
+         while (record != null) {
+            Record next = record.next;
+            counts[0]--;
+            if (isLive(record)) {
+               // Records that are not due yet or that we are not responsible for stay in the current slot
+               // Entries are only expired once the time is strictly after their expiration time
+               int list = owned && record.expiryTime < dueTime ? 0 : 1;
+               record.next = lists[list];
+               lists[list] = record;
+            }
+            record = next;
+         }
+      }
+
+      private void overdue(Record record) {
+         // Records of previous ticks are kept in the slot of the current tick, which is always processed
+         Record[] lowest = slots(0);
+         int slot = (int) (currentTick & WHEEL_MASK);
+         record.next = lowest[slot];
+         lowest[slot] = record;
+         counts[0]++;
+      }
+
+      private void cascade() {
+         // The levels whose lower bits all just wrapped must be moved down, starting from the highest one
+         int maxLevel = Math.min(LEVELS - 1, Long.numberOfTrailingZeros(currentTick) / WHEEL_BITS);
+         for (int level = maxLevel; level > 0; --level) {
+            Record[] slots = wheels[level];
+            if (slots == null) {
+               continue;
+            }
+            int slot = (int) ((currentTick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+            Record record = slots[slot];
+            slots[slot] = null;
+            while (record != null) {
+               Record next = record.next;
+               counts[level]--;
+               if (isLive(record)) {
+                  place(record);
+               }
+               record = next;
+            }
+         }
+      }
+
+      private void place(Record record) {
+         long expiryTick = record.expiryTime / tickMillis;
+         if (expiryTick <= currentTick) {
+            overdue(record);
+            return;
+         }
+         int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(expiryTick ^ currentTick)) / WHEEL_BITS;
+         int slot = (int) ((expiryTick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+         Record[] slots = slots(level);
+         record.next = slots[slot];
+         slots[slot] = record;
+         counts[level]++;
+      }
+
+      private Record[] slots(int level) {
+         Record[] slots = wheels[level];
+         if (slots == null) {
+            slots = new Record[WHEEL_SIZE];
+            wheels[level] = slots;
+         }
+         return slots;
+      }
+   }
+}
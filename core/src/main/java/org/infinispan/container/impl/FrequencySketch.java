@@ -0,0 +1,88 @@
+package org.infinispan.container.impl;
+
+/**
+ * A count-min sketch estimating how often keys were accessed recently, with 4-bit counters.
+ * <p>
+ * Each key maps to four counters, and its estimated frequency is the smallest of them. The counters are halved after a
+ * sample of ten accesses per key of the maximum size has been recorded, so the estimate favours recent accesses.
+ * <p>
+ * Updates are not atomic, concurrent increments may be lost. The sketch only guides the admission of entries, so an
+ * approximate count is acceptable.
+ *
+ * @since 16.3
+ */
+final class FrequencySketch {
+   private static final long[] SEEDS = {
+         0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+   private static final long RESET_MASK = 0x7777777777777777L;
+   private static final int MAX_FREQUENCY = 15;
+
+   private final long[] table;
+   private final int tableMask;
+   private final int sampleSize;
+   private int samples;
+
+   /**
+    * @param maximumSize the number of keys the sketch should distinguish
+    */
+   FrequencySketch(long maximumSize) {
+      int maximum = (int) Math.min(Math.max(maximumSize, 2), 1 << 30);
+      // Half the maximum size rounded up to a power of two: every long holds 16 counters, so 8 counters for each key
+      table = new long[Integer.highestOneBit(maximum - 1)];
+      tableMask = table.length - 1;
+      sampleSize = (int) Math.min(10L * maximum, Integer.MAX_VALUE);
+   }
+
+   int frequency(Object key) {
+      int hash = spread(key.hashCode());
+      int start = (hash & 3) << 2;
+      int frequency = MAX_FREQUENCY;
+      for (int i = 0; i < 4; i++) {
+         int index = indexOf(hash, i);
+         int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+         frequency = Math.min(frequency, count);
+      }
+      return frequency;
+   }
+
+   void increment(Object key) {
+      int hash = spread(key.hashCode());
+      int start = (hash & 3) << 2;
+      boolean added = false;
+      for (int i = 0; i < 4; i++) {
+         added |= incrementAt(indexOf(hash, i), start + i);
+      }
+      if (added && ++samples >= sampleSize) {
+         reset();
+      }
+   }
+
+   private boolean incrementAt(int index, int counter) {
+      int offset = counter << 2;
+      long mask = 0xfL << offset;
+      if ((table[index] & mask) != mask) {
+         table[index] += 1L << offset;
+         return true;
+      }
+      return false;
+   }
+
+   private void reset() {
+      for (int i = 0; i < table.length; i++) {
+         table[i] = (table[i] >>> 1) & RESET_MASK;
+      }
+      samples >>>= 1;
+   }
+
+   private int indexOf(int hash, int i) {
+      long h = (hash + SEEDS[i]) * SEEDS[i];
+      h += h >>> 32;
+      return ((int) h) & tableMask;
+   }
+
+   private static int spread(int x) {
+      x = ((x >>> 16) ^ x) * 0x45d9f3b;
+      x = ((x >>> 16) ^ x) * 0x45d9f3b;
+      return (x >>> 16) ^ x;
+   }
+}
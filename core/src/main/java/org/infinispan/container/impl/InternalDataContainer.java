@@ -276,4 +276,33 @@ default void cleanUp() {
     * @return true if any entry can expire, false otherwise.
     */
    boolean hasExpirable();
+
+   /**
+    * Returns the entries mapped to the given segments that may be expired at the given time, for the expiration
+    * reaper to verify and remove. By default this is the same as {@link #iteratorIncludingExpired(IntSet)}, but a
+    * container that maintains an {@link ExpirationIndex} only returns the entries the index found to be expired.
+    * @param segments segments of the entries to return
+    * @param currentTimeMillis the current wall clock time
+    * @return iterator of the entries that may be expired
+    */
+   default Iterator<InternalCacheEntry<K, V>> iteratorExpirationCandidates(IntSet segments, long currentTimeMillis) {
+      return iteratorIncludingExpired(segments);
+   }
+
+   /**
+    * Same as {@link #iteratorExpirationCandidates(IntSet, long)} but for all the segments of the container.
+    * @param currentTimeMillis the current wall clock time
+    * @return iterator of the entries that may be expired
+    */
+   default Iterator<InternalCacheEntry<K, V>> iteratorExpirationCandidates(long currentTimeMillis) {
+      return iteratorIncludingExpired();
+   }
+
+   /**
+    * @return how many entries are tracked by the {@link ExpirationIndex} of this container or -1 if the container
+    * does not maintain one
+    */
+   default long expirationIndexSize() {
+      return -1;
+   }
 }
@@ -51,15 +51,17 @@ public InternalCacheEntry create(Object key, Object value, Metadata metadata) {
       long lifespan = metadata != null ? metadata.lifespan() : -1;
       long maxIdle = metadata != null ? metadata.maxIdle() : -1;
       if (!isStoreMetadata(metadata, null)) {
-         if (lifespan < 0 && maxIdle < 0) return new ImmortalCacheEntry(key, value);
-         if (lifespan > -1 && maxIdle < 0) return new MortalCacheEntry(key, value, lifespan, timeService.wallClockTime());
-         if (lifespan < 0 && maxIdle > -1) return new TransientCacheEntry(key, value, maxIdle, timeService.wallClockTime());
-         return new TransientMortalCacheEntry(key, value, maxIdle, lifespan, timeService.wallClockTime());
+         if (lifespan < 0 && maxIdle < 0) return newImmortal(key, value);
+         if (lifespan > -1 && maxIdle < 0) return newMortal(key, value, lifespan, timeService.wallClockTime());
+         if (lifespan < 0 && maxIdle > -1) return newTransient(key, value, maxIdle, timeService.wallClockTime());
+         long now = timeService.wallClockTime();
+         return newTransientMortal(key, value, maxIdle, lifespan, now, now);
       } else {
-         if (lifespan < 0 && maxIdle < 0) return new MetadataImmortalCacheEntry(key, value, metadata);
-         if (lifespan > -1 && maxIdle < 0) return new MetadataMortalCacheEntry(key, value, metadata, timeService.wallClockTime());
-         if (lifespan < 0 && maxIdle > -1) return new MetadataTransientCacheEntry(key, value, metadata, timeService.wallClockTime());
-         return new MetadataTransientMortalCacheEntry(key, value, metadata, timeService.wallClockTime());
+         if (lifespan < 0 && maxIdle < 0) return newMetadataImmortal(key, value, metadata);
+         if (lifespan > -1 && maxIdle < 0) return newMetadataMortal(key, value, metadata, timeService.wallClockTime());
+         if (lifespan < 0 && maxIdle > -1) return newMetadataTransient(key, value, metadata, timeService.wallClockTime());
+         long now = timeService.wallClockTime();
+         return newMetadataTransientMortal(key, value, metadata, now, now);
       }
    }
 
@@ -85,36 +87,36 @@ public InternalCacheEntry create(Object key, Object value, InternalCacheEntry ca
    @Override
    public InternalCacheEntry create(Object key, Object value, EntryVersion version, long created, long lifespan, long lastUsed, long maxIdle) {
       if (version == null) {
-         if (lifespan < 0 && maxIdle < 0) return new ImmortalCacheEntry(key, value);
-         if (lifespan > -1 && maxIdle < 0) return new MortalCacheEntry(key, value, lifespan, created);
-         if (lifespan < 0 && maxIdle > -1) return new TransientCacheEntry(key, value, maxIdle, lastUsed);
-         return new TransientMortalCacheEntry(key, value, maxIdle, lifespan, lastUsed, created);
+         if (lifespan < 0 && maxIdle < 0) return newImmortal(key, value);
+         if (lifespan > -1 && maxIdle < 0) return newMortal(key, value, lifespan, created);
+         if (lifespan < 0 && maxIdle > -1) return newTransient(key, value, maxIdle, lastUsed);
+         return newTransientMortal(key, value, maxIdle, lifespan, lastUsed, created);
       } else {
          // If no metadata passed, assumed embedded metadata
          Metadata metadata = new EmbeddedMetadata.Builder()
                .lifespan(lifespan).maxIdle(maxIdle).version(version).build();
-         if (lifespan < 0 && maxIdle < 0) return new MetadataImmortalCacheEntry(key, value, metadata);
-         if (lifespan > -1 && maxIdle < 0) return new MetadataMortalCacheEntry(key, value, metadata, created);
-         if (lifespan < 0 && maxIdle > -1) return new MetadataTransientCacheEntry(key, value, metadata, lastUsed);
-         return new MetadataTransientMortalCacheEntry(key, value, metadata, lastUsed, created);
+         if (lifespan < 0 && maxIdle < 0) return newMetadataImmortal(key, value, metadata);
+         if (lifespan > -1 && maxIdle < 0) return newMetadataMortal(key, value, metadata, created);
+         if (lifespan < 0 && maxIdle > -1) return newMetadataTransient(key, value, metadata, lastUsed);
+         return newMetadataTransientMortal(key, value, metadata, lastUsed, created);
       }
    }
 
    @Override
    public InternalCacheEntry create(Object key, Object value, Metadata metadata, long created, long lifespan, long lastUsed, long maxIdle) {
       if (!isStoreMetadata(metadata, null)) {
-         if (lifespan < 0 && maxIdle < 0) return new ImmortalCacheEntry(key, value);
-         if (lifespan > -1 && maxIdle < 0) return new MortalCacheEntry(key, value, lifespan, created);
-         if (lifespan < 0 && maxIdle > -1) return new TransientCacheEntry(key, value, maxIdle, lastUsed);
-         return new TransientMortalCacheEntry(key, value, maxIdle, lifespan, lastUsed, created);
+         if (lifespan < 0 && maxIdle < 0) return newImmortal(key, value);
+         if (lifespan > -1 && maxIdle < 0) return newMortal(key, value, lifespan, created);
+         if (lifespan < 0 && maxIdle > -1) return newTransient(key, value, maxIdle, lastUsed);
+         return newTransientMortal(key, value, maxIdle, lifespan, lastUsed, created);
       } else {
          // Metadata to store, take lifespan and maxIdle settings from it
          long metaLifespan = metadata.lifespan();
          long metaMaxIdle = metadata.maxIdle();
-         if (metaLifespan < 0 && metaMaxIdle < 0) return new MetadataImmortalCacheEntry(key, value, metadata);
-         if (metaLifespan > -1 && metaMaxIdle < 0) return new MetadataMortalCacheEntry(key, value, metadata, created);
-         if (metaLifespan < 0 && metaMaxIdle > -1) return new MetadataTransientCacheEntry(key, value, metadata, lastUsed);
-         return new MetadataTransientMortalCacheEntry(key, value, metadata, lastUsed, created);
+         if (metaLifespan < 0 && metaMaxIdle < 0) return newMetadataImmortal(key, value, metadata);
+         if (metaLifespan > -1 && metaMaxIdle < 0) return newMetadataMortal(key, value, metadata, created);
+         if (metaLifespan < 0 && metaMaxIdle > -1) return newMetadataTransient(key, value, metadata, lastUsed);
+         return newMetadataTransientMortal(key, value, metadata, lastUsed, created);
       }
    }
 
@@ -149,18 +151,20 @@ public InternalCacheValue createValue(CacheEntry cacheEntry) {
    // TODO: Do we need this???
    public InternalCacheEntry create(Object key, Object value, Metadata metadata, long lifespan, long maxIdle) {
       if (!isStoreMetadata(metadata, null)) {
-         if (lifespan < 0 && maxIdle < 0) return new ImmortalCacheEntry(key, value);
-         if (lifespan > -1 && maxIdle < 0) return new MortalCacheEntry(key, value, lifespan, timeService.wallClockTime());
-         if (lifespan < 0 && maxIdle > -1) return new TransientCacheEntry(key, value, maxIdle, timeService.wallClockTime());
-         return new TransientMortalCacheEntry(key, value, maxIdle, lifespan, timeService.wallClockTime());
+         if (lifespan < 0 && maxIdle < 0) return newImmortal(key, value);
+         if (lifespan > -1 && maxIdle < 0) return newMortal(key, value, lifespan, timeService.wallClockTime());
+         if (lifespan < 0 && maxIdle > -1) return newTransient(key, value, maxIdle, timeService.wallClockTime());
+         long now = timeService.wallClockTime();
+         return newTransientMortal(key, value, maxIdle, lifespan, now, now);
       } else {
          // Metadata to store, take lifespan and maxIdle settings from it
          long metaLifespan = metadata.lifespan();
          long metaMaxIdle = metadata.maxIdle();
-         if (metaLifespan < 0 && metaMaxIdle < 0) return new MetadataImmortalCacheEntry(key, value, metadata);
-         if (metaLifespan > -1 && metaMaxIdle < 0) return new MetadataMortalCacheEntry(key, value, metadata, timeService.wallClockTime());
-         if (metaLifespan < 0 && metaMaxIdle > -1) return new MetadataTransientCacheEntry(key, value, metadata, timeService.wallClockTime());
-         return new MetadataTransientMortalCacheEntry(key, value, metadata, timeService.wallClockTime());
+         if (metaLifespan < 0 && metaMaxIdle < 0) return newMetadataImmortal(key, value, metadata);
+         if (metaLifespan > -1 && metaMaxIdle < 0) return newMetadataMortal(key, value, metadata, timeService.wallClockTime());
+         if (metaLifespan < 0 && metaMaxIdle > -1) return newMetadataTransient(key, value, metadata, timeService.wallClockTime());
+         long now = timeService.wallClockTime();
+         return newMetadataTransientMortal(key, value, metadata, now, now);
       }
    }
 
@@ -210,9 +214,9 @@ public CacheEntry copy(CacheEntry cacheEntry) {
    @Override
    public <K, V> InternalCacheEntry createL1(K key, V value, Metadata metadata) {
       if (!isStoreMetadata(metadata, null)) {
-         return new L1InternalCacheEntry(key, value, metadata.lifespan(), timeService.wallClockTime());
+         return newL1(key, value, metadata.lifespan(), timeService.wallClockTime());
       } else {
-         return new L1MetadataInternalCacheEntry(key, value, metadata, timeService.wallClockTime());
+         return newL1Metadata(key, value, metadata, timeService.wallClockTime());
       }
    }
 
@@ -248,14 +252,14 @@ private InternalCacheEntry updateMetadataUnawareEntry(InternalCacheEntry ice, lo
             if (ice instanceof ImmortalCacheEntry && !(ice instanceof MetadataImmortalCacheEntry)) {
                return ice;
             } else {
-               return new ImmortalCacheEntry(ice.getKey(), ice.getValue());
+               return newImmortal(ice.getKey(), ice.getValue());
             }
          } else {
             if (ice instanceof TransientCacheEntry) {
                ((TransientCacheEntry) ice).setMaxIdle(maxIdle);
                return ice;
             } else {
-               return new TransientCacheEntry(ice.getKey(), ice.getValue(), maxIdle, timeService.wallClockTime());
+               return newTransient(ice.getKey(), ice.getValue(), maxIdle, timeService.wallClockTime());
             }
          }
       } else {
@@ -264,7 +268,7 @@ private InternalCacheEntry updateMetadataUnawareEntry(InternalCacheEntry ice, lo
                ((MortalCacheEntry) ice).setLifespan(lifespan);
                return ice;
             } else {
-               return new MortalCacheEntry(ice.getKey(), ice.getValue(), lifespan, timeService.wallClockTime());
+               return newMortal(ice.getKey(), ice.getValue(), lifespan, timeService.wallClockTime());
             }
          } else {
             if (ice instanceof TransientMortalCacheEntry) {
@@ -274,7 +278,7 @@ private InternalCacheEntry updateMetadataUnawareEntry(InternalCacheEntry ice, lo
                return ice;
             } else {
                long ctm = timeService.wallClockTime();
-               return new TransientMortalCacheEntry(ice.getKey(), ice.getValue(), maxIdle, lifespan, ctm, ctm);
+               return newTransientMortal(ice.getKey(), ice.getValue(), maxIdle, lifespan, ctm, ctm);
             }
          }
       }
@@ -289,15 +293,14 @@ private InternalCacheEntry updateMetadataAwareEntry(InternalCacheEntry ice, Meta
                ice.setMetadata(metadata);
                return ice;
             } else {
-               return new MetadataImmortalCacheEntry(ice.getKey(), ice.getValue(), metadata);
+               return newMetadataImmortal(ice.getKey(), ice.getValue(), metadata);
             }
          } else {
             if (ice instanceof MetadataTransientCacheEntry) {
                ice.setMetadata(metadata);
                return ice;
             } else {
-               return new MetadataTransientCacheEntry(ice.getKey(), ice.getValue(), metadata,
-                                                      timeService.wallClockTime());
+               return newMetadataTransient(ice.getKey(), ice.getValue(), metadata, timeService.wallClockTime());
             }
          }
       } else {
@@ -306,7 +309,7 @@ private InternalCacheEntry updateMetadataAwareEntry(InternalCacheEntry ice, Meta
                ice.setMetadata(metadata);
                return ice;
             } else {
-               return new MetadataMortalCacheEntry(ice.getKey(), ice.getValue(), metadata, timeService.wallClockTime());
+               return newMetadataMortal(ice.getKey(), ice.getValue(), metadata, timeService.wallClockTime());
             }
          } else {
             if (ice instanceof MetadataTransientMortalCacheEntry) {
@@ -314,12 +317,54 @@ private InternalCacheEntry updateMetadataAwareEntry(InternalCacheEntry ice, Meta
                return ice;
             } else {
                long ctm = timeService.wallClockTime();
-               return new MetadataTransientMortalCacheEntry(ice.getKey(), ice.getValue(), metadata, ctm, ctm);
+               return newMetadataTransientMortal(ice.getKey(), ice.getValue(), metadata, ctm, ctm);
             }
          }
       }
    }
 
+   protected InternalCacheEntry newImmortal(Object key, Object value) {
+      return new ImmortalCacheEntry(key, value);
+   }
+
+   protected InternalCacheEntry newMortal(Object key, Object value, long lifespan, long created) {
+      return new MortalCacheEntry(key, value, lifespan, created);
+   }
+
+   protected InternalCacheEntry newTransient(Object key, Object value, long maxIdle, long lastUsed) {
+      return new TransientCacheEntry(key, value, maxIdle, lastUsed);
+   }
+
+   protected InternalCacheEntry newTransientMortal(Object key, Object value, long maxIdle, long lifespan, long lastUsed,
+                                                   long created) {
+      return new TransientMortalCacheEntry(key, value, maxIdle, lifespan, lastUsed, created);
+   }
+
+   protected InternalCacheEntry newMetadataImmortal(Object key, Object value, Metadata metadata) {
+      return new MetadataImmortalCacheEntry(key, value, metadata);
+   }
+
+   protected InternalCacheEntry newMetadataMortal(Object key, Object value, Metadata metadata, long created) {
+      return new MetadataMortalCacheEntry(key, value, metadata, created);
+   }
+
+   protected InternalCacheEntry newMetadataTransient(Object key, Object value, Metadata metadata, long lastUsed) {
+      return new MetadataTransientCacheEntry(key, value, metadata, lastUsed);
+   }
+
+   protected InternalCacheEntry newMetadataTransientMortal(Object key, Object value, Metadata metadata, long lastUsed,
+                                                           long created) {
+      return new MetadataTransientMortalCacheEntry(key, value, metadata, lastUsed, created);
+   }
+
+   protected InternalCacheEntry newL1(Object key, Object value, long lifespan, long created) {
+      return new L1InternalCacheEntry(key, value, lifespan, created);
+   }
+
+   protected InternalCacheEntry newL1Metadata(Object key, Object value, Metadata metadata, long created) {
+      return new L1MetadataInternalCacheEntry(key, value, metadata, created);
+   }
+
    /**
     * Indicates whether the entire metadata object needs to be stored or not.
     *
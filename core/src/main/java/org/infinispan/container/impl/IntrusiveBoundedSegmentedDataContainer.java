@@ -0,0 +1,427 @@
+package org.infinispan.container.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.infinispan.commons.util.AbstractDelegatingConcurrentMap;
+import org.infinispan.commons.util.ByRef;
+import org.infinispan.container.entries.AccessOrderList;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.eviction.EvictionPolicy;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Bounded implementation of segmented data container, that keeps the eviction state in the entries instead of in a
+ * Caffeine cache.
+ * <p>
+ * Every segment map links its entries in access order through the entries themselves, see {@link AccessOrderList}, so
+ * no node is allocated per entry besides the {@link ConcurrentHashMap} one. The links are only held by the
+ * {@link org.infinispan.container.entries.AccessOrderEntry} instances that {@link AccessOrderInternalEntryFactoryImpl}
+ * creates for the caches using this container. The entry count is shared by all segments.
+ * When it exceeds the maximum, the least recently used entry of the segments is evicted, visiting the segments in a
+ * round-robin fashion. With {@link EvictionPolicy#TINY_LFU}, a frequency sketch is also updated on every access and
+ * the entry that was just written is evicted instead when it was accessed less frequently than the victim.
+ * <p>
+ * Reads only reorder the entries when the segment lock is free, so a contended segment approximates the access order.
+ * Only count based bounding is supported.
+ *
+ * @since 16.3
+ */
+public class IntrusiveBoundedSegmentedDataContainer<K, V> extends DefaultSegmentedDataContainer<K, V> {
+   private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+
+   private final EvictionState state;
+   private final AtomicInteger evictionCursor = new AtomicInteger();
+
+   public IntrusiveBoundedSegmentedDataContainer(int numSegments, long maxCount, EvictionPolicy policy) {
+      this(numSegments, new EvictionState(maxCount, policy == EvictionPolicy.TINY_LFU));
+   }
+
+   private IntrusiveBoundedSegmentedDataContainer(int numSegments, EvictionState state) {
+      super(state::newMap, numSegments);
+      this.state = state;
+   }
+
+   @Override
+   public void put(int segment, K k, V v, Metadata metadata, PrivateMetadata internalMetadata, long createdTimestamp,
+         long lastUseTimestamp) {
+      super.put(segment, k, v, metadata, internalMetadata, createdTimestamp, lastUseTimestamp);
+      // Evict outside the map lock, as the victim is usually protected by another lock
+      ensureSize(k);
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> compute(int segment, K key, ComputeAction<K, V> action) {
+      InternalCacheEntry<K, V> result = super.compute(segment, key, action);
+      if (result != null) {
+         ensureSize(key);
+      }
+      return result;
+   }
+
+   @Override
+   public long capacity() {
+      return state.maxSize;
+   }
+
+   @Override
+   public void resize(long newSize) {
+      state.resize(newSize);
+      ensureSize(null);
+   }
+
+   @Override
+   public long evictionSize() {
+      return state.size.get();
+   }
+
+   /**
+    * Evicts entries until the count is within the maximum.
+    *
+    * @param candidate the key that was just written, which is only evicted when TinyLFU rejects it or when it is the
+    *                  only entry left
+    */
+   private void ensureSize(K candidate) {
+      while (state.size.get() > state.maxSize) {
+         if (!evictOne(candidate)) {
+            return;
+         }
+         // Only the first eviction after a write compares the frequencies
+         candidate = null;
+      }
+   }
+
+   private boolean evictOne(K candidate) {
+      int numSegments = maps.length();
+      InternalCacheEntry<K, V> candidateEntry = null;
+      int candidateSegment = -1;
+      for (int i = 0; i < numSegments; i++) {
+         int segment = Math.floorMod(evictionCursor.getAndIncrement(), numSegments);
+         if (!(maps.get(segment) instanceof AccessOrderMap<K, V> map)) {
+            continue;
+         }
+         InternalCacheEntry<K, V> victim = map.leastRecentlyUsed();
+         if (victim == null) {
+            continue;
+         }
+         if (candidate != null && candidate.equals(victim.getKey())) {
+            // Keep the entry that was just written while there are others to evict
+            candidateEntry = victim;
+            candidateSegment = segment;
+            continue;
+         }
+         if (candidate != null && state.sketch != null && state.sketch.frequency(candidate) < state.sketch.frequency(victim.getKey())) {
+            int segmentForCandidate = getSegmentForKey(candidate);
+            if (maps.get(segmentForCandidate) instanceof AccessOrderMap<K, V> candidateMap) {
+               InternalCacheEntry<K, V> rejected = candidateMap.peek(candidate);
+               if (rejected != null) {
+                  if (log.isTraceEnabled()) {
+                     log.tracef("Rejecting key %s as it is less frequent than key %s", candidate, victim.getKey());
+                  }
+                  evictEntry(segmentForCandidate, candidateMap, rejected);
+                  return true;
+               }
+            }
+         }
+         evictEntry(segment, map, victim);
+         return true;
+      }
+      if (candidateEntry != null) {
+         evictEntry(candidateSegment, (AccessOrderMap<K, V>) maps.get(candidateSegment), candidateEntry);
+         return true;
+      }
+      return false;
+   }
+
+   private void evictEntry(int segment, AccessOrderMap<K, V> map, InternalCacheEntry<K, V> victim) {
+      if (map == null) {
+         return;
+      }
+      map.computeIfPresent(victim.getKey(), (k, current) -> {
+         if (current != victim) {
+            // Written concurrently, so it is no longer the least recently used
+            return current;
+         }
+         // Note this is non blocking, it only starts the passivation and the notifications
+         handleEviction(current, orderer, passivator.running(), evictionManager, this, nonBlockingExecutor, null);
+         entryRemoved(segment, current);
+         return null;
+      });
+   }
+
+   /**
+    * The eviction state shared by all the segment maps.
+    */
+   private static final class EvictionState {
+      final AtomicLong size = new AtomicLong();
+      final boolean frequencyAdmission;
+      volatile long maxSize;
+      volatile FrequencySketch sketch;
+
+      EvictionState(long maxSize, boolean frequencyAdmission) {
+         this.frequencyAdmission = frequencyAdmission;
+         resize(maxSize);
+      }
+
+      void resize(long newSize) {
+         maxSize = newSize;
+         if (frequencyAdmission) {
+            sketch = new FrequencySketch(newSize);
+         }
+      }
+
+      void recordAccess(Object key) {
+         FrequencySketch sketch = this.sketch;
+         if (sketch != null) {
+            sketch.increment(key);
+         }
+      }
+
+      <K, V> PeekableTouchableMap<K, V> newMap() {
+         return new AccessOrderMap<>(this);
+      }
+   }
+
+   /**
+    * A segment map that keeps its entries in access order. All the writes go through the compute methods of the
+    * {@link ConcurrentHashMap}, so the order is updated while holding the lock of the key.
+    */
+   private static final class AccessOrderMap<K, V> extends AbstractDelegatingConcurrentMap<K, InternalCacheEntry<K, V>>
+         implements PeekableTouchableMap<K, V>, AutoCloseable {
+      private final ConcurrentMap<K, InternalCacheEntry<K, V>> map = new ConcurrentHashMap<>();
+      private final ReentrantLock lock = new ReentrantLock();
+      private final AccessOrderList accessOrder = new AccessOrderList();
+      private final EvictionState state;
+
+      AccessOrderMap(EvictionState state) {
+         this.state = state;
+      }
+
+      @Override
+      protected ConcurrentMap<K, InternalCacheEntry<K, V>> delegate() {
+         return map;
+      }
+
+      @SuppressWarnings("unchecked")
+      InternalCacheEntry<K, V> leastRecentlyUsed() {
+         lock.lock();
+         try {
+            return (InternalCacheEntry<K, V>) accessOrder.first();
+         } finally {
+            lock.unlock();
+         }
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> get(Object key) {
+         InternalCacheEntry<K, V> ice = map.get(key);
+         state.recordAccess(key);
+         // Skipping the reordering under contention is cheaper than waiting for it
+         if (ice != null && lock.tryLock()) {
+            try {
+               accessOrder.touch(ice);
+            } finally {
+               lock.unlock();
+            }
+         }
+         return ice;
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> getOrDefault(Object key, InternalCacheEntry<K, V> defaultValue) {
+         InternalCacheEntry<K, V> ice = get(key);
+         return ice != null ? ice : defaultValue;
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> peek(Object key) {
+         return map.get(key);
+      }
+
+      @Override
+      public void touchAll(long currentTimeMillis) {
+         for (InternalCacheEntry<K, V> ice : map.values()) {
+            ice.touch(currentTimeMillis);
+         }
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> put(K key, InternalCacheEntry<K, V> value) {
+         Objects.requireNonNull(value);
+         ByRef<InternalCacheEntry<K, V>> previous = new ByRef<>(null);
+         map.compute(key, (k, old) -> {
+            previous.set(old);
+            return written(k, old, value);
+         });
+         return previous.get();
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> putIfAbsent(K key, InternalCacheEntry<K, V> value) {
+         Objects.requireNonNull(value);
+         ByRef<InternalCacheEntry<K, V>> previous = new ByRef<>(null);
+         map.compute(key, (k, old) -> {
+            previous.set(old);
+            return old != null ? old : written(k, null, value);
+         });
+         return previous.get();
+      }
+
+      @Override
+      public void putAll(Map<? extends K, ? extends InternalCacheEntry<K, V>> m) {
+         m.forEach(this::put);
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public InternalCacheEntry<K, V> remove(Object key) {
+         ByRef<InternalCacheEntry<K, V>> previous = new ByRef<>(null);
+         map.computeIfPresent((K) key, (k, old) -> {
+            previous.set(old);
+            return written(k, old, null);
+         });
+         return previous.get();
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public boolean remove(Object key, Object value) {
+         ByRef.Boolean removed = new ByRef.Boolean(false);
+         map.computeIfPresent((K) key, (k, old) -> {
+            if (!old.equals(value)) {
+               return old;
+            }
+            removed.set(true);
+            return written(k, old, null);
+         });
+         return removed.get();
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> replace(K key, InternalCacheEntry<K, V> value) {
+         Objects.requireNonNull(value);
+         ByRef<InternalCacheEntry<K, V>> previous = new ByRef<>(null);
+         map.computeIfPresent(key, (k, old) -> {
+            previous.set(old);
+            return written(k, old, value);
+         });
+         return previous.get();
+      }
+
+      @Override
+      public boolean replace(K key, InternalCacheEntry<K, V> oldValue, InternalCacheEntry<K, V> newValue) {
+         Objects.requireNonNull(newValue);
+         ByRef.Boolean replaced = new ByRef.Boolean(false);
+         map.computeIfPresent(key, (k, old) -> {
+            if (!old.equals(oldValue)) {
+               return old;
+            }
+            replaced.set(true);
+            return written(k, old, newValue);
+         });
+         return replaced.get();
+      }
+
+      @Override
+      public void replaceAll(BiFunction<? super K, ? super InternalCacheEntry<K, V>, ? extends InternalCacheEntry<K, V>> function) {
+         for (K key : map.keySet()) {
+            computeIfPresent(key, function);
+         }
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> compute(K key,
+            BiFunction<? super K, ? super InternalCacheEntry<K, V>, ? extends InternalCacheEntry<K, V>> remappingFunction) {
+         return map.compute(key, (k, old) -> written(k, old, remappingFunction.apply(k, old)));
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> computeIfAbsent(K key,
+            Function<? super K, ? extends InternalCacheEntry<K, V>> mappingFunction) {
+         return map.computeIfAbsent(key, k -> written(k, null, mappingFunction.apply(k)));
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> computeIfPresent(K key,
+            BiFunction<? super K, ? super InternalCacheEntry<K, V>, ? extends InternalCacheEntry<K, V>> remappingFunction) {
+         return map.computeIfPresent(key, (k, old) -> written(k, old, remappingFunction.apply(k, old)));
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> merge(K key, InternalCacheEntry<K, V> value,
+            BiFunction<? super InternalCacheEntry<K, V>, ? super InternalCacheEntry<K, V>, ? extends InternalCacheEntry<K, V>> remappingFunction) {
+         Objects.requireNonNull(value);
+         return map.compute(key, (k, old) -> written(k, old, old == null ? value : remappingFunction.apply(old, value)));
+      }
+
+      @Override
+      public void clear() {
+         // Removing the keys one by one keeps the count right with concurrent writes
+         for (K key : map.keySet()) {
+            remove(key);
+         }
+      }
+
+      @Override
+      public Set<K> keySet() {
+         return Collections.unmodifiableSet(map.keySet());
+      }
+
+      @Override
+      public Collection<InternalCacheEntry<K, V>> values() {
+         return Collections.unmodifiableCollection(map.values());
+      }
+
+      @Override
+      public Set<Entry<K, InternalCacheEntry<K, V>>> entrySet() {
+         return Collections.unmodifiableSet(map.entrySet());
+      }
+
+      @Override
+      public void close() {
+         clear();
+      }
+
+      /**
+       * Updates the access order after a write, must be invoked while holding the lock of the key.
+       */
+      private InternalCacheEntry<K, V> written(K key, InternalCacheEntry<K, V> old, InternalCacheEntry<K, V> value) {
+         if (old == value && value == null) {
+            return null;
+         }
+         int delta = 0;
+         lock.lock();
+         try {
+            if (old != null && old != value && accessOrder.remove(old)) {
+               delta--;
+            }
+            if (value != null && accessOrder.addLast(value)) {
+               delta++;
+            }
+         } finally {
+            lock.unlock();
+         }
+         if (delta != 0) {
+            state.size.addAndGet(delta);
+         }
+         if (value != null) {
+            state.recordAccess(key);
+         }
+         return value;
+      }
+   }
+}
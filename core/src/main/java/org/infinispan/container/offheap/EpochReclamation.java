@@ -0,0 +1,151 @@
+package org.infinispan.container.offheap;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
+
+/**
+ * Defers the deallocation of native memory until no reader that does not hold a lock can still be reading it.
+ * <p>
+ * Readers {@link #enter()} the current epoch before reading memory without holding a lock and {@link #exit(int)} it
+ * afterwards. Writers {@link #retire(long, long)} the memory they unlinked instead of deallocating it. The epoch only
+ * advances once all the readers of the previous epoch have exited, so memory retired in an epoch can be deallocated
+ * once the epoch has advanced twice.
+ * <p>
+ * Readers count themselves in counters striped by thread, each padded to its own cache line, so readers running on
+ * different cores do not write to the same cache line.
+ *
+ * @since 16.3
+ */
+final class EpochReclamation {
+   // Each stripe holds the counters of the two epoch parities, padded to 64 bytes
+   private static final int STRIPE_LONGS = 8;
+   private static final int RECLAIM_THRESHOLD = 64;
+
+   private final OffHeapMemoryAllocator allocator;
+   private final AtomicLong epoch = new AtomicLong(2);
+   private final AtomicLongArray readers;
+   private final int stripeMask;
+   private final ConcurrentLinkedQueue<Retired> retired = new ConcurrentLinkedQueue<>();
+   private final AtomicInteger retiredCount = new AtomicInteger();
+   private final AtomicBoolean reclaiming = new AtomicBoolean();
+
+   EpochReclamation(OffHeapMemoryAllocator allocator) {
+      this.allocator = allocator;
+      int stripes = Util.findNextHighestPowerOfTwo(ProcessorInfo.availableProcessors() << 2);
+      this.readers = new AtomicLongArray(stripes * STRIPE_LONGS);
+      this.stripeMask = stripes - 1;
+   }
+
+   /**
+    * Announces a reader in the current epoch.
+    *
+    * @return the token to pass to {@link #exit(int)}
+    */
+   int enter() {
+      int stripe = ((int) Thread.currentThread().getId() & stripeMask) * STRIPE_LONGS;
+      while (true) {
+         long current = epoch.get();
+         int index = stripe + (int) (current & 1);
+         readers.getAndIncrement(index);
+         // The epoch may have advanced without waiting for this reader, try again in the new one
+         if (epoch.get() == current) {
+            return index;
+         }
+         readers.getAndDecrement(index);
+      }
+   }
+
+   void exit(int token) {
+      readers.getAndDecrement(token);
+   }
+
+   /**
+    * Deallocates the memory once no reader can reference it. The memory must not be reachable by new readers anymore.
+    */
+   void retire(long address, long size) {
+      // The unlinking stores must be visible before reading the epoch, or a reader of the next epoch could find it
+      VarHandle.fullFence();
+      retired.add(new Retired(address, size, epoch.get()));
+      if (retiredCount.incrementAndGet() >= RECLAIM_THRESHOLD) {
+         tryReclaim();
+      }
+   }
+
+   /**
+    * Deallocates the retired memory that readers cannot reference anymore, without waiting for the readers.
+    */
+   void tryReclaim() {
+      if (!reclaiming.compareAndSet(false, true)) {
+         return;
+      }
+      try {
+         long current = epoch.get();
+         if (activeReaders(current - 1) == 0 && epoch.compareAndSet(current, current + 1)) {
+            current++;
+         }
+         deallocateRetiredBefore(current - 1);
+      } finally {
+         reclaiming.set(false);
+      }
+   }
+
+   /**
+    * Waits for the readers that may reference retired memory and deallocates all of it. Must only be invoked while
+    * no memory is being retired concurrently.
+    */
+   void reclaimAll() {
+      while (!reclaiming.compareAndSet(false, true)) {
+         Thread.onSpinWait();
+      }
+      try {
+         long current = epoch.get();
+         for (int i = 0; i < 2; i++) {
+            // The readers of the previous epoch only hold memory for a short time, and no new reader joins them
+            while (activeReaders(current - 1) != 0) {
+               Thread.onSpinWait();
+            }
+            epoch.set(++current);
+         }
+         deallocateRetiredBefore(current - 1);
+      } finally {
+         reclaiming.set(false);
+      }
+   }
+
+   private void deallocateRetiredBefore(long limit) {
+      Retired r;
+      while ((r = retired.peek()) != null && r.epoch < limit) {
+         retired.poll();
+         retiredCount.decrementAndGet();
+         allocator.deallocate(r.address, r.size);
+      }
+   }
+
+   private long activeReaders(long epoch) {
+      int parity = (int) (epoch & 1);
+      long count = 0;
+      for (int i = parity; i < readers.length(); i += STRIPE_LONGS) {
+         count += readers.get(i);
+      }
+      return count;
+   }
+
+   private static final class Retired {
+      final long address;
+      final long size;
+      final long epoch;
+
+      Retired(long address, long size, long epoch) {
+         this.address = address;
+         this.size = size;
+         this.epoch = epoch;
+      }
+   }
+}
@@ -41,6 +41,13 @@ public void deallocate() {
       allocator.deallocate(memory, (long) pointerCount << 3);
    }
 
+   /**
+    * Deallocates the memory once the readers that do not hold a lock cannot read it anymore.
+    */
+   void retire(EpochReclamation reclamation) {
+      reclamation.retire(memory, (long) pointerCount << 3);
+   }
+
    /**
     * Returns a stream of longs that are all of the various memory locations
     * @return stream of the various memory locations
@@ -26,6 +26,7 @@
 import org.infinispan.commons.util.IteratorMapper;
 import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
+import org.infinispan.container.entries.ImmortalCacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.PeekableTouchableMap;
 import org.infinispan.util.logging.Log;
@@ -65,8 +66,12 @@
  * This map guarantees consistency under concurrent read ands writes through a {@link StripedLock} where each
  * {@link java.util.concurrent.locks.ReadWriteLock} instance protects an equivalent region of buckets in the underlying
  * memory lookup. Read operations, that is ones that only acquire the read lock for their specific lock region, are
- * ({@code get} and {@code peek}). Iteration on a returned entrySet or value collection will acquire only a single
- * read lock at a time while inspecting a given lock region for a valid value. Write operations, ones that acquire the
+ * ({@code get} and {@code peek}). These first read the entry optimistically without acquiring the lock, and only
+ * acquire it when a write to the region happened meanwhile, when a resize is in progress or when a {@code get} must
+ * notify the {@link EntryListener}. As such readers may still reference an entry that was just removed, the memory of
+ * removed entries is only deallocated once no optimistic reader can reference it anymore. Iteration on a returned
+ * entrySet or value collection will acquire only a single read lock at a time while inspecting a given lock region for
+ * a valid value. Write operations, ones that acquire the
  * write lock for the lock region, are ({@code put}, {@code remove}, {@code replace}, {@code compute}. A clear
  * will acquire all write locks when invoked. This allows the clear to also resize the map down to the initial size.
  * <p>
@@ -97,6 +102,9 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
 
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
 
+   // Returned by an optimistic read that must be retried holding the lock
+   private static final InternalCacheEntry<WrappedBytes, WrappedBytes> RETRY_LOCKED = new ImmortalCacheEntry(null, null);
+
    // We always have to have more buckets than locks
    public static final int INITIAL_SIZE = 256;
 
@@ -115,6 +123,8 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
 
    private final OffHeapMemoryAllocator allocator;
    private final OffHeapEntryFactory offHeapEntryFactory;
+   // Optimistic readers do not hold a lock, so unlinked memory is only deallocated once they can't read it anymore
+   private final EpochReclamation reclamation;
 
    private final EntryListener listener;
 
@@ -146,6 +156,7 @@ public OffHeapConcurrentMap(OffHeapMemoryAllocator allocator,
       this.allocator = Objects.requireNonNull(allocator);
       this.offHeapEntryFactory = Objects.requireNonNull(offHeapEntryFactory);
       this.listener = listener;
+      this.reclamation = new EpochReclamation(allocator);
 
       locks = new StripedLock(LOCK_COUNT);
 
@@ -275,7 +286,7 @@ private void entryRemoved(long removedAddress) {
       if (listener != null) {
          listener.entryRemoved(removedAddress);
       }
-      allocator.deallocate(removedAddress, offHeapEntryFactory.getSize(removedAddress, false));
+      reclamation.retire(removedAddress, offHeapEntryFactory.getSize(removedAddress, false));
    }
 
    @GuardedBy("locks#writeLock")
@@ -283,7 +294,7 @@ private void entryReplaced(long newAddress, long oldAddress) {
       if (listener != null) {
          listener.entryReplaced(newAddress, oldAddress);
       }
-      allocator.deallocate(oldAddress, offHeapEntryFactory.getSize(oldAddress, false));
+      reclamation.retire(oldAddress, offHeapEntryFactory.getSize(oldAddress, false));
    }
 
    @GuardedBy("locks#readLock")
@@ -466,7 +477,7 @@ private void transferComplete() {
       }
       this.oldMemoryLookup = null;
 
-      oldMemoryLookup.deallocate();
+      oldMemoryLookup.retire(reclamation);
    }
 
    /**
@@ -548,8 +559,9 @@ public void close() {
       locks.lockAll();
       try {
          actualClear();
-         memoryLookup.deallocate();
+         memoryLookup.retire(reclamation);
          memoryLookup = null;
+         reclamation.reclaimAll();
       } finally {
          locks.unlockAll();
       }
@@ -622,6 +634,23 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k,
       int hashCode = k.hashCode();
       int lockOffset = getLockOffset(hashCode);
       StampedLock stampedLock = locks.getLockWithOffset(lockOffset);
+      // The listener may reorder the entries on a get, which requires the lock
+      if (peek || listener == null) {
+         long optimisticStamp = stampedLock.tryOptimisticRead();
+         if (optimisticStamp != 0) {
+            int token = reclamation.enter();
+            try {
+               InternalCacheEntry<WrappedBytes, WrappedBytes> ice = optimisticPeek(k, hashCode);
+               if (ice != RETRY_LOCKED && stampedLock.validate(optimisticStamp)) {
+                  return ice;
+               }
+            } catch (RuntimeException e) {
+               // A concurrent write changed the memory while it was read, read it again holding the lock
+            } finally {
+               reclamation.exit(token);
+            }
+         }
+      }
       long readStamp = stampedLock.readLock();
       try {
          checkDeallocation();
@@ -637,6 +666,28 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k,
       }
    }
 
+   /**
+    * Reads the entry without holding a lock. The memory read is not deallocated until the epoch is exited, but it may be
+    * modified concurrently, so the entry may only be used if the stamp of the lock is still valid afterwards.
+    *
+    * @return the entry, {@code null} if absent or {@link #RETRY_LOCKED} if the lock must be held to read it
+    */
+   private InternalCacheEntry<WrappedBytes, WrappedBytes> optimisticPeek(WrappedBytes k, int hashCode) {
+      MemoryAddressHash memoryLookup = this.memoryLookup;
+      // A resize moves the entries to the new lookup while holding the lock of each region
+      if (memoryLookup == null || pendingBlocks != null) {
+         return RETRY_LOCKED;
+      }
+      // The shift is derived from the lookup read, as both fields change together on a resize or a clear
+      int shift = 31 - Integer.numberOfTrailingZeros(memoryLookup.getPointerCount());
+      long bucketAddress = memoryLookup.getMemoryAddressOffsetNoTraceIfAbsent(getOffset(hashCode, shift));
+      if (bucketAddress == 0) {
+         return null;
+      }
+      long actualAddress = performGet(bucketAddress, k, hashCode);
+      return actualAddress != 0 ? offHeapEntryFactory.fromMemory(actualAddress) : null;
+   }
+
    @GuardedBy("locks#readLock")
    private InternalCacheEntry<WrappedBytes, WrappedBytes> lockedPeekOrGet(MemoryAddressHash memoryLookup,
          WrappedBytes k, int hashCode, boolean peek) {
@@ -944,7 +995,7 @@ private void actualClear() {
       };
       int pointerCount = memoryLookup.getPointerCount();
       memoryLookup.removeAll().forEach(removeEntries);
-      memoryLookup.deallocate();
+      memoryLookup.retire(reclamation);
       memoryLookup = null;
       if (listener != null) {
          boolean resized = listener.resize(-pointerCount);
@@ -959,6 +1010,8 @@ private void actualClear() {
       sizeMemoryBuckets(INITIAL_SIZE);
 
       size.set(0);
+      // Give the memory back right away, the writers are blocked and the optimistic readers are short
+      reclamation.reclaimAll();
       if (log.isTraceEnabled()) {
          log.trace("Cleared off-heap data");
       }
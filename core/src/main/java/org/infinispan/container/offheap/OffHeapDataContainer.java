@@ -27,6 +27,7 @@ public class OffHeapDataContainer extends AbstractInternalDataContainer<WrappedB
 
    @Start
    public void start() {
+      startExpirationIndex(1);
       map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null);
    }
 
@@ -107,6 +108,9 @@ public int sizeIncludingExpired() {
    @Override
    public void clear() {
       map.clear();
+      if (expirationIndex != null) {
+         expirationIndex.clear();
+      }
    }
 
    @Override
@@ -24,10 +24,14 @@
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.marshall.core.impl.ValueCompressor;
 import org.infinispan.metadata.EmbeddedMetadata;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * Factory that can create CacheEntry instances from off-heap memory.
  *
@@ -46,6 +50,10 @@ public class OffHeapEntryFactoryImpl implements OffHeapEntryFactory {
    @Inject Configuration configuration;
 
    private boolean evictionEnabled;
+   private ValueCompressor compressor;
+   // The values compressed by calculateSize, which are usually stored right after, so they are not compressed twice.
+   // The keys are compared by identity, and an empty array means the value is not worth compressing.
+   private Cache<WrappedBytes, byte[]> sizedValues;
 
    // If custom than we just store the metadata as is (no other bits should be used)
    private static final byte CUSTOM = 1;
@@ -64,15 +72,27 @@ public class OffHeapEntryFactoryImpl implements OffHeapEntryFactory {
    // Whether this entry has private metadata or not
    private static final byte HAS_PRIVATE_METADATA = 1 << 6;
 
+   // Whether the value bytes are compressed
+   private static final byte VALUE_COMPRESSED = (byte) (1 << 7);
+
+   // Bits that do not describe the metadata
+   private static final byte NON_METADATA_TYPES = HAS_PRIVATE_METADATA | VALUE_COMPRESSED;
+
    /**
     * HEADER is composed of type (byte), hashCode (int), keyLength (int), valueLength (int)
     * Note that metadata is not included as this is now optional
     */
    static final int HEADER_LENGTH = 1 + 4 + 4 + 4;
 
+   private static final int SIZED_VALUES_MAX = 1024;
+
    @Start
    public void start() {
       this.evictionEnabled = configuration.memory().isEvictionEnabled();
+      this.compressor = ValueCompressor.fromConfiguration(configuration.memory());
+      if (compressor != null) {
+         this.sizedValues = Caffeine.newBuilder().weakKeys().maximumSize(SIZED_VALUES_MAX).build();
+      }
    }
 
    @Override
@@ -134,7 +154,24 @@ public long create(WrappedBytes key, int hashCode, InternalCacheEntry<WrappedByt
       int keySize = key.getLength();
       int metadataSize = metadataBytes.length;
       WrappedBytes value = ice.getValue();
-      int valueSize = value != null ? value.getLength() : 0;
+      byte[] valueBytes;
+      int valueOffset;
+      int valueSize;
+      byte[] compressedValue = value != null ? compress(value, true) : null;
+      if (compressedValue != null) {
+         type |= VALUE_COMPRESSED;
+         valueBytes = compressedValue;
+         valueOffset = 0;
+         valueSize = compressedValue.length;
+      } else if (value != null) {
+         valueBytes = value.getBytes();
+         valueOffset = value.backArrayOffset();
+         valueSize = value.getLength();
+      } else {
+         valueBytes = null;
+         valueOffset = 0;
+         valueSize = 0;
+      }
 
       byte[] internalMetadataBytes;
       int internalMetadataSize;
@@ -181,7 +218,7 @@ public long create(WrappedBytes key, int hashCode, InternalCacheEntry<WrappedByt
       offset += metadataSize;
 
       if (valueSize > 0) {
-         MEMORY.putBytes(value.getBytes(), value.backArrayOffset(), memoryAddress, offset, valueSize);
+         MEMORY.putBytes(valueBytes, valueOffset, memoryAddress, offset, valueSize);
          offset += valueSize;
       }
 
@@ -310,7 +347,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
       offset += 4;
 
       byte[] metadataBytes;
-      switch (metadataType & (~HAS_PRIVATE_METADATA)) {
+      switch (metadataType & (~NON_METADATA_TYPES)) {
          case IMMORTAL:
             metadataBytes = Util.EMPTY_BYTE_ARRAY;
             break;
@@ -349,6 +386,9 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
          MEMORY.getBytes(address, offset, valueBytes, 0, valueBytes.length);
          offset += valueBytes.length;
 
+         if ((metadataType & VALUE_COMPRESSED) == VALUE_COMPRESSED) {
+            valueBytes = ValueCompressor.decompress(valueBytes, 0, valueBytes.length);
+         }
          valueWrappedBytes = new WrappedByteArray(valueBytes);
       } else {
          valueWrappedBytes = null;
@@ -567,7 +607,7 @@ private static boolean requiresInternalMetadataSize(byte type) {
    public long calculateSize(WrappedBytes key, WrappedBytes value, Metadata metadata, PrivateMetadata internalMetadata) {
       long totalSize = evictionEnabled ? 24 : 8;
       totalSize += HEADER_LENGTH;
-      totalSize += key.getLength() + value.getLength();
+      totalSize += key.getLength() + valueSize(value);
       long metadataSize = 0;
       if (metadata instanceof EmbeddedMetadata) {
          EntryVersion version = metadata.version();
@@ -595,6 +635,30 @@ public long calculateSize(WrappedBytes key, WrappedBytes value, Metadata metadat
       return estimateSizeOverhead(totalSize + metadataSize + internalMetadataSize);
    }
 
+   private int valueSize(WrappedBytes value) {
+      // Memory based eviction must account for the bytes that are actually stored
+      byte[] compressed = compress(value, false);
+      return compressed != null ? compressed.length : value.getLength();
+   }
+
+   /**
+    * @param store {@code true} if the value is being stored, {@code false} if it is only sized
+    * @return the compressed value, or {@code null} if it is stored as it is
+    */
+   private byte[] compress(WrappedBytes value, boolean store) {
+      if (compressor == null) {
+         return null;
+      }
+      byte[] compressed = store ? sizedValues.asMap().remove(value) : sizedValues.getIfPresent(value);
+      if (compressed == null) {
+         compressed = compressor.compress(value.getBytes(), value.backArrayOffset(), value.getLength());
+         if (!store) {
+            sizedValues.put(value, compressed != null ? compressed : Util.EMPTY_BYTE_ARRAY);
+         }
+      }
+      return compressed == null || compressed.length == 0 ? null : compressed;
+   }
+
    @Override
    public long updateMaxIdle(long address, long currentTimeMillis) {
       // 16 bytes for eviction if needed (optional)
@@ -664,7 +728,7 @@ public long updateMaxIdle(long address, long currentTimeMillis) {
       if (newMetadataSize != metadataSize) {
          // The new marshalled size is different then before, we have to rewrite the object!
          // Offset is still set to the end of the key bytes (before metadata)
-         long newPointer = MEMORY.allocate(newMetadataSize + offset + valueSize + internalMetadataSize);
+         long newPointer = allocator.allocate(newMetadataSize + offset + valueSize + internalMetadataSize);
          // This writes the next pointer, eviction pointers (if applicable),
          // type, hashCode, keyLength, metadataLength, valueLength and key bytes.
          MEMORY.copy(address, 0, newPointer, 0, offset);
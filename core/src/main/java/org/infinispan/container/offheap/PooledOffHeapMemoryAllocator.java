@@ -0,0 +1,363 @@
+package org.infinispan.container.offheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.spi.OffHeapMemory;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Memory allocator that carves the allocations out of large slabs of native memory instead of allocating every entry
+ * separately.
+ * <p>
+ * Allocations are rounded up to a size class, and every slab only holds chunks of a single size class, so a freed
+ * chunk can always be reused by the next allocation of the same class. The size classes are spaced by 16 bytes up to
+ * 256 bytes and by a quarter of the power of two above it, so at most a quarter of a chunk is wasted. Allocations
+ * larger than {@link #MAX_POOLED_SIZE}, like the bucket tables of the maps, are not pooled.
+ * <p>
+ * Each thread allocates from one of several arenas to avoid contention, and a freed chunk returns to the arena that
+ * allocated it. An arena allocates from the fullest slab that has free chunks, so the sparse slabs drain over time.
+ * Entries are never moved, so the compaction task only gives the slabs without any allocated chunk back to the
+ * operating system.
+ *
+ * @since 16.3
+ */
+@Scope(Scopes.NAMED_CACHE)
+@MBean(objectName = "OffHeapAllocator", description = "Allocates the off-heap memory of the cache from pooled slabs.")
+public class PooledOffHeapMemoryAllocator implements OffHeapMemoryAllocator {
+   private static final Log log = LogFactory.getLog(PooledOffHeapMemoryAllocator.class);
+   private static final OffHeapMemory MEMORY = org.infinispan.commons.jdkspecific.OffHeapMemory.getInstance();
+
+   public static final int SLAB_SIZE = 1 << 20;
+   public static final int MAX_POOLED_SIZE = 8192;
+   private static final int LINEAR_CLASSES = 16;
+   private static final int SIZE_CLASSES = LINEAR_CLASSES + 4 * (Integer.numberOfTrailingZeros(MAX_POOLED_SIZE) - 8);
+   private static final long COMPACTION_INTERVAL_SECONDS = 10;
+
+   @Inject @ComponentName(KnownComponentNames.EXPIRATION_SCHEDULED_EXECUTOR)
+   ScheduledExecutorService scheduler;
+
+   private final Arena[] arenas;
+   private final ConcurrentSkipListMap<Long, Slab> slabs = new ConcurrentSkipListMap<>();
+   private final LongAdder usedBytes = new LongAdder();
+   private final LongAdder unpooledBytes = new LongAdder();
+   private final AtomicLong reservedBytes = new AtomicLong();
+   private ScheduledFuture<?> compactionTask;
+
+   public PooledOffHeapMemoryAllocator() {
+      this(Runtime.getRuntime().availableProcessors());
+   }
+
+   public PooledOffHeapMemoryAllocator(int arenaCount) {
+      arenas = new Arena[Integer.highestOneBit(Math.max(1, arenaCount) * 2 - 1)];
+      for (int i = 0; i < arenas.length; i++) {
+         arenas[i] = new Arena(i);
+      }
+   }
+
+   @Start
+   public void start() {
+      compactionTask = scheduler.scheduleWithFixedDelay(this::compact, COMPACTION_INTERVAL_SECONDS,
+            COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+   }
+
+   @Stop
+   public void stop() {
+      if (compactionTask != null) {
+         compactionTask.cancel(false);
+      }
+      // The containers were stopped before, so no chunk is referenced anymore
+      for (Slab slab : slabs.values()) {
+         release(slab);
+      }
+   }
+
+   @Override
+   public long allocate(long memoryLength) {
+      if (memoryLength > MAX_POOLED_SIZE) {
+         long memoryLocation = MEMORY.allocate(memoryLength);
+         unpooledBytes.add(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryLength));
+         return memoryLocation;
+      }
+      int sizeClass = sizeClass(memoryLength);
+      Arena arena = arenas[(int) Thread.currentThread().getId() & (arenas.length - 1)];
+      long memoryLocation = arena.classes[sizeClass].allocate();
+      usedBytes.add(chunkSize(sizeClass));
+      if (log.isTraceEnabled()) {
+         log.tracef("Allocated off-heap memory at 0x%016x with %d bytes from arena %d", memoryLocation,
+               chunkSize(sizeClass), arena.index);
+      }
+      return memoryLocation;
+   }
+
+   @Override
+   public void deallocate(long memoryAddress, long size) {
+      if (size > MAX_POOLED_SIZE) {
+         unpooledBytes.add(-UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size));
+         MEMORY.free(memoryAddress);
+         return;
+      }
+      Map.Entry<Long, Slab> entry = slabs.floorEntry(memoryAddress);
+      if (entry == null || !entry.getValue().contains(memoryAddress)) {
+         throw new IllegalArgumentException(String.format("Address 0x%016x was not allocated by this allocator", memoryAddress));
+      }
+      Slab slab = entry.getValue();
+      slab.owner.free(slab, memoryAddress);
+      usedBytes.add(-slab.chunkSize);
+      if (log.isTraceEnabled()) {
+         log.tracef("Deallocating off-heap memory at 0x%016x with %d bytes", memoryAddress, slab.chunkSize);
+      }
+   }
+
+   /**
+    * @return the native memory reserved by the allocator, including the free chunks of the slabs
+    */
+   @Override
+   public long getAllocatedAmount() {
+      return reservedBytes.get() + unpooledBytes.sum();
+   }
+
+   /**
+    * Gives the slabs without any allocated chunk back to the operating system.
+    */
+   @ManagedOperation(description = "Releases the slabs without allocated memory", displayName = "Compact off-heap memory")
+   public void compact() {
+      int released = 0;
+      for (Arena arena : arenas) {
+         for (SizeClass sizeClass : arena.classes) {
+            released += sizeClass.releaseEmptySlabs();
+         }
+      }
+      if (released > 0 && log.isTraceEnabled()) {
+         log.tracef("Released %d empty off-heap slabs", released);
+      }
+   }
+
+   @ManagedAttribute(description = "Off-heap memory of the allocated chunks (bytes)", displayName = "Used off-heap memory")
+   public long getUsedBytes() {
+      return usedBytes.sum();
+   }
+
+   @ManagedAttribute(description = "Off-heap memory reserved by the slabs (bytes)", displayName = "Reserved off-heap memory")
+   public long getReservedBytes() {
+      return reservedBytes.get();
+   }
+
+   @ManagedAttribute(description = "Number of off-heap slabs", displayName = "Off-heap slabs")
+   public int getSlabCount() {
+      return slabs.size();
+   }
+
+   @ManagedAttribute(
+         description = "Ratio of the reserved off-heap memory of the slabs that is not allocated",
+         displayName = "Off-heap fragmentation",
+         units = Units.PERCENTAGE
+   )
+   public double getFragmentation() {
+      long reserved = reservedBytes.get();
+      if (reserved == 0) {
+         return 0;
+      }
+      return 1 - (double) usedBytes.sum() / reserved;
+   }
+
+   @ManagedAttribute(
+         description = "Ratio of the reserved off-heap memory that is allocated, in the least occupied arena",
+         displayName = "Lowest off-heap arena occupancy",
+         units = Units.PERCENTAGE
+   )
+   public double getLowestArenaOccupancy() {
+      double lowest = 1;
+      for (Arena arena : arenas) {
+         lowest = Math.min(lowest, arena.occupancy());
+      }
+      return lowest;
+   }
+
+   @ManagedAttribute(
+         description = "Ratio of the reserved off-heap memory that is allocated, in the most occupied arena",
+         displayName = "Highest off-heap arena occupancy",
+         units = Units.PERCENTAGE
+   )
+   public double getHighestArenaOccupancy() {
+      double highest = 0;
+      for (Arena arena : arenas) {
+         highest = Math.max(highest, arena.occupancy());
+      }
+      return highest;
+   }
+
+   static int sizeClass(long size) {
+      if (size <= 256) {
+         return (int) Math.max(0, (size - 1) >> 4);
+      }
+      int log2 = 63 - Long.numberOfLeadingZeros(size - 1);
+      return LINEAR_CLASSES + 4 * (log2 - 8) + (int) ((size - 1 - (1L << log2)) >> (log2 - 2));
+   }
+
+   static int chunkSize(int sizeClass) {
+      if (sizeClass < LINEAR_CLASSES) {
+         return (sizeClass + 1) << 4;
+      }
+      int log2 = 8 + (sizeClass - LINEAR_CLASSES) / 4;
+      return (1 << log2) + ((sizeClass - LINEAR_CLASSES) % 4 + 1) * (1 << (log2 - 2));
+   }
+
+   private void release(Slab slab) {
+      slabs.remove(slab.base);
+      reservedBytes.addAndGet(-SLAB_SIZE);
+      MEMORY.free(slab.base);
+   }
+
+   private final class Arena {
+      final int index;
+      final SizeClass[] classes = new SizeClass[SIZE_CLASSES];
+
+      Arena(int index) {
+         this.index = index;
+         for (int i = 0; i < classes.length; i++) {
+            classes[i] = new SizeClass(chunkSize(i));
+         }
+      }
+
+      double occupancy() {
+         long reserved = 0;
+         long used = 0;
+         for (SizeClass sizeClass : classes) {
+            synchronized (sizeClass) {
+               reserved += (long) sizeClass.slabs.size() * SLAB_SIZE;
+               used += sizeClass.usedChunks * sizeClass.chunkSize;
+            }
+         }
+         return reserved == 0 ? 0 : (double) used / reserved;
+      }
+   }
+
+   /**
+    * The slabs of an arena holding chunks of a single size. All the fields of the slabs are guarded by this instance.
+    */
+   private final class SizeClass {
+      final int chunkSize;
+      final int chunksPerSlab;
+      final List<Slab> slabs = new ArrayList<>();
+      Slab current;
+      long usedChunks;
+
+      SizeClass(int chunkSize) {
+         this.chunkSize = chunkSize;
+         this.chunksPerSlab = SLAB_SIZE / chunkSize;
+      }
+
+      synchronized long allocate() {
+         if (current == null || current.isFull()) {
+            current = nextSlab();
+         }
+         usedChunks++;
+         return current.allocate();
+      }
+
+      synchronized void free(Slab slab, long address) {
+         usedChunks--;
+         slab.free(address);
+      }
+
+      /**
+       * @return the fullest slab with a free chunk, so that the sparse slabs become empty and can be released
+       */
+      private Slab nextSlab() {
+         Slab best = null;
+         for (Slab slab : slabs) {
+            if (!slab.isFull() && (best == null || slab.used > best.used)) {
+               best = slab;
+            }
+         }
+         if (best != null) {
+            return best;
+         }
+         long base = MEMORY.allocate(SLAB_SIZE);
+         Slab slab = new Slab(this, base);
+         slabs.add(slab);
+         PooledOffHeapMemoryAllocator.this.slabs.put(base, slab);
+         reservedBytes.addAndGet(SLAB_SIZE);
+         return slab;
+      }
+
+      synchronized int releaseEmptySlabs() {
+         int released = 0;
+         for (int i = slabs.size() - 1; i >= 0; i--) {
+            Slab slab = slabs.get(i);
+            if (slab.used == 0) {
+               slabs.remove(i);
+               if (slab == current) {
+                  current = null;
+               }
+               release(slab);
+               released++;
+            }
+         }
+         return released;
+      }
+   }
+
+   private static final class Slab {
+      final SizeClass owner;
+      final long base;
+      final int chunkSize;
+      // Chunks after this offset were never allocated
+      int bumpOffset;
+      // The free chunks store the address of the next free chunk in their first bytes
+      long freeList;
+      int used;
+
+      Slab(SizeClass owner, long base) {
+         this.owner = owner;
+         this.base = base;
+         this.chunkSize = owner.chunkSize;
+      }
+
+      boolean contains(long address) {
+         return address >= base && address < base + (long) owner.chunksPerSlab * chunkSize;
+      }
+
+      boolean isFull() {
+         return freeList == 0 && bumpOffset + chunkSize > SLAB_SIZE;
+      }
+
+      long allocate() {
+         used++;
+         if (freeList != 0) {
+            long address = freeList;
+            freeList = MEMORY.getLong(address, 0);
+            return address;
+         }
+         long address = base + bumpOffset;
+         bumpOffset += chunkSize;
+         return address;
+      }
+
+      void free(long address) {
+         used--;
+         MEMORY.putLong(address, 0, freeList);
+         freeList = address;
+      }
+   }
+}
@@ -0,0 +1,180 @@
+package org.infinispan.distribution.impl;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongBiFunction;
+
+import org.infinispan.commons.stat.HeavyKeeper;
+import org.infinispan.commons.stat.HeavyKeeper.KeyFrequency;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.L1Configuration;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+
+/**
+ * Detects the keys owned by other nodes that the local node reads most frequently.
+ * <p>
+ * The reads are counted in a {@link HeavyKeeper} sketch that keeps the {@code l1-hot-keys} most frequent keys. At
+ * every {@code l1-cleanup-interval}, the most frequent keys of the interval become the hot keys until the end of the
+ * next interval, and the sketch starts again from scratch, so that a key stops being hot soon after its reads decline.
+ * <p>
+ * The sketch is not thread-safe. A read that finds the sketch busy with another read is not counted, so under
+ * contention the sketch only sees a sample of the reads, which is enough to find the keys that dominate them.
+ *
+ * @since 16.3
+ */
+@MBean(objectName = "HotKeys", description = "Detects the keys read most frequently by the local node")
+@Scope(Scopes.NAMED_CACHE)
+public class HotKeyDetector {
+   private static final int SKETCH_DEPTH = 4;
+   private static final double SKETCH_DECAY = 0.9;
+   private static final ToLongBiFunction<Object, Integer> HASH = (key, seed) -> mix(key.hashCode() + 0x9E3779B97F4A7C15L * seed);
+
+   @Inject Configuration configuration;
+   @Inject @ComponentName(KnownComponentNames.EXPIRATION_SCHEDULED_EXECUTOR)
+   ScheduledExecutorService scheduledExecutor;
+
+   private final Lock sketchLock = new ReentrantLock();
+   private final LongAdder reads = new LongAdder();
+   private HeavyKeeper<Object> sketch;
+   private ScheduledFuture<?> rotationTask;
+
+   private volatile Set<Object> hotKeys = Set.of();
+   private volatile List<KeyFrequency<Object>> lastHotKeys = List.of();
+   private volatile long lastReads;
+
+   @Start
+   public void start() {
+      int k = configuration.clustering().l1().hotKeys();
+      if (k == 0) {
+         return;
+      }
+      long interval = configuration.clustering().l1().cleanupTaskFrequency();
+      if (interval <= 0) {
+         // The L1 requestors are never cleaned up, but the hot keys must still change with the reads
+         interval = L1Configuration.CLEANUP_TASK_FREQUENCY.getDefaultValue().longValue();
+      }
+      // Enough buckets for the hot keys to rarely collide with each other in all the rows
+      sketch = new HeavyKeeper<>(k, Math.max(64, k * 8), SKETCH_DEPTH, SKETCH_DECAY, HASH);
+      rotationTask = scheduledExecutor.scheduleAtFixedRate(this::rotate, interval, interval, TimeUnit.MILLISECONDS);
+   }
+
+   @Stop
+   public void stop() {
+      if (rotationTask != null) rotationTask.cancel(true);
+   }
+
+   /**
+    * @return {@code true} if the detection of the hot keys is enabled.
+    */
+   public boolean isEnabled() {
+      return sketch != null;
+   }
+
+   /**
+    * Counts a read of {@code key} by the local node, when another node owns the key.
+    */
+   public void recordRead(Object key) {
+      if (sketch == null) {
+         return;
+      }
+      reads.increment();
+      if (sketchLock.tryLock()) {
+         try {
+            sketch.add(key);
+         } finally {
+            sketchLock.unlock();
+         }
+      }
+   }
+
+   /**
+    * @return {@code true} if {@code key} was one of the most frequently read keys during the last interval.
+    */
+   public boolean isHot(Object key) {
+      return hotKeys.contains(key);
+   }
+
+   /**
+    * Ends the current interval: the most frequently read keys of the interval become the hot keys.
+    */
+   public void rotate() {
+      if (sketch == null) {
+         return;
+      }
+      List<KeyFrequency<Object>> top;
+      sketchLock.lock();
+      try {
+         top = sketch.list();
+         sketch.reset();
+      } finally {
+         sketchLock.unlock();
+      }
+      Set<Object> keys = new HashSet<>(top.size() * 2);
+      for (KeyFrequency<Object> kf : top) {
+         keys.add(kf.key());
+      }
+      lastReads = reads.sumThenReset();
+      lastHotKeys = top;
+      hotKeys = keys;
+   }
+
+   @ManagedAttribute(description = "The maximum number of hot keys detected by the local node", displayName = "Hot key capacity", dataType = DataType.TRAIT)
+   public int getHotKeyCapacity() {
+      return sketch == null ? 0 : sketch.getK();
+   }
+
+   @ManagedAttribute(description = "The number of hot keys detected by the local node during the last interval", displayName = "Number of hot keys")
+   public int getNumberOfHotKeys() {
+      return hotKeys.size();
+   }
+
+   @ManagedAttribute(description = "The number of reads by the local node during the last interval", displayName = "Reads")
+   public long getReads() {
+      return lastReads;
+   }
+
+   @ManagedAttribute(description = "The estimated number of reads of the hot keys during the last interval", displayName = "Hot key reads")
+   public long getHotKeyReads() {
+      long hotKeyReads = 0;
+      for (KeyFrequency<Object> kf : lastHotKeys) {
+         hotKeyReads += kf.count();
+      }
+      return hotKeyReads;
+   }
+
+   @ManagedOperation(description = "Lists the hot keys detected by the local node during the last interval, with their estimated number of reads", displayName = "List hot keys")
+   public String listHotKeys() {
+      StringBuilder sb = new StringBuilder();
+      for (KeyFrequency<Object> kf : lastHotKeys) {
+         sb.append(kf.key()).append('=').append(kf.count()).append('\n');
+      }
+      return sb.toString();
+   }
+
+   private static long mix(long h) {
+      // The finalization step of MurmurHash3
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= h >>> 33;
+      return h;
+   }
+}
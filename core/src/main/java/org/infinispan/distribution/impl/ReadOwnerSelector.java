@@ -0,0 +1,102 @@
+package org.infinispan.distribution.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.commons.stat.TargetLoadTracker;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.ReadPolicy;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachemanagerlistener.CacheManagerNotifier;
+import org.infinispan.notifications.cachemanagerlistener.annotation.ViewChanged;
+import org.infinispan.notifications.cachemanagerlistener.event.ViewChangedEvent;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.Transport;
+
+/**
+ * Orders the owners of a key for a remote read according to the {@link ReadPolicy} of the cache.
+ * <p>
+ * The remote reads are sent to the owners one after the other, so the first owner in the list serves most of them.
+ * The selector tracks the outstanding remote reads and their latency per node, for all the caches of the cache
+ * manager, and moves the least loaded owner to the front of the list.
+ *
+ * @since 16.3
+ */
+@Scope(Scopes.GLOBAL)
+@Listener
+public class ReadOwnerSelector {
+   @Inject CacheManagerNotifier cacheManagerNotifier;
+   @Inject TimeService timeService;
+   @Inject Transport transport;
+
+   private TargetLoadTracker<Address> loadTracker;
+
+   @Start
+   void start() {
+      loadTracker = new TargetLoadTracker<>(timeService);
+      if (transport != null) {
+         cacheManagerNotifier.addListener(this);
+      }
+   }
+
+   @Stop
+   void stop() {
+      if (transport != null) {
+         cacheManagerNotifier.removeListener(this);
+      }
+   }
+
+   @ViewChanged
+   public void viewChanged(ViewChangedEvent e) {
+      loadTracker.retainAll(e.getNewMembers());
+   }
+
+   /**
+    * @return the read owners, with the owner that should serve the read first. The other owners keep their order.
+    */
+   public List<Address> order(List<Address> readOwners, ReadPolicy readPolicy) {
+      if (!readPolicy.isLoadBalanced() || readOwners.size() < 2) {
+         return readOwners;
+      }
+      int selected = loadTracker.leastLoaded(readOwners, readPolicy == ReadPolicy.LATENCY_AWARE);
+      if (selected == 0) {
+         return readOwners;
+      }
+      List<Address> ordered = new ArrayList<>(readOwners.size());
+      ordered.add(readOwners.get(selected));
+      for (int i = 0; i < readOwners.size(); i++) {
+         if (i != selected) {
+            ordered.add(readOwners.get(i));
+         }
+      }
+      return ordered;
+   }
+
+   /**
+    * Records the start of a remote read served by {@code owner}.
+    *
+    * @return the start time, to be passed to {@link #readCompleted(Address, long)}
+    */
+   public long readStarted(Address owner) {
+      return loadTracker.start(owner);
+   }
+
+   /**
+    * Records the completion, successful or not, of a remote read started with {@link #readStarted(Address)}.
+    */
+   public void readCompleted(Address owner, long startNanos) {
+      loadTracker.complete(owner, startNanos);
+   }
+
+   /**
+    * @return the number of remote reads sent first to {@code owner} that have not completed yet.
+    */
+   public int outstandingReads(Address owner) {
+      return loadTracker.outstanding(owner);
+   }
+}
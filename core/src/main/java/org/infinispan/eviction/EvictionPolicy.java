@@ -0,0 +1,34 @@
+package org.infinispan.eviction;
+
+/**
+ * Algorithms choosing the entries to remove when a heap based cache using the {@link EvictionStrategy#REMOVE} strategy
+ * is full.
+ *
+ * @since 16.3
+ */
+public enum EvictionPolicy {
+   /**
+    * Entries are tracked by a Caffeine cache, which evicts with the Window TinyLFU algorithm. Supports bounding by
+    * count and by memory.
+    */
+   W_TINY_LFU,
+   /**
+    * Entries keep the access order themselves, and the least recently used entries are evicted. Avoids the Caffeine
+    * node allocated for each entry, but only supports bounding by count. Caches that are not segmented, such as local
+    * caches without a segmented store, keep using {@link #W_TINY_LFU}.
+    */
+   LRU,
+   /**
+    * Like {@link #LRU}, but an entry that was just written is evicted instead of the least recently used entry when
+    * it was accessed less frequently, as estimated by a frequency sketch. Only supports bounding by count, and has the
+    * same restrictions as {@link #LRU}.
+    */
+   TINY_LFU;
+
+   /**
+    * @return {@code true} if the entries keep the eviction state themselves
+    */
+   public boolean isIntrusive() {
+      return this != W_TINY_LFU;
+   }
+}
@@ -38,6 +38,18 @@ public abstract class AbstractPassivationManager implements PassivationManager {
    )
    public abstract long getPassivations();
 
+   @ManagedAttribute(
+         description = "Number of entries written to the stores by the current or the last passivation of all the entries",
+         displayName = "Number of entries passivated on stop"
+   )
+   public abstract long getPassivatedOnStop();
+
+   @ManagedAttribute(
+         description = "Number of entries that the current passivation of all the entries has yet to write to the stores",
+         displayName = "Number of entries pending passivation on stop"
+   )
+   public abstract long getPendingPassivationOnStop();
+
    @ManagedOperation(
          description = "Resets statistics gathered by this component",
          displayName = "Reset statistics")
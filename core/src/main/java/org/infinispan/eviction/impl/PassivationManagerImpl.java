@@ -9,11 +9,15 @@
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.IteratorMapper;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.commons.util.concurrent.CompletionStages;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.Configurations;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.context.impl.ImmutableContext;
@@ -33,6 +37,9 @@
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+
 public class PassivationManagerImpl extends AbstractPassivationManager {
    private static final Log log = LogFactory.getLog(PassivationManagerImpl.class);
 
@@ -53,6 +60,8 @@ public class PassivationManagerImpl extends AbstractPassivationManager {
    volatile boolean enabled = false;
 
    private final AtomicLong passivations = new AtomicLong(0);
+   private final AtomicLong passivatedOnStop = new AtomicLong(0);
+   private volatile long passivateAllSize;
 
    private final StoreChangeListener listener = pm -> updateEnabledStatus(pm.isEnabled(), pm.usingReadOnly());
 
@@ -130,14 +139,44 @@ public CompletionStage<Void> passivateAllAsync() throws PersistenceException {
       }
 
       int count = container.sizeIncludingExpired();
-      Iterable<MarshallableEntry<Object, Object>> iterable = () -> new IteratorMapper<>(container.iterator(), e -> marshalledEntryFactory.create((InternalCacheEntry) e));
+      passivatedOnStop.set(0);
+      passivateAllSize = count;
+      CompletionStage<Void> stage;
+      int numSegments = cfg.clustering().hash().numSegments();
+      int parallelism = Math.min(ProcessorInfo.availableProcessors(), numSegments);
+      if (parallelism > 1 && Configurations.needSegments(cfg)) {
+         // Every group of segments is written to the stores as a separate batch, so that the stores can write the
+         // batches in parallel instead of receiving all the entries of the container in a single batch
+         stage = Flowable.range(0, parallelism)
+               .flatMapCompletable(group -> {
+                  IntSet segments = segmentGroup(group, parallelism, numSegments);
+                  int groupSize = container.sizeIncludingExpired(segments);
+                  return Completable.fromCompletionStage(writeEntries(() -> container.iterator(segments), groupSize));
+               }, false, parallelism)
+               .toCompletionStage(null);
+      } else {
+         stage = writeEntries(container::iterator, count);
+      }
+      return stage.thenRun(() -> {
+         long durationMillis = timeService.timeDuration(start, TimeUnit.MILLISECONDS);
+         if (CONTAINER.isDebugEnabled()) {
+            CONTAINER.debugf("Passivated %d entries in %s", count, Util.prettyPrintTime(durationMillis));
+         }
+      });
+   }
+
+   private CompletionStage<Void> writeEntries(Iterable<InternalCacheEntry<Object, Object>> entries, int size) {
+      Iterable<MarshallableEntry<Object, Object>> iterable = () -> new IteratorMapper<>(entries.iterator(), e -> marshalledEntryFactory.create((InternalCacheEntry) e));
       return persistenceManager.writeEntries(iterable, PRIVATE)
-                               .thenRun(() -> {
-                                  long durationMillis = timeService.timeDuration(start, TimeUnit.MILLISECONDS);
-                                  if (CONTAINER.isDebugEnabled()) {
-                                     CONTAINER.debugf("Passivated %d entries in %s", count, Util.prettyPrintTime(durationMillis));
-                                  }
-                               });
+            .thenRun(() -> passivatedOnStop.addAndGet(size));
+   }
+
+   private static IntSet segmentGroup(int group, int groups, int numSegments) {
+      IntSet segments = IntSets.mutableEmptySet(numSegments);
+      for (int segment = group; segment < numSegments; segment += groups) {
+         segments.set(segment);
+      }
+      return segments;
    }
 
    @Override
@@ -150,6 +189,16 @@ public long getPassivations() {
       return passivations.get();
    }
 
+   @Override
+   public long getPassivatedOnStop() {
+      return passivatedOnStop.get();
+   }
+
+   @Override
+   public long getPendingPassivationOnStop() {
+      return Math.max(passivateAllSize - passivatedOnStop.get(), 0);
+   }
+
    @Override
    public boolean getStatisticsEnabled() {
       return statsEnabled;
@@ -41,6 +41,16 @@ public long getPassivations() {
       return 0;
    }
 
+   @Override
+   public long getPassivatedOnStop() {
+      return 0;
+   }
+
+   @Override
+   public long getPendingPassivationOnStop() {
+      return 0;
+   }
+
    @Override
    public void resetStatistics() {
    }
@@ -125,7 +125,7 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
             segments = IntSets.immutableEmptySet();
          }
 
-         for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorIncludingExpired(segments);
+         for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorExpirationCandidates(segments, currentTimeMillis);
               purgeCandidates.hasNext();) {
             InternalCacheEntry<K, V> ice = purgeCandidates.next();
             if (ice.canExpire()) {
@@ -170,6 +170,7 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
                return false;
             }
          }
+         recordPurgedEntries(removedEntries - errors.get());
          printResults("Purging data container on cache %s completed in %s and removed %d entries with %d errors", start, removedEntries, errors);
       } catch (InterruptedException e) {
          Thread.currentThread().interrupt();
@@ -12,6 +12,7 @@
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.cache.impl.AbstractDelegatingCache;
@@ -32,6 +33,10 @@
 import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
@@ -45,6 +50,7 @@
 
 @ThreadSafe
 @Scope(Scopes.NAMED_CACHE)
+@MBean(objectName = "ExpirationManager", description = "Component that removes expired entries from memory and the cache stores.")
 public class ExpirationManagerImpl<K, V> implements InternalExpirationManager<K, V> {
    private static final Log log = LogFactory.getLog(ExpirationManagerImpl.class);
 
@@ -74,6 +80,9 @@
 
    private final List<ExpirationConsumer<K, V>> listeners = new CopyOnWriteArrayList<>();
 
+   private final LongAdder purgedEntries = new LongAdder();
+   private volatile long lastPurgedEntries;
+
    @Start
    // make sure this starts after the PersistenceManager
    public void start() {
@@ -105,16 +114,18 @@ public void processExpiration() {
                start = timeService.time();
             }
             long currentTimeMillis = timeService.wallClockTime();
-            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorIncludingExpired();
+            long purged = 0;
+            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorExpirationCandidates(currentTimeMillis);
                  purgeCandidates.hasNext();) {
                InternalCacheEntry<K, V> e = purgeCandidates.next();
-               if (e.isExpired(currentTimeMillis)) {
-                  CompletionStages.join(entryExpiredInMemory(e, currentTimeMillis, false));
+               if (e.isExpired(currentTimeMillis) && CompletionStages.join(entryExpiredInMemory(e, currentTimeMillis, false))) {
+                  purged++;
                }
             }
+            recordPurgedEntries(purged);
             if (log.isTraceEnabled()) {
-               log.tracef("Purging data container completed in %s",
-                     Util.prettyPrintTime(timeService.timeDuration(start, TimeUnit.MILLISECONDS)));
+               log.tracef("Purging data container completed in %s, removed %d entries",
+                     Util.prettyPrintTime(timeService.timeDuration(start, TimeUnit.MILLISECONDS)), purged);
             }
          } catch (Exception e) {
             CONTAINER.exceptionPurgingDataContainer(e);
@@ -139,6 +150,42 @@ public boolean isEnabled() {
       return enabled;
    }
 
+   /**
+    * Records how many entries a run of the reaper removed from memory
+    * @param purged number of expired entries removed
+    */
+   protected void recordPurgedEntries(long purged) {
+      purgedEntries.add(purged);
+      lastPurgedEntries = purged;
+   }
+
+   @ManagedAttribute(
+         description = "Number of expirable entries tracked by the expiration index, -1 if the index is not enabled",
+         displayName = "Expiration index size",
+         dataType = DataType.MEASUREMENT
+   )
+   public long getExpirationIndexSize() {
+      return dataContainer.running().expirationIndexSize();
+   }
+
+   @ManagedAttribute(
+         description = "Number of expired entries removed from memory by the expiration reaper",
+         displayName = "Number of purged entries",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getPurgedEntries() {
+      return purgedEntries.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of expired entries removed from memory by the last run of the expiration reaper",
+         displayName = "Number of entries purged by the last run",
+         dataType = DataType.MEASUREMENT
+   )
+   public long getLastPurgedEntries() {
+      return lastPurgedEntries;
+   }
+
    @Override
    public CompletableFuture<Boolean> entryExpiredInMemory(InternalCacheEntry<K, V> entry, long currentTime,
                                                           boolean hasLock) {
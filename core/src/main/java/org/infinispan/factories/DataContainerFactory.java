@@ -6,13 +6,16 @@
 
 import org.infinispan.commons.marshall.WrappedBytes;
 import org.infinispan.configuration.cache.ClusteringConfiguration;
+import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.Configurations;
 import org.infinispan.configuration.cache.MemoryConfiguration;
 import org.infinispan.container.DataContainer;
+import org.infinispan.container.impl.AccessOrderInternalEntryFactoryImpl;
 import org.infinispan.container.impl.BoundedSegmentedDataContainer;
 import org.infinispan.container.impl.DefaultDataContainer;
 import org.infinispan.container.impl.DefaultSegmentedDataContainer;
 import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.container.impl.IntrusiveBoundedSegmentedDataContainer;
 import org.infinispan.container.impl.L1SegmentedDataContainer;
 import org.infinispan.container.impl.PeekableTouchableContainerMap;
 import org.infinispan.container.impl.PeekableTouchableMap;
@@ -97,6 +100,8 @@ public Object construct(String componentName) {
          } else {
             dataContainer = new BoundedOffHeapDataContainer(thresholdSize, sizeInBytes);
          }
+      } else if (isIntrusiveContainer(configuration)) {
+         dataContainer = new IntrusiveBoundedSegmentedDataContainer<>(segments, thresholdSize, memoryConfiguration.evictionPolicy());
       } else if (shouldSegment) {
          dataContainer = new BoundedSegmentedDataContainer<>(segments, thresholdSize, sizeInBytes);
       } else {
@@ -112,6 +117,18 @@ public Object construct(String componentName) {
       return dataContainer;
    }
 
+   /**
+    * @return {@code true} if the data container links its entries in access order, which requires the entries created
+    *         by {@link AccessOrderInternalEntryFactoryImpl}
+    */
+   static boolean isIntrusiveContainer(Configuration configuration) {
+      MemoryConfiguration memoryConfiguration = configuration.memory();
+      EvictionStrategy strategy = memoryConfiguration.whenFull();
+      return memoryConfiguration.evictionContainer() == null && strategy.isEnabled() && !strategy.isExceptionBased() &&
+            !memoryConfiguration.isOffHeap() && Configurations.needSegments(configuration) &&
+            memoryConfiguration.evictionPolicy().isIntrusive();
+   }
+
    /* visible for testing */
    OffHeapConcurrentMap createAndStartOffHeapConcurrentMap() {
       OffHeapEntryFactory entryFactory = componentRegistry.getOrCreateComponent(OffHeapEntryFactory.class);
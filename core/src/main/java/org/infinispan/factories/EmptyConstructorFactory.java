@@ -6,6 +6,7 @@
 import org.infinispan.container.impl.DynamicMemoryResizer;
 import org.infinispan.container.impl.SharedContainerMaps;
 import org.infinispan.container.versioning.RankCalculator;
+import org.infinispan.distribution.impl.ReadOwnerSelector;
 import org.infinispan.factories.annotations.DefaultFactoryFor;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
@@ -20,6 +21,7 @@
 import org.infinispan.remoting.inboundhandler.InboundInvocationHandler;
 import org.infinispan.security.PrincipalRoleMapper;
 import org.infinispan.security.RolePermissionMapper;
+import org.infinispan.statetransfer.StateTransferRateLimiter;
 import org.infinispan.statetransfer.StateTransferTracker;
 import org.infinispan.stats.ClusterContainerStats;
 import org.infinispan.stats.ContainerStats;
@@ -33,6 +35,7 @@
 import org.infinispan.util.concurrent.DataOperationOrderer;
 import org.infinispan.util.concurrent.NonBlockingManager;
 import org.infinispan.util.concurrent.NonBlockingManagerImpl;
+import org.infinispan.util.concurrent.TimeoutWheel;
 import org.infinispan.util.logging.events.EventLogManager;
 import org.infinispan.util.logging.events.EventLoggerNotifier;
 import org.infinispan.util.logging.events.impl.EventLogManagerImpl;
@@ -59,7 +62,8 @@
       SerializationContextRegistry.class, BlockingManager.class, NonBlockingManager.class,
       RankCalculator.class, EventLoggerNotifier.class, PrincipalRoleMapper.class, RolePermissionMapper.class,
       XSiteCacheMapper.class, XSiteEventsManager.class, SharedContainerMaps.class, DynamicMemoryResizer.class,
-      StateTransferTracker.class, CacheStartupManager.class,
+      StateTransferTracker.class, CacheStartupManager.class, TimeoutWheel.class, ReadOwnerSelector.class,
+      StateTransferRateLimiter.class,
 })
 @Scope(Scopes.GLOBAL)
 public class EmptyConstructorFactory extends AbstractComponentFactory implements AutoInstantiableFactory {
@@ -120,6 +124,12 @@ else if (componentName.equals(XSiteCacheMapper.class.getName())) {
          return new StateTransferTracker();
       } else if (componentName.equals(CacheStartupManager.class.getName())) {
          return new CacheStartupManager();
+      } else if (componentName.equals(TimeoutWheel.class.getName())) {
+         return new TimeoutWheel();
+      } else if (componentName.equals(ReadOwnerSelector.class.getName())) {
+         return new ReadOwnerSelector();
+      } else if (componentName.equals(StateTransferRateLimiter.class.getName())) {
+         return new StateTransferRateLimiter();
       }
 
       throw CONTAINER.factoryCannotConstructComponent(componentName);
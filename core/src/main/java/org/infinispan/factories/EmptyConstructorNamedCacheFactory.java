@@ -11,9 +11,11 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.io.ByteBufferFactoryImpl;
 import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
 import org.infinispan.container.offheap.OffHeapEntryFactory;
 import org.infinispan.container.offheap.OffHeapEntryFactoryImpl;
 import org.infinispan.container.offheap.OffHeapMemoryAllocator;
+import org.infinispan.container.offheap.PooledOffHeapMemoryAllocator;
 import org.infinispan.container.offheap.UnpooledOffHeapMemoryAllocator;
 import org.infinispan.container.versioning.irac.DefaultIracVersionGenerator;
 import org.infinispan.container.versioning.irac.IracVersionGenerator;
@@ -24,6 +26,7 @@
 import org.infinispan.distribution.L1Manager;
 import org.infinispan.distribution.RemoteValueRetrievedListener;
 import org.infinispan.distribution.TriangleOrderManager;
+import org.infinispan.distribution.impl.HotKeyDetector;
 import org.infinispan.distribution.impl.L1ManagerImpl;
 import org.infinispan.encoding.impl.StorageConfigurationManager;
 import org.infinispan.eviction.EvictionManager;
@@ -88,7 +91,7 @@
                               PersistenceManager.class, PassivationManager.class,
                               PreloadManager.class, BatchContainer.class, EvictionManager.class,
                               TransactionCoordinator.class, RecoveryAdminOperations.class, StateTransferLock.class,
-                              L1Manager.class, TransactionFactory.class, BackupSender.class,
+                              L1Manager.class, HotKeyDetector.class, TransactionFactory.class, BackupSender.class,
                               ByteBufferFactory.class, MarshallableEntryFactory.class,
                               RemoteValueRetrievedListener.class, InvocationContextFactory.class, CommitManager.class,
                               XSiteStateTransferManager.class, XSiteStateConsumer.class, XSiteStateProvider.class,
@@ -137,6 +140,8 @@ public Object construct(String componentName) {
          return new EvictionManagerImpl<>();
       } else if (componentName.equals(L1Manager.class.getName())) {
          return new L1ManagerImpl();
+      } else if (componentName.equals(HotKeyDetector.class.getName())) {
+         return new HotKeyDetector();
       } else if (componentName.equals(TransactionFactory.class.getName())) {
          return new TransactionFactory();
       } else if (componentName.equals(BackupSender.class.getName())) {
@@ -178,6 +183,9 @@ public Object construct(String componentName) {
       } else if (componentName.equals(OffHeapEntryFactory.class.getName())) {
          return new OffHeapEntryFactoryImpl();
       } else if (componentName.equals(OffHeapMemoryAllocator.class.getName())) {
+         if (configuration.memory().offHeapAllocator() == OffHeapAllocatorType.POOLED) {
+            return new PooledOffHeapMemoryAllocator();
+         }
          return new UnpooledOffHeapMemoryAllocator();
       } else if (componentName.equals(ClusterCacheNotifier.class.getName())) {
          return ComponentAlias.of(CacheNotifier.class);
@@ -1,5 +1,6 @@
 package org.infinispan.factories;
 
+import org.infinispan.container.impl.AccessOrderInternalEntryFactoryImpl;
 import org.infinispan.container.impl.EntryFactory;
 import org.infinispan.container.impl.EntryFactoryImpl;
 import org.infinispan.container.impl.InternalEntryFactory;
@@ -15,6 +16,8 @@ public Object construct(String componentName) {
 
       if (componentName.equals(EntryFactory.class.getName())) {
          return new EntryFactoryImpl();
+      } else if (DataContainerFactory.isIntrusiveContainer(configuration)) {
+         return new AccessOrderInternalEntryFactoryImpl();
       } else {
          return new InternalEntryFactoryImpl();
       }
@@ -19,6 +19,7 @@
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.functional.ReadOnlyKeyCommand;
 import org.infinispan.commands.functional.ReadOnlyManyCommand;
+import org.infinispan.commands.functional.ReadWriteKeyCommand;
 import org.infinispan.commands.read.AbstractDataCommand;
 import org.infinispan.commands.read.GetAllCommand;
 import org.infinispan.commands.read.GetCacheEntryCommand;
@@ -34,6 +35,7 @@
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.ArrayCollector;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
+import org.infinispan.configuration.cache.ReadPolicy;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.entries.InternalCacheValue;
@@ -46,6 +48,8 @@
 import org.infinispan.distribution.RemoteValueRetrievedListener;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.distribution.impl.HotKeyDetector;
+import org.infinispan.distribution.impl.ReadOwnerSelector;
 import org.infinispan.expiration.impl.InternalExpirationManager;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
@@ -88,9 +92,12 @@ public abstract class BaseDistributionInterceptor extends ClusteringInterceptor
    @Inject protected KeyPartitioner keyPartitioner;
    @Inject protected TimeService timeService;
    @Inject protected InternalExpirationManager<Object, Object> expirationManager;
+   @Inject protected ReadOwnerSelector readOwnerSelector;
+   @Inject protected HotKeyDetector hotKeyDetector;
 
    protected boolean isL1Enabled;
    protected boolean isReplicated;
+   protected ReadPolicy readPolicy;
 
    private final ReadOnlyManyHelper readOnlyManyHelper = new ReadOnlyManyHelper();
    private final InvocationSuccessFunction<AbstractDataWriteCommand> primaryReturnHandler = this::primaryReturnHandler;
@@ -105,6 +112,9 @@ public void configure() {
       // Can't rely on the super injectConfiguration() to be called before our injectDependencies() method2
       isL1Enabled = cacheConfiguration.clustering().l1().enabled();
       isReplicated = cacheConfiguration.clustering().cacheMode().isReplicated();
+      // The backups of an asynchronous cache may not have applied a write when the originator reads the key again
+      readPolicy = cacheConfiguration.clustering().cacheMode().isSynchronous() ?
+            cacheConfiguration.clustering().hash().readPolicy() : ReadPolicy.PRIMARY;
    }
 
    @Override
@@ -159,8 +169,8 @@ protected <C extends FlagAffectedCommand & TopologyAffectedCommand> CompletionSt
       getCommand.setTopologyId(topologyId);
       getCommand.setWrite(isWrite);
 
-      return rpcManager.invokeCommandStaggered(info.readOwners(), getCommand, new RemoteGetSingleKeyCollector(),
-                                               rpcManager.getSyncRpcOptions())
+      boolean primaryFirst = isWrite || command.hasAnyFlag(FlagBitSets.FORCE_WRITE_LOCK);
+      return invokeRemoteRead(info.readOwners(), getCommand, primaryFirst)
                        .thenAccept(response -> {
                           Object responseValue = response.getResponseValue();
                           if (responseValue == null) {
@@ -254,10 +264,11 @@ protected Object primaryReturnHandler(InvocationContext ctx, AbstractDataWriteCo
       boolean hadIgnoreReturnValues = command.hasAnyFlag(FlagBitSets.IGNORE_RETURN_VALUES);
       command.addFlags(FlagBitSets.IGNORE_RETURN_VALUES);
       if (!isSynchronous(command)) {
+         AbstractDataWriteCommand backupCommand = toBackupCommand(command);
          if (isReplicated) {
-            rpcManager.sendToAll(command, DeliverOrder.PER_SENDER);
+            rpcManager.sendToAll(backupCommand, DeliverOrder.PER_SENDER);
          } else {
-            rpcManager.sendToMany(owners, command, DeliverOrder.PER_SENDER);
+            rpcManager.sendToMany(owners, backupCommand, DeliverOrder.PER_SENDER);
          }
          // Switch to the retry policy, in case the primary owner changes before we commit locally
          command.setValueMatcher(originalMatcher.matcherForRetry());
@@ -269,9 +280,10 @@ protected Object primaryReturnHandler(InvocationContext ctx, AbstractDataWriteCo
       RpcOptions rpcOptions = rpcManager.getSyncRpcOptions();
       // Mark the command as a backup write so it can skip some checks
       command.addFlags(FlagBitSets.BACKUP_WRITE);
+      AbstractDataWriteCommand backupCommand = toBackupCommand(command);
       CompletionStage<Void> remoteInvocation = isReplicated ?
-            rpcManager.invokeCommandOnAll(command, collector, rpcOptions) :
-            rpcManager.invokeCommand(owners, command, collector, rpcOptions);
+            rpcManager.invokeCommandOnAll(backupCommand, collector, rpcOptions) :
+            rpcManager.invokeCommand(owners, backupCommand, collector, rpcOptions);
       return asyncValue(remoteInvocation.handle((ignored, t) -> {
          // Unset the backup write bit as the command will be retried
          command.setFlagsBitSet(command.getFlagsBitSet() & ~FlagBitSets.BACKUP_WRITE);
@@ -284,6 +296,11 @@ protected Object primaryReturnHandler(InvocationContext ctx, AbstractDataWriteCo
       }));
    }
 
+   private static AbstractDataWriteCommand toBackupCommand(AbstractDataWriteCommand command) {
+      // Functions that know the changes they applied on the primary owner replicate those changes instead
+      return command instanceof ReadWriteKeyCommand<?, ?, ?> readWriteCommand ? readWriteCommand.toBackupCommand() : command;
+   }
+
    @Override
    public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
       if (command.hasAnyFlag(FlagBitSets.CACHE_MODE_LOCAL | FlagBitSets.SKIP_REMOTE_LOOKUP)) {
@@ -604,6 +621,11 @@ protected Object[] unwrapFunctionalManyResultOnOrigin(InvocationContext ctx, Lis
    }
 
    private Object visitGetCommand(InvocationContext ctx, AbstractDataCommand command) throws Throwable {
+      if (ctx.isOriginLocal() && hotKeyDetector.isEnabled() && !getCacheTopology().isReadOwner(command.getKey())) {
+         // Only the keys owned by other nodes can be stored in L1, but the reads served from L1 are counted as well,
+         // so that the hot keys stay hot while they are in L1
+         hotKeyDetector.recordRead(command.getKey());
+      }
       if (ctx.lookupEntry(command.getKey()) != null) {
          return invokeNext(ctx, command);
       }
@@ -652,7 +674,7 @@ public Object visitReadOnlyKeyCommand(InvocationContext ctx, ReadOnlyKeyCommand
       }
       if (readNeedsRemoteValue(command)) {
          LocalizedCacheTopology cacheTopology = CacheTopologyUtil.checkTopology(command, getCacheTopology());
-         Collection<Address> owners = cacheTopology.getDistribution(key).readOwners();
+         List<Address> owners = cacheTopology.getDistribution(key).readOwners();
          if (log.isTraceEnabled())
             log.tracef("Doing a remote get for key %s in topology %d to %s", key, cacheTopology.getTopologyId(), owners);
 
@@ -661,8 +683,7 @@ public Object visitReadOnlyKeyCommand(InvocationContext ctx, ReadOnlyKeyCommand
          remoteCommand.setTopologyId(cacheTopology.getTopologyId());
 
          CompletionStage<SuccessfulResponse> rpc =
-            rpcManager.invokeCommandStaggered(owners, remoteCommand, new RemoteGetSingleKeyCollector(),
-                                              rpcManager.getSyncRpcOptions());
+               invokeRemoteRead(owners, remoteCommand, command.hasAnyFlag(FlagBitSets.FORCE_WRITE_LOCK));
          return asyncValue(rpc).thenApply(ctx, command, (rCtx, rCommand, response) -> {
             Object responseValue = ((SuccessfulResponse) response).getResponseValue();
             return unwrapFunctionalResultOnOrigin(rCtx, rCommand.getKey(), responseValue);
@@ -674,6 +695,27 @@ public Object visitReadOnlyKeyCommand(InvocationContext ctx, ReadOnlyKeyCommand
       }
    }
 
+   /**
+    * Send a single-key read to the owners one after the other, starting with the owner selected by the
+    * {@link ReadPolicy} of the cache.
+    *
+    * @param primaryFirst {@code true} if the read must start with the primary owner, e.g. because it is part of a
+    *                     write or because it acquires a lock.
+    */
+   protected CompletionStage<SuccessfulResponse> invokeRemoteRead(List<Address> readOwners, CacheRpcCommand command,
+                                                                 boolean primaryFirst) {
+      if (primaryFirst || !readPolicy.isLoadBalanced()) {
+         return rpcManager.invokeCommandStaggered(readOwners, command, new RemoteGetSingleKeyCollector(),
+                                                  rpcManager.getSyncRpcOptions());
+      }
+      List<Address> targets = readOwnerSelector.order(readOwners, readPolicy);
+      Address target = targets.get(0);
+      long startNanos = readOwnerSelector.readStarted(target);
+      return rpcManager.invokeCommandStaggered(targets, command, new RemoteGetSingleKeyCollector(),
+                                               rpcManager.getSyncRpcOptions())
+                       .whenComplete((response, throwable) -> readOwnerSelector.readCompleted(target, startNanos));
+   }
+
    protected ReadOnlyKeyCommand remoteReadOnlyCommand(InvocationContext ctx, ReadOnlyKeyCommand command) {
       return command;
    }
@@ -52,6 +52,7 @@
 import org.infinispan.context.impl.FlagBitSets;
 import org.infinispan.distribution.L1Manager;
 import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.distribution.impl.HotKeyDetector;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.interceptors.impl.BaseRpcInterceptor;
@@ -88,8 +89,11 @@ public class L1NonTxInterceptor extends BaseRpcInterceptor {
    protected KeyPartitioner keyPartitioner;
    @Inject
    protected BlockingManager blockingManager;
+   @Inject
+   protected HotKeyDetector hotKeyDetector;
 
    private long l1Lifespan;
+   private boolean hotKeysOnly;
    private long replicationTimeout;
 
    /**
@@ -120,6 +124,7 @@ public class L1NonTxInterceptor extends BaseRpcInterceptor {
    @Start
    public void start() {
       l1Lifespan = cacheConfiguration.clustering().l1().lifespan();
+      hotKeysOnly = cacheConfiguration.clustering().l1().hotKeys() > 0;
       replicationTimeout = cacheConfiguration.clustering().remoteTimeout();
       cacheConfiguration.clustering()
             .attributes().attribute(ClusteringConfiguration.REMOTE_TIMEOUT)
@@ -230,7 +235,7 @@ private Object performL1Lookup(InvocationContext ctx, VisitableCommand command,
    protected boolean skipL1Lookup(FlagAffectedCommand command, Object key) {
       return command.hasAnyFlag(FlagBitSets.CACHE_MODE_LOCAL) || command.hasAnyFlag(FlagBitSets.SKIP_REMOTE_LOOKUP)
             || command.hasAnyFlag(FlagBitSets.IGNORE_RETURN_VALUES) || cdl.getCacheTopology().isWriteOwner(key)
-            || dataContainer.containsKey(key);
+            || dataContainer.containsKey(key) || (hotKeysOnly && !hotKeyDetector.isHot(key));
    }
 
    @Override
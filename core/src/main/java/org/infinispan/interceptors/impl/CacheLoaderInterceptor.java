@@ -7,7 +7,9 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -148,7 +150,59 @@ public Object visitGetCacheEntryCommand(InvocationContext ctx,
 
    @Override
    public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) {
-      return visitManyDataCommand(ctx, command, command.getKeys());
+      Collection<?> keys = command.getKeys();
+      if (keys.size() < 2 || !canLoadInBulk()) {
+         return visitManyDataCommand(ctx, command, keys);
+      }
+      AggregateCompletionStage<Void> stage = null;
+      // The keys absent from memory are loaded with a single request to each store
+      Map<Object, Integer> bulkSegments = null;
+      Map<Object, CompletableFuture<InternalCacheEntry<K, V>>> bulkLoads = null;
+      for (Object key : keys) {
+         int segment = SegmentSpecificCommand.extractSegment(command, key, partitioner);
+         if (skipLoad(ctx, key, segment, command)) {
+            continue;
+         }
+         CompletionStage<?> innerStage;
+         if (dataContainer.peek(segment, key) != null) {
+            // The entry may be expired, which is handled by the single key load
+            innerStage = loadInContext(ctx, key, segment, command);
+         } else {
+            CompletableFuture<InternalCacheEntry<K, V>> cf = new CompletableFuture<>();
+            CompletionStage<InternalCacheEntry<K, V>> otherCF = pendingLoads.putIfAbsent(key, cf);
+            if (otherCF != null) {
+               innerStage = piggybackLoad(ctx, key, command, otherCF);
+            } else {
+               if (bulkLoads == null) {
+                  bulkSegments = new HashMap<>();
+                  bulkLoads = new HashMap<>();
+               }
+               bulkSegments.put(key, segment);
+               bulkLoads.put(key, cf);
+               innerStage = cf;
+            }
+         }
+         if (!CompletionStages.isCompletedSuccessfully(innerStage)) {
+            if (stage == null) {
+               stage = CompletionStages.aggregateCompletionStage();
+            }
+            stage.dependsOn(innerStage);
+         }
+      }
+      if (bulkLoads != null) {
+         loadAllInContext(ctx, command, bulkSegments, bulkLoads);
+      }
+      if (stage != null) {
+         return asyncInvokeNext(ctx, command, stage.freeze());
+      }
+      return invokeNext(ctx, command);
+   }
+
+   /**
+    * Whether the keys of a command reading many keys can be loaded with a single request to the stores.
+    */
+   protected boolean canLoadInBulk() {
+      return true;
    }
 
    @Override
@@ -325,11 +379,7 @@ protected CompletionStage<?> loadInContext(InvocationContext ctx, Object key, in
       CompletionStage<InternalCacheEntry<K, V>> otherCF = pendingLoads.putIfAbsent(key, cf);
       if (otherCF != null) {
          // Nothing to clean up, just put the entry from the other load in the context
-         if (log.isTraceEnabled()) {
-            log.tracef("Piggybacking on concurrent load for key %s", key);
-         }
-         // Resume on a different CPU thread so we don't have to wait until the other command completes
-         return otherCF.thenAcceptAsync(entry -> putInContext(ctx, key, cmd, entry), nonBlockingExecutor);
+         return piggybackLoad(ctx, key, cmd, otherCF);
       }
 
       try {
@@ -346,6 +396,55 @@ protected CompletionStage<?> loadInContext(InvocationContext ctx, Object key, in
       return cf;
    }
 
+   private CompletionStage<?> piggybackLoad(InvocationContext ctx, Object key, FlagAffectedCommand cmd,
+         CompletionStage<InternalCacheEntry<K, V>> otherCF) {
+      if (log.isTraceEnabled()) {
+         log.tracef("Piggybacking on concurrent load for key %s", key);
+      }
+      // Resume on a different CPU thread so we don't have to wait until the other command completes
+      return otherCF.thenAcceptAsync(entry -> putInContext(ctx, key, cmd, entry), nonBlockingExecutor);
+   }
+
+   /**
+    * Loads the entries of many keys from the persistence stores at once, completing the load of each key once its
+    * entry is stored in the data container and in the context. The keys must be absent from the data container and
+    * their loads already registered as pending.
+    */
+   private void loadAllInContext(InvocationContext ctx, FlagAffectedCommand cmd, Map<Object, Integer> segments,
+         Map<Object, CompletableFuture<InternalCacheEntry<K, V>>> loads) {
+      if (log.isTraceEnabled()) {
+         log.tracef("Loading entries for keys %s", segments.keySet());
+      }
+      CompletionStage<Map<Object, MarshallableEntry<K, V>>> loadStage;
+      try {
+         loadStage = persistenceManager.loadAllFromAllStores(segments.keySet(), ctx.isOriginLocal(), true);
+      } catch (Throwable t) {
+         loadStage = CompletableFuture.failedFuture(t);
+      }
+      loadStage.whenComplete((entries, throwable) -> {
+         for (Map.Entry<Object, CompletableFuture<InternalCacheEntry<K, V>>> load : loads.entrySet()) {
+            Object key = load.getKey();
+            CompletableFuture<InternalCacheEntry<K, V>> cf = load.getValue();
+            if (throwable != null) {
+               finishLoadInContext(ctx, key, cmd, cf, null, throwable);
+               continue;
+            }
+            CompletionStage<InternalCacheEntry<K, V>> result;
+            try {
+               InternalCacheEntry<K, V> ice = storeInDataContainer(key, segments.get(key), entries.get(key));
+               result = notifyLoaded(ctx, key, cmd, CompletableFuture.completedFuture(ice));
+            } catch (Throwable t) {
+               result = CompletableFuture.failedFuture(t);
+            }
+            if (CompletionStages.isCompletedSuccessfully(result)) {
+               finishLoadInContext(ctx, key, cmd, cf, CompletionStages.join(result), null);
+            } else {
+               result.whenComplete((value, t) -> finishLoadInContext(ctx, key, cmd, cf, value, t));
+            }
+         }
+      });
+   }
+
    private void finishLoadInContext(InvocationContext ctx, Object key, FlagAffectedCommand cmd, CompletableFuture<InternalCacheEntry<K, V>> cf, InternalCacheEntry<K, V> value, Throwable throwable) {
       // Make sure we clean up our pendingLoads properly and before completing any responses
       pendingLoads.remove(key);
@@ -383,41 +482,47 @@ public CompletionStage<InternalCacheEntry<K, V>> loadAndStoreInDataContainer(Inv
          log.tracef("Loading entry for key %s", key);
       }
       CompletionStage<InternalCacheEntry<K, V>> resultStage = persistenceManager.<K, V>loadFromAllStores(key, segment,
-            ctx.isOriginLocal(), includeStores).thenApply(me -> {
-         if (me != null) {
-            InternalCacheEntry<K, V> ice = PersistenceUtil.convert(me, iceFactory);
-            if (getStatisticsEnabled()) {
-               cacheLoads.incrementAndGet();
-            }
-            if (log.isTraceEnabled()) {
-               log.tracef("Loaded entry: %s for key %s from store and attempting to insert into data container",
-                     ice, key);
-            }
+            ctx.isOriginLocal(), includeStores).thenApply(me -> storeInDataContainer(key, segment, me));
+      return notifyLoaded(ctx, key, cmd, resultStage);
+   }
 
-            DataContainer.ComputeAction<K, V> putIfAbsentOrExpired = (k, oldEntry, factory) -> {
-               if (oldEntry != null &&
-                     (!oldEntry.canExpire() || !oldEntry.isExpired(timeService.wallClockTime()))) {
-                  return oldEntry;
-               }
-               if (ice.canExpire()) {
-                  ice.touch(timeService.wallClockTime());
-               }
-               return ice;
-            };
+   private InternalCacheEntry<K, V> storeInDataContainer(Object key, int segment, MarshallableEntry<K, V> me) {
+      if (me != null) {
+         InternalCacheEntry<K, V> ice = PersistenceUtil.convert(me, iceFactory);
+         if (getStatisticsEnabled()) {
+            cacheLoads.incrementAndGet();
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Loaded entry: %s for key %s from store and attempting to insert into data container",
+                  ice, key);
+         }
 
-            dataContainer.compute(segment, (K) key, putIfAbsentOrExpired);
-            return ice;
-         } else {
-            if (log.isTraceEnabled()) {
-               log.tracef("Missed entry load for key %s from store", key);
+         DataContainer.ComputeAction<K, V> putIfAbsentOrExpired = (k, oldEntry, factory) -> {
+            if (oldEntry != null &&
+                  (!oldEntry.canExpire() || !oldEntry.isExpired(timeService.wallClockTime()))) {
+               return oldEntry;
             }
-            if (getStatisticsEnabled()) {
-               cacheMisses.incrementAndGet();
+            if (ice.canExpire()) {
+               ice.touch(timeService.wallClockTime());
             }
-            return null;
+            return ice;
+         };
+
+         dataContainer.compute(segment, (K) key, putIfAbsentOrExpired);
+         return ice;
+      } else {
+         if (log.isTraceEnabled()) {
+            log.tracef("Missed entry load for key %s from store", key);
          }
-      });
+         if (getStatisticsEnabled()) {
+            cacheMisses.incrementAndGet();
+         }
+         return null;
+      }
+   }
 
+   private CompletionStage<InternalCacheEntry<K, V>> notifyLoaded(InvocationContext ctx, Object key,
+         FlagAffectedCommand cmd, CompletionStage<InternalCacheEntry<K, V>> resultStage) {
       if (notifier.hasListener(CacheEntryLoaded.class) || notifier.hasListener(CacheEntryActivated.class)) {
          return resultStage.thenCompose(ice -> {
             if (ice != null) {
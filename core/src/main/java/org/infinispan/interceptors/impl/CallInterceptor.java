@@ -983,7 +983,7 @@ public Object visitReadWriteKeyCommand(InvocationContext ctx, ReadWriteKeyComman
       boolean exists = e.getValue() != null;
       EntryViews.AccessLoggingReadWriteView view = EntryViews.readWrite(e, command.getKeyDataConversion(),
             command.getValueDataConversion());
-      ret = snapshot(command.getFunction().apply(view));
+      ret = snapshot(command.apply(view));
       // The effective result of retried command is not safe; we'll go to backup anyway
       if (!e.isChanged() && !command.hasAnyFlag(FlagBitSets.COMMAND_RETRY)) {
          command.fail();
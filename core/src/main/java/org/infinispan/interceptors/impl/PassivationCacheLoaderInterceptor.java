@@ -38,4 +38,10 @@ public CompletionStage<InternalCacheEntry<K, V>> loadAndStoreInDataContainer(Inv
       }
       return retrievalStage.whenComplete((v, t) -> orderer.completeOperation(key, future, Operation.READ));
    }
+
+   @Override
+   protected boolean canLoadInBulk() {
+      // Each load must be ordered with the concurrent operations on its key
+      return false;
+   }
 }
@@ -0,0 +1,175 @@
+package org.infinispan.marshall.core.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.ByteBufferImpl;
+import org.infinispan.configuration.cache.CompressionType;
+import org.infinispan.configuration.cache.MemoryConfiguration;
+
+/**
+ * Compresses marshalled values above a size threshold.
+ * <p>
+ * A compressed value starts with a {@link #MAGIC} byte followed by the uncompressed length and the compressed
+ * payload. The magic byte is a protobuf tag with field number 0 and wire type 7, which the persistence marshaller never
+ * produces, so values written before compression was enabled can still be read. Other marshallers can produce such a
+ * value, so the callers must only decompress the values of a cache that enables compression, or values they flagged
+ * as compressed themselves.
+ * <p>
+ * The {@link Deflater} and {@link Inflater} instances are pooled, as each one holds native memory until it is ended.
+ *
+ * @since 16.3
+ */
+public final class ValueCompressor {
+   static final byte MAGIC = 0x07;
+   static final byte DEFLATE = 1;
+   // magic + algorithm + uncompressed length
+   static final int HEADER_LENGTH = 1 + 1 + 4;
+   private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+   private static final BlockingQueue<Deflater> DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+   private static final BlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+   private final int threshold;
+
+   private ValueCompressor(int threshold) {
+      this.threshold = threshold;
+   }
+
+   /**
+    * @return a compressor for the given configuration or {@code null} if compression is disabled
+    */
+   public static ValueCompressor fromConfiguration(MemoryConfiguration configuration) {
+      CompressionType type = configuration.compression();
+      if (!type.isEnabled()) {
+         return null;
+      }
+      return new ValueCompressor(configuration.compressionThreshold());
+   }
+
+   /**
+    * Compresses the given bytes if they are above the threshold and the compressed form is smaller.
+    *
+    * @return the compressed bytes or {@code null} if the value should be kept as it is
+    */
+   public byte[] compress(byte[] bytes, int offset, int length) {
+      if (length < threshold || length < HEADER_LENGTH) {
+         return null;
+      }
+      Deflater deflater = DEFLATERS.poll();
+      if (deflater == null) {
+         deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+      }
+      try {
+         deflater.setInput(bytes, offset, length);
+         deflater.finish();
+         // The output is bounded by the input length, as it is not worth compressing if nothing is saved
+         byte[] output = new byte[length];
+         output[0] = MAGIC;
+         output[1] = DEFLATE;
+         putInt(output, 2, length);
+         int written = HEADER_LENGTH;
+         while (!deflater.finished()) {
+            if (written == output.length) {
+               return null;
+            }
+            written += deflater.deflate(output, written, output.length - written);
+         }
+         return Arrays.copyOf(output, written);
+      } finally {
+         deflater.reset();
+         if (!DEFLATERS.offer(deflater)) {
+            deflater.end();
+         }
+      }
+   }
+
+   /**
+    * Same as {@link #compress(byte[], int, int)} but keeps the buffer when it is not compressed.
+    */
+   public ByteBuffer compress(ByteBuffer buffer) {
+      if (buffer == null) {
+         return null;
+      }
+      byte[] compressed = compress(buffer.getBuf(), buffer.getOffset(), buffer.getLength());
+      return compressed != null ? ByteBufferImpl.create(compressed) : buffer;
+   }
+
+   /**
+    * @return whether the bytes were produced by {@link #compress(byte[], int, int)}
+    */
+   public static boolean isCompressed(byte[] bytes, int offset, int length) {
+      return length >= HEADER_LENGTH && bytes[offset] == MAGIC;
+   }
+
+   /**
+    * Same as {@link #isCompressed(byte[], int, int)} for a buffer, which can be {@code null}.
+    */
+   public static boolean isCompressed(ByteBuffer buffer) {
+      return buffer != null && isCompressed(buffer.getBuf(), buffer.getOffset(), buffer.getLength());
+   }
+
+   /**
+    * Decompresses the bytes if they were compressed, otherwise returns {@code null}.
+    */
+   public static byte[] decompress(byte[] bytes, int offset, int length) {
+      if (!isCompressed(bytes, offset, length)) {
+         return null;
+      }
+      if (bytes[offset + 1] != DEFLATE) {
+         throw new CacheException("Unknown compression algorithm " + bytes[offset + 1]);
+      }
+      byte[] output = new byte[getInt(bytes, offset + 2)];
+      Inflater inflater = INFLATERS.poll();
+      if (inflater == null) {
+         inflater = new Inflater();
+      }
+      try {
+         inflater.setInput(bytes, offset + HEADER_LENGTH, length - HEADER_LENGTH);
+         int read = 0;
+         while (read < output.length) {
+            int n = inflater.inflate(output, read, output.length - read);
+            if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+               throw new CacheException("Truncated compressed value");
+            }
+            read += n;
+         }
+         return output;
+      } catch (DataFormatException e) {
+         throw new CacheException(e);
+      } finally {
+         inflater.reset();
+         if (!INFLATERS.offer(inflater)) {
+            inflater.end();
+         }
+      }
+   }
+
+   /**
+    * Same as {@link #decompress(byte[], int, int)} but returns the buffer itself when it is not compressed.
+    */
+   public static ByteBuffer decompress(ByteBuffer buffer) {
+      if (buffer == null) {
+         return null;
+      }
+      byte[] decompressed = decompress(buffer.getBuf(), buffer.getOffset(), buffer.getLength());
+      return decompressed != null ? ByteBufferImpl.create(decompressed) : buffer;
+   }
+
+   private static void putInt(byte[] bytes, int offset, int value) {
+      bytes[offset] = (byte) (value >>> 24);
+      bytes[offset + 1] = (byte) (value >>> 16);
+      bytes[offset + 2] = (byte) (value >>> 8);
+      bytes[offset + 3] = (byte) value;
+   }
+
+   private static int getInt(byte[] bytes, int offset) {
+      return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) |
+            ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+   }
+}
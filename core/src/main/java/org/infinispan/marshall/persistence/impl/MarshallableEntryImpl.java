@@ -6,6 +6,7 @@
 
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.marshall.core.impl.ValueCompressor;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
 import org.infinispan.persistence.spi.MarshallableEntry;
@@ -29,6 +30,9 @@
    transient volatile Metadata metadata;
    transient volatile PrivateMetadata internalMetadata;
    transient org.infinispan.commons.marshall.Marshaller marshaller;
+   // The value bytes written to the stores, which are compressed if the cache enables compression
+   transient ByteBuffer storedValueBytes;
+   transient ValueCompressor compressor;
 
    MarshallableEntryImpl() {}
 
@@ -71,10 +75,11 @@ public K getKey() {
    @Override
    public V getValue() {
       if (value == null) {
-         if (valueBytes == null) {
+         ByteBuffer bytes = getValueBytes();
+         if (bytes == null) {
             return null;
          }
-         value = unmarshall(valueBytes);
+         value = unmarshall(bytes);
       }
       return value;
    }
@@ -110,11 +115,38 @@ public ByteBuffer getKeyBytes() {
 
    @Override
    public ByteBuffer getValueBytes() {
-      if (valueBytes == null)
-         valueBytes = marshall(value, marshaller);
+      if (valueBytes == null) {
+         if (storedValueBytes != null) {
+            valueBytes = ValueCompressor.decompress(storedValueBytes);
+         } else {
+            valueBytes = marshall(value, marshaller);
+         }
+      }
       return valueBytes;
    }
 
+   @Override
+   public ByteBuffer getStoredValueBytes() {
+      if (storedValueBytes == null) {
+         ByteBuffer bytes = getValueBytes();
+         storedValueBytes = compressor != null ? compressor.compress(bytes) : bytes;
+      }
+      return storedValueBytes;
+   }
+
+   /**
+    * Sets the value bytes read from a store, which are decompressed lazily if the cache enables compression.
+    */
+   void setStoredValueBytes(ByteBuffer bytes, ValueCompressor compressor) {
+      this.compressor = compressor;
+      if (compressor != null && ValueCompressor.isCompressed(bytes)) {
+         storedValueBytes = bytes;
+         valueBytes = null;
+      } else {
+         valueBytes = bytes;
+      }
+   }
+
    @Override
    public ByteBuffer getMetadataBytes() {
       if (metadataBytes == null)
@@ -167,7 +199,7 @@ public static long expiryTime(Metadata metadata, long created, long lastUsed) {
 
    @Override
    public MarshalledValue getMarshalledValue() {
-      return new MarshalledValueImpl(getValueBytes(), getMetadataBytes(), getInternalMetadataBytes(), created, lastUsed);
+      return new MarshalledValueImpl(getStoredValueBytes(), getMetadataBytes(), getInternalMetadataBytes(), created, lastUsed);
    }
 
    @Override
@@ -207,8 +239,8 @@ public String toString() {
          sb.append('/').append(this.<Object>unmarshall(keyBytes));
       }
       sb.append(", value=").append(value);
-      if (value == null && valueBytes != null && marshaller != null) {
-         sb.append('/').append(this.<Object>unmarshall(valueBytes));
+      if (value == null && (valueBytes != null || storedValueBytes != null) && marshaller != null) {
+         sb.append('/').append(this.<Object>unmarshall(getValueBytes()));
       }
       sb.append(", metadata=").append(metadata);
       if (metadata == null && metadataBytes != null && marshaller != null) {
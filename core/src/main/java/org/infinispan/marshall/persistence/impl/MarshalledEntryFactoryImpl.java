@@ -2,11 +2,14 @@
 
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.marshall.core.impl.ValueCompressor;
 import org.infinispan.metadata.EmbeddedMetadata;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
@@ -25,6 +28,9 @@ public class MarshalledEntryFactoryImpl implements MarshallableEntryFactory {
 
    @Inject @ComponentName(KnownComponentNames.PERSISTENCE_MARSHALLER)
    Marshaller marshaller;
+   @Inject Configuration configuration;
+
+   private ValueCompressor compressor;
 
    public MarshalledEntryFactoryImpl() {
    }
@@ -33,6 +39,11 @@ public MarshalledEntryFactoryImpl(Marshaller marshaller) {
       this.marshaller = marshaller;
    }
 
+   @Start
+   public void start() {
+      compressor = ValueCompressor.fromConfiguration(configuration.memory());
+   }
+
    @Override
    public MarshallableEntry create(ByteBuffer key, ByteBuffer valueBytes) {
       return create(key, valueBytes, (ByteBuffer) null, null, -1, -1);
@@ -40,14 +51,14 @@ public MarshallableEntry create(ByteBuffer key, ByteBuffer valueBytes) {
 
    @Override
    public MarshallableEntry create(ByteBuffer key, ByteBuffer valueBytes, ByteBuffer metadataBytes, ByteBuffer internalMetadataBytes, long created, long lastUsed) {
-      return new MarshallableEntryImpl<>(key, valueBytes, metadataBytes, internalMetadataBytes, created, lastUsed, marshaller);
+      return withStoredValue(new MarshallableEntryImpl<>(key, (ByteBuffer) null, metadataBytes, internalMetadataBytes, created, lastUsed, marshaller), valueBytes);
    }
 
    @Override
    public MarshallableEntry create(Object key, ByteBuffer valueBytes, ByteBuffer metadataBytes,
          ByteBuffer internalMetadataBytes, long created, long lastUsed) {
-      return new MarshallableEntryImpl<>(key, valueBytes, metadataBytes, internalMetadataBytes, created, lastUsed,
-            marshaller);
+      return withStoredValue(new MarshallableEntryImpl<>(key, (ByteBuffer) null, metadataBytes, internalMetadataBytes, created, lastUsed,
+            marshaller), valueBytes);
    }
 
    @Override
@@ -64,15 +75,25 @@ public MarshallableEntry create(Object key, Object value) {
    public MarshallableEntry create(Object key, Object value, Metadata metadata, PrivateMetadata internalMetadata,
          long created, long lastUsed) {
       PrivateMetadata privateMetadataToUse = internalMetadata != null && !internalMetadata.isEmpty() ? internalMetadata : null;
+      MarshallableEntryImpl<Object, Object> entry;
       if (metadata == null || metadata.isEmpty()) {
-         return new MarshallableEntryImpl<>(key, value, null, privateMetadataToUse, -1, -1, marshaller);
+         entry = new MarshallableEntryImpl<>(key, value, null, privateMetadataToUse, -1, -1, marshaller);
+      } else {
+         entry = new MarshallableEntryImpl<>(key, value, metadata, privateMetadataToUse, created, lastUsed, marshaller);
       }
-      return new MarshallableEntryImpl<>(key, value, metadata, privateMetadataToUse, created, lastUsed, marshaller);
+      entry.compressor = compressor;
+      return entry;
    }
 
    @Override
    public MarshallableEntry create(Object key, MarshalledValue value) {
-      return new MarshallableEntryImpl<>(key, value.getValueBytes(), value.getMetadataBytes(), value.getInternalMetadataBytes(), value.getCreated(), value.getLastUsed(), marshaller);
+      return withStoredValue(new MarshallableEntryImpl<>(key, (ByteBuffer) null, value.getMetadataBytes(), value.getInternalMetadataBytes(), value.getCreated(), value.getLastUsed(), marshaller), value.getValueBytes());
+   }
+
+   private MarshallableEntry withStoredValue(MarshallableEntryImpl<?, ?> entry, ByteBuffer valueBytes) {
+      // Only a cache that enables compression decompresses the values, so any value of the others is read as is
+      entry.setStoredValueBytes(valueBytes, compressor);
+      return entry;
    }
 
    @Override
@@ -90,7 +111,9 @@ public MarshallableEntry cloneWithExpiration(MarshallableEntry me, long creation
       }
       metadata = builder.lifespan(lifespan).build();
       if (!(me instanceof MarshallableEntryImpl)) {
-         return new MarshallableEntryImpl(me.getKey(), me.getValue(), metadata, me.getInternalMetadata(), creationTime, creationTime, marshaller);
+         MarshallableEntryImpl entry = new MarshallableEntryImpl(me.getKey(), me.getValue(), metadata, me.getInternalMetadata(), creationTime, creationTime, marshaller);
+         entry.compressor = compressor;
+         return entry;
       }
       MarshallableEntryImpl meCast = (MarshallableEntryImpl) me;
       meCast.metadata = metadata;
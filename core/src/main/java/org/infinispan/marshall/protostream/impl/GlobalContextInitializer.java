@@ -63,6 +63,7 @@
             org.infinispan.commands.remote.CheckTransactionRpcCommand.class,
             org.infinispan.commands.remote.ClusteredGetAllCommand.class,
             org.infinispan.commands.remote.ClusteredGetCommand.class,
+            org.infinispan.commands.remote.MultipleRpcCommand.class,
             org.infinispan.commands.remote.recovery.CompleteTransactionCommand.class,
             org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand.class,
             org.infinispan.commands.remote.recovery.GetInDoubtTxInfoCommand.class,
@@ -114,6 +115,10 @@
             org.infinispan.commands.write.ValueMatcher.class,
             org.infinispan.configuration.cache.CacheMode.class,
             org.infinispan.configuration.cache.XSiteStateTransferMode.class,
+            org.infinispan.container.entries.AccessOrderImmortalCacheEntry.class,
+            org.infinispan.container.entries.AccessOrderMortalCacheEntry.class,
+            org.infinispan.container.entries.AccessOrderTransientCacheEntry.class,
+            org.infinispan.container.entries.AccessOrderTransientMortalCacheEntry.class,
             org.infinispan.container.entries.ImmortalCacheEntry.class,
             org.infinispan.container.entries.ImmortalCacheValue.class,
             org.infinispan.container.entries.MortalCacheEntry.class,
@@ -122,6 +127,10 @@
             org.infinispan.container.entries.TransientCacheValue.class,
             org.infinispan.container.entries.TransientMortalCacheEntry.class,
             org.infinispan.container.entries.TransientMortalCacheValue.class,
+            org.infinispan.container.entries.metadata.AccessOrderMetadataImmortalCacheEntry.class,
+            org.infinispan.container.entries.metadata.AccessOrderMetadataMortalCacheEntry.class,
+            org.infinispan.container.entries.metadata.AccessOrderMetadataTransientCacheEntry.class,
+            org.infinispan.container.entries.metadata.AccessOrderMetadataTransientMortalCacheEntry.class,
             org.infinispan.container.entries.metadata.MetadataImmortalCacheEntry.class,
             org.infinispan.container.entries.metadata.MetadataImmortalCacheValue.class,
             org.infinispan.container.entries.metadata.MetadataMortalCacheEntry.class,
@@ -1,10 +1,16 @@
 package org.infinispan.persistence.async;
 
 import java.lang.invoke.MethodHandles;
+import java.nio.file.Path;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -19,6 +25,7 @@
 import org.infinispan.commons.IllegalLifecycleStateException;
 import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.reactive.RxJavaInterop;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.commons.util.concurrent.CompletionStages;
@@ -26,13 +33,18 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.metrics.impl.CacheMetricsRegistration;
+import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.NonBlockingStore;
 import org.infinispan.persistence.support.DelegatingNonBlockingStore;
 import org.infinispan.persistence.support.SegmentPublisherWrapper;
+import org.infinispan.persistence.support.SingleSegmentPublisher;
 import org.infinispan.security.actions.SecurityActions;
+import org.infinispan.util.concurrent.BlockingManager;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 import org.reactivestreams.Publisher;
@@ -41,6 +53,7 @@
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.flowables.ConnectableFlowable;
 import io.reactivex.rxjava3.functions.Function;
 
@@ -56,6 +69,11 @@
  * subsequent write will be added to the queue, but the returned Stage will not complete until the current batch completes
  * in an attempt to provide some backpressure to slow writes.
  * <p>
+ * If the {@link AsyncStoreConfiguration#journal() journal} is enabled, a write that would overflow the modification
+ * queue is appended to a {@link WriteBehindJournal} instead, and so are the later writes to the same key until the
+ * modification is moved back into the queue. The modifications are moved from the journal to the queue as the
+ * batches complete, and the journal is replayed when the store is started.
+ * <p>
  * Read operations may be resolved by this store immediately if the given key is still being updated in the
  * delegate store or if it is enqueued for the next batch. If the key is in neither it will query the underlying store
  * to acquire it.
@@ -106,6 +124,25 @@
    private boolean isReplicatingClear;
    private volatile boolean stopped = true;
 
+   private BlockingManager blockingManager;
+   private TimeService timeService;
+   // Only non null if the journal is enabled
+   private WriteBehindJournal journal;
+   private CacheMetricsRegistration metricsRegistration;
+   private Set<Object> metricIds;
+   // The modifications that were appended to the journal, or are being appended, in the order they were appended. A
+   // key is never both in this map and in pendingModifications
+   @GuardedBy("this")
+   private final Map<Object, SpilledModification> spilledModifications = new LinkedHashMap<>();
+   @GuardedBy("this")
+   private long nextSequence;
+   // The journal can only be truncated when no append is running
+   @GuardedBy("this")
+   private int pendingAppends;
+   // This variable will be non null while modifications are being moved from the journal to the pending modifications
+   @GuardedBy("this")
+   private CompletableFuture<Void> drainFuture;
+
    public AsyncNonBlockingStore(NonBlockingStore<K, V> actual) {
       this.actual = actual;
    }
@@ -129,8 +166,41 @@ public CompletionStage<Void> start(InitializationContext ctx) {
       asyncConfiguration = storeConfiguration.async();
       modificationQueueSize = asyncConfiguration.modificationQueueSize();
       nonBlockingExecutor = ctx.getNonBlockingExecutor();
+      blockingManager = ctx.getBlockingManager();
+      timeService = ctx.getTimeService();
       stopped = false;
-      return actual.start(ctx);
+      if (!asyncConfiguration.journal()) {
+         return actual.start(ctx);
+      }
+      int storeIndex = persistenceConfiguration.stores().indexOf(storeConfiguration);
+      Path path = PersistenceUtil.getLocation(ctx.getGlobalConfiguration(), null).resolve("write-behind")
+            .resolve(ctx.getCache().getName() + "-" + storeIndex + ".journal");
+      journal = new WriteBehindJournal(path, ctx.getPersistenceMarshaller(), ctx.getMarshallableEntryFactory(),
+            ctx.getByteBufferFactory());
+      metricsRegistration = ComponentRegistry.componentOf(ctx.getCache(), CacheMetricsRegistration.class);
+      if (metricsRegistration != null && metricsRegistration.metricsEnabled()) {
+         metricIds = metricsRegistration.registerExternalMetrics(new WriteBehindJournalStatistics(this), "WriteBehind");
+      }
+      return actual.start(ctx)
+            .thenCompose(ignore -> blockingManager.runBlocking(this::replayJournal, "write-behind-journal-replay"))
+            .thenRun(this::scheduleDrain);
+   }
+
+   private void replayJournal() {
+      List<WriteBehindJournal.Record> records = journal.open();
+      if (!records.isEmpty()) {
+         log.debugf("Replaying %d modifications from the write-behind journal %s", records.size(), journal.path());
+      }
+      long now = timeService.time();
+      synchronized (this) {
+         for (WriteBehindJournal.Record record : records) {
+            spilledModifications.put(record.key, new SpilledModification(record.sequence, record.segment, now,
+                  record.offset));
+         }
+         // The release and clear records can have higher sequences than the valid records, and they must not
+         // invalidate the records appended from now on
+         nextSequence = journal.lastSequence() + 1;
+      }
    }
 
    @Override
@@ -145,6 +215,13 @@ public CompletionStage<Void> stop() {
             log.tracef("Stopping store %s from async store", actual);
          }
          stopped = true;
+         if (journal != null) {
+            if (metricIds != null) {
+               metricsRegistration.unregisterMetrics(metricIds);
+               metricIds = null;
+            }
+            return actual.stop().thenCompose(ignore2 -> blockingManager.runBlocking(journal::close, "write-behind-journal-close"));
+         }
          return actual.stop();
       });
    }
@@ -155,7 +232,7 @@ public CompletionStage<Void> stop() {
    private CompletionStage<Void> awaitQuiescence() {
       CompletionStage<Void> stage;
       synchronized (this) {
-         stage = batchFuture;
+         stage = batchFuture != null ? batchFuture : drainFuture;
       }
       if (stage == null) {
          return CompletableFutures.completedNull();
@@ -175,6 +252,185 @@ void putClearModification() {
       hasPendingClear = true;
    }
 
+   /**
+    * Returns the spilled modification if the given modification must be appended to the journal, which is when its
+    * key was already appended or when it does not fit in the queue. Callers must hold the lock of this store.
+    */
+   @GuardedBy("this")
+   private SpilledModification spillIfNeeded(Object key, Modification modification) {
+      if (!spilledModifications.containsKey(key) && (pendingModifications.containsKey(key) ||
+            pendingModifications.size() + replicatingModifications.size() < modificationQueueSize)) {
+         return null;
+      }
+      SpilledModification spilled = new SpilledModification(nextSequence++, modification.getSegment(),
+            timeService.time(), modification);
+      // Remove first so that the key moves to the end of the iteration order
+      spilledModifications.remove(key);
+      spilledModifications.put(key, spilled);
+      pendingAppends++;
+      return spilled;
+   }
+
+   private CompletionStage<Void> appendToJournal(Object key, SpilledModification spilled) {
+      return blockingManager.supplyBlocking(() -> journal.append(spilled.sequence, spilled.modification),
+                  "write-behind-journal-append")
+            .handle((offset, t) -> {
+               synchronized (this) {
+                  pendingAppends--;
+                  if (spilledModifications.get(key) == spilled) {
+                     if (t != null) {
+                        // The write is not lost, the queue grows beyond its size instead
+                        log.unableToAppendToWriteBehindJournal(journal.path(), t);
+                        spilledModifications.remove(key);
+                        spilled.modification.apply(this);
+                     } else {
+                        spilled.offset = offset;
+                        spilled.modification = null;
+                     }
+                  }
+               }
+               scheduleDrain();
+               return null;
+            });
+   }
+
+   /**
+    * Appends a clear record to the journal. The returned stage fails if the record could not be appended, as the
+    * modifications it should invalidate would be replayed after a restart.
+    */
+   private CompletionStage<Void> appendClearToJournal(long sequence) {
+      return blockingManager.runBlocking(() -> journal.clear(sequence), "write-behind-journal-clear")
+            .whenComplete((ignore, t) -> {
+               synchronized (this) {
+                  pendingAppends--;
+               }
+            });
+   }
+
+   /**
+    * Starts moving the modifications appended to the journal into the pending modifications, if there are any and
+    * there is space for them in the queue.
+    */
+   private void scheduleDrain() {
+      if (journal == null) {
+         return;
+      }
+      synchronized (this) {
+         if (drainFuture != null || stopped || queueSpace() <= 0 || !hasAppendedModifications()) {
+            return;
+         }
+         drainFuture = new CompletableFuture<>();
+      }
+      blockingManager.runBlocking(this::drainJournal, "write-behind-journal-drain")
+            .whenComplete((ignore, t) -> {
+               if (t != null) {
+                  log.debug("Failed to move modifications from the write-behind journal", t);
+               }
+               boolean startNewBatch;
+               CompletableFuture<Void> future;
+               synchronized (this) {
+                  future = drainFuture;
+                  drainFuture = null;
+                  startNewBatch = batchFuture == null && (!pendingModifications.isEmpty() || hasPendingClear);
+                  if (startNewBatch) {
+                     batchFuture = new CompletableFuture<>();
+                  }
+               }
+               if (startNewBatch) {
+                  submitTask();
+               }
+               future.complete(null);
+               if (t == null) {
+                  scheduleDrain();
+               }
+            });
+   }
+
+   @GuardedBy("this")
+   private int queueSpace() {
+      return modificationQueueSize - pendingModifications.size() - replicatingModifications.size();
+   }
+
+   @GuardedBy("this")
+   private boolean hasAppendedModifications() {
+      for (SpilledModification spilled : spilledModifications.values()) {
+         if (spilled.offset >= 0) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private void drainJournal() {
+      List<Map.Entry<Object, SpilledModification>> toRead = new ArrayList<>();
+      synchronized (this) {
+         int space = queueSpace();
+         for (Iterator<Map.Entry<Object, SpilledModification>> iterator = spilledModifications.entrySet().iterator();
+              iterator.hasNext() && toRead.size() < space; ) {
+            Map.Entry<Object, SpilledModification> entry = iterator.next();
+            if (entry.getValue().offset >= 0) {
+               toRead.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+            }
+         }
+      }
+      List<WriteBehindJournal.Record> records = new ArrayList<>(toRead.size());
+      long truncateSize;
+      for (Map.Entry<Object, SpilledModification> entry : toRead) {
+         SpilledModification spilled = entry.getValue();
+         WriteBehindJournal.Record record = journal.read(spilled.offset, spilled.sequence);
+         records.add(record);
+         if (record != null) {
+            // Once released the modification is only in memory, as any other modification in the queue
+            journal.release(spilled.sequence, record.keyBytes);
+         }
+      }
+      synchronized (this) {
+         for (int i = 0; i < toRead.size(); i++) {
+            Object key = toRead.get(i).getKey();
+            WriteBehindJournal.Record record = records.get(i);
+            // A newer modification for the key was spilled in the meantime, or the key was cleared
+            if (spilledModifications.get(key) != toRead.get(i).getValue()) {
+               continue;
+            }
+            spilledModifications.remove(key);
+            if (record != null) {
+               pendingModifications.put(key, record.modification);
+            }
+         }
+         truncateSize = spilledModifications.isEmpty() && pendingAppends == 0 ? journal.size() : -1;
+      }
+      // Truncating can take a while, and the writers must not wait for it holding the lock. The journal is not
+      // truncated if a modification was appended since.
+      if (truncateSize >= 0) {
+         journal.truncate(truncateSize);
+      }
+      if (log.isTraceEnabled()) {
+         log.tracef("Moved %d modifications from the write-behind journal to the queue", toRead.size());
+      }
+   }
+
+   int journalDepth() {
+      synchronized (this) {
+         return spilledModifications.size();
+      }
+   }
+
+   long journalSize() {
+      return journal.size();
+   }
+
+   long journalFlushLag() {
+      long oldest;
+      synchronized (this) {
+         Iterator<SpilledModification> iterator = spilledModifications.values().iterator();
+         if (!iterator.hasNext()) {
+            return 0;
+         }
+         oldest = iterator.next().spillTime;
+      }
+      return timeService.timeDuration(oldest, TimeUnit.MILLISECONDS);
+   }
+
    /**
     * This method submits a batch of modifications to the underlying store and completes {@code batchFuture}
     * when the modifications are done.
@@ -255,6 +511,7 @@ private void submitTask() {
             }
             submitTask();
          }
+         scheduleDrain();
       });
    }
 
@@ -365,11 +622,19 @@ public Publisher<K> publishKeys(IntSet segments, Predicate<? super K> filter) {
 
    private <E> Publisher<E> abstractPublish(IntSet segments, Predicate<? super K> filter, Function<PutModification, E> putFunction,
          Function<E, K> toKeyFunction, BiFunction<IntSet, Predicate<K>, Publisher<E>> publisherFunction) {
-      Map.Entry<Boolean, Map<Object, Modification>> entryModifications = flattenModificationMaps();
+      Map<Object, SpilledModification> spilledCopy = new HashMap<>();
+      Map.Entry<Boolean, Map<Object, Modification>> entryModifications = flattenModificationMaps(spilledCopy);
 
       Map<Object, Modification> modificationCopy = entryModifications.getValue();
 
-      Flowable<E> modPublisher = Flowable.fromIterable(modificationCopy.values())
+      Flowable<Modification> modifications = Flowable.fromIterable(modificationCopy.values());
+      if (!spilledCopy.isEmpty()) {
+         modifications = modifications.concatWith(blockingManager.blockingPublisher(Flowable.fromIterable(spilledCopy.values())
+               .mapOptional(spilled -> Optional.ofNullable(journal.read(spilled.offset, spilled.sequence))
+                     .map(record -> record.modification))));
+      }
+
+      Flowable<E> modPublisher = modifications
             .ofType(PutModification.class)
             .filter(modification -> segments.contains(modification.getSegment()))
             .map(putFunction);
@@ -386,7 +651,7 @@ private <E> Publisher<E> abstractPublish(IntSet segments, Predicate<? super K> f
          return modPublisher;
       }
 
-      Predicate<K> combinedPredicate = k -> !modificationCopy.containsKey(k);
+      Predicate<K> combinedPredicate = k -> !modificationCopy.containsKey(k) && !spilledCopy.containsKey(k);
       if (filter != null) {
          combinedPredicate = combinedPredicate.and(filter);
       }
@@ -394,12 +659,17 @@ private <E> Publisher<E> abstractPublish(IntSet segments, Predicate<? super K> f
       return modPublisher.concatWith(publisherFunction.apply(segments, combinedPredicate));
    }
 
-   private Map.Entry<Boolean, Map<Object, Modification>> flattenModificationMaps() {
+   /**
+    * Returns the modifications that are queued and whether a clear is queued. The modifications that were appended to
+    * the journal are added to the given map instead, unless the append has not completed yet.
+    */
+   private Map.Entry<Boolean, Map<Object, Modification>> flattenModificationMaps(Map<Object, SpilledModification> spilledCopy) {
       Map<Object, Modification> modificationCopy;
       Map<Object, Modification> modificationsToReplicate;
       boolean clearToReplicate;
       synchronized (this) {
          modificationCopy = new HashMap<>(pendingModifications);
+         spilledCopy.putAll(spilledModifications);
          if (hasPendingClear) {
             return new AbstractMap.SimpleImmutableEntry<>(Boolean.TRUE, modificationCopy);
          }
@@ -408,23 +678,69 @@ private Map.Entry<Boolean, Map<Object, Modification>> flattenModificationMaps()
       }
 
       modificationCopy.putAll(modificationsToReplicate);
+      // The spilled modifications are more recent than the ones being replicated
+      for (Iterator<Map.Entry<Object, SpilledModification>> iterator = spilledCopy.entrySet().iterator(); iterator.hasNext(); ) {
+         Map.Entry<Object, SpilledModification> entry = iterator.next();
+         Modification modification = entry.getValue().modification;
+         if (modification != null) {
+            modificationCopy.put(entry.getKey(), modification);
+            iterator.remove();
+         } else {
+            modificationCopy.remove(entry.getKey());
+         }
+      }
       return new AbstractMap.SimpleImmutableEntry<>(clearToReplicate, modificationCopy);
    }
 
    @Override
    public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       assertNotStopped();
-      CompletionStage<MarshallableEntry<K, V>> pendingStage = getStageFromPending(key);
+      CompletionStage<MarshallableEntry<K, V>> pendingStage = getStageFromPending(segment, key);
       if (pendingStage != null) {
          return pendingStage;
       }
       return actual.load(segment, key);
    }
 
-   private CompletionStage<MarshallableEntry<K, V>> getStageFromPending(Object key) {
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(int publisherCount, Publisher<SegmentedPublisher<Object>> keyPublisher) {
+      assertNotStopped();
+      return Flowable.fromPublisher(keyPublisher)
+            .flatMapSingle(sp -> Flowable.fromPublisher(sp).toList()
+                  .map(keys -> new AbstractMap.SimpleImmutableEntry<>(sp.getSegment(), keys)), false, publisherCount)
+            .toList()
+            .flatMapPublisher(segmentKeys -> {
+               // Keys with a pending modification are answered from it, only the others are loaded from the store
+               List<CompletionStage<MarshallableEntry<K, V>>> pendingStages = new ArrayList<>();
+               List<SegmentedPublisher<Object>> keysToLoad = new ArrayList<>(segmentKeys.size());
+               for (Map.Entry<Integer, List<Object>> entry : segmentKeys) {
+                  List<Object> notPending = new ArrayList<>(entry.getValue().size());
+                  for (Object key : entry.getValue()) {
+                     CompletionStage<MarshallableEntry<K, V>> pendingStage = getStageFromPending(entry.getKey(), key);
+                     if (pendingStage != null) {
+                        pendingStages.add(pendingStage);
+                     } else {
+                        notPending.add(key);
+                     }
+                  }
+                  if (!notPending.isEmpty()) {
+                     keysToLoad.add(SingleSegmentPublisher.singleSegment(entry.getKey(), Flowable.fromIterable(notPending)));
+                  }
+               }
+               Flowable<MarshallableEntry<K, V>> pendingEntries = Flowable.fromIterable(pendingStages)
+                     .concatMapMaybe(Maybe::fromCompletionStage);
+               if (keysToLoad.isEmpty()) {
+                  return pendingEntries;
+               }
+               return pendingEntries.concatWith(actual.loadAll(keysToLoad.size(), Flowable.fromIterable(keysToLoad)));
+            });
+   }
+
+   private CompletionStage<MarshallableEntry<K, V>> getStageFromPending(int segment, Object key) {
       Object wrappedKey = wrapKeyIfNeeded(key);
       Map<Object, Modification> modificationsToReplicate;
       boolean clearToReplicate;
+      SpilledModification spilled;
       synchronized (this) {
          // Note that writes to this map are done only in synchronized block, so we have to do same for get
          Modification modification = pendingModifications.get(wrappedKey);
@@ -440,10 +756,17 @@ private CompletionStage<MarshallableEntry<K, V>> getStageFromPending(Object key)
             }
             return CompletableFutures.completedNull();
          }
+         spilled = spilledModifications.get(wrappedKey);
          // This map is never written to so just reading reference in synchronized block is sufficient
          modificationsToReplicate = this.replicatingModifications;
          clearToReplicate = this.isReplicatingClear;
       }
+      if (spilled != null) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Found entry was appended to the journal of the async store: %s", key);
+         }
+         return readSpilled(segment, key, spilled);
+      }
       Modification modification = modificationsToReplicate.get(wrappedKey);
       if (modification != null) {
          if (log.isTraceEnabled()) {
@@ -459,6 +782,22 @@ private CompletionStage<MarshallableEntry<K, V>> getStageFromPending(Object key)
       return null;
    }
 
+   private CompletionStage<MarshallableEntry<K, V>> readSpilled(int segment, Object key, SpilledModification spilled) {
+      Modification modification = spilled.modification;
+      if (modification != null) {
+         // The append has not completed yet
+         return modification.asStage();
+      }
+      return blockingManager.supplyBlocking(() -> journal.read(spilled.offset, spilled.sequence), "write-behind-journal-read")
+            .thenCompose(record -> {
+               if (record != null) {
+                  return record.modification.<K, V>asStage();
+               }
+               // The modification was moved to the queue in the meantime
+               return load(segment, key);
+            });
+   }
+
    public int segmentToUse(int segment) {
       return segmentCount == 1 ? 0 : segment;
    }
@@ -481,6 +820,9 @@ CompletionStage<Void> submitModification(Modification modification) {
       boolean isTraceEnabled = log.isTraceEnabled();
       boolean startNewBatch;
       CompletionStage<Void> submitStage;
+      Object key = null;
+      SpilledModification spilled = null;
+      long clearSequence = -1;
       synchronized (this) {
          int previousBatchId;
          if (isTraceEnabled) {
@@ -490,7 +832,23 @@ CompletionStage<Void> submitModification(Modification modification) {
          } else {
             previousBatchId = 0;
          }
-         modification.apply(this);
+         if (journal != null) {
+            if (modification == ClearModification.INSTANCE) {
+               if (!spilledModifications.isEmpty() || journal.size() > 0) {
+                  spilledModifications.clear();
+                  clearSequence = nextSequence++;
+                  pendingAppends++;
+               }
+            } else {
+               key = wrapKeyIfNeeded(modification.getKey());
+               spilled = spillIfNeeded(key, modification);
+            }
+         }
+         if (spilled == null) {
+            modification.apply(this);
+         } else if (isTraceEnabled) {
+            log.tracef("Queue is full, appending modification %s to the journal", modification);
+         }
 
          startNewBatch = batchFuture == null;
          if (startNewBatch) {
@@ -508,8 +866,15 @@ CompletionStage<Void> submitModification(Modification modification) {
       if (startNewBatch) {
          submitTask();
       }
-      return submitStage == null ? CompletableFutures.completedNull() :
+      if (spilled != null) {
+         return appendToJournal(key, spilled);
+      }
+      CompletionStage<Void> stage = submitStage == null ? CompletableFutures.completedNull() :
              submitStage.thenApplyAsync(CompletableFutures.toNullFunction(), nonBlockingExecutor);
+      if (clearSequence >= 0) {
+         return CompletionStages.allOf(appendClearToJournal(clearSequence), stage);
+      }
+      return stage;
    }
 
    @Override
@@ -553,6 +918,7 @@ public CompletionStage<Void> removeSegments(IntSet segments) {
       assertNotStopped();
       synchronized (this) {
          pendingModifications.values().removeIf(modification -> segments.contains(modification.getSegment()));
+         spilledModifications.values().removeIf(spilled -> segments.contains(spilled.segment));
       }
       return actual.removeSegments(segments);
    }
@@ -608,7 +974,8 @@ public CompletionStage<Boolean> isAvailable() {
          if (delegateUnavailable) {
             log.debugf("Underlying delegate %s is now unavailable!", actual);
          }
-         return queueSize < modificationQueueSize || !isReplicating;
+         // With a journal the writes that do not fit in the queue do not wait for the delegate
+         return journal != null || queueSize < modificationQueueSize || !isReplicating;
       });
    }
 
@@ -633,4 +1000,28 @@ static Object wrapKeyIfNeeded(Object key) {
       }
       return key;
    }
+
+   private static class SpilledModification {
+      final long sequence;
+      final int segment;
+      final long spillTime;
+      // The modification is kept in memory until it is appended, then it is read from the journal at the offset
+      volatile Modification modification;
+      volatile long offset;
+
+      SpilledModification(long sequence, int segment, long spillTime, Modification modification) {
+         this.sequence = sequence;
+         this.segment = segment;
+         this.spillTime = spillTime;
+         this.modification = modification;
+         this.offset = -1;
+      }
+
+      SpilledModification(long sequence, int segment, long spillTime, long offset) {
+         this.sequence = sequence;
+         this.segment = segment;
+         this.spillTime = spillTime;
+         this.offset = offset;
+      }
+   }
 }
@@ -22,6 +22,13 @@ interface Modification {
     */
    int getSegment();
 
+   /**
+    * Returns the key that maps to this modification. Some modifications may not map to a given
+    * key and may throw an {@link UnsupportedOperationException}.
+    * @return the key that maps to the modification
+    */
+   Object getKey();
+
    /**
     * Returns this modification as a stage that is already complete.
     * @param <K> key type
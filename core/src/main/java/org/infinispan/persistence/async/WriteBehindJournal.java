@@ -0,0 +1,338 @@
+package org.infinispan.persistence.async;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.infinispan.commons.io.ByteBufferFactory;
+import org.infinispan.marshall.persistence.PersistenceMarshaller;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
+import org.infinispan.persistence.spi.PersistenceException;
+
+/**
+ * An append only file that holds the modifications that did not fit in the modification queue of an
+ * {@link AsyncNonBlockingStore}.
+ * <p>
+ * Every record has a sequence number assigned by the store. A modification is valid until a release record with the
+ * same or a higher sequence, or a clear record with a higher sequence, is appended after it. The store appends the
+ * release records when it moves the modifications back into its queue, so that only the modifications that were
+ * never queued are replayed after a restart. The file is truncated when it no longer holds valid modifications.
+ * <p>
+ * Each record is {@code [length][type][sequence][segment][key, value, metadata and internal metadata lengths]
+ * [created][last used]} followed by the bytes, where a length of -1 stands for a {@code null} field. A record
+ * truncated by a crash is discarded when the journal is opened.
+ *
+ * @since 16.3
+ */
+final class WriteBehindJournal {
+   static final byte PUT = 1;
+   static final byte REMOVE = 2;
+   static final byte RELEASE = 3;
+   static final byte CLEAR = 4;
+
+   // The length of the record itself is not included in its length
+   private static final int HEADER_SIZE = 1 + 8 + 4 + 4 * 4 + 8 + 8;
+
+   private final Path path;
+   private final PersistenceMarshaller marshaller;
+   private final MarshallableEntryFactory<?, ?> entryFactory;
+   private final ByteBufferFactory byteBufferFactory;
+
+   private FileChannel channel;
+   private volatile long size;
+   private long lastSequence = -1;
+
+   WriteBehindJournal(Path path, PersistenceMarshaller marshaller, MarshallableEntryFactory<?, ?> entryFactory,
+                      ByteBufferFactory byteBufferFactory) {
+      this.path = path;
+      this.marshaller = marshaller;
+      this.entryFactory = entryFactory;
+      this.byteBufferFactory = byteBufferFactory;
+   }
+
+   /**
+    * Opens the journal file, creating it if necessary, and returns the modifications that are still valid ordered by
+    * their sequence. The returned records do not hold their modification, it must be {@link #read(long, long) read}.
+    * The file is truncated if none of its modifications is valid.
+    */
+   synchronized List<Record> open() {
+      try {
+         Files.createDirectories(path.getParent());
+         channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+         Map<Object, Record> records = new HashMap<>();
+         Map<Object, Long> releases = new HashMap<>();
+         long clearSequence = -1;
+         long offset = 0;
+         long fileSize = channel.size();
+         Record record;
+         while ((record = readRecord(offset, fileSize, false)) != null) {
+            lastSequence = Math.max(lastSequence, record.sequence);
+            switch (record.type) {
+               case CLEAR:
+                  clearSequence = Math.max(clearSequence, record.sequence);
+                  break;
+               case RELEASE:
+                  releases.merge(record.key, record.sequence, Math::max);
+                  break;
+               default:
+                  Record previous = records.get(record.key);
+                  if (previous == null || previous.sequence < record.sequence) {
+                     records.put(record.key, record);
+                  }
+            }
+            offset += 4 + record.length;
+         }
+         List<Record> valid = new ArrayList<>(records.size());
+         for (Record r : records.values()) {
+            if (r.sequence > clearSequence && r.sequence > releases.getOrDefault(r.key, -1L)) {
+               valid.add(r);
+            }
+         }
+         if (valid.isEmpty()) {
+            // Only released or cleared modifications
+            offset = 0;
+         }
+         if (offset < fileSize) {
+            // The last record was not completely written
+            channel.truncate(offset);
+         }
+         size = offset;
+         valid.sort(Comparator.comparingLong(r -> r.sequence));
+         return valid;
+      } catch (IOException | ClassNotFoundException e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   /**
+    * @return the highest sequence of all the records read by {@link #open()}, including the release and clear records,
+    * or {@code -1} if the journal was empty. The sequences of new records must be higher.
+    */
+   synchronized long lastSequence() {
+      return lastSequence;
+   }
+
+   /**
+    * Appends a put or remove modification and returns the offset of its record.
+    */
+   long append(long sequence, Modification modification) {
+      if (modification instanceof PutModification) {
+         MarshallableEntry<?, ?> entry = ((PutModification) modification).getEntry();
+         return append(PUT, sequence, modification.getSegment(), entry.getKeyBytes(), entry.getStoredValueBytes(),
+               entry.getMetadataBytes(), entry.getInternalMetadataBytes(), entry.created(), entry.lastUsed());
+      }
+      return append(REMOVE, sequence, modification.getSegment(), marshall(modification.getKey()), null, null, null, -1, -1);
+   }
+
+   /**
+    * Appends a record that invalidates the modifications of the key up to the given sequence.
+    */
+   void release(long sequence, org.infinispan.commons.io.ByteBuffer key) {
+      append(RELEASE, sequence, -1, key, null, null, null, -1, -1);
+   }
+
+   /**
+    * Appends a record that invalidates all the modifications with a lower sequence.
+    */
+   void clear(long sequence) {
+      append(CLEAR, sequence, -1, null, null, null, null, -1, -1);
+   }
+
+   private synchronized long append(byte type, long sequence, int segment, org.infinispan.commons.io.ByteBuffer key,
+                                    org.infinispan.commons.io.ByteBuffer value, org.infinispan.commons.io.ByteBuffer metadata,
+                                    org.infinispan.commons.io.ByteBuffer internalMetadata, long created, long lastUsed) {
+      int length = HEADER_SIZE + length(key) + length(value) + length(metadata) + length(internalMetadata);
+      ByteBuffer buffer = ByteBuffer.allocate(4 + length);
+      buffer.putInt(length).put(type).putLong(sequence).putInt(segment);
+      buffer.putInt(lengthOrNull(key)).putInt(lengthOrNull(value)).putInt(lengthOrNull(metadata))
+            .putInt(lengthOrNull(internalMetadata));
+      buffer.putLong(created).putLong(lastUsed);
+      put(buffer, key);
+      put(buffer, value);
+      put(buffer, metadata);
+      put(buffer, internalMetadata);
+      buffer.flip();
+      long offset = size;
+      try {
+         long position = offset;
+         while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+         }
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      }
+      size = offset + 4 + length;
+      return offset;
+   }
+
+   /**
+    * Reads the modification appended at the given offset.
+    *
+    * @return the record, or {@code null} if the record at the offset does not have the given sequence because the
+    * journal was truncated since
+    */
+   synchronized Record read(long offset, long sequence) {
+      try {
+         Record record = readRecord(offset, size, true);
+         return record == null || record.sequence != sequence ? null : record;
+      } catch (IOException | ClassNotFoundException e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   /**
+    * Discards all the records, unless a record was appended since the size of the journal was {@code expectedSize}.
+    * The caller must ensure that none of the records appended up to that size is still valid.
+    */
+   synchronized void truncate(long expectedSize) {
+      if (size != expectedSize) {
+         return;
+      }
+      try {
+         channel.truncate(0);
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      }
+      size = 0;
+   }
+
+   Path path() {
+      return path;
+   }
+
+   /**
+    * @return the size of the journal file in bytes
+    */
+   long size() {
+      return size;
+   }
+
+   synchronized void close() {
+      if (channel == null) {
+         return;
+      }
+      try {
+         channel.close();
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      } finally {
+         channel = null;
+      }
+   }
+
+   private Record readRecord(long offset, long limit, boolean readValue) throws IOException, ClassNotFoundException {
+      if (offset + 4 + HEADER_SIZE > limit) {
+         return null;
+      }
+      ByteBuffer header = ByteBuffer.allocate(4 + HEADER_SIZE);
+      readFully(header, offset);
+      header.flip();
+      int length = header.getInt();
+      if (length < HEADER_SIZE || offset + 4 + length > limit) {
+         return null;
+      }
+      byte type = header.get();
+      long sequence = header.getLong();
+      int segment = header.getInt();
+      int keyLength = header.getInt();
+      int valueLength = header.getInt();
+      int metadataLength = header.getInt();
+      int internalMetadataLength = header.getInt();
+      long created = header.getLong();
+      long lastUsed = header.getLong();
+      if (type == CLEAR) {
+         return new Record(type, sequence, segment, length, offset, null, null, null);
+      }
+      int bytesToRead = readValue ? length - HEADER_SIZE : keyLength;
+      ByteBuffer body = ByteBuffer.allocate(bytesToRead);
+      readFully(body, offset + 4 + HEADER_SIZE);
+      byte[] bytes = body.array();
+      org.infinispan.commons.io.ByteBuffer keyBytes = byteBufferFactory.newByteBuffer(bytes, 0, keyLength);
+      Object key = AsyncNonBlockingStore.wrapKeyIfNeeded(marshaller.objectFromByteBuffer(bytes, 0, keyLength));
+      Modification modification = null;
+      if (readValue && type == PUT) {
+         int position = keyLength;
+         org.infinispan.commons.io.ByteBuffer value = slice(bytes, position, valueLength);
+         position += Math.max(valueLength, 0);
+         org.infinispan.commons.io.ByteBuffer metadata = slice(bytes, position, metadataLength);
+         position += Math.max(metadataLength, 0);
+         org.infinispan.commons.io.ByteBuffer internalMetadata = slice(bytes, position, internalMetadataLength);
+         modification = new PutModification(segment, entryFactory.create(keyBytes, value, metadata, internalMetadata,
+               created, lastUsed));
+      } else if (readValue && type == REMOVE) {
+         modification = new RemoveModification(segment, marshaller.objectFromByteBuffer(bytes, 0, keyLength));
+      }
+      return new Record(type, sequence, segment, length, offset, key, keyBytes, modification);
+   }
+
+   private void readFully(ByteBuffer buffer, long position) throws IOException {
+      while (buffer.hasRemaining()) {
+         int read = channel.read(buffer, position);
+         if (read < 0) {
+            throw new IOException("Unexpected end of the journal " + path);
+         }
+         position += read;
+      }
+   }
+
+   private org.infinispan.commons.io.ByteBuffer slice(byte[] bytes, int offset, int length) {
+      return length < 0 ? null : byteBufferFactory.newByteBuffer(bytes, offset, length);
+   }
+
+   private org.infinispan.commons.io.ByteBuffer marshall(Object key) {
+      try {
+         return byteBufferFactory.newByteBuffer(marshaller.objectToByteBuffer(key));
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new PersistenceException(e);
+      }
+   }
+
+   private static int length(org.infinispan.commons.io.ByteBuffer buffer) {
+      return buffer == null ? 0 : buffer.getLength();
+   }
+
+   private static int lengthOrNull(org.infinispan.commons.io.ByteBuffer buffer) {
+      return buffer == null ? -1 : buffer.getLength();
+   }
+
+   private static void put(ByteBuffer target, org.infinispan.commons.io.ByteBuffer buffer) {
+      if (buffer != null) {
+         target.put(buffer.getBuf(), buffer.getOffset(), buffer.getLength());
+      }
+   }
+
+   static final class Record {
+      final byte type;
+      final long sequence;
+      final int segment;
+      final int length;
+      final long offset;
+      final Object key;
+      final org.infinispan.commons.io.ByteBuffer keyBytes;
+      final Modification modification;
+
+      Record(byte type, long sequence, int segment, int length, long offset, Object key,
+             org.infinispan.commons.io.ByteBuffer keyBytes, Modification modification) {
+         this.type = type;
+         this.sequence = sequence;
+         this.segment = segment;
+         this.length = length;
+         this.offset = offset;
+         this.key = key;
+         this.keyBytes = keyBytes;
+         this.modification = modification;
+      }
+   }
+}
@@ -0,0 +1,36 @@
+package org.infinispan.persistence.async;
+
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.Units;
+
+/**
+ * Exposes the state of the write-behind journal of an {@link AsyncNonBlockingStore} as metrics of its cache.
+ *
+ * @since 16.3
+ */
+@MBean(objectName = "WriteBehindJournal", description = "Journal of the modifications that did not fit in the write-behind queue")
+public class WriteBehindJournalStatistics {
+   private final AsyncNonBlockingStore<?, ?> store;
+
+   WriteBehindJournalStatistics(AsyncNonBlockingStore<?, ?> store) {
+      this.store = store;
+   }
+
+   @ManagedAttribute(description = "Number of modifications in the journal waiting to be written to the store",
+         displayName = "Journal depth")
+   public int getJournalDepth() {
+      return store.journalDepth();
+   }
+
+   @ManagedAttribute(description = "Size of the journal file", displayName = "Journal size", units = Units.BYTES)
+   public long getJournalSize() {
+      return store.journalSize();
+   }
+
+   @ManagedAttribute(description = "Time the oldest modification in the journal has been waiting to be written to the store",
+         displayName = "Journal flush lag", units = Units.MILLISECONDS)
+   public long getJournalFlushLag() {
+      return store.journalFlushLag();
+   }
+}
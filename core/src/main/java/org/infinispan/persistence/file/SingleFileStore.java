@@ -28,6 +28,7 @@
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -84,6 +85,9 @@
  * memory for the key objects.
   * So, the space taken by this cache store is both the space in the file
  * itself plus the in-memory index with the keys and their file positions.
+ * Alternatively, the store can keep the index in a file next to the data file,
+ * see {@link SingleFileStoreConfigurationBuilder#persistentIndex(boolean)}.
+ * Then only the recently used parts of the index are kept in memory.
  * With this in mind and to avoid the cache store leading to
  * OutOfMemoryExceptions, you can optionally configure the maximum number
  * of entries to maintain in this cache store, which affects both the size
@@ -139,8 +143,14 @@
    protected InitializationContext ctx;
 
    private FileChannel channel;
+   // The file entries are copied to while migrating, the persistent index reads their keys from it
+   private FileChannel migrationChannel;
    @GuardedBy("resizeLock")
    private Map<K, FileEntry>[] entries;
+   // Only used with the persistent index, null otherwise
+   private SingleFileStoreIndex<K> index;
+   // The entries being read by offset, only with the persistent index
+   private Map<Long, FileEntry> lockedEntries;
    private SortedSet<FileEntry> freeList;
    private long filePos;
    private File file;
@@ -176,6 +186,11 @@ public CompletionStage<Void> start(InitializationContext ctx) {
 
       entries = new Map[actualNumSegments];
       freeList = Collections.synchronizedSortedSet(new TreeSet<>());
+      // A read-only store cannot write the index file, it keeps the index in memory
+      if (configuration.persistentIndex() && !configuration.ignoreModifications()) {
+         index = new SingleFileStoreIndex<>(actualNumSegments, ctx.getPersistenceMarshaller(), this::readKey);
+         lockedEntries = new ConcurrentHashMap<>();
+      }
 
       // Not really blocking because no other thread can access the lock during start
       blockingAddSegments(IntSets.immutableRangeSet(actualNumSegments));
@@ -195,12 +210,14 @@ private void blockingStart() {
 
             byte[] magicHeader = validateExistingFile(channel, file.getAbsolutePath());
             if (magicHeader != null) {
+               openIndex(false);
                migrateNonSegmented(magicHeader);
-            } else {
+            } else if (!openIndex(true)) {
                rebuildIndex();
                processFreeEntries();
             }
          } else if (hasAnyComposedSegmentedFiles()) {
+            openIndex(false);
             migrateFromComposedSegmentedLoadWriteStore();
          } else {
             // No existing files
@@ -211,6 +228,7 @@ private void blockingStart() {
                }
 
                channel = createNewFile(file);
+               openIndex(false);
             }
          }
 
@@ -223,6 +241,45 @@ private void blockingStart() {
       }
    }
 
+   /**
+    * Opens the persistent index, if enabled.
+    *
+    * @param load whether to load the index saved when the store was stopped, if it still matches the data file
+    * @return {@code true} if the index was loaded, {@code false} if it must be rebuilt from the data file
+    */
+   private boolean openIndex(boolean load) throws IOException {
+      File indexFile = SingleFileStoreIndex.getIndexFile(file);
+      if (index == null) {
+         if (!configuration.ignoreModifications()) {
+            // An index saved by a previous run with the persistent index would miss the changes made without it
+            Files.deleteIfExists(indexFile.toPath());
+         }
+         return false;
+      }
+      List<FileEntry> freeEntries = index.open(indexFile, load ? channel.size() : -1);
+      if (freeEntries == null) {
+         return false;
+      }
+      freeList.addAll(freeEntries);
+      filePos = channel.size();
+      if (log.isTraceEnabled()) log.tracef("Loaded the index of %s, file size is %d", cacheName(), filePos);
+      return true;
+   }
+
+   /**
+    * Reads the serialized key of an entry for the persistent index.
+    */
+   private byte[] readKey(FileEntry fe) throws IOException {
+      FileChannel source = migrationChannel != null ? migrationChannel : channel;
+      ByteBuffer buf = ByteBuffer.allocate(fe.keyLen);
+      while (buf.hasRemaining()) {
+         if (source.read(buf, fe.offset + KEY_POS_LATEST + buf.position()) < 0) {
+            return null;
+         }
+      }
+      return buf.array();
+   }
+
    private boolean hasAnyComposedSegmentedFiles() {
       int numSegments = ctx.getCache().getCacheConfiguration().clustering().hash().numSegments();
       for (int segment = 0; segment < numSegments; segment++) {
@@ -278,6 +335,16 @@ private void migrateNonSegmented(byte[] magicHeader) throws Exception {
 
    private void copyEntriesFromOldFile(byte[] magicHeader, FileChannel destChannel, FileChannel sourceChannel,
                                        String sourcePath) throws Exception {
+      migrationChannel = destChannel;
+      try {
+         copyEntries(magicHeader, destChannel, sourceChannel, sourcePath);
+      } finally {
+         migrationChannel = null;
+      }
+   }
+
+   private void copyEntries(byte[] magicHeader, FileChannel destChannel, FileChannel sourceChannel,
+                            String sourcePath) throws Exception {
       if (magicHeader == null) {
          // The segment file has the 12.1 magic header
          copyEntriesFromV12_0(destChannel, sourceChannel, sourcePath);
@@ -326,6 +393,13 @@ private void blockingStop() {
       long stamp = resizeLock.writeLock();
       try {
          if (channel != null) {
+            if (index != null) {
+               List<FileEntry> freeEntries;
+               synchronized (freeList) {
+                  freeEntries = new ArrayList<>(freeList);
+               }
+               index.close(filePos, freeEntries);
+            }
             // reset state
             channel.close();
             channel = null;
@@ -801,8 +875,8 @@ private ByteBuffer allocate(ByteBuffer buf, int length) {
     */
    @Override
    public CompletionStage<Boolean> containsKey(int segment, Object key) {
-      // Avoid switching threads if there is nothing to load
-      long stamp = resizeLock.tryReadLock();
+      // Avoid switching threads if there is nothing to load, unless the index must be read from disk
+      long stamp = index == null ? resizeLock.tryReadLock() : 0;
       if (stamp != 0) {
          // Acquires the FileEntry lock and releases the read lock
          FileEntry fe = getFileEntryWithReadLock(segment, key, stamp, false);
@@ -901,7 +975,7 @@ private void addNewFreeEntry(FileEntry fe) throws IOException {
    private void free(FileEntry fe) throws IOException {
       if (fe != null) {
          // Wait for any reader to finish
-         fe.waitUnlocked();
+         waitUnlocked(fe);
 
          // Invalidate entry on disk (by setting keyLen field to 0)
          // No need to wait for readers to unlock here, the FileEntry instance is not modified,
@@ -914,6 +988,42 @@ private void free(FileEntry fe) throws IOException {
       }
    }
 
+   /**
+    * Locks the entry for reading, so its space is not freed until {@link #unlockEntry(FileEntry)}.
+    * <p>
+    * The persistent index creates new {@code FileEntry} instances when it reads its nodes again from disk, so the
+    * entries being read are registered by offset, and only the registered instance is locked.
+    *
+    * @return the locked instance, to pass to {@link #unlockEntry(FileEntry)}
+    */
+   private FileEntry lockEntry(FileEntry fe) {
+      if (lockedEntries == null) {
+         fe.lock();
+         return fe;
+      }
+      return lockedEntries.compute(fe.offset, (offset, locked) -> {
+         FileEntry entry = locked != null ? locked : fe;
+         entry.lock();
+         return entry;
+      });
+   }
+
+   private void unlockEntry(FileEntry fe) {
+      if (lockedEntries == null) {
+         fe.unlock();
+         return;
+      }
+      lockedEntries.computeIfPresent(fe.offset, (offset, locked) -> {
+         locked.unlock();
+         return locked.isLocked() ? locked : null;
+      });
+   }
+
+   private void waitUnlocked(FileEntry fe) {
+      FileEntry locked = lockedEntries != null ? lockedEntries.get(fe.offset) : null;
+      (locked != null ? locked : fe).waitUnlocked();
+   }
+
    @Override
    public CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extends V> marshalledEntry) {
       return blockingManager.runBlocking(() -> blockingWrite(segment, marshalledEntry), "sfs-write");
@@ -926,7 +1036,7 @@ private void blockingWrite(int segment, MarshallableEntry<? extends K, ? extends
    private void write(int segment, MarshallableEntry<? extends K, ? extends V> marshalledEntry, FileChannel channel) {
       // serialize cache value
       org.infinispan.commons.io.ByteBuffer key = marshalledEntry.getKeyBytes();
-      org.infinispan.commons.io.ByteBuffer data = marshalledEntry.getValueBytes();
+      org.infinispan.commons.io.ByteBuffer data = marshalledEntry.getStoredValueBytes();
       org.infinispan.commons.io.ByteBuffer metadata = marshalledEntry.getMetadataBytes();
       org.infinispan.commons.io.ByteBuffer internalMetadata = marshalledEntry.getInternalMetadataBytes();
 
@@ -934,6 +1044,10 @@ private void write(int segment, MarshallableEntry<? extends K, ? extends V> mars
       int metadataLength = metadata == null ? 0 : metadata.getLength() + TIMESTAMP_BYTES;
       int internalMetadataLength = internalMetadata == null ? 0 : internalMetadata.getLength();
       int len = KEY_POS_LATEST + key.getLength() + data.getLength() + metadataLength + internalMetadataLength;
+      if (index != null && key.getLength() > SingleFileStoreIndex.MAX_KEY_LENGTH) {
+         // Fail before allocating, a rebuild of the index would find the entry in the file otherwise
+         throw log.singleFileStoreKeyIsTooLong(marshalledEntry.getKey(), key.getLength(), SingleFileStoreIndex.MAX_KEY_LENGTH);
+      }
 
       long stamp = resizeLock.readLock();
       try {
@@ -988,15 +1102,23 @@ private void blockingClear() {
       try {
          // Wait until all readers are done reading all file entries
          // First, used entries
-         for (Map<K, FileEntry> segmentEntries : entries) {
-            if (segmentEntries == null)
-               continue;
+         if (index != null) {
+            // Only the entries being read are registered in memory
+            for (FileEntry fe : lockedEntries.values())
+               fe.waitUnlocked();
 
-            synchronized (segmentEntries) {
-               for (FileEntry fe : segmentEntries.values())
-                  fe.waitUnlocked();
+            index.clear();
+         } else {
+            for (Map<K, FileEntry> segmentEntries : entries) {
+               if (segmentEntries == null)
+                  continue;
 
-               segmentEntries.clear();
+               synchronized (segmentEntries) {
+                  for (FileEntry fe : segmentEntries.values())
+                     fe.waitUnlocked();
+
+                  segmentEntries.clear();
+               }
             }
          }
 
@@ -1023,7 +1145,7 @@ private void blockingClear() {
 
    @Override
    public CompletionStage<Boolean> delete(int segment, Object key) {
-      long stamp = resizeLock.tryReadLock();
+      long stamp = index == null ? resizeLock.tryReadLock() : 0;
       if (stamp != 0) {
          FileEntry fe = deleteWithReadLock(segment, key);
          if (fe == null) {
@@ -1069,8 +1191,8 @@ private FileEntry deleteWithReadLock(int segment, Object key) {
 
    @Override
    public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
-      // Avoid switching threads if there is nothing to load
-      long stamp = resizeLock.tryReadLock();
+      // Avoid switching threads if there is nothing to load, unless the index must be read from disk
+      long stamp = index == null ? resizeLock.tryReadLock() : 0;
       if (stamp != 0) {
          // Acquires the FileEntry lock and releases the read lock
          FileEntry fe = getFileEntryWithReadLock(segment, key, stamp, true);
@@ -1099,7 +1221,7 @@ private MarshallableEntry<K, V> blockingLoad(int segment, Object key, boolean lo
     * Get the file entry from the segment map and release the read lock
     */
    private FileEntry getFileEntryWithReadLock(int segment, Object key, long stamp, boolean lockFileEntry) {
-      final FileEntry fe;
+      FileEntry fe;
       try {
          Map<K, FileEntry> segmentEntries = getSegmentEntries(segment);
          if (segmentEntries == null)
@@ -1116,7 +1238,7 @@ private FileEntry getFileEntryWithReadLock(int segment, Object key, long stamp,
                return null;
             } else if (lockFileEntry) {
                // lock entry for reading before releasing entries monitor
-               fe.lock();
+               fe = lockEntry(fe);
             }
          }
       } finally {
@@ -1133,7 +1255,7 @@ private MarshallableEntry<K, V> readFromDisk(FileEntry fe, Object key, boolean l
          try {
             return entryFactory.create(key);
          } finally {
-            fe.unlock();
+            unlockEntry(fe);
          }
       }
 
@@ -1148,7 +1270,7 @@ private MarshallableEntry<K, V> readFromDisk(FileEntry fe, Object key, boolean l
       } finally {
          // No need to keep the lock for deserialization.
          // FileEntry is immutable, so its members can't be changed by another thread.
-         fe.unlock();
+         unlockEntry(fe);
       }
 
       if (log.isTraceEnabled()) log.tracef("Read entry %s at %d:%d", key, fe.offset, fe.actualSize());
@@ -1214,7 +1336,7 @@ public Publisher<K> publishKeys(IntSet segments, Predicate<? super K> filter) {
    }
 
    private Publisher<K> publishSegmentKeys(Predicate<? super K> filter, int segment) {
-      long stamp = resizeLock.tryReadLock();
+      long stamp = index == null ? resizeLock.tryReadLock() : 0;
       if (stamp != 0) {
          return publishSegmentKeysWithReadLock(filter, segment, stamp);
       } else {
@@ -1498,8 +1620,7 @@ private List<KeyValuePair<Object, FileEntry>> collectExpiredEntries(long now, Ma
                it.remove();
                // We don't have to worry about other operations freeing the entry while we are reading it,
                // but we have to lock because readFromDisk() unlocks
-               fe.lock();
-               entriesToPurge.add(new KeyValuePair<>(next.getKey(), fe));
+               entriesToPurge.add(new KeyValuePair<>(next.getKey(), lockEntry(fe)));
             }
          }
       }
@@ -1576,8 +1697,12 @@ private void blockingAddSegments(IntSet segments) {
          for (int segment : segments) {
             if (entries[segment] != null)
                continue;
-            Map<K, FileEntry> entryMap = new HashMap<>();
-            entries[segment] = Collections.synchronizedMap(entryMap);
+            if (index != null) {
+               entries[segment] = index.segment(segment);
+            } else {
+               Map<K, FileEntry> entryMap = new HashMap<>();
+               entries[segment] = Collections.synchronizedMap(entryMap);
+            }
          }
       } finally {
          resizeLock.unlockWrite(stamp);
@@ -1612,6 +1737,10 @@ private void blockingRemoveSegments(IntSet segments) {
             for (FileEntry fileEntry : removedSegment.values()) {
                free(fileEntry);
             }
+            if (index != null) {
+               // Unlike the in-memory maps, the persistent index would keep the entries of the removed segment
+               removedSegment.clear();
+            }
          }
       } catch (IOException e) {
          throw new PersistenceException(e);
@@ -1635,7 +1764,7 @@ private void blockingRemoveSegments(IntSet segments) {
     * <li>{@link #metadataLen} bytes: serialized key</li>
     * </ul>
     */
-   private static class FileEntry implements Comparable<FileEntry> {
+   static class FileEntry implements Comparable<FileEntry> {
       /**
        * File offset of this block.
        */
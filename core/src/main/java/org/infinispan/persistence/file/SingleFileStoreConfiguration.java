@@ -19,9 +19,10 @@
 public class SingleFileStoreConfiguration extends AbstractStoreConfiguration<SingleFileStoreConfiguration> {
    public static final AttributeDefinition<String> LOCATION = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.PATH, null, String.class).immutable().global(false).build();
    public static final AttributeDefinition<Float> FRAGMENTATION_FACTOR = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.FRAGMENTATION_FACTOR, 0.75f).immutable().build();
+   public static final AttributeDefinition<Boolean> PERSISTENT_INDEX = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.PERSISTENT_INDEX, false).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(SingleFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, FRAGMENTATION_FACTOR);
+      return new AttributeSet(SingleFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, FRAGMENTATION_FACTOR, PERSISTENT_INDEX);
    }
 
    public SingleFileStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async) {
@@ -35,4 +36,8 @@ public String location() {
    public float fragmentationFactor() {
       return attributes.attribute(FRAGMENTATION_FACTOR).get();
    }
+
+   public boolean persistentIndex() {
+      return attributes.attribute(PERSISTENT_INDEX).get();
+   }
 }
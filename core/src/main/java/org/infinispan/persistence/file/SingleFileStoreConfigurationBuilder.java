@@ -2,6 +2,7 @@
 
 import static org.infinispan.persistence.file.SingleFileStoreConfiguration.FRAGMENTATION_FACTOR;
 import static org.infinispan.persistence.file.SingleFileStoreConfiguration.LOCATION;
+import static org.infinispan.persistence.file.SingleFileStoreConfiguration.PERSISTENT_INDEX;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.Combine;
@@ -55,6 +56,17 @@ public SingleFileStoreConfigurationBuilder fragmentationFactor(float fragmentati
       return this;
    }
 
+   /**
+    * Keeps the index of the keys and their file positions in a file next to the data file instead of in memory. Only
+    * the recently used parts of the index are cached in memory, so the memory used by the store no longer grows with
+    * the number of entries. When the store was stopped gracefully, it also starts without reading the whole data file.
+    * Defaults to {@code false}.
+    */
+   public SingleFileStoreConfigurationBuilder persistentIndex(boolean persistentIndex) {
+      attributes.attribute(PERSISTENT_INDEX).set(persistentIndex);
+      return this;
+   }
+
    @Override
    public void validate(GlobalConfiguration globalConfig) {
       PersistenceUtil.validateGlobalStateStoreLocation(globalConfig, SingleFileStore.class.getSimpleName(), attributes.attribute(LOCATION));
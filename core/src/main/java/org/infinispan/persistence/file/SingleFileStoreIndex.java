@@ -0,0 +1,571 @@
+package org.infinispan.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.persistence.file.SingleFileStore.FileEntry;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.util.BPlusTree;
+import org.infinispan.util.SoftBPlusTree;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
+/**
+ * The index of the entries of a {@link SingleFileStore}, kept in a {@code <cache name>.idx} file next to the data
+ * file instead of in memory.
+ * <p>
+ * The index is a {@link SoftBPlusTree} ordered by segment and then by serialized key, so the entries of a segment are
+ * contiguous in the tree. Only the nodes of the tree that were used recently are cached, with soft references, and
+ * the others are read again from the index file. Like in the soft index file store, the keys are not written in the
+ * index file, they are read from the data file at the position of their entry.
+ * <p>
+ * When the store stops, the index writes the root of the tree together with the number of entries of each segment and
+ * the free entries of the data file, and only then marks the index file as closed gracefully. A store starting with a
+ * gracefully closed index does not need to read the data file; otherwise the index is rebuilt from the data file.
+ * <p>
+ * The tree supports concurrent readers but a single writer, so the index guards it with a read/write lock. The store
+ * accesses the entries of each segment through the {@link Map} returned by {@link #segment(int)}, whose iterators
+ * read the tree one page of entries at a time.
+ *
+ * @since 16.3
+ */
+final class SingleFileStoreIndex<K> {
+   private static final Log log = LogFactory.getLog(SingleFileStoreIndex.class);
+
+   private static final int GRACEFULLY = 0x512ACEF5;
+   private static final int DIRTY = 0xD112770D;
+   /*
+    * 4 bytes - GRACEFULLY or DIRTY
+    * 4 bytes - number of segments
+    * 8 bytes - size of the data file
+    * 8 bytes - offset of the root node, 0 if the tree is empty
+    * 2 bytes - space occupied by the root node
+    * 8 bytes - offset of the free blocks of the index file, followed by the size of each segment and the free
+    *           entries of the data file
+    */
+   private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 2 + 8;
+   private static final short BLOCK_ALIGNMENT = 64;
+   private static final int MIN_NODE_SIZE = 0;
+   private static final int MAX_NODE_SIZE = 4096;
+   private static final int SEGMENT_PREFIX_LENGTH = 4;
+   // The number of entries an iterator reads from the tree at a time
+   private static final int PAGE_SIZE = 128;
+   static final int MAX_KEY_LENGTH = MAX_NODE_SIZE - BPlusTree.RESERVED_SPACE - SEGMENT_PREFIX_LENGTH;
+
+   /*
+    * 4 bytes - segment
+    * 8 bytes - offset
+    * 4 bytes - size
+    * 4 bytes - key length
+    * 4 bytes - value length
+    * 4 bytes - metadata length
+    * 4 bytes - internal metadata length
+    * 8 bytes - expiration time
+    */
+   private static final int INDEXED_ENTRY_SIZE = 4 + 8 + 4 + 4 + 4 + 4 + 4 + 8;
+   private static final SoftBPlusTree.ValueSerializer<IndexedEntry> SERIALIZER = new SoftBPlusTree.ValueSerializer<>() {
+      @Override
+      public void write(IndexedEntry value, ByteBuffer buffer) {
+         FileEntry fe = value.entry;
+         buffer.putInt(value.segment);
+         buffer.putLong(fe.offset);
+         buffer.putInt(fe.size);
+         buffer.putInt(fe.keyLen);
+         buffer.putInt(fe.dataLen);
+         buffer.putInt(fe.metadataLen);
+         buffer.putInt(fe.internalMetadataLen);
+         buffer.putLong(fe.expiryTime);
+      }
+
+      @Override
+      public IndexedEntry read(ByteBuffer buffer) {
+         int segment = buffer.getInt();
+         FileEntry fe = new FileEntry(buffer.getLong(), buffer.getInt(), buffer.getInt(), buffer.getInt(),
+               buffer.getInt(), buffer.getInt(), buffer.getLong());
+         return new IndexedEntry(segment, fe);
+      }
+
+      @Override
+      public int serializedSize(IndexedEntry value) {
+         return INDEXED_ENTRY_SIZE;
+      }
+   };
+
+   private final int numSegments;
+   private final Marshaller marshaller;
+   private final SoftBPlusTree.KeyLoader<IndexedEntry> keyLoader;
+   private final ReadWriteLock lock = new ReentrantReadWriteLock();
+   @GuardedBy("lock")
+   private final int[] sizes;
+   @GuardedBy("lock")
+   private File file;
+   @GuardedBy("lock")
+   private FileChannel channel;
+   @GuardedBy("lock")
+   private SoftBPlusTree<IndexedEntry> tree;
+
+   /**
+    * @param keyReader reads the serialized key of an entry from the data file
+    */
+   SingleFileStoreIndex(int numSegments, Marshaller marshaller, SoftBPlusTree.KeyLoader<FileEntry> keyReader) {
+      this.numSegments = numSegments;
+      this.marshaller = marshaller;
+      this.sizes = new int[numSegments];
+      this.keyLoader = value -> {
+         byte[] key = keyReader.loadKey(value.entry);
+         return key != null ? indexKey(value.segment, key, 0, key.length) : null;
+      };
+   }
+
+   static File getIndexFile(File dataFile) {
+      String name = dataFile.getName();
+      return new File(dataFile.getParentFile(), name.substring(0, name.length() - ".dat".length()) + ".idx");
+   }
+
+   /**
+    * Opens the index file and loads the index, if it was closed gracefully with a data file of the given size.
+    *
+    * @return the free entries of the data file, or {@code null} if the index is empty and must be rebuilt
+    */
+   List<FileEntry> open(File file, long dataFileSize) throws IOException {
+      Lock writeLock = lock.writeLock();
+      writeLock.lock();
+      try {
+         return doOpen(file, dataFileSize);
+      } finally {
+         writeLock.unlock();
+      }
+   }
+
+   @GuardedBy("lock")
+   private List<FileEntry> doOpen(File file, long dataFileSize) throws IOException {
+      this.file = file;
+      channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      tree = newTree();
+      Arrays.fill(sizes, 0);
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      if (!read(header, 0) || header.getInt(0) != GRACEFULLY || header.getInt(4) != numSegments ||
+            header.getLong(8) != dataFileSize) {
+         if (log.isTraceEnabled()) log.tracef("Index file %s was not closed gracefully, rebuilding it", file);
+         doClear();
+         return null;
+      }
+      long rootOffset = header.getLong(16);
+      short rootOccupiedSpace = header.getShort(24);
+      long stateOffset = header.getLong(26);
+
+      ByteBuffer state = ByteBuffer.allocate((int) (channel.size() - stateOffset));
+      read(state, stateOffset);
+      state.flip();
+      tree.setStoreSize(stateOffset);
+      tree.deserializeFreeBlocks(state);
+      for (int i = 0; i < numSegments; i++) {
+         sizes[i] = state.getInt();
+      }
+      int freeEntriesCount = state.getInt();
+      List<FileEntry> freeEntries = new ArrayList<>(freeEntriesCount);
+      for (int i = 0; i < freeEntriesCount; i++) {
+         freeEntries.add(new FileEntry(state.getLong(), state.getInt()));
+      }
+      if (rootOffset != 0) {
+         tree.loadTree(new SoftBPlusTree.NodeSpace(rootOffset, rootOccupiedSpace));
+      }
+
+      // The index file does not match the data file anymore after the first modification
+      writeMagic(DIRTY);
+      if (log.isTraceEnabled()) log.tracef("Loaded index file %s with %d free entries", file, freeEntriesCount);
+      return freeEntries;
+   }
+
+   /**
+    * Writes the tree and the state of the data file, then marks the index file as closed gracefully and closes it.
+    */
+   void close(long dataFileSize, Collection<FileEntry> freeEntries) throws IOException {
+      Lock writeLock = lock.writeLock();
+      writeLock.lock();
+      try {
+         SoftBPlusTree.NodeSpace rootSpace = tree.saveTree();
+         ByteBuffer freeBlocks = tree.serializeFreeBlocks();
+         long stateOffset = tree.getStoreSize();
+         ByteBuffer state = ByteBuffer.allocate(freeBlocks.remaining() + 4 * numSegments + 4 + 12 * freeEntries.size());
+         state.put(freeBlocks);
+         for (int size : sizes) {
+            state.putInt(size);
+         }
+         state.putInt(freeEntries.size());
+         for (FileEntry fe : freeEntries) {
+            state.putLong(fe.offset);
+            state.putInt(fe.size);
+         }
+         state.flip();
+         write(state, stateOffset);
+         channel.truncate(stateOffset + state.limit());
+
+         ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE - 4);
+         header.putInt(numSegments);
+         header.putLong(dataFileSize);
+         header.putLong(rootSpace != null ? rootSpace.offset() : 0);
+         header.putShort(rootSpace != null ? rootSpace.occupiedSpace() : 0);
+         header.putLong(stateOffset);
+         header.flip();
+         write(header, 4);
+         // Everything else must be on disk before the index is marked as closed gracefully
+         channel.force(false);
+         writeMagic(GRACEFULLY);
+         channel.force(false);
+      } finally {
+         try {
+            channel.close();
+         } finally {
+            channel = null;
+            tree = null;
+            writeLock.unlock();
+         }
+      }
+   }
+
+   void clear() throws IOException {
+      Lock writeLock = lock.writeLock();
+      writeLock.lock();
+      try {
+         doClear();
+      } finally {
+         writeLock.unlock();
+      }
+   }
+
+   @GuardedBy("lock")
+   private void doClear() throws IOException {
+      try {
+         tree.clear();
+      } catch (UncheckedIOException e) {
+         throw e.getCause();
+      }
+      Arrays.fill(sizes, 0);
+      writeMagic(DIRTY);
+   }
+
+   /**
+    * @return a view of the entries of a segment, which behaves like a concurrent map with weakly consistent iterators
+    */
+   Map<K, FileEntry> segment(int segment) {
+      return new SegmentEntries(segment);
+   }
+
+   private SoftBPlusTree<IndexedEntry> newTree() {
+      return new SoftBPlusTree<>(MIN_NODE_SIZE, MAX_NODE_SIZE, new IndexFileNodeStore(), SERIALIZER, keyLoader,
+            BLOCK_ALIGNMENT, HEADER_SIZE);
+   }
+
+   @GuardedBy("lock")
+   private void writeMagic(int magic) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate(4);
+      buffer.putInt(0, magic);
+      write(buffer, 0);
+   }
+
+   @GuardedBy("lock")
+   private void write(ByteBuffer buffer, long offset) throws IOException {
+      while (buffer.hasRemaining()) {
+         offset += channel.write(buffer, offset);
+      }
+   }
+
+   /**
+    * @return {@code false} if the end of the file was reached before filling the buffer
+    */
+   @GuardedBy("lock")
+   private boolean read(ByteBuffer buffer, long offset) throws IOException {
+      while (buffer.hasRemaining()) {
+         int read = channel.read(buffer, offset);
+         if (read < 0) {
+            return false;
+         }
+         offset += read;
+      }
+      return true;
+   }
+
+   private static byte[] indexKey(int segment, byte[] key, int offset, int length) {
+      byte[] indexKey = new byte[SEGMENT_PREFIX_LENGTH + length];
+      ByteBuffer.wrap(indexKey).putInt(segment).put(key, offset, length);
+      return indexKey;
+   }
+
+   private byte[] indexKey(int segment, Object key) {
+      try {
+         org.infinispan.commons.io.ByteBuffer keyBytes = marshaller.objectToBuffer(key);
+         return indexKey(segment, keyBytes.getBuf(), keyBytes.getOffset(), keyBytes.getLength());
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new PersistenceException(e);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private K unmarshallKey(byte[] indexKey) {
+      try {
+         return (K) marshaller.objectFromByteBuffer(indexKey, SEGMENT_PREFIX_LENGTH, indexKey.length - SEGMENT_PREFIX_LENGTH);
+      } catch (IOException | ClassNotFoundException e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   private static PersistenceException unwrap(UncheckedIOException e) {
+      return new PersistenceException(e.getCause());
+   }
+
+   private record IndexedEntry(int segment, FileEntry entry) {
+   }
+
+   private class IndexFileNodeStore implements SoftBPlusTree.NodeStore {
+      @Override
+      public void write(ByteBuffer data, long offset) throws IOException {
+         SingleFileStoreIndex.this.write(data, offset);
+      }
+
+      @Override
+      public ByteBuffer read(long offset, int length) throws IOException {
+         ByteBuffer buffer = ByteBuffer.allocate(length);
+         if (!SingleFileStoreIndex.this.read(buffer, offset)) {
+            throw new IOException("Truncated index file " + file + " at offset " + offset);
+         }
+         buffer.flip();
+         return buffer;
+      }
+
+      @Override
+      public void truncate(long size) throws IOException {
+         channel.truncate(size);
+      }
+   }
+
+   private class SegmentEntries extends AbstractMap<K, FileEntry> {
+      private final int segment;
+
+      SegmentEntries(int segment) {
+         this.segment = segment;
+      }
+
+      @Override
+      public FileEntry get(Object key) {
+         byte[] indexKey = indexKey(segment, key);
+         Lock readLock = lock.readLock();
+         readLock.lock();
+         try {
+            IndexedEntry indexed = tree.get(indexKey);
+            return indexed != null ? indexed.entry : null;
+         } catch (UncheckedIOException e) {
+            throw unwrap(e);
+         } finally {
+            readLock.unlock();
+         }
+      }
+
+      @Override
+      public boolean containsKey(Object key) {
+         return get(key) != null;
+      }
+
+      @Override
+      public FileEntry put(K key, FileEntry fe) {
+         byte[] indexKey = indexKey(segment, key);
+         if (indexKey.length - SEGMENT_PREFIX_LENGTH > MAX_KEY_LENGTH) {
+            throw log.singleFileStoreKeyIsTooLong(key, indexKey.length - SEGMENT_PREFIX_LENGTH, MAX_KEY_LENGTH);
+         }
+         Lock writeLock = lock.writeLock();
+         writeLock.lock();
+         try {
+            IndexedEntry old = tree.put(indexKey, new IndexedEntry(segment, fe));
+            if (old == null) {
+               sizes[segment]++;
+               return null;
+            }
+            return old.entry;
+         } catch (UncheckedIOException e) {
+            throw unwrap(e);
+         } finally {
+            writeLock.unlock();
+         }
+      }
+
+      @Override
+      public FileEntry remove(Object key) {
+         return remove(indexKey(segment, key));
+      }
+
+      private FileEntry remove(byte[] indexKey) {
+         Lock writeLock = lock.writeLock();
+         writeLock.lock();
+         try {
+            return doRemove(indexKey);
+         } finally {
+            writeLock.unlock();
+         }
+      }
+
+      @GuardedBy("lock")
+      private FileEntry doRemove(byte[] indexKey) {
+         try {
+            IndexedEntry old = tree.remove(indexKey);
+            if (old == null) {
+               return null;
+            }
+            sizes[segment]--;
+            return old.entry;
+         } catch (UncheckedIOException e) {
+            throw unwrap(e);
+         }
+      }
+
+      @Override
+      public int size() {
+         Lock readLock = lock.readLock();
+         readLock.lock();
+         try {
+            return sizes[segment];
+         } finally {
+            readLock.unlock();
+         }
+      }
+
+      @Override
+      public void clear() {
+         Lock writeLock = lock.writeLock();
+         writeLock.lock();
+         try {
+            List<SegmentEntry> page;
+            do {
+               // The removed entries leave the tree, so every page starts at the beginning of the segment
+               page = nextPage(null);
+               for (SegmentEntry entry : page) {
+                  doRemove(entry.indexKey);
+               }
+            } while (page.size() == PAGE_SIZE);
+         } finally {
+            writeLock.unlock();
+         }
+      }
+
+      @Override
+      public Set<Entry<K, FileEntry>> entrySet() {
+         return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, FileEntry>> iterator() {
+               return new SegmentIterator();
+            }
+
+            @Override
+            public int size() {
+               return SegmentEntries.this.size();
+            }
+         };
+      }
+
+      /**
+       * Reads the next entries of the segment from the tree, iterating only the part of the tree with the segment.
+       *
+       * @param afterKey the index key of the last entry of the previous page, or {@code null} for the first page
+       * @return at most {@link #PAGE_SIZE} entries following {@code afterKey}
+       */
+      private List<SegmentEntry> nextPage(byte[] afterKey) {
+         byte[] startKey = afterKey != null ? afterKey :
+               ByteBuffer.allocate(SEGMENT_PREFIX_LENGTH).putInt(segment).array();
+         Lock readLock = lock.readLock();
+         readLock.lock();
+         try {
+            if (sizes[segment] == 0) {
+               return List.of();
+            }
+            return tree.publish(startKey, (indexKey, indexed) -> new SegmentEntry(indexKey, indexed))
+                  .takeWhile(entry -> entry.segment == segment)
+                  .take(PAGE_SIZE)
+                  .toList()
+                  .blockingGet();
+         } catch (UncheckedIOException e) {
+            throw unwrap(e);
+         } finally {
+            readLock.unlock();
+         }
+      }
+
+      /**
+       * Iterates the entries of the segment one page at a time. Like the iterators of the concurrent maps, it reflects
+       * some of the updates made after it was created, and it never throws {@link java.util.ConcurrentModificationException}.
+       */
+      private final class SegmentIterator implements Iterator<Entry<K, FileEntry>> {
+         private Iterator<SegmentEntry> page = Collections.emptyIterator();
+         private byte[] lastKey;
+         private boolean lastPage;
+         private SegmentEntry current;
+
+         @Override
+         public boolean hasNext() {
+            while (!page.hasNext()) {
+               if (lastPage) {
+                  return false;
+               }
+               List<SegmentEntry> entries = nextPage(lastKey);
+               lastPage = entries.size() < PAGE_SIZE;
+               if (!entries.isEmpty()) {
+                  lastKey = entries.get(entries.size() - 1).indexKey;
+               }
+               page = entries.iterator();
+            }
+            return true;
+         }
+
+         @Override
+         public Entry<K, FileEntry> next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            return current = page.next();
+         }
+
+         @Override
+         public void remove() {
+            if (current == null) {
+               throw new IllegalStateException();
+            }
+            SegmentEntries.this.remove(current.indexKey);
+            current = null;
+         }
+      }
+
+      private final class SegmentEntry extends AbstractMap.SimpleImmutableEntry<K, FileEntry> {
+         final byte[] indexKey;
+         final int segment;
+
+         SegmentEntry(byte[] indexKey, IndexedEntry indexed) {
+            super(indexed.segment == SegmentEntries.this.segment ? unmarshallKey(indexKey) : null, indexed.entry);
+            this.indexKey = indexKey;
+            this.segment = indexed.segment;
+         }
+      }
+   }
+}
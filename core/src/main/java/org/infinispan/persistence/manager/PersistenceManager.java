@@ -1,8 +1,10 @@
 package org.infinispan.persistence.manager;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
@@ -10,13 +12,16 @@
 import org.infinispan.commands.write.WriteCommand;
 import org.infinispan.commons.api.Lifecycle;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.concurrent.AggregateCompletionStage;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
+import org.infinispan.commons.util.concurrent.CompletionStages;
 import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.container.entries.MVCCEntry;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.TxInvocationContext;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.NonBlockingStore;
+import org.infinispan.persistence.spi.NonBlockingStore.Characteristic;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.transaction.impl.AbstractCacheTransaction;
 import org.infinispan.util.function.TriPredicate;
@@ -42,6 +47,14 @@ public interface PersistenceManager extends Lifecycle {
 
    boolean hasStore(Predicate<StoreConfiguration> test);
 
+   /**
+    * Returns whether the manager has at least one writable store that passes the given predicate, and all of them have
+    * the given characteristic.
+    */
+   default boolean writersHaveCharacteristic(Characteristic characteristic, Predicate<? super StoreConfiguration> predicate) {
+      return false;
+   }
+
    /**
     * Loads the data from the external store into memory during cache startup.
     */
@@ -195,6 +208,30 @@ default <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object
       return loadFromAllStores(key, localInvocation, includeStores);
    }
 
+   /**
+    * Loads the entries for the given keys from the persistence stores, requesting all the keys at once from each store
+    * instead of one key after another. Keys that are not found in a store are looked up in the following stores. The
+    * returned entries are guaranteed to not be expired when they were returned.
+    * @param keys keys to read the entries from
+    * @param localInvocation whether this invocation is a local invocation. Some loaders may be ignored if it is not local
+    * @param includeStores if a loader that is also a store can be loaded from
+    * @return the entries found mapped by their key, keys without an entry are not present
+    * default implementation invokes {@link #loadFromAllStores(Object, boolean, boolean)} for each of the keys
+    */
+   default <K, V> CompletionStage<Map<Object, MarshallableEntry<K, V>>> loadAllFromAllStores(Collection<?> keys,
+         boolean localInvocation, boolean includeStores) {
+      Map<Object, MarshallableEntry<K, V>> entries = new ConcurrentHashMap<>();
+      AggregateCompletionStage<Map<Object, MarshallableEntry<K, V>>> stage = CompletionStages.aggregateCompletionStage(entries);
+      for (Object key : keys) {
+         stage.dependsOn(this.<K, V>loadFromAllStores(key, localInvocation, includeStores).thenAccept(me -> {
+            if (me != null) {
+               entries.put(key, me);
+            }
+         }));
+      }
+      return stage.freeze();
+   }
+
    /**
     * Returns an approximate count of how many entries are persisted in the given segments.
     * If no store can handle the request for the given mode, a value of <b>-1</b> is returned instead.
@@ -9,9 +9,11 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -42,6 +44,7 @@
 import org.infinispan.commons.util.ByRef;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.concurrent.AggregateCompletionStage;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.commons.util.concurrent.CompletionStages;
@@ -109,6 +112,8 @@
 @Scope(Scopes.NAMED_CACHE)
 public class PersistenceManagerImpl implements PersistenceManager {
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+   // Segment groups read by every preload thread, so that a group with more entries does not delay the preload
+   private static final int PRELOAD_GROUPS_PER_THREAD = 4;
 
    @Inject Configuration configuration;
    @Inject GlobalConfiguration globalConfiguration;
@@ -531,19 +536,44 @@ public boolean hasStore(Predicate<StoreConfiguration> test) {
       return getStore(storeStatus -> test.test(storeStatus.config)) != null;
    }
 
+   @Override
+   public boolean writersHaveCharacteristic(Characteristic characteristic, Predicate<? super StoreConfiguration> predicate) {
+      Predicate<StoreStatus> writer = storeStatus -> !storeStatus.hasCharacteristic(Characteristic.READ_ONLY) &&
+            predicate.test(storeStatus.config);
+      return getStore(writer) != null &&
+            getStore(writer.and(storeStatus -> !storeStatus.hasCharacteristic(characteristic))) == null;
+   }
+
    @Override
    public Flowable<MarshallableEntry<Object, Object>> preloadPublisher() {
       long stamp = acquireReadLock();
-      NonBlockingStore<Object, Object> nonBlockingStore = getStoreLocked(status -> status.config.preload());
-      if (nonBlockingStore == null) {
+      StoreStatus storeStatus = stores == null ? null : getStoreStatusLocked(status -> status.config.preload());
+      if (storeStatus == null) {
          releaseReadLock(stamp);
          return Flowable.empty();
       }
-      Publisher<MarshallableEntry<Object, Object>> publisher = nonBlockingStore.publishEntries(
-            IntSets.immutableRangeSet(segmentCount), null, true);
+      NonBlockingStore<Object, Object> nonBlockingStore = storeStatus.store();
+      Flowable<MarshallableEntry<Object, Object>> flowable;
+      int parallelism = Math.min(ProcessorInfo.availableProcessors(), segmentCount);
+      if (parallelism > 1 && storeStatus.hasCharacteristic(Characteristic.SEGMENTABLE)) {
+         // Read the segments in groups so that the store can read more than one file or range at a time
+         int groups = Math.min(parallelism * PRELOAD_GROUPS_PER_THREAD, segmentCount);
+         flowable = Flowable.range(0, groups)
+               .flatMap(group -> nonBlockingStore.publishEntries(preloadSegmentGroup(group, groups), null, true),
+                     parallelism);
+      } else {
+         flowable = Flowable.fromPublisher(nonBlockingStore.publishEntries(
+               IntSets.immutableRangeSet(segmentCount), null, true));
+      }
+      return flowable.doFinally(() -> releaseReadLock(stamp));
+   }
 
-      return Flowable.fromPublisher(publisher)
-                     .doFinally(() -> releaseReadLock(stamp));
+   private IntSet preloadSegmentGroup(int group, int groups) {
+      IntSet segments = IntSets.mutableEmptySet(segmentCount);
+      for (int segment = group; segment < segmentCount; segment += groups) {
+         segments.set(segment);
+      }
+      return segments;
    }
 
    @Override
@@ -969,13 +999,7 @@ private <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromStoresIterator(O
          CompletionStage<MarshallableEntry<K, V>> loadStage = store.load(segmentOrZero(storeStatus, segment), key);
          return loadStage.thenCompose(e -> {
             if (e != null) {
-               // Read-only we apply lifespan expiration to the entry, so it can be reread later
-               // Max Idle is only allowed when the store has passivation, so it can't be read-only
-               if (storeStatus.hasCharacteristic(Characteristic.READ_ONLY) && configuration.expiration().lifespan() > 0) {
-                  e = marshallableEntryFactory.cloneWithExpiration((MarshallableEntry) e, timeService.wallClockTime(),
-                        configuration.expiration().lifespan());
-               }
-               return CompletableFuture.completedFuture(e);
+               return CompletableFuture.completedFuture(applyReadOnlyExpiration(storeStatus, e));
             } else {
                return loadFromStoresIterator(key, segment, iterator, includeStores);
             }
@@ -984,6 +1008,78 @@ private <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromStoresIterator(O
       return CompletableFutures.completedNull();
    }
 
+   private <K, V> MarshallableEntry<K, V> applyReadOnlyExpiration(StoreStatus storeStatus, MarshallableEntry<K, V> e) {
+      // Read-only we apply lifespan expiration to the entry, so it can be reread later
+      // Max Idle is only allowed when the store has passivation, so it can't be read-only
+      if (storeStatus.hasCharacteristic(Characteristic.READ_ONLY) && configuration.expiration().lifespan() > 0) {
+         return marshallableEntryFactory.cloneWithExpiration((MarshallableEntry) e, timeService.wallClockTime(),
+               configuration.expiration().lifespan());
+      }
+      return e;
+   }
+
+   @Override
+   public <K, V> CompletionStage<Map<Object, MarshallableEntry<K, V>>> loadAllFromAllStores(Collection<?> keys,
+         boolean localInvocation, boolean includeStores) {
+      long stamp = acquireReadLock();
+      boolean release = true;
+      try {
+         if (!checkStoreAvailability()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Loading entries for %d keys", keys.size());
+         }
+         Iterator<StoreStatus> iterator = stores.iterator();
+         CompletionStage<Map<Object, MarshallableEntry<K, V>>> stage =
+               loadAllFromStoresIterator(keys, new HashMap<>(), iterator, includeStores);
+         if (CompletionStages.isCompletedSuccessfully(stage)) {
+            return stage;
+         }
+         release = false;
+         return deferReadLockRelease(stage, stamp);
+      } finally {
+         if (release) {
+            releaseReadLock(stamp);
+         }
+      }
+   }
+
+   private <K, V> CompletionStage<Map<Object, MarshallableEntry<K, V>>> loadAllFromStoresIterator(Collection<?> keys,
+         Map<Object, MarshallableEntry<K, V>> entries, Iterator<StoreStatus> iterator, boolean includeStores) {
+      while (iterator.hasNext()) {
+         StoreStatus storeStatus = iterator.next();
+         NonBlockingStore<K, V> store = storeStatus.store();
+         if (!allowLoad(storeStatus, includeStores)) {
+            continue;
+         }
+         Map<Integer, List<Object>> keysBySegment = new HashMap<>();
+         for (Object key : keys) {
+            int segment = segmentOrZero(storeStatus, keyPartitioner.getSegment(key));
+            keysBySegment.computeIfAbsent(segment, ignore -> new ArrayList<>()).add(key);
+         }
+         Flowable<NonBlockingStore.SegmentedPublisher<Object>> keyPublisher = Flowable.fromIterable(keysBySegment.entrySet())
+               .map(e -> SingleSegmentPublisher.singleSegment(e.getKey(), Flowable.fromIterable(e.getValue())));
+         return Flowable.fromPublisher(store.loadAll(keysBySegment.size(), keyPublisher))
+               .doOnNext(e -> entries.put(e.getKey(), applyReadOnlyExpiration(storeStatus, e)))
+               .ignoreElements()
+               .toCompletionStage(null)
+               .thenCompose(ignore -> {
+                  List<Object> missingKeys = new ArrayList<>(keys.size());
+                  for (Object key : keys) {
+                     if (!entries.containsKey(key)) {
+                        missingKeys.add(key);
+                     }
+                  }
+                  if (missingKeys.isEmpty()) {
+                     return CompletableFuture.completedFuture(entries);
+                  }
+                  return loadAllFromStoresIterator(missingKeys, entries, iterator, includeStores);
+               });
+      }
+      return CompletableFuture.completedFuture(entries);
+   }
+
    private boolean allowLoad(StoreStatus storeStatus, boolean includeStores) {
       return !storeStatus.hasCharacteristic(Characteristic.WRITE_ONLY) &&
             (includeStores || storeStatus.hasCharacteristic(Characteristic.READ_ONLY) ||
@@ -4,6 +4,7 @@
 
 import java.lang.invoke.MethodHandles;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.cache.impl.InvocationHelper;
@@ -11,6 +12,7 @@
 import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.EnumUtil;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
 import org.infinispan.commons.util.concurrent.CompletionStages;
 import org.infinispan.configuration.cache.Configuration;
@@ -26,6 +28,9 @@
 import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.metadata.impl.InternalMetadataImpl;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.PersistenceException;
@@ -47,6 +52,7 @@
  * Separate the preload into its own component
  */
 @Scope(Scopes.NAMED_CACHE)
+@MBean(objectName = "Preload", description = "Component that loads the entries of the store into memory on startup")
 public class PreloadManager {
    public static final long PRELOAD_FLAGS = FlagBitSets.CACHE_MODE_LOCAL |
                                             FlagBitSets.SKIP_OWNERSHIP_CHECK |
@@ -72,18 +78,32 @@ public class PreloadManager {
    @Inject TransactionManager transactionManager;
    @Inject TransactionTable transactionTable;
 
+   // Entries inserted concurrently, enough to keep the store publishing while the previous ones are written
+   private static final int PRELOAD_CONCURRENCY = ProcessorInfo.availableProcessors() * 4;
+
    private volatile boolean fullyPreloaded;
+   private volatile boolean preloading;
+   private volatile long preloadStart;
+   private volatile long preloadDuration;
+   private final AtomicLong preloadedEntries = new AtomicLong();
 
    @Start
    public void start() {
       fullyPreloaded = false;
-      CompletionStages.join(doPreload());
+      preloadedEntries.set(0);
+      preloading = true;
+      try {
+         CompletionStages.join(doPreload());
+      } finally {
+         preloading = false;
+      }
    }
 
    private CompletionStage<Void> doPreload() {
       Publisher<MarshallableEntry<Object, Object>> publisher = persistenceManager.preloadPublisher();
 
       long start = timeService.time();
+      preloadStart = start;
 
       final long maxEntries = getMaxEntries();
       final long flags = getFlagsForStateInsertion();
@@ -95,13 +115,15 @@ private CompletionStage<Void> doPreload() {
       try {
          return Flowable.fromPublisher(publisher)
                         .take(maxEntries)
-                        .concatMapSingle(me -> preloadEntry(flags, me, keyDataConversion, valueDataConversion))
+                        .flatMapSingle(me -> preloadEntry(flags, me, keyDataConversion, valueDataConversion), false,
+                                       PRELOAD_CONCURRENCY)
+                        .doOnNext(ignore -> preloadedEntries.incrementAndGet())
                         .count()
                         .toCompletionStage()
                         .thenAccept(insertAmount -> {
                            this.fullyPreloaded = insertAmount < maxEntries;
-                           log.debugf("Preloaded %d keys in %s", insertAmount,
-                                      Util.prettyPrintTime(timeService.timeDuration(start, MILLISECONDS)));
+                           preloadDuration = timeService.timeDuration(start, MILLISECONDS);
+                           log.debugf("Preloaded %d keys in %s", insertAmount, Util.prettyPrintTime(preloadDuration));
                         });
       } finally {
          resumeIfNeeded(outerTransaction);
@@ -194,4 +216,22 @@ private long getFlagsForStateInsertion() {
    public boolean isFullyPreloaded() {
       return fullyPreloaded;
    }
+
+   @ManagedAttribute(description = "Whether the entries of the store are being loaded into memory",
+         displayName = "Preloading")
+   public boolean isPreloading() {
+      return preloading;
+   }
+
+   @ManagedAttribute(description = "Number of entries loaded into memory by the current or the last preload",
+         displayName = "Preloaded entries")
+   public long getPreloadedEntries() {
+      return preloadedEntries.get();
+   }
+
+   @ManagedAttribute(description = "Time spent by the current or the last preload", displayName = "Preload time",
+         units = Units.MILLISECONDS)
+   public long getPreloadTime() {
+      return preloading ? timeService.timeDuration(preloadStart, MILLISECONDS) : preloadDuration;
+   }
 }
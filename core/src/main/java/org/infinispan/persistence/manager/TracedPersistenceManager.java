@@ -1,5 +1,7 @@
 package org.infinispan.persistence.manager;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -69,6 +71,11 @@ public <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object
       return decorateCommand("loadFromAllStores", () -> super.loadFromAllStores(key, segment, localInvocation, includeStores));
    }
 
+   @Override
+   public <K, V> CompletionStage<Map<Object, MarshallableEntry<K, V>>> loadAllFromAllStores(Collection<?> keys, boolean localInvocation, boolean includeStores) {
+      return decorateCommand("loadAllFromAllStores", () -> super.<K, V>loadAllFromAllStores(keys, localInvocation, includeStores));
+   }
+
    @Override
    public CompletionStage<Long> approximateSize(Predicate<? super StoreConfiguration> predicate, IntSet segments) {
       return decorateCommand("approximateSize", () -> super.approximateSize(predicate, segments));
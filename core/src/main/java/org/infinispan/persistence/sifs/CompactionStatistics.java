@@ -0,0 +1,64 @@
+package org.infinispan.persistence.sifs;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.Units;
+
+/**
+ * Exposes the progress of the compactions of a {@link NonBlockingSoftIndexFileStore} as metrics of its cache.
+ *
+ * @since 16.3
+ */
+@MBean(objectName = "Compaction", description = "Compaction of the data files of the soft index file store")
+public class CompactionStatistics {
+   private final Compactor compactor;
+   private final LogAppender logAppender;
+
+   CompactionStatistics(Compactor compactor, LogAppender logAppender) {
+      this.compactor = compactor;
+      this.logAppender = logAppender;
+   }
+
+   @ManagedAttribute(description = "Number of data files waiting to be compacted", displayName = "Compaction backlog files")
+   public int getBacklogFiles() {
+      return compactor.backlogFiles();
+   }
+
+   @ManagedAttribute(description = "Live bytes that the compaction of the waiting data files will move",
+         displayName = "Compaction backlog bytes", units = Units.BYTES)
+   public long getBacklogBytes() {
+      return compactor.backlogBytes();
+   }
+
+   @ManagedAttribute(description = "Number of data files compacted", displayName = "Compacted files")
+   public long getCompactedFiles() {
+      return compactor.compactedFiles();
+   }
+
+   @ManagedAttribute(description = "Bytes written to the data files by writes", displayName = "Appended bytes",
+         units = Units.BYTES)
+   public long getAppendedBytes() {
+      return logAppender.appendedBytes();
+   }
+
+   @ManagedAttribute(description = "Bytes written to the data files by compactions", displayName = "Compacted bytes",
+         units = Units.BYTES)
+   public long getCompactedBytes() {
+      return compactor.compactedBytes();
+   }
+
+   @ManagedAttribute(description = "Ratio of all the bytes written to the data files to the bytes written by writes",
+         displayName = "Write amplification")
+   public double getWriteAmplification() {
+      long appended = logAppender.appendedBytes();
+      return appended == 0 ? 1 : (double) (appended + compactor.compactedBytes()) / appended;
+   }
+
+   @ManagedAttribute(description = "Time that compactions waited for the rate limits or for the writes",
+         displayName = "Compaction throttled time", units = Units.MILLISECONDS)
+   public long getThrottledTime() {
+      return TimeUnit.NANOSECONDS.toMillis(compactor.throttle().throttledNanos());
+   }
+}
@@ -0,0 +1,78 @@
+package org.infinispan.persistence.sifs;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+/**
+ * Limits the rate at which the {@link Compactor} reads and writes data files, so that compactions do not compete with
+ * the reads and writes of the cache for the disk.
+ * <p>
+ * The compactor thread {@link #acquire(int, int) acquires} the bytes and the operations of every entry it moves, and
+ * waits until the configured throughput and operations per second allow them. The thread also waits while the log
+ * appender has many writes waiting to be appended, but only up to {@link #MAX_PAUSE_NANOS} for every entry so that
+ * the data files cannot grow without bound under a sustained write load.
+ *
+ * @since 16.3
+ */
+final class CompactionThrottle {
+   // Writes waiting to be appended above which the compactor yields the disk to them
+   static final int WRITE_PRESSURE_THRESHOLD = 256;
+   static final long MAX_PAUSE_NANOS = TimeUnit.SECONDS.toNanos(1);
+   private static final long PAUSE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+   // Idle time that can be used later for a burst, so that a short pause does not lose the budget
+   private static final long MAX_BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+   private final double nanosPerByte;
+   private final double nanosPerOperation;
+   private final IntSupplier pendingWrites;
+
+   // Only accessed by the compactor thread
+   private long nextFreeNanos = Long.MIN_VALUE;
+   // Written by the compactor thread and read by the statistics
+   private volatile long throttledNanos;
+
+   CompactionThrottle(int maxThroughput, int maxIops, IntSupplier pendingWrites) {
+      this.nanosPerByte = maxThroughput > 0 ? (double) TimeUnit.SECONDS.toNanos(1) / (maxThroughput * 1024L * 1024L) : 0;
+      this.nanosPerOperation = maxIops > 0 ? (double) TimeUnit.SECONDS.toNanos(1) / maxIops : 0;
+      this.pendingWrites = pendingWrites;
+   }
+
+   /**
+    * Waits until the budget allows reading or writing the given bytes with the given number of operations, and while
+    * the writes of the cache are under pressure.
+    *
+    * @param bytes      the bytes that are read and written
+    * @param operations the number of reads and writes
+    * @param cancelled  returns {@code true} if the compaction must stop waiting
+    */
+   void acquire(int bytes, int operations, BooleanSupplier cancelled) {
+      long now = System.nanoTime();
+      long start = now;
+      long pauseDeadline = now + MAX_PAUSE_NANOS;
+      while (pendingWrites.getAsInt() > WRITE_PRESSURE_THRESHOLD && now - pauseDeadline < 0 && !cancelled.getAsBoolean()) {
+         LockSupport.parkNanos(PAUSE_POLL_NANOS);
+         now = System.nanoTime();
+      }
+      if (nanosPerByte > 0 || nanosPerOperation > 0) {
+         long cost = (long) Math.max(bytes * nanosPerByte, operations * nanosPerOperation);
+         long next = Math.max(nextFreeNanos, now - MAX_BURST_NANOS) + cost;
+         nextFreeNanos = next;
+         while (next - now > 0 && !cancelled.getAsBoolean()) {
+            LockSupport.parkNanos(next - now);
+            now = System.nanoTime();
+         }
+      }
+      if (now != start) {
+         throttledNanos += now - start;
+      }
+   }
+
+   /**
+    * @return the total time that the compactor waited, in nanoseconds
+    */
+   long throttledNanos() {
+      return throttledNanos;
+   }
+}
@@ -38,6 +38,11 @@
  * Component keeping the data about log file usage - as soon as entries from some file are overwritten so that the file
  * becomes cluttered with old records, the valid records are moved to another file and the old ones are dropped.
  * Expired records are moved as tombstones without values (records of entry removal).
+ * <p>
+ * The files that crossed the compaction threshold are not compacted in the order they crossed it. Every compaction
+ * picks the candidate with the best ratio of the space it frees to the cost of moving its live entries, favouring the
+ * files that were completed long ago as their entries are less likely to be overwritten soon. The reads and writes of
+ * a compaction are limited by a {@link CompactionThrottle}.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
@@ -54,6 +59,9 @@ class Compactor {
    private final int maxFileSize;
    private final double compactionThreshold;
    private final Executor blockingExecutor;
+   private final CompactionThrottle throttle;
+   // The files that are ready to be compacted, each with a request in the processor to compact the best one
+   private final Set<Integer> candidates = ConcurrentHashMap.newKeySet();
 
    // Initialize so we can enqueue operations until start begins
    private FlowableProcessor<CompletableFuture<Void>> processor = UnicastProcessor.<CompletableFuture<Void>>create().toSerialized();
@@ -74,10 +82,13 @@ class Compactor {
    FileProvider.Log logFile = null;
    long nextExpirationTime = -1;
    int currentOffset = 0;
+   // Only written by the compactor thread
+   private volatile long compactedBytes;
+   private volatile long compactedFiles;
 
    public Compactor(NonBlockingManager nonBlockingManager, FileProvider fileProvider, TemporaryTable temporaryTable,
          Marshaller marshaller, TimeService timeService, KeyPartitioner keyPartitioner, int maxFileSize,
-         double compactionThreshold, Executor blockingExecutor) {
+         double compactionThreshold, Executor blockingExecutor, CompactionThrottle throttle) {
       this.nonBlockingManager = nonBlockingManager;
       this.fileProvider = fileProvider;
       this.temporaryTable = temporaryTable;
@@ -87,6 +98,7 @@ public Compactor(NonBlockingManager nonBlockingManager, FileProvider fileProvide
       this.maxFileSize = maxFileSize;
       this.compactionThreshold = compactionThreshold;
       this.blockingExecutor = blockingExecutor;
+      this.throttle = throttle;
    }
 
    public void setIndex(Index index) {
@@ -122,7 +134,7 @@ public void completeFile(int file, int currentSize, long nextExpirationTime) {
 
    public void completeFile(int file, int currentSize, long nextExpirationTime, boolean canSchedule) {
       Stats stats = getStats(file, currentSize, nextExpirationTime);
-      stats.setCompleted();
+      stats.setCompleted(timeService.wallClockTime());
       // It is possible this was a logFile that was compacted
       if (canSchedule && stats.readyToBeScheduled(compactionThreshold, stats.getFree())) {
          schedule(file, stats);
@@ -158,7 +170,7 @@ boolean addFreeFile(int file, int expectedSize, int freeSize, long expirationTim
          return false;
       }
       log.tracef("Added new file %s to compactor manually with total size %s and free size %s", file, fileSize, freeSize);
-      stats.setCompleted();
+      stats.setCompleted(timeService.wallClockTime());
       if (canScheduleCompaction && stats.readyToBeScheduled(compactionThreshold, freeSize)) {
          schedule(file, stats);
       }
@@ -185,6 +197,10 @@ public void start() {
                stopped.completeExceptionally(error);
             });
 
+      // The candidates left when the compactor was stopped lost their requests
+      for (int i = candidates.size(); i > 0; i--) {
+         submitCompaction();
+      }
       fileStats.forEach((file, stats) -> {
          if (stats.readyToBeScheduled(compactionThreshold, stats.getFree())) {
             schedule(file, stats);
@@ -319,16 +335,90 @@ private void schedule(int file, Stats stats) {
       assert stats.isScheduled();
       if (!terminateSignal) {
          log.debugf("Scheduling file %d for compaction: %d/%d free", file, stats.free.get(), stats.total);
-         CompactionRequest request = new CompactionRequest(file);
-         processor.onNext(request);
-         request.whenComplete((__, t) -> {
-            if (t != null) {
-               log.compactorEncounteredException(t, file);
-               // Poor attempt to allow compactor to continue operating - file will never be compacted again
-               fileStats.remove(file);
-            }
-         });
+         candidates.add(file);
+         submitCompaction();
+      }
+   }
+
+   private void submitCompaction() {
+      CompactionRequest request = new CompactionRequest(CompactionRequest.BEST_CANDIDATE);
+      processor.onNext(request);
+      request.whenComplete((__, t) -> {
+         if (t != null) {
+            log.compactorEncounteredException(t, request.fileId);
+            // Poor attempt to allow compactor to continue operating - file will never be compacted again
+            fileStats.remove(request.fileId);
+         }
+      });
+   }
+
+   /**
+    * Removes and returns the candidate that frees the most space for the cost of moving its live entries. The score
+    * of a file is the cost-benefit ratio of log-structured file systems, {@code free * age / (total + live)}, so a
+    * file with few live entries is compacted first, and among files with the same live ratio the oldest one, whose
+    * entries are the least likely to be overwritten soon.
+    *
+    * @return the file to compact or -1 if there is no candidate
+    */
+   private int pollBestCandidate() {
+      long now = timeService.wallClockTime();
+      int best = -1;
+      double bestScore = -1;
+      for (Integer file : candidates) {
+         Stats stats = fileStats.get(file);
+         if (stats == null || stats.markedForDeletion()) {
+            candidates.remove(file);
+            continue;
+         }
+         double score = stats.compactionScore(now);
+         if (score > bestScore) {
+            best = file;
+            bestScore = score;
+         }
+      }
+      if (best >= 0) {
+         candidates.remove(best);
+      }
+      return best;
+   }
+
+   /**
+    * @return the number of files waiting to be compacted
+    */
+   int backlogFiles() {
+      return candidates.size();
+   }
+
+   /**
+    * @return the number of live bytes that the compaction of the files waiting to be compacted would move
+    */
+   long backlogBytes() {
+      long bytes = 0;
+      for (Integer file : candidates) {
+         Stats stats = fileStats.get(file);
+         if (stats != null) {
+            bytes += Math.max(stats.getTotal() - stats.getFree(), 0);
+         }
       }
+      return bytes;
+   }
+
+   /**
+    * @return the number of bytes written to new files by compactions since the compactor was created
+    */
+   long compactedBytes() {
+      return compactedBytes;
+   }
+
+   /**
+    * @return the number of files compacted since the compactor was created
+    */
+   long compactedFiles() {
+      return compactedFiles;
+   }
+
+   CompactionThrottle throttle() {
+      return throttle;
    }
 
    /**
@@ -345,7 +435,10 @@ public CompletionStage<Void> clearAndPause() {
       }
       ClearFuture clearFuture = new ClearFuture();
       // Make sure to do this before submitting to processor this is done in the blocking thread
-      clearFuture.whenComplete((ignore, t) -> fileStats.clear());
+      clearFuture.whenComplete((ignore, t) -> {
+         fileStats.clear();
+         candidates.clear();
+      });
       processor.onNext(clearFuture);
       return clearFuture;
    }
@@ -388,7 +481,11 @@ public void stopOperations() {
    }
 
    private static class CompactionRequest extends CompletableFuture<Void> {
-      private final int fileId;
+      // Compacts the best candidate at the time the request is processed
+      static final int BEST_CANDIDATE = -1;
+
+      // Only modified by the compactor thread before the request is completed
+      private int fileId;
       private final boolean isLogFile;
       private final CompactionExpirationSubscriber subscriber;
 
@@ -445,6 +542,14 @@ public void processRequest(CompletableFuture<Void> stageRequest) throws Throwabl
       }
 
       CompactionRequest request = (CompactionRequest) stageRequest;
+      if (request.fileId == CompactionRequest.BEST_CANDIDATE) {
+         request.fileId = pollBestCandidate();
+         if (request.fileId < 0) {
+            log.tracef("No candidate left to compact");
+            completeFuture(request);
+            return;
+         }
+      }
       try {
          // Any other type submitted has to be a positive integer
          Stats stats = fileStats.get(request.fileId);
@@ -669,6 +774,9 @@ private void compactSingleFile(CompactionRequest compactionRequest,
                   log.debugf("Compacting to %d", (Object) logFile.fileId);
                }
 
+               // The entry is read and then written to the new file
+               throttle.acquire(2 * header.totalLength(), 2, this::isCompactionCancelled);
+
                byte[] serializedValue = null;
                EntryMetadata metadata = null;
                byte[] serializedInternalMetadata = null;
@@ -737,6 +845,7 @@ private void compactSingleFile(CompactionRequest compactionRequest,
                aggregateCompletionStage.dependsOn(index.handleRequest(indexRequest));
 
                currentOffset += writtenLength;
+               compactedBytes += writtenLength;
             }
             scheduledOffset += header.totalLength();
          }
@@ -789,9 +898,14 @@ private void compactSingleFile(CompactionRequest compactionRequest,
             stats.markForDeletion();
          }
          fileDeletionStage.dependsOn(index.deleteFileAsync(scheduledFile));
+         compactedFiles++;
       }
    }
 
+   private boolean isCompactionCancelled() {
+      return clearSignal.get() || terminateSignal;
+   }
+
 
    static class Stats {
       private final AtomicInteger free;
@@ -802,6 +916,7 @@ static class Stats {
          File cannot be scheduled for compaction until it's completed.
          */
       private volatile boolean completed = false;
+      private volatile long completedTime;
       private final AtomicBoolean scheduled = new AtomicBoolean();
       private boolean markedForDeletion = false;
 
@@ -855,8 +970,25 @@ public boolean isCompleted() {
          return completed;
       }
 
-      public void setCompleted() {
-         this.completed = true;
+      public void setCompleted(long completedTime) {
+         if (!completed) {
+            this.completedTime = completedTime;
+            this.completed = true;
+         }
+      }
+
+      /**
+       * @return how worth compacting this file is, see {@link Compactor#pollBestCandidate()}
+       */
+      double compactionScore(long now) {
+         int total = this.total;
+         if (total <= 0) {
+            return 0;
+         }
+         int free = Math.min(this.free.get(), total);
+         // Adding one so that the files completed at the same time are still ordered by their free space
+         long age = Math.max(now - completedTime, 0) + 1;
+         return (double) free * age / (2L * total - free);
       }
 
       public void markForDeletion() {
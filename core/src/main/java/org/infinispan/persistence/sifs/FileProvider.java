@@ -9,6 +9,7 @@
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -24,6 +25,7 @@
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.infinispan.commons.jdkspecific.MappedBuffers;
 import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.ProgressTracker;
 import org.infinispan.persistence.sifs.pmem.PmemUtilWrapper;
@@ -31,6 +33,9 @@
 /**
  * Provides resource management for files - only limited amount of files may be opened in one moment, and opened file
  * should not be deleted. Also allows to generate file indexes.
+ * <p>
+ * When memory mapped reads are enabled, the files that are not appended to anymore are mapped on their first read and
+ * later reads copy from the mapping, which avoids a system call per read for the entries in the page cache.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
@@ -51,6 +56,7 @@ public class FileProvider {
    private final String prefix;
    private final int maxFileSize;
    private final boolean isIndex;
+   private final boolean memoryMapped;
 
    private boolean canTryPmem = true;
 
@@ -70,12 +76,19 @@ public class FileProvider {
 
    public FileProvider(Path fileDirectory, int openFileLimit, String prefix, int maxFileSize,
                        boolean isIndex) {
+      this(fileDirectory, openFileLimit, prefix, maxFileSize, isIndex, false);
+   }
+
+   public FileProvider(Path fileDirectory, int openFileLimit, String prefix, int maxFileSize,
+                       boolean isIndex, boolean memoryMapped) {
       this.openFileLimit = openFileLimit;
       this.recordQueue = new ArrayBlockingQueue<>(openFileLimit);
       this.directoryFile = fileDirectory.toFile();
       this.prefix = prefix;
       this.maxFileSize = maxFileSize;
       this.isIndex = isIndex;
+      // Index files are updated in place, so only data files can be mapped
+      this.memoryMapped = memoryMapped && !isIndex;
       try {
          Files.createDirectories(fileDirectory);
       } catch (IOException e) {
@@ -418,7 +431,7 @@ private Handle(Record record) {
 
       public int read(ByteBuffer buffer, long offset) throws IOException {
          if (!usable) throw new IllegalStateException();
-         return record.getFileChannel().read(buffer, offset);
+         return record.read(buffer, offset);
       }
 
       @Override
@@ -458,6 +471,9 @@ private class Record {
       private FileChannel fileChannel;
       private int handleCount;
       private boolean deleteOnClose = false;
+      // Mapped on the first read once the file is not appended to anymore
+      private volatile MappedByteBuffer mappedBuffer;
+      private volatile boolean mappingFailed;
 
       private Record(FileChannel fileChannel, int fileId) {
          this.fileChannel = fileChannel;
@@ -468,6 +484,54 @@ FileChannel getFileChannel() {
          return fileChannel;
       }
 
+      int read(ByteBuffer buffer, long offset) throws IOException {
+         MappedByteBuffer mapped = memoryMapped ? getMappedBuffer() : null;
+         if (mapped == null) {
+            return fileChannel.read(buffer, offset);
+         }
+         int limit = mapped.limit();
+         if (offset >= limit) {
+            return -1;
+         }
+         int length = (int) Math.min(buffer.remaining(), limit - offset);
+         buffer.put(buffer.position(), mapped, (int) offset, length);
+         buffer.position(buffer.position() + length);
+         return length;
+      }
+
+      private MappedByteBuffer getMappedBuffer() {
+         MappedByteBuffer mapped = mappedBuffer;
+         if (mapped != null || mappingFailed) {
+            return mapped;
+         }
+         // The file that is being appended to still grows, so it is read from the channel until it is complete
+         if (isLogFile(fileId)) {
+            return null;
+         }
+         synchronized (this) {
+            mapped = mappedBuffer;
+            if (mapped == null && !mappingFailed && fileChannel != null) {
+               try {
+                  mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+                  mappedBuffer = mapped;
+               } catch (IOException | UnsupportedOperationException e) {
+                  log.debugf(e, "Cannot map file %d, reading it from the channel", fileId);
+                  mappingFailed = true;
+               }
+            }
+            return mapped;
+         }
+      }
+
+      private void unmap() {
+         MappedByteBuffer mapped = mappedBuffer;
+         mappedBuffer = null;
+         // The record is only closed without open handles, so no read uses the buffer anymore
+         if (mapped != null && !MappedBuffers.unmap(mapped)) {
+            log.debugf("Cannot unmap file %d, the mapping is released once the buffer is collected", fileId);
+         }
+      }
+
       void increaseHandleCount() {
          handleCount++;
       }
@@ -479,6 +543,7 @@ void decreaseHandleCount() throws IOException {
             // but physically close and delete the file
             fileChannel.close();
             fileChannel = null;
+            unmap();
             openFiles.remove(fileId, this);
             delete();
          }
@@ -499,6 +564,7 @@ public int getFileId() {
       public void close() throws IOException {
          fileChannel.close();
          fileChannel = null;
+         unmap();
          if (deleteOnClose) {
             delete();
          }
@@ -515,6 +581,7 @@ public void deleteOnClose() throws IOException {
             if (fileChannel != null) {
                fileChannel.close();
                fileChannel = null;
+               unmap();
             }
             openFiles.remove(fileId, this);
             delete();
@@ -107,4 +107,7 @@ static Log getLog(Class<?> clazz) {
 
    @Message(value = "Failed acquiring lock '%s' for SIFS", id = 29025)
    PersistenceException failedAcquiringLockFile(@Cause Throwable cause, FileSystemLock lock);
+
+   @Message(value = "Compaction limit %s (%d) cannot be negative, use 0 to disable it.", id = 29026)
+   CacheConfigurationException invalidCompactionLimit(String attribute, int value);
 }
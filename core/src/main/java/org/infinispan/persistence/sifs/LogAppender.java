@@ -6,7 +6,9 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.commons.util.Util;
@@ -22,6 +24,7 @@
 
 public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    private static final Log log = Log.getLog(LogAppender.class);
+   private static final long GROUP_COMMIT_POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
 
    private final NonBlockingManager nonBlockingManager;
    private final Index index;
@@ -29,10 +32,14 @@ public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    private final Compactor compactor;
    private final FileProvider fileProvider;
    private final boolean syncWrites;
+   // How long the first write waiting for a fsync may wait for other writes to share it, 0 when not grouping
+   private final long groupCommitDelayNanos;
    private final int maxFileSize;
    // Used to keep track of how many log requests have been submitted. This way if the blocking thread has consumed
    // the same number of log requests it can immediately flush.
    private final AtomicInteger submittedCount = new AtomicInteger();
+   // The writes that were requested but not yet appended, used by the compactor to detect write pressure
+   private final AtomicInteger pendingWrites = new AtomicInteger();
    // This variable is null unless sync writes are enabled. When sync writes are enabled this list holds
    // all the log requests that should be completed when the disk is ensured to be flushed
    private final List<Consumer<LogAppender>> toSyncLogRequests;
@@ -49,6 +56,8 @@ public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    private List<LogRequest> delayedLogRequests;
    private FileProvider.Log logFile;
    private long nextExpirationTime = -1;
+   // The time by which the writes waiting in toSyncLogRequests must be fsynced, when grouping commits
+   private long syncDeadline;
 
    // This is volatile as it can be read from different threads when submitting
    private volatile FlowableProcessor<LogRequest> requestProcessor;
@@ -57,17 +66,21 @@ public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    // This is only accessed by the writeProcessor thread
    private FlowableProcessor<Consumer<LogAppender>> completionProcessor;
 
+   // Only written by the writeProcessor thread
+   private volatile long appendedBytes;
+
    private volatile CompletableFuture<Void> stopped = CompletableFutures.completedNull();
 
    public LogAppender(NonBlockingManager nonBlockingManager, Index index,
                       TemporaryTable temporaryTable, Compactor compactor,
-                      FileProvider fileProvider, boolean syncWrites, int maxFileSize) {
+                      FileProvider fileProvider, boolean syncWrites, long groupCommitDelay, int maxFileSize) {
       this.nonBlockingManager = nonBlockingManager;
       this.index = index;
       this.temporaryTable = temporaryTable;
       this.compactor = compactor;
       this.fileProvider = fileProvider;
       this.syncWrites = syncWrites;
+      this.groupCommitDelayNanos = syncWrites ? TimeUnit.MILLISECONDS.toNanos(Math.max(groupCommitDelay, 0)) : 0;
       this.maxFileSize = maxFileSize;
 
       this.toSyncLogRequests = syncWrites ? new ArrayList<>() : null;
@@ -191,12 +204,14 @@ public CompletionStage<Void> resume() {
 
    public <K, V> CompletionStage<Void> storeRequest(int segment, MarshallableEntry<K, V> entry) {
       LogRequest storeRequest = LogRequest.storeRequest(segment, entry);
+      pendingWrites.incrementAndGet();
       requestProcessor.onNext(storeRequest);
       return storeRequest;
    }
 
    public CompletionStage<Boolean> deleteRequest(int segment, Object key, ByteBuffer serializedKey) {
       LogRequest deleteRequest = LogRequest.deleteRequest(segment, key, serializedKey);
+      pendingWrites.incrementAndGet();
       requestProcessor.onNext(deleteRequest);
       return deleteRequest.thenCompose(v -> cast(deleteRequest.getIndexRequest()));
    }
@@ -300,16 +315,62 @@ public void accept(WriteOperation writeOperation) {
          } else {
             // This cannot be null when sync writes is true
             toSyncLogRequests.add(la -> la.handleRequestCompletion(actualRequest));
-            if (submittedCount.get() == ++receivedCount || toSyncLogRequests.size() == 1000) {
+            ++receivedCount;
+            if (groupCommitDelayNanos > 0 && toSyncLogRequests.size() == 1) {
+               syncDeadline = System.nanoTime() + groupCommitDelayNanos;
+            }
+            if (toSyncLogRequests.size() == 1000 || awaitOtherWrites()) {
                logFile.fileChannel.force(false);
                completePendingLogRequests();
             }
          }
          currentOffset += actualLength;
+         appendedBytes += actualLength;
       } catch (Exception e) {
          log.debugf("Exception encountered while processing log request %s", actualRequest);
          actualRequest.completeExceptionally(e);
+      } finally {
+         if (actualRequest.getKey() != null) {
+            pendingWrites.decrementAndGet();
+         }
+      }
+   }
+
+   /**
+    * @return the number of writes that were requested but are not appended yet
+    */
+   int pendingWrites() {
+      return pendingWrites.get();
+   }
+
+   /**
+    * @return the number of bytes appended to the data files since the appender was created
+    */
+   long appendedBytes() {
+      return appendedBytes;
+   }
+
+   /**
+    * Returns whether the writes waiting for a fsync must be fsynced now, after waiting up to the group commit delay
+    * for more writes to be submitted. The writes are fsynced immediately when no other write was submitted and commits
+    * are not grouped. Must only be invoked by {@link #accept(WriteOperation)} method.
+    */
+   private boolean awaitOtherWrites() {
+      if (submittedCount.get() != receivedCount) {
+         // Another write was already submitted, it will be appended before the fsync
+         return false;
+      }
+      if (groupCommitDelayNanos == 0) {
+         return true;
+      }
+      long remaining;
+      while ((remaining = syncDeadline - System.nanoTime()) > 0) {
+         LockSupport.parkNanos(Math.min(remaining, GROUP_COMMIT_POLL_NANOS));
+         if (submittedCount.get() != receivedCount) {
+            return false;
+         }
       }
+      return true;
    }
 
    public void complete(Consumer<LogAppender> consumer) throws Throwable {
@@ -55,7 +55,7 @@ private LogRequest(Type type) {
 
    public static LogRequest storeRequest(int segment, MarshallableEntry entry) {
       return new LogRequest(Type.STORE, segment, entry.getKey(), entry.expiryTime(), entry.getKeyBytes(), entry.getMetadataBytes(),
-            entry.getInternalMetadataBytes(), entry.getValueBytes(), entry.created(), entry.lastUsed());
+            entry.getInternalMetadataBytes(), entry.getStoredValueBytes(), entry.created(), entry.lastUsed());
    }
 
    public static LogRequest deleteRequest(int segment, Object key, ByteBuffer serializedKey) {
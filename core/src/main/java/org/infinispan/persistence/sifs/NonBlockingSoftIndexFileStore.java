@@ -44,6 +44,7 @@
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.metrics.impl.CacheMetricsRegistration;
 import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration;
 import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
 import org.infinispan.persistence.spi.InitializationContext;
@@ -159,6 +160,8 @@
    private KeyPartitioner keyPartitioner;
    private InitializationContext ctx;
    private ProgressTracker progressTracker;
+   private CacheMetricsRegistration metricsRegistration;
+   private Set<Object> metricIds;
    // This is only initialized when segmentation is disabled to both signal such and also to be used for multi segment operations
    private IntSet singleSegmentSet;
 
@@ -233,10 +236,12 @@ public CompletionStage<Void> start(InitializationContext ctx) {
       }
 
       fileProvider = new FileProvider(getDataLocation(), maxOpenDataFiles, PREFIX_LATEST,
-            configuration.maxFileSize(), false);
+            configuration.maxFileSize(), false, configuration.memoryMappedReads());
+      CompactionThrottle throttle = new CompactionThrottle(configuration.compactionMaxThroughput(),
+            configuration.compactionMaxIops(), () -> logAppender.pendingWrites());
       compactor = new Compactor(ctx.getNonBlockingManager(), fileProvider, temporaryTable, marshaller, timeService,
             keyPartitioner, configuration.maxFileSize(), configuration.compactionThreshold(),
-            blockingManager.asExecutor("sifs-compactor"));
+            blockingManager.asExecutor("sifs-compactor"), throttle);
       try {
          index = new Index(ctx.getNonBlockingManager(), fileProvider, getIndexLocation(), cacheSegments,
                configuration.minNodeSize(), configuration.maxNodeSize(), temporaryTable, compactor,
@@ -247,8 +252,9 @@ public CompletionStage<Void> start(InitializationContext ctx) {
       }
       compactor.setIndex(index);
       logAppender = new LogAppender(ctx.getNonBlockingManager(), index, temporaryTable, compactor, fileProvider,
-            configuration.syncWrites(), configuration.maxFileSize());
+            configuration.syncWrites(), configuration.groupCommitDelay(), configuration.maxFileSize());
       logAppender.start(blockingManager.asExecutor("sifs-log-processor"));
+      registerMetrics();
       startIndex(segments);
       final AtomicLong maxSeqId = new AtomicLong(0);
       TimeService ts = ComponentRegistry.componentOf(ctx.getCache(), TimeService.class);
@@ -517,8 +523,20 @@ protected void startIndex(IntSet segments) {
       index.start(segments);
    }
 
+   private void registerMetrics() {
+      metricsRegistration = ComponentRegistry.componentOf(ctx.getCache(), CacheMetricsRegistration.class);
+      if (metricsRegistration != null && metricsRegistration.metricsEnabled()) {
+         metricIds = metricsRegistration.registerExternalMetrics(new CompactionStatistics(compactor, logAppender),
+               "SoftIndexFileStore");
+      }
+   }
+
    @Override
    public CompletionStage<Void> stop() {
+      if (metricIds != null) {
+         metricsRegistration.unregisterMetrics(metricIds);
+         metricIds = null;
+      }
       return blockingManager.runBlocking(() -> {
          try {
             long maxSeqId = CompletionStages.join(logAppender.stop());
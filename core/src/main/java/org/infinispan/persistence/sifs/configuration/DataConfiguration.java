@@ -10,9 +10,11 @@ public class DataConfiguration extends ConfigurationElement<DataConfiguration> {
    public static final AttributeDefinition<String> DATA_LOCATION = AttributeDefinition.builder(Attribute.PATH, null, String.class).immutable().autoPersist(false).build();
    public static final AttributeDefinition<Integer> MAX_FILE_SIZE = AttributeDefinition.builder(Attribute.MAX_FILE_SIZE, 16 * 1024 * 1024).immutable().autoPersist(false).build();
    public static final AttributeDefinition<Boolean> SYNC_WRITES = AttributeDefinition.builder(Attribute.SYNC_WRITES, false).immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Long> GROUP_COMMIT_DELAY = AttributeDefinition.builder(Attribute.GROUP_COMMIT_DELAY, 0L).immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Boolean> MEMORY_MAPPED_READS = AttributeDefinition.builder(Attribute.MEMORY_MAPPED_READS, false).immutable().autoPersist(false).build();
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(DataConfiguration.class, DATA_LOCATION, MAX_FILE_SIZE, SYNC_WRITES);
+      return new AttributeSet(DataConfiguration.class, DATA_LOCATION, MAX_FILE_SIZE, SYNC_WRITES, GROUP_COMMIT_DELAY, MEMORY_MAPPED_READS);
    }
 
    DataConfiguration(AttributeSet attributes) {
@@ -27,6 +29,14 @@ public boolean syncWrites() {
       return attributes.attribute(SYNC_WRITES).get();
    }
 
+   public long groupCommitDelay() {
+      return attributes.attribute(GROUP_COMMIT_DELAY).get();
+   }
+
+   public boolean memoryMappedReads() {
+      return attributes.attribute(MEMORY_MAPPED_READS).get();
+   }
+
    public String dataLocation() {
       return attributes.attribute(DATA_LOCATION).get();
    }
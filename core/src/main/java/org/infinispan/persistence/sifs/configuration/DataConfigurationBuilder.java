@@ -1,7 +1,9 @@
 package org.infinispan.persistence.sifs.configuration;
 
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.DATA_LOCATION;
+import static org.infinispan.persistence.sifs.configuration.DataConfiguration.GROUP_COMMIT_DELAY;
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.MAX_FILE_SIZE;
+import static org.infinispan.persistence.sifs.configuration.DataConfiguration.MEMORY_MAPPED_READS;
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.SYNC_WRITES;
 
 import org.infinispan.commons.configuration.Builder;
@@ -35,6 +37,16 @@ public DataConfigurationBuilder syncWrites(boolean syncWrites) {
       return this;
    }
 
+   public DataConfigurationBuilder groupCommitDelay(long groupCommitDelay) {
+      attributes.attribute(GROUP_COMMIT_DELAY).set(groupCommitDelay);
+      return this;
+   }
+
+   public DataConfigurationBuilder memoryMappedReads(boolean memoryMappedReads) {
+      attributes.attribute(MEMORY_MAPPED_READS).set(memoryMappedReads);
+      return this;
+   }
+
    @Override
    public DataConfiguration create() {
       return new DataConfiguration(attributes.protect());
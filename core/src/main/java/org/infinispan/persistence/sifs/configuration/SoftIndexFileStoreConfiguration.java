@@ -19,11 +19,14 @@ public class SoftIndexFileStoreConfiguration extends AbstractStoreConfiguration<
 
    public static final AttributeDefinition<Integer> OPEN_FILES_LIMIT = AttributeDefinition.builder(Attribute.OPEN_FILES_LIMIT, 1000).immutable().build();
    public static final AttributeDefinition<Double> COMPACTION_THRESHOLD = AttributeDefinition.builder(Attribute.COMPACTION_THRESHOLD, 0.5d).immutable().build();
+   public static final AttributeDefinition<Integer> COMPACTION_MAX_THROUGHPUT = AttributeDefinition.builder(Attribute.COMPACTION_MAX_THROUGHPUT, 0).immutable().build();
+   public static final AttributeDefinition<Integer> COMPACTION_MAX_IOPS = AttributeDefinition.builder(Attribute.COMPACTION_MAX_IOPS, 0).immutable().build();
    private final IndexConfiguration index;
    private final DataConfiguration data;
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(SoftIndexFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), OPEN_FILES_LIMIT, COMPACTION_THRESHOLD);
+      return new AttributeSet(SoftIndexFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), OPEN_FILES_LIMIT, COMPACTION_THRESHOLD,
+            COMPACTION_MAX_THROUGHPUT, COMPACTION_MAX_IOPS);
    }
 
    public SoftIndexFileStoreConfiguration(AttributeSet attributes,
@@ -71,6 +74,14 @@ public boolean syncWrites() {
       return data.syncWrites();
    }
 
+   public long groupCommitDelay() {
+      return data.groupCommitDelay();
+   }
+
+   public boolean memoryMappedReads() {
+      return data.memoryMappedReads();
+   }
+
    /**
     * The maximum number of files that will be open at a given time for all the data and index files, which does
     * not include compactor and current log file (which will always be 2).
@@ -89,6 +100,20 @@ public double compactionThreshold() {
       return attributes.attribute(COMPACTION_THRESHOLD).get();
    }
 
+   /**
+    * @return the maximum number of megabytes per second that the compactor reads and writes, 0 when unlimited
+    */
+   public int compactionMaxThroughput() {
+      return attributes.attribute(COMPACTION_MAX_THROUGHPUT).get();
+   }
+
+   /**
+    * @return the maximum number of entries per second that the compactor reads or writes, 0 when unlimited
+    */
+   public int compactionMaxIops() {
+      return attributes.attribute(COMPACTION_MAX_IOPS).get();
+   }
+
    public IndexConfiguration index() {
       return index;
    }
@@ -1,10 +1,15 @@
 package org.infinispan.persistence.sifs.configuration;
 
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_MAX_IOPS;
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_MAX_THROUGHPUT;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_THRESHOLD;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.OPEN_FILES_LIMIT;
 
+import java.util.List;
+
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.Combine;
+import org.infinispan.commons.configuration.attributes.AttributeDefinition;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.configuration.cache.AbstractStoreConfigurationBuilder;
 import org.infinispan.configuration.cache.AsyncStoreConfiguration;
@@ -117,6 +122,28 @@ public SoftIndexFileStoreConfigurationBuilder syncWrites(boolean syncWrites) {
       return this;
    }
 
+   /**
+    * Sets the maximum time in milliseconds that a synchronous write waits for concurrent writes before the data
+    * is fsynced, so that all of them share a single fsync. Only applies when {@link #syncWrites(boolean)} is enabled.
+    * <p>
+    * Defaults to <code>0</code>, fsyncing as soon as no other write is waiting to be appended.
+    */
+   public SoftIndexFileStoreConfigurationBuilder groupCommitDelay(long groupCommitDelay) {
+      data.groupCommitDelay(groupCommitDelay);
+      return this;
+   }
+
+   /**
+    * Sets whether entries are read from memory mapped data files instead of being copied by a read from the file.
+    * Only the data files that are not appended to anymore are mapped.
+    * <p>
+    * Defaults to <code>false</code>.
+    */
+   public SoftIndexFileStoreConfigurationBuilder memoryMappedReads(boolean memoryMappedReads) {
+      data.memoryMappedReads(memoryMappedReads);
+      return this;
+   }
+
    /**
     * Sets the maximum number of open files.
     * <p>
@@ -137,6 +164,28 @@ public SoftIndexFileStoreConfigurationBuilder compactionThreshold(double compact
       return this;
    }
 
+   /**
+    * Limits the rate at which the compactor reads and writes data files, in megabytes per second, so that compaction
+    * does not compete with reads for the disk bandwidth.
+    * <p>
+    * Defaults to <code>0</code> (unlimited).
+    */
+   public SoftIndexFileStoreConfigurationBuilder compactionMaxThroughput(int compactionMaxThroughput) {
+      attributes.attribute(COMPACTION_MAX_THROUGHPUT).set(compactionMaxThroughput);
+      return this;
+   }
+
+   /**
+    * Limits the number of entries per second that the compactor reads or writes. Each entry moved to a new file
+    * counts as a read and a write.
+    * <p>
+    * Defaults to <code>0</code> (unlimited).
+    */
+   public SoftIndexFileStoreConfigurationBuilder compactionMaxIops(int compactionMaxIops) {
+      attributes.attribute(COMPACTION_MAX_IOPS).set(compactionMaxIops);
+      return this;
+   }
+
    @Override
    public SoftIndexFileStoreConfiguration create() {
       return new SoftIndexFileStoreConfiguration(attributes.protect(), async.create(), index.create(), data.create());
@@ -163,6 +212,12 @@ public void validate() {
       if (compactionThreshold <= 0 || compactionThreshold > 1) {
          throw log.invalidCompactionThreshold(compactionThreshold);
       }
+      for (AttributeDefinition<Integer> limit : List.of(COMPACTION_MAX_THROUGHPUT, COMPACTION_MAX_IOPS)) {
+         int value = attributes.attribute(limit).get();
+         if (value < 0) {
+            throw log.invalidCompactionLimit(limit.name(), value);
+         }
+      }
    }
 
    @Override
@@ -26,6 +26,17 @@
     */
    ByteBuffer getValueBytes();
 
+   /**
+    * Returns the value in the serialized format that stores should write, which is compressed if the cache enables
+    * compression. Entries created by the {@link MarshallableEntryFactory} from these bytes return the uncompressed
+    * value from {@link #getValueBytes()}.
+    *
+    * @since 16.3
+    */
+   default ByteBuffer getStoredValueBytes() {
+      return getValueBytes();
+   }
+
    /**
     * @return null if there's no metadata associated with the object (e.g. expiry info, version..)
     */
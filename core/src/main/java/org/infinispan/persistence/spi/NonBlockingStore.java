@@ -19,6 +19,7 @@
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 import jakarta.transaction.Transaction;
 
 /**
@@ -154,7 +155,15 @@ enum Characteristic {
        * <p>
        * Stores that have this characteristic must override the {@link #purgeExpired()} method.
        */
-      EXPIRATION
+      EXPIRATION,
+      /**
+       * If this store writes a large {@link #batch(int, Publisher, Publisher)} faster than the same entries written one
+       * by one, for example by building its files directly. When all the non-shared stores of a cache have this
+       * characteristic, the state received by state transfer is written to the stores in a batch per state chunk.
+       * <p>
+       * No optional methods map to this characteristic.
+       */
+      BULK_WRITE
    }
 
    /**
@@ -315,6 +324,54 @@ default CompletionStage<Boolean> containsKey(int segment, Object key) {
             .thenApply(Objects::nonNull);
    }
 
+   /**
+    * Publishes the entries found in the store for the provided keys, which allows a store to load many keys with less
+    * round trips than invoking {@link #load(int, Object)} for each of them. The keys are grouped by the segment they
+    * map to, where each {@link SegmentedPublisher} publishes the keys of a single segment. Keys that are not present in
+    * the store are not published, and the entries may be published in any order.
+    * <p>
+    * The key Publisher will only be subscribed once. Failure to request at least {@code publisherCount} publishers from
+    * it may cause a deadlock.
+    * <h4>Summary of Characteristics Effects</h4>
+    * <table border="1" ><caption>Summary of Characteristics Effects</caption>
+    *    <tr>
+    *       <th>Characteristic</th>
+    *       <th>Effect</th>
+    *    </tr>
+    *    <tr>
+    *       <td>{@link Characteristic#WRITE_ONLY}</td>
+    *       <td>This method will never be invoked.</td>
+    *    </tr>
+    *    <tr>
+    *       <td>{@link Characteristic#EXPIRATION}</td>
+    *       <td>When set this method must not publish expired entries.</td>
+    *    </tr>
+    *    <tr>
+    *       <td>{@link Characteristic#SEGMENTABLE}</td>
+    *       <td>When this is not set or segmentation is disabled in the
+    *       {@link StoreConfiguration#segmented() configuration},
+    *       the {@code publisherCount} parameter has a value of 1,
+    *       which means there is only be one {@code SegmentedPublisher} to subscribe to.</td>
+    *    </tr>
+    * </table>
+    * <p>
+    * If a problem is encountered, it is recommended to wrap any created/caught Throwable in a
+    * {@link PersistenceException} and the Publisher is completed exceptionally.
+    * <p>
+    * The default implementation invokes {@link #load(int, Object)} for each of the keys, loading the keys of a segment
+    * one after another.
+    * @param publisherCount the maximum number of {@code SegmentPublisher}s the key Publisher will publish
+    * @param keyPublisher publishes the keys to load, grouped by segment
+    * @return a Publisher of the entries found for the keys
+    */
+   default Publisher<MarshallableEntry<K, V>> loadAll(int publisherCount, Publisher<SegmentedPublisher<Object>> keyPublisher) {
+      return Flowable.fromPublisher(keyPublisher)
+            .concatMapEager(sp ->
+                  Flowable.fromPublisher(sp)
+                        .concatMapMaybe(key -> Maybe.fromCompletionStage(load(sp.getSegment(), key)))
+                  , publisherCount, publisherCount);
+   }
+
    /**
     * Writes the entry to the store for the given segment returning a stage that completes normally when it is finished.
     * <h4>Summary of Characteristics Effects</h4>
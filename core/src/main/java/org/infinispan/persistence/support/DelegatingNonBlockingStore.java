@@ -45,6 +45,11 @@ public CompletionStage<Boolean> containsKey(int segment, Object key) {
       return delegate().containsKey(segment, key);
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(int publisherCount, Publisher<SegmentedPublisher<Object>> keyPublisher) {
+      return delegate().loadAll(publisherCount, keyPublisher);
+   }
+
    @Override
    public CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extends V> entry) {
       return delegate().write(segment, entry);
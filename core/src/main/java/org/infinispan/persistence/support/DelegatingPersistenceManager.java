@@ -1,6 +1,7 @@
 package org.infinispan.persistence.support;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiPredicate;
@@ -22,6 +23,7 @@
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.NonBlockingStore.Characteristic;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.transaction.impl.AbstractCacheTransaction;
 import org.infinispan.util.function.TriPredicate;
@@ -74,6 +76,11 @@ public boolean hasStore(Predicate<StoreConfiguration> test) {
       return persistenceManager.hasStore(test);
    }
 
+   @Override
+   public boolean writersHaveCharacteristic(Characteristic characteristic, Predicate<? super StoreConfiguration> predicate) {
+      return persistenceManager.writersHaveCharacteristic(characteristic, predicate);
+   }
+
    @Override
    public Flowable<MarshallableEntry<Object, Object>> preloadPublisher() {
       return persistenceManager.preloadPublisher();
@@ -228,6 +235,12 @@ public <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object
       return persistenceManager.loadFromAllStores(key, segment, localInvocation, includeStores);
    }
 
+   @Override
+   public <K, V> CompletionStage<Map<Object, MarshallableEntry<K, V>>> loadAllFromAllStores(Collection<?> keys,
+         boolean localInvocation, boolean includeStores) {
+      return persistenceManager.loadAllFromAllStores(keys, localInvocation, includeStores);
+   }
+
    @Override
    public CompletionStage<Long> approximateSize(Predicate<? super StoreConfiguration> predicate, IntSet segments) {
       return persistenceManager.approximateSize(predicate, segments);
@@ -8,6 +8,7 @@
 import org.infinispan.commands.GlobalRpcCommand;
 import org.infinispan.commands.ReplicableCommand;
 import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.remote.MultipleRpcCommand;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.CrossSiteIllegalLifecycleStateException;
 import org.infinispan.commons.IllegalLifecycleStateException;
@@ -70,6 +71,8 @@ public void handleFromCluster(Address origin, ReplicableCommand command, Reply r
       try {
          if (command instanceof HeartBeatCommand) {
             reply.reply(null);
+         } else if (command instanceof MultipleRpcCommand batch) {
+            handleBatch(origin, batch, order);
          } else if (command instanceof CacheRpcCommand) {
             handleCacheRpcCommand(origin, (CacheRpcCommand) command, reply, order);
          } else {
@@ -99,6 +102,16 @@ public void handleFromRemoteSite(String origin, XSiteRequest<?> command, Reply r
       command.invokeInLocalSite(origin, globalComponentRegistry).whenComplete(rspConsumer);
    }
 
+   private void handleBatch(Address origin, MultipleRpcCommand batch, DeliverOrder order) {
+      if (log.isTraceEnabled()) {
+         log.tracef("Handling a batch of %d commands [sender=%s]", batch.getCommands().size(), origin);
+      }
+      // The batched commands do not expect a response, and each one is handled as if it arrived in its own message
+      for (ReplicableCommand command : batch.getCommands()) {
+         handleFromCluster(origin, command, Reply.NO_OP, order);
+      }
+   }
+
    private void handleCacheRpcCommand(Address origin, CacheRpcCommand command, Reply reply, DeliverOrder mode) {
       ByteString cacheName = command.getCacheName();
       if (cacheName == null) {
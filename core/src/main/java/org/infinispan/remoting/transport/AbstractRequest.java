@@ -10,6 +10,7 @@
 import org.infinispan.commons.TimeoutException;
 import org.infinispan.remoting.transport.impl.Request;
 import org.infinispan.remoting.transport.impl.RequestRepository;
+import org.infinispan.util.concurrent.TimeoutWheel;
 
 /**
  * A remote invocation request.
@@ -27,6 +28,7 @@
 
    private volatile Future<?> timeoutFuture = null;
    private volatile long timeoutMs = -1;
+   private volatile long timeoutDeadline;
 
    protected AbstractRequest(long requestId, ResponseCollector<S, T> responseCollector, RequestRepository repository) {
       this.responseCollector = responseCollector;
@@ -35,7 +37,8 @@ protected AbstractRequest(long requestId, ResponseCollector<S, T> responseCollec
    }
 
    /**
-    * Called when the timeout task scheduled with {@link #setTimeout(ScheduledExecutorService, long, TimeUnit)} expires.
+    * Called when the timeout task scheduled with {@link #setTimeout(ScheduledExecutorService, long, TimeUnit)} or the
+    * timeout scheduled with {@link #setTimeout(TimeoutWheel, TimeoutWheel.Owner, long, TimeUnit)} expires.
     */
    protected abstract void onTimeout();
 
@@ -57,6 +60,37 @@ public void setTimeout(ScheduledExecutorService timeoutExecutor, long timeout, T
       setTimeoutFuture(timeoutFuture, unit.toMillis(timeout));
    }
 
+   /**
+    * Schedule the timeout of the request on the given wheel, and complete the request with a {@link TimeoutException}
+    * when the wheel finds it expired.
+    *
+    * If a timeout task was already registered with this request, it is cancelled.
+    */
+   public void setTimeout(TimeoutWheel timeoutWheel, TimeoutWheel.Owner owner, long timeout, TimeUnit unit) {
+      cancelTimeoutTask();
+      long deadline = TimeoutWheel.deadline(timeout, unit);
+      timeoutDeadline = deadline;
+      timeoutMs = unit.toMillis(timeout);
+      timeoutWheel.schedule(owner, requestId, deadline);
+   }
+
+   /**
+    * Invoked by the {@link TimeoutWheel} when the bucket of the timeout of the request is visited.
+    *
+    * @return {@code true} if the request is still waiting for the timeout, {@code false} if the request is done,
+    * the timeout was replaced, or it expired and the request timed out
+    */
+   public boolean checkTimeout(long deadline, long now) {
+      if (isDone() || timeoutMs < 0 || timeoutDeadline != deadline) {
+         return false;
+      }
+      if (now - deadline < 0) {
+         return true;
+      }
+      onTimeout();
+      return false;
+   }
+
    public void cancel(Exception exception) {
       completeExceptionally(exception);
    }
@@ -3,7 +3,6 @@
 import static org.infinispan.util.logging.Log.CONTAINER;
 
 import java.util.Collection;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -18,6 +17,8 @@
 import org.infinispan.remoting.transport.jgroups.JGroupsMetricsManager;
 import org.infinispan.remoting.transport.jgroups.SingleSiteRequest;
 import org.infinispan.remoting.transport.jgroups.StaggeredRequest;
+import org.infinispan.util.concurrent.ConcurrentLongHashMap;
+import org.infinispan.util.concurrent.TimeoutWheel;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -30,6 +31,11 @@
  * outstanding requests when the cache manager stops.
  * </p>
  *
+ * <p>
+ * Requests are stored in a {@link ConcurrentLongHashMap} and their timeouts are checked by a {@link TimeoutWheel}, so
+ * registering a request and dispatching its responses do not allocate anything besides the request itself.
+ * </p>
+ *
  * <p>Thread-safety: All methods are safe for concurrent use.</p>
  *
  * @author Dan Berindei
@@ -38,19 +44,39 @@
 public class RequestRepository implements Lifecycle {
    private static final Log log = LogFactory.getLog(RequestRepository.class);
 
-   private final ConcurrentHashMap<Long, Request<?, ?>> requests;
+   private final ConcurrentLongHashMap<Request<?, ?>> requests;
    private final AtomicLong nextRequestId = new AtomicLong(1);
    private final JGroupsMetricsManager metricsManager;
    private final ScheduledExecutorService timeoutExecutor;
+   private final TimeoutWheel timeoutWheel;
+   private final boolean ownsTimeoutWheel;
+   private final TimeoutWheel.Owner timeoutOwner = this::checkTimeout;
    private final TimeService timeService;
 
    private volatile boolean running = true;
 
    public RequestRepository(JGroupsMetricsManager metricsManager, ScheduledExecutorService timeoutExecutor,
                             TimeService timeService) {
-      this.requests = new ConcurrentHashMap<>();
+      this(metricsManager, timeoutExecutor, timeoutExecutor == null ? null : new TimeoutWheel(timeoutExecutor), true,
+            timeService);
+   }
+
+   /**
+    * @param timeoutWheel the wheel checking the timeouts of the requests, shared with the other components of the
+    *                     cache manager
+    */
+   public RequestRepository(JGroupsMetricsManager metricsManager, ScheduledExecutorService timeoutExecutor,
+                            TimeoutWheel timeoutWheel, TimeService timeService) {
+      this(metricsManager, timeoutExecutor, timeoutWheel, false, timeService);
+   }
+
+   private RequestRepository(JGroupsMetricsManager metricsManager, ScheduledExecutorService timeoutExecutor,
+                             TimeoutWheel timeoutWheel, boolean ownsTimeoutWheel, TimeService timeService) {
+      this.requests = new ConcurrentLongHashMap<>();
       this.metricsManager = metricsManager;
       this.timeoutExecutor = timeoutExecutor;
+      this.timeoutWheel = timeoutWheel;
+      this.ownsTimeoutWheel = ownsTimeoutWheel;
       this.timeService = timeService;
    }
 
@@ -165,12 +191,18 @@ private <A, B> Request<A, B> handleRequest(AbstractRequest<A, B> request, long t
       if (!running)
          request.cancel(CONTAINER.cacheManagerIsStopping());
 
-      if (timeout > 0 && timeoutExecutor != null)
-         request.setTimeout(timeoutExecutor, timeout, unit);
+      if (timeout > 0 && timeoutWheel != null)
+         request.setTimeout(timeoutWheel, timeoutOwner, timeout, unit);
 
       return request;
    }
 
+   private boolean checkTimeout(long requestId, long deadline, long now) {
+      Request<?, ?> request = requests.get(requestId);
+      // Staggered requests schedule their own timeouts
+      return request instanceof AbstractRequest<?, ?> abstractRequest && abstractRequest.checkTimeout(deadline, now);
+   }
+
    protected void addRequest(Request<?, ?> request) {
       long requestId = request.getRequestId();
       Request<?, ?> existing = requests.put(requestId, request);
@@ -220,7 +252,7 @@ public void removeRequest(long requestId) {
     * @param consumer the action to apply
     */
    public void forEach(Consumer<Request<?, ?>> consumer) {
-      requests.forEach((id, request) -> consumer.accept(request));
+      requests.forEach((request, id) -> consumer.accept(request));
    }
 
    @Override
@@ -237,5 +269,8 @@ public void start() { }
    @Override
    public void stop() {
       running = false;
+      if (ownsTimeoutWheel && timeoutWheel != null) {
+         timeoutWheel.stop();
+      }
    }
 }
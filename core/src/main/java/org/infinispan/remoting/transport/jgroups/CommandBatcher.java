@@ -0,0 +1,227 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.remote.MultipleRpcCommand;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
+/**
+ * Coalesces the commands that do not expect a response into a single {@link MultipleRpcCommand} per destination.
+ * <p>
+ * Every destination has a batch for the commands whose {@link DeliverOrder} preserves the order and a batch for the
+ * others. A batch reaching the maximum size is sent right away by the thread adding the last command. The other
+ * batches wait for the linger in a queue shared by all the destinations, which a single task flushes on the
+ * non-blocking executor, so the timeout executor never sends a message and there is no scheduled task per batch. A
+ * command with a different delivery order than the commands already in its batch, for example
+ * {@link DeliverOrder#PER_SENDER_NO_FC} after {@link DeliverOrder#PER_SENDER}, sends the batch first. A batch holding
+ * a single command sends the command without wrapping it.
+ * <p>
+ * The commands are swapped out of a batch under its lock and sent outside of it, so adding a command never waits for
+ * the channel. The sends of a batch are serialized by a separate lock, taken before the swap, so the commands to a
+ * destination still leave in the order they were added. A message that preserves the order and is sent to a
+ * destination without going through the batcher must {@link #flush(Address) flush} the batch of the destination first.
+ * <p>
+ * The commands do not expect a response, so a batch that cannot be sent is logged and dropped like a lost message.
+ *
+ * @since 16.3
+ */
+final class CommandBatcher {
+   private static final Log log = LogFactory.getLog(CommandBatcher.class);
+
+   interface Sender {
+      void send(Address destination, ReplicableCommand command, DeliverOrder deliverOrder);
+   }
+
+   private static final int UNORDERED = 0;
+   private static final int ORDERED = 1;
+
+   private final Sender sender;
+   private final ScheduledExecutorService timeoutExecutor;
+   private final Executor nonBlockingExecutor;
+   private final long lingerNanos;
+   private final int maxCommands;
+   private final ConcurrentHashMap<Address, Batch[]> batches = new ConcurrentHashMap<>();
+   // The batches waiting for their linger, in the order of their deadlines
+   private final ConcurrentLinkedQueue<Batch> lingering = new ConcurrentLinkedQueue<>();
+   private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+   CommandBatcher(Sender sender, ScheduledExecutorService timeoutExecutor, Executor nonBlockingExecutor, long linger,
+                  TimeUnit unit, int maxCommands) {
+      this.sender = sender;
+      this.timeoutExecutor = timeoutExecutor;
+      this.nonBlockingExecutor = nonBlockingExecutor;
+      this.lingerNanos = unit.toNanos(linger);
+      this.maxCommands = maxCommands;
+   }
+
+   /**
+    * Adds a command to the batch of the destination, and sends the batch if it is full.
+    */
+   void add(Address destination, ReplicableCommand command, DeliverOrder deliverOrder) {
+      batch(destination, deliverOrder).add(command, deliverOrder);
+   }
+
+   /**
+    * Sends the pending commands to the destination whose delivery order must be preserved, if any.
+    */
+   void flush(Address destination) {
+      Batch[] destinationBatches = batches.get(destination);
+      if (destinationBatches != null) {
+         destinationBatches[ORDERED].flush();
+      }
+   }
+
+   /**
+    * Sends all the pending commands.
+    */
+   void flushAll() {
+      for (Batch[] destinationBatches : batches.values()) {
+         destinationBatches[UNORDERED].flush();
+         destinationBatches[ORDERED].flush();
+      }
+   }
+
+   /**
+    * Forgets the batches of the members that left the cluster, dropping their pending commands.
+    */
+   void retainAll(List<Address> members) {
+      batches.keySet().retainAll(members);
+   }
+
+   private Batch batch(Address destination, DeliverOrder deliverOrder) {
+      Batch[] destinationBatches = batches.get(destination);
+      if (destinationBatches == null) {
+         destinationBatches = batches.computeIfAbsent(destination, this::newBatches);
+      }
+      return destinationBatches[deliverOrder.preserveOrder() ? ORDERED : UNORDERED];
+   }
+
+   private Batch[] newBatches(Address destination) {
+      return new Batch[]{new Batch(destination), new Batch(destination)};
+   }
+
+   private void scheduleFlush(long delayNanos) {
+      if (flushScheduled.compareAndSet(false, true)) {
+         try {
+            timeoutExecutor.schedule(this::submitFlush, delayNanos, TimeUnit.NANOSECONDS);
+         } catch (RejectedExecutionException e) {
+            // The cache manager is stopping, and the transport flushes all the batches
+            flushScheduled.set(false);
+         }
+      }
+   }
+
+   private void submitFlush() {
+      try {
+         nonBlockingExecutor.execute(this::flushLingering);
+      } catch (RejectedExecutionException e) {
+         // The cache manager is stopping, and the transport flushes all the batches
+         flushScheduled.set(false);
+      }
+   }
+
+   private void flushLingering() {
+      long now = System.nanoTime();
+      // Only one task runs at a time, so the head cannot change between peek and poll
+      Batch batch;
+      while ((batch = lingering.peek()) != null && batch.lingerDeadline - now <= 0) {
+         lingering.poll();
+         batch.lingerExpired();
+      }
+      flushScheduled.set(false);
+      // A batch queued while flushing could not schedule a new flush
+      Batch next = lingering.peek();
+      if (next != null) {
+         scheduleFlush(Math.max(0, next.lingerDeadline - System.nanoTime()));
+      }
+   }
+
+   private final class Batch {
+      private final Address destination;
+      // Taken before swapping the commands out, so the batches of a destination are sent in order
+      private final Object sendLock = new Object();
+      @GuardedBy("this")
+      private List<ReplicableCommand> commands = new ArrayList<>();
+      @GuardedBy("this")
+      private DeliverOrder deliverOrder;
+      @GuardedBy("this")
+      private boolean inLingerQueue;
+      private volatile long lingerDeadline;
+
+      Batch(Address destination) {
+         this.destination = destination;
+      }
+
+      void add(ReplicableCommand command, DeliverOrder deliverOrder) {
+         boolean full;
+         boolean startLinger = false;
+         while (true) {
+            synchronized (this) {
+               if (commands.isEmpty() || this.deliverOrder == deliverOrder) {
+                  this.deliverOrder = deliverOrder;
+                  commands.add(command);
+                  full = commands.size() >= maxCommands;
+                  if (!full && !inLingerQueue) {
+                     inLingerQueue = true;
+                     lingerDeadline = System.nanoTime() + lingerNanos;
+                     startLinger = true;
+                  }
+                  break;
+               }
+            }
+            // The commands with the previous delivery order must leave first
+            flush();
+         }
+         if (full) {
+            // The batch stays in the linger queue if it is there, and the flush finds it empty or sends newer commands
+            flush();
+         } else if (startLinger) {
+            lingering.add(this);
+            scheduleFlush(lingerNanos);
+         }
+      }
+
+      void lingerExpired() {
+         synchronized (this) {
+            inLingerQueue = false;
+         }
+         flush();
+      }
+
+      void flush() {
+         synchronized (sendLock) {
+            List<ReplicableCommand> toSend;
+            DeliverOrder order;
+            synchronized (this) {
+               if (commands.isEmpty()) {
+                  return;
+               }
+               toSend = commands;
+               order = deliverOrder;
+               commands = new ArrayList<>(Math.min(toSend.size(), maxCommands));
+            }
+            if (log.isTraceEnabled())
+               log.tracef("Sending a batch of %d commands to %s", toSend.size(), destination);
+            try {
+               sender.send(destination, toSend.size() == 1 ? toSend.get(0) : new MultipleRpcCommand(toSend), order);
+            } catch (Throwable t) {
+               log.unableToSendCommandBatch(toSend.size(), destination, t);
+            }
+         }
+      }
+   }
+}
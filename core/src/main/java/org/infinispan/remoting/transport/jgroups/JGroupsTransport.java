@@ -37,6 +37,7 @@
 
 import org.infinispan.commands.ReplicableCommand;
 import org.infinispan.commands.TracedCommand;
+import org.infinispan.commands.remote.MultipleRpcCommand;
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.IllegalLifecycleStateException;
@@ -94,6 +95,7 @@
 import org.infinispan.telemetry.InfinispanTelemetry;
 import org.infinispan.telemetry.SafeAutoClosable;
 import org.infinispan.telemetry.impl.DisabledInfinispanSpan;
+import org.infinispan.util.concurrent.TimeoutWheel;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 import org.infinispan.xsite.XSiteBackup;
@@ -184,6 +186,7 @@ public class JGroupsTransport implements Transport {
    protected ExecutorService nonBlockingExecutor;
    @Inject protected CacheManagerJmxRegistration jmxRegistration;
    @Inject protected JGroupsMetricsManager metricsManager;
+   @Inject protected TimeoutWheel timeoutWheel;
    @Inject InfinispanTelemetry telemetry;
 
    private final Lock viewUpdateLock = new ReentrantLock();
@@ -198,6 +201,7 @@ public class JGroupsTransport implements Transport {
    protected volatile ClusterView clusterView;
    private CompletableFuture<Void> nextViewFuture = new CompletableFuture<>();
    private RequestRepository requests;
+   private volatile CommandBatcher commandBatcher;
    private final NodeVersion version;
    private final Map<String, SiteUnreachableReason> unreachableSites;
    private String localSite;
@@ -306,6 +310,11 @@ public void sendTo(Address destination, ReplicableCommand command, DeliverOrder
       }
       checkCommandCompatibility(command);
       logCommand(command, destination);
+      CommandBatcher batcher = commandBatcher;
+      if (batcher != null && !isMixedVersionCluster()) {
+         batcher.add(destination, command, deliverOrder);
+         return;
+      }
       sendCommandCheckingView(destination, command, Request.NO_REQUEST_ID, deliverOrder);
    }
 
@@ -317,10 +326,55 @@ public void sendToMany(Collection<Address> targets, ReplicableCommand command, D
          sendCommandToAll(command, Request.NO_REQUEST_ID, deliverOrder);
       } else {
          logCommand(command, targets);
+         CommandBatcher batcher = commandBatcher;
+         if (batcher != null && !isMixedVersionCluster()) {
+            // Batching a command for several targets would marshall it once per target, so only one target is batched
+            Address singleTarget = singleRemoteTarget(targets);
+            if (singleTarget != null) {
+               batcher.add(singleTarget, command, deliverOrder);
+               return;
+            }
+         }
          sendCommand(targets, command, Request.NO_REQUEST_ID, deliverOrder);
       }
    }
 
+   /**
+    * @return the only target other than this node, or {@code null} if there are more targets or none
+    */
+   private Address singleRemoteTarget(Collection<Address> targets) {
+      Address singleTarget = null;
+      for (Address target : targets) {
+         if (!target.equals(address)) {
+            if (singleTarget != null) {
+               return null;
+            }
+            singleTarget = target;
+         }
+      }
+      return singleTarget;
+   }
+
+   /**
+    * Sends a command, or a {@link MultipleRpcCommand} wrapping several commands, coalesced by the
+    * {@link CommandBatcher}.
+    */
+   private void sendBatch(Address destination, ReplicableCommand command, DeliverOrder deliverOrder) {
+      ExtendedUUID target = clusterView.getAddressFromView(destination);
+      if (target == null) {
+         // not in view
+         return;
+      }
+      if (command instanceof MultipleRpcCommand batch && isCommandUnsupported(batch)) {
+         // A member older than the batch command joined after the commands were batched
+         for (ReplicableCommand batchedCommand : batch.getCommands()) {
+            doSendForCluster(destination, target, batchedCommand, Request.NO_REQUEST_ID, deliverOrder);
+         }
+         return;
+      }
+      doSendForCluster(destination, target, command, Request.NO_REQUEST_ID, deliverOrder);
+   }
+
    public boolean isMixedVersionCluster() {
       return clusterView.isMixedVersionCluster();
    }
@@ -452,7 +506,12 @@ public void start() {
 
       probeHandler.updateThreadPool(nonBlockingExecutor);
       props = TypedProperties.toTypedProperties(configuration.transport().properties());
-      requests = new RequestRepository(metricsManager, timeoutExecutor, timeService);
+      requests = new RequestRepository(metricsManager, timeoutExecutor, timeoutWheel, timeService);
+      int commandBatchLinger = configuration.transport().commandBatchLinger();
+      if (commandBatchLinger > 0) {
+         commandBatcher = new CommandBatcher(this::sendBatch, timeoutExecutor, nonBlockingExecutor,
+               commandBatchLinger, TimeUnit.MICROSECONDS, configuration.transport().commandBatchSize());
+      }
 
       initChannel();
 
@@ -781,6 +840,10 @@ protected void receiveClusterView(View newView, boolean installIfFirst) {
          }
 
          this.clusterView = newClusterView;
+         CommandBatcher batcher = commandBatcher;
+         if (batcher != null) {
+            batcher.retainAll(newClusterView.getMembers());
+         }
 
          // Create a completable future for the new view
          oldFuture = nextViewFuture;
@@ -826,6 +889,15 @@ protected void receiveClusterView(View newView, boolean installIfFirst) {
    public void stop() {
       running = false;
       requests.stop();
+      CommandBatcher batcher = commandBatcher;
+      if (batcher != null) {
+         try {
+            batcher.flushAll();
+         } catch (Throwable t) {
+            log.debugf(t, "Unable to send the pending command batches");
+         }
+         commandBatcher = null;
+      }
 
       if (channel != null) {
          channel.getProtocolStack().getTransport().unregisterProbeHandler(probeHandler);
@@ -1136,6 +1208,7 @@ private void sendCommandCheckingView(Address destination, Object command, long r
          // not in view
          return;
       }
+      flushCommandBatch(destination, deliverOrder);
       doSendForCluster(destination, target, command, requestId, deliverOrder);
    }
 
@@ -1292,6 +1365,10 @@ public void sendToAll(ReplicableCommand command, DeliverOrder deliverOrder) {
     * Send a command to the entire cluster.
     */
    private void sendCommandToAll(ReplicableCommand command, long requestId, DeliverOrder deliverOrder) {
+      CommandBatcher batcher = commandBatcher;
+      if (batcher != null && deliverOrder.preserveOrder()) {
+         batcher.flushAll();
+      }
       Message message = new BytesMessage();
       marshallRequest(message, command, requestId);
       setMessageFlagsForCluster(message, deliverOrder);
@@ -1375,6 +1452,7 @@ private void sendCommand(Collection<Address> targets, ReplicableCommand command,
             continue;
          }
 
+         flushCommandBatch(address, deliverOrder);
          copy.dest(target);
          send(copy);
 
@@ -1387,6 +1465,16 @@ private void sendCommand(Collection<Address> targets, ReplicableCommand command,
       }
    }
 
+   /**
+    * Sends the commands batched for the destination before a message whose delivery order must be preserved.
+    */
+   private void flushCommandBatch(Address destination, DeliverOrder deliverOrder) {
+      CommandBatcher batcher = commandBatcher;
+      if (batcher != null && deliverOrder.preserveOrder()) {
+         batcher.flush(destination);
+      }
+   }
+
    TimeService getTimeService() {
       return timeService;
    }
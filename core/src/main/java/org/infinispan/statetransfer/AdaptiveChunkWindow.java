@@ -0,0 +1,112 @@
+package org.infinispan.statetransfer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.commons.util.concurrent.CompletableFutures;
+
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
+/**
+ * Limits the number of state chunks that an {@link OutboundTransferTask} sends before the destination applies them.
+ * <p>
+ * The window starts with a single chunk and grows by one chunk with every acknowledgement, up to
+ * {@code max-in-flight-chunks}. When the latency of a full chunk, divided by its number of entries, is more than twice
+ * the lowest latency per entry of a full chunk seen so far, the destination is falling behind and the window is
+ * halved. The latency of a smaller chunk, such as the last chunk of a segment, is mostly the round trip time, so it
+ * would make the destination look slower than it is.
+ * <p>
+ * Only one chunk waits for the window at a time, as the task sends its chunks in order.
+ *
+ * @since 16.3
+ */
+class AdaptiveChunkWindow {
+   private final int maxSize;
+   private final int fullChunkEntries;
+
+   @GuardedBy("this")
+   private int size = 1;
+   @GuardedBy("this")
+   private int inFlight;
+   @GuardedBy("this")
+   private long minLatencyPerEntry = Long.MAX_VALUE;
+   @GuardedBy("this")
+   private CompletableFuture<Void> acquireWaiter;
+   @GuardedBy("this")
+   private CompletableFuture<Void> drainWaiter;
+
+   AdaptiveChunkWindow(int maxSize, int fullChunkEntries) {
+      this.maxSize = maxSize;
+      this.fullChunkEntries = fullChunkEntries;
+   }
+
+   /**
+    * @return a stage that completes when the window has room for one more chunk.
+    */
+   synchronized CompletionStage<Void> acquire() {
+      assert acquireWaiter == null;
+      if (inFlight < size) {
+         inFlight++;
+         return CompletableFutures.completedNull();
+      }
+      acquireWaiter = new CompletableFuture<>();
+      return acquireWaiter;
+   }
+
+   /**
+    * Releases the room of a chunk once the destination acknowledged it.
+    *
+    * @param entries      the number of entries in the chunk
+    * @param latencyNanos the time between sending the chunk and its acknowledgement, or {@code -1} if the chunk failed
+    */
+   void release(int entries, long latencyNanos) {
+      CompletableFuture<Void> waiter = null;
+      synchronized (this) {
+         inFlight--;
+         if (latencyNanos >= 0) {
+            boolean halve = false;
+            if (entries >= fullChunkEntries) {
+               long latencyPerEntry = latencyNanos / entries;
+               if (latencyPerEntry < minLatencyPerEntry) {
+                  minLatencyPerEntry = latencyPerEntry;
+               }
+               halve = latencyPerEntry / 2 > minLatencyPerEntry;
+            }
+            if (halve) {
+               size = Math.max(1, size / 2);
+            } else if (size < maxSize) {
+               size++;
+            }
+         }
+         if (acquireWaiter != null && inFlight < size) {
+            inFlight++;
+            waiter = acquireWaiter;
+            acquireWaiter = null;
+         } else if (drainWaiter != null && inFlight == 0) {
+            waiter = drainWaiter;
+            drainWaiter = null;
+         }
+      }
+      if (waiter != null) {
+         waiter.complete(null);
+      }
+   }
+
+   /**
+    * @return a stage that completes when all the chunks have been acknowledged.
+    */
+   synchronized CompletionStage<Void> drain() {
+      if (inFlight == 0) {
+         return CompletableFutures.completedNull();
+      }
+      drainWaiter = new CompletableFuture<>();
+      return drainWaiter;
+   }
+
+   /**
+    * @return the current number of chunks that can be sent without waiting for an acknowledgement.
+    */
+   synchronized int size() {
+      return size;
+   }
+}
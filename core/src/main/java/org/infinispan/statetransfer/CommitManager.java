@@ -1,8 +1,13 @@
 package org.infinispan.statetransfer;
 
 import static org.infinispan.commons.util.Util.toStr;
+import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.PRIVATE;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -11,6 +16,7 @@
 import org.infinispan.commons.util.ByRef;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.entries.ReadCommittedEntry;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.context.Flag;
@@ -19,6 +25,7 @@
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -42,6 +49,7 @@ public class CommitManager {
    @Inject InternalDataContainer dataContainer;
    @Inject PersistenceManager persistenceManager;
    @Inject TimeService timeService;
+   @Inject MarshallableEntryFactory<Object, Object> marshallableEntryFactory;
 
    private volatile boolean trackStateTransfer;
    private volatile boolean trackXSiteStateTransfer;
@@ -125,6 +133,7 @@ public final CompletionStage<Void> commit(final CacheEntry entry, final Flag ope
          return CompletableFutures.completedNull();
       }
       ByRef<CompletionStage<Void>> byRef = new ByRef<>(null);
+      ByRef<CompletableFuture<Void>> stateWrittenRef = new ByRef<>(null);
       Function<DiscardPolicy, DiscardPolicy> renewPolicy = discardPolicy -> {
          if (discardPolicy != null && discardPolicy.ignore(operation)) {
             if (log.isTraceEnabled()) {
@@ -134,6 +143,13 @@ public final CompletionStage<Void> commit(final CacheEntry entry, final Flag ope
             return discardPolicy;
          }
          byRef.set(commitEntry(entry, segment, ctx));
+         if (discardPolicy != null && discardPolicy.stateWritten != null) {
+            if (operation == Flag.PUT_FOR_STATE_TRANSFER) {
+               return discardPolicy;
+            }
+            // The state being written may overwrite the entry this operation wrote to the stores before committing
+            stateWrittenRef.set(discardPolicy.stateWritten);
+         }
          DiscardPolicy newDiscardPolicy = calculateDiscardPolicy(operation);
          if (log.isTraceEnabled()) {
             log.tracef("Committed key=%s. Old discard policy=%s. New discard policy=%s", toStr(entry.getKey()),
@@ -155,12 +171,87 @@ public final CompletionStage<Void> commit(final CacheEntry entry, final Flag ope
          return entries;
       });
       CompletionStage<Void> stage = byRef.get();
+      CompletableFuture<Void> stateWritten = stateWrittenRef.get();
+      if (stateWritten != null) {
+         return stateWritten.thenCombine(stage, (ignore1, ignore2) -> null)
+               .thenCompose(ignore -> rewriteToStores(entry.getKey(), segment));
+      }
       if (stage != null) {
          return stage;
       }
       return CompletableFutures.completedNull();
    }
 
+   /**
+    * Writes entries received with the {@code operation} flag to the private stores, before they are committed. The
+    * entries of the keys updated by another operation since the tracking started are not written.
+    * <p>
+    * The other operations write their entry to the stores before committing it, so the state written here may
+    * overwrite the entry of an operation committing the same key concurrently. The commit of such an operation waits
+    * for the state to be written, and then writes the committed entry to the stores again.
+    *
+    * @param writer writes the entries that are not discarded to the stores
+    * @return the stage returned by the writer, or a completed stage if all the entries are discarded
+    */
+   public final CompletionStage<Void> writeToStores(Flag operation, int segment,
+                                                    Collection<? extends CacheEntry<?, ?>> entries,
+                                                    Function<List<CacheEntry<?, ?>>, CompletionStage<Void>> writer) {
+      if (isTrackDisabled(operation)) {
+         return CompletableFutures.completedNull();
+      }
+      CompletableFuture<Void> stateWritten = new CompletableFuture<>();
+      List<CacheEntry<?, ?>> toWrite = new ArrayList<>(entries.size());
+      tracker.compute(segment, (s, keys) -> {
+         if (keys == null) {
+            keys = new ConcurrentHashMap<>();
+         }
+         for (CacheEntry<?, ?> entry : entries) {
+            keys.compute(entry.getKey(), (key, discardPolicy) -> {
+               if (discardPolicy != null && discardPolicy.ignore(operation)) {
+                  return discardPolicy;
+               }
+               toWrite.add(entry);
+               return DiscardPolicy.writing(discardPolicy, stateWritten);
+            });
+         }
+         return keys.isEmpty() ? null : keys;
+      });
+      if (log.isTraceEnabled()) {
+         log.tracef("Writing %d of %d entries of segment %d to the stores", toWrite.size(), entries.size(), segment);
+      }
+      if (toWrite.isEmpty()) {
+         return CompletableFutures.completedNull();
+      }
+      CompletionStage<Void> stage;
+      try {
+         stage = writer.apply(toWrite);
+      } catch (Throwable t) {
+         stage = CompletableFuture.failedFuture(t);
+      }
+      return stage.whenComplete((ignore, t) -> {
+         tracker.computeIfPresent(segment, (s, keys) -> {
+            for (CacheEntry<?, ?> entry : toWrite) {
+               keys.computeIfPresent(entry.getKey(), (key, discardPolicy) ->
+                     discardPolicy.stateWritten == stateWritten ? discardPolicy.written() : discardPolicy);
+            }
+            return keys.isEmpty() ? null : keys;
+         });
+         stateWritten.complete(null);
+      });
+   }
+
+   private CompletionStage<Void> rewriteToStores(Object key, int segment) {
+      InternalCacheEntry<Object, Object> current = dataContainer.peek(segment, key);
+      if (log.isTraceEnabled()) {
+         log.tracef("Writing key=%s to the stores again after the state was written", toStr(key));
+      }
+      if (current == null) {
+         return persistenceManager.deleteFromAllStores(key, segment, PRIVATE)
+               .thenApply(CompletableFutures.toNullFunction());
+      }
+      return persistenceManager.writeToAllNonTxStores(marshallableEntryFactory.create(current), segment, PRIVATE);
+   }
+
    private CompletionStage<Void> commitEntry(CacheEntry entry, int segment, InvocationContext ctx) {
       if (entry instanceof ReadCommittedEntry) {
          return ((ReadCommittedEntry) entry).commit(segment, dataContainer);
@@ -230,10 +321,30 @@ private DiscardPolicy calculateDiscardPolicy(Flag operation) {
    private static class DiscardPolicy {
       private boolean discardST;
       private boolean discardXSiteST;
+      // Completed when the state written to the stores for the key is written, or null
+      private final CompletableFuture<Void> stateWritten;
 
       private DiscardPolicy(boolean discardST, boolean discardXSiteST) {
+         this(discardST, discardXSiteST, null);
+      }
+
+      private DiscardPolicy(boolean discardST, boolean discardXSiteST, CompletableFuture<Void> stateWritten) {
          this.discardST = discardST;
          this.discardXSiteST = discardXSiteST;
+         this.stateWritten = stateWritten;
+      }
+
+      static DiscardPolicy writing(DiscardPolicy discardPolicy, CompletableFuture<Void> stateWritten) {
+         if (discardPolicy == null) {
+            return new DiscardPolicy(false, false, stateWritten);
+         }
+         synchronized (discardPolicy) {
+            return new DiscardPolicy(discardPolicy.discardST, discardPolicy.discardXSiteST, stateWritten);
+         }
+      }
+
+      synchronized DiscardPolicy written() {
+         return discardST || discardXSiteST ? new DiscardPolicy(discardST, discardXSiteST) : null;
       }
 
       public final synchronized boolean ignore(Flag operation) {
@@ -244,7 +355,8 @@ public final synchronized boolean ignore(Flag operation) {
       public synchronized boolean update(boolean discardST, boolean discardXSiteST) {
          this.discardST = discardST;
          this.discardXSiteST = discardXSiteST;
-         return !this.discardST && !this.discardXSiteST;
+         // The writer of the state removes the policy once the state is written
+         return !this.discardST && !this.discardXSiteST && stateWritten == null;
       }
 
       public boolean stopForST() {
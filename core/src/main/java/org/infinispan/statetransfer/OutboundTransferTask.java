@@ -5,13 +5,21 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.IntToLongFunction;
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commands.statetransfer.StateResponseCommand;
 import org.infinispan.commons.IllegalLifecycleStateException;
+import org.infinispan.commons.time.DefaultTimeService;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
@@ -33,6 +41,13 @@
  * Outbound state transfer task. Pushes data segments to another cluster member on request. Instances of
  * OutboundTransferTask are created and managed by StateTransferManagerImpl. There should be at most
  * one such task per destination at any time.
+ * <p>
+ * The task keeps up to {@code max-in-flight-chunks} chunks in flight, so that the destination applies a chunk while
+ * the next ones are read and sent. The number of chunks in flight adapts to the latency of the destination, see
+ * {@link AdaptiveChunkWindow}, and the chunks are sent within the bandwidth budget of the node, see
+ * {@link StateTransferRateLimiter}. The last chunk of a segment is only sent after the destination applied all the
+ * other chunks of the segment, because the destination considers the segment transferred once it applies the last
+ * chunk.
  *
  * @author anistor@redhat.com
  * @since 5.2
@@ -63,11 +78,49 @@ public class OutboundTransferTask {
 
    private final RpcOptions rpcOptions;
 
+   private final AdaptiveChunkWindow window;
+
+   private final StateTransferRateLimiter rateLimiter;
+
+   private final TimeService timeService;
+
+   /**
+    * The acknowledgements of the chunks in flight for each segment, that the last chunk of the segment waits for.
+    */
+   private final Map<Integer, CompletableFuture<Void>> pendingSegmentChunks = new ConcurrentHashMap<>();
+
+   private final int totalSegments;
+
+   private final long[] expectedEntries;
+
+   private final AtomicLongArray sentEntries;
+
+   private final AtomicInteger completedSegments = new AtomicInteger();
+
+   private final LongAdder sentBytes = new LongAdder();
+
+   private volatile long startNanos;
+
    private volatile boolean cancelled;
 
    public OutboundTransferTask(Address destination, IntSet segments, int segmentCount, int chunkSize, int topologyId,
                                Consumer<Collection<StateChunk>> onChunkReplicated, RpcManager rpcManager,
                                CommandsFactory commandsFactory, long timeout, String cacheName, boolean applyState) {
+      this(destination, segments, segmentCount, chunkSize, 1, topologyId, onChunkReplicated, rpcManager,
+           commandsFactory, timeout, cacheName, applyState, null, DefaultTimeService.INSTANCE, s -> 0);
+   }
+
+   /**
+    * @param maxInFlightChunks the maximum number of chunks sent before the destination applies them
+    * @param rateLimiter       the bandwidth budget of the node, or {@code null} to send the chunks without limit
+    * @param segmentSizes      the estimated number of entries of each segment, for the progress of the transfer
+    */
+   public OutboundTransferTask(Address destination, IntSet segments, int segmentCount, int chunkSize,
+                               int maxInFlightChunks, int topologyId,
+                               Consumer<Collection<StateChunk>> onChunkReplicated, RpcManager rpcManager,
+                               CommandsFactory commandsFactory, long timeout, String cacheName, boolean applyState,
+                               StateTransferRateLimiter rateLimiter, TimeService timeService,
+                               IntToLongFunction segmentSizes) {
       if (segments == null || segments.isEmpty()) {
          throw new IllegalArgumentException("Segments must not be null or empty");
       }
@@ -77,6 +130,9 @@ public OutboundTransferTask(Address destination, IntSet segments, int segmentCou
       if (chunkSize <= 0) {
          throw new IllegalArgumentException("chunkSize must be greater than 0");
       }
+      if (maxInFlightChunks <= 0) {
+         throw new IllegalArgumentException("maxInFlightChunks must be greater than 0");
+      }
       this.onChunkReplicated = onChunkReplicated;
       this.destination = destination;
       this.segments = IntSets.concurrentCopyFrom(segments, segmentCount);
@@ -89,6 +145,14 @@ public OutboundTransferTask(Address destination, IntSet segments, int segmentCou
       this.applyState = applyState;
 
       this.rpcOptions = new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS);
+      this.window = new AdaptiveChunkWindow(maxInFlightChunks, chunkSize);
+      this.rateLimiter = rateLimiter;
+      this.timeService = timeService;
+
+      this.totalSegments = segments.size();
+      this.expectedEntries = new long[segmentCount];
+      segments.forEach((int segment) -> expectedEntries[segment] = segmentSizes.applyAsLong(segment));
+      this.sentEntries = new AtomicLongArray(segmentCount);
    }
 
    public Address getDestination() {
@@ -111,6 +175,7 @@ public int getTopologyId() {
     * @param notifications a {@code Flowable} with all the entries that need to be sent
     */
    public CompletionStage<Void> execute(Flowable<SegmentPublisherSupplier.Notification<InternalCacheEntry<?, ?>>> notifications) {
+      startNanos = timeService.time();
       return notifications
             .buffer(chunkSize)
             .takeUntil(batch -> cancelled)
@@ -139,31 +204,72 @@ public CompletionStage<Void> execute(Flowable<SegmentPublisherSupplier.Notificat
 
                return Completable.fromCompletionStage(sendChunks(chunks));
             }, 1)
+            // Wait for the destination to apply the chunks still in flight
+            .andThen(Completable.defer(() -> Completable.fromCompletionStage(window.drain())))
             .toCompletionStage(null);
    }
 
+   /**
+    * Sends the chunks once the window and the bandwidth budget allow it.
+    *
+    * @return a stage that completes when the chunks are sent, before the destination applies them
+    */
    private CompletionStage<Void> sendChunks(Map<Integer, StateChunk> chunks) {
       if (chunks.isEmpty())
          return CompletableFutures.completedNull();
 
+      CompletionStage<Void> previousChunks = CompletableFutures.completedNull();
+      for (StateChunk chunk : chunks.values()) {
+         if (chunk.isLastChunk()) {
+            CompletableFuture<Void> pending = pendingSegmentChunks.remove(chunk.getSegmentId());
+            if (pending != null) {
+               previousChunks = previousChunks.thenCompose(ignore -> pending);
+            }
+         }
+      }
+      long bytes = estimateSize(chunks);
+      CompletionStage<Void> waitForPreviousChunks = previousChunks;
+      return window.acquire()
+            .thenCompose(ignore -> waitForPreviousChunks)
+            .thenCompose(ignore -> bytes > 0 ? rateLimiter.acquire(bytes) : CompletableFutures.completedNull())
+            .thenRun(() -> invokeStateResponse(chunks, bytes));
+   }
+
+   private void invokeStateResponse(Map<Integer, StateChunk> chunks, long bytes) {
+      if (cancelled) {
+         window.release(0, -1);
+         return;
+      }
+      int entries = chunks.values().stream().mapToInt(v -> v.getCacheEntries().size()).sum();
       if (log.isTraceEnabled()) {
-         long entriesSize = chunks.values().stream().mapToInt(v -> v.getCacheEntries().size()).sum();
-         log.tracef("Sending to node %s %d cache entries from segments %s", destination, entriesSize, chunks.keySet());
+         log.tracef("Sending to node %s %d cache entries from segments %s", destination, entries, chunks.keySet());
       }
 
+      CompletableFuture<Void> applied = new CompletableFuture<>();
+      for (StateChunk chunk : chunks.values()) {
+         if (!chunk.isLastChunk()) {
+            pendingSegmentChunks.merge(chunk.getSegmentId(), applied,
+                  (previous, next) -> previous.isDone() ? next : CompletableFuture.allOf(previous, next));
+         }
+      }
       StateResponseCommand cmd = commandsFactory.buildStateResponseCommand(topologyId, chunks.values(), applyState);
+      long sendNanos = timeService.time();
       try {
-         return rpcManager.invokeCommand(destination, cmd, SingleResponseCollector.validOnly(), rpcOptions)
-                          .handle((response, throwable) -> {
-                             if (throwable == null) {
-                                onChunkReplicated.accept(chunks.values());
-                                return null;
-                             }
-
-                             logSendException(throwable);
-                             cancel();
-                             return null;
-                          });
+         rpcManager.invokeCommand(destination, cmd, SingleResponseCollector.validOnly(), rpcOptions)
+                   .whenComplete((response, throwable) -> {
+                      long latencyNanos = -1;
+                      if (throwable == null) {
+                         latencyNanos = timeService.timeDuration(sendNanos, TimeUnit.NANOSECONDS);
+                         onChunksApplied(chunks, bytes);
+                         onChunkReplicated.accept(chunks.values());
+                      } else {
+                         logSendException(throwable);
+                         cancel();
+                      }
+                      applied.complete(null);
+                      window.release(entries, latencyNanos);
+                   });
+         return;
       } catch (IllegalLifecycleStateException e) {
          // Manager is shutting down, ignore the error
          cancel();
@@ -171,7 +277,34 @@ private CompletionStage<Void> sendChunks(Map<Integer, StateChunk> chunks) {
          logSendException(e);
          cancel();
       }
-      return CompletableFutures.completedNull();
+      applied.complete(null);
+      window.release(0, -1);
+   }
+
+   private long estimateSize(Map<Integer, StateChunk> chunks) {
+      if (rateLimiter == null || !rateLimiter.isEnabled())
+         return 0;
+
+      long bytes = 0;
+      for (StateChunk chunk : chunks.values()) {
+         for (InternalCacheEntry<?, ?> entry : chunk.getCacheEntries()) {
+            bytes += rateLimiter.estimateSize(entry);
+         }
+      }
+      return bytes;
+   }
+
+   private void onChunksApplied(Map<Integer, StateChunk> chunks, long bytes) {
+      for (StateChunk chunk : chunks.values()) {
+         sentEntries.addAndGet(chunk.getSegmentId(), chunk.getCacheEntries().size());
+         if (chunk.isLastChunk()) {
+            completedSegments.incrementAndGet();
+         }
+      }
+      if (bytes > 0) {
+         sentBytes.add(bytes);
+         rateLimiter.bytesSent(bytes);
+      }
    }
 
    private void logSendException(Throwable throwable) {
@@ -217,6 +350,79 @@ public boolean isCancelled() {
       return cancelled;
    }
 
+   /**
+    * @return the number of segments requested by the destination, including the cancelled ones.
+    */
+   public int getTotalSegments() {
+      return totalSegments;
+   }
+
+   /**
+    * @return the number of segments fully applied by the destination.
+    */
+   public int getCompletedSegments() {
+      return completedSegments.get();
+   }
+
+   /**
+    * @return the number of entries of the segment applied by the destination.
+    */
+   public long getSentEntries(int segment) {
+      return sentEntries.get(segment);
+   }
+
+   /**
+    * @return the number of entries applied by the destination.
+    */
+   public long getSentEntries() {
+      long sent = 0;
+      for (int i = 0; i < sentEntries.length(); i++) {
+         sent += sentEntries.get(i);
+      }
+      return sent;
+   }
+
+   /**
+    * @return the estimated number of entries of the segment, from the in-memory entries when the task started.
+    */
+   public long getExpectedEntries(int segment) {
+      return expectedEntries[segment];
+   }
+
+   /**
+    * @return the estimated number of entries to send, from the in-memory entries when the task started.
+    */
+   public long getExpectedEntries() {
+      long expected = 0;
+      for (long segmentEntries : expectedEntries) {
+         expected += segmentEntries;
+      }
+      return expected;
+   }
+
+   /**
+    * @return the estimated number of bytes applied by the destination, or {@code 0} without a bandwidth budget.
+    */
+   public long getSentBytes() {
+      return sentBytes.sum();
+   }
+
+   /**
+    * @return the estimated time in milliseconds until the destination applies all the entries, from the rate of the
+    * transfer so far, or {@code -1} if the destination has not applied any entry yet.
+    */
+   public long getEstimatedRemainingMillis() {
+      if (completedSegments.get() >= totalSegments) {
+         return 0;
+      }
+      long sent = getSentEntries();
+      if (sent == 0) {
+         return -1;
+      }
+      long remaining = Math.max(0, getExpectedEntries() - sent);
+      return remaining * timeService.timeDuration(startNanos, TimeUnit.MILLISECONDS) / sent;
+   }
+
    @Override
    public String toString() {
       return "OutboundTransferTask{" +
@@ -224,6 +430,7 @@ public String toString() {
             ", destination=" + destination +
             ", segments=" + segments +
             ", chunkSize=" + chunkSize +
+            ", window=" + window.size() +
             ", timeout=" + timeout +
             ", cacheName='" + cacheName + '\'' +
             '}';
@@ -86,6 +86,9 @@
 import org.infinispan.notifications.cachelistener.annotation.DataRehashed;
 import org.infinispan.notifications.cachelistener.cluster.ClusterListenerReplicateCallable;
 import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
+import org.infinispan.persistence.spi.NonBlockingStore.Characteristic;
 import org.infinispan.reactive.publisher.impl.ClusterPublisherManager;
 import org.infinispan.reactive.publisher.impl.LocalPublisherManager;
 import org.infinispan.reactive.publisher.impl.SegmentPublisherSupplier;
@@ -154,6 +157,7 @@ public class StateConsumerImpl implements StateConsumer {
    @Inject protected TransactionTable transactionTable;       // optional
    @Inject protected InternalDataContainer<Object, Object> dataContainer;
    @Inject protected PersistenceManager persistenceManager;
+   @Inject protected MarshallableEntryFactory<Object, Object> marshallableEntryFactory;
    @Inject protected AsyncInterceptorChain interceptorChain;
    @Inject protected InvocationContextFactory icf;
    @Inject protected StateTransferLock stateTransferLock;
@@ -753,17 +757,59 @@ CompletionStage<?> doApplyState(Address sender, int segmentId,
          return applyStateInTransaction(segmentId, cacheEntries.iterator());
       } else {
          // non-tx cache
-         AggregateCompletionStage<Void> aggregateStage = CompletionStages.aggregateCompletionStage();
-         for (InternalCacheEntry<?, ?> e : cacheEntries) {
-            InvocationContext ctx = icf.createSingleKeyNonTxInvocationContext();
-            CompletionStage<?> putStage = invokePut(segmentId, ctx, e);
-            aggregateStage.dependsOn(putStage.exceptionally(t -> {
-               logApplyException(t, e.getKey());
-               return null;
-            }));
+         if (isStoreBatchEnabled()) {
+            return commitManager.writeToStores(PUT_FOR_STATE_TRANSFER, segmentId, cacheEntries, this::writeStateToStores)
+                  .handle((ignore, t) -> {
+                     if (t == null) {
+                        return STATE_TRANSFER_FLAGS | FlagBitSets.SKIP_CACHE_STORE;
+                     }
+                     // The commands write the entries to the stores one by one
+                     log.debugf(t, "Cannot write the state of segment %d of cache %s to the stores in a batch",
+                           segmentId, cacheName);
+                     return STATE_TRANSFER_FLAGS;
+                  })
+                  .thenCompose(flags -> applyStateNonTx(segmentId, cacheEntries, flags));
+         }
+         return applyStateNonTx(segmentId, cacheEntries, STATE_TRANSFER_FLAGS);
+      }
+   }
+
+   private CompletionStage<Void> applyStateNonTx(int segmentId, Collection<InternalCacheEntry<?, ?>> cacheEntries,
+                                                 long flags) {
+      AggregateCompletionStage<Void> aggregateStage = CompletionStages.aggregateCompletionStage();
+      for (InternalCacheEntry<?, ?> e : cacheEntries) {
+         InvocationContext ctx = icf.createSingleKeyNonTxInvocationContext();
+         CompletionStage<?> putStage = invokePut(segmentId, ctx, e, flags);
+         aggregateStage.dependsOn(putStage.exceptionally(t -> {
+            logApplyException(t, e.getKey());
+            return null;
+         }));
+      }
+      return aggregateStage.freeze();
+   }
+
+   private boolean isStoreBatchEnabled() {
+      // With passivation the state is only written to the stores when it is evicted
+      return persistenceManager.isEnabled() && !configuration.persistence().passivation() &&
+            persistenceManager.writersHaveCharacteristic(Characteristic.BULK_WRITE, PRIVATE);
+   }
+
+   /**
+    * Writes the entries of a state chunk to the private stores in a single batch, before they are applied to the data
+    * container without writing them to the stores again. The stores write the chunk in bulk instead of writing the
+    * entries one by one.
+    */
+   private CompletionStage<Void> writeStateToStores(List<CacheEntry<?, ?>> cacheEntries) {
+      List<MarshallableEntry<Object, Object>> entries = new ArrayList<>(cacheEntries.size());
+      for (CacheEntry<?, ?> e : cacheEntries) {
+         if (e.getValue() != null) {
+            entries.add(marshallableEntryFactory.create((InternalCacheEntry<Object, Object>) e));
          }
-         return aggregateStage.freeze();
       }
+      if (entries.isEmpty()) {
+         return CompletableFutures.completedNull();
+      }
+      return persistenceManager.writeEntries(entries, PRIVATE);
    }
 
    private CompletionStage<?> applyStateInTransaction(int segmentId,
@@ -863,10 +909,14 @@ private CompletionStage<?> invokeRollback(LocalTransaction localTransaction) {
    }
 
    private CompletableFuture<?> invokePut(int segmentId, InvocationContext ctx, CacheEntry<?, ?> e) {
+      return invokePut(segmentId, ctx, e, STATE_TRANSFER_FLAGS);
+   }
+
+   private CompletableFuture<?> invokePut(int segmentId, InvocationContext ctx, CacheEntry<?, ?> e, long flags) {
       // CallInterceptor will preserve the timestamps if the metadata is an InternalMetadataImpl instance
       InternalMetadataImpl metadata = new InternalMetadataImpl((InternalCacheEntry<?, ?>) e);
       PutKeyValueCommand put = commandsFactory.buildPutKeyValueCommand(e.getKey(), e.getValue(), segmentId,
-                                                                       metadata, STATE_TRANSFER_FLAGS);
+                                                                       metadata, flags);
       put.setInternalMetadata(e.getInternalMetadata());
       ctx.setLockOwner(put.getKeyLockOwner());
       return interceptorChain.invokeAsync(ctx, put);
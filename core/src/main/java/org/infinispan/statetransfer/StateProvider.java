@@ -68,6 +68,28 @@ public interface StateProvider {
     */
    void cancelOutboundTransfer(Address destination, int topologyId, IntSet segments);
 
+   /**
+    * @return the number of entries that the destinations of the outbound transfers in progress have applied.
+    */
+   long getOutboundTransferSentEntries();
+
+   /**
+    * @return the estimated number of entries of the outbound transfers in progress, from the in-memory entries when
+    * the transfers started.
+    */
+   long getOutboundTransferExpectedEntries();
+
+   /**
+    * @return the estimated time in milliseconds until the outbound transfers in progress complete, or {@code -1} if
+    * it is not known yet.
+    */
+   long getOutboundTransferEstimatedRemainingMillis();
+
+   /**
+    * @return a description of the progress of each outbound transfer in progress and of each of its segments.
+    */
+   String getOutboundTransferProgress();
+
    void start();
 
    /**
@@ -19,6 +19,7 @@
 import java.util.function.Function;
 
 import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.EnumUtil;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
@@ -87,9 +88,12 @@ public class StateProviderImpl implements StateProvider {
    @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR)
    @Inject ScheduledExecutorService timeoutExecutor;
    @Inject StateTransferTracker stateTracker;
+   @Inject StateTransferRateLimiter rateLimiter;
+   @Inject TimeService timeService;
 
    protected long timeout;
    protected int chunkSize;
+   protected int maxInFlightChunks;
 
    /**
     * A map that keeps track of current outbound state transfers by destination address. There could be multiple transfers
@@ -145,6 +149,7 @@ public CompletableFuture<Void> onTopologyUpdate(CacheTopology cacheTopology, boo
    public void start() {
       timeout = configuration.clustering().stateTransfer().timeout();
       chunkSize = configuration.clustering().stateTransfer().chunkSize();
+      maxInFlightChunks = configuration.clustering().stateTransfer().maxInFlightChunks();
    }
 
    @Stop
@@ -297,8 +302,9 @@ public void startOutboundTransfer(Address destination, int requestTopologyId, In
       // the destination node must already have an InboundTransferTask waiting for these segments
       OutboundTransferTask outboundTransfer =
          new OutboundTransferTask(destination, segments, this.configuration.clustering().hash().numSegments(),
-                                  chunkSize, requestTopologyId, chunks -> {}, rpcManager,
-                                  commandsFactory, timeout, cacheName, applyState);
+                                  chunkSize, maxInFlightChunks, requestTopologyId, chunks -> {}, rpcManager,
+                                  commandsFactory, timeout, cacheName, applyState, rateLimiter, timeService,
+                                  segment -> dataContainer.sizeIncludingExpired(IntSets.immutableSet(segment)));
       addTransfer(outboundTransfer);
       outboundTransfer.execute(readEntries(segments))
                       .whenComplete((ignored, throwable) -> {
@@ -334,6 +340,70 @@ protected void addTransfer(OutboundTransferTask transferTask) {
       }
    }
 
+   @Override
+   public long getOutboundTransferSentEntries() {
+      long sent = 0;
+      synchronized (transfersByDestination) {
+         for (List<OutboundTransferTask> transfers : transfersByDestination.values()) {
+            for (OutboundTransferTask transfer : transfers) {
+               sent += transfer.getSentEntries();
+            }
+         }
+      }
+      return sent;
+   }
+
+   @Override
+   public long getOutboundTransferExpectedEntries() {
+      long expected = 0;
+      synchronized (transfersByDestination) {
+         for (List<OutboundTransferTask> transfers : transfersByDestination.values()) {
+            for (OutboundTransferTask transfer : transfers) {
+               expected += transfer.getExpectedEntries();
+            }
+         }
+      }
+      return expected;
+   }
+
+   @Override
+   public long getOutboundTransferEstimatedRemainingMillis() {
+      long remaining = 0;
+      synchronized (transfersByDestination) {
+         for (List<OutboundTransferTask> transfers : transfersByDestination.values()) {
+            for (OutboundTransferTask transfer : transfers) {
+               long transferRemaining = transfer.getEstimatedRemainingMillis();
+               if (transferRemaining < 0) {
+                  return -1;
+               }
+               // The transfers run in parallel
+               remaining = Math.max(remaining, transferRemaining);
+            }
+         }
+      }
+      return remaining;
+   }
+
+   @Override
+   public String getOutboundTransferProgress() {
+      StringBuilder sb = new StringBuilder();
+      synchronized (transfersByDestination) {
+         for (List<OutboundTransferTask> transfers : transfersByDestination.values()) {
+            for (OutboundTransferTask transfer : transfers) {
+               sb.append(transfer.getDestination()).append(": ")
+                 .append(transfer.getCompletedSegments()).append('/').append(transfer.getTotalSegments())
+                 .append(" segments, ").append(transfer.getSentBytes()).append(" bytes, ")
+                 .append(transfer.getEstimatedRemainingMillis()).append(" ms remaining\n");
+               transfer.getSegments().forEach((int segment) ->
+                     sb.append("  segment ").append(segment).append(": ")
+                       .append(transfer.getSentEntries(segment)).append('/')
+                       .append(transfer.getExpectedEntries(segment)).append(" entries\n"));
+            }
+         }
+      }
+      return sb.toString();
+   }
+
    @Override
    public void cancelOutboundTransfer(Address destination, int topologyId, IntSet segments) {
       if (log.isTraceEnabled()) {
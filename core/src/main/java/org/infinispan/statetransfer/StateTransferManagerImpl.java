@@ -34,6 +34,8 @@
 import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.partitionhandling.AvailabilityMode;
 import org.infinispan.partitionhandling.impl.PartitionHandlingManager;
@@ -316,6 +318,26 @@ public long getInflightTransactionalSegmentCount() {
       return stateConsumer.inflightTransactionSegmentCount();
    }
 
+   @ManagedAttribute(description = "The number of entries that other nodes applied from the outbound state transfers of the local node", displayName = "Outbound state transfer entries", dataType = DataType.MEASUREMENT)
+   public long getOutboundTransferSentEntries() {
+      return stateProvider.getOutboundTransferSentEntries();
+   }
+
+   @ManagedAttribute(description = "The estimated number of entries of the outbound state transfers of the local node", displayName = "Outbound state transfer expected entries", dataType = DataType.MEASUREMENT)
+   public long getOutboundTransferExpectedEntries() {
+      return stateProvider.getOutboundTransferExpectedEntries();
+   }
+
+   @ManagedAttribute(description = "The estimated time in milliseconds until the outbound state transfers of the local node complete, or -1 if it is not known yet", displayName = "Outbound state transfer remaining time", dataType = DataType.MEASUREMENT, units = Units.MILLISECONDS)
+   public long getOutboundTransferEstimatedRemainingTime() {
+      return stateProvider.getOutboundTransferEstimatedRemainingMillis();
+   }
+
+   @ManagedOperation(description = "Describes the progress of each outbound state transfer of the local node and of each of its segments", displayName = "Outbound state transfer progress")
+   public String outboundTransferProgress() {
+      return stateProvider.getOutboundTransferProgress();
+   }
+
    @Override
    public StateConsumer getStateConsumer() {
       return stateConsumer;
@@ -0,0 +1,171 @@
+package org.infinispan.statetransfer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.concurrent.CompletableFutures;
+import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.marshall.persistence.PersistenceMarshaller;
+import org.infinispan.util.concurrent.NonBlockingManager;
+
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
+/**
+ * Limits the rate at which the node sends state to other nodes, for all the caches, to the
+ * {@code state-transfer-bandwidth} of the transport.
+ * <p>
+ * The limiter is a token bucket holding up to one second of bandwidth. A chunk larger than the available tokens is
+ * still sent, after a delay long enough for the bucket to refill, so the chunks are never split. The size of a chunk is
+ * estimated from its entries before it is marshalled: keys and values stored as bytes count with their length, and the
+ * other objects with the size estimate of the persistence marshaller. The sizes are only estimated when the bandwidth
+ * is limited, so without a limit no bytes are recorded.
+ *
+ * @since 16.3
+ */
+@Scope(Scopes.GLOBAL)
+@MBean(objectName = "StateTransferRateLimiter", description = "Limits the rate at which the node sends state to other nodes")
+public class StateTransferRateLimiter {
+   // Rough size of the metadata and of the framing of an entry in a state chunk
+   private static final int ENTRY_OVERHEAD = 32;
+   private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+   @Inject GlobalConfiguration globalConfiguration;
+   @Inject TimeService timeService;
+   @Inject NonBlockingManager nonBlockingManager;
+   @Inject @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR)
+   ScheduledExecutorService timeoutExecutor;
+   @Inject @ComponentName(KnownComponentNames.PERSISTENCE_MARSHALLER)
+   PersistenceMarshaller persistenceMarshaller;
+
+   private final LongAdder bytesSent = new LongAdder();
+   private long bytesPerSecond;
+
+   @GuardedBy("this")
+   private long availableBytes;
+   @GuardedBy("this")
+   private long lastRefillNanos;
+   @GuardedBy("this")
+   private long currentSecond;
+   @GuardedBy("this")
+   private long currentSecondBytes;
+   @GuardedBy("this")
+   private long lastSecondBytes;
+
+   @Start
+   void start() {
+      bytesPerSecond = globalConfiguration.transport().stateTransferBandwidth() * 1024L * 1024L;
+      synchronized (this) {
+         availableBytes = bytesPerSecond;
+         lastRefillNanos = timeService.time();
+      }
+   }
+
+   /**
+    * @return {@code true} if the bandwidth is limited, and the sizes of the chunks must be estimated.
+    */
+   public boolean isEnabled() {
+      return bytesPerSecond > 0;
+   }
+
+   /**
+    * @return the estimated number of bytes of the entry once marshalled in a state chunk.
+    */
+   public long estimateSize(InternalCacheEntry<?, ?> entry) {
+      return ENTRY_OVERHEAD + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+   }
+
+   private long estimateSize(Object o) {
+      if (o == null) {
+         return 0;
+      }
+      if (o instanceof WrappedBytes wrappedBytes) {
+         return wrappedBytes.getLength();
+      }
+      return persistenceMarshaller.sizeEstimate(o);
+   }
+
+   /**
+    * Waits until the node can send {@code bytes} more bytes of state without exceeding the bandwidth budget.
+    *
+    * @return a stage that completes on a non-blocking thread when the bytes can be sent
+    */
+   public CompletionStage<Void> acquire(long bytes) {
+      if (!isEnabled()) {
+         return CompletableFutures.completedNull();
+      }
+      long delayNanos;
+      synchronized (this) {
+         long now = timeService.time();
+         // The bucket holds one second of bandwidth, and a longer time would overflow the product
+         long elapsedNanos = Math.min(timeService.timeDuration(lastRefillNanos, now, TimeUnit.NANOSECONDS), NANOS_PER_SECOND);
+         long refill = (long) ((double) elapsedNanos * bytesPerSecond / NANOS_PER_SECOND);
+         if (refill > 0) {
+            availableBytes = Math.min(bytesPerSecond, availableBytes + refill);
+            lastRefillNanos = now;
+         }
+         availableBytes -= bytes;
+         if (availableBytes >= 0) {
+            return CompletableFutures.completedNull();
+         }
+         delayNanos = (long) ((double) -availableBytes * NANOS_PER_SECOND / bytesPerSecond);
+      }
+      CompletableFuture<Void> cf = new CompletableFuture<>();
+      timeoutExecutor.schedule(() -> nonBlockingManager.complete(cf, null), delayNanos, TimeUnit.NANOSECONDS);
+      return cf;
+   }
+
+   /**
+    * Records that {@code bytes} bytes of state were sent and applied by another node.
+    */
+   public void bytesSent(long bytes) {
+      bytesSent.add(bytes);
+      synchronized (this) {
+         long second = rollSecond();
+         if (second == currentSecond) {
+            currentSecondBytes += bytes;
+         }
+      }
+   }
+
+   @GuardedBy("this")
+   private long rollSecond() {
+      long second = TimeUnit.NANOSECONDS.toSeconds(timeService.time());
+      if (second != currentSecond) {
+         lastSecondBytes = second == currentSecond + 1 ? currentSecondBytes : 0;
+         currentSecondBytes = 0;
+         currentSecond = second;
+      }
+      return second;
+   }
+
+   @ManagedAttribute(description = "The maximum number of bytes per second of state sent to other nodes, or 0 if the rate is not limited", displayName = "State transfer bandwidth", dataType = DataType.TRAIT)
+   public long getStateTransferBandwidth() {
+      return bytesPerSecond;
+   }
+
+   @ManagedAttribute(description = "The estimated number of bytes of state sent to other nodes, if the bandwidth is limited", displayName = "State transfer bytes sent")
+   public long getBytesSent() {
+      return bytesSent.sum();
+   }
+
+   @ManagedAttribute(description = "The estimated number of bytes of state sent to other nodes during the last second, if the bandwidth is limited", displayName = "State transfer bytes per second")
+   public synchronized long getBytesPerSecond() {
+      rollSecond();
+      return lastSecondBytes;
+   }
+}
@@ -214,8 +214,17 @@ private void checkModCount(int expected) {
     * resolution propagates as a Flowable error; subclasses may override to add retry logic.
     */
    public <R> Flowable<R> publish(PublishFunction<V, R> function) {
+      return publish(null, function);
+   }
+
+   /**
+    * Like {@link #publish(PublishFunction)}, but only emits the entries whose keys are greater than {@code afterKey}.
+    * The iteration skips the subtrees before {@code afterKey} without visiting them. A {@code null} {@code afterKey}
+    * emits all the entries.
+    */
+   public <R> Flowable<R> publish(byte[] afterKey, PublishFunction<V, R> function) {
       return Flowable.defer(() -> {
-         ByRef<byte[]> lastRetrievedKey = new ByRef<>(null);
+         ByRef<byte[]> lastRetrievedKey = new ByRef<>(afterKey);
          return new FlowableCreate<>(emitter -> {
             if (publishNode(root, lastRetrievedKey, emitter, function)) {
                emitter.onComplete();
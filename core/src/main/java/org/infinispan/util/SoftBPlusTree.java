@@ -353,7 +353,12 @@ public V remove(byte[] key) {
     */
    @Override
    public <R> Flowable<R> publish(PublishFunction<V, R> function) {
-      return publishWithRetry(function);
+      return publishWithRetry(null, function);
+   }
+
+   @Override
+   public <R> Flowable<R> publish(byte[] afterKey, PublishFunction<V, R> function) {
+      return publishWithRetry(afterKey, function);
    }
 
    /**
@@ -367,9 +372,9 @@ public <R> Flowable<R> publish(PublishFunction<V, R> function) {
     */
    public <R> Flowable<R> publish(IOPublishFunction<V, R> function, boolean skipOnOutdated) {
       if (!skipOnOutdated) {
-         return publishWithRetry(function);
+         return publishWithRetry(null, function);
       }
-      return publishWithRetry((k, v) -> {
+      return publishWithRetry(null, (k, v) -> {
          try {
             return function.apply(k, v);
          } catch (IndexNodeOutdatedException e) {
@@ -378,9 +383,9 @@ public <R> Flowable<R> publish(IOPublishFunction<V, R> function, boolean skipOnO
       });
    }
 
-   private <R> Flowable<R> publishWithRetry(PublishFunction<V, R> function) {
+   private <R> Flowable<R> publishWithRetry(byte[] afterKey, PublishFunction<V, R> function) {
       return Flowable.defer(() -> {
-         ByRef<byte[]> lastRetrievedKey = new ByRef<>(null);
+         ByRef<byte[]> lastRetrievedKey = new ByRef<>(afterKey);
          return new FlowableCreate<>(emitter -> {
             int retries = 0;
             for (;;) {
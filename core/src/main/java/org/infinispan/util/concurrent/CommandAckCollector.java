@@ -9,11 +9,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
@@ -21,8 +17,6 @@
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.ClusteringConfiguration;
 import org.infinispan.configuration.cache.Configuration;
-import org.infinispan.factories.KnownComponentNames;
-import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.scopes.Scope;
@@ -45,6 +39,9 @@
  * id. Acknowledges from previous topology id are discarded.
  * <p>
  * The acknowledges from the primary owner carry the return value of the operation.
+ * <p>
+ * The collectors are stored by id in a {@link ConcurrentLongHashMap} and their timeouts are checked by the
+ * {@link TimeoutWheel} of the cache manager, so a write does not allocate a timeout task or boxed key.
  *
  * @author Pedro Ruivo
  * @since 9.0
@@ -54,15 +51,15 @@ public class CommandAckCollector {
 
    private static final Log log = LogFactory.getLog(CommandAckCollector.class);
 
-   @Inject @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR)
-   ScheduledExecutorService timeoutExecutor;
+   @Inject TimeoutWheel timeoutWheel;
    @Inject Configuration configuration;
 
-   private final ConcurrentHashMap<Long, BaseCollector<?>> collectorMap;
+   private final ConcurrentLongHashMap<BaseCollector<?>> collectorMap;
+   private final TimeoutWheel.Owner timeoutOwner = this::checkTimeout;
    private long timeoutNanoSeconds;
 
    public CommandAckCollector() {
-      collectorMap = new ConcurrentHashMap<>(64);
+      collectorMap = new ConcurrentLongHashMap<>();
    }
 
    @Start
@@ -88,6 +85,7 @@ public <T> Collector<T> create(long id, Collection<Address> backupOwners, int to
       //is it possible to have a previous collector when the topology changes after the first collector is created
       //in that case, the previous collector must have a lower topology id
       assert prev == null || prev.topologyId < topologyId : format("replaced old collector '%s' by '%s'", prev, collector);
+      timeoutWheel.schedule(timeoutOwner, id, collector.timeoutDeadline);
       if (log.isTraceEnabled()) {
          log.tracef("Created new collector for %s. BackupOwners=%s", id, backupOwners);
       }
@@ -110,6 +108,7 @@ public <T> Collector<T> createSegmentBasedCollector(long id, Map<Address, Collec
       //is it possible to have a previous collector when the topology changes after the first collector is created
       //in that case, the previous collector must have a lower topology id
       assert prev == null || prev.topologyId < topologyId : format("replaced old collector '%s' by '%s'", prev, collector);
+      timeoutWheel.schedule(timeoutOwner, id, collector.timeoutDeadline);
       if (log.isTraceEnabled()) {
          log.tracef("Created new collector for %s. BackupSegments=%s", id, backups);
       }
@@ -151,7 +150,9 @@ public void completeExceptionally(long id, Throwable throwable, int topologyId)
     * @return the pending ids from {@link CommandInvocationId#getId()} (testing purposes only)
     */
    public List<Long> getPendingCommands() {
-      return new ArrayList<>(collectorMap.keySet());
+      List<Long> pending = new ArrayList<>();
+      collectorMap.forEach((collector, id) -> pending.add(id));
+      return pending;
    }
 
    /**
@@ -172,16 +173,27 @@ public boolean hasPendingBackupAcks(long id) {
     */
    public void onMembersChange(Collection<Address> members) {
       Set<Address> currentMembers = new HashSet<>(members);
-      for (BaseCollector<?> ackTarget : collectorMap.values()) {
-         ackTarget.onMembersChange(currentMembers);
+      collectorMap.forEach((ackTarget, id) -> ackTarget.onMembersChange(currentMembers));
+   }
+
+   private boolean checkTimeout(long id, long deadline, long now) {
+      BaseCollector<?> collector = collectorMap.get(id);
+      // The collector completed, or it was replaced by a collector for a newer topology
+      if (collector == null || collector.timeoutDeadline != deadline) {
+         return false;
+      }
+      if (now - deadline < 0) {
+         return true;
       }
+      collector.onTimeout();
+      return false;
    }
 
-   private abstract class BaseCollector<T> implements Collector<T>, Callable<Void>, BiConsumer<T, Throwable> {
+   private abstract class BaseCollector<T> implements Collector<T>, BiConsumer<T, Throwable> {
 
       final long id;
       final int topologyId;
-      final ScheduledFuture<?> timeoutTask;
+      final long timeoutDeadline;
       final CompletableFuture<T> future;
       final CompletableFuture<T> exposedFuture;
       volatile T primaryResult;
@@ -190,20 +202,18 @@ public void onMembersChange(Collection<Address> members) {
       BaseCollector(long id, int topologyId) {
          this.topologyId = topologyId;
          this.id = id;
-         timeoutTask = timeoutExecutor.schedule(this, timeoutNanoSeconds, TimeUnit.NANOSECONDS);
+         timeoutDeadline = TimeoutWheel.deadline(timeoutNanoSeconds, TimeUnit.NANOSECONDS);
          future = new CompletableFuture<>();
          exposedFuture = future.whenComplete(this);
       }
 
       /**
-       * Invoked by the timeout executor when the timeout expires.
+       * Invoked by the timeout wheel when the timeout expires.
        * <p>
        * It completes the future with the timeout exception.
        */
-      @Override
-      public final synchronized Void call() {
+      final synchronized void onTimeout() {
          future.completeExceptionally(log.timeoutWaitingForAcks(Util.prettyPrintTime(timeoutNanoSeconds, TimeUnit.NANOSECONDS), getAddress(), id, topologyId));
-         return null;
       }
 
       protected abstract String getAddress();
@@ -236,7 +246,7 @@ final boolean isWrongTopologyOrIsDone(int topologyId) {
       /**
        * Invoked when the collector's future is completed, it must cleanup all task related to this collector.
        * <p>
-       * The tasks includes removing the collector from the map and cancel the timeout task.
+       * The tasks includes removing the collector from the map, its timeout is dropped the next time the wheel checks it.
        */
       public final void accept(T t, Throwable throwable) {
          if (log.isTraceEnabled()) {
@@ -244,7 +254,6 @@ public final void accept(T t, Throwable throwable) {
          }
          boolean removed = collectorMap.remove(id, this);
          assert removed;
-         timeoutTask.cancel(false);
       }
 
       abstract boolean hasPendingBackupAcks();
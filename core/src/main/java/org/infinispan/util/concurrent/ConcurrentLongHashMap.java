@@ -0,0 +1,252 @@
+package org.infinispan.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A concurrent map with primitive {@code long} keys.
+ * <p>
+ * The map is split in stripes, each one an open addressing table guarded by its own lock, so that the operations on a
+ * key neither box it nor allocate a node. It is meant for the short-lived entries keyed by a request id, like the
+ * in-flight requests of a node, where a {@link java.util.concurrent.ConcurrentHashMap} allocates a {@link Long} and a
+ * node for every entry.
+ * <p>
+ * {@code null} values are not supported.
+ *
+ * @param <V> the type of the values
+ * @since 16.3
+ */
+public final class ConcurrentLongHashMap<V> {
+   private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+   private final Stripe<V>[] stripes;
+   private final int stripeShift;
+
+   public ConcurrentLongHashMap() {
+      this(Runtime.getRuntime().availableProcessors() * 4);
+   }
+
+   @SuppressWarnings("unchecked")
+   public ConcurrentLongHashMap(int concurrencyLevel) {
+      int stripeCount = concurrencyLevel <= 1 ? 1 : Integer.highestOneBit((concurrencyLevel - 1) << 1);
+      stripes = new Stripe[stripeCount];
+      for (int i = 0; i < stripeCount; i++) {
+         stripes[i] = new Stripe<>();
+      }
+      // The stripe is picked with the high bits of the hash, the slot in the stripe with the low bits
+      stripeShift = 64 - Integer.numberOfTrailingZeros(stripeCount);
+   }
+
+   /**
+    * @return the value of the key, or {@code null} if the map does not contain it
+    */
+   public V get(long key) {
+      long hash = hash(key);
+      return stripe(hash).get(key, hash);
+   }
+
+   /**
+    * Associates the value with the key.
+    *
+    * @return the previous value of the key, or {@code null} if the map did not contain it
+    */
+   public V put(long key, V value) {
+      Objects.requireNonNull(value);
+      long hash = hash(key);
+      return stripe(hash).put(key, hash, value, false);
+   }
+
+   /**
+    * Associates the value with the key if the map does not contain it.
+    *
+    * @return the current value of the key, or {@code null} if the value was added
+    */
+   public V putIfAbsent(long key, V value) {
+      Objects.requireNonNull(value);
+      long hash = hash(key);
+      return stripe(hash).put(key, hash, value, true);
+   }
+
+   /**
+    * Removes the key.
+    *
+    * @return the removed value, or {@code null} if the map did not contain the key
+    */
+   public V remove(long key) {
+      long hash = hash(key);
+      return stripe(hash).remove(key, hash, null);
+   }
+
+   /**
+    * Removes the key only if it is associated with the given value.
+    *
+    * @return {@code true} if the key was removed
+    */
+   public boolean remove(long key, V value) {
+      Objects.requireNonNull(value);
+      long hash = hash(key);
+      return stripe(hash).remove(key, hash, value) != null;
+   }
+
+   /**
+    * @return the number of entries in the map, which may be outdated by the time it returns if the map is concurrently
+    * modified
+    */
+   public int size() {
+      int size = 0;
+      for (Stripe<V> stripe : stripes) {
+         size += stripe.size();
+      }
+      return size;
+   }
+
+   /**
+    * Invokes the action with every entry of the map.
+    * <p>
+    * The entries of each stripe are copied before the action is invoked, so the action may modify the map. It sees the
+    * entries that were in the map when their stripe was visited.
+    */
+   public void forEach(ObjLongConsumer<? super V> action) {
+      List<Object> snapshot = new ArrayList<>();
+      for (Stripe<V> stripe : stripes) {
+         snapshot.clear();
+         stripe.copyTo(snapshot);
+         for (int i = 0; i < snapshot.size(); i += 2) {
+            @SuppressWarnings("unchecked")
+            V value = (V) snapshot.get(i + 1);
+            action.accept(value, (Long) snapshot.get(i));
+         }
+      }
+   }
+
+   private Stripe<V> stripe(long hash) {
+      return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+   }
+
+   private static long hash(long key) {
+      // The finalizer of MurmurHash3, so that sequential ids are spread over the stripes and the slots
+      key ^= key >>> 33;
+      key *= 0xff51afd7ed558ccdL;
+      key ^= key >>> 33;
+      key *= 0xc4ceb9fe1a85ec53L;
+      key ^= key >>> 33;
+      return key;
+   }
+
+   private static final class Stripe<V> {
+      private long[] keys = new long[INITIAL_STRIPE_CAPACITY];
+      // A null value marks an empty slot
+      private Object[] values = new Object[INITIAL_STRIPE_CAPACITY];
+      private int size;
+
+      synchronized V get(long key, long hash) {
+         int slot = find(keys, values, key, hash);
+         return slot < 0 ? null : value(slot);
+      }
+
+      synchronized V put(long key, long hash, V value, boolean onlyIfAbsent) {
+         int mask = keys.length - 1;
+         for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            if (values[slot] == null) {
+               keys[slot] = key;
+               values[slot] = value;
+               // Keep the load factor at or below 1/2 so that the probe sequences stay short
+               if (++size > keys.length >>> 1) {
+                  resize();
+               }
+               return null;
+            }
+            if (keys[slot] == key) {
+               V previous = value(slot);
+               if (!onlyIfAbsent) {
+                  values[slot] = value;
+               }
+               return previous;
+            }
+         }
+      }
+
+      synchronized V remove(long key, long hash, V expected) {
+         int slot = find(keys, values, key, hash);
+         if (slot < 0) {
+            return null;
+         }
+         V previous = value(slot);
+         if (expected != null && previous != expected) {
+            return null;
+         }
+         delete(slot);
+         size--;
+         return previous;
+      }
+
+      synchronized int size() {
+         return size;
+      }
+
+      synchronized void copyTo(List<Object> snapshot) {
+         for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null) {
+               snapshot.add(keys[slot]);
+               snapshot.add(values[slot]);
+            }
+         }
+      }
+
+      /**
+       * Empties the slot and moves back the following entries of the probe sequence, so that lookups do not need
+       * tombstones.
+       */
+      private void delete(int slot) {
+         int mask = keys.length - 1;
+         int empty = slot;
+         for (int next = (slot + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = (int) hash(keys[next]) & mask;
+            // The entry can move to the empty slot if its home slot is not between the empty slot and its slot
+            if (((next - home) & mask) >= ((next - empty) & mask)) {
+               keys[empty] = keys[next];
+               values[empty] = values[next];
+               empty = next;
+            }
+         }
+         values[empty] = null;
+      }
+
+      private void resize() {
+         long[] oldKeys = keys;
+         Object[] oldValues = values;
+         long[] newKeys = new long[oldKeys.length << 1];
+         Object[] newValues = new Object[oldValues.length << 1];
+         int mask = newKeys.length - 1;
+         for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+               int slot = (int) hash(oldKeys[i]) & mask;
+               while (newValues[slot] != null) {
+                  slot = (slot + 1) & mask;
+               }
+               newKeys[slot] = oldKeys[i];
+               newValues[slot] = oldValues[i];
+            }
+         }
+         keys = newKeys;
+         values = newValues;
+      }
+
+      @SuppressWarnings("unchecked")
+      private V value(int slot) {
+         return (V) values[slot];
+      }
+
+      private static int find(long[] keys, Object[] values, long key, long hash) {
+         int mask = keys.length - 1;
+         for (int slot = (int) hash & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+               return slot;
+            }
+         }
+         return -1;
+      }
+   }
+}
@@ -0,0 +1,205 @@
+package org.infinispan.util.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * A hashed wheel that checks the timeouts of many short-lived operations with a single periodic task.
+ * <p>
+ * Scheduling a timeout stores the id of the operation, its deadline and its {@link Owner} in the bucket of the tick
+ * in which the deadline falls, without allocating a task or touching the queue of the
+ * {@link KnownComponentNames#TIMEOUT_SCHEDULE_EXECUTOR timeout executor}. Timeouts are never cancelled: every time
+ * its bucket is visited, the owner of a timeout decides if it expired, if the operation completed and the timeout can
+ * be dropped, or if it must wait for a later round of the wheel.
+ * <p>
+ * Timeouts expire up to one tick ({@value #TICK_MILLIS} ms) late, and never early.
+ *
+ * @since 16.3
+ */
+@Scope(Scopes.GLOBAL)
+public class TimeoutWheel {
+   private static final Log log = LogFactory.getLog(TimeoutWheel.class);
+
+   static final long TICK_MILLIS = 10;
+   private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+   // A round of the wheel lasts 2.56 seconds
+   private static final int WHEEL_SIZE = 256;
+   private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+   // Deadlines are compared with differences of System.nanoTime() values, which must not overflow
+   private static final long MAX_TIMEOUT_NANOS = Long.MAX_VALUE >> 2;
+
+   /**
+    * The operations whose timeouts are checked by the wheel, for example the requests of a
+    * {@link org.infinispan.remoting.transport.impl.RequestRepository}.
+    */
+   @FunctionalInterface
+   public interface Owner {
+      /**
+       * Invoked when the bucket of a timeout is visited.
+       * <p>
+       * If the deadline passed and the operation is still waiting for it, the owner must complete the operation with
+       * a timeout error.
+       *
+       * @param id       the id of the operation
+       * @param deadline the deadline of the timeout
+       * @param now      the current {@link System#nanoTime()}
+       * @return {@code true} if the operation is still waiting and the deadline did not pass yet, {@code false} if the
+       * timeout must be dropped
+       */
+      boolean checkTimeout(long id, long deadline, long now);
+   }
+
+   @Inject @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR)
+   ScheduledExecutorService timeoutExecutor;
+
+   private final Bucket[] buckets = new Bucket[WHEEL_SIZE];
+   private final long origin = System.nanoTime();
+   // Only used by the tick task
+   private final Bucket expiring = new Bucket();
+   private volatile long lastTick;
+   private volatile ScheduledFuture<?> tickTask;
+   private volatile boolean stopped;
+
+   public TimeoutWheel() {
+      for (int i = 0; i < WHEEL_SIZE; i++) {
+         buckets[i] = new Bucket();
+      }
+   }
+
+   public TimeoutWheel(ScheduledExecutorService timeoutExecutor) {
+      this();
+      this.timeoutExecutor = timeoutExecutor;
+   }
+
+   /**
+    * @return the deadline of a timeout starting now, in {@link System#nanoTime()} units
+    */
+   public static long deadline(long timeout, TimeUnit unit) {
+      return System.nanoTime() + Math.min(unit.toNanos(timeout), MAX_TIMEOUT_NANOS);
+   }
+
+   /**
+    * Schedules the timeout of an operation.
+    * <p>
+    * The owner must be able to find the operation and its deadline by the id as soon as the wheel
+    * {@link Owner#checkTimeout(long, long, long) checks} the timeout, so the operation must be registered before its
+    * timeout is scheduled.
+    *
+    * @param deadline the deadline of the timeout, obtained with {@link #deadline(long, TimeUnit)}
+    */
+   public void schedule(Owner owner, long id, long deadline) {
+      // The bucket of the first tick that starts after the deadline, unless the wheel already moved past it
+      long tick = Math.max(-Math.floorDiv(origin - deadline, TICK_NANOS), lastTick + 1);
+      // The wheel can visit the bucket between reading lastTick and adding the timeout, and the timeout would then wait
+      // for a whole round, so the bucket rejects it and the timeout goes to the next bucket to visit
+      while (!buckets[(int) (tick & WHEEL_MASK)].add(owner, id, deadline, tick)) {
+         tick = lastTick + 1;
+      }
+      if (tickTask == null) {
+         startTicking();
+      }
+   }
+
+   private synchronized void startTicking() {
+      if (tickTask == null && !stopped) {
+         // The first run visits every bucket, as timeouts may have been added before the wheel knew the current tick
+         lastTick = (System.nanoTime() - origin) / TICK_NANOS - WHEEL_SIZE;
+         tickTask = timeoutExecutor.scheduleAtFixedRate(this::tick, TICK_NANOS, TICK_NANOS, TimeUnit.NANOSECONDS);
+      }
+   }
+
+   @Stop
+   public synchronized void stop() {
+      stopped = true;
+      if (tickTask != null) {
+         tickTask.cancel(false);
+      }
+   }
+
+   private void tick() {
+      long now = System.nanoTime();
+      long currentTick = (now - origin) / TICK_NANOS;
+      // If the task was delayed by more than a round, every bucket is visited once
+      long firstTick = Math.max(lastTick + 1, currentTick - WHEEL_MASK);
+      for (long tick = firstTick; tick <= currentTick; tick++) {
+         // Publish the tick first so that new timeouts go to a later bucket
+         lastTick = tick;
+         Bucket bucket = buckets[(int) (tick & WHEEL_MASK)];
+         bucket.drainTo(expiring, tick);
+         for (int i = 0; i < expiring.size; i++) {
+            Owner owner = expiring.owners[i];
+            long id = expiring.ids[i];
+            long deadline = expiring.deadlines[i];
+            boolean waiting;
+            try {
+               waiting = owner.checkTimeout(id, deadline, now);
+            } catch (Throwable t) {
+               // The task must keep running for the other timeouts
+               log.debugf(t, "Exception checking the timeout of %d", id);
+               waiting = false;
+            }
+            if (waiting) {
+               bucket.add(owner, id, deadline, tick + WHEEL_SIZE);
+            }
+         }
+         expiring.clear();
+      }
+   }
+
+   private static final class Bucket {
+      private long[] ids = new long[8];
+      private long[] deadlines = new long[8];
+      private Owner[] owners = new Owner[8];
+      private int size;
+      // The last tick in which the bucket was visited
+      private long visitedTick = Long.MIN_VALUE;
+
+      /**
+       * @return {@code false} if the bucket was already visited in the given tick, or in a later one
+       */
+      synchronized boolean add(Owner owner, long id, long deadline, long tick) {
+         if (tick <= visitedTick) {
+            return false;
+         }
+         append(owner, id, deadline);
+         return true;
+      }
+
+      // Only invoked with the lock held, or by the tick task for its own bucket
+      private void append(Owner owner, long id, long deadline) {
+         if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size << 1);
+            deadlines = Arrays.copyOf(deadlines, size << 1);
+            owners = Arrays.copyOf(owners, size << 1);
+         }
+         ids[size] = id;
+         deadlines[size] = deadline;
+         owners[size] = owner;
+         size++;
+      }
+
+      synchronized void drainTo(Bucket target, long tick) {
+         visitedTick = tick;
+         for (int i = 0; i < size; i++) {
+            target.append(owners[i], ids[i], deadlines[i]);
+         }
+         clear();
+      }
+
+      synchronized void clear() {
+         Arrays.fill(owners, 0, size, null);
+         size = 0;
+      }
+   }
+}
@@ -35,7 +35,9 @@
 import org.infinispan.configuration.cache.BackupFailurePolicy;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
 import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.eviction.EvictionPolicy;
 import org.infinispan.interceptors.impl.ContainerFullException;
 import org.infinispan.jmx.JmxDomainConflictException;
 import org.infinispan.logging.annotations.Description;
@@ -2481,4 +2483,36 @@ CacheConfigurationException storeConfiguredHasBothReadAndWriteOnly(String storeC
    @LogMessage(level = WARN)
    @Message(value = "The 'remote-site' configuration format at %s has been deprecated. Use the map-based format instead, e.g. 'NYC: { remoteSite: ~ }'", id = 727)
    void deprecatedRemoteSiteFormat(Location location);
+
+   @Message(value = "The compression threshold must be zero or positive, was %d", id = 728)
+   CacheConfigurationException invalidCompressionThreshold(int threshold);
+
+   @Message(value = "The '%s' eviction policy is only supported by heap storage bounded with max-count", id = 729)
+   CacheConfigurationException evictionPolicyRequiresHeapMaxCount(EvictionPolicy policy);
+
+   @Message(value = "The '%s' off-heap allocator requires off-heap storage", id = 730)
+   CacheConfigurationException offHeapAllocatorRequiresOffHeapStorage(OffHeapAllocatorType allocator);
+
+   @Message(value = "The serialized form of key %s is too long (%d); the persistent index of the single file store supports only keys serialized to at most %d bytes", id = 731)
+   PersistenceException singleFileStoreKeyIsTooLong(Object key, int keyLength, int maxKeyLength);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to append a modification to the write-behind journal %s, keeping it in memory", id = 732)
+   void unableToAppendToWriteBehindJournal(Path path, @Cause Throwable cause);
+
+   @Message(value = "The command batch linger must not be negative and the command batch size must be positive, but they are %d and %d", id = 733)
+   CacheConfigurationException invalidCommandBatch(int linger, int size);
+
+   @Message(value = "The number of L1 hot keys must be zero or positive, was %d", id = 734)
+   CacheConfigurationException l1InvalidHotKeys(int hotKeys);
+
+   @Message(value = "The maximum number of in-flight state transfer chunks must be positive, got %d", id = 735)
+   CacheConfigurationException invalidMaxInFlightChunks(int maxInFlightChunks);
+
+   @Message(value = "The state transfer bandwidth must be zero or positive, got %d", id = 736)
+   CacheConfigurationException invalidStateTransferBandwidth(int bandwidth);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to send a batch of %d commands to %s", id = 737)
+   void unableToSendCommandBatch(int commands, Address destination, @Cause Throwable cause);
 }
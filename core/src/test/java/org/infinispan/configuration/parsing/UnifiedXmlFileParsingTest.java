@@ -27,6 +27,7 @@
 import org.infinispan.configuration.cache.BackupConfiguration;
 import org.infinispan.configuration.cache.BackupFailurePolicy;
 import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.CompressionType;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.cache.EncodingConfiguration;
@@ -36,9 +37,11 @@
 import org.infinispan.configuration.cache.IndexingMode;
 import org.infinispan.configuration.cache.IsolationLevel;
 import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
 import org.infinispan.configuration.cache.PartitionHandlingConfiguration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
 import org.infinispan.configuration.cache.QueryConfiguration;
+import org.infinispan.configuration.cache.ReadPolicy;
 import org.infinispan.configuration.cache.StorageType;
 import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.configuration.cache.TracingConfiguration;
@@ -51,6 +54,7 @@
 import org.infinispan.conflict.MergePolicy;
 import org.infinispan.distribution.ch.impl.HashFunctionPartitioner;
 import org.infinispan.distribution.ch.impl.RESPHashFunctionPartitioner;
+import org.infinispan.eviction.EvictionPolicy;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.factories.threads.AbstractThreadPoolExecutorFactory;
 import org.infinispan.factories.threads.DefaultThreadFactory;
@@ -121,6 +125,22 @@ public enum ParserVersionCheck {
          public void check(ConfigurationBuilderHolder cm, int schemaMajor, int schemaMinor) {
             Configuration distTemplate = getConfiguration(cm, "dist");
             assertTrue(distTemplate.clustering().stateTransfer().awaitLeaveTransfer());
+            assertEquals(ReadPolicy.LEAST_OUTSTANDING, distTemplate.clustering().hash().readPolicy());
+            assertEquals(32, distTemplate.clustering().l1().hotKeys());
+            assertEquals(4, distTemplate.clustering().stateTransfer().maxInFlightChunks());
+            assertEquals(100, getGlobalConfiguration(cm).transport().stateTransferBandwidth());
+
+            MemoryConfiguration compressed = getConfiguration(cm, "compressed-memory").memory();
+            assertEquals(CompressionType.DEFLATE, compressed.compression());
+            assertEquals(512, compressed.compressionThreshold());
+
+            MemoryConfiguration lru = getConfiguration(cm, "lru-memory").memory();
+            assertEquals(EvictionPolicy.LRU, lru.evictionPolicy());
+            assertEquals(1000, lru.maxCount());
+
+            MemoryConfiguration pooled = getConfiguration(cm, "pooled-off-heap").memory();
+            assertEquals(StorageType.OFF_HEAP, pooled.storage());
+            assertEquals(OffHeapAllocatorType.POOLED, pooled.offHeapAllocator());
          }
       },
       INFINISPAN_162(16, 2) {
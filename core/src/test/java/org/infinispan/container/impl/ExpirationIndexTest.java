@@ -0,0 +1,123 @@
+package org.infinispan.container.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.entries.MortalCacheEntry;
+import org.infinispan.container.entries.TransientCacheEntry;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "container.impl.ExpirationIndexTest")
+public class ExpirationIndexTest extends AbstractInfinispanTest {
+   private static final long START = 1_700_000_000_000L;
+
+   private final Map<Object, InternalCacheEntry<Object, Object>> container = new HashMap<>();
+
+   private void write(ExpirationIndex<Object, Object> index, InternalCacheEntry<Object, Object> entry) {
+      container.put(entry.getKey(), entry);
+      index.entryWritten(0, entry);
+   }
+
+   private List<InternalCacheEntry<Object, Object>> poll(ExpirationIndex<Object, Object> index, long time) {
+      List<InternalCacheEntry<Object, Object>> expired = index.pollExpired(0, true, time, container::get);
+      for (InternalCacheEntry<Object, Object> entry : expired) {
+         container.remove(entry.getKey());
+         index.entryRemoved(0, entry.getKey());
+      }
+      return expired;
+   }
+
+   public void testOnlyDueEntriesReturned() {
+      container.clear();
+      ExpirationIndex<Object, Object> index = new ExpirationIndex<>(1, 10);
+      poll(index, START);
+      write(index, new MortalCacheEntry("short", "v", 100, START));
+      write(index, new MortalCacheEntry("long", "v", 100_000, START));
+      write(index, new ImmortalCacheEntry("immortal", "v"));
+      assertEquals(2, index.size());
+
+      assertEquals(0, poll(index, START + 100).size());
+      List<InternalCacheEntry<Object, Object>> expired = poll(index, START + 101);
+      assertEquals(1, expired.size());
+      assertEquals("short", expired.get(0).getKey());
+      assertEquals(1, index.size());
+
+      expired = poll(index, START + 100_001);
+      assertEquals(1, expired.size());
+      assertEquals("long", expired.get(0).getKey());
+      assertEquals(0, index.size());
+   }
+
+   public void testOverwriteAndRemove() {
+      container.clear();
+      ExpirationIndex<Object, Object> index = new ExpirationIndex<>(1, 10);
+      poll(index, START);
+      write(index, new MortalCacheEntry("overwritten", "v", 100, START));
+      write(index, new MortalCacheEntry("overwritten", "v", 1_000, START));
+      write(index, new MortalCacheEntry("immortal-later", "v", 100, START));
+      write(index, new ImmortalCacheEntry("immortal-later", "v"));
+      write(index, new MortalCacheEntry("removed", "v", 100, START));
+      container.remove("removed");
+      index.entryRemoved(0, "removed");
+      assertEquals(1, index.size());
+
+      assertEquals(0, poll(index, START + 500).size());
+      assertEquals(1, poll(index, START + 1_001).size());
+      assertEquals(0, index.size());
+   }
+
+   public void testTouchedEntryIsRescheduled() {
+      container.clear();
+      ExpirationIndex<Object, Object> index = new ExpirationIndex<>(1, 10);
+      poll(index, START);
+      TransientCacheEntry entry = new TransientCacheEntry("idle", "v", 100, START);
+      write(index, entry);
+      // Touching doesn't update the index
+      entry.touch(START + 90);
+
+      assertEquals(0, poll(index, START + 100).size());
+      assertEquals(1, index.size());
+      assertEquals(1, poll(index, START + 191).size());
+   }
+
+   public void testNotOwnedSegmentKeepsEntries() {
+      container.clear();
+      ExpirationIndex<Object, Object> index = new ExpirationIndex<>(1, 10);
+      poll(index, START);
+      write(index, new MortalCacheEntry("k", "v", 100, START));
+
+      assertEquals(0, index.pollExpired(0, false, START + 1_000, container::get).size());
+      assertEquals(1, poll(index, START + 2_000).size());
+   }
+
+   public void testRandomOperations() {
+      container.clear();
+      Random random = new Random(42);
+      ExpirationIndex<Object, Object> index = new ExpirationIndex<>(1, 7);
+      long now = START;
+      poll(index, now);
+      for (int i = 0; i < 10_000; ++i) {
+         for (int j = 0; j < 10; ++j) {
+            int key = random.nextInt(1_000);
+            if (random.nextInt(5) == 0) {
+               write(index, new ImmortalCacheEntry(key, "v"));
+            } else {
+               write(index, new MortalCacheEntry(key, "v", random.nextInt(100_000), now));
+            }
+         }
+         now += random.nextInt(random.nextInt(100) == 0 ? 1_000_000 : 100);
+         poll(index, now);
+         for (InternalCacheEntry<Object, Object> entry : container.values()) {
+            assertTrue(!entry.isExpired(now), "Entry " + entry + " was not returned at " + now);
+         }
+      }
+   }
+}
@@ -0,0 +1,93 @@
+package org.infinispan.container.offheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CompressionType;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.core.impl.ValueCompressor;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.support.WaitNonBlockingStore;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that values are compressed in the off-heap container and in the store when compression is enabled
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapCompressionTest")
+public class OffHeapCompressionTest extends SingleCacheManagerTest {
+   private static final String COMPRESSED = "compressed";
+   private static final String STORE = "store";
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().storage(StorageType.OFF_HEAP);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+
+      builder.memory().compression(CompressionType.DEFLATE).compressionThreshold(128);
+      cm.defineConfiguration(COMPRESSED, builder.build());
+
+      ConfigurationBuilder storeBuilder = new ConfigurationBuilder();
+      storeBuilder.memory().compression(CompressionType.DEFLATE).compressionThreshold(128);
+      storeBuilder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class);
+      cm.defineConfiguration(STORE, storeBuilder.build());
+      return cm;
+   }
+
+   private static String largeValue() {
+      return "{\"name\":\"value\"}".repeat(1000);
+   }
+
+   private static long allocated(Cache<?, ?> cache) {
+      return ComponentRegistry.componentOf(cache, OffHeapMemoryAllocator.class).getAllocatedAmount();
+   }
+
+   public void testValueIsCompressedOffHeap() {
+      Cache<String, String> compressed = cacheManager.getCache(COMPRESSED);
+      long compressedBefore = allocated(compressed);
+      long plainBefore = allocated(cache);
+
+      String value = largeValue();
+      compressed.put("k", value);
+      cache.put("k", value);
+
+      assertEquals(value, compressed.get("k"));
+      assertEquals(value, cache.get("k"));
+      assertTrue(allocated(compressed) - compressedBefore < (allocated(cache) - plainBefore) / 10);
+   }
+
+   public void testSmallValueIsNotCompressed() {
+      Cache<String, String> compressed = cacheManager.getCache(COMPRESSED);
+      compressed.put("small", "value");
+      assertEquals("value", compressed.get("small"));
+   }
+
+   public void testValueIsCompressedInStore() {
+      Cache<String, String> storeCache = cacheManager.getCache(STORE);
+      String value = largeValue();
+      storeCache.put("k", value);
+      storeCache.put("small", "value");
+
+      WaitNonBlockingStore<String, String> store = TestingUtil.getFirstStoreWait(storeCache);
+      MarshallableEntry<String, String> entry = store.loadEntry("k");
+      assertTrue(ValueCompressor.isCompressed(entry.getStoredValueBytes()));
+      // The callers of the entry never see the compressed bytes
+      assertFalse(ValueCompressor.isCompressed(entry.getValueBytes()));
+      assertEquals(value, entry.getValue());
+
+      MarshallableEntry<String, String> small = store.loadEntry("small");
+      assertFalse(ValueCompressor.isCompressed(small.getStoredValueBytes()));
+
+      storeCache.evict("k");
+      assertEquals(value, storeCache.get("k"));
+   }
+}
@@ -4,10 +4,17 @@
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.marshall.WrappedBytes;
@@ -132,6 +139,59 @@ public void testIterationCreatedButNotUsedUntilAfterAResize() {
       assertEquals(RESIZE_LIMITATION, entriesFound);
    }
 
+   public void testReadsConcurrentWithWrites() throws Exception {
+      WrappedByteArray[] values = new WrappedByteArray[4];
+      for (int i = 0; i < values.length; ++i) {
+         values[i] = new WrappedByteArray(new byte[] { (byte) i, (byte) i, (byte) i, (byte) i });
+      }
+      WrappedBytes[] keys = new WrappedBytes[RESIZE_LIMITATION * 4];
+      for (int i = 0; i < keys.length; ++i) {
+         keys[i] = randomBytes();
+      }
+
+      AtomicBoolean stop = new AtomicBoolean();
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+         List<Future<?>> readers = new ArrayList<>();
+         for (int r = 0; r < 4; ++r) {
+            readers.add(executor.submit(() -> {
+               ThreadLocalRandom random = ThreadLocalRandom.current();
+               while (!stop.get()) {
+                  WrappedBytes key = keys[random.nextInt(keys.length)];
+                  InternalCacheEntry<WrappedBytes, WrappedBytes> ice = random.nextBoolean() ? map.get(key) : map.peek(key);
+                  // The reads must never return an entry that was overwritten while being read
+                  if (ice != null) {
+                     assertEquals(key, ice.getKey());
+                     byte first = ice.getValue().getByte(0);
+                     assertEquals(values[first], ice.getValue());
+                  }
+               }
+            }));
+         }
+
+         // Replaces, removes and resizes while the readers run
+         ThreadLocalRandom random = ThreadLocalRandom.current();
+         for (int i = 0; i < 200_000; ++i) {
+            WrappedBytes key = keys[random.nextInt(keys.length)];
+            if (random.nextInt(4) == 0) {
+               map.remove(key);
+            } else {
+               map.put(key, new ImmortalCacheEntry(key, values[random.nextInt(values.length)]));
+            }
+            if (i % 50_000 == 0) {
+               map.clear();
+            }
+         }
+         stop.set(true);
+         for (Future<?> reader : readers) {
+            reader.get(10, TimeUnit.SECONDS);
+         }
+      } finally {
+         stop.set(true);
+         executor.shutdownNow();
+      }
+   }
+
    WrappedBytes putInMap(OffHeapConcurrentMap map, WrappedBytes value) {
       InternalCacheEntry<WrappedBytes, WrappedBytes> ice;
       WrappedBytes key;
@@ -0,0 +1,46 @@
+package org.infinispan.container.offheap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the single node off-heap tests allocating the entries from slabs.
+ *
+ * @since 16.3
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapPooledSingleNodeTest")
+public class OffHeapPooledSingleNodeTest extends OffHeapSingleNodeTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder dcc = getDefaultClusteredCacheConfig(CacheMode.LOCAL, false);
+      dcc.memory().storage(StorageType.OFF_HEAP).offHeapAllocator(OffHeapAllocatorType.POOLED);
+      addClusterEnabledCacheManager(dcc);
+
+      configureTimeService();
+   }
+
+   public void testSlabsReleasedAfterRemoval() {
+      Cache<String, String> cache = cache(0);
+      PooledOffHeapMemoryAllocator allocator = (PooledOffHeapMemoryAllocator)
+            TestingUtil.extractComponent(cache, OffHeapMemoryAllocator.class);
+
+      for (int i = 0; i < 20_000; ++i) {
+         cache.put("key" + i, "value" + i);
+      }
+      assertThat(allocator.getUsedBytes()).isPositive();
+      assertThat(allocator.getSlabCount()).isPositive();
+
+      cache.clear();
+      allocator.compact();
+      assertThat(allocator.getUsedBytes()).isZero();
+      assertThat(allocator.getSlabCount()).isZero();
+   }
+}
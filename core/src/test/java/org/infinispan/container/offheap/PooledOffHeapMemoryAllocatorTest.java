@@ -0,0 +1,89 @@
+package org.infinispan.container.offheap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @since 16.3
+ */
+@Test(groups = "unit", testName = "container.offheap.PooledOffHeapMemoryAllocatorTest")
+public class PooledOffHeapMemoryAllocatorTest {
+
+   private PooledOffHeapMemoryAllocator allocator;
+
+   @BeforeMethod
+   void createAllocator() {
+      allocator = new PooledOffHeapMemoryAllocator(1);
+   }
+
+   @AfterMethod(alwaysRun = true)
+   void stopAllocator() {
+      allocator.stop();
+   }
+
+   @DataProvider(name = "sizeClasses")
+   Object[][] sizeClasses() {
+      return new Object[][] {
+            { 1, 16 },
+            { 16, 16 },
+            { 17, 32 },
+            { 256, 256 },
+            { 257, 320 },
+            { 512, 512 },
+            { 513, 640 },
+            { 5000, 5120 },
+            { 8192, 8192 },
+      };
+   }
+
+   @Test(dataProvider = "sizeClasses")
+   public void testSizeClasses(long size, int expected) {
+      assertThat(PooledOffHeapMemoryAllocator.chunkSize(PooledOffHeapMemoryAllocator.sizeClass(size))).isEqualTo(expected);
+   }
+
+   public void testFreedChunkReused() {
+      long first = allocator.allocate(100);
+      allocator.deallocate(first, 100);
+      assertThat(allocator.allocate(100)).isEqualTo(first);
+      assertThat(allocator.getSlabCount()).isOne();
+      assertThat(allocator.getUsedBytes()).isEqualTo(112);
+   }
+
+   public void testCompactReleasesEmptySlabs() {
+      int size = 1024;
+      int perSlab = PooledOffHeapMemoryAllocator.SLAB_SIZE / size;
+      List<Long> addresses = new ArrayList<>();
+      for (int i = 0; i < perSlab * 3; i++) {
+         addresses.add(allocator.allocate(size));
+      }
+      assertThat(allocator.getSlabCount()).isEqualTo(3);
+      assertThat(allocator.getFragmentation()).isZero();
+
+      // Free the first two slabs entirely, and half of the last one
+      for (int i = 0; i < perSlab * 2 + perSlab / 2; i++) {
+         allocator.deallocate(addresses.get(i), size);
+      }
+      assertThat(allocator.getFragmentation()).isGreaterThan(0.8);
+
+      allocator.compact();
+      assertThat(allocator.getSlabCount()).isOne();
+      assertThat(allocator.getAllocatedAmount()).isEqualTo(PooledOffHeapMemoryAllocator.SLAB_SIZE);
+      assertThat(allocator.getFragmentation()).isEqualTo(0.5);
+      assertThat(allocator.getLowestArenaOccupancy()).isEqualTo(0.5);
+   }
+
+   public void testLargeAllocationsNotPooled() {
+      long address = allocator.allocate(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1);
+      assertThat(allocator.getSlabCount()).isZero();
+      assertThat(allocator.getAllocatedAmount()).isPositive();
+      allocator.deallocate(address, PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1);
+      assertThat(allocator.getAllocatedAmount()).isZero();
+   }
+}
@@ -0,0 +1,93 @@
+package org.infinispan.distribution;
+
+import static org.infinispan.distribution.DistributionTestHelper.assertIsInL1;
+import static org.infinispan.distribution.DistributionTestHelper.assertIsNotInL1;
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.impl.HotKeyDetector;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestDataSCI;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that an L1 cache configured with hot keys only stores the keys that the node reads most frequently.
+ *
+ * @since 16.3
+ */
+@Test(groups = "functional", testName = "distribution.L1HotKeysTest")
+public class L1HotKeysTest extends MultipleCacheManagersTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      // The intervals are ended by the test
+      builder.clustering().hash().numOwners(1)
+            .l1().enable().hotKeys(1).cleanupTaskFrequency(1, TimeUnit.HOURS);
+      createClusteredCaches(2, TestDataSCI.INSTANCE, builder);
+   }
+
+   public void testOnlyHotKeysAreStoredInL1() {
+      Cache<Object, Object> owner = cache(0);
+      Cache<Object, Object> reader = cache(1);
+      HotKeyDetector detector = extractComponent(reader, HotKeyDetector.class);
+      MagicKey hotKey = new MagicKey("hot", owner);
+      MagicKey coldKey = new MagicKey("cold", owner);
+      owner.put(hotKey, "hot");
+      owner.put(coldKey, "cold");
+
+      // No key is hot before the end of the first interval
+      assertEquals("hot", reader.get(hotKey));
+      assertIsNotInL1(reader, hotKey);
+
+      for (int i = 0; i < 10; i++) {
+         assertEquals("hot", reader.get(hotKey));
+      }
+      assertEquals("cold", reader.get(coldKey));
+      detector.rotate();
+      assertTrue(detector.isHot(hotKey));
+      assertFalse(detector.isHot(coldKey));
+      assertEquals(1, detector.getNumberOfHotKeys());
+      assertEquals(12, detector.getReads());
+
+      assertEquals("hot", reader.get(hotKey));
+      assertIsInL1(reader, hotKey);
+      assertEquals("cold", reader.get(coldKey));
+      assertIsNotInL1(reader, coldKey);
+
+      // A write on the owner invalidates the hot key in L1
+      owner.put(hotKey, "hot2");
+      assertIsNotInL1(reader, hotKey);
+      assertEquals("hot2", reader.get(hotKey));
+      assertIsInL1(reader, hotKey);
+
+      // The key is no longer hot once it is not read during a whole interval
+      detector.rotate();
+      assertTrue(detector.isHot(hotKey));
+      detector.rotate();
+      assertFalse(detector.isHot(hotKey));
+      assertEquals(0, detector.getNumberOfHotKeys());
+   }
+
+   public void testOwnerReadsAreNotCounted() {
+      Cache<Object, Object> owner = cache(0);
+      HotKeyDetector detector = extractComponent(owner, HotKeyDetector.class);
+      MagicKey key = new MagicKey("local", owner);
+      owner.put(key, "value");
+      for (int i = 0; i < 10; i++) {
+         assertEquals("value", owner.get(key));
+      }
+      detector.rotate();
+      // The owner never stores the key in L1, so its reads must not take the place of a hot key
+      assertFalse(detector.isHot(key));
+      assertEquals(0, detector.getNumberOfHotKeys());
+      assertEquals(0, detector.getReads());
+   }
+}
@@ -0,0 +1,108 @@
+package org.infinispan.distribution;
+
+import static org.infinispan.test.TestingUtil.extractGlobalComponent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.ReadPolicy;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.impl.ReadOwnerSelector;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestDataSCI;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the remote reads of a distributed cache are sent to the owner selected by its {@link ReadPolicy}.
+ * <p>
+ * The backup owner of the key has a different value than the primary owner, so the value read by the non-owner tells
+ * which owner served the read.
+ *
+ * @since 16.3
+ */
+@Test(groups = "functional", testName = "distribution.ReadPolicyTest")
+public class ReadPolicyTest extends MultipleCacheManagersTest {
+   private static final String PRIMARY_CACHE = "primary";
+   private static final String BALANCED_CACHE = "balanced";
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createClusteredCaches(3, PRIMARY_CACHE, TestDataSCI.INSTANCE, cacheBuilder(ReadPolicy.PRIMARY));
+      defineConfigurationOnAllManagers(BALANCED_CACHE, cacheBuilder(ReadPolicy.LEAST_OUTSTANDING));
+      waitForClusterToForm(BALANCED_CACHE);
+   }
+
+   private static ConfigurationBuilder cacheBuilder(ReadPolicy readPolicy) {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      builder.clustering().hash().numOwners(2).readPolicy(readPolicy);
+      return builder;
+   }
+
+   public void testPrimaryPolicyReadsFromPrimary() {
+      MagicKey key = writeDivergentValues(PRIMARY_CACHE);
+      ReadOwnerSelector selector = extractGlobalComponent(manager(2), ReadOwnerSelector.class);
+      long startNanos = selector.readStarted(address(0));
+      try {
+         assertEquals("primary", cache(2, PRIMARY_CACHE).get(key));
+      } finally {
+         selector.readCompleted(address(0), startNanos);
+      }
+   }
+
+   public void testLeastOutstandingReadsFromIdleOwner() {
+      MagicKey key = writeDivergentValues(BALANCED_CACHE);
+      Cache<Object, Object> reader = cache(2, BALANCED_CACHE);
+      ReadOwnerSelector selector = extractGlobalComponent(manager(2), ReadOwnerSelector.class);
+
+      // No outstanding reads, so the primary owner wins the tie
+      assertEquals("primary", reader.get(key));
+
+      long startNanos = selector.readStarted(address(0));
+      try {
+         assertEquals("backup", reader.get(key));
+         assertEquals(0, selector.outstandingReads(address(1)));
+      } finally {
+         selector.readCompleted(address(0), startNanos);
+      }
+   }
+
+   public void testWriteReadsFromPrimary() {
+      MagicKey key = writeDivergentValues(BALANCED_CACHE);
+      ReadOwnerSelector selector = extractGlobalComponent(manager(2), ReadOwnerSelector.class);
+      long startNanos = selector.readStarted(address(0));
+      try {
+         // The previous value of a write comes from the primary owner
+         assertEquals("primary", cache(2, BALANCED_CACHE).put(key, "new"));
+      } finally {
+         selector.readCompleted(address(0), startNanos);
+      }
+   }
+
+   public void testSelectorOrder() {
+      ReadOwnerSelector selector = extractGlobalComponent(manager(0), ReadOwnerSelector.class);
+      List<Address> owners = List.of(address(1), address(2));
+      assertEquals(owners, selector.order(owners, ReadPolicy.LEAST_OUTSTANDING));
+
+      long startNanos = selector.readStarted(address(1));
+      try {
+         assertEquals(owners, selector.order(owners, ReadPolicy.PRIMARY));
+         assertEquals(List.of(address(2), address(1)), selector.order(owners, ReadPolicy.LEAST_OUTSTANDING));
+         // The backup owner has no completed read yet, so it is tried first
+         assertEquals(List.of(address(2), address(1)), selector.order(owners, ReadPolicy.LATENCY_AWARE));
+      } finally {
+         selector.readCompleted(address(1), startNanos);
+      }
+      assertEquals(0, selector.outstandingReads(address(1)));
+   }
+
+   private MagicKey writeDivergentValues(String cacheName) {
+      MagicKey key = new MagicKey(cache(0, cacheName), cache(1, cacheName));
+      cache(0, cacheName).put(key, "primary");
+      cache(1, cacheName).getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).put(key, "backup");
+      return key;
+   }
+}
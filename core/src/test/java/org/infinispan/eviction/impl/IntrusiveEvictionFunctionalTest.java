@@ -0,0 +1,170 @@
+package org.infinispan.eviction.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.AccessOrderEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.container.impl.IntrusiveBoundedSegmentedDataContainer;
+import org.infinispan.eviction.EvictionPolicy;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the eviction policies keeping the access order in the entries.
+ *
+ * @since 16.3
+ */
+@Test(groups = "functional", testName = "eviction.impl.IntrusiveEvictionFunctionalTest")
+@CleanupAfterMethod
+public class IntrusiveEvictionFunctionalTest extends MultipleCacheManagersTest {
+
+   private static final int CACHE_SIZE = 64;
+
+   private EvictionPolicy policy;
+
+   public IntrusiveEvictionFunctionalTest policy(EvictionPolicy policy) {
+      this.policy = policy;
+      return this;
+   }
+
+   @Override
+   public Object[] factory() {
+      return new Object[]{
+            new IntrusiveEvictionFunctionalTest().policy(EvictionPolicy.LRU),
+            new IntrusiveEvictionFunctionalTest().policy(EvictionPolicy.TINY_LFU)
+      };
+   }
+
+   @Override
+   protected String[] parameterNames() {
+      return concat(super.parameterNames(), "policy");
+   }
+
+   @Override
+   protected Object[] parameterValues() {
+      return concat(super.parameterValues(), policy);
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.REPL_SYNC, false);
+      // A single segment makes the eviction order exact
+      builder.clustering().hash().numSegments(1);
+      builder.memory().maxCount(CACHE_SIZE).evictionPolicy(policy);
+      createClusteredCaches(1, builder);
+   }
+
+   public void testContainer() {
+      assertThat(TestingUtil.extractComponent(cache(0), InternalDataContainer.class))
+            .isInstanceOf(IntrusiveBoundedSegmentedDataContainer.class);
+   }
+
+   public void testOnlyIntrusiveCacheEntriesHaveLinks() {
+      Cache<String, String> cache = cache(0);
+      cache.put("immortal", "value");
+      cache.put("mortal", "value", 1, TimeUnit.MINUTES);
+      cache.put("transient", "value", -1, TimeUnit.MINUTES, 1, TimeUnit.MINUTES);
+      DataContainer<String, String> container = cache.getAdvancedCache().getDataContainer();
+      for (String key : new String[]{"immortal", "mortal", "transient"}) {
+         InternalCacheEntry<String, String> entry = container.peek(key);
+         assertThat(entry).isInstanceOf(AccessOrderEntry.class);
+         // A copy does not belong to the access order of the original
+         AccessOrderEntry copy = (AccessOrderEntry) entry.clone();
+         assertThat(copy.getAccessPrevious()).isNull();
+         assertThat(copy.getAccessNext()).isNull();
+      }
+
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.REPL_SYNC, false);
+      builder.memory().maxCount(CACHE_SIZE);
+      manager(0).defineConfiguration("caffeine", builder.build());
+      Cache<String, String> caffeineCache = manager(0).getCache("caffeine");
+      caffeineCache.put("immortal", "value");
+      assertThat(caffeineCache.getAdvancedCache().getDataContainer().peek("immortal"))
+            .isNotInstanceOf(AccessOrderEntry.class);
+   }
+
+   public void testBoundedByCount() {
+      Cache<String, String> cache = cache(0);
+      EvictionFunctionalTest.EvictionListener listener = new EvictionFunctionalTest.EvictionListener();
+      cache.addListener(listener);
+      for (int i = 0; i < CACHE_SIZE * 2; i++) {
+         cache.put("key-" + i, "value-" + i);
+      }
+      InternalDataContainer<?, ?> container = TestingUtil.extractComponent(cache, InternalDataContainer.class);
+      assertThat(container.sizeIncludingExpired()).isEqualTo(CACHE_SIZE);
+      assertThat(container.evictionSize()).isEqualTo(CACHE_SIZE);
+      eventuallyEquals(CACHE_SIZE, () -> listener.getEvictedEvents().size());
+
+      // Updating entries must not change the count
+      for (int i = CACHE_SIZE; i < CACHE_SIZE * 2; i++) {
+         cache.put("key-" + i, "other-" + i);
+      }
+      assertThat(container.evictionSize()).isEqualTo(CACHE_SIZE);
+
+      cache.clear();
+      assertThat(container.evictionSize()).isZero();
+   }
+
+   public void testLeastRecentlyUsedEvicted() {
+      Cache<String, String> cache = cache(0);
+      for (int i = 0; i < CACHE_SIZE; i++) {
+         cache.put("key-" + i, "value-" + i);
+      }
+      // key-0 becomes the most recently used entry, so key-1 is evicted next
+      cache.get("key-0");
+      cache.put("new-key", "new-value");
+
+      DataContainer<String, String> container = cache.getAdvancedCache().getDataContainer();
+      assertThat(container.containsKey("key-0")).isTrue();
+      assertThat(container.containsKey("key-1")).isFalse();
+      assertThat(container.containsKey("new-key")).isTrue();
+   }
+
+   public void testFrequentEntriesSurviveScan() {
+      Cache<String, String> cache = cache(0);
+      int hotKeys = CACHE_SIZE / 4;
+      for (int i = 0; i < hotKeys; i++) {
+         cache.put("hot-" + i, "value-" + i);
+      }
+      for (int round = 0; round < 10; round++) {
+         for (int i = 0; i < hotKeys; i++) {
+            cache.get("hot-" + i);
+         }
+      }
+      // Write a scan of keys read only once, which is much larger than the cache
+      for (int i = 0; i < CACHE_SIZE * 4; i++) {
+         cache.put("scan-" + i, "value-" + i);
+      }
+
+      DataContainer<String, String> container = cache.getAdvancedCache().getDataContainer();
+      long survivors = IntStream.range(0, hotKeys).filter(i -> container.containsKey("hot-" + i)).count();
+      if (policy == EvictionPolicy.TINY_LFU) {
+         assertThat(survivors).isEqualTo(hotKeys);
+      } else {
+         assertThat(survivors).isZero();
+      }
+   }
+
+   public void testRequiresHeapMaxCount() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().maxSize("1MB").evictionPolicy(policy);
+      assertThatThrownBy(builder::build).isInstanceOf(CacheConfigurationException.class);
+
+      builder = new ConfigurationBuilder();
+      builder.memory().maxCount(CACHE_SIZE).storage(StorageType.OFF_HEAP).evictionPolicy(policy);
+      assertThatThrownBy(builder::build).isInstanceOf(CacheConfigurationException.class);
+   }
+}
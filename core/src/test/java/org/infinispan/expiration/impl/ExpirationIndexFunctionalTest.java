@@ -0,0 +1,65 @@
+package org.infinispan.expiration.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the expiration tests with the expiration index enabled
+ */
+@Test(groups = "functional", testName = "expiration.impl.ExpirationIndexFunctionalTest")
+public class ExpirationIndexFunctionalTest extends ExpirationFunctionalTest {
+
+   @Factory
+   @Override
+   public Object[] factory() {
+      return new Object[]{
+            new ExpirationIndexFunctionalTest().cacheMode(CacheMode.LOCAL).withStorage(StorageType.HEAP),
+            new ExpirationIndexFunctionalTest().cacheMode(CacheMode.LOCAL).withStorage(StorageType.OFF_HEAP),
+            new ExpirationIndexFunctionalTest().cacheMode(CacheMode.DIST_SYNC).withStorage(StorageType.HEAP),
+            new ExpirationIndexFunctionalTest().cacheMode(CacheMode.DIST_SYNC).withStorage(StorageType.OFF_HEAP)
+      };
+   }
+
+   @Override
+   protected void configure(ConfigurationBuilder config) {
+      super.configure(config);
+      config.expiration().index(true);
+   }
+
+   public void testOnlyDueEntriesArePurged() {
+      InternalDataContainer<?, ?> dataContainer = TestingUtil.extractComponent(cache, InternalDataContainer.class);
+      ExpirationManagerImpl<?, ?> manager = (ExpirationManagerImpl<?, ?>) expirationManager;
+      for (int i = 0; i < SIZE; i++) {
+         cache.put("immortal-" + i, "value-" + i);
+         cache.put("short-" + i, "value-" + i, 10, TimeUnit.MILLISECONDS);
+         cache.put("long-" + i, "value-" + i, 10, TimeUnit.MINUTES);
+      }
+      assertEquals(2 * SIZE, dataContainer.expirationIndexSize());
+
+      timeService.advance(11);
+      processExpiration();
+      assertEquals(SIZE, manager.getLastPurgedEntries());
+      assertEquals(SIZE, dataContainer.expirationIndexSize());
+      assertEquals(2 * SIZE, dataContainer.sizeIncludingExpired());
+
+      // Making an entry immortal removes it from the index
+      cache.put("long-0", "value-0");
+      assertEquals(SIZE - 1, dataContainer.expirationIndexSize());
+
+      timeService.advance(TimeUnit.MINUTES.toMillis(10));
+      processExpiration();
+      assertEquals(SIZE - 1, manager.getLastPurgedEntries());
+      assertEquals(2 * SIZE - 1, manager.getPurgedEntries());
+      assertEquals(0, dataContainer.expirationIndexSize());
+      assertEquals(SIZE + 1, dataContainer.sizeIncludingExpired());
+   }
+}
@@ -0,0 +1,81 @@
+package org.infinispan.interceptors.impl;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.infinispan.test.TestingUtil.extractInterceptorChain;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.interceptors.AsyncInterceptor;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.testing.Exceptions;
+import org.infinispan.util.concurrent.DataOperationOrderer;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the loads of a getAll on a cache with passivation are ordered with the concurrent passivations and
+ * activations of their keys, instead of being loaded in bulk.
+ *
+ * @since 16.3
+ */
+@Test(groups = "functional", testName = "interceptors.impl.PassivationGetAllTest")
+public class PassivationGetAllTest extends MultipleCacheManagersTest {
+   private static final String LOCAL_CACHE = "local";
+   private static final String DIST_CACHE = "dist";
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createClusteredCaches(1, DIST_CACHE, passivationBuilder(CacheMode.DIST_SYNC));
+      defineConfigurationOnAllManagers(LOCAL_CACHE, passivationBuilder(CacheMode.LOCAL));
+   }
+
+   private ConfigurationBuilder passivationBuilder(CacheMode cacheMode) {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(cacheMode);
+      builder.persistence().passivation(true)
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+            .storeName(getClass().getSimpleName() + "-" + cacheMode);
+      return builder;
+   }
+
+   public void testLocalGetAll() throws Exception {
+      testGetAllOrderedWithPassivation(LOCAL_CACHE, PassivationCacheLoaderInterceptor.class);
+   }
+
+   public void testClusteredGetAll() throws Exception {
+      testGetAllOrderedWithPassivation(DIST_CACHE, PassivationClusteredCacheLoaderInterceptor.class);
+   }
+
+   private void testGetAllOrderedWithPassivation(String cacheName, Class<? extends AsyncInterceptor> interceptorClass)
+         throws Exception {
+      Cache<Object, Object> cache = cache(0, cacheName);
+      assertNotNull(extractInterceptorChain(cache).findInterceptorWithClass(interceptorClass));
+      cache.put("k1", "v1");
+      cache.put("k2", "v2");
+      cache.evict("k1");
+      cache.evict("k2");
+      assertEquals(0, cache.getAdvancedCache().getDataContainer().size());
+
+      // Simulate a passivation or an activation of k1 in progress
+      DataOperationOrderer orderer = extractComponent(cache, DataOperationOrderer.class);
+      CompletableFuture<DataOperationOrderer.Operation> concurrent = new CompletableFuture<>();
+      assertNull(orderer.orderOn("k1", concurrent));
+
+      CompletableFuture<Map<Object, Object>> getAll = cache.getAdvancedCache().getAllAsync(Set.of("k1", "k2"));
+      Exceptions.expectException(TimeoutException.class, () -> getAll.get(100, TimeUnit.MILLISECONDS));
+
+      orderer.completeOperation("k1", concurrent, DataOperationOrderer.Operation.WRITE);
+      assertEquals(Map.of("k1", "v1", "k2", "v2"), getAll.get(10, TimeUnit.SECONDS));
+      eventuallyEquals(0, orderer::pendingOperations);
+   }
+}
@@ -132,6 +132,10 @@ public void testPassivateAll(Method m) throws Exception {
       }
       passivateAll();
       assertPassivationCount(9);
+      // Only the entry left in memory is written by the passivation of all the entries
+      MBeanServer mBeanServer = mBeanServerLookup.getMBeanServer();
+      assertEquals(1L, mBeanServer.getAttribute(passivationInterceptorObjName, "PassivatedOnStop"));
+      assertEquals(0L, mBeanServer.getAttribute(passivationInterceptorObjName, "PendingPassivationOnStop"));
    }
 
    private void assertPassivationCount(long activationCount) throws Exception {
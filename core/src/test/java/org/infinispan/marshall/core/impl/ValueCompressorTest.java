@@ -0,0 +1,115 @@
+package org.infinispan.marshall.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.ByteBufferImpl;
+import org.infinispan.configuration.cache.CompressionType;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.marshall.persistence.impl.MarshalledEntryFactoryImpl;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "marshall.core.impl.ValueCompressorTest")
+public class ValueCompressorTest extends AbstractInfinispanTest {
+
+   private static ValueCompressor compressor(CompressionType type, int threshold) {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().compression(type).compressionThreshold(threshold);
+      return ValueCompressor.fromConfiguration(builder.build().memory());
+   }
+
+   private static byte[] json(int fields) {
+      StringBuilder sb = new StringBuilder("{");
+      for (int i = 0; i < fields; i++) {
+         if (i > 0) sb.append(',');
+         sb.append("\"field").append(i).append("\":\"value").append(i).append('"');
+      }
+      return sb.append('}').toString().getBytes(StandardCharsets.UTF_8);
+   }
+
+   public void testDisabled() {
+      assertNull(compressor(CompressionType.NONE, 0));
+   }
+
+   public void testRoundTrip() {
+      ValueCompressor compressor = compressor(CompressionType.DEFLATE, 64);
+      byte[] value = json(1000);
+      byte[] compressed = compressor.compress(value, 0, value.length);
+      assertNotNull(compressed);
+      assertTrue(compressed.length < value.length);
+      assertTrue(ValueCompressor.isCompressed(compressed, 0, compressed.length));
+      assertArrayEquals(value, ValueCompressor.decompress(compressed, 0, compressed.length));
+   }
+
+   public void testRoundTripWithOffset() {
+      ValueCompressor compressor = compressor(CompressionType.DEFLATE, 64);
+      byte[] value = json(100);
+      byte[] padded = new byte[value.length + 20];
+      System.arraycopy(value, 0, padded, 10, value.length);
+      byte[] compressed = compressor.compress(padded, 10, value.length);
+      assertNotNull(compressed);
+      byte[] copy = new byte[compressed.length + 5];
+      System.arraycopy(compressed, 0, copy, 5, compressed.length);
+      assertArrayEquals(value, ValueCompressor.decompress(copy, 5, compressed.length));
+   }
+
+   public void testBelowThreshold() {
+      ValueCompressor compressor = compressor(CompressionType.DEFLATE, 1024);
+      byte[] value = json(10);
+      assertTrue(value.length < 1024);
+      assertNull(compressor.compress(value, 0, value.length));
+   }
+
+   public void testIncompressible() {
+      ValueCompressor compressor = compressor(CompressionType.DEFLATE, 0);
+      byte[] value = new byte[4096];
+      new Random(42).nextBytes(value);
+      assertNull(compressor.compress(value, 0, value.length));
+   }
+
+   public void testUncompressedIsNotDecompressed() {
+      byte[] value = json(10);
+      assertFalse(ValueCompressor.isCompressed(value, 0, value.length));
+      assertNull(ValueCompressor.decompress(value, 0, value.length));
+   }
+
+   public void testEntryOfUncompressedCacheKeepsValueBytes() {
+      // A value that looks compressed, as some marshallers can produce
+      byte[] value = {ValueCompressor.MAGIC, ValueCompressor.DEFLATE, 0, 0, 0, 10, 1, 2, 3, 4};
+      ByteBuffer valueBytes = ByteBufferImpl.create(value);
+      MarshallableEntry<?, ?> entry = new MarshalledEntryFactoryImpl().create(ByteBufferImpl.create(new byte[]{1}), valueBytes);
+      assertSame(valueBytes, entry.getValueBytes());
+      assertSame(valueBytes, entry.getStoredValueBytes());
+   }
+
+   public void testEntryOfCompressedCacheDecompressesStoredValue() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().compression(CompressionType.DEFLATE).compressionThreshold(64);
+      MarshalledEntryFactoryImpl factory = new MarshalledEntryFactoryImpl();
+      TestingUtil.inject(factory, builder.build());
+      TestingUtil.startComponent(factory);
+
+      byte[] value = json(100);
+      byte[] compressed = ValueCompressor.fromConfiguration(builder.build().memory()).compress(value, 0, value.length);
+      ByteBuffer storedBytes = ByteBufferImpl.create(compressed);
+      MarshallableEntry<?, ?> entry = factory.create(ByteBufferImpl.create(new byte[]{1}), storedBytes);
+      assertArrayEquals(value, entry.getValueBytes().trim());
+      assertSame(storedBytes, entry.getStoredValueBytes());
+
+      // An entry with a value that was stored before compression was enabled
+      ByteBuffer plainBytes = ByteBufferImpl.create(value);
+      entry = factory.create(ByteBufferImpl.create(new byte[]{1}), plainBytes);
+      assertSame(plainBytes, entry.getValueBytes());
+   }
+}
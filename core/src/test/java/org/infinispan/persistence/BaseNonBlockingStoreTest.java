@@ -12,6 +12,7 @@
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
@@ -569,6 +570,24 @@ public void testLoadAll() throws PersistenceException {
       }
    }
 
+   public void testLoadAllKeys() throws PersistenceException {
+      assertIsEmpty();
+
+      for (int i = 0; i < 5; ++i) {
+         store.write(marshalledEntry("k" + i, "v" + i));
+      }
+
+      List<Object> keys = List.of(keyToStorage("k0"), keyToStorage("k2"), keyToStorage("k4"), keyToStorage("missing"));
+      Map<Object, Object> loaded = store.loadAllWait(keys).stream()
+            .collect(Collectors.toMap(MarshallableEntry::getKey, MarshallableEntry::getValue));
+      assertEquals(3, loaded.size());
+      assertEquals(valueToStorage("v0"), loaded.get(keyToStorage("k0")));
+      assertEquals(valueToStorage("v2"), loaded.get(keyToStorage("k2")));
+      assertEquals(valueToStorage("v4"), loaded.get(keyToStorage("k4")));
+
+      assertTrue(store.loadAllWait(List.of(keyToStorage("missing"))).isEmpty());
+   }
+
    public void testReplaceEntry() {
       assertIsEmpty();
       InternalCacheEntry tmpIce = internalCacheEntry("ok", "v1", -1);
@@ -1,10 +1,22 @@
 package org.infinispan.persistence.file;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletionStage;
 
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.Util;
 import org.infinispan.commons.util.concurrent.CompletionStages;
@@ -28,6 +40,7 @@ public class SingleFileStoreTest extends BaseNonBlockingStoreTest {
 
    private final String tmpDirectory = Testing.tmpDirectory(this.getClass());
    private boolean segmented;
+   private boolean persistentIndex;
 
    @AfterClass(alwaysRun = true)
    protected void clearTempDir() {
@@ -39,17 +52,24 @@ public SingleFileStoreTest segmented(boolean segmented) {
       return this;
    }
 
+   public SingleFileStoreTest persistentIndex(boolean persistentIndex) {
+      this.persistentIndex = persistentIndex;
+      return this;
+   }
+
    @Factory
    public Object[] factory() {
       return new Object[] {
               new SingleFileStoreTest().segmented(false),
               new SingleFileStoreTest().segmented(true),
+              new SingleFileStoreTest().segmented(false).persistentIndex(true),
+              new SingleFileStoreTest().segmented(true).persistentIndex(true),
       };
    }
 
    @Override
    protected String parameters() {
-      return "[" + segmented + "]";
+      return "[" + segmented + ", " + persistentIndex + "]";
    }
 
    @Override
@@ -63,6 +83,7 @@ protected SingleFileStoreConfigurationBuilder createCacheStoreConfig(Persistence
       cfg.segmented(segmented);
       cfg.location(tmpDirectory);
       cfg.fragmentationFactor(0.5f);
+      cfg.persistentIndex(persistentIndex);
       return cfg;
    }
 
@@ -125,4 +146,63 @@ public void testStopDuringClear() {
       long size = CompletionStages.join(store.size(IntSets.immutableRangeSet(segmentCount)));
       assertTrue(size == 0 || size == 1);
    }
+
+   public void testRestartWithIndex() throws IOException {
+      for (int i = 0; i < 100; i++) {
+         store.write(marshalledEntry(internalCacheEntry("k" + i, "v" + i, -1)));
+      }
+      for (int i = 0; i < 100; i += 3) {
+         store.delete(keyToStorage("k" + i));
+      }
+      store.stopAndWait();
+
+      Path indexFile = Path.of(tmpDirectory, "mock-cache.idx");
+      assertEquals(persistentIndex, Files.exists(indexFile));
+      startStore(store);
+      assertIndexedEntries();
+
+      if (persistentIndex) {
+         // Simulate a crash, the index must be rebuilt from the data file
+         store.stopAndWait();
+         try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), 0);
+         }
+         startStore(store);
+         assertIndexedEntries();
+      }
+
+      // Writes after the restart reuse the free entries
+      store.write(marshalledEntry(internalCacheEntry("k0", "v0", -1)));
+      assertEquals(valueToStorage("v0"), store.loadEntry(keyToStorage("k0")).getValue());
+   }
+
+   public void testPublishKeysReadsIndexInPages() {
+      int numEntries = 1000;
+      Set<Object> keys = new HashSet<>();
+      for (int i = 0; i < numEntries; i++) {
+         store.write(marshalledEntry(internalCacheEntry("k" + i, "v" + i, -1)));
+         keys.add(keyToStorage("k" + i));
+      }
+      IntSet segments = IntSets.immutableRangeSet(segmentCount);
+      List<Object> published = store.publishKeysWait(segments, null);
+      assertEquals(numEntries, published.size());
+      assertEquals(keys, new HashSet<>(published));
+
+      store.clearAndWait();
+      assertEquals(0, store.publishKeysWait(segments, null).size());
+      assertEquals(0, (long) CompletionStages.join(store.size(segments)));
+   }
+
+   private void assertIndexedEntries() {
+      for (int i = 0; i < 100; i++) {
+         MarshallableEntry<Object, Object> entry = store.loadEntry(keyToStorage("k" + i));
+         if (i % 3 == 0) {
+            assertNull(entry);
+         } else {
+            assertEquals(valueToStorage("v" + i), entry.getValue());
+         }
+      }
+      assertEquals(66, (long) CompletionStages.join(store.size(IntSets.immutableRangeSet(segmentCount))));
+      assertEquals(66, (long) CompletionStages.join(store.approximateSize(IntSets.immutableRangeSet(segmentCount))));
+   }
 }
@@ -0,0 +1,69 @@
+package org.infinispan.persistence.sifs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "persistence.sifs.CompactionThrottleTest")
+public class CompactionThrottleTest {
+
+   public void testUnlimited() {
+      CompactionThrottle throttle = new CompactionThrottle(0, 0, () -> 0);
+      for (int i = 0; i < 1000; i++) {
+         throttle.acquire(1024 * 1024, 2, () -> false);
+      }
+      assertEquals(0, throttle.throttledNanos());
+   }
+
+   public void testOperationsLimit() {
+      CompactionThrottle throttle = new CompactionThrottle(0, 100, () -> 0);
+      long start = System.nanoTime();
+      // 60 operations at 100 per second take 600 ms, of which the first 100 ms are the allowed burst
+      for (int i = 0; i < 30; i++) {
+         throttle.acquire(0, 2, () -> false);
+      }
+      long elapsed = System.nanoTime() - start;
+      assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(450), "Elapsed " + elapsed);
+      assertTrue(throttle.throttledNanos() > 0);
+   }
+
+   public void testThroughputLimit() {
+      CompactionThrottle throttle = new CompactionThrottle(1, 0, () -> 0);
+      long start = System.nanoTime();
+      // 512 kB at 1 MB per second take 500 ms, of which the first 100 ms are the allowed burst
+      for (int i = 0; i < 8; i++) {
+         throttle.acquire(64 * 1024, 2, () -> false);
+      }
+      long elapsed = System.nanoTime() - start;
+      assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(350), "Elapsed " + elapsed);
+   }
+
+   public void testPausedUnderWritePressure() {
+      AtomicInteger pendingWrites = new AtomicInteger(CompactionThrottle.WRITE_PRESSURE_THRESHOLD + 1);
+      CompactionThrottle throttle = new CompactionThrottle(0, 0, pendingWrites::get);
+      long start = System.nanoTime();
+      // The pause is bounded even if the pressure never goes away
+      throttle.acquire(100, 2, () -> false);
+      long elapsed = System.nanoTime() - start;
+      assertTrue(elapsed >= CompactionThrottle.MAX_PAUSE_NANOS, "Elapsed " + elapsed);
+
+      // And it ends as soon as the appender catches up
+      AtomicInteger polls = new AtomicInteger();
+      CompactionThrottle catchingUp = new CompactionThrottle(0, 0,
+            () -> polls.incrementAndGet() < 5 ? pendingWrites.get() : 0);
+      start = System.nanoTime();
+      catchingUp.acquire(100, 2, () -> false);
+      assertTrue(System.nanoTime() - start < CompactionThrottle.MAX_PAUSE_NANOS);
+   }
+
+   public void testCancelled() {
+      CompactionThrottle throttle = new CompactionThrottle(0, 0, () -> Integer.MAX_VALUE);
+      long start = System.nanoTime();
+      throttle.acquire(100, 2, () -> true);
+      assertTrue(System.nanoTime() - start < CompactionThrottle.MAX_PAUSE_NANOS);
+   }
+}
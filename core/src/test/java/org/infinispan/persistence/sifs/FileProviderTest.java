@@ -1,10 +1,13 @@
 package org.infinispan.persistence.sifs;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 
 import org.infinispan.commons.util.Util;
@@ -93,4 +96,32 @@ public void testGetFileNonExistentFileWhenIsIndexTrue() throws IOException {
          fileProvider.stop();
       }
    }
+
+   public void testMemoryMappedReadOfCompletedLogFile() throws IOException {
+      Path dataPath = Path.of(tmpDirectory, "data");
+      FileProvider fileProvider = new FileProvider(dataPath, 10, "test-", 1000, false, true);
+
+      try {
+         byte[] data = {1, 2, 3, 4, 5, 6, 7, 8};
+         FileProvider.Log log = fileProvider.getFileForLog();
+         log.fileChannel.write(ByteBuffer.wrap(data));
+
+         // The log file still grows so it is read from the channel
+         FileProvider.Handle handle = fileProvider.getFile(log.fileId);
+         assertNotNull(handle);
+         ByteBuffer buffer = ByteBuffer.allocate(4);
+         assertEquals(4, handle.read(buffer, 2));
+         assertArrayEquals(new byte[]{3, 4, 5, 6}, buffer.array());
+         log.close();
+
+         // Once complete the file is mapped and reads stop at its end
+         buffer = ByteBuffer.allocate(4);
+         assertEquals(2, handle.read(buffer, 6));
+         assertArrayEquals(new byte[]{7, 8, 0, 0}, buffer.array());
+         assertEquals(-1, handle.read(ByteBuffer.allocate(4), data.length));
+         handle.close();
+      } finally {
+         fileProvider.stop();
+      }
+   }
 }
@@ -9,22 +9,28 @@
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 import org.infinispan.Cache;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.Util;
 import org.infinispan.commons.util.concurrent.CompletionStages;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.marshall.TestObjectStreamMarshaller;
 import org.infinispan.marshall.persistence.impl.MarshalledEntryUtil;
+import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.async.AsyncNonBlockingStore;
 import org.infinispan.persistence.dummy.DummyInMemoryStore;
 import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
@@ -37,6 +43,7 @@
 import org.infinispan.test.fwk.TestCacheManagerFactory;
 import org.infinispan.test.fwk.TestInternalCacheEntryFactory;
 import org.infinispan.testing.Exceptions;
+import org.infinispan.testing.Testing;
 import org.infinispan.testing.TestResourceTracker;
 import org.infinispan.util.PersistenceMockUtil;
 import org.testng.annotations.AfterMethod;
@@ -301,6 +308,132 @@ public void testModificationQueueSize(final Method m) throws Exception {
       }
    }
 
+   private InitializationContext createJournalContext(int queueSize) {
+      Util.recursiveFileRemove(Testing.tmpDirectory(getClass()));
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.persistence()
+            .addStore(DelayStore.ConfigurationBuilder.class)
+            .segmented(false)
+            .async()
+            .modificationQueueSize(queueSize)
+            .journal(true);
+      return PersistenceMockUtil.createContext(getClass(), builder.build(), marshaller);
+   }
+
+   public void testModificationQueueSizeWithJournal(final Method m) throws Exception {
+      int queueSize = 5;
+      int number = queueSize * 4;
+      DelayStore underlying = new DelayStore();
+      store = new AsyncNonBlockingStore<>(underlying);
+      CompletionStages.join(store.start(createJournalContext(queueSize)));
+      // Delay the first batch until we complete this future
+      underlying.delayAfterModification(1);
+      try {
+         // The writes that do not fit in the queue are appended to the journal instead of waiting for the first batch
+         for (int i = 0; i < number; i++) {
+            CompletionStage<Void> write = store.write(0, MarshalledEntryUtil.create(k(m, i), v(m, i), marshaller));
+            write.toCompletableFuture().get(10, TimeUnit.SECONDS);
+         }
+         assertEquals(0, underlying.size());
+         for (int i = 0; i < number; i++) {
+            assertEquals(v(m, i), CompletionStages.join(store.load(0, k(m, i))).getValue());
+         }
+
+         underlying.endDelay();
+         eventuallyEquals((long) number, underlying::size);
+      } finally {
+         underlying.endDelay();
+      }
+   }
+
+   public void testJournalReplayedOnStart(final Method m) throws Exception {
+      DelayStore underlying = new DelayStore();
+      InitializationContext ctx = createJournalContext(1);
+      AsyncNonBlockingStore<Object, Object> crashed = new AsyncNonBlockingStore<>(underlying);
+      CompletionStages.join(crashed.start(ctx));
+      underlying.delayAfterModification(1);
+      try {
+         // The first write is replicating and the others are appended to the journal
+         for (int i = 0; i < 10; i++) {
+            CompletionStages.join(crashed.write(0, MarshalledEntryUtil.create(k(m, i), v(m, i), marshaller)));
+         }
+         CompletionStages.join(crashed.delete(0, k(m, 1)));
+
+         // Start another store on the same journal without stopping the first one, as after a crash
+         DummyInMemoryStore restarted = new DummyInMemoryStore();
+         store = new AsyncNonBlockingStore<>(restarted);
+         CompletionStages.join(store.start(ctx));
+         eventuallyEquals(8L, restarted::size);
+         assertNull(restarted.loadEntry(k(m, 0)));
+         assertNull(restarted.loadEntry(k(m, 1)));
+         for (int i = 2; i < 10; i++) {
+            assertEquals(v(m, i), restarted.loadEntry(k(m, i)).getValue());
+         }
+         CompletionStages.join(store.stop());
+         store = null;
+      } finally {
+         underlying.endDelay();
+         CompletionStages.join(crashed.stop());
+      }
+   }
+
+   private static long journalFileSize(InitializationContext ctx) throws IOException {
+      Path directory = PersistenceUtil.getLocation(ctx.getGlobalConfiguration(), null).resolve("write-behind");
+      try (Stream<Path> files = Files.list(directory)) {
+         long size = 0;
+         for (Path file : (Iterable<Path>) files::iterator) {
+            size += Files.size(file);
+         }
+         return size;
+      }
+   }
+
+   public void testJournalSequencesContinueAfterRestart(final Method m) throws Exception {
+      InitializationContext ctx = createJournalContext(1);
+      DelayStore first = new DelayStore();
+      AsyncNonBlockingStore<Object, Object> crashed = new AsyncNonBlockingStore<>(first);
+      CompletionStages.join(crashed.start(ctx));
+      first.delayAfterModification(1);
+      DelayStore second = new DelayStore();
+      AsyncNonBlockingStore<Object, Object> crashedAgain = null;
+      try {
+         // The journal only holds cleared modifications, with sequences lower than the clear record
+         for (int i = 0; i < 10; i++) {
+            CompletionStages.join(crashed.write(0, MarshalledEntryUtil.create(k(m, i), v(m, i), marshaller)));
+         }
+         // The clear waits for the delayed batch, but its record is appended right away
+         long sizeBeforeClear = journalFileSize(ctx);
+         crashed.clear();
+         eventually(() -> journalFileSize(ctx) > sizeBeforeClear);
+
+         // The second store appends new modifications, that the clear record must not invalidate
+         crashedAgain = new AsyncNonBlockingStore<>(second);
+         CompletionStages.join(crashedAgain.start(ctx));
+         second.delayAfterModification(1);
+         for (int i = 0; i < 4; i++) {
+            CompletionStages.join(crashedAgain.write(0, MarshalledEntryUtil.create(k(m, i), v(m, i), marshaller)));
+         }
+
+         DummyInMemoryStore restarted = new DummyInMemoryStore();
+         store = new AsyncNonBlockingStore<>(restarted);
+         CompletionStages.join(store.start(ctx));
+         eventuallyEquals(3L, restarted::size);
+         assertNull(restarted.loadEntry(k(m, 0)));
+         for (int i = 1; i < 4; i++) {
+            assertEquals(v(m, i), restarted.loadEntry(k(m, i)).getValue());
+         }
+         CompletionStages.join(store.stop());
+         store = null;
+      } finally {
+         first.endDelay();
+         second.endDelay();
+         CompletionStages.join(crashed.stop());
+         if (crashedAgain != null) {
+            CompletionStages.join(crashedAgain.stop());
+         }
+      }
+   }
+
    private abstract static class OneEntryCacheManagerCallable extends CacheManagerCallable {
       protected final Cache<String, String> cache;
       protected final DelayStore store;
@@ -1,6 +1,8 @@
 package org.infinispan.persistence.support;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
@@ -13,6 +15,7 @@
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.NonBlockingStore;
+import org.infinispan.persistence.support.SingleSegmentPublisher;
 import org.infinispan.test.TestingUtil;
 import org.reactivestreams.Publisher;
 
@@ -36,6 +39,16 @@ default MarshallableEntry<K, V> loadEntry(Object key) {
       return join(load(segment, key));
    }
 
+   default List<MarshallableEntry<K, V>> loadAllWait(Collection<?> keys) {
+      Map<Integer, List<Object>> keysBySegment = keys.stream()
+            .collect(Collectors.groupingBy(getKeyPartitioner()::getSegment));
+      Flowable<SegmentedPublisher<Object>> keyPublisher = Flowable.fromIterable(keysBySegment.entrySet())
+            .map(e -> SingleSegmentPublisher.singleSegment(e.getKey(), Flowable.fromIterable(e.getValue())));
+      return join(Flowable.fromPublisher(loadAll(Math.max(keysBySegment.size(), 1), keyPublisher))
+            .collect(Collectors.toList())
+            .toCompletionStage());
+   }
+
    default void write(MarshallableEntry<K, V> entry) {
       int segment = getKeyPartitioner().getSegment(entry.getKey());
       join(write(segment, entry));
@@ -0,0 +1,112 @@
+package org.infinispan.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.eviction.EvictionPolicy;
+import org.infinispan.manager.DefaultCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This benchmark compares the bounded heap containers of the eviction policies: the Caffeine backed container used by
+ * {@link EvictionPolicy#W_TINY_LFU} and the container keeping the access order in the entries used by the other
+ * policies.
+ * <p>
+ * Besides the throughput of reads and of writes that evict, the setup prints the heap retained per entry once the
+ * cache is full, to compare the memory footprint of the containers.
+ *
+ * @since 16.3
+ */
+public class BoundedContainerBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(BoundedContainerBenchmark.class.getName() + ".State.*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(4)
+            .forks(1)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"W_TINY_LFU", "LRU", "TINY_LFU"})
+      EvictionPolicy policy;
+
+      @Param({"1000000"})
+      int maxCount;
+
+      private DefaultCacheManager cacheManager;
+      private Cache<Integer, byte[]> cache;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+         long before = usedHeap(memory);
+
+         GlobalConfigurationBuilder global = GlobalConfigurationBuilder.defaultClusteredBuilder();
+         global.jmx().enabled(false);
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         // The containers keeping the access order in the entries require a segmented cache
+         builder.clustering().cacheMode(CacheMode.REPL_SYNC);
+         builder.memory().maxCount(maxCount).evictionPolicy(policy);
+         cacheManager = new DefaultCacheManager(global.build());
+         cacheManager.defineConfiguration("bounded", builder.build());
+         cache = cacheManager.getCache("bounded");
+         for (int i = 0; i < maxCount; i++) {
+            cache.put(i, new byte[8]);
+         }
+
+         long retained = usedHeap(memory) - before;
+         System.out.printf("%n%s: %d bytes retained by %d entries, %.1f bytes per entry%n", policy, retained,
+               maxCount, (double) retained / maxCount);
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         cacheManager.stop();
+      }
+
+      private static long usedHeap(MemoryMXBean memory) {
+         for (int i = 0; i < 3; i++) {
+            memory.gc();
+         }
+         return memory.getHeapMemoryUsage().getUsed();
+      }
+
+      @Benchmark
+      public byte[] get() {
+         // Half of the reads miss, as the keys are twice as many as the entries that fit
+         return cache.get(ThreadLocalRandom.current().nextInt(maxCount * 2));
+      }
+
+      @Benchmark
+      public byte[] putEvicting() {
+         return cache.put(ThreadLocalRandom.current().nextInt(maxCount * 2), new byte[8]);
+      }
+   }
+}
@@ -0,0 +1,100 @@
+package org.infinispan.profiling;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This benchmark measures the throughput and the latency of small writes to a non-transactional distributed cache
+ * with 2 owners, on a cluster of 3 nodes in the same JVM, with 1, 16 and 64 writer threads. It compares sending every
+ * command in its own message, a linger of 0, with batching the commands to the same destination for up to 20 and 100
+ * microseconds.
+ *
+ * @since 16.3
+ */
+public class CommandBatchingBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+   private static final int[] THREADS = {1, 16, 64};
+   private static final int NODES = 3;
+
+   public static void main(String[] args) throws Exception {
+      for (int threads : THREADS) {
+         Options opt = new OptionsBuilder()
+               .include(CommandBatchingBenchmark.class.getName() + ".State.*")
+               .warmupIterations(WARMUP_ITERATIONS_COUNT)
+               .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+               .threads(threads)
+               .forks(1)
+               .shouldFailOnError(true)
+               .build();
+
+         new Runner(opt).run();
+      }
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"0", "20", "100"})
+      int commandBatchLinger;
+
+      @Param({"64"})
+      int valueSize;
+
+      @Param({"100000"})
+      int keys;
+
+      private final DefaultCacheManager[] cacheManagers = new DefaultCacheManager[NODES];
+      private Cache<Integer, byte[]> cache;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         for (int i = 0; i < NODES; i++) {
+            GlobalConfigurationBuilder global = GlobalConfigurationBuilder.defaultClusteredBuilder();
+            global.jmx().enabled(false);
+            global.transport().clusterName("command-batching").nodeName("node-" + i)
+                  .commandBatchLinger(commandBatchLinger);
+            ConfigurationBuilder builder = new ConfigurationBuilder();
+            builder.clustering().cacheMode(CacheMode.DIST_SYNC).hash().numOwners(2);
+            cacheManagers[i] = new DefaultCacheManager(global.build());
+            cacheManagers[i].defineConfiguration("dist", builder.build());
+         }
+         for (int i = NODES - 1; i >= 0; i--) {
+            cacheManagers[i].getCache("dist");
+         }
+         cache = cacheManagers[0].getCache("dist");
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         for (int i = NODES - 1; i >= 0; i--) {
+            cacheManagers[i].stop();
+         }
+      }
+
+      @Benchmark
+      @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+      @OutputTimeUnit(TimeUnit.MICROSECONDS)
+      public void put() {
+         cache.put(ThreadLocalRandom.current().nextInt(keys), new byte[valueSize]);
+      }
+   }
+}
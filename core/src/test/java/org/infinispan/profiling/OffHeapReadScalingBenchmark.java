@@ -0,0 +1,100 @@
+package org.infinispan.profiling;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This benchmark measures how the reads of an off-heap cache scale with the number of reader threads, running the
+ * benchmarks with 1 to 64 threads. The reads do not acquire the lock of their region unless a write to it happened
+ * meanwhile, so the throughput should grow with the threads until the cores are exhausted.
+ *
+ * @since 16.3
+ */
+public class OffHeapReadScalingBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+   private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+   public static void main(String[] args) throws Exception {
+      for (int threads : THREADS) {
+         Options opt = new OptionsBuilder()
+               .include(OffHeapReadScalingBenchmark.class.getName() + ".State.*")
+               .mode(Mode.Throughput)
+               .timeUnit(TimeUnit.MILLISECONDS)
+               .warmupIterations(WARMUP_ITERATIONS_COUNT)
+               .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+               .threads(threads)
+               .forks(1)
+               .shouldFailOnError(true)
+               .build();
+
+         new Runner(opt).run();
+      }
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"100000"})
+      int entries;
+
+      private DefaultCacheManager cacheManager;
+      private Cache<Integer, byte[]> cache;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+         global.jmx().enabled(false);
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.memory().storage(StorageType.OFF_HEAP);
+         cacheManager = new DefaultCacheManager(global.build());
+         cacheManager.defineConfiguration("offheap", builder.build());
+         cache = cacheManager.getCache("offheap");
+         for (int i = 0; i < entries; i++) {
+            cache.put(i, new byte[64]);
+         }
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         cacheManager.stop();
+      }
+
+      @Benchmark
+      public byte[] get() {
+         return cache.get(ThreadLocalRandom.current().nextInt(entries));
+      }
+
+      @Benchmark
+      public boolean containsKey() {
+         return cache.containsKey(ThreadLocalRandom.current().nextInt(entries));
+      }
+
+      @Benchmark
+      public byte[] getWithWrites() {
+         // One operation out of 100 writes, invalidating the optimistic reads of its region
+         ThreadLocalRandom random = ThreadLocalRandom.current();
+         int key = random.nextInt(entries);
+         if (random.nextInt(100) == 0) {
+            return cache.put(key, new byte[64]);
+         }
+         return cache.get(key);
+      }
+   }
+}
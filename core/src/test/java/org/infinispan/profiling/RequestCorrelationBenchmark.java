@@ -0,0 +1,104 @@
+package org.infinispan.profiling;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.util.concurrent.ConcurrentLongHashMap;
+import org.infinispan.util.concurrent.TimeoutWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This benchmark measures the throughput of the correlation of a request with its response with 1, 8 and 32 threads:
+ * registering the request and its timeout, looking it up when the response arrives and removing it. It compares a
+ * {@link ConcurrentHashMap} with a timeout task per request against a {@link ConcurrentLongHashMap} with a shared
+ * {@link TimeoutWheel}, as used by the request repository and the command acknowledge collector.
+ *
+ * @since 16.3
+ */
+public class RequestCorrelationBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+   private static final int[] THREADS = {1, 8, 32};
+
+   public static void main(String[] args) throws Exception {
+      for (int threads : THREADS) {
+         Options opt = new OptionsBuilder()
+               .include(RequestCorrelationBenchmark.class.getName() + ".State.*")
+               .mode(Mode.Throughput)
+               .timeUnit(TimeUnit.SECONDS)
+               .warmupIterations(WARMUP_ITERATIONS_COUNT)
+               .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+               .threads(threads)
+               .forks(1)
+               .shouldFailOnError(true)
+               .build();
+
+         new Runner(opt).run();
+      }
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"executor", "wheel"})
+      String correlation;
+
+      @Param({"10000"})
+      long timeoutMillis;
+
+      private final AtomicLong nextId = new AtomicLong();
+      private ScheduledThreadPoolExecutor timeoutExecutor;
+      private ConcurrentHashMap<Long, Object> requests;
+      private ConcurrentLongHashMap<Object> longRequests;
+      private TimeoutWheel timeoutWheel;
+      private TimeoutWheel.Owner owner;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         timeoutExecutor = new ScheduledThreadPoolExecutor(1);
+         timeoutExecutor.setRemoveOnCancelPolicy(true);
+         requests = new ConcurrentHashMap<>();
+         longRequests = new ConcurrentLongHashMap<>();
+         timeoutWheel = new TimeoutWheel(timeoutExecutor);
+         owner = (id, deadline, now) -> longRequests.get(id) != null && now - deadline < 0;
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         timeoutWheel.stop();
+         timeoutExecutor.shutdownNow();
+      }
+
+      @Benchmark
+      public Object correlate() {
+         long id = nextId.incrementAndGet();
+         Object request = new Object();
+         if ("wheel".equals(correlation)) {
+            longRequests.put(id, request);
+            timeoutWheel.schedule(owner, id, TimeoutWheel.deadline(timeoutMillis, TimeUnit.MILLISECONDS));
+            Object found = longRequests.get(id);
+            longRequests.remove(id);
+            return found;
+         }
+         requests.put(id, request);
+         ScheduledFuture<?> timeout = timeoutExecutor.schedule(() -> requests.remove(id), timeoutMillis,
+               TimeUnit.MILLISECONDS);
+         Object found = requests.get(id);
+         requests.remove(id);
+         timeout.cancel(false);
+         return found;
+      }
+   }
+}
@@ -0,0 +1,93 @@
+package org.infinispan.profiling;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This benchmark measures the throughput of the synchronous writes of the soft index file store with 1, 8 and 64
+ * writer threads, fsyncing as soon as the appender has no other write to append or grouping the writes that arrive
+ * within the group commit delay into a single fsync.
+ *
+ * @since 16.3
+ */
+public class SoftIndexFileStoreSyncWriteBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+   private static final int[] THREADS = {1, 8, 64};
+
+   public static void main(String[] args) throws Exception {
+      for (int threads : THREADS) {
+         Options opt = new OptionsBuilder()
+               .include(SoftIndexFileStoreSyncWriteBenchmark.class.getName() + ".State.*")
+               .mode(Mode.Throughput)
+               .timeUnit(TimeUnit.SECONDS)
+               .warmupIterations(WARMUP_ITERATIONS_COUNT)
+               .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+               .threads(threads)
+               .forks(1)
+               .shouldFailOnError(true)
+               .build();
+
+         new Runner(opt).run();
+      }
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"0", "1", "5"})
+      long groupCommitDelay;
+
+      @Param({"100000"})
+      int keys;
+
+      private Path location;
+      private DefaultCacheManager cacheManager;
+      private Cache<Integer, byte[]> cache;
+
+      @Setup(Level.Trial)
+      public void setup() throws Exception {
+         location = Files.createTempDirectory("sifs-benchmark");
+         GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+         global.jmx().enabled(false);
+         global.globalState().persistentLocation(location.toString());
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.persistence().addStore(SoftIndexFileStoreConfigurationBuilder.class)
+               .syncWrites(true)
+               .groupCommitDelay(groupCommitDelay);
+         cacheManager = new DefaultCacheManager(global.build());
+         cacheManager.defineConfiguration("sifs", builder.build());
+         cache = cacheManager.getCache("sifs");
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         cacheManager.stop();
+         Util.recursiveFileRemove(location.toFile());
+      }
+
+      @Benchmark
+      public byte[] put() {
+         return cache.put(ThreadLocalRandom.current().nextInt(keys), new byte[256]);
+      }
+   }
+}
@@ -0,0 +1,121 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import static org.infinispan.test.TestingUtil.extractCacheTopology;
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.infinispan.test.TestingUtil.wrapGlobalComponent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.remote.MultipleRpcCommand;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.inboundhandler.InboundInvocationHandler;
+import org.infinispan.remoting.inboundhandler.Reply;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.util.concurrent.CommandAckCollector;
+import org.infinispan.xsite.commands.remote.XSiteRequest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the writes of a non-transactional distributed cache reach all the owners in order when the transport
+ * batches the commands that do not expect a response.
+ *
+ * @since 16.3
+ */
+@Test(groups = "functional", testName = "remoting.transport.jgroups.CommandBatchingTest")
+public class CommandBatchingTest extends MultipleCacheManagersTest {
+   private static final int THREADS = 6;
+   private static final int WRITES_PER_THREAD = 500;
+   private static final int KEYS_PER_THREAD = 10;
+
+   private final AtomicInteger batchesReceived = new AtomicInteger();
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      GlobalConfigurationBuilder globalBuilder = GlobalConfigurationBuilder.defaultClusteredBuilder();
+      globalBuilder.transport().commandBatchLinger(200).commandBatchSize(16);
+      ConfigurationBuilder cacheBuilder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      createCluster(globalBuilder, cacheBuilder, 3);
+      for (EmbeddedCacheManager manager : managers()) {
+         wrapGlobalComponent(manager, InboundInvocationHandler.class, BatchCountingHandler::new, true);
+      }
+      waitForClusterToForm();
+   }
+
+   public void testConcurrentWrites() throws Exception {
+      List<Future<Void>> futures = new ArrayList<>(THREADS);
+      for (int t = 0; t < THREADS; t++) {
+         int thread = t;
+         futures.add(fork(() -> {
+            Cache<String, String> cache = cache(thread % managers().length);
+            for (int i = 0; i < WRITES_PER_THREAD; i++) {
+               // Overwrite the same keys, so that a write applied out of order on a backup leaves a stale value
+               cache.put(key(thread, i % KEYS_PER_THREAD), value(thread, i));
+            }
+            return null;
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+
+      for (int thread = 0; thread < THREADS; thread++) {
+         for (int k = 0; k < KEYS_PER_THREAD; k++) {
+            String key = key(thread, k);
+            String expected = value(thread, WRITES_PER_THREAD - KEYS_PER_THREAD + k);
+            for (Cache<String, String> cache : this.<String, String>caches()) {
+               if (extractCacheTopology(cache).isWriteOwner(key)) {
+                  assertEquals(expected, cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).get(key));
+               }
+            }
+         }
+      }
+      for (Cache<String, String> cache : this.<String, String>caches()) {
+         assertTrue(extractComponent(cache, CommandAckCollector.class).getPendingCommands().isEmpty());
+      }
+      // The concurrent writes fill some batches with more than one command
+      assertTrue(batchesReceived.get() > 0);
+   }
+
+   private static String key(int thread, int k) {
+      return "k-" + thread + "-" + k;
+   }
+
+   private static String value(int thread, int i) {
+      return "v-" + thread + "-" + i;
+   }
+
+   private class BatchCountingHandler implements InboundInvocationHandler {
+      private final InboundInvocationHandler delegate;
+
+      BatchCountingHandler(InboundInvocationHandler delegate) {
+         this.delegate = delegate;
+      }
+
+      @Override
+      public void handleFromCluster(Address origin, ReplicableCommand command, Reply reply, DeliverOrder order) {
+         if (command instanceof MultipleRpcCommand) {
+            batchesReceived.incrementAndGet();
+         }
+         delegate.handleFromCluster(origin, command, reply, order);
+      }
+
+      @Override
+      public void handleFromRemoteSite(String origin, XSiteRequest<?> command, Reply reply, DeliverOrder order) {
+         delegate.handleFromRemoteSite(origin, command, reply, order);
+      }
+   }
+}
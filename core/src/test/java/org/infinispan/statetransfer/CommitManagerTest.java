@@ -3,9 +3,19 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 import java.util.function.IntPredicate;
@@ -13,11 +23,15 @@
 import java.util.stream.IntStream;
 
 import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.entries.ReadCommittedEntry;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.context.Flag;
 import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.test.TestingUtil;
 import org.testng.annotations.Test;
 
@@ -136,4 +150,78 @@ public void onlyClearSegmentIfNoXSiteST() throws Exception {
             .filter(i -> !isXSiteSegment.test(i)).boxed().collect(Collectors.toSet());
       assertEquals(manager.tracker.keySet(), expectedSegments);
    }
+
+   public void shouldNotWriteDiscardedEntriesToStores() throws Exception {
+      final InternalDataContainer container = mock(InternalDataContainer.class);
+      final PersistenceManager persistenceManager = mock(PersistenceManager.class);
+      final TimeService timeService = mock(TimeService.class);
+
+      final CommitManager manager = new CommitManager();
+      TestingUtil.inject(manager, container, persistenceManager, timeService);
+
+      manager.startTrack(Flag.PUT_FOR_STATE_TRANSFER);
+
+      // A user write commits the key before the state is received.
+      manager.commit(changedEntry("k1", "user"), null, 0, false, null)
+            .toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+      List<Object> written = new ArrayList<>();
+      manager.writeToStores(Flag.PUT_FOR_STATE_TRANSFER, 0,
+            List.of(changedEntry("k1", "state"), changedEntry("k2", "state")), entries -> {
+               entries.forEach(e -> written.add(e.getKey()));
+               return CompletableFutures.completedNull();
+            }).toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+      assertEquals(List.of("k2"), written);
+
+      // Only the key committed by the user write is still tracked once the state is written.
+      assertEquals(Set.of("k1"), manager.tracker.get(0).keySet());
+   }
+
+   public void shouldRewriteEntryCommittedWhileStateIsWritten() throws Exception {
+      final InternalDataContainer container = mock(InternalDataContainer.class);
+      final PersistenceManager persistenceManager = mock(PersistenceManager.class);
+      final TimeService timeService = mock(TimeService.class);
+      final MarshallableEntryFactory marshallableEntryFactory = mock(MarshallableEntryFactory.class);
+
+      final InternalCacheEntry current = mock(InternalCacheEntry.class);
+      final MarshallableEntry marshalled = mock(MarshallableEntry.class);
+      when(container.peek(0, "k1")).thenReturn(current);
+      when(marshallableEntryFactory.create(current)).thenReturn(marshalled);
+      when(persistenceManager.writeToAllNonTxStores(any(), anyInt(), any()))
+            .thenReturn(CompletableFutures.completedNull());
+
+      final CommitManager manager = new CommitManager();
+      TestingUtil.inject(manager, container, persistenceManager, timeService, marshallableEntryFactory);
+
+      manager.startTrack(Flag.PUT_FOR_STATE_TRANSFER);
+
+      CompletableFuture<Void> storeWrite = new CompletableFuture<>();
+      CompletionStage<Void> stateWritten = manager.writeToStores(Flag.PUT_FOR_STATE_TRANSFER, 0,
+            List.of(changedEntry("k1", "state")), entries -> storeWrite);
+
+      // A user write commits the key while the state is being written to the stores.
+      CompletableFuture<Void> userCommit = manager.commit(changedEntry("k1", "user"), null, 0, false, null)
+            .toCompletableFuture();
+      assertFalse(userCommit.isDone());
+      verify(persistenceManager, never()).writeToAllNonTxStores(any(), anyInt(), any());
+
+      // The committed entry is written again once the state is written.
+      storeWrite.complete(null);
+      stateWritten.toCompletableFuture().get(1, TimeUnit.SECONDS);
+      userCommit.get(1, TimeUnit.SECONDS);
+      verify(persistenceManager).writeToAllNonTxStores(eq(marshalled), eq(0), any());
+
+      // The state received for the key is not committed over the user write.
+      manager.commit(changedEntry("k1", "state"), Flag.PUT_FOR_STATE_TRANSFER, 0, false, null)
+            .toCompletableFuture().get(1, TimeUnit.SECONDS);
+      verify(container).put(eq(0), eq("k1"), eq("user"), any(), any(), anyLong(), anyLong());
+      verify(container, never()).put(eq(0), eq("k1"), eq("state"), any(), any(), anyLong(), anyLong());
+   }
+
+   private static CacheEntry<String, String> changedEntry(String key, String value) {
+      ReadCommittedEntry<String, String> entry = new ReadCommittedEntry<>(key, value, null);
+      entry.setChanged(true);
+      return entry;
+   }
 }
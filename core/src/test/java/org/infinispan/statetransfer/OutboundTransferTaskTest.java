@@ -1,6 +1,8 @@
 package org.infinispan.statetransfer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -10,6 +12,8 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -17,6 +21,7 @@
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commands.statetransfer.StateResponseCommand;
+import org.infinispan.commons.time.ControlledTimeService;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
@@ -96,4 +101,81 @@ public void shouldNotifyForAllSegments() throws InterruptedException {
 
       assertEquals(transferred, segments);
    }
+
+   public void shouldPipelineChunksAndSendLastChunkAfterTheOthers() {
+      int numSegments = 2;
+      IntSet segments = IntSets.immutableSet(0);
+      ControlledTimeService timeService = new ControlledTimeService();
+
+      RpcManager rpcManager = mock(RpcManager.class);
+      CommandsFactory commandsFactory = mock(CommandsFactory.class);
+
+      OutboundTransferTask task = new OutboundTransferTask(
+            Address.LOCAL,
+            segments,
+            numSegments,
+            2,
+            2,
+            1,
+            chunks -> {},
+            rpcManager,
+            commandsFactory,
+            10_000,
+            "mock-cache",
+            true,
+            null,
+            timeService,
+            segment -> 7
+      );
+
+      ArgumentCaptor<Collection<StateChunk>> cmdCaptor = ArgumentCaptor.forClass(Collection.class);
+      when(commandsFactory.buildStateResponseCommand(anyInt(), cmdCaptor.capture(), anyBoolean()))
+            .thenReturn(mock(StateResponseCommand.class));
+      List<CompletableFuture<Object>> responses = new ArrayList<>();
+      when(rpcManager.invokeCommand(any(Address.class), any(), any(), any()))
+            .thenAnswer(i -> {
+               CompletableFuture<Object> response = new CompletableFuture<>();
+               responses.add(response);
+               return response;
+            });
+
+      // 7 entries in chunks of 2: the last chunk has the last entry
+      List<SegmentPublisherSupplier.Notification<InternalCacheEntry<?, ?>>> entries = new ArrayList<>();
+      for (int i = 0; i < 7; i++) {
+         entries.add(Notifications.value(new ImmortalCacheEntry("key" + i, "value"), 0));
+      }
+      entries.add(Notifications.segmentComplete(0));
+
+      CompletionStage<Void> stage = task.execute(Flowable.fromIterable(entries));
+
+      // The window starts with a single chunk
+      assertEquals(1, responses.size());
+      assertEquals(-1, task.getEstimatedRemainingMillis());
+
+      // The first acknowledgement grows the window to 2 chunks
+      timeService.advance(1000);
+      responses.get(0).complete(null);
+      assertEquals(3, responses.size());
+      assertEquals(2, task.getSentEntries());
+      assertEquals(7, task.getExpectedEntries());
+      assertEquals(5 * 1000 / 2, task.getEstimatedRemainingMillis());
+
+      // The last chunk waits for the other chunks of the segment
+      responses.get(1).complete(null);
+      assertEquals(3, responses.size());
+      responses.get(2).complete(null);
+      assertEquals(4, responses.size());
+      for (Collection<StateChunk> chunks : cmdCaptor.getAllValues().subList(0, 3)) {
+         assertFalse(chunks.iterator().next().isLastChunk());
+      }
+      assertTrue(cmdCaptor.getValue().iterator().next().isLastChunk());
+
+      // The task completes once the destination applied the last chunk
+      assertFalse(stage.toCompletableFuture().isDone());
+      responses.get(3).complete(null);
+      assertTrue(stage.toCompletableFuture().isDone());
+      assertEquals(7, task.getSentEntries(0));
+      assertEquals(1, task.getCompletedSegments());
+      assertEquals(0, task.getEstimatedRemainingMillis());
+   }
 }
@@ -0,0 +1,110 @@
+package org.infinispan.statetransfer;
+
+import static org.infinispan.factories.KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.time.ControlledTimeService;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.util.concurrent.NonBlockingManager;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the token bucket of {@link StateTransferRateLimiter}.
+ *
+ * @since 16.3
+ */
+@Test(groups = "unit", testName = "statetransfer.StateTransferRateLimiterTest")
+public class StateTransferRateLimiterTest extends AbstractInfinispanTest {
+   private static final long MB = 1024 * 1024;
+
+   private ControlledTimeService timeService;
+   private ScheduledExecutorService timeoutExecutor;
+
+   private StateTransferRateLimiter createLimiter(int megabytesPerSecond) {
+      GlobalConfigurationBuilder builder = GlobalConfigurationBuilder.defaultClusteredBuilder();
+      builder.transport().stateTransferBandwidth(megabytesPerSecond);
+      timeService = new ControlledTimeService();
+      timeoutExecutor = mock(ScheduledExecutorService.class);
+      NonBlockingManager nonBlockingManager = mock(NonBlockingManager.class);
+      doAnswer(i -> ((CompletableFuture<Object>) i.getArgument(0)).complete(i.getArgument(1)))
+            .when(nonBlockingManager).complete(any(), any());
+      StateTransferRateLimiter limiter = new StateTransferRateLimiter();
+      TestingUtil.inject(limiter, builder.build(), timeService, nonBlockingManager,
+            TestingUtil.named(TIMEOUT_SCHEDULE_EXECUTOR, timeoutExecutor));
+      TestingUtil.startComponent(limiter);
+      return limiter;
+   }
+
+   public void testUnlimited() {
+      StateTransferRateLimiter limiter = createLimiter(0);
+      assertFalse(limiter.isEnabled());
+      assertTrue(limiter.acquire(100 * MB).toCompletableFuture().isDone());
+      verify(timeoutExecutor, never()).schedule(any(Runnable.class), anyLong(), any());
+   }
+
+   public void testDelayBeyondBucket() {
+      StateTransferRateLimiter limiter = createLimiter(100);
+      assertEquals(100 * MB, limiter.getStateTransferBandwidth());
+
+      // The bucket starts full
+      assertTrue(limiter.acquire(100 * MB).toCompletableFuture().isDone());
+
+      // Half a second of bandwidth must be refilled
+      CompletableFuture<Void> delayed = limiter.acquire(50 * MB).toCompletableFuture();
+      assertFalse(delayed.isDone());
+      ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+      verify(timeoutExecutor).schedule(task.capture(), eq(TimeUnit.MILLISECONDS.toNanos(500)), eq(TimeUnit.NANOSECONDS));
+      task.getValue().run();
+      assertTrue(delayed.isDone());
+
+      // A little more than half a second later the debt is paid
+      timeService.advance(510);
+      assertTrue(limiter.acquire(MB).toCompletableFuture().isDone());
+   }
+
+   public void testRefillAfterLongIdle() {
+      StateTransferRateLimiter limiter = createLimiter(100);
+      assertTrue(limiter.acquire(100 * MB).toCompletableFuture().isDone());
+
+      // Long enough for the elapsed nanoseconds multiplied by the bandwidth to overflow
+      timeService.advance(TimeUnit.SECONDS.toMillis(200));
+      assertTrue(limiter.acquire(100 * MB).toCompletableFuture().isDone());
+
+      // The bucket never holds more than one second of bandwidth
+      timeService.advance(TimeUnit.SECONDS.toMillis(200));
+      assertTrue(limiter.acquire(60 * MB).toCompletableFuture().isDone());
+      assertFalse(limiter.acquire(60 * MB).toCompletableFuture().isDone());
+   }
+
+   public void testBytesPerSecond() {
+      StateTransferRateLimiter limiter = createLimiter(100);
+      limiter.bytesSent(1000);
+      limiter.bytesSent(500);
+      assertEquals(1500, limiter.getBytesSent());
+
+      timeService.advance(1000);
+      assertEquals(1500, limiter.getBytesPerSecond());
+      limiter.bytesSent(200);
+
+      // A second without any transfer
+      timeService.advance(2000);
+      assertEquals(0, limiter.getBytesPerSecond());
+      assertEquals(1700, limiter.getBytesSent());
+   }
+}
@@ -0,0 +1,83 @@
+package org.infinispan.util.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.testing.ExceptionRunnable;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "util.concurrent.ConcurrentLongHashMapTest")
+public class ConcurrentLongHashMapTest extends AbstractInfinispanTest {
+
+   public void testPutAndRemove() {
+      ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>(4);
+      for (long i = 0; i < 1000; i++) {
+         assertNull(map.put(i, Long.toString(i)));
+      }
+      assertEquals(1000, map.size());
+      assertEquals("1", map.putIfAbsent(1, "x"));
+      assertEquals("1", map.put(1, "x"));
+      assertTrue(map.remove(1, "x"));
+      for (long i = 0; i < 1000; i += 2) {
+         map.remove(i);
+      }
+      assertEquals(499, map.size());
+      for (long i = 0; i < 1000; i++) {
+         assertEquals(i % 2 == 0 || i == 1 ? null : Long.toString(i), map.get(i));
+      }
+      List<Long> keys = new ArrayList<>();
+      map.forEach((value, key) -> {
+         assertEquals(Long.toString(key), value);
+         keys.add(key);
+      });
+      assertEquals(499, keys.size());
+   }
+
+   public void testSingleStripe() {
+      ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>(1);
+      for (long i = -100; i < 100; i++) {
+         assertNull(map.put(i, Long.toString(i)));
+      }
+      for (long i = -100; i < 100; i += 3) {
+         assertEquals(Long.toString(i), map.remove(i));
+      }
+      for (long i = -100; i < 100; i++) {
+         assertEquals((i + 100) % 3 == 0 ? null : Long.toString(i), map.get(i));
+      }
+   }
+
+   public void testConcurrentPutAndRemove() throws Exception {
+      int threads = 4;
+      int keysPerThread = 10_000;
+      ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<>(2);
+      CyclicBarrier barrier = new CyclicBarrier(threads);
+      ExceptionRunnable[] tasks = new ExceptionRunnable[threads];
+      for (int t = 0; t < threads; t++) {
+         long first = (long) t * keysPerThread;
+         tasks[t] = () -> {
+            barrier.await(10, TimeUnit.SECONDS);
+            // Consecutive ids of all the threads share the stripes, and the removals shift the entries of the others
+            for (long key = first; key < first + keysPerThread; key++) {
+               assertNull(map.put(key, Long.toString(key)));
+               if (key % 2 == 0) {
+                  assertEquals(Long.toString(key), map.remove(key));
+               }
+            }
+            for (long key = first; key < first + keysPerThread; key++) {
+               assertEquals(key % 2 == 0 ? null : Long.toString(key), map.get(key));
+            }
+         };
+      }
+      runConcurrently(tasks);
+
+      assertEquals(threads * keysPerThread / 2, map.size());
+      map.forEach((value, key) -> assertEquals(Long.toString(key), value));
+   }
+}
@@ -0,0 +1,94 @@
+package org.infinispan.util.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "util.concurrent.TimeoutWheelTest")
+public class TimeoutWheelTest extends AbstractInfinispanTest {
+   ScheduledExecutorService timeoutExecutor =
+         Executors.newSingleThreadScheduledExecutor(getTestThreadFactory("timeout"));
+
+   @AfterClass(alwaysRun = true)
+   public void tearDown() {
+      timeoutExecutor.shutdownNow();
+   }
+
+   public void testTimeoutExpires() throws InterruptedException {
+      TimeoutWheel wheel = new TimeoutWheel(timeoutExecutor);
+      try {
+         CountDownLatch expired = new CountDownLatch(1);
+         long start = System.nanoTime();
+         long deadline = TimeoutWheel.deadline(50, TimeUnit.MILLISECONDS);
+         wheel.schedule((id, d, now) -> {
+            if (now - d < 0) {
+               return true;
+            }
+            assertEquals(1, id);
+            expired.countDown();
+            return false;
+         }, 1, deadline);
+         assertTrue(expired.await(10, TimeUnit.SECONDS));
+         assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+      } finally {
+         wheel.stop();
+      }
+   }
+
+   public void testTimeoutLongerThanRound() throws InterruptedException {
+      TimeoutWheel wheel = new TimeoutWheel(timeoutExecutor);
+      try {
+         CountDownLatch expired = new CountDownLatch(1);
+         long deadline = TimeoutWheel.deadline(3, TimeUnit.SECONDS);
+         wheel.schedule((id, d, now) -> {
+            if (now - d < 0) {
+               return true;
+            }
+            expired.countDown();
+            return false;
+         }, 1, deadline);
+         assertTrue(expired.await(10, TimeUnit.SECONDS));
+         assertTrue(System.nanoTime() - deadline >= 0);
+      } finally {
+         wheel.stop();
+      }
+   }
+
+   public void testExpiredTimeoutScheduledWhileTicking() throws Exception {
+      TimeoutWheel wheel = new TimeoutWheel(timeoutExecutor);
+      try {
+         int timeouts = 2000;
+         CountDownLatch expired = new CountDownLatch(timeouts);
+         long[] maxDelay = new long[1];
+         TimeoutWheel.Owner owner = (id, d, now) -> {
+            if (now - d < 0) {
+               return true;
+            }
+            // Only the tick task checks the timeouts
+            maxDelay[0] = Math.max(maxDelay[0], now - d);
+            expired.countDown();
+            return false;
+         };
+         // Deadlines that are due now race with the tick task visiting their bucket
+         for (int i = 0; i < timeouts; i++) {
+            wheel.schedule(owner, i, System.nanoTime());
+            if (i % 100 == 0) {
+               Thread.sleep(1);
+            }
+         }
+         assertTrue(expired.await(10, TimeUnit.SECONDS));
+         // A timeout added to a bucket already visited would wait for a whole round of the wheel
+         assertTrue(maxDelay[0] < TimeUnit.SECONDS.toNanos(1), "Timeout expired " + maxDelay[0] + " ns late");
+      } finally {
+         wheel.stop();
+      }
+   }
+}
@@ -0,0 +1,247 @@
+package org.infinispan.multimap.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.functional.FunctionalMap;
+import org.infinispan.multimap.impl.function.stream.StreamAckFunction;
+import org.infinispan.multimap.impl.function.stream.StreamAddFunction;
+import org.infinispan.multimap.impl.function.stream.StreamDeleteFunction;
+import org.infinispan.multimap.impl.function.stream.StreamGroupFunction;
+import org.infinispan.multimap.impl.function.stream.StreamPendingFunction;
+import org.infinispan.multimap.impl.function.stream.StreamRangeFunction;
+import org.infinispan.multimap.impl.function.stream.StreamReadGroupFunction;
+import org.infinispan.multimap.impl.function.stream.StreamTrimFunction;
+
+/**
+ * Multimap with Stream Implementation methods
+ *
+ * @since 16.3
+ */
+public class EmbeddedMultimapStreamCache<K, V> {
+   public static final String ERR_KEY_CAN_T_BE_NULL = "key can't be null";
+   public static final String ERR_ID_CAN_T_BE_NULL = "id can't be null";
+   public static final String ERR_IDS_CAN_T_BE_NULL = "ids can't be null";
+   public static final String ERR_GROUP_CAN_T_BE_NULL = "group can't be null";
+   public static final String ERR_CONSUMER_CAN_T_BE_NULL = "consumer can't be null";
+   public static final String ERR_FIELDS_CAN_T_BE_EMPTY = "fields and values can't be empty";
+   protected final FunctionalMap.ReadWriteMap<K, StreamBucket<V>> readWriteMap;
+   protected final AdvancedCache<K, StreamBucket<V>> cache;
+
+   public EmbeddedMultimapStreamCache(Cache<K, StreamBucket<V>> cache) {
+      this.cache = cache.getAdvancedCache();
+      FunctionalMap<K, StreamBucket<V>> functionalMap = FunctionalMap.create(this.cache);
+      this.readWriteMap = functionalMap.toReadWriteMap();
+   }
+
+   /**
+    * Appends an entry to a stream, creating the stream if needed, and optionally trims it.
+    *
+    * @param key             the name of the stream
+    * @param id              the identifier of the entry, {@code null} to generate it
+    * @param autoSeq         whether only the sequence number of the identifier must be generated
+    * @param now             the current time in milliseconds, used to generate identifiers
+    * @param fieldsAndValues the field-value pairs of the entry
+    * @param noMkStream      when set, the entry is not added if the stream does not exist
+    * @param maxLen          trims the stream to this length, or a negative value to skip trimming by length
+    * @param minId           removes the entries with a smaller identifier, or {@code null}
+    * @param approximate     whether the trimming can keep a few more entries, to only remove whole segments
+    * @param limit           the maximum number of entries the trimming can remove
+    * @return {@link CompletionStage} containing the identifier of the new entry, or {@code null} if the stream does
+    * not exist and {@code noMkStream} was set
+    */
+   public CompletionStage<StreamId> add(K key, StreamId id, boolean autoSeq, long now, List<V> fieldsAndValues,
+                                        boolean noMkStream, long maxLen, StreamId minId, boolean approximate,
+                                        long limit) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      if (fieldsAndValues == null || fieldsAndValues.isEmpty()) {
+         throw new IllegalArgumentException(ERR_FIELDS_CAN_T_BE_EMPTY);
+      }
+      return readWriteMap.eval(key, new StreamAddFunction<>(id, autoSeq, now, fieldsAndValues, noMkStream, maxLen,
+            minId, approximate, limit));
+   }
+
+   /**
+    * Returns the number of entries of a stream.
+    *
+    * @param key the name of the stream
+    * @return {@link CompletionStage} containing the length, 0 if the stream does not exist
+    */
+   public CompletionStage<Long> size(K key) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      return cache.getAsync(key).thenApply(b -> b == null ? 0 : b.size());
+   }
+
+   /**
+    * Returns the identifier of the last entry added to a stream.
+    *
+    * @param key the name of the stream
+    * @return {@link CompletionStage} containing the identifier, {@link StreamId#MIN} if the stream does not exist
+    */
+   public CompletionStage<StreamId> lastId(K key) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      return cache.getAsync(key).thenApply(b -> b == null ? StreamId.MIN : b.getLastId());
+   }
+
+   /**
+    * Returns the entries of a stream with an identifier between {@code start} and {@code end}, both inclusive.
+    *
+    * @param key     the name of the stream
+    * @param count   the maximum number of entries to return
+    * @param reverse whether the entries are returned from the most recent one
+    * @return {@link CompletionStage} containing the entries, {@code null} if the stream does not exist
+    */
+   public CompletionStage<List<StreamEntry<V>>> range(K key, StreamId start, StreamId end, long count,
+                                                      boolean reverse) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(start, ERR_ID_CAN_T_BE_NULL);
+      requireNonNull(end, ERR_ID_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamRangeFunction<>(start, end, count, reverse));
+   }
+
+   /**
+    * Removes entries from a stream.
+    *
+    * @param key the name of the stream
+    * @param ids the identifiers of the entries to remove
+    * @return {@link CompletionStage} containing the number of entries removed
+    */
+   public CompletionStage<Long> delete(K key, Collection<StreamId> ids) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(ids, ERR_IDS_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamDeleteFunction<>(ids));
+   }
+
+   /**
+    * Removes the oldest entries of a stream.
+    *
+    * @param key         the name of the stream
+    * @param maxLen      the maximum length of the stream, or a negative value when trimming by identifier
+    * @param minId       the minimum identifier to keep, or {@code null} when trimming by length
+    * @param approximate whether the trimming can keep a few more entries, to only remove whole segments
+    * @param limit       the maximum number of entries to remove
+    * @return {@link CompletionStage} containing the number of entries removed
+    */
+   public CompletionStage<Long> trim(K key, long maxLen, StreamId minId, boolean approximate, long limit) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamTrimFunction<>(maxLen, minId, approximate, limit));
+   }
+
+   /**
+    * Creates a consumer group.
+    *
+    * @param key         the name of the stream
+    * @param group       the name of the group
+    * @param id          the last delivered identifier, {@code null} for the last identifier of the stream
+    * @param mkStream    whether the stream is created if it does not exist
+    * @param entriesRead the number of entries read by the group, or a negative value if unknown
+    * @return {@link CompletionStage} completed when the group is created
+    */
+   public CompletionStage<Long> createGroup(K key, String group, StreamId id, boolean mkStream, long entriesRead) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamGroupFunction<>(StreamGroupFunction.Operation.CREATE, group, null, id,
+            entriesRead, mkStream, 0));
+   }
+
+   /**
+    * Destroys a consumer group.
+    *
+    * @return {@link CompletionStage} containing 1 if the group was destroyed, 0 if it did not exist
+    */
+   public CompletionStage<Long> destroyGroup(K key, String group) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamGroupFunction<>(StreamGroupFunction.Operation.DESTROY, group, null,
+            null, -1, false, 0));
+   }
+
+   /**
+    * Sets the last delivered identifier of a consumer group.
+    *
+    * @param id          the last delivered identifier, {@code null} for the last identifier of the stream
+    * @param entriesRead the number of entries read by the group, or a negative value if unknown
+    */
+   public CompletionStage<Long> setGroupId(K key, String group, StreamId id, long entriesRead) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamGroupFunction<>(StreamGroupFunction.Operation.SET_ID, group, null, id,
+            entriesRead, false, 0));
+   }
+
+   /**
+    * Creates a consumer in a group.
+    *
+    * @return {@link CompletionStage} containing 1 if the consumer was created, 0 if it already existed
+    */
+   public CompletionStage<Long> createConsumer(K key, String group, String consumer, long now) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      requireNonNull(consumer, ERR_CONSUMER_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamGroupFunction<>(StreamGroupFunction.Operation.CREATE_CONSUMER, group,
+            consumer, null, -1, false, now));
+   }
+
+   /**
+    * Deletes a consumer from a group, with the entries pending for it.
+    *
+    * @return {@link CompletionStage} containing the number of entries that were pending for the consumer
+    */
+   public CompletionStage<Long> deleteConsumer(K key, String group, String consumer) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      requireNonNull(consumer, ERR_CONSUMER_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamGroupFunction<>(StreamGroupFunction.Operation.DELETE_CONSUMER, group,
+            consumer, null, -1, false, 0));
+   }
+
+   /**
+    * Reads entries on behalf of a consumer of a group.
+    *
+    * @param id    {@code null} to read the entries never delivered to the group, otherwise the entries pending for the
+    *              consumer with a greater identifier are delivered again
+    * @param count the maximum number of entries to return
+    * @param noAck whether the new entries are acknowledged immediately
+    * @param now   the current time in milliseconds, recorded as the delivery time
+    * @return {@link CompletionStage} containing the entries
+    */
+   public CompletionStage<List<StreamEntry<V>>> readGroup(K key, String group, String consumer, StreamId id,
+                                                          long count, boolean noAck, long now) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      requireNonNull(consumer, ERR_CONSUMER_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamReadGroupFunction<>(group, consumer, id, count, noAck, now));
+   }
+
+   /**
+    * Acknowledges entries, removing them from the pending entry list of a group.
+    *
+    * @return {@link CompletionStage} containing the number of entries acknowledged
+    */
+   public CompletionStage<Long> acknowledge(K key, String group, Collection<StreamId> ids) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      requireNonNull(ids, ERR_IDS_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamAckFunction<>(group, ids));
+   }
+
+   /**
+    * Returns the pending entries of a group between {@code start} and {@code end}, both inclusive.
+    *
+    * @param consumer    restricts the entries to a consumer, or {@code null}
+    * @param minIdleTime only returns the entries delivered at least this number of milliseconds ago
+    * @return {@link CompletionStage} containing the pending entries
+    */
+   public CompletionStage<List<StreamConsumerGroup.PendingEntry>> pending(K key, String group, StreamId start,
+                                                                          StreamId end, long count, String consumer,
+                                                                          long minIdleTime, long now) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamPendingFunction<>(group, start, end, count, consumer, minIdleTime, now));
+   }
+}
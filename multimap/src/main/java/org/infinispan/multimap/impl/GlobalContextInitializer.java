@@ -13,6 +13,7 @@
       },
       includeClasses = {
             org.infinispan.multimap.impl.SortedSetBucket.AggregateFunction.class,
+            org.infinispan.multimap.impl.function.BucketSnapshotFunction.class,
             org.infinispan.multimap.impl.function.hmap.HashMapKeySetFunction.class,
             org.infinispan.multimap.impl.function.hmap.HashMapPutFunction.class,
             org.infinispan.multimap.impl.function.hmap.HashMapRemoveFunction.class,
@@ -50,7 +51,17 @@
             org.infinispan.multimap.impl.function.sortedset.SortedSetAggregateFunction.AggregateType.class,
             org.infinispan.multimap.impl.function.sortedset.SortedSetOperationType.class,
             org.infinispan.multimap.impl.function.sortedset.SortedSetRandomFunction.class,
-            org.infinispan.multimap.impl.function.sortedset.SubsetFunction.class
+            org.infinispan.multimap.impl.function.sortedset.SubsetFunction.class,
+            org.infinispan.multimap.impl.StreamEntry.class,
+            org.infinispan.multimap.impl.function.stream.StreamAckFunction.class,
+            org.infinispan.multimap.impl.function.stream.StreamAddFunction.class,
+            org.infinispan.multimap.impl.function.stream.StreamDeleteFunction.class,
+            org.infinispan.multimap.impl.function.stream.StreamGroupFunction.class,
+            org.infinispan.multimap.impl.function.stream.StreamGroupFunction.Operation.class,
+            org.infinispan.multimap.impl.function.stream.StreamPendingFunction.class,
+            org.infinispan.multimap.impl.function.stream.StreamRangeFunction.class,
+            org.infinispan.multimap.impl.function.stream.StreamReadGroupFunction.class,
+            org.infinispan.multimap.impl.function.stream.StreamTrimFunction.class
       },
       schemaFileName = "global.multimap.proto",
       schemaFilePath = "org/infinispan/multimap",
@@ -2,13 +2,14 @@
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.infinispan.commons.marshall.ProtoStreamTypeIds;
@@ -21,6 +22,14 @@
 
 /**
  * Bucket used to store ListMultimap values.
+ * <p>
+ * The values are split in chunks of at most {@link #CHUNK_CAPACITY} elements. Chunks are never modified once created,
+ * so an update only copies the chunks it touches and the array referencing the chunks, and shares the other chunks
+ * with the previous version of the bucket. Pushing or popping at either end and setting an element copy a single
+ * chunk, and reading an element by index locates its chunk with a binary search.
+ * <p>
+ * The list functions are deterministic, so the backup owners apply the same function to their copy of the bucket
+ * instead of receiving the changed chunks. Persistence and state transfer marshal all the chunks of the bucket.
  *
  * @author Katia Aresti
  * @since 15.0
@@ -28,112 +37,133 @@
 @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_LIST_BUCKET)
 public class ListBucket<V> implements SortableBucket<V> {
 
-   final Deque<V> values;
+   static final int CHUNK_CAPACITY = 128;
+
+   private static final Object[][] NO_CHUNKS = new Object[0][];
+   private static final long[] NO_STARTS = new long[0];
+
+   // Never empty
+   final Object[][] chunks;
+   // The position of the first element of each chunk. Positions are relative to an arbitrary origin, so adding values
+   // at the head of the list only changes the position of the first chunk.
+   final long[] starts;
+   final int size;
 
    public ListBucket() {
-      this.values = new ArrayDeque<>(0);
+      this(NO_CHUNKS, NO_STARTS, 0);
    }
 
    public ListBucket(V value) {
-      Deque<V> deque = new ArrayDeque<>(1);
-      deque.add(value);
-      this.values = deque;
+      this(new Object[][]{{value}}, new long[]{0}, 1);
    }
 
-   private ListBucket(Deque<V> values) {
-      this.values = values;
+   private ListBucket(Object[][] chunks, long[] starts, int size) {
+      this.chunks = chunks;
+      this.starts = starts;
+      this.size = size;
    }
 
    public static <V> ListBucket<V> create(Collection<V> value) {
-      return new ListBucket<>(new ArrayDeque<V>(value));
+      Builder builder = new Builder();
+      for (V v : value) {
+         builder.add(v);
+      }
+      return builder.build();
    }
 
    @ProtoFactory
-   ListBucket(Collection<MarshallableUserObject<V>> wrappedValues) {
-      this((Deque<V>) wrappedValues.stream().map(MarshallableUserObject::get)
-            .collect(Collectors.toCollection(ArrayDeque::new)));
+   ListBucket(Collection<MarshallableUserObject<V>> wrappedValues, Collection<Chunk> wrappedChunks) {
+      Builder builder = new Builder();
+      // Buckets stored before the values were split in chunks
+      if (wrappedValues != null) {
+         for (MarshallableUserObject<V> value : wrappedValues) {
+            builder.add(MarshallableUserObject.unwrap(value));
+         }
+      }
+      if (wrappedChunks != null) {
+         for (Chunk chunk : wrappedChunks) {
+            builder.addChunk(chunk.values);
+         }
+      }
+      builder.flush();
+      this.chunks = builder.chunks.toArray(NO_CHUNKS);
+      this.starts = startsOf(chunks);
+      this.size = builder.size;
    }
 
    @ProtoField(number = 1, collectionImplementation = ArrayList.class)
    Collection<MarshallableUserObject<V>> getWrappedValues() {
-      return this.values.stream().map(MarshallableUserObject::new).collect(Collectors.toCollection(ArrayDeque::new));
+      return Collections.emptyList();
+   }
+
+   @ProtoField(number = 2, collectionImplementation = ArrayList.class)
+   Collection<Chunk> getWrappedChunks() {
+      List<Chunk> wrapped = new ArrayList<>(chunks.length);
+      for (Object[] chunk : chunks) {
+         wrapped.add(new Chunk(chunk));
+      }
+      return wrapped;
    }
 
    public boolean contains(V value) {
-      for (V v : values) {
-         if (Objects.deepEquals(v, value)) {
-            return Boolean.TRUE;
+      for (Object[] chunk : chunks) {
+         for (Object v : chunk) {
+            if (Objects.deepEquals(v, value)) {
+               return Boolean.TRUE;
+            }
          }
       }
       return Boolean.FALSE;
    }
 
    public boolean isEmpty() {
-      return values.isEmpty();
+      return size == 0;
    }
 
    public long size() {
-      return values.size();
+      return size;
    }
 
    /**
-    * @return a defensive copy of the {@link #values} collection.
+    * @return a copy of the values of the list.
     */
    public Deque<V> toDeque() {
-      return new ArrayDeque<>(values);
+      Deque<V> deque = new ArrayDeque<>(size);
+      copyRange(0, size - 1, deque);
+      return deque;
    }
 
    @Override
    public String toString() {
-      return "ListBucket{values=" + Util.toStr(values) + '}';
+      return "ListBucket{values=" + Util.toStr(toDeque()) + '}';
    }
 
    public ListBucket<V> offer(Collection<V> value, boolean first) {
-      Deque<V> newItems = new ArrayDeque<>(values);
+      if (value.isEmpty()) {
+         return this;
+      }
+      Object[] added = value.toArray();
       if (first) {
-         for (V v : value) {
-            newItems.offerFirst(v);
-         }
-      } else {
-         for (V v : value) {
-            newItems.offerLast(v);
-         }
+         // Each value is offered at the head, so the last one ends up first
+         Collections.reverse(Arrays.asList(added));
+         return prepend(added);
       }
-      return new ListBucket<>(newItems);
+      return append(added);
    }
 
    public ListBucket<V> set(long index, V value) {
-      if ((index >= 0 && (values.size() - 1 < index)) || (index < 0 && (values.size() + index < 0))) {
+      if ((index >= 0 && (size - 1 < index)) || (index < 0 && (size + index < 0))) {
          return null;
       }
 
-      ArrayDeque<V> newBucket = new ArrayDeque<>(values.size());
-      if (index >= 0) {
-         Iterator<V> ite = values.iterator();
-         int currentIndex = 0;
-         while (ite.hasNext()) {
-            V element = ite.next();
-            if (index == currentIndex) {
-               newBucket.offerLast(value);
-            } else {
-               newBucket.offerLast(element);
-            }
-            currentIndex++;
-         }
-      } else {
-         Iterator<V> ite = values.descendingIterator();
-         int currentIndex = -1;
-         while (ite.hasNext()) {
-            V element = ite.next();
-            if (index == currentIndex) {
-               newBucket.offerFirst(value);
-            } else {
-               newBucket.offerFirst(element);
-            }
-            currentIndex--;
-         }
-      }
-      return new ListBucket<>(newBucket);
+      long position = index >= 0 ? index : size + index;
+      int chunk = chunkOf(position);
+      Object[] updated = chunks[chunk].clone();
+      updated[offsetIn(chunk, position)] = value;
+      Object[][] newChunks = chunks.clone();
+      newChunks[chunk] = updated;
+      // The length of the chunks does not change, so the positions are shared
+      return new ListBucket<>(newChunks, starts, size);
    }
 
    public Collection<V> sublist(long from, long to) {
@@ -154,25 +184,13 @@ public Collection<V> sublist(long from, long to) {
          return Collections.emptyList();
       }
 
-      List<V> result = new ArrayList<>();
-      long fromIte = from < 0 ? values.size() + from : from;
-      long toIte = to < 0 ? values.size() + to : to;
-
-      Iterator<V> ite = values.iterator();
-      int offset = 0;
-      while (ite.hasNext()) {
-         V element = ite.next();
-         if (offset < fromIte) {
-            offset++;
-            continue;
-         }
-         if (offset > toIte) {
-            break;
-         }
-
-         result.add(element);
-         offset++;
+      long fromIte = Math.max(from < 0 ? size + from : from, 0);
+      long toIte = Math.min(to < 0 ? size + to : to, size - 1);
+      if (fromIte > toIte) {
+         return new ArrayList<>();
       }
+      List<V> result = new ArrayList<>((int) (toIte - fromIte + 1));
+      copyRange(fromIte, toIte, result);
       return result;
    }
 
@@ -193,42 +211,26 @@ public ListBucket<V> trim(long from, long to) {
                : this;
       }
 
-      long startRemoveCount = from < 0 ? values.size() + from : from;
-      long keepCount = (to < 0 ? values.size() + to : to) - startRemoveCount;
-
-      Deque<V> newValues = new ArrayDeque<>(values);
-      Iterator<V> ite = newValues.iterator();
-      while (ite.hasNext() && startRemoveCount > 0) {
-         ite.next();
-         ite.remove();
-         startRemoveCount--;
-      }
-
-      // keep elements
-      while (ite.hasNext() && keepCount >= 0) {
-         ite.next();
-         keepCount--;
-      }
-
-      // remove remaining elements
-      while (ite.hasNext()) {
-         ite.next();
-         ite.remove();
+      long startRemoveCount = from < 0 ? size + from : from;
+      long keepCount = (to < 0 ? size + to : to) - startRemoveCount;
+      long first = Math.max(startRemoveCount, 0);
+      long last = Math.min(first + keepCount, size - 1);
+      if (keepCount < 0 || first > last) {
+         return new ListBucket<>();
       }
-
-      return new ListBucket<>(newValues);
+      return slice(first, last);
    }
 
    public Collection<Long> indexOf(V element, long count, long rank, long maxLen) {
-      long matches = count == 0 ? values.size() : count;
+      long matches = count == 0 ? size : count;
       long rankCount = Math.abs(rank);
-      long comparisons = maxLen == 0 ? values.size() : maxLen;
+      long comparisons = maxLen == 0 ? size : maxLen;
 
       Iterator<V> ite;
       if (rank > 0) {
-         ite = values.iterator();
+         ite = iterator();
       } else {
-         ite = values.descendingIterator();
+         ite = descendingIterator();
       }
 
       long pos = 0;
@@ -239,7 +241,7 @@ public Collection<Long> indexOf(V element, long count, long rank, long maxLen) {
             if (rankCount == 1) {
                matches--;
                if (rank < 0) {
-                  positions.add(values.size() - pos - 1);
+                  positions.add(size - pos - 1);
                } else {
                   positions.add(pos);
                }
@@ -254,81 +256,88 @@ public Collection<Long> indexOf(V element, long count, long rank, long maxLen) {
    }
 
    public ListBucket<V> insert(boolean before, V pivot, V element) {
-      Deque<V> newValues = new ArrayDeque<>(values.size() + 1);
-
-      Iterator<V> iterator = values.iterator();
-      boolean found = false;
-      while (iterator.hasNext()) {
-         V next = iterator.next();
-         if (found) {
-            newValues.offerLast(next);
-         } else {
-            if (Objects.deepEquals(pivot, next)) {
-               found = true;
-               if (before) {
-                  newValues.offerLast(element);
-                  newValues.offerLast(next);
-               } else {
-                  newValues.offerLast(next);
-                  newValues.offerLast(element);
+      for (int i = 0; i < chunks.length; i++) {
+         Object[] chunk = chunks[i];
+         for (int j = 0; j < chunk.length; j++) {
+            if (Objects.deepEquals(pivot, chunk[j])) {
+               int at = before ? j : j + 1;
+               Object[] updated = new Object[chunk.length + 1];
+               System.arraycopy(chunk, 0, updated, 0, at);
+               updated[at] = element;
+               System.arraycopy(chunk, at, updated, at + 1, chunk.length - at);
+               if (updated.length <= CHUNK_CAPACITY) {
+                  return replaceChunk(i, new Object[][]{updated}, 1);
                }
-            } else {
-               newValues.offerLast(next);
+               int half = updated.length / 2;
+               return replaceChunk(i, new Object[][]{
+                     Arrays.copyOf(updated, half),
+                     Arrays.copyOfRange(updated, half, updated.length)}, 1);
             }
          }
       }
-      if (!found) {
-         return null;
-      }
-      return new ListBucket<>(newValues);
+      return null;
    }
 
    public ListBucketResult<Long, V> remove(long count, V element) {
-      Iterator<V> ite;
-      if (count < 0) {
-         ite = values.descendingIterator();
-      } else {
-         ite = values.iterator();
-      }
-
-      long maxRemovalsCount = count == 0 ? values.size() : Math.abs(count);
+      long maxRemovalsCount = count == 0 ? size : Math.abs(count);
       long removedElements = 0L;
-      Deque<V> newItems = new ArrayDeque<>();
-      while (ite.hasNext()) {
-         V next = ite.next();
-         if (Objects.deepEquals(next, element) && removedElements < maxRemovalsCount) {
-            removedElements++;
-            continue;
+      Object[][] newChunks = null;
+      for (int i = 0; i < chunks.length && removedElements < maxRemovalsCount; i++) {
+         int chunkIndex = count < 0 ? chunks.length - 1 - i : i;
+         Object[] chunk = chunks[chunkIndex];
+         boolean[] removed = null;
+         int removedInChunk = 0;
+         for (int j = 0; j < chunk.length && removedElements < maxRemovalsCount; j++) {
+            int offset = count < 0 ? chunk.length - 1 - j : j;
+            if (Objects.deepEquals(chunk[offset], element)) {
+               if (removed == null) {
+                  removed = new boolean[chunk.length];
+               }
+               removed[offset] = true;
+               removedInChunk++;
+               removedElements++;
+            }
          }
-
-         if (count < 0) {
-            newItems.addFirst(next);
-         } else {
-            newItems.addLast(next);
+         if (removed != null) {
+            if (newChunks == null) {
+               newChunks = chunks.clone();
+            }
+            Object[] kept = new Object[chunk.length - removedInChunk];
+            for (int j = 0, k = 0; j < chunk.length; j++) {
+               if (!removed[j]) {
+                  kept[k++] = chunk[j];
+               }
+            }
+            newChunks[chunkIndex] = kept;
          }
       }
-
-      return new ListBucketResult<>(removedElements, new ListBucket<>(newItems));
+      if (newChunks == null) {
+         return new ListBucketResult<>(0L, this);
+      }
+      return new ListBucketResult<>(removedElements, compact(newChunks, (int) (size - removedElements)));
    }
 
    public ListBucketResult<V, V> rotate(boolean rotateRight) {
-      Deque<V> newItems = new ArrayDeque<>(values);
+      if (size <= 1) {
+         return new ListBucketResult<>(size == 0 ? null : index(0), this);
+      }
       V element;
+      ListBucket<V> rotated;
       if (rotateRight) {
          // from head to tail
-         element = newItems.pollFirst();
-         newItems.offerLast(element);
+         element = index(0);
+         rotated = slice(1, size - 1).append(new Object[]{element});
       } else {
          // from tail to head
-         element = newItems.pollLast();
-         newItems.offerFirst(element);
+         element = index(-1);
+         rotated = slice(0, size - 2).prepend(new Object[]{element});
       }
-      return new ListBucketResult<>(element, new ListBucket<>(newItems));
+      return new ListBucketResult<>(element, rotated);
    }
 
    @Override
    public Stream<MultimapObjectWrapper<V>> stream() {
-      return values.stream()
+      return values()
             .map(MultimapObjectWrapper::new);
    }
 
@@ -336,12 +345,12 @@ public Stream<MultimapObjectWrapper<V>> stream() {
    public List<ScoredValue<V>> sort(SortOptions sortOptions) {
       Stream<ScoredValue<V>> scoredValueStream;
       if (sortOptions.alpha) {
-         scoredValueStream = values.stream().map(v -> {
+         scoredValueStream = values().map(v -> {
             MultimapObjectWrapper<V> wrapped = new MultimapObjectWrapper<>(v);
             return new ScoredValue<>(1d, wrapped);
          });
       } else {
-         scoredValueStream = values.stream().map(v -> {
+         scoredValueStream = values().map(v -> {
             MultimapObjectWrapper<V> wrapped = new MultimapObjectWrapper<>(v);
             return new ScoredValue<>(wrapped.asDouble(), wrapped);
          });
@@ -351,7 +360,7 @@ public List<ScoredValue<V>> sort(SortOptions sortOptions) {
 
    public ListBucket<V> replace(Deque<V> list) {
       if (list != null && !list.isEmpty()) {
-         return new ListBucket<>(list);
+         return create(list);
       }
 
       return new ListBucket<>();
@@ -361,60 +370,282 @@ public ListBucket<V> replace(Deque<V> list) {
 
    public ListBucketResult<Collection<V>, V> poll(boolean first, long count) {
       List<V> polledValues = new ArrayList<>();
-      if (count >= values.size()) {
-         if (first) {
-            polledValues.addAll(values);
-         } else {
-            Iterator<V> ite = values.descendingIterator();
-            while (ite.hasNext()) {
-               polledValues.add(ite.next());
-            }
+      if (count >= size) {
+         Iterator<V> ite = first ? iterator() : descendingIterator();
+         while (ite.hasNext()) {
+            polledValues.add(ite.next());
          }
          return new ListBucketResult<>(polledValues, new ListBucket<>());
       }
+      if (count <= 0) {
+         return new ListBucketResult<>(polledValues, this);
+      }
 
-      Deque<V> newItems = new ArrayDeque<>(values);
+      Iterator<V> ite = first ? iterator() : descendingIterator();
       for (int i = 0; i < count; i++) {
-         if (first) {
-            polledValues.add(newItems.pollFirst());
-         } else {
-            polledValues.add(newItems.pollLast());
-         }
+         polledValues.add(ite.next());
       }
-      return new ListBucketResult<>(polledValues, new ListBucket<>(newItems));
+      ListBucket<V> remaining = first ? slice(count, size - 1) : slice(0, size - count - 1);
+      return new ListBucketResult<>(polledValues, remaining);
    }
 
+   @SuppressWarnings("unchecked")
    public V index(long index) {
-      if (index == 0) {
-         return values.element();
-      }
-      if (index == values.size() - 1 || index == -1) {
-         return values.getLast();
+      if (index == 0 || index == size - 1 || index == -1) {
+         if (size == 0) {
+            throw new NoSuchElementException();
+         }
+         return index == 0 ? (V) chunks[0][0] : (V) chunks[chunks.length - 1][chunks[chunks.length - 1].length - 1];
       }
-      V result = null;
+      long position;
       if (index > 0) {
-         if (index >= values.size()) {
+         if (index >= size) {
+            return null;
+         }
+         position = index;
+      } else {
+         if (Math.abs(index) > size) {
             return null;
          }
+         position = size + index;
+      }
+      int chunk = chunkOf(position);
+      return (V) chunks[chunk][offsetIn(chunk, position)];
+   }
+
+   /**
+    * @return the index of the chunk containing the element at {@code position}, which must be in the list
+    */
+   private int chunkOf(long position) {
+      int found = Arrays.binarySearch(starts, starts[0] + position);
+      return found >= 0 ? found : -found - 2;
+   }
+
+   private int offsetIn(int chunk, long position) {
+      return (int) (starts[0] + position - starts[chunk]);
+   }
 
-         Iterator<V> iterator = values.iterator();
-         int currentIndex = 0;
-         while (currentIndex++ <= index) {
-            result = iterator.next();
+   /**
+    * Adds the elements between {@code first} and {@code last}, both inclusive, to {@code target}.
+    */
+   @SuppressWarnings("unchecked")
+   private void copyRange(long first, long last, Collection<V> target) {
+      if (first > last) {
+         return;
+      }
+      int chunk = chunkOf(first);
+      int offset = offsetIn(chunk, first);
+      long remaining = last - first + 1;
+      while (remaining > 0) {
+         Object[] values = chunks[chunk++];
+         int end = (int) Math.min(values.length, offset + remaining);
+         for (int i = offset; i < end; i++) {
+            target.add((V) values[i]);
          }
+         remaining -= end - offset;
+         offset = 0;
+      }
+   }
+
+   /**
+    * @return a bucket with the elements between {@code first} and {@code last}, both inclusive, sharing the chunks
+    * that are kept whole
+    */
+   private ListBucket<V> slice(long first, long last) {
+      if (first == 0 && last == size - 1) {
+         return this;
+      }
+      int firstChunk = chunkOf(first);
+      int lastChunk = chunkOf(last);
+      int firstOffset = offsetIn(firstChunk, first);
+      int lastOffset = offsetIn(lastChunk, last);
+      Object[][] newChunks = Arrays.copyOfRange(chunks, firstChunk, lastChunk + 1);
+      long[] newStarts = Arrays.copyOfRange(starts, firstChunk, lastChunk + 1);
+      if (firstChunk == lastChunk) {
+         newChunks[0] = Arrays.copyOfRange(chunks[firstChunk], firstOffset, lastOffset + 1);
       } else {
-         long currentIndex = Math.abs(index);
-         if (currentIndex > values.size()) {
-            return null;
+         if (firstOffset > 0) {
+            newChunks[0] = Arrays.copyOfRange(chunks[firstChunk], firstOffset, chunks[firstChunk].length);
+         }
+         if (lastOffset < chunks[lastChunk].length - 1) {
+            newChunks[newChunks.length - 1] = Arrays.copyOf(chunks[lastChunk], lastOffset + 1);
          }
+      }
+      newStarts[0] += firstOffset;
+      return new ListBucket<>(newChunks, newStarts, (int) (last - first + 1));
+   }
 
-         Iterator<V> iterator = values.descendingIterator();
-         while (currentIndex-- > 0) {
-            result = iterator.next();
+   /**
+    * Adds the values after the tail, filling the last chunk before creating new ones.
+    */
+   private ListBucket<V> append(Object[] added) {
+      int n = chunks.length;
+      Object[] tail = n == 0 ? null : chunks[n - 1];
+      int intoTail = tail == null ? 0 : Math.min(CHUNK_CAPACITY - tail.length, added.length);
+      int newChunkCount = chunkCount(added.length - intoTail);
+      Object[][] newChunks = Arrays.copyOf(chunks, n + newChunkCount);
+      long[] newStarts = Arrays.copyOf(starts, n + newChunkCount);
+      long next = 0;
+      if (tail != null) {
+         if (intoTail > 0) {
+            Object[] updated = Arrays.copyOf(tail, tail.length + intoTail);
+            System.arraycopy(added, 0, updated, tail.length, intoTail);
+            newChunks[n - 1] = updated;
          }
+         next = starts[n - 1] + tail.length + intoTail;
+      }
+      for (int i = n, offset = intoTail; i < newChunks.length; i++) {
+         int length = Math.min(CHUNK_CAPACITY, added.length - offset);
+         newChunks[i] = Arrays.copyOfRange(added, offset, offset + length);
+         newStarts[i] = next;
+         next += length;
+         offset += length;
       }
+      return new ListBucket<>(newChunks, newStarts, size + added.length);
+   }
 
-      return result;
+   /**
+    * Adds the values before the head, in the given order, filling the first chunk before creating new ones.
+    */
+   private ListBucket<V> prepend(Object[] added) {
+      int n = chunks.length;
+      Object[] head = n == 0 ? null : chunks[0];
+      int intoHead = head == null ? 0 : Math.min(CHUNK_CAPACITY - head.length, added.length);
+      int rest = added.length - intoHead;
+      int newChunkCount = chunkCount(rest);
+      Object[][] newChunks = new Object[newChunkCount + n][];
+      long[] newStarts = new long[newChunkCount + n];
+      System.arraycopy(chunks, 0, newChunks, newChunkCount, n);
+      System.arraycopy(starts, 0, newStarts, newChunkCount, n);
+      long start = n == 0 ? 0 : starts[0];
+      if (intoHead > 0) {
+         Object[] updated = new Object[head.length + intoHead];
+         System.arraycopy(added, rest, updated, 0, intoHead);
+         System.arraycopy(head, 0, updated, intoHead, head.length);
+         newChunks[newChunkCount] = updated;
+         start -= intoHead;
+         newStarts[newChunkCount] = start;
+      }
+      for (int i = newChunkCount - 1, end = rest; i >= 0; i--) {
+         int length = Math.min(CHUNK_CAPACITY, end);
+         newChunks[i] = Arrays.copyOfRange(added, end - length, end);
+         start -= length;
+         newStarts[i] = start;
+         end -= length;
+      }
+      return new ListBucket<>(newChunks, newStarts, size + added.length);
+   }
+
+   /**
+    * Replaces the chunk at {@code index} with the given chunks, moving the position of the following chunks.
+    */
+   private ListBucket<V> replaceChunk(int index, Object[][] replacement, int sizeDelta) {
+      int n = chunks.length;
+      Object[][] newChunks = new Object[n - 1 + replacement.length][];
+      System.arraycopy(chunks, 0, newChunks, 0, index);
+      System.arraycopy(replacement, 0, newChunks, index, replacement.length);
+      System.arraycopy(chunks, index + 1, newChunks, index + replacement.length, n - index - 1);
+      long[] newStarts = Arrays.copyOf(starts, newChunks.length);
+      long next = starts[index];
+      for (int i = index; i < newChunks.length; i++) {
+         newStarts[i] = next;
+         next += newChunks[i].length;
+      }
+      return new ListBucket<>(newChunks, newStarts, size + sizeDelta);
+   }
+
+   /**
+    * Drops the empty chunks and merges the neighbour chunks that became small enough after removing values.
+    */
+   private static <V> ListBucket<V> compact(Object[][] chunks, int size) {
+      List<Object[]> compacted = new ArrayList<>(chunks.length);
+      for (Object[] chunk : chunks) {
+         if (chunk.length == 0) {
+            continue;
+         }
+         int last = compacted.size() - 1;
+         if (last >= 0 && compacted.get(last).length + chunk.length <= CHUNK_CAPACITY / 2) {
+            Object[] previous = compacted.get(last);
+            Object[] merged = Arrays.copyOf(previous, previous.length + chunk.length);
+            System.arraycopy(chunk, 0, merged, previous.length, chunk.length);
+            compacted.set(last, merged);
+         } else {
+            compacted.add(chunk);
+         }
+      }
+      Object[][] newChunks = compacted.toArray(NO_CHUNKS);
+      return new ListBucket<>(newChunks, startsOf(newChunks), size);
+   }
+
+   private static long[] startsOf(Object[][] chunks) {
+      long[] starts = new long[chunks.length];
+      long next = 0;
+      for (int i = 0; i < chunks.length; i++) {
+         starts[i] = next;
+         next += chunks[i].length;
+      }
+      return starts;
+   }
+
+   private static int chunkCount(int elements) {
+      return (elements + CHUNK_CAPACITY - 1) / CHUNK_CAPACITY;
+   }
+
+   @SuppressWarnings("unchecked")
+   private Stream<V> values() {
+      return Arrays.stream(chunks).flatMap(Arrays::stream).map(v -> (V) v);
+   }
+
+   private Iterator<V> iterator() {
+      return new Iterator<>() {
+         int chunk;
+         int offset;
+
+         @Override
+         public boolean hasNext() {
+            return chunk < chunks.length;
+         }
+
+         @Override
+         @SuppressWarnings("unchecked")
+         public V next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            Object[] values = chunks[chunk];
+            V value = (V) values[offset++];
+            if (offset == values.length) {
+               chunk++;
+               offset = 0;
+            }
+            return value;
+         }
+      };
+   }
+
+   private Iterator<V> descendingIterator() {
+      return new Iterator<>() {
+         int chunk = chunks.length - 1;
+         int offset = chunk < 0 ? -1 : chunks[chunk].length - 1;
+
+         @Override
+         public boolean hasNext() {
+            return chunk >= 0;
+         }
+
+         @Override
+         @SuppressWarnings("unchecked")
+         public V next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            V value = (V) chunks[chunk][offset--];
+            if (offset < 0 && --chunk >= 0) {
+               offset = chunks[chunk].length - 1;
+            }
+            return value;
+         }
+      };
    }
 
    @Override
@@ -424,10 +655,11 @@ public boolean equals(Object o) {
 
       try {
          ListBucket<V> that = (ListBucket<V>) o;
-         if (values.size() != that.values.size()) return false;
+         if (size != that.size) return false;
 
-         for (V value : values) {
-            if (!that.contains(value))
+         Iterator<V> ite = iterator();
+         while (ite.hasNext()) {
+            if (!that.contains(ite.next()))
                return false;
          }
       } catch (ClassCastException ignore) {
@@ -440,6 +672,75 @@ public boolean equals(Object o) {
 
    @Override
    public int hashCode() {
-      return Objects.hash(values);
+      return Integer.hashCode(size);
+   }
+
+   /**
+    * Accumulates values in full chunks.
+    */
+   private static final class Builder {
+      final List<Object[]> chunks = new ArrayList<>();
+      Object[] current;
+      int currentSize;
+      int size;
+
+      void add(Object value) {
+         if (current == null) {
+            current = new Object[CHUNK_CAPACITY];
+         }
+         current[currentSize++] = value;
+         size++;
+         if (currentSize == CHUNK_CAPACITY) {
+            flush();
+         }
+      }
+
+      void addChunk(Object[] chunk) {
+         flush();
+         if (chunk.length > 0) {
+            chunks.add(chunk);
+            size += chunk.length;
+         }
+      }
+
+      void flush() {
+         if (currentSize > 0) {
+            chunks.add(currentSize == CHUNK_CAPACITY ? current : Arrays.copyOf(current, currentSize));
+         }
+         current = null;
+         currentSize = 0;
+      }
+
+      <V> ListBucket<V> build() {
+         flush();
+         Object[][] built = chunks.toArray(NO_CHUNKS);
+         return new ListBucket<>(built, startsOf(built), size);
+      }
+   }
+
+   /**
+    * The marshalled form of a chunk of values.
+    */
+   @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_LIST_BUCKET_CHUNK)
+   static final class Chunk {
+      final Object[] values;
+
+      private Chunk(Object[] values) {
+         this.values = values;
+      }
+
+      @ProtoFactory
+      Chunk(Collection<MarshallableUserObject<Object>> wrappedValues) {
+         this(wrappedValues.stream().map(MarshallableUserObject::unwrap).toArray());
+      }
+
+      @ProtoField(number = 1, collectionImplementation = ArrayList.class)
+      Collection<MarshallableUserObject<Object>> getWrappedValues() {
+         List<MarshallableUserObject<Object>> wrapped = new ArrayList<>(values.length);
+         for (Object value : values) {
+            wrapped.add(new MarshallableUserObject<>(value));
+         }
+         return wrapped;
+      }
    }
 }
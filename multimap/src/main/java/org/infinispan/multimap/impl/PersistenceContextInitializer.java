@@ -9,6 +9,7 @@
       includeClasses = {
             Bucket.class,
             ListBucket.class,
+            ListBucket.Chunk.class,
             HashMapBucket.class,
             HashMapBucket.BucketEntry.class,
             MultimapObjectWrapper.class,
@@ -16,6 +17,11 @@
             SortedSetBucket.class,
             ScoredValue.class,
             SortedSetBucket.IndexValue.class,
+            StreamBucket.class,
+            StreamConsumerGroup.class,
+            StreamConsumerGroup.Consumer.class,
+            StreamConsumerGroup.PendingEntry.class,
+            StreamId.class,
       },
       schemaFileName = "persistence.multimap.proto",
       schemaFilePath = "org/infinispan/multimap",
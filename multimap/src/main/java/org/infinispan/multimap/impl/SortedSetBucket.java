@@ -9,7 +9,6 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
@@ -19,6 +18,7 @@
 import java.util.stream.Stream;
 
 import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.multimap.impl.internal.IndexedSkipList;
 import org.infinispan.multimap.impl.internal.MultimapObjectWrapper;
 import org.infinispan.protostream.annotations.Proto;
 import org.infinispan.protostream.annotations.ProtoFactory;
@@ -27,13 +27,16 @@
 
 /**
  * Bucket used to store Sorted Set data type.
+ * <p>
+ * The entries are kept in an {@link IndexedSkipList}, so the operations by rank locate their first entry in O(log n)
+ * instead of iterating from the lowest score.
  *
  * @author Katia Aresti
  * @since 15.0
  */
 @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_SORTED_SET_BUCKET)
 public class SortedSetBucket<V> implements SortableBucket<V>, BaseSetBucket<V> {
-   private final TreeSet<ScoredValue<V>> scoredEntries;
+   private final IndexedSkipList<ScoredValue<V>> scoredEntries;
    private final Map<MultimapObjectWrapper<V>, Double> entries;
 
    @Proto
@@ -123,7 +126,7 @@ public List<ScoredValue<V>> randomMembers(int count) {
 
    @ProtoFactory
    SortedSetBucket(Collection<ScoredValue<V>> wrappedValues) {
-      scoredEntries = new TreeSet<>();
+      scoredEntries = new IndexedSkipList<>();
       scoredEntries.addAll(wrappedValues);
       entries = new HashMap<>();
       wrappedValues.forEach(e -> entries.put(e.wrappedValue(), e.score()));
@@ -151,27 +154,28 @@ public List<ScoredValue<V>> getScoredEntriesAsList() {
    }
 
    public SortedSetBucket() {
-      this.scoredEntries = new TreeSet<>();
+      this.scoredEntries = new IndexedSkipList<>();
       this.entries = new HashMap<>();
    }
 
+   private SortedSetBucket(SortedSetBucket<V> other) {
+      this.scoredEntries = new IndexedSkipList<>(other.scoredEntries);
+      this.entries = new HashMap<>(other.entries);
+   }
+
    public SortedSetResult<Collection<ScoredValue<V>>, V> pop(boolean min, long count) {
       Iterator<ScoredValue<V>> it = min
             ? scoredEntries.iterator()
             : scoredEntries.descendingIterator();
 
-      int i = 0;
+      SortedSetBucket<V> next = new SortedSetBucket<>(this);
       List<ScoredValue<V>> popped = new ArrayList<>();
-      List<ScoredValue<V>> remaining = new ArrayList<>();
-      while (it.hasNext()) {
+      while (it.hasNext() && popped.size() < count) {
          ScoredValue<V> sv = it.next();
-         if (++i > count) {
-            remaining.add(sv);
-         } else {
-            popped.add(sv);
-         }
+         popped.add(sv);
+         next.removeScoredValue(sv);
       }
-      return new SortedSetResult<>(popped, new SortedSetBucket<>(remaining));
+      return new SortedSetResult<>(popped, next);
    }
 
    public List<Double> scores(List<V> members) {
@@ -184,9 +188,9 @@ public IndexValue indexOf(V member, boolean isRev) {
       if (score == null) {
          return null;
       }
-      SortedSet<ScoredValue<V>> tailedHead = scoredEntries.headSet(new ScoredValue<>(score, wrapMember));
-      return isRev? IndexValue.of(score, scoredEntries.size() - tailedHead.size() - 1)
-            : IndexValue.of(score, tailedHead.size());
+      int rank = scoredEntries.rank(new ScoredValue<>(score, wrapMember));
+      return isRev? IndexValue.of(score, scoredEntries.size() - rank - 1)
+            : IndexValue.of(score, rank);
    }
 
    public SortedSetBucket<V> replace(Collection<ScoredValue<V>> scoredValues) {
@@ -206,7 +210,7 @@ public SortedSetResult<AddOrUpdatesCounters, V> addMany(Collection<ScoredValue<V
                                        boolean updateGreaterScoresOnly) {
 
       AddOrUpdatesCounters addResult = new AddOrUpdatesCounters();
-      SortedSetBucket<V> next = new SortedSetBucket<>(scoredEntries);
+      SortedSetBucket<V> next = new SortedSetBucket<>(this);
       long startSize = next.size();
 
       for (ScoredValue<V> scoredValue : scoredValues) {
@@ -245,7 +249,7 @@ public SortedSetResult<Double, V> incrScore(double incr, V member, boolean addOn
             throw new IllegalStateException("resulting score is not a number (NaN)");
       }
 
-      SortedSetBucket<V> next = new SortedSetBucket<>(scoredEntries);
+      SortedSetBucket<V> next = new SortedSetBucket<>(this);
       next.addOrUpdate(new AddOrUpdatesCounters(), new ScoredValue<>(newScore, wrappedValue));
       return new SortedSetResult<>(newScore, next);
    }
@@ -308,6 +312,14 @@ private void addScoredValue(ScoredValue<V> scoredValue) {
       entries.put(scoredValue.wrappedValue(), scoredValue.score());
    }
 
+   private boolean removeScoredValue(ScoredValue<V> scoredValue) {
+      if (scoredEntries.remove(scoredValue)) {
+         entries.remove(scoredValue.wrappedValue());
+         return true;
+      }
+      return false;
+   }
+
    public SortedSetResult<Long, V> removeAll(Collection<V> values) {
       Collection<ScoredValue<V>> subset = new ArrayList<>();
       for (V value: values) {
@@ -338,12 +350,12 @@ private SortedSetResult<Long, V> removeAllInternal(Collection<ScoredValue<V>> su
       if (subset.isEmpty())
          return new SortedSetResult<>(0L, this);
 
-      List<ScoredValue<V>> remaining = new ArrayList<>(scoredEntries.size());
-      for (ScoredValue<V> sv : scoredEntries) {
-         if (!subset.contains(sv)) remaining.add(sv);
+      SortedSetBucket<V> next = new SortedSetBucket<>(this);
+      long removed = 0;
+      for (ScoredValue<V> sv : subset) {
+         if (next.removeScoredValue(sv)) removed++;
       }
-      long size = subset.size();
-      return new SortedSetResult<>(size, new SortedSetBucket<>(remaining));
+      return new SortedSetResult<>(removed, next);
    }
 
    public List<ScoredValue<V>> subsetByIndex(long from, long to, boolean rev) {
@@ -362,29 +374,25 @@ public List<ScoredValue<V>> subsetByIndex(long from, long to, boolean rev) {
          return Collections.emptyList();
       }
 
-      List<ScoredValue<V>> results = new ArrayList<>();
+      int first = (int) Math.max(fromIte, 0);
+      int last = (int) Math.min(toIte, scoredEntries.size() - 1);
+      if (first > last) {
+         return Collections.emptyList();
+      }
+
+      List<ScoredValue<V>> results = new ArrayList<>(last - first + 1);
       Iterator<ScoredValue<V>> ite;
       if (rev) {
-         ite = scoredEntries.descendingIterator();
+         ite = scoredEntries.descendingIterator(scoredEntries.size() - 1 - first);
       } else {
-         ite = scoredEntries.iterator();
+         ite = scoredEntries.iterator(first);
       }
-
-      long pos = 0;
-      while ((pos < fromIte) && ite.hasNext()) {
-         ite.next();
-         pos++;
-      }
-
-      while ((pos <= toIte) && ite.hasNext()) {
+      for (int pos = first; pos <= last; pos++) {
          results.add(ite.next());
-         pos++;
       }
-
       return results;
    }
 
-   @SuppressWarnings({ "unchecked", "rawtypes" })
    public List<ScoredValue<V>> subset(Double startScore, boolean includeStart, Double stopScore, boolean includeStop, boolean isRev, Long offset, Long count) {
       if ((stopScore != null && stopScore.equals(startScore) && (!includeStart || !includeStop)) || (count != null && count == 0) || (offset != null && offset.equals(entries.size()))) {
          return Collections.emptyList();
@@ -397,53 +405,10 @@ public List<ScoredValue<V>> subset(Double startScore, boolean includeStart, Doub
       boolean unboundedMin = min == null || min == Double.MIN_VALUE;
       boolean unboundedMax = max == null || max == Double.MAX_VALUE;
 
-      if (unboundedMin && unboundedMax) {
-         return applyLimit(scoredEntries, offset, count, isRev);
-      }
-
-      ScoredValue<V> startSv;
-      ScoredValue<V> stopSv;
-      if (unboundedMin) {
-         startSv = scoredEntries.first();
-      } else {
-         if (includeMin) {
-            startSv = scoredEntries.lower(ScoredValue.of(min));
-            if (startSv == null) {
-               startSv = scoredEntries.first();
-            }
-         } else {
-            startSv = scoredEntries.higher(ScoredValue.of(min));
-            if (startSv == null) {
-               startSv = scoredEntries.last();
-            }
-         }
-      }
-
-      if (unboundedMax) {
-         stopSv = scoredEntries.last();
-      } else {
-         if (includeMax) {
-            stopSv = scoredEntries.higher(ScoredValue.of(max));
-         } else {
-            stopSv = scoredEntries.lower(ScoredValue.of(max));
-         }
-
-         if (stopSv == null) {
-            stopSv = scoredEntries.last();
-         }
-      }
-
-      if (startSv.score() > stopSv.score()) {
-         return Collections.emptyList();
-      }
-
-      NavigableSet<ScoredValue<V>> subset = scoredEntries.subSet(
-            startSv,
-            unboundedMin || (startSv.score() > min || (includeMin && startSv.score().equals(min))),
-            stopSv,
-            unboundedMax || (stopSv.score() < max || (includeMax && stopSv.score().equals(max))));
-
-      return applyLimit(subset, offset, count, isRev);
+      // ScoredValue.of(score) is equal to every entry with that score
+      int from = unboundedMin ? 0 : startRank(ScoredValue.of(min), includeMin);
+      int to = unboundedMax ? scoredEntries.size() : startRank(ScoredValue.of(max), !includeMax);
+      return applyLimit(from, to, offset, count, isRev);
    }
 
    public List<ScoredValue<V>> subset(V startValue, boolean includeStart, V stopValue, boolean includeStop, boolean isRev, Long offset, Long count) {
@@ -459,65 +424,43 @@ public List<ScoredValue<V>> subset(V startValue, boolean includeStart, V stopVal
       boolean unboundedMax = maxValue == null;
 
       if (unboundedMin && unboundedMax) {
-         return applyLimit(scoredEntries, offset, count, isRev);
+         return applyLimit(0, scoredEntries.size(), offset, count, isRev);
       }
       // if all the scoredEntries have the same score, then we can pick up first score for lex
       // when all the entries don't have the same score, this method can't work. This is the expected behaviour.
       double score = scoredEntries.first().score();
 
-      ScoredValue<V> minScoredValue = ScoredValue.of(score, minValue);
-      ScoredValue<V> maxScoredValue = ScoredValue.of(score, maxValue);
-
-      if (unboundedMin) {
-         NavigableSet<ScoredValue<V>> entries = scoredEntries.headSet(maxScoredValue, includeMax);
-         return applyLimit(entries, offset, count, isRev);
-      }
-
-      if (unboundedMax) {
-         NavigableSet<ScoredValue<V>> entries = scoredEntries.tailSet(minScoredValue, includeMin);
-         return applyLimit(entries, offset, count, isRev);
-      }
-
-      try {
-         NavigableSet<ScoredValue<V>> entries = scoredEntries.subSet(minScoredValue, includeMin, maxScoredValue, includeMax);
-         return applyLimit(entries, offset, count, isRev);
-      } catch (IllegalArgumentException e) {
-         return Collections.emptyList();
-      }
+      int from = unboundedMin ? 0 : startRank(ScoredValue.of(score, minValue), includeMin);
+      int to = unboundedMax ? scoredEntries.size() : startRank(ScoredValue.of(score, maxValue), !includeMax);
+      return applyLimit(from, to, offset, count, isRev);
    }
 
-   private List<ScoredValue<V>> applyLimit(NavigableSet<ScoredValue<V>> subset, final Long offset, final Long count, boolean isRev) {
-      if (!isLimited(offset, count)) {
-         List<ScoredValue<V>> result = new ArrayList<>(entries.size());
-         Iterator<ScoredValue<V>> ite = isRev ? subset.descendingIterator() : subset.iterator();
-         while (ite.hasNext()) {
-            result.add(ite.next());
-         }
-         return result;
-      }
-
-      List<ScoredValue<V>> result = new ArrayList<>();
-      Iterator<ScoredValue<V>> ite = isRev ? subset.descendingIterator() : subset.iterator();
-      if (count < 0) {
-         skipOffset(offset, ite);
-         while (ite.hasNext()) {
-            result.add(ite.next());
-         }
-      } else {
-         skipOffset(offset, ite);
-         long localCount = 0;
-         while (ite.hasNext() && localCount++ < count) {
-            result.add(ite.next());
-         }
-      }
-      return result;
+   /**
+    * @return the rank of the first entry greater than {@code bound}, or equal to it when {@code includeBound} is set
+    */
+   private int startRank(ScoredValue<V> bound, boolean includeBound) {
+      return includeBound ? scoredEntries.rank(bound) : scoredEntries.rankInclusive(bound);
    }
 
-   private void skipOffset(Long offset, Iterator<ScoredValue<V>> ite) {
-      long localOffset = 0;
-      while (localOffset++ < offset && ite.hasNext()) {
-         ite.next();
+   /**
+    * Returns the entries with a rank between {@code from}, inclusive, and {@code to}, exclusive, after skipping
+    * {@code offset} entries.
+    */
+   private List<ScoredValue<V>> applyLimit(int from, int to, final Long offset, final Long count, boolean isRev) {
+      long skip = isLimited(offset, count) ? Math.max(offset, 0) : 0;
+      long available = to - from - skip;
+      if (available <= 0) {
+         return new ArrayList<>();
+      }
+      long limit = isLimited(offset, count) && count >= 0 ? Math.min(count, available) : available;
+      List<ScoredValue<V>> result = new ArrayList<>((int) limit);
+      Iterator<ScoredValue<V>> ite = isRev
+            ? scoredEntries.descendingIterator((int) (to - 1 - skip))
+            : scoredEntries.iterator((int) (from + skip));
+      for (long i = 0; i < limit; i++) {
+         result.add(ite.next());
       }
+      return result;
    }
 
    private static boolean isLimited(Long offset, Long count) {
@@ -0,0 +1,782 @@
+package org.infinispan.multimap.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.marshall.protostream.impl.MarshallableUserObject;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Bucket used to store streams: append-only logs of entries made of field-value pairs and identified by a
+ * {@link StreamId}.
+ * <p>
+ * Entries are stored in fixed size segments. Within a segment, identifiers are stored as a delta of the millisecond
+ * part from the first entry of the segment, and they are also delta encoded when the bucket is marshalled, which keeps
+ * the serialized form compact. Since identifiers are increasing, a range read is a binary search to find the first
+ * segment followed by a sequential scan.
+ * <p>
+ * Like the other buckets, a stream bucket is immutable and every update returns a new bucket. To keep appends O(1),
+ * the segments are shared between the versions of a bucket: a version only sees the slots up to its own size, and an
+ * append claims the next free slot of the last segment, so it is written in place. If the slot was already claimed,
+ * because an older version of the bucket is being updated, the segment is copied first. Trimming only moves the head
+ * of the bucket, and the trimmed segments are released when the segment array is compacted.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_BUCKET)
+public class StreamBucket<V> {
+   public static final String ERR_ID_TOO_SMALL = "The ID specified in XADD is equal or smaller than the target stream top item";
+   public static final String ERR_ID_ZERO = "The ID specified in XADD must be greater than 0-0";
+   public static final String ERR_BUSYGROUP = "BUSYGROUP Consumer Group name already exists";
+   public static final String ERR_NOGROUP = "NOGROUP No such key or consumer group";
+
+   static final int SEGMENT_CAPACITY = 128;
+   private static final int INITIAL_SEGMENTS = 8;
+
+   // Full segments, possibly shared with other versions. Only [sealedStart, sealedEnd) belongs to this version
+   private final Segments sealed;
+   private final int sealedStart;
+   private final int sealedEnd;
+   // The segment receiving the appends and the number of its slots that belong to this version
+   private final Segment tail;
+   private final int tailSize;
+   // The number of slots trimmed from the head of the first segment
+   private final int headSkip;
+   private final long length;
+   private final StreamId lastId;
+   private final StreamId maxDeletedId;
+   private final long entriesAdded;
+   private final Map<String, StreamConsumerGroup> groups;
+
+   public StreamBucket() {
+      this(new Segments(INITIAL_SEGMENTS), 0, 0, null, 0, 0, 0, StreamId.MIN, StreamId.MIN, 0, Collections.emptyMap());
+   }
+
+   private StreamBucket(Segments sealed, int sealedStart, int sealedEnd, Segment tail, int tailSize, int headSkip,
+                        long length, StreamId lastId, StreamId maxDeletedId, long entriesAdded,
+                        Map<String, StreamConsumerGroup> groups) {
+      this.sealed = sealed;
+      this.sealedStart = sealedStart;
+      this.sealedEnd = sealedEnd;
+      this.tail = tail;
+      this.tailSize = tailSize;
+      this.headSkip = headSkip;
+      this.length = length;
+      this.lastId = lastId;
+      this.maxDeletedId = maxDeletedId;
+      this.entriesAdded = entriesAdded;
+      this.groups = groups;
+   }
+
+   @ProtoFactory
+   StreamBucket(long[] msDeltas, long[] seqs, long[] fieldCounts,
+                Collection<MarshallableUserObject<Object>> wrappedFields, StreamId lastId, StreamId maxDeletedId,
+                long entriesAdded, Collection<StreamConsumerGroup> groupList) {
+      StreamBucket<V> bucket = new StreamBucket<>();
+      var fields = wrappedFields.iterator();
+      long ms = 0;
+      int entries = msDeltas == null ? 0 : msDeltas.length;
+      for (int i = 0; i < entries; i++) {
+         ms += msDeltas[i];
+         Object[] fieldsAndValues = new Object[(int) fieldCounts[i]];
+         for (int j = 0; j < fieldsAndValues.length; j++) {
+            fieldsAndValues[j] = fields.next().get();
+         }
+         bucket = bucket.append(new StreamId(ms, seqs[i]), fieldsAndValues);
+      }
+      Map<String, StreamConsumerGroup> groupMap = new LinkedHashMap<>();
+      for (StreamConsumerGroup group : groupList) {
+         groupMap.put(group.name(), group);
+      }
+      this.sealed = bucket.sealed;
+      this.sealedStart = bucket.sealedStart;
+      this.sealedEnd = bucket.sealedEnd;
+      this.tail = bucket.tail;
+      this.tailSize = bucket.tailSize;
+      this.headSkip = bucket.headSkip;
+      this.length = bucket.length;
+      this.lastId = lastId;
+      this.maxDeletedId = maxDeletedId;
+      this.entriesAdded = entriesAdded;
+      this.groups = groupMap;
+   }
+
+   @ProtoField(1)
+   long[] getMsDeltas() {
+      long[] deltas = new long[(int) length];
+      long previous = 0;
+      int i = 0;
+      for (Cursor c = first(); c != null; c = c.next()) {
+         long ms = c.segment.ms(c.slot);
+         deltas[i++] = ms - previous;
+         previous = ms;
+      }
+      return deltas;
+   }
+
+   @ProtoField(2)
+   long[] getSeqs() {
+      long[] seqs = new long[(int) length];
+      int i = 0;
+      for (Cursor c = first(); c != null; c = c.next()) {
+         seqs[i++] = c.segment.seqs[c.slot];
+      }
+      return seqs;
+   }
+
+   @ProtoField(3)
+   long[] getFieldCounts() {
+      long[] counts = new long[(int) length];
+      int i = 0;
+      for (Cursor c = first(); c != null; c = c.next()) {
+         counts[i++] = c.segment.fields[c.slot].length;
+      }
+      return counts;
+   }
+
+   @ProtoField(number = 4, collectionImplementation = ArrayList.class)
+   Collection<MarshallableUserObject<Object>> getWrappedFields() {
+      List<MarshallableUserObject<Object>> wrapped = new ArrayList<>();
+      for (Cursor c = first(); c != null; c = c.next()) {
+         for (Object o : c.segment.fields[c.slot]) {
+            wrapped.add(new MarshallableUserObject<>(o));
+         }
+      }
+      return wrapped;
+   }
+
+   @ProtoField(5)
+   public StreamId getLastId() {
+      return lastId;
+   }
+
+   @ProtoField(6)
+   public StreamId getMaxDeletedId() {
+      return maxDeletedId;
+   }
+
+   @ProtoField(number = 7, defaultValue = "0")
+   public long getEntriesAdded() {
+      return entriesAdded;
+   }
+
+   @ProtoField(number = 8, collectionImplementation = ArrayList.class)
+   Collection<StreamConsumerGroup> getGroupList() {
+      return new ArrayList<>(groups.values());
+   }
+
+   public long size() {
+      return length;
+   }
+
+   public boolean isEmpty() {
+      return length == 0;
+   }
+
+   public StreamConsumerGroup group(String name) {
+      return groups.get(name);
+   }
+
+   public Collection<StreamConsumerGroup> groups() {
+      return Collections.unmodifiableCollection(groups.values());
+   }
+
+   public record StreamBucketResult<R, V>(R result, StreamBucket<V> bucket) { }
+
+   /**
+    * Adds an entry to the stream.
+    *
+    * @param id      the identifier of the new entry. When {@code null}, the identifier is generated from
+    *                {@code now}. When {@code autoSeq} is set, only the sequence number is generated.
+    * @param autoSeq whether the sequence number of the identifier must be generated
+    * @param now     the current time, in milliseconds
+    * @return the identifier of the new entry and the new bucket
+    * @throws IllegalArgumentException if the identifier is not greater than the last identifier of the stream
+    */
+   public StreamBucketResult<StreamId, V> add(StreamId id, boolean autoSeq, long now, List<V> fieldsAndValues) {
+      StreamId newId;
+      if (id == null) {
+         newId = Long.compareUnsigned(now, lastId.ms()) > 0 ? new StreamId(now, 0) : lastId.next();
+      } else if (autoSeq) {
+         int compare = Long.compareUnsigned(id.ms(), lastId.ms());
+         if (compare > 0) {
+            newId = new StreamId(id.ms(), 0);
+         } else if (compare == 0 && lastId.seq() != -1L) {
+            newId = new StreamId(id.ms(), lastId.seq() + 1);
+         } else {
+            newId = null;
+         }
+      } else {
+         newId = id;
+      }
+      if (StreamId.MIN.equals(newId)) {
+         throw new IllegalArgumentException(ERR_ID_ZERO);
+      }
+      if (newId == null || newId.compareTo(lastId) <= 0) {
+         throw new IllegalArgumentException(ERR_ID_TOO_SMALL);
+      }
+      return new StreamBucketResult<>(newId, append(newId, fieldsAndValues.toArray()));
+   }
+
+   private StreamBucket<V> append(StreamId id, Object[] fieldsAndValues) {
+      Segments newSealed = sealed;
+      int newSealedStart = sealedStart;
+      int newSealedEnd = sealedEnd;
+      Segment newTail = tail;
+      int size = tailSize;
+      if (newTail != null && size == SEGMENT_CAPACITY) {
+         if (newSealedEnd < sealed.array.length && sealed.claimed.compareAndSet(newSealedEnd, newSealedEnd + 1)) {
+            sealed.array[newSealedEnd++] = newTail;
+         } else {
+            int live = newSealedEnd - newSealedStart;
+            newSealed = new Segments(Math.max(INITIAL_SEGMENTS, (live + 1) * 2));
+            System.arraycopy(sealed.array, newSealedStart, newSealed.array, 0, live);
+            newSealed.array[live] = newTail;
+            newSealed.claimed.set(live + 1);
+            newSealedStart = 0;
+            newSealedEnd = live + 1;
+         }
+         newTail = null;
+         size = 0;
+      }
+      if (newTail == null) {
+         newTail = new Segment(id.ms());
+      } else if (!newTail.tryAppend(size, id, fieldsAndValues)) {
+         newTail = newTail.copy(size);
+      } else {
+         return new StreamBucket<>(newSealed, newSealedStart, newSealedEnd, newTail, size + 1, headSkip, length + 1,
+               id, maxDeletedId, entriesAdded + 1, groups);
+      }
+      // A new or copied segment always has room for the entry
+      newTail.tryAppend(size, id, fieldsAndValues);
+      return new StreamBucket<>(newSealed, newSealedStart, newSealedEnd, newTail, size + 1, headSkip, length + 1,
+            id, maxDeletedId, entriesAdded + 1, groups);
+   }
+
+   /**
+    * Returns the entries with an identifier between {@code start} and {@code end}, both inclusive.
+    *
+    * @param count   the maximum number of entries to return
+    * @param reverse whether the entries are returned from {@code end} to {@code start}
+    */
+   public List<StreamEntry<V>> range(StreamId start, StreamId end, long count, boolean reverse) {
+      List<StreamEntry<V>> result = new ArrayList<>();
+      if (start.compareTo(end) > 0 || count <= 0) {
+         return result;
+      }
+      if (reverse) {
+         for (Cursor c = floor(end); c != null && result.size() < count; c = c.previous()) {
+            StreamId id = c.id();
+            if (id.compareTo(start) < 0) {
+               break;
+            }
+            result.add(c.entry(id));
+         }
+      } else {
+         for (Cursor c = ceiling(start); c != null && result.size() < count; c = c.next()) {
+            StreamId id = c.id();
+            if (id.compareTo(end) > 0) {
+               break;
+            }
+            result.add(c.entry(id));
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Removes the entries with the given identifiers.
+    *
+    * @return the number of entries removed and the new bucket
+    */
+   public StreamBucketResult<Long, V> delete(Collection<StreamId> ids) {
+      Segment[] segments = null;
+      Segment newTail = tail;
+      long removed = 0;
+      StreamId newMaxDeleted = maxDeletedId;
+      for (StreamId id : new HashSet<>(ids)) {
+         Cursor c = ceiling(id);
+         if (c == null || !c.id().equals(id)) {
+            continue;
+         }
+         int k = c.index;
+         if (k < sealedEnd - sealedStart) {
+            if (segments == null) {
+               segments = Arrays.copyOfRange(sealed.array, sealedStart, sealedEnd);
+            }
+            segments[k] = segments[k].delete(c.slot);
+         } else {
+            newTail = newTail.delete(c.slot);
+         }
+         removed++;
+         if (id.compareTo(newMaxDeleted) > 0) {
+            newMaxDeleted = id;
+         }
+      }
+      if (removed == 0) {
+         return new StreamBucketResult<>(0L, this);
+      }
+      if (removed == length) {
+         return new StreamBucketResult<>(removed, emptyWith(newMaxDeleted, groups));
+      }
+      Segments newSealed = sealed;
+      int newSealedStart = sealedStart;
+      int newSealedEnd = sealedEnd;
+      if (segments != null) {
+         newSealed = new Segments(Math.max(INITIAL_SEGMENTS, segments.length * 2));
+         System.arraycopy(segments, 0, newSealed.array, 0, segments.length);
+         newSealed.claimed.set(segments.length);
+         newSealedStart = 0;
+         newSealedEnd = segments.length;
+      }
+      return new StreamBucketResult<>(removed, new StreamBucket<>(newSealed, newSealedStart, newSealedEnd, newTail,
+            tailSize, headSkip, length - removed, lastId, newMaxDeleted, entriesAdded, groups));
+   }
+
+   /**
+    * Removes the oldest entries of the stream, until it contains at most {@code maxLen} entries or until the oldest
+    * entry has an identifier greater than or equal to {@code minId}.
+    *
+    * @param maxLen      the maximum length of the stream, or a negative value when trimming by identifier
+    * @param minId       the minimum identifier to keep, or {@code null} when trimming by length
+    * @param approximate whether only whole segments can be removed, which is cheaper but may keep a few more entries
+    * @param limit       the maximum number of entries to remove
+    * @return the number of entries removed and the new bucket
+    */
+   public StreamBucketResult<Long, V> trim(long maxLen, StreamId minId, boolean approximate, long limit) {
+      int segmentCount = segmentCount();
+      long removed = 0;
+      int dropped = 0;
+      int newHeadSkip = headSkip;
+      for (int k = 0; k < segmentCount; k++) {
+         Segment segment = segment(k);
+         int from = k == 0 ? headSkip : 0;
+         int size = segmentSize(k);
+         int live = segment.liveCount(from, size);
+         long needed = minId == null ? length - removed - maxLen : Long.MAX_VALUE;
+         if (needed <= 0) {
+            break;
+         }
+         boolean wholeSegment = minId == null ? live <= needed : segment.id(size - 1).compareTo(minId) < 0;
+         if (wholeSegment && removed + live <= limit) {
+            removed += live;
+            dropped++;
+            newHeadSkip = 0;
+            continue;
+         }
+         if (!approximate) {
+            int slot = from;
+            while (slot < size && removed < limit) {
+               if (minId != null ? segment.id(slot).compareTo(minId) >= 0 : removed >= length - maxLen) {
+                  break;
+               }
+               if (!segment.isDeleted(slot)) {
+                  removed++;
+               }
+               slot++;
+            }
+            newHeadSkip = slot;
+         }
+         break;
+      }
+      if (removed == 0) {
+         return new StreamBucketResult<>(0L, this);
+      }
+      if (removed == length) {
+         return new StreamBucketResult<>(removed, emptyWith(maxDeletedId, groups));
+      }
+      int sealedCount = sealedEnd - sealedStart;
+      return new StreamBucketResult<>(removed, new StreamBucket<>(sealed, sealedStart + Math.min(dropped, sealedCount),
+            sealedEnd, tail, tailSize, newHeadSkip, length - removed, lastId, maxDeletedId, entriesAdded, groups));
+   }
+
+   /**
+    * Creates a consumer group.
+    *
+    * @param id the last delivered identifier of the group, or {@code null} for the last identifier of the stream
+    * @throws IllegalStateException if the group already exists
+    */
+   public StreamBucket<V> createGroup(String name, StreamId id, long entriesRead) {
+      if (groups.containsKey(name)) {
+         throw new IllegalStateException(ERR_BUSYGROUP);
+      }
+      StreamId lastDelivered = id == null ? lastId : id;
+      long read = entriesRead >= 0 ? entriesRead : (id == null ? entriesAdded : 0);
+      return withGroup(StreamConsumerGroup.create(name, lastDelivered, read));
+   }
+
+   /**
+    * @return the new bucket or {@code null} if the group did not exist
+    */
+   public StreamBucket<V> destroyGroup(String name) {
+      if (!groups.containsKey(name)) {
+         return null;
+      }
+      Map<String, StreamConsumerGroup> newGroups = new LinkedHashMap<>(groups);
+      newGroups.remove(name);
+      return withGroups(newGroups);
+   }
+
+   /**
+    * Sets the last delivered identifier of a consumer group.
+    *
+    * @param id the last delivered identifier, or {@code null} for the last identifier of the stream
+    */
+   public StreamBucket<V> setGroupId(String name, StreamId id, long entriesRead) {
+      StreamConsumerGroup group = existingGroup(name);
+      StreamId lastDelivered = id == null ? lastId : id;
+      long read = entriesRead >= 0 ? entriesRead : (id == null ? entriesAdded : group.entriesRead());
+      return withGroup(group.withLastDeliveredId(lastDelivered, read));
+   }
+
+   /**
+    * @return whether the consumer was created and the new bucket
+    */
+   public StreamBucketResult<Boolean, V> createConsumer(String name, String consumer, long now) {
+      StreamConsumerGroup group = existingGroup(name);
+      if (group.hasConsumer(consumer)) {
+         return new StreamBucketResult<>(false, this);
+      }
+      return new StreamBucketResult<>(true, withGroup(group.withConsumer(consumer, now)));
+   }
+
+   /**
+    * @return the number of entries that were pending for the consumer and the new bucket
+    */
+   public StreamBucketResult<Long, V> deleteConsumer(String name, String consumer) {
+      StreamConsumerGroup group = existingGroup(name);
+      long pending = group.pendingEntries(StreamId.MIN, StreamId.MAX, Long.MAX_VALUE, consumer, 0, 0).size();
+      StreamConsumerGroup newGroup = group.withoutConsumer(consumer);
+      return new StreamBucketResult<>(pending, newGroup == group ? this : withGroup(newGroup));
+   }
+
+   /**
+    * Reads entries on behalf of a consumer of a group.
+    *
+    * @param id    {@code null} to read the entries never delivered to the group, otherwise the entries pending for
+    *              the consumer with an identifier greater than {@code id} are delivered again
+    * @param noAck whether the new entries are acknowledged immediately instead of being added to the pending list
+    * @return the entries and the new bucket
+    */
+   public StreamBucketResult<List<StreamEntry<V>>, V> readGroup(String name, String consumer, StreamId id,
+                                                                long count, boolean noAck, long now) {
+      StreamConsumerGroup group = existingGroup(name);
+      if (id == null) {
+         StreamId start = group.lastDeliveredId().next();
+         List<StreamEntry<V>> entries = start == null ? List.of() : range(start, StreamId.MAX, count, false);
+         List<StreamId> ids = new ArrayList<>(entries.size());
+         for (StreamEntry<V> entry : entries) {
+            ids.add(entry.id());
+         }
+         return new StreamBucketResult<>(entries, withGroup(group.deliver(consumer, ids, now, noAck)));
+      }
+      StreamId start = id.next();
+      List<StreamEntry<V>> entries = new ArrayList<>();
+      List<StreamId> ids = new ArrayList<>();
+      if (start != null) {
+         for (StreamConsumerGroup.PendingEntry pending : group.pendingEntries(start, StreamId.MAX, count, consumer, 0, now)) {
+            ids.add(pending.id());
+            Cursor c = ceiling(pending.id());
+            if (c != null && c.id().equals(pending.id())) {
+               entries.add(c.entry(pending.id()));
+            }
+         }
+      }
+      return new StreamBucketResult<>(entries, withGroup(group.redeliver(consumer, ids, now)));
+   }
+
+   /**
+    * @return the number of entries acknowledged and the new bucket
+    */
+   public StreamBucketResult<Long, V> acknowledge(String name, Collection<StreamId> ids) {
+      StreamConsumerGroup group = groups.get(name);
+      if (group == null) {
+         return new StreamBucketResult<>(0L, this);
+      }
+      List<StreamId> acknowledged = new ArrayList<>(ids.size());
+      for (StreamId id : ids) {
+         if (group.pendingEntry(id) != null) {
+            acknowledged.add(id);
+         }
+      }
+      if (acknowledged.isEmpty()) {
+         return new StreamBucketResult<>(0L, this);
+      }
+      return new StreamBucketResult<>((long) acknowledged.size(), withGroup(group.acknowledge(acknowledged)));
+   }
+
+   /**
+    * @see StreamConsumerGroup#pendingEntries(StreamId, StreamId, long, String, long, long)
+    */
+   public List<StreamConsumerGroup.PendingEntry> pending(String name, StreamId start, StreamId end, long count,
+                                                         String consumer, long minIdleTime, long now) {
+      return existingGroup(name).pendingEntries(start, end, count, consumer, minIdleTime, now);
+   }
+
+   private StreamConsumerGroup existingGroup(String name) {
+      StreamConsumerGroup group = groups.get(name);
+      if (group == null) {
+         throw new IllegalStateException(ERR_NOGROUP);
+      }
+      return group;
+   }
+
+   private StreamBucket<V> withGroup(StreamConsumerGroup group) {
+      Map<String, StreamConsumerGroup> newGroups = new LinkedHashMap<>(groups);
+      newGroups.put(group.name(), group);
+      return withGroups(newGroups);
+   }
+
+   private StreamBucket<V> withGroups(Map<String, StreamConsumerGroup> newGroups) {
+      return new StreamBucket<>(sealed, sealedStart, sealedEnd, tail, tailSize, headSkip, length, lastId,
+            maxDeletedId, entriesAdded, newGroups);
+   }
+
+   private StreamBucket<V> emptyWith(StreamId newMaxDeleted, Map<String, StreamConsumerGroup> newGroups) {
+      return new StreamBucket<>(new Segments(INITIAL_SEGMENTS), 0, 0, null, 0, 0, 0, lastId, newMaxDeleted,
+            entriesAdded, newGroups);
+   }
+
+   private int segmentCount() {
+      return sealedEnd - sealedStart + (tail != null ? 1 : 0);
+   }
+
+   private Segment segment(int k) {
+      return k < sealedEnd - sealedStart ? sealed.array[sealedStart + k] : tail;
+   }
+
+   private int segmentSize(int k) {
+      return k < sealedEnd - sealedStart ? SEGMENT_CAPACITY : tailSize;
+   }
+
+   private Cursor first() {
+      return length == 0 ? null : new Cursor(0, headSkip - 1).next();
+   }
+
+   /**
+    * @return a cursor on the first live entry with an identifier greater than or equal to {@code id}
+    */
+   private Cursor ceiling(StreamId id) {
+      if (length == 0) {
+         return null;
+      }
+      // Find the first segment whose last entry is not smaller than the identifier
+      int low = 0;
+      int high = segmentCount() - 1;
+      if (segment(high).id(segmentSize(high) - 1).compareTo(id) < 0) {
+         return null;
+      }
+      while (low < high) {
+         int mid = (low + high) >>> 1;
+         if (segment(mid).id(segmentSize(mid) - 1).compareTo(id) < 0) {
+            low = mid + 1;
+         } else {
+            high = mid;
+         }
+      }
+      Segment segment = segment(low);
+      int slotLow = low == 0 ? headSkip : 0;
+      int slotHigh = segmentSize(low) - 1;
+      while (slotLow < slotHigh) {
+         int mid = (slotLow + slotHigh) >>> 1;
+         if (segment.id(mid).compareTo(id) < 0) {
+            slotLow = mid + 1;
+         } else {
+            slotHigh = mid;
+         }
+      }
+      Cursor c = new Cursor(low, slotLow);
+      return segment.isDeleted(slotLow) ? c.next() : c;
+   }
+
+   /**
+    * @return a cursor on the last live entry with an identifier smaller than or equal to {@code id}
+    */
+   private Cursor floor(StreamId id) {
+      if (length == 0) {
+         return null;
+      }
+      StreamId next = id.next();
+      Cursor c = next == null ? null : ceiling(next);
+      if (c == null) {
+         int last = segmentCount() - 1;
+         return new Cursor(last, segmentSize(last)).previous();
+      }
+      return c.previous();
+   }
+
+   @Override
+   public String toString() {
+      return "StreamBucket{length=" + length + ", lastId=" + lastId + ", groups=" + groups.keySet() + '}';
+   }
+
+   /**
+    * A position in the bucket. Cursors only stop on entries that were not deleted.
+    */
+   private final class Cursor {
+      final int index;
+      final Segment segment;
+      final int slot;
+
+      Cursor(int index, int slot) {
+         this.index = index;
+         this.segment = segment(index);
+         this.slot = slot;
+      }
+
+      StreamId id() {
+         return segment.id(slot);
+      }
+
+      StreamEntry<V> entry(StreamId id) {
+         return new StreamEntry<>(id, (List<V>) (List<?>) Collections.unmodifiableList(Arrays.asList(segment.fields[slot])));
+      }
+
+      Cursor next() {
+         int k = index;
+         Segment s = segment;
+         int i = slot + 1;
+         int count = segmentCount();
+         while (true) {
+            int size = segmentSize(k);
+            while (i < size) {
+               if (!s.isDeleted(i)) {
+                  return new Cursor(k, i);
+               }
+               i++;
+            }
+            if (++k >= count) {
+               return null;
+            }
+            s = segment(k);
+            i = 0;
+         }
+      }
+
+      Cursor previous() {
+         int k = index;
+         Segment s = segment;
+         int i = slot - 1;
+         while (true) {
+            int from = k == 0 ? headSkip : 0;
+            while (i >= from) {
+               if (!s.isDeleted(i)) {
+                  return new Cursor(k, i);
+               }
+               i--;
+            }
+            if (--k < 0) {
+               return null;
+            }
+            s = segment(k);
+            i = segmentSize(k) - 1;
+         }
+      }
+   }
+
+   /**
+    * The array of sealed segments, shared between versions of the bucket.
+    */
+   private static final class Segments {
+      final Segment[] array;
+      // The number of slots handed out, a slot is only written once
+      final AtomicInteger claimed = new AtomicInteger();
+
+      Segments(int capacity) {
+         this.array = new Segment[capacity];
+      }
+   }
+
+   /**
+    * A fixed size block of entries. The slots are written once, in order, and are shared by all the versions of the
+    * bucket. Deleting an entry creates a new segment that shares the slots and has its own deletion marks.
+    */
+   private static final class Segment {
+      final long baseMs;
+      final long[] msDeltas;
+      final long[] seqs;
+      final Object[][] fields;
+      final AtomicInteger claimed;
+      // Bit set of the deleted slots, null if no entry was deleted
+      final long[] deleted;
+
+      Segment(long baseMs) {
+         this(baseMs, new long[SEGMENT_CAPACITY], new long[SEGMENT_CAPACITY], new Object[SEGMENT_CAPACITY][],
+               new AtomicInteger(), null);
+      }
+
+      private Segment(long baseMs, long[] msDeltas, long[] seqs, Object[][] fields, AtomicInteger claimed,
+                      long[] deleted) {
+         this.baseMs = baseMs;
+         this.msDeltas = msDeltas;
+         this.seqs = seqs;
+         this.fields = fields;
+         this.claimed = claimed;
+         this.deleted = deleted;
+      }
+
+      long ms(int slot) {
+         return baseMs + msDeltas[slot];
+      }
+
+      StreamId id(int slot) {
+         return new StreamId(ms(slot), seqs[slot]);
+      }
+
+      boolean isDeleted(int slot) {
+         return deleted != null && (deleted[slot >>> 6] & (1L << slot)) != 0;
+      }
+
+      int liveCount(int from, int size) {
+         int live = size - from;
+         if (deleted != null) {
+            for (int i = from; i < size; i++) {
+               if (isDeleted(i)) {
+                  live--;
+               }
+            }
+         }
+         return live;
+      }
+
+      /**
+       * Writes the entry in the slot following the first {@code size} slots, if nobody else did it before.
+       */
+      boolean tryAppend(int size, StreamId id, Object[] fieldsAndValues) {
+         if (size == SEGMENT_CAPACITY || !claimed.compareAndSet(size, size + 1)) {
+            return false;
+         }
+         msDeltas[size] = id.ms() - baseMs;
+         seqs[size] = id.seq();
+         fields[size] = fieldsAndValues;
+         return true;
+      }
+
+      Segment copy(int size) {
+         Segment copy = new Segment(baseMs, Arrays.copyOf(msDeltas, SEGMENT_CAPACITY),
+               Arrays.copyOf(seqs, SEGMENT_CAPACITY), Arrays.copyOf(fields, SEGMENT_CAPACITY), new AtomicInteger(size),
+               deleted == null ? null : deleted.clone());
+         // Only the first size slots belong to the copy
+         for (int i = size; i < SEGMENT_CAPACITY; i++) {
+            copy.fields[i] = null;
+         }
+         return copy;
+      }
+
+      Segment delete(int slot) {
+         long[] newDeleted = deleted == null ? new long[SEGMENT_CAPACITY / Long.SIZE] : deleted.clone();
+         newDeleted[slot >>> 6] |= 1L << slot;
+         return new Segment(baseMs, msDeltas, seqs, fields, claimed, newDeleted);
+      }
+   }
+}
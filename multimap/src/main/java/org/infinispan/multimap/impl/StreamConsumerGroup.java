@@ -0,0 +1,263 @@
+package org.infinispan.multimap.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * A consumer group of a {@link StreamBucket}.
+ * <p>
+ * The group tracks the last entry delivered to its consumers and the pending entry list: the entries that were
+ * delivered to a consumer and not acknowledged yet. Instances are immutable, every update returns a new group.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_CONSUMER_GROUP)
+public final class StreamConsumerGroup {
+   private final String name;
+   private final StreamId lastDeliveredId;
+   private final long entriesRead;
+   private final NavigableMap<StreamId, PendingEntry> pending;
+   private final Map<String, Consumer> consumers;
+
+   private StreamConsumerGroup(String name, StreamId lastDeliveredId, long entriesRead,
+                               NavigableMap<StreamId, PendingEntry> pending, Map<String, Consumer> consumers) {
+      this.name = name;
+      this.lastDeliveredId = lastDeliveredId;
+      this.entriesRead = entriesRead;
+      this.pending = pending;
+      this.consumers = consumers;
+   }
+
+   public static StreamConsumerGroup create(String name, StreamId lastDeliveredId, long entriesRead) {
+      return new StreamConsumerGroup(name, lastDeliveredId, entriesRead, new TreeMap<>(), new LinkedHashMap<>());
+   }
+
+   @ProtoFactory
+   StreamConsumerGroup(String name, StreamId lastDeliveredId, long entriesRead, Collection<PendingEntry> pendingList,
+                       Collection<Consumer> consumerList) {
+      this(name, lastDeliveredId, entriesRead, new TreeMap<>(), new LinkedHashMap<>());
+      for (PendingEntry entry : pendingList) {
+         pending.put(entry.id, entry);
+      }
+      for (Consumer consumer : consumerList) {
+         consumers.put(consumer.name, consumer);
+      }
+   }
+
+   @ProtoField(1)
+   public String name() {
+      return name;
+   }
+
+   @ProtoField(2)
+   public StreamId lastDeliveredId() {
+      return lastDeliveredId;
+   }
+
+   @ProtoField(number = 3, defaultValue = "0")
+   public long entriesRead() {
+      return entriesRead;
+   }
+
+   @ProtoField(number = 4, collectionImplementation = ArrayList.class)
+   Collection<PendingEntry> getPendingList() {
+      return new ArrayList<>(pending.values());
+   }
+
+   @ProtoField(number = 5, collectionImplementation = ArrayList.class)
+   Collection<Consumer> getConsumerList() {
+      return new ArrayList<>(consumers.values());
+   }
+
+   public long pendingCount() {
+      return pending.size();
+   }
+
+   public Collection<Consumer> consumers() {
+      return Collections.unmodifiableCollection(consumers.values());
+   }
+
+   public boolean hasConsumer(String consumer) {
+      return consumers.containsKey(consumer);
+   }
+
+   public PendingEntry pendingEntry(StreamId id) {
+      return pending.get(id);
+   }
+
+   /**
+    * @return the pending entries between {@code start} and {@code end}, both inclusive, optionally restricted to a
+    * consumer and to the entries that were delivered at least {@code minIdleTime} milliseconds before {@code now}
+    */
+   public List<PendingEntry> pendingEntries(StreamId start, StreamId end, long count, String consumer,
+                                            long minIdleTime, long now) {
+      List<PendingEntry> result = new ArrayList<>();
+      if (start.compareTo(end) > 0) {
+         return result;
+      }
+      for (PendingEntry entry : pending.subMap(start, true, end, true).values()) {
+         if (result.size() >= count) {
+            break;
+         }
+         if (consumer != null && !consumer.equals(entry.consumer)) {
+            continue;
+         }
+         if (minIdleTime > 0 && now - entry.deliveryTime < minIdleTime) {
+            continue;
+         }
+         result.add(entry);
+      }
+      return result;
+   }
+
+   public StreamConsumerGroup withLastDeliveredId(StreamId id, long entriesRead) {
+      return new StreamConsumerGroup(name, id, entriesRead, pending, consumers);
+   }
+
+   /**
+    * @return a group with the given consumer or this group if the consumer already exists
+    */
+   public StreamConsumerGroup withConsumer(String consumer, long now) {
+      if (consumers.containsKey(consumer)) {
+         return this;
+      }
+      Map<String, Consumer> newConsumers = new LinkedHashMap<>(consumers);
+      newConsumers.put(consumer, new Consumer(consumer, now));
+      return new StreamConsumerGroup(name, lastDeliveredId, entriesRead, pending, newConsumers);
+   }
+
+   /**
+    * Removes a consumer and the entries pending for it.
+    */
+   public StreamConsumerGroup withoutConsumer(String consumer) {
+      if (!consumers.containsKey(consumer)) {
+         return this;
+      }
+      Map<String, Consumer> newConsumers = new LinkedHashMap<>(consumers);
+      newConsumers.remove(consumer);
+      NavigableMap<StreamId, PendingEntry> newPending = new TreeMap<>(pending);
+      newPending.values().removeIf(e -> e.consumer.equals(consumer));
+      return new StreamConsumerGroup(name, lastDeliveredId, entriesRead, newPending, newConsumers);
+   }
+
+   /**
+    * Records the delivery of new entries to a consumer. Unless {@code noAck} is set, the entries are added to the
+    * pending entry list.
+    */
+   public StreamConsumerGroup deliver(String consumer, List<StreamId> ids, long now, boolean noAck) {
+      Map<String, Consumer> newConsumers = new LinkedHashMap<>(consumers);
+      newConsumers.put(consumer, new Consumer(consumer, now));
+      if (ids.isEmpty()) {
+         return new StreamConsumerGroup(name, lastDeliveredId, entriesRead, pending, newConsumers);
+      }
+      NavigableMap<StreamId, PendingEntry> newPending = pending;
+      if (!noAck) {
+         newPending = new TreeMap<>(pending);
+         for (StreamId id : ids) {
+            newPending.put(id, new PendingEntry(id, consumer, now, 1));
+         }
+      }
+      StreamId last = ids.get(ids.size() - 1);
+      return new StreamConsumerGroup(name, last, entriesRead + ids.size(), newPending, newConsumers);
+   }
+
+   /**
+    * Records that entries already pending for a consumer were delivered again.
+    */
+   public StreamConsumerGroup redeliver(String consumer, List<StreamId> ids, long now) {
+      Map<String, Consumer> newConsumers = new LinkedHashMap<>(consumers);
+      newConsumers.put(consumer, new Consumer(consumer, now));
+      NavigableMap<StreamId, PendingEntry> newPending = new TreeMap<>(pending);
+      for (StreamId id : ids) {
+         PendingEntry entry = newPending.get(id);
+         newPending.put(id, new PendingEntry(id, consumer, now, entry.deliveryCount + 1));
+      }
+      return new StreamConsumerGroup(name, lastDeliveredId, entriesRead, newPending, newConsumers);
+   }
+
+   /**
+    * Removes the given entries from the pending entry list.
+    */
+   public StreamConsumerGroup acknowledge(Collection<StreamId> ids) {
+      NavigableMap<StreamId, PendingEntry> newPending = new TreeMap<>(pending);
+      for (StreamId id : ids) {
+         newPending.remove(id);
+      }
+      return new StreamConsumerGroup(name, lastDeliveredId, entriesRead, newPending, consumers);
+   }
+
+   @Override
+   public String toString() {
+      return "StreamConsumerGroup{name=" + name + ", lastDeliveredId=" + lastDeliveredId + ", pending=" +
+            pending.size() + ", consumers=" + consumers.keySet() + '}';
+   }
+
+   @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_PENDING_ENTRY)
+   public static final class PendingEntry {
+      final StreamId id;
+      final String consumer;
+      final long deliveryTime;
+      final long deliveryCount;
+
+      @ProtoFactory
+      public PendingEntry(StreamId id, String consumer, long deliveryTime, long deliveryCount) {
+         this.id = id;
+         this.consumer = consumer;
+         this.deliveryTime = deliveryTime;
+         this.deliveryCount = deliveryCount;
+      }
+
+      @ProtoField(1)
+      public StreamId id() {
+         return id;
+      }
+
+      @ProtoField(2)
+      public String consumer() {
+         return consumer;
+      }
+
+      @ProtoField(number = 3, defaultValue = "0")
+      public long deliveryTime() {
+         return deliveryTime;
+      }
+
+      @ProtoField(number = 4, defaultValue = "0")
+      public long deliveryCount() {
+         return deliveryCount;
+      }
+   }
+
+   @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_CONSUMER)
+   public static final class Consumer {
+      final String name;
+      final long seenTime;
+
+      @ProtoFactory
+      public Consumer(String name, long seenTime) {
+         this.name = name;
+         this.seenTime = seenTime;
+      }
+
+      @ProtoField(1)
+      public String name() {
+         return name;
+      }
+
+      @ProtoField(number = 2, defaultValue = "0")
+      public long seenTime() {
+         return seenTime;
+      }
+   }
+}
@@ -0,0 +1,64 @@
+package org.infinispan.multimap.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.commons.util.Util;
+import org.infinispan.marshall.protostream.impl.MarshallableUserObject;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * An entry read from a {@link StreamBucket}: its identifier and the field-value pairs, flattened in a single list.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_ENTRY)
+public final class StreamEntry<V> {
+   private final StreamId id;
+   private final List<V> fieldsAndValues;
+
+   public StreamEntry(StreamId id, List<V> fieldsAndValues) {
+      this.id = id;
+      this.fieldsAndValues = fieldsAndValues;
+   }
+
+   @ProtoFactory
+   StreamEntry(StreamId id, Collection<MarshallableUserObject<V>> wrappedFieldsAndValues) {
+      this.id = id;
+      List<V> values = new ArrayList<>(wrappedFieldsAndValues.size());
+      for (MarshallableUserObject<V> wrapped : wrappedFieldsAndValues) {
+         values.add(wrapped.get());
+      }
+      this.fieldsAndValues = values;
+   }
+
+   @ProtoField(1)
+   public StreamId id() {
+      return id;
+   }
+
+   @ProtoField(number = 2, collectionImplementation = ArrayList.class)
+   Collection<MarshallableUserObject<V>> getWrappedFieldsAndValues() {
+      List<MarshallableUserObject<V>> wrapped = new ArrayList<>(fieldsAndValues.size());
+      for (V v : fieldsAndValues) {
+         wrapped.add(new MarshallableUserObject<>(v));
+      }
+      return wrapped;
+   }
+
+   /**
+    * @return the field-value pairs of the entry, as {@code field1, value1, field2, value2, ...}
+    */
+   public List<V> fieldsAndValues() {
+      return fieldsAndValues;
+   }
+
+   @Override
+   public String toString() {
+      return "StreamEntry{id=" + id + ", fieldsAndValues=" + Util.toStr(fieldsAndValues) + '}';
+   }
+}
@@ -0,0 +1,107 @@
+package org.infinispan.multimap.impl;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Identifier of an entry in a {@link StreamBucket}.
+ * <p>
+ * An identifier is made of a millisecond timestamp and a sequence number, both unsigned 64-bit numbers, and it is
+ * represented as {@code <ms>-<seq>}.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_ID)
+public final class StreamId implements Comparable<StreamId> {
+   public static final StreamId MIN = new StreamId(0, 0);
+   public static final StreamId MAX = new StreamId(-1L, -1L);
+
+   private final long ms;
+   private final long seq;
+
+   @ProtoFactory
+   public StreamId(long ms, long seq) {
+      this.ms = ms;
+      this.seq = seq;
+   }
+
+   @ProtoField(number = 1, defaultValue = "0")
+   public long ms() {
+      return ms;
+   }
+
+   @ProtoField(number = 2, defaultValue = "0")
+   public long seq() {
+      return seq;
+   }
+
+   /**
+    * @return the smallest identifier greater than this one or {@code null} if this is {@link #MAX}
+    */
+   public StreamId next() {
+      if (seq != -1L) {
+         return new StreamId(ms, seq + 1);
+      }
+      if (ms != -1L) {
+         return new StreamId(ms + 1, 0);
+      }
+      return null;
+   }
+
+   /**
+    * @return the greatest identifier smaller than this one or {@code null} if this is {@link #MIN}
+    */
+   public StreamId previous() {
+      if (seq != 0) {
+         return new StreamId(ms, seq - 1);
+      }
+      if (ms != 0) {
+         return new StreamId(ms - 1, -1L);
+      }
+      return null;
+   }
+
+   /**
+    * Parses an identifier in the {@code <ms>-<seq>} format. When the sequence part is missing, it is replaced by 0 or
+    * by the greatest sequence number, depending on the {@code missingSeqIsMax} parameter.
+    *
+    * @throws IllegalArgumentException if the identifier is not valid
+    */
+   public static StreamId parse(String id, boolean missingSeqIsMax) {
+      try {
+         int separator = id.indexOf('-');
+         if (separator < 0) {
+            return new StreamId(Long.parseUnsignedLong(id), missingSeqIsMax ? -1L : 0);
+         }
+         return new StreamId(Long.parseUnsignedLong(id.substring(0, separator)),
+               Long.parseUnsignedLong(id.substring(separator + 1)));
+      } catch (NumberFormatException e) {
+         throw new IllegalArgumentException("Invalid stream ID specified as stream command argument", e);
+      }
+   }
+
+   @Override
+   public int compareTo(StreamId other) {
+      int compare = Long.compareUnsigned(ms, other.ms);
+      return compare != 0 ? compare : Long.compareUnsigned(seq, other.seq);
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof StreamId other)) return false;
+      return ms == other.ms && seq == other.seq;
+   }
+
+   @Override
+   public int hashCode() {
+      return 31 * Long.hashCode(ms) + Long.hashCode(seq);
+   }
+
+   @Override
+   public String toString() {
+      return Long.toUnsignedString(ms) + '-' + Long.toUnsignedString(seq);
+   }
+}
@@ -0,0 +1,72 @@
+package org.infinispan.multimap.impl.function;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import org.infinispan.commands.functional.DeltaFunction;
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.functional.EntryView;
+import org.infinispan.marshall.protostream.impl.MarshallableObject;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+import org.infinispan.util.function.SerializableFunction;
+
+/**
+ * Serializable function replacing a bucket with a full copy of the bucket written by the primary owner.
+ * <p>
+ * Bucket functions implementing {@link DeltaFunction} send the changes they applied to the backup owners. On average
+ * once every {@link #SNAPSHOT_INTERVAL} deltas, they send this function instead, so a backup owner that missed a change
+ * holds the same bucket as the primary owner again. Each command makes the choice on its own, so neither the buckets
+ * nor the primary owner keep a count of the deltas.
+ *
+ * @param <K> the type of the key
+ * @param <B> the type of the bucket
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_BUCKET_SNAPSHOT_FUNCTION)
+public final class BucketSnapshotFunction<K, B> implements SerializableFunction<EntryView.ReadWriteEntryView<K, B>, Void> {
+
+   public static final int SNAPSHOT_INTERVAL = 64;
+
+   private final B bucket;
+
+   public BucketSnapshotFunction(B bucket) {
+      this.bucket = bucket;
+   }
+
+   @ProtoFactory
+   BucketSnapshotFunction(MarshallableObject<B> bucket) {
+      this(MarshallableObject.unwrap(bucket));
+   }
+
+   @ProtoField(1)
+   MarshallableObject<B> getBucket() {
+      return MarshallableObject.create(bucket);
+   }
+
+   /**
+    * Chooses the function to send to the backup owners after an update of a bucket.
+    *
+    * @param delta  the function applying the changes to the previous bucket
+    * @param bucket the bucket written by the update
+    * @return {@code delta}, or a snapshot of {@code bucket} with a probability of 1 in {@link #SNAPSHOT_INTERVAL}
+    */
+   public static <K, B> Function<EntryView.ReadWriteEntryView<K, B>, ?> deltaOrSnapshot(
+         Function<EntryView.ReadWriteEntryView<K, B>, ?> delta, B bucket) {
+      if (ThreadLocalRandom.current().nextInt(SNAPSHOT_INTERVAL) == 0) {
+         return new BucketSnapshotFunction<>(bucket);
+      }
+      return delta;
+   }
+
+   @Override
+   public Void apply(EntryView.ReadWriteEntryView<K, B> entryView) {
+      if (bucket == null) {
+         entryView.remove();
+      } else {
+         entryView.set(bucket);
+      }
+      return null;
+   }
+}
@@ -5,11 +5,14 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.infinispan.commands.functional.DeltaFunction;
 import org.infinispan.commons.marshall.ProtoStreamTypeIds;
 import org.infinispan.functional.EntryView;
 import org.infinispan.multimap.impl.SetBucket;
+import org.infinispan.multimap.impl.function.BucketSnapshotFunction;
 import org.infinispan.protostream.annotations.ProtoFactory;
 import org.infinispan.protostream.annotations.ProtoField;
 import org.infinispan.protostream.annotations.ProtoTypeId;
@@ -25,7 +28,8 @@
  * @since 15.0
  */
 @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_S_POP_FUNCTION)
-public final class SPopFunction<K, V> implements SetBucketBaseFunction<K, V, Collection<V>> {
+public final class SPopFunction<K, V> implements SetBucketBaseFunction<K, V, Collection<V>>,
+      DeltaFunction<K, SetBucket<V>, Collection<V>> {
 
    @ProtoField(1)
    final long count;
@@ -41,29 +45,38 @@ public SPopFunction(long count, boolean remove) {
 
    @Override
    public Collection<V> apply(EntryView.ReadWriteEntryView<K, SetBucket<V>> entryView) {
+      return DeltaFunction.super.apply(entryView);
+   }
+
+   @Override
+   public Delta<K, SetBucket<V>, Collection<V>> applyWithDelta(EntryView.ReadWriteEntryView<K, SetBucket<V>> entryView) {
       Optional<SetBucket<V>> existing = entryView.peek();
       if (count == 0 || existing.isEmpty()) {
-         return Collections.emptyList();
+         return new Delta<>(Collections.emptyList(), null);
       }
       var s = existing.get();
       if (count > 0) {
          var popped = getRandomSubset(s.toList(), count);
+         Function<EntryView.ReadWriteEntryView<K, SetBucket<V>>, ?> delta = null;
          if (remove) {
             var result = s.removeAll(popped);
             s = result.bucket();
 
+            // The members are chosen at random, so the backup owners must remove the members popped here
+            delta = new SRemoveFunction<>(popped);
             if (s.isEmpty()) {
                entryView.remove();
             } else {
                entryView.set(s);
+               delta = BucketSnapshotFunction.deltaOrSnapshot(delta, s);
             }
          }
 
-         return popped;
+         return new Delta<>(popped, delta);
       }
       var list = s.toList();
-      return ThreadLocalRandom.current().ints(-count, 0, s.size()).mapToObj(list::get)
-            .collect(Collectors.toList());
+      return new Delta<>(ThreadLocalRandom.current().ints(-count, 0, s.size()).mapToObj(list::get)
+            .collect(Collectors.toList()), null);
    }
 
    public static <T> Collection<T> getRandomSubset(List<T> list, long count) {
@@ -0,0 +1,49 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#acknowledge(Object, String, Collection)}
+ * to remove entries from the pending entry list of a consumer group.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_ACK_FUNCTION)
+public final class StreamAckFunction<K, V> implements StreamBucketBaseFunction<K, V, Long> {
+
+   @ProtoField(1)
+   final String group;
+
+   @ProtoField(number = 2, collectionImplementation = ArrayList.class)
+   final Collection<StreamId> ids;
+
+   @ProtoFactory
+   public StreamAckFunction(String group, Collection<StreamId> ids) {
+      this.group = group;
+      this.ids = ids;
+   }
+
+   @Override
+   public Long apply(EntryView.ReadWriteEntryView<K, StreamBucket<V>> entryView) {
+      Optional<StreamBucket<V>> existing = entryView.peek();
+      if (existing.isEmpty()) {
+         return 0L;
+      }
+      var result = existing.get().acknowledge(group, ids);
+      if (result.result() > 0) {
+         entryView.set(result.bucket());
+      }
+      return result.result();
+   }
+}
@@ -0,0 +1,118 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.functional.EntryView;
+import org.infinispan.marshall.protostream.impl.MarshallableCollection;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#add(Object, StreamId, boolean, long, List, boolean, long, StreamId, boolean, long)}
+ * to append an entry to a stream and optionally trim it.
+ * <p>
+ * The current time is provided by the caller, so that every owner generates the same identifier.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_ADD_FUNCTION)
+public final class StreamAddFunction<K, V> implements StreamBucketBaseFunction<K, V, StreamId> {
+
+   private final StreamId id;
+   private final boolean autoSeq;
+   private final long now;
+   private final List<V> fieldsAndValues;
+   private final boolean noMkStream;
+   private final long maxLen;
+   private final StreamId minId;
+   private final boolean approximate;
+   private final long limit;
+
+   public StreamAddFunction(StreamId id, boolean autoSeq, long now, List<V> fieldsAndValues, boolean noMkStream,
+                            long maxLen, StreamId minId, boolean approximate, long limit) {
+      this.id = id;
+      this.autoSeq = autoSeq;
+      this.now = now;
+      this.fieldsAndValues = fieldsAndValues;
+      this.noMkStream = noMkStream;
+      this.maxLen = maxLen;
+      this.minId = minId;
+      this.approximate = approximate;
+      this.limit = limit;
+   }
+
+   @ProtoFactory
+   StreamAddFunction(StreamId id, boolean autoSeq, long now, MarshallableCollection<V> fieldsAndValues,
+                     boolean noMkStream, long maxLen, StreamId minId, boolean approximate, long limit) {
+      this(id, autoSeq, now, new ArrayList<>(MarshallableCollection.unwrap(fieldsAndValues)), noMkStream, maxLen,
+            minId, approximate, limit);
+   }
+
+   @ProtoField(1)
+   StreamId getId() {
+      return id;
+   }
+
+   @ProtoField(2)
+   boolean isAutoSeq() {
+      return autoSeq;
+   }
+
+   @ProtoField(3)
+   long getNow() {
+      return now;
+   }
+
+   @ProtoField(4)
+   MarshallableCollection<V> getFieldsAndValues() {
+      return MarshallableCollection.create(fieldsAndValues);
+   }
+
+   @ProtoField(5)
+   boolean isNoMkStream() {
+      return noMkStream;
+   }
+
+   @ProtoField(6)
+   long getMaxLen() {
+      return maxLen;
+   }
+
+   @ProtoField(7)
+   StreamId getMinId() {
+      return minId;
+   }
+
+   @ProtoField(8)
+   boolean isApproximate() {
+      return approximate;
+   }
+
+   @ProtoField(9)
+   long getLimit() {
+      return limit;
+   }
+
+   @Override
+   public StreamId apply(EntryView.ReadWriteEntryView<K, StreamBucket<V>> entryView) {
+      Optional<StreamBucket<V>> existing = entryView.peek();
+      if (existing.isEmpty() && noMkStream) {
+         return null;
+      }
+      StreamBucket<V> bucket = existing.orElseGet(StreamBucket::new);
+      var result = bucket.add(id, autoSeq, now, fieldsAndValues);
+      bucket = result.bucket();
+      if (maxLen >= 0 || minId != null) {
+         bucket = bucket.trim(maxLen, minId, approximate, limit).bucket();
+      }
+      entryView.set(bucket);
+      return result.result();
+   }
+}
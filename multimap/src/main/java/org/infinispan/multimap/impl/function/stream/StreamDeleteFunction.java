@@ -0,0 +1,45 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#delete(Object, Collection)}
+ * to remove entries from a stream.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_DELETE_FUNCTION)
+public final class StreamDeleteFunction<K, V> implements StreamBucketBaseFunction<K, V, Long> {
+
+   @ProtoField(number = 1, collectionImplementation = ArrayList.class)
+   final Collection<StreamId> ids;
+
+   @ProtoFactory
+   public StreamDeleteFunction(Collection<StreamId> ids) {
+      this.ids = ids;
+   }
+
+   @Override
+   public Long apply(EntryView.ReadWriteEntryView<K, StreamBucket<V>> entryView) {
+      Optional<StreamBucket<V>> existing = entryView.peek();
+      if (existing.isEmpty()) {
+         return 0L;
+      }
+      var result = existing.get().delete(ids);
+      if (result.result() > 0) {
+         entryView.set(result.bucket());
+      }
+      return result.result();
+   }
+}
@@ -0,0 +1,107 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.util.Optional;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.protostream.annotations.Proto;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Serializable function used by {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache} to manage the
+ * consumer groups of a stream and their consumers.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_GROUP_FUNCTION)
+public final class StreamGroupFunction<K, V> implements StreamBucketBaseFunction<K, V, Long> {
+   public static final String ERR_KEY_MUST_EXIST = "The XGROUP subcommand requires the key to exist. Note that for " +
+         "CREATE you may want to use the MKSTREAM option to create an empty stream automatically.";
+
+   @Proto
+   @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_GROUP_OPERATION)
+   public enum Operation {
+      CREATE, DESTROY, SET_ID, CREATE_CONSUMER, DELETE_CONSUMER
+   }
+
+   @ProtoField(1)
+   final Operation operation;
+
+   @ProtoField(2)
+   final String group;
+
+   @ProtoField(3)
+   final String consumer;
+
+   @ProtoField(4)
+   final StreamId id;
+
+   @ProtoField(5)
+   final long entriesRead;
+
+   @ProtoField(6)
+   final boolean mkStream;
+
+   @ProtoField(7)
+   final long now;
+
+   /**
+    * @param id          the last delivered identifier for {@link Operation#CREATE} and {@link Operation#SET_ID}, or
+    *                    {@code null} for the last identifier of the stream
+    * @param entriesRead the number of entries read by the group, or a negative value if unknown
+    */
+   @ProtoFactory
+   public StreamGroupFunction(Operation operation, String group, String consumer, StreamId id, long entriesRead,
+                              boolean mkStream, long now) {
+      this.operation = operation;
+      this.group = group;
+      this.consumer = consumer;
+      this.id = id;
+      this.entriesRead = entriesRead;
+      this.mkStream = mkStream;
+      this.now = now;
+   }
+
+   @Override
+   public Long apply(EntryView.ReadWriteEntryView<K, StreamBucket<V>> entryView) {
+      Optional<StreamBucket<V>> existing = entryView.peek();
+      if (existing.isEmpty() && !(operation == Operation.CREATE && mkStream)) {
+         throw new IllegalArgumentException(ERR_KEY_MUST_EXIST);
+      }
+      StreamBucket<V> bucket = existing.orElseGet(StreamBucket::new);
+      switch (operation) {
+         case CREATE:
+            entryView.set(bucket.createGroup(group, id, entriesRead));
+            return 1L;
+         case DESTROY:
+            StreamBucket<V> newBucket = bucket.destroyGroup(group);
+            if (newBucket == null) {
+               return 0L;
+            }
+            entryView.set(newBucket);
+            return 1L;
+         case SET_ID:
+            entryView.set(bucket.setGroupId(group, id, entriesRead));
+            return 1L;
+         case CREATE_CONSUMER:
+            var created = bucket.createConsumer(group, consumer, now);
+            if (created.result()) {
+               entryView.set(created.bucket());
+               return 1L;
+            }
+            return 0L;
+         case DELETE_CONSUMER:
+            var deleted = bucket.deleteConsumer(group, consumer);
+            if (deleted.bucket() != bucket) {
+               entryView.set(deleted.bucket());
+            }
+            return deleted.result();
+         default:
+            throw new IllegalArgumentException("Unknown operation " + operation);
+      }
+   }
+}
@@ -0,0 +1,66 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamConsumerGroup;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#pending(Object, String, StreamId, StreamId, long, String, long, long)}
+ * to read the pending entry list of a consumer group.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_PENDING_FUNCTION)
+public final class StreamPendingFunction<K, V> implements StreamBucketBaseFunction<K, V, List<StreamConsumerGroup.PendingEntry>> {
+
+   @ProtoField(1)
+   final String group;
+
+   @ProtoField(2)
+   final StreamId start;
+
+   @ProtoField(3)
+   final StreamId end;
+
+   @ProtoField(4)
+   final long count;
+
+   @ProtoField(5)
+   final String consumer;
+
+   @ProtoField(6)
+   final long minIdleTime;
+
+   @ProtoField(7)
+   final long now;
+
+   @ProtoFactory
+   public StreamPendingFunction(String group, StreamId start, StreamId end, long count, String consumer,
+                                long minIdleTime, long now) {
+      this.group = group;
+      this.start = start;
+      this.end = end;
+      this.count = count;
+      this.consumer = consumer;
+      this.minIdleTime = minIdleTime;
+      this.now = now;
+   }
+
+   @Override
+   public List<StreamConsumerGroup.PendingEntry> apply(EntryView.ReadWriteEntryView<K, StreamBucket<V>> entryView) {
+      Optional<StreamBucket<V>> existing = entryView.peek();
+      if (existing.isEmpty()) {
+         throw new IllegalStateException(StreamBucket.ERR_NOGROUP);
+      }
+      return existing.get().pending(group, start, end, count, consumer, minIdleTime, now);
+   }
+}
@@ -0,0 +1,53 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#range(Object, StreamId, StreamId, long, boolean)}
+ * to read the entries of a stream between two identifiers.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_RANGE_FUNCTION)
+public final class StreamRangeFunction<K, V> implements StreamBucketBaseFunction<K, V, List<StreamEntry<V>>> {
+
+   @ProtoField(1)
+   final StreamId start;
+
+   @ProtoField(2)
+   final StreamId end;
+
+   @ProtoField(3)
+   final long count;
+
+   @ProtoField(4)
+   final boolean reverse;
+
+   @ProtoFactory
+   public StreamRangeFunction(StreamId start, StreamId end, long count, boolean reverse) {
+      this.start = start;
+      this.end = end;
+      this.count = count;
+      this.reverse = reverse;
+   }
+
+   @Override
+   public List<StreamEntry<V>> apply(EntryView.ReadWriteEntryView<K, StreamBucket<V>> entryView) {
+      Optional<StreamBucket<V>> existing = entryView.peek();
+      if (existing.isPresent()) {
+         return existing.get().range(start, end, count, reverse);
+      }
+      return null;
+   }
+}
@@ -0,0 +1,68 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#readGroup(Object, String, String, StreamId, long, boolean, long)}
+ * to read entries on behalf of a consumer of a group.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_READ_GROUP_FUNCTION)
+public final class StreamReadGroupFunction<K, V> implements StreamBucketBaseFunction<K, V, List<StreamEntry<V>>> {
+
+   @ProtoField(1)
+   final String group;
+
+   @ProtoField(2)
+   final String consumer;
+
+   @ProtoField(3)
+   final StreamId id;
+
+   @ProtoField(4)
+   final long count;
+
+   @ProtoField(5)
+   final boolean noAck;
+
+   @ProtoField(6)
+   final long now;
+
+   @ProtoFactory
+   public StreamReadGroupFunction(String group, String consumer, StreamId id, long count, boolean noAck, long now) {
+      this.group = group;
+      this.consumer = consumer;
+      this.id = id;
+      this.count = count;
+      this.noAck = noAck;
+      this.now = now;
+   }
+
+   @Override
+   public List<StreamEntry<V>> apply(EntryView.ReadWriteEntryView<K, StreamBucket<V>> entryView) {
+      Optional<StreamBucket<V>> existing = entryView.peek();
+      if (existing.isEmpty()) {
+         throw new IllegalStateException(StreamBucket.ERR_NOGROUP);
+      }
+      StreamBucket<V> bucket = existing.get();
+      boolean newConsumer = bucket.group(group) != null && !bucket.group(group).hasConsumer(consumer);
+      var result = bucket.readGroup(group, consumer, id, count, noAck, now);
+      // Do not update the stream when nothing was read: blocked readers listen to the stream modifications
+      if (newConsumer || !result.result().isEmpty()) {
+         entryView.set(result.bucket());
+      }
+      return result.result();
+   }
+}
@@ -0,0 +1,55 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.util.Optional;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#trim(Object, long, StreamId, boolean, long)}
+ * to remove the oldest entries of a stream.
+ *
+ * @since 16.3
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_TRIM_FUNCTION)
+public final class StreamTrimFunction<K, V> implements StreamBucketBaseFunction<K, V, Long> {
+
+   @ProtoField(1)
+   final long maxLen;
+
+   @ProtoField(2)
+   final StreamId minId;
+
+   @ProtoField(3)
+   final boolean approximate;
+
+   @ProtoField(4)
+   final long limit;
+
+   @ProtoFactory
+   public StreamTrimFunction(long maxLen, StreamId minId, boolean approximate, long limit) {
+      this.maxLen = maxLen;
+      this.minId = minId;
+      this.approximate = approximate;
+      this.limit = limit;
+   }
+
+   @Override
+   public Long apply(EntryView.ReadWriteEntryView<K, StreamBucket<V>> entryView) {
+      Optional<StreamBucket<V>> existing = entryView.peek();
+      if (existing.isEmpty()) {
+         return 0L;
+      }
+      var result = existing.get().trim(maxLen, minId, approximate, limit);
+      if (result.result() > 0) {
+         entryView.set(result.bucket());
+      }
+      return result.result();
+   }
+}
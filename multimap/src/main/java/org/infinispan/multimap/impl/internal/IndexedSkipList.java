@@ -0,0 +1,324 @@
+package org.infinispan.multimap.impl.internal;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A sorted set backed by a skip list where every link records the number of elements it skips over.
+ * <p>
+ * The spans make the position of an element and the element at a position available in O(log n) expected time, in
+ * addition to the usual insertion, removal and lookup. Elements are ordered and compared for equality with
+ * {@link Comparable#compareTo(Object)}, like in a {@link java.util.TreeSet}. The positions are 0-based.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <E> the type of the elements
+ * @since 16.3
+ */
+public final class IndexedSkipList<E extends Comparable<? super E>> extends AbstractSet<E> {
+   private static final int MAX_LEVEL = 32;
+   // Each level links a quarter of the elements of the level below
+   private static final int LEVEL_PROBABILITY = 4;
+
+   private final Node<E> head = new Node<>(null, MAX_LEVEL);
+   private Node<E> tail;
+   private int level = 1;
+   private int size;
+
+   public IndexedSkipList() {
+   }
+
+   /**
+    * Creates a copy of another list, in linear time.
+    */
+   public IndexedSkipList(IndexedSkipList<E> other) {
+      @SuppressWarnings("unchecked")
+      Node<E>[] last = new Node[MAX_LEVEL];
+      int[] lastPosition = new int[MAX_LEVEL];
+      for (int i = 0; i < MAX_LEVEL; i++) {
+         last[i] = head;
+      }
+      int position = 0;
+      for (Node<E> n = other.head.next[0]; n != null; n = n.next[0]) {
+         position++;
+         Node<E> node = new Node<>(n.element, randomLevel());
+         level = Math.max(level, node.next.length);
+         for (int i = 0; i < node.next.length; i++) {
+            last[i].next[i] = node;
+            last[i].span[i] = position - lastPosition[i];
+            last[i] = node;
+            lastPosition[i] = position;
+         }
+         node.previous = tail;
+         tail = node;
+      }
+      size = position;
+      for (int i = 0; i < level; i++) {
+         last[i].span[i] = size - lastPosition[i];
+      }
+   }
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+   @Override
+   public boolean add(E element) {
+      @SuppressWarnings("unchecked")
+      Node<E>[] update = new Node[MAX_LEVEL];
+      int[] position = new int[MAX_LEVEL];
+      Node<E> x = head;
+      for (int i = level - 1; i >= 0; i--) {
+         position[i] = i == level - 1 ? 0 : position[i + 1];
+         while (x.next[i] != null && x.next[i].element.compareTo(element) < 0) {
+            position[i] += x.span[i];
+            x = x.next[i];
+         }
+         update[i] = x;
+      }
+      if (x.next[0] != null && x.next[0].element.compareTo(element) == 0) {
+         return false;
+      }
+      int nodeLevel = randomLevel();
+      if (nodeLevel > level) {
+         for (int i = level; i < nodeLevel; i++) {
+            position[i] = 0;
+            update[i] = head;
+            head.span[i] = size;
+         }
+         level = nodeLevel;
+      }
+      Node<E> node = new Node<>(element, nodeLevel);
+      for (int i = 0; i < nodeLevel; i++) {
+         node.next[i] = update[i].next[i];
+         update[i].next[i] = node;
+         node.span[i] = update[i].span[i] - (position[0] - position[i]);
+         update[i].span[i] = position[0] - position[i] + 1;
+      }
+      for (int i = nodeLevel; i < level; i++) {
+         update[i].span[i]++;
+      }
+      node.previous = update[0] == head ? null : update[0];
+      if (node.next[0] != null) {
+         node.next[0].previous = node;
+      } else {
+         tail = node;
+      }
+      size++;
+      return true;
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public boolean remove(Object o) {
+      E element = (E) o;
+      Node<E>[] update = new Node[MAX_LEVEL];
+      Node<E> x = head;
+      for (int i = level - 1; i >= 0; i--) {
+         while (x.next[i] != null && x.next[i].element.compareTo(element) < 0) {
+            x = x.next[i];
+         }
+         update[i] = x;
+      }
+      x = x.next[0];
+      if (x == null || x.element.compareTo(element) != 0) {
+         return false;
+      }
+      for (int i = 0; i < level; i++) {
+         if (update[i].next[i] == x) {
+            update[i].span[i] += x.span[i] - 1;
+            update[i].next[i] = x.next[i];
+         } else {
+            update[i].span[i]--;
+         }
+      }
+      if (x.next[0] != null) {
+         x.next[0].previous = x.previous;
+      } else {
+         tail = x.previous;
+      }
+      while (level > 1 && head.next[level - 1] == null) {
+         level--;
+      }
+      size--;
+      return true;
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public boolean contains(Object o) {
+      if (size == 0) {
+         return false;
+      }
+      E element = (E) o;
+      int position = rank(element);
+      return position < size && get(position).compareTo(element) == 0;
+   }
+
+   @Override
+   public void clear() {
+      for (int i = 0; i < MAX_LEVEL; i++) {
+         head.next[i] = null;
+         head.span[i] = 0;
+      }
+      tail = null;
+      level = 1;
+      size = 0;
+   }
+
+   /**
+    * @return the number of elements smaller than {@code element}, which is the position of {@code element} when it
+    * belongs to the list
+    */
+   public int rank(E element) {
+      int rank = 0;
+      Node<E> x = head;
+      for (int i = level - 1; i >= 0; i--) {
+         while (x.next[i] != null && x.next[i].element.compareTo(element) < 0) {
+            rank += x.span[i];
+            x = x.next[i];
+         }
+      }
+      return rank;
+   }
+
+   /**
+    * @return the number of elements smaller than or equal to {@code element}
+    */
+   public int rankInclusive(E element) {
+      int rank = 0;
+      Node<E> x = head;
+      for (int i = level - 1; i >= 0; i--) {
+         while (x.next[i] != null && x.next[i].element.compareTo(element) <= 0) {
+            rank += x.span[i];
+            x = x.next[i];
+         }
+      }
+      return rank;
+   }
+
+   /**
+    * @return the element at {@code index}
+    * @throws IndexOutOfBoundsException if the index is out of range
+    */
+   public E get(int index) {
+      return node(index).element;
+   }
+
+   public E first() {
+      if (size == 0) {
+         throw new NoSuchElementException();
+      }
+      return head.next[0].element;
+   }
+
+   public E last() {
+      if (size == 0) {
+         throw new NoSuchElementException();
+      }
+      return tail.element;
+   }
+
+   @Override
+   public Iterator<E> iterator() {
+      return new NodeIterator(head.next[0], false);
+   }
+
+   /**
+    * @return an iterator over the elements starting at {@code index}, in ascending order
+    */
+   public Iterator<E> iterator(int index) {
+      return new NodeIterator(index == size ? null : node(index), false);
+   }
+
+   /**
+    * @return an iterator over the elements starting at {@code index}, in descending order
+    */
+   public Iterator<E> descendingIterator(int index) {
+      return new NodeIterator(index < 0 ? null : node(index), true);
+   }
+
+   public Iterator<E> descendingIterator() {
+      return new NodeIterator(tail, true);
+   }
+
+   private Node<E> node(int index) {
+      if (index < 0 || index >= size) {
+         throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+      }
+      int traversed = 0;
+      Node<E> x = head;
+      for (int i = level - 1; i >= 0; i--) {
+         while (x.next[i] != null && traversed + x.span[i] <= index + 1) {
+            traversed += x.span[i];
+            x = x.next[i];
+         }
+         if (traversed == index + 1) {
+            return x;
+         }
+      }
+      throw new IllegalStateException();
+   }
+
+   private static int randomLevel() {
+      int level = 1;
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      while (level < MAX_LEVEL && random.nextInt(LEVEL_PROBABILITY) == 0) {
+         level++;
+      }
+      return level;
+   }
+
+   private static final class Node<E> {
+      final E element;
+      final Node<E>[] next;
+      // The number of elements between this node and the next one at each level, counting the next one
+      final int[] span;
+      Node<E> previous;
+
+      @SuppressWarnings("unchecked")
+      Node(E element, int level) {
+         this.element = element;
+         this.next = new Node[level];
+         this.span = new int[level];
+      }
+   }
+
+   private final class NodeIterator implements Iterator<E> {
+      private final boolean descending;
+      private Node<E> next;
+      private Node<E> lastReturned;
+
+      NodeIterator(Node<E> first, boolean descending) {
+         this.next = first;
+         this.descending = descending;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return next != null;
+      }
+
+      @Override
+      public E next() {
+         if (next == null) {
+            throw new NoSuchElementException();
+         }
+         lastReturned = next;
+         next = descending ? next.previous : next.next[0];
+         return lastReturned.element;
+      }
+
+      @Override
+      public void remove() {
+         if (lastReturned == null) {
+            throw new IllegalStateException();
+         }
+         IndexedSkipList.this.remove(lastReturned.element);
+         lastReturned = null;
+      }
+   }
+}
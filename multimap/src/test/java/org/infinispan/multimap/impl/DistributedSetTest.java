@@ -10,10 +10,14 @@
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.infinispan.multimap.impl.function.BucketSnapshotFunction;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.test.data.Person;
 import org.testng.annotations.Test;
@@ -99,6 +103,46 @@ public void testPutAll() {
       assertValuesAndOwnership(name_key2, RAMON);
    }
 
+   @Test
+   public void testPop() {
+      String key = getEntryKey();
+      EmbeddedSetCache<String, Person> set = getMultimapMember();
+      await(set.set(key, Set.of(OIHANA, ELAIA, FELIX, RAMON)));
+
+      Collection<Person> popped = await(set.pop(key, 2L, true));
+      assertThat(popped).hasSize(2);
+
+      // Every node must see the members popped on the primary owner removed
+      for (EmbeddedSetCache<String, Person> member : cluster.values()) {
+         Set<Person> actual = await(member.get(key)).toSet();
+         assertThat(actual).hasSize(2).doesNotContainAnyElementsOf(popped);
+      }
+
+      popped = await(set.pop(key, 2L, true));
+      assertThat(popped).hasSize(2);
+      for (EmbeddedSetCache<String, Person> member : cluster.values()) {
+         assertThat(await(member.get(key))).isNull();
+      }
+   }
+
+   @Test
+   public void testPopKeepsBackupOwnersInSync() {
+      String key = getEntryKey();
+      EmbeddedSetCache<String, Person> set = getMultimapMember();
+      int pops = 2 * BucketSnapshotFunction.SNAPSHOT_INTERVAL;
+      await(set.set(key, IntStream.range(0, pops + 1).mapToObj(i -> new Person("Person" + i)).collect(Collectors.toSet())));
+
+      // The backup owners receive either the popped members or a snapshot of the bucket
+      for (int i = 0; i < pops; i++) {
+         assertThat(await(set.pop(key, 1L, true))).hasSize(1);
+      }
+      Set<Person> remaining = await(set.get(key)).toSet();
+      assertThat(remaining).hasSize(1);
+      for (EmbeddedSetCache<String, Person> member : cluster.values()) {
+         assertThat(await(member.get(key)).toSet()).isEqualTo(remaining);
+      }
+   }
+
    protected void assertValuesAndOwnership(String key, Person value) {
       assertOwnershipAndNonOwnership(key, l1CacheEnabled);
       assertOnAllCaches(key, value);
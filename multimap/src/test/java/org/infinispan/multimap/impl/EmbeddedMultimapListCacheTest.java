@@ -16,7 +16,9 @@
 import static org.infinispan.multimap.impl.MultimapTestUtils.PEPE;
 import static org.infinispan.multimap.impl.MultimapTestUtils.RAMON;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import org.infinispan.commons.CacheException;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
@@ -628,4 +630,42 @@ public void testReplace() {
             .isInstanceOf(NullPointerException.class)
             .hasMessageContaining(ERR_KEY_CAN_T_BE_NULL);
    }
+
+   public void testListSpanningManyChunks() {
+      int chunkCapacity = ListBucket.CHUNK_CAPACITY;
+      List<Person> tail = new ArrayList<>();
+      List<Person> head = new ArrayList<>();
+      for (int i = 0; i < chunkCapacity * 3 + 5; i++) {
+         tail.add(new Person("tail" + i));
+         head.add(new Person("head" + i));
+      }
+      await(listCache.offerLast(NAMES_KEY, tail));
+      await(listCache.offerFirst(NAMES_KEY, head));
+      List<Person> expected = new ArrayList<>(head);
+      Collections.reverse(expected);
+      expected.addAll(tail);
+
+      assertThat(await(listCache.size(NAMES_KEY))).isEqualTo(expected.size());
+      assertThat(await(listCache.get(NAMES_KEY))).containsExactlyElementsOf(expected);
+      assertThat(await(listCache.index(NAMES_KEY, chunkCapacity))).isEqualTo(expected.get(chunkCapacity));
+      assertThat(await(listCache.index(NAMES_KEY, -chunkCapacity - 1)))
+            .isEqualTo(expected.get(expected.size() - chunkCapacity - 1));
+      assertThat(await(listCache.subList(NAMES_KEY, chunkCapacity - 2, chunkCapacity * 4)))
+            .containsExactlyElementsOf(expected.subList(chunkCapacity - 2, chunkCapacity * 4 + 1));
+
+      assertThat(await(listCache.set(NAMES_KEY, chunkCapacity * 2, PEPE))).isTrue();
+      expected.set(chunkCapacity * 2, PEPE);
+      assertThat(await(listCache.insert(NAMES_KEY, true, PEPE, FELIX))).isEqualTo(expected.size() + 1);
+      expected.add(chunkCapacity * 2, FELIX);
+      assertThat(await(listCache.get(NAMES_KEY))).containsExactlyElementsOf(expected);
+
+      assertThat(await(listCache.pollFirst(NAMES_KEY, chunkCapacity + 1)))
+            .containsExactlyElementsOf(expected.subList(0, chunkCapacity + 1));
+      expected = new ArrayList<>(expected.subList(chunkCapacity + 1, expected.size()));
+      assertThat(await(listCache.trim(NAMES_KEY, 1, -chunkCapacity))).isTrue();
+      expected = new ArrayList<>(expected.subList(1, expected.size() - chunkCapacity + 1));
+      assertThat(await(listCache.remove(NAMES_KEY, 0, FELIX))).isEqualTo(1);
+      expected.remove(FELIX);
+      assertThat(await(listCache.get(NAMES_KEY))).containsExactlyElementsOf(expected);
+   }
 }
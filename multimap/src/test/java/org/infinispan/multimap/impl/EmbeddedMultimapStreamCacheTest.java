@@ -0,0 +1,200 @@
+package org.infinispan.multimap.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.infinispan.functional.FunctionalTestUtils.await;
+import static org.infinispan.multimap.impl.EmbeddedMultimapStreamCache.ERR_FIELDS_CAN_T_BE_EMPTY;
+import static org.infinispan.multimap.impl.EmbeddedMultimapStreamCache.ERR_KEY_CAN_T_BE_NULL;
+import static org.infinispan.multimap.impl.MultimapTestUtils.NAMES_KEY;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Single Multimap Cache Test with Stream
+ *
+ * @since 16.3
+ */
+@Test(groups = "functional", testName = "multimap.EmbeddedMultimapStreamCacheTest")
+public class EmbeddedMultimapStreamCacheTest extends SingleCacheManagerTest {
+   private static final long NO_TRIM = -1;
+
+   EmbeddedMultimapStreamCache<String, String> streamCache;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(MultimapSCI.INSTANCE);
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      cm.createCache("test", builder.build());
+      streamCache = new EmbeddedMultimapStreamCache<>(cm.getCache("test"));
+      return cm;
+   }
+
+   private StreamId add(String key, StreamId id, long now, String... fieldsAndValues) {
+      return await(streamCache.add(key, id, false, now, List.of(fieldsAndValues), false, NO_TRIM, null, false,
+            Long.MAX_VALUE));
+   }
+
+   private List<StreamId> ids(List<StreamEntry<String>> entries) {
+      List<StreamId> ids = new ArrayList<>(entries.size());
+      for (StreamEntry<String> entry : entries) {
+         ids.add(entry.id());
+      }
+      return ids;
+   }
+
+   public void testAddAndRange() {
+      StreamId first = add(NAMES_KEY, null, 10, "name", "Oihana");
+      StreamId second = add(NAMES_KEY, null, 10, "name", "Elaia", "age", "4");
+      StreamId third = add(NAMES_KEY, null, 5, "name", "Julien");
+      assertThat(first).isEqualTo(new StreamId(10, 0));
+      // The clock went backwards, the sequence number is incremented instead
+      assertThat(second).isEqualTo(new StreamId(10, 1));
+      assertThat(third).isEqualTo(new StreamId(10, 2));
+      assertThat(await(streamCache.size(NAMES_KEY))).isEqualTo(3);
+      assertThat(await(streamCache.lastId(NAMES_KEY))).isEqualTo(third);
+
+      List<StreamEntry<String>> entries = await(streamCache.range(NAMES_KEY, StreamId.MIN, StreamId.MAX,
+            Long.MAX_VALUE, false));
+      assertThat(ids(entries)).containsExactly(first, second, third);
+      assertThat(entries.get(1).fieldsAndValues()).containsExactly("name", "Elaia", "age", "4");
+
+      entries = await(streamCache.range(NAMES_KEY, second, StreamId.MAX, 1, false));
+      assertThat(ids(entries)).containsExactly(second);
+      entries = await(streamCache.range(NAMES_KEY, StreamId.MIN, StreamId.MAX, 2, true));
+      assertThat(ids(entries)).containsExactly(third, second);
+
+      assertThat(await(streamCache.range("unknown", StreamId.MIN, StreamId.MAX, 10, false))).isNull();
+      assertThat(await(streamCache.size("unknown"))).isZero();
+      assertThat(await(streamCache.lastId("unknown"))).isEqualTo(StreamId.MIN);
+   }
+
+   public void testAddWithExplicitId() {
+      assertThat(add(NAMES_KEY, new StreamId(5, 3), 0, "f", "v")).isEqualTo(new StreamId(5, 3));
+      assertThat(await(streamCache.add(NAMES_KEY, new StreamId(5, 0), true, 0, List.of("f", "v"), false, NO_TRIM,
+            null, false, Long.MAX_VALUE))).isEqualTo(new StreamId(5, 4));
+      assertThatThrownBy(() -> add(NAMES_KEY, new StreamId(5, 4), 0, "f", "v"))
+            .rootCause().hasMessage(StreamBucket.ERR_ID_TOO_SMALL);
+      assertThatThrownBy(() -> add("other", StreamId.MIN, 0, "f", "v"))
+            .rootCause().hasMessage(StreamBucket.ERR_ID_ZERO);
+      assertThat(await(streamCache.add("other", null, false, 0, List.of("f", "v"), true, NO_TRIM, null, false,
+            Long.MAX_VALUE))).isNull();
+      assertThat(await(streamCache.size("other"))).isZero();
+   }
+
+   public void testManySegments() {
+      int count = 1000;
+      for (int i = 1; i <= count; i++) {
+         add(NAMES_KEY, new StreamId(i, 0), 0, "i", Integer.toString(i));
+      }
+      assertThat(await(streamCache.size(NAMES_KEY))).isEqualTo(count);
+      List<StreamEntry<String>> entries = await(streamCache.range(NAMES_KEY, new StreamId(300, 0),
+            new StreamId(310, 0), Long.MAX_VALUE, false));
+      assertThat(entries).hasSize(11);
+      assertThat(entries.get(0).fieldsAndValues()).containsExactly("i", "300");
+
+      assertThat(await(streamCache.delete(NAMES_KEY, List.of(new StreamId(300, 0), new StreamId(300, 0),
+            new StreamId(5000, 0))))).isEqualTo(1);
+      assertThat(await(streamCache.size(NAMES_KEY))).isEqualTo(count - 1);
+
+      // Exact trimming
+      assertThat(await(streamCache.trim(NAMES_KEY, 500, null, false, Long.MAX_VALUE))).isEqualTo(499);
+      assertThat(await(streamCache.size(NAMES_KEY))).isEqualTo(500);
+      entries = await(streamCache.range(NAMES_KEY, StreamId.MIN, StreamId.MAX, 1, false));
+      assertThat(ids(entries)).containsExactly(new StreamId(501, 0));
+
+      // Approximate trimming only removes whole segments, so it never removes more than requested
+      long removed = await(streamCache.trim(NAMES_KEY, -1, new StreamId(900, 0), true, Long.MAX_VALUE));
+      assertThat(removed).isLessThanOrEqualTo(399);
+      assertThat(await(streamCache.size(NAMES_KEY))).isEqualTo(500 - removed);
+      entries = await(streamCache.range(NAMES_KEY, StreamId.MIN, StreamId.MAX, Long.MAX_VALUE, false));
+      assertThat(entries.get(entries.size() - 1).id()).isEqualTo(new StreamId(count, 0));
+   }
+
+   public void testAddWithTrim() {
+      for (int i = 1; i <= 10; i++) {
+         await(streamCache.add(NAMES_KEY, null, false, i, List.of("i", Integer.toString(i)), false, 3, null, false,
+               Long.MAX_VALUE));
+      }
+      List<StreamEntry<String>> entries = await(streamCache.range(NAMES_KEY, StreamId.MIN, StreamId.MAX,
+            Long.MAX_VALUE, false));
+      assertThat(ids(entries)).containsExactly(new StreamId(8, 0), new StreamId(9, 0), new StreamId(10, 0));
+   }
+
+   public void testConsumerGroups() {
+      add(NAMES_KEY, new StreamId(1, 0), 0, "name", "Oihana");
+      add(NAMES_KEY, new StreamId(2, 0), 0, "name", "Elaia");
+      await(streamCache.createGroup(NAMES_KEY, "readers", StreamId.MIN, false, -1));
+      assertThatThrownBy(() -> await(streamCache.createGroup(NAMES_KEY, "readers", null, false, -1)))
+            .rootCause().hasMessage(StreamBucket.ERR_BUSYGROUP);
+
+      List<StreamEntry<String>> read = await(streamCache.readGroup(NAMES_KEY, "readers", "alice", null, 1, false, 100));
+      assertThat(ids(read)).containsExactly(new StreamId(1, 0));
+      read = await(streamCache.readGroup(NAMES_KEY, "readers", "bob", null, 10, false, 110));
+      assertThat(ids(read)).containsExactly(new StreamId(2, 0));
+      assertThat(await(streamCache.readGroup(NAMES_KEY, "readers", "bob", null, 10, false, 120))).isEmpty();
+
+      // The history of a consumer contains the entries pending for it
+      read = await(streamCache.readGroup(NAMES_KEY, "readers", "alice", StreamId.MIN, 10, false, 130));
+      assertThat(ids(read)).containsExactly(new StreamId(1, 0));
+
+      List<StreamConsumerGroup.PendingEntry> pending = await(streamCache.pending(NAMES_KEY, "readers", StreamId.MIN,
+            StreamId.MAX, 10, null, 0, 200));
+      assertThat(pending).hasSize(2);
+      assertThat(pending.get(0).consumer()).isEqualTo("alice");
+      assertThat(pending.get(0).deliveryCount()).isEqualTo(2);
+      assertThat(pending.get(0).deliveryTime()).isEqualTo(130);
+      assertThat(pending.get(1).consumer()).isEqualTo("bob");
+      assertThat(await(streamCache.pending(NAMES_KEY, "readers", StreamId.MIN, StreamId.MAX, 10, null, 80, 200)))
+            .hasSize(1);
+
+      assertThat(await(streamCache.acknowledge(NAMES_KEY, "readers", List.of(new StreamId(1, 0), new StreamId(7, 0)))))
+            .isEqualTo(1);
+      assertThat(await(streamCache.deleteConsumer(NAMES_KEY, "readers", "bob"))).isEqualTo(1);
+      assertThat(await(streamCache.pending(NAMES_KEY, "readers", StreamId.MIN, StreamId.MAX, 10, null, 0, 200)))
+            .isEmpty();
+
+      assertThat(await(streamCache.createConsumer(NAMES_KEY, "readers", "carol", 300))).isEqualTo(1);
+      assertThat(await(streamCache.createConsumer(NAMES_KEY, "readers", "carol", 300))).isZero();
+
+      // Move the group back so the entries are delivered again
+      await(streamCache.setGroupId(NAMES_KEY, "readers", StreamId.MIN, 0));
+      read = await(streamCache.readGroup(NAMES_KEY, "readers", "carol", null, 10, true, 400));
+      assertThat(ids(read)).containsExactly(new StreamId(1, 0), new StreamId(2, 0));
+      assertThat(await(streamCache.pending(NAMES_KEY, "readers", StreamId.MIN, StreamId.MAX, 10, null, 0, 400)))
+            .isEmpty();
+
+      assertThat(await(streamCache.destroyGroup(NAMES_KEY, "readers"))).isEqualTo(1);
+      assertThat(await(streamCache.destroyGroup(NAMES_KEY, "readers"))).isZero();
+      assertThatThrownBy(() -> await(streamCache.readGroup(NAMES_KEY, "readers", "alice", null, 1, false, 500)))
+            .rootCause().hasMessage(StreamBucket.ERR_NOGROUP);
+   }
+
+   public void testGroupOnMissingStream() {
+      assertThatThrownBy(() -> await(streamCache.createGroup(NAMES_KEY, "readers", null, false, -1)))
+            .rootCause().isInstanceOf(IllegalArgumentException.class);
+      await(streamCache.createGroup(NAMES_KEY, "readers", null, true, -1));
+      assertThat(await(streamCache.size(NAMES_KEY))).isZero();
+      assertThat(await(streamCache.readGroup(NAMES_KEY, "readers", "alice", null, 1, false, 0))).isEmpty();
+   }
+
+   public void testInvalidArguments() {
+      assertThatThrownBy(() -> streamCache.add(null, null, false, 0, List.of("f", "v"), false, NO_TRIM, null, false, 0))
+            .isInstanceOf(NullPointerException.class)
+            .hasMessageContaining(ERR_KEY_CAN_T_BE_NULL);
+      assertThatThrownBy(() -> streamCache.add(NAMES_KEY, null, false, 0, List.of(), false, NO_TRIM, null, false, 0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining(ERR_FIELDS_CAN_T_BE_EMPTY);
+      assertThatThrownBy(() -> await(streamCache.readGroup(NAMES_KEY, "readers", "alice", null, 1, false, 0)))
+            .cause().cause()
+            .isInstanceOf(CacheException.class)
+            .cause().hasMessage(StreamBucket.ERR_NOGROUP);
+   }
+}
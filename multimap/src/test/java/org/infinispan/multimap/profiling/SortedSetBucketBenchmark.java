@@ -0,0 +1,102 @@
+package org.infinispan.multimap.profiling;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.multimap.impl.ScoredValue;
+import org.infinispan.multimap.impl.SortedSetBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This benchmark tests the performance of the rank based operations of sorted sets, like ZRANK, ZRANGE by index and
+ * ZRANGEBYSCORE with LIMIT, across sorted set sizes.
+ *
+ * @since 16.3
+ */
+public class SortedSetBucketBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(SortedSetBucketBenchmark.class.getName() + ".State.*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"1000", "100000", "1000000"})
+      int size;
+
+      private SortedSetBucket<byte[]> bucket;
+      private byte[][] members;
+      private int rank;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         members = new byte[size][];
+         List<ScoredValue<byte[]>> values = new ArrayList<>(size);
+         for (int i = 0; i < size; i++) {
+            members[i] = ("member" + i).getBytes(StandardCharsets.US_ASCII);
+            values.add(ScoredValue.of(i, members[i]));
+         }
+         bucket = new SortedSetBucket<byte[]>().addMany(values, false, false, false, false).bucket();
+      }
+
+      @Setup(Level.Invocation)
+      public void nextRank() {
+         rank = ThreadLocalRandom.current().nextInt(size);
+      }
+
+      @Benchmark
+      public SortedSetBucket.IndexValue rank() {
+         return bucket.indexOf(members[rank], false);
+      }
+
+      @Benchmark
+      public SortedSetBucket.IndexValue reverseRank() {
+         return bucket.indexOf(members[rank], true);
+      }
+
+      @Benchmark
+      public List<ScoredValue<byte[]>> rangeByIndex() {
+         return bucket.subsetByIndex(rank, rank + 9, false);
+      }
+
+      @Benchmark
+      public List<ScoredValue<byte[]>> reverseRangeByIndex() {
+         return bucket.subsetByIndex(rank, rank + 9, true);
+      }
+
+      @Benchmark
+      public List<ScoredValue<byte[]>> rangeByScoreWithOffset() {
+         return bucket.subset(0d, true, (double) size, true, false, (long) rank, 10L);
+      }
+
+      @Benchmark
+      public List<ScoredValue<byte[]>> randomMember() {
+         return bucket.randomMembers(1);
+      }
+   }
+}
@@ -23,6 +23,17 @@ public interface SqlManager {
 
    String getUpsertStatement(List<String> keyColumns, List<String> allColumns);
 
+   /**
+    * Returns a statement that upserts the given number of rows at once, with the parameters of every row in the order
+    * of {@link #getUpsertStatement(List, List)}.
+    *
+    * @return the statement or {@code null} if the database does not support upserting multiple rows in a statement
+    * @since 16.3
+    */
+   default String getUpsertStatement(List<String> keyColumns, List<String> allColumns, int rows) {
+      return null;
+   }
+
    String getSizeCommand();
 
    static SqlManager fromDatabaseType(DatabaseType databaseType, String tableName) {
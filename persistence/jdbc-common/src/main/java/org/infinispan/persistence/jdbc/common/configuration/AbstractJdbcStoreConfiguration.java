@@ -11,15 +11,17 @@
    static final AttributeDefinition<DatabaseType> DIALECT = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.DIALECT, null, DatabaseType.class).immutable().build();
    static final AttributeDefinition<Integer> READ_QUERY_TIMEOUT = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.READ_QUERY_TIMEOUT, 0, Integer.class).build();
    static final AttributeDefinition<Integer> WRITE_QUERY_TIMEOUT = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.WRITE_QUERY_TIMEOUT, 0, Integer.class).build();
+   static final AttributeDefinition<Integer> BULK_UPSERT_ROWS = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.BULK_UPSERT_ROWS, 1, Integer.class).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(AbstractJdbcStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(),
-            DIALECT, READ_QUERY_TIMEOUT, WRITE_QUERY_TIMEOUT);
+            DIALECT, READ_QUERY_TIMEOUT, WRITE_QUERY_TIMEOUT, BULK_UPSERT_ROWS);
    }
 
    private final Attribute<DatabaseType> dialect;
    private final Attribute<Integer> readQueryTimeout;
    private final Attribute<Integer> writeQueryTimeout;
+   private final Attribute<Integer> bulkUpsertRows;
    private final ConnectionFactoryConfiguration connectionFactory;
 
    protected AbstractJdbcStoreConfiguration(Enum<?> element, AttributeSet attributes, AsyncStoreConfiguration async, ConnectionFactoryConfiguration connectionFactory) {
@@ -28,6 +30,7 @@ protected AbstractJdbcStoreConfiguration(Enum<?> element, AttributeSet attribute
       dialect = attributes.attribute(DIALECT);
       readQueryTimeout = attributes.attribute(READ_QUERY_TIMEOUT);
       writeQueryTimeout = attributes.attribute(WRITE_QUERY_TIMEOUT);
+      bulkUpsertRows = attributes.attribute(BULK_UPSERT_ROWS);
    }
 
    public ConnectionFactoryConfiguration connectionFactory() {
@@ -68,4 +71,12 @@ public Integer readQueryTimeout() {
    public Integer writeQueryTimeout() {
       return writeQueryTimeout.get();
    }
+
+   /**
+    * @return the number of rows that batch writes upsert with a single statement, 1 if every row is upserted with its
+    * own statement
+    */
+   public int bulkUpsertRows() {
+      return bulkUpsertRows.get();
+   }
 }
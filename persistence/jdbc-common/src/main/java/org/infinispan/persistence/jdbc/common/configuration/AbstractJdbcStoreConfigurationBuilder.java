@@ -117,9 +117,23 @@ public S writeQueryTimeout(Integer queryTimeout) {
       return self();
    }
 
+   /**
+    * Sets the number of rows that batch writes upsert with a single multi-row statement, when the database dialect
+    * supports it. Rows that do not fill a statement are upserted one by one. The default of 1 upserts every row with
+    * its own statement.
+    */
+   public S bulkUpsertRows(int rows) {
+      attributes.attribute(AbstractJdbcStoreConfiguration.BULK_UPSERT_ROWS).set(rows);
+      return self();
+   }
+
    @Override
    public void validate() {
       super.validate();
+      int bulkUpsertRows = attributes.attribute(AbstractJdbcStoreConfiguration.BULK_UPSERT_ROWS).get();
+      if (bulkUpsertRows < 1) {
+         throw PERSISTENCE.invalidBulkUpsertRows(bulkUpsertRows);
+      }
       if (connectionFactory == null) {
          throw PERSISTENCE.missingConnectionFactory();
       }
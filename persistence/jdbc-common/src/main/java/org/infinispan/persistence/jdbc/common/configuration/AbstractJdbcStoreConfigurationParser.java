@@ -24,6 +24,9 @@ protected boolean handleCommonAttributes(ConfigurationReader reader,
          case WRITE_QUERY_TIMEOUT:
             builder.writeQueryTimeout(Integer.parseInt(value));
             break;
+         case BULK_UPSERT_ROWS:
+            builder.bulkUpsertRows(Integer.parseInt(value));
+            break;
          default:
             return false;
       }
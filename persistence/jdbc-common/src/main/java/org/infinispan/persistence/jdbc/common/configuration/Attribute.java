@@ -14,6 +14,7 @@ public enum Attribute {
    UNKNOWN(null),
    ANNOTATION,
    BATCH_SIZE,
+   BULK_UPSERT_ROWS,
    CONNECTION_URL,
    CREATE_ON_START,
    DIALECT,
@@ -38,6 +39,7 @@ public enum Attribute {
    PREFIX,
    PROPERTIES_FILE,
    READ_QUERY_TIMEOUT,
+   SCAN_PAGE_SIZE,
    SELECT_ALL,
    SELECT_SINGLE,
    SIZE,
@@ -135,6 +135,31 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       }, "jdbcstore-load");
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(int publisherCount, Publisher<SegmentedPublisher<Object>> keyPublisher) {
+      // The keys of all the segments are selected together, the table is not split by segment
+      return Flowable.fromPublisher(keyPublisher)
+            .flatMap(Flowable::fromPublisher, publisherCount)
+            .toList()
+            .flatMapPublisher(keys -> {
+               if (keys.isEmpty()) {
+                  return Flowable.empty();
+               }
+               return Flowable.fromCompletionStage(blockingManager.supplyBlocking(() -> {
+                  Connection conn = null;
+                  try {
+                     conn = connectionFactory.getConnection();
+                     return tableOperations.loadEntries(conn, keys);
+                  } catch (SQLException e) {
+                     throw new PersistenceException(String.format(
+                           "SQL error while fetching stored entries for %d keys", keys.size()), e);
+                  } finally {
+                     connectionFactory.releaseConnection(conn);
+                  }
+               }, "jdbcstore-load-all")).flatMapIterable(Functions.identity());
+            });
+   }
+
    @Override
    public CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extends V> entry) {
       return blockingManager.runBlocking(() -> {
@@ -54,6 +54,21 @@ protected Iterable<String> valueIterable(List<String> keyColumns, List<String> a
       return () -> allColumns.stream().filter(all -> !keyColumns.contains(all)).iterator();
    }
 
+   /**
+    * Appends the parameters of the given number of rows as {@code (?, ?), (?, ?)}, which requires positional
+    * parameters.
+    */
+   protected void appendRows(StringBuilder sb, List<String> allColumns, int rows) {
+      for (int i = 0; i < rows; ++i) {
+         if (i > 0) {
+            sb.append(", ");
+         }
+         sb.append('(');
+         appendStrings(sb, allColumns, this::parameterName, ", ");
+         sb.append(')');
+      }
+   }
+
    protected void appendStrings(StringBuilder sb, Iterable<String> strings, Function<String, String> valueConversion,
          String separator) {
       boolean isFirst = true;
@@ -20,4 +20,19 @@ public String getUpsertStatement(List<String> keyColumns, List<String> allColumn
       upsert.append(")");
       return upsert.toString();
    }
+
+   @Override
+   public String getUpsertStatement(List<String> keyColumns, List<String> allColumns, int rows) {
+      if (namedParameters) {
+         return null;
+      }
+      StringBuilder upsert = new StringBuilder("MERGE INTO ").append(tableName);
+      upsert.append(" (");
+      appendStrings(upsert, allColumns, Function.identity(), ", ");
+      upsert.append(") KEY(");
+      appendStrings(upsert, keyColumns, Function.identity(), ", ");
+      upsert.append(") VALUES ");
+      appendRows(upsert, allColumns, rows);
+      return upsert.toString();
+   }
 }
@@ -19,4 +19,19 @@ public String getUpsertStatement(List<String> keyColumns, List<String> allColumn
       appendStrings(upsert, valueIterable(keyColumns, allColumns), value -> value + " = VALUES(" + value + ")", ", ");
       return upsert.toString();
    }
+
+   @Override
+   public String getUpsertStatement(List<String> keyColumns, List<String> allColumns, int rows) {
+      if (namedParameters) {
+         return null;
+      }
+      StringBuilder upsert = new StringBuilder("INSERT INTO ").append(tableName);
+      upsert.append(" (");
+      appendStrings(upsert, allColumns, Function.identity(), ", ");
+      upsert.append(") VALUES ");
+      appendRows(upsert, allColumns, rows);
+      upsert.append(" ON DUPLICATE KEY UPDATE ");
+      appendStrings(upsert, valueIterable(keyColumns, allColumns), value -> value + " = VALUES(" + value + ")", ", ");
+      return upsert.toString();
+   }
 }
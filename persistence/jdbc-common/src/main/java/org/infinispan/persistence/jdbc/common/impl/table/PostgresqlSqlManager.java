@@ -15,10 +15,29 @@ public String getUpsertStatement(List<String> keyColumns, List<String> allColumn
       appendStrings(upsert, allColumns, Function.identity(), ", ");
       upsert.append(") VALUES (");
       appendStrings(upsert, allColumns, this::parameterName, ", ");
-      upsert.append(") ON CONFLICT (");
+      upsert.append(")");
+      appendOnConflict(upsert, keyColumns, allColumns);
+      return upsert.toString();
+   }
+
+   @Override
+   public String getUpsertStatement(List<String> keyColumns, List<String> allColumns, int rows) {
+      if (namedParameters) {
+         return null;
+      }
+      StringBuilder upsert = new StringBuilder("INSERT INTO ").append(tableName);
+      upsert.append(" (");
+      appendStrings(upsert, allColumns, Function.identity(), ", ");
+      upsert.append(") VALUES ");
+      appendRows(upsert, allColumns, rows);
+      appendOnConflict(upsert, keyColumns, allColumns);
+      return upsert.toString();
+   }
+
+   private void appendOnConflict(StringBuilder upsert, List<String> keyColumns, List<String> allColumns) {
+      upsert.append(" ON CONFLICT (");
       appendStrings(upsert, keyColumns, Function.identity(), ", ");
       upsert.append(") DO UPDATE SET ");
       appendStrings(upsert, valueIterable(keyColumns, allColumns), value -> value + " = EXCLUDED." + value, ", ");
-      return upsert.toString();
    }
 }
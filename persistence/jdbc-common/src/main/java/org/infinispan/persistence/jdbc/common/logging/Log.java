@@ -287,4 +287,14 @@ CacheConfigurationException deleteAndSelectQueryMismatchArguments(String paramNa
 
    @Message(value = "Both jndiUrl and dataSource must not be set", id = 8074)
    CacheConfigurationException jndiUrlAndDataSourceSet();
+
+   @Message(value = "The number of rows of a bulk upsert must be positive, was %d", id = 8075)
+   CacheConfigurationException invalidBulkUpsertRows(int rows);
+
+   @Message(value = "The scan page size must be zero or positive, was %d", id = 8076)
+   CacheConfigurationException invalidScanPageSize(int scanPageSize);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Table %s has no index %s on the %s and %s columns, the rows are not scanned in pages", id = 8077)
+   void scanIndexMissing(String tableName, String indexName, String segmentColumn, String idColumn);
 }
@@ -7,6 +7,11 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -33,9 +38,24 @@
    private static final Log log = Log.getLog(BaseTableOperations.class);
 
    protected final AbstractJdbcStoreConfiguration<?> configuration;
+   // Whether the subclass prepares the rows of the statement returned by getUpsertRowsSql()
+   private final boolean upsertRowsSupported;
 
    public BaseTableOperations(AbstractJdbcStoreConfiguration<?> configuration) {
       this.configuration = configuration;
+      this.upsertRowsSupported = overridesPrepareRowStatement(getClass());
+   }
+
+   private static boolean overridesPrepareRowStatement(Class<?> type) {
+      for (Class<?> c = type; c != BaseTableOperations.class; c = c.getSuperclass()) {
+         try {
+            c.getDeclaredMethod("prepareValueStatement", PreparedStatement.class, int.class, int.class, MarshallableEntry.class);
+            return true;
+         } catch (NoSuchMethodException e) {
+            // Check the superclass
+         }
+      }
+      return false;
    }
 
    public abstract String getSelectRowSql();
@@ -57,6 +77,28 @@ protected abstract MarshallableEntry<K, V> entryFromResultSet(ResultSet rs, Obje
 
    protected abstract void prepareValueStatement(PreparedStatement ps, int segment, MarshallableEntry<? extends K, ? extends V> entry) throws SQLException;
 
+   /**
+    * Returns the statement that upserts {@link AbstractJdbcStoreConfiguration#bulkUpsertRows()} rows at once. The
+    * parameters of every row are set by {@link #prepareValueStatement(PreparedStatement, int, int, MarshallableEntry)},
+    * and the statement is only used when a subclass overrides that method.
+    *
+    * @return the statement or {@code null} if batch writes must upsert every row with its own statement
+    */
+   public String getUpsertRowsSql() {
+      return null;
+   }
+
+   /**
+    * Sets the parameters of a row of the statement returned by {@link #getUpsertRowsSql()}, where the parameters of the
+    * row start after the given offset. Batch writes only upsert several rows with a single statement when this method
+    * is overridden, otherwise they upsert every row with its own statement.
+    *
+    * @return the offset of the parameters of the next row
+    */
+   protected int prepareValueStatement(PreparedStatement ps, int parameterOffset, int segment, MarshallableEntry<? extends K, ? extends V> entry) throws SQLException {
+      throw new UnsupportedOperationException();
+   }
+
    protected void prepareSizeStatement(PreparedStatement ps) throws SQLException {
       // Do nothing by default
    }
@@ -88,6 +130,34 @@ public MarshallableEntry<K, V> loadEntry(Connection connection, int segment, Obj
       return null;
    }
 
+   /**
+    * Loads the entries of the keys reusing a single statement. Implementations able to select many rows by key with a
+    * single statement should override it.
+    */
+   @Override
+   public List<MarshallableEntry<K, V>> loadEntries(Connection connection, Collection<Object> keys) throws SQLException {
+      String selectSql = getSelectRowSql();
+      if (log.isTraceEnabled()) {
+         log.tracef("Running select row sql '%s' for %d keys", selectSql, keys.size());
+      }
+      List<MarshallableEntry<K, V>> entries = new ArrayList<>(keys.size());
+      try (PreparedStatement ps = connection.prepareStatement(selectSql)) {
+         ps.setQueryTimeout(configuration.readQueryTimeout());
+         for (Object key : keys) {
+            prepareKeyStatement(ps, key);
+            try (ResultSet rs = ps.executeQuery()) {
+               if (rs.next()) {
+                  MarshallableEntry<K, V> entry = entryFromResultSet(rs, key, true, null);
+                  if (entry != null) {
+                     entries.add(entry);
+                  }
+               }
+            }
+         }
+      }
+      return entries;
+   }
+
    @Override
    public boolean deleteEntry(Connection connection, int segment, Object key) throws SQLException {
       PreparedStatement ps = null;
@@ -166,12 +236,17 @@ public long size(Connection connection) throws SQLException {
    public void batchUpdates(Connection connection, int writePublisherCount, Publisher<Object> removePublisher,
          Publisher<NonBlockingStore.SegmentedPublisher<MarshallableEntry<K, V>>> writePublisher) throws SQLException {
       String upsertSql = getUpsertRowSql();
+      String upsertRowsSql = upsertRowsSupported && configuration.bulkUpsertRows() > 1 ? getUpsertRowsSql() : null;
       String deleteSql = getDeleteRowSql();
       if (log.isTraceEnabled()) {
          log.tracef("Running batch upsert sql '%s'", upsertSql);
+         if (upsertRowsSql != null) {
+            log.tracef("Running batch upsert sql '%s' for every %d rows", upsertRowsSql, configuration.bulkUpsertRows());
+         }
          log.tracef("Running batch delete sql '%s'", deleteSql);
       }
       try (PreparedStatement upsertBatch = connection.prepareStatement(upsertSql);
+           PreparedStatement upsertRowsBatch = upsertRowsSql != null ? connection.prepareStatement(upsertRowsSql) : null;
            PreparedStatement deleteBatch = connection.prepareStatement(deleteSql)) {
 
          // Note this one is non blocking as we need to subscribe to both Publishers before anything is processed.
@@ -186,17 +261,26 @@ public void batchUpdates(Connection connection, int writePublisherCount, Publish
 
          ByRef<Throwable> throwableRef = new ByRef<>(null);
          ByRef<Object> hadValue = new ByRef<>(null);
+         BulkUpsert bulkUpsert = upsertRowsBatch != null ? new BulkUpsert(upsertRowsBatch, configuration.bulkUpsertRows()) : null;
          Flowable.fromPublisher(writePublisher)
                .concatMapEager(sp ->
                      Flowable.fromPublisher(sp)
                            .doOnNext(me -> {
-                              prepareValueStatement(upsertBatch, sp.getSegment(), me);
-                              upsertBatch.addBatch();
+                              if (bulkUpsert != null) {
+                                 bulkUpsert.add(sp.getSegment(), me);
+                              } else {
+                                 prepareValueStatement(upsertBatch, sp.getSegment(), me);
+                                 upsertBatch.addBatch();
+                              }
                            }), writePublisherCount, writePublisherCount
                ).lastElement()
                .blockingSubscribe(hadValue::set, throwableRef::set);
          if (hadValue.get() != null) {
-            upsertBatch.executeBatch();
+            if (bulkUpsert != null) {
+               bulkUpsert.finish(upsertBatch);
+            } else {
+               upsertBatch.executeBatch();
+            }
          }
 
          Throwable t = throwableRef.get();
@@ -211,6 +295,62 @@ public void batchUpdates(Connection connection, int writePublisherCount, Publish
       }
    }
 
+   /**
+    * Groups the rows of a batch write into multi-row upsert statements. A key written more than once in the batch only
+    * keeps its last value, as a multi-row upsert cannot update the same row twice on some databases.
+    */
+   private class BulkUpsert {
+      private final PreparedStatement upsertRowsBatch;
+      private final int rows;
+      private final Map<Object, Row<K, V>> pending;
+      private boolean batched;
+
+      BulkUpsert(PreparedStatement upsertRowsBatch, int rows) {
+         this.upsertRowsBatch = upsertRowsBatch;
+         this.rows = rows;
+         this.pending = new LinkedHashMap<>(rows * 4 / 3 + 1);
+      }
+
+      void add(int segment, MarshallableEntry<K, V> entry) throws SQLException {
+         pending.put(entry.getKey(), new Row<>(segment, entry));
+         if (pending.size() == rows) {
+            int offset = 0;
+            for (Row<K, V> row : pending.values()) {
+               offset = prepareValueStatement(upsertRowsBatch, offset, row.segment, row.entry);
+            }
+            upsertRowsBatch.addBatch();
+            batched = true;
+            pending.clear();
+         }
+      }
+
+      /**
+       * Executes the multi-row statements and upserts the rows that did not fill a statement one by one.
+       */
+      void finish(PreparedStatement upsertBatch) throws SQLException {
+         if (batched) {
+            upsertRowsBatch.executeBatch();
+         }
+         if (!pending.isEmpty()) {
+            for (Row<K, V> row : pending.values()) {
+               prepareValueStatement(upsertBatch, row.segment, row.entry);
+               upsertBatch.addBatch();
+            }
+            upsertBatch.executeBatch();
+         }
+      }
+   }
+
+   private static class Row<K, V> {
+      final int segment;
+      final MarshallableEntry<K, V> entry;
+
+      Row(int segment, MarshallableEntry<K, V> entry) {
+         this.segment = segment;
+         this.entry = entry;
+      }
+   }
+
    @Override
    public Flowable<MarshallableEntry<K, V>> publishEntries(Supplier<Connection> connectionSupplier,
          Consumer<Connection> connectionCloser, IntSet segments, Predicate<? super K> filter, boolean fetchValue) {
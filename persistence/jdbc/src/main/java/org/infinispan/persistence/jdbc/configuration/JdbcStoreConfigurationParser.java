@@ -68,6 +68,8 @@ private void parseStringKeyedJdbcStore(final ConfigurationReader reader,
          if (!handleCommonAttributes(reader, builder, attribute, value)) {
             if (attribute == Attribute.KEY_TO_STRING_MAPPER) {
                builder.key2StringMapper(value);
+            } else if (attribute == Attribute.SCAN_PAGE_SIZE) {
+               builder.scanPageSize(Integer.parseInt(value));
             } else {
                CacheParser.parseStoreAttribute(reader, i, builder);
             }
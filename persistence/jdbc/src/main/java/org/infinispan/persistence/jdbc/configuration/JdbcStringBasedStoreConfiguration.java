@@ -18,12 +18,14 @@
 @SerializedWith(JdbcStringBasedStoreConfigurationSerializer.class)
 public class JdbcStringBasedStoreConfiguration extends AbstractJdbcStoreConfiguration<JdbcStringBasedStoreConfiguration> {
    static final AttributeDefinition<String> KEY2STRING_MAPPER = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.KEY_TO_STRING_MAPPER, DefaultTwoWayKey2StringMapper.class.getName()).immutable().build();
+   static final AttributeDefinition<Integer> SCAN_PAGE_SIZE = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.SCAN_PAGE_SIZE, 0).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(JdbcStringBasedStoreConfiguration.class, AbstractJdbcStoreConfiguration.attributeDefinitionSet(), KEY2STRING_MAPPER);
+      return new AttributeSet(JdbcStringBasedStoreConfiguration.class, AbstractJdbcStoreConfiguration.attributeDefinitionSet(), KEY2STRING_MAPPER, SCAN_PAGE_SIZE);
    }
 
    private final Attribute<String> key2StringMapper;
+   private final Attribute<Integer> scanPageSize;
    private final TableManipulationConfiguration table;
 
    public JdbcStringBasedStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async,
@@ -31,12 +33,21 @@ public JdbcStringBasedStoreConfiguration(AttributeSet attributes, AsyncStoreConf
       super(Element.STRING_KEYED_JDBC_STORE, attributes, async, connectionFactory);
       this.table = table;
       key2StringMapper = attributes.attribute(KEY2STRING_MAPPER);
+      scanPageSize = attributes.attribute(SCAN_PAGE_SIZE);
    }
 
    public String key2StringMapper() {
       return key2StringMapper.get();
    }
 
+   /**
+    * @return the number of rows that every query of an iteration reads, or 0 if the iteration reads all the rows with
+    * a single query
+    */
+   public int scanPageSize() {
+      return scanPageSize.get();
+   }
+
    public TableManipulationConfiguration table() {
       return table;
    }
@@ -1,6 +1,8 @@
 package org.infinispan.persistence.jdbc.configuration;
 
+import static org.infinispan.persistence.jdbc.common.logging.Log.PERSISTENCE;
 import static org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration.KEY2STRING_MAPPER;
+import static org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration.SCAN_PAGE_SIZE;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.Combine;
@@ -51,6 +53,21 @@ public JdbcStringBasedStoreConfigurationBuilder key2StringMapper(Class<? extends
       return this;
    }
 
+   /**
+    * Sets the number of rows that every query of an iteration over the store reads. The rows of every segment are then
+    * read in pages ordered by their id, each page starting after the last id of the previous page, so that an
+    * iteration holds at most a page of rows in memory and can resume after a transient failure. The default of 0 reads
+    * all the rows with a single query.
+    * <p>
+    * The pages of a segment need an index on the segment and id columns. The store creates it when it creates the
+    * tables on start, also for existing tables. Otherwise, if the index is missing, the rows are read with a single
+    * query.
+    */
+   public JdbcStringBasedStoreConfigurationBuilder scanPageSize(int scanPageSize) {
+      attributes.attribute(SCAN_PAGE_SIZE).set(scanPageSize);
+      return this;
+   }
+
    /**
     * Allows configuration of table-specific parameters such as column names and types
     */
@@ -62,6 +79,10 @@ public StringTableManipulationConfigurationBuilder table() {
    public void validate() {
       table.validate();
       super.validate();
+      int scanPageSize = attributes.attribute(SCAN_PAGE_SIZE).get();
+      if (scanPageSize < 0) {
+         throw PERSISTENCE.invalidScanPageSize(scanPageSize);
+      }
    }
 
    @Override
@@ -11,10 +11,21 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.commons.marshall.ProtoStreamTypeIds;
@@ -41,6 +52,9 @@
 import org.infinispan.protostream.annotations.ProtoField;
 import org.infinispan.protostream.annotations.ProtoTypeId;
 
+import io.reactivex.rxjava3.core.Emitter;
+import io.reactivex.rxjava3.core.Flowable;
+
 /**
  * @author Ryan Emerson
  */
@@ -49,6 +63,10 @@
    private static final String DEFAULT_IDENTIFIER_QUOTE_STRING = "\"";
    private static final String META_TABLE_SUFFIX = "_META";
    private static final String META_TABLE_DATA_COLUMN = "data";
+   // Oracle does not allow more than 1000 expressions in a list
+   private static final int MAX_KEYS_PER_SELECT = 1000;
+   // Transient failures of a scan are retried from the last page that was read
+   private static final int MAX_SCAN_RETRIES = 3;
 
    private final Log log;
    protected final InitializationContext ctx;
@@ -59,6 +77,7 @@
    protected final MarshallableEntryFactory<K, V> marshallableEntryFactory;
    protected final String timestampIndexExt = "timestamp_index";
    protected final String segmentIndexExt = "segment_index";
+   protected final String segmentIdIndexExt = "segment_id_index";
 
    protected final String identifierQuoteString;
    protected final DbMetaData dbMetadata;
@@ -66,11 +85,14 @@
    protected final TableName metaTableName;
    protected MetadataImpl metadata;
    protected Key2StringMapper key2StringMapper;
+   // Whether the rows are scanned in pages, which requires the index on the segment and id columns
+   private volatile boolean pagedScan;
 
    // the field order is important because we are reusing some sql
    private final String insertRowSql;
    private final String updateRowSql;
    private final String upsertRowSql;
+   private final String upsertRowsSql;
    private final String selectRowSql;
    private final String selectIdRowSql;
    private final String deleteRowSql;
@@ -107,6 +129,7 @@
       this.insertRowSql = initInsertRowSql();
       this.updateRowSql = initUpdateRowSql();
       this.upsertRowSql = initUpsertRowSql();
+      this.upsertRowsSql = jdbcConfig.bulkUpsertRows() > 1 ? initUpsertRowsSql(jdbcConfig.bulkUpsertRows()) : null;
       this.selectRowSql = initSelectRowSql();
       this.selectIdRowSql = initSelectIdRowSql();
       this.deleteRowSql = initDeleteRowSql();
@@ -143,12 +166,19 @@ public void start() throws PersistenceException {
             }
             createIndex(conn, timestampIndexExt, config.timestampColumnName());
             if (!dbMetadata.isSegmentedDisabled()) {
-               createIndex(conn, segmentIndexExt, config.segmentColumnName());
+               if (jdbcConfig.scanPageSize() > 0) {
+                  // Scans in pages read the rows of a segment ordered by id, the index also serves the other queries
+                  // by segment. It has its own name, so it is also added to the tables created without it.
+                  createIndex(conn, segmentIdIndexExt, config.segmentColumnName() + ", " + config.idColumnName());
+               } else {
+                  createIndex(conn, segmentIndexExt, config.segmentColumnName());
+               }
             }
          } finally {
             connectionFactory.releaseConnection(conn);
          }
       }
+      pagedScan = jdbcConfig.scanPageSize() > 0 && scanIndexExists();
 
       JdbcStringBasedStoreConfiguration configuration = ctx.getConfiguration();
       try {
@@ -162,6 +192,28 @@ public void start() throws PersistenceException {
       }
    }
 
+   /**
+    * Without segments, the scans use the primary key on the id column. Otherwise they need the index on the segment and
+    * id columns, and without it every page would sort all the rows of the segment.
+    */
+   private boolean scanIndexExists() {
+      if (dbMetadata.isSegmentedDisabled()) {
+         return true;
+      }
+      String indexName = getIndexName(dbMetadata.getMaxTableNameLength(), false, segmentIdIndexExt);
+      Connection conn = null;
+      try {
+         conn = connectionFactory.getConnection();
+         if (indexExists(indexName, conn)) {
+            return true;
+         }
+      } finally {
+         connectionFactory.releaseConnection(conn);
+      }
+      log.scanIndexMissing(dataTableName.toString(), indexName, config.segmentColumnName(), config.idColumnName());
+      return false;
+   }
+
    @Override
    public void stop() throws PersistenceException {
       if (config.dropOnExit()) {
@@ -319,6 +371,7 @@ public void executeUpdateSql(Connection conn, String sql) throws PersistenceExce
    public void dropDataTable(Connection conn) throws PersistenceException {
       dropIndex(conn, timestampIndexExt);
       dropIndex(conn, segmentIndexExt);
+      dropIndex(conn, segmentIdIndexExt);
       dropTable(conn, dataTableName);
    }
 
@@ -404,6 +457,23 @@ public String getInsertRowSql() {
       return insertRowSql;
    }
 
+   /**
+    * Returns an insert statement with the given number of rows, with the parameters of every row in the order of
+    * {@link #getInsertRowSql()}.
+    */
+   protected String initInsertRowsSql(int rows) {
+      String values = dbMetadata.isSegmentedDisabled() ? "(?,?,?)" : "(?,?,?,?)";
+      String allValues = String.join(",", Collections.nCopies(rows, values));
+      if (dbMetadata.isSegmentedDisabled()) {
+         return String.format("INSERT INTO %s (%s,%s,%s) VALUES %s", dataTableName,
+               config.dataColumnName(), config.timestampColumnName(), config.idColumnName(), allValues);
+      } else {
+         return String.format("INSERT INTO %s (%s,%s,%s,%s) VALUES %s", dataTableName,
+               config.dataColumnName(), config.timestampColumnName(), config.idColumnName(), config.segmentColumnName(),
+               allValues);
+      }
+   }
+
    protected String initUpdateRowSql() {
       return String.format("UPDATE %s SET %s = ? , %s = ? WHERE %s = ?", dataTableName,
             config.dataColumnName(), config.timestampColumnName(), config.idColumnName());
@@ -428,6 +498,26 @@ protected String initSelectIdRowSql() {
       return String.format("SELECT %s FROM %s WHERE %s = ?", config.idColumnName(), dataTableName, config.idColumnName());
    }
 
+   /**
+    * Returns the sql expression comparing a key parameter to the id column, which some databases require to convert.
+    */
+   protected String keyParameterSql() {
+      return "?";
+   }
+
+   protected String initSelectRowsSql(int keyCount) {
+      StringBuilder select = new StringBuilder(String.format("SELECT %s, %s FROM %s WHERE %s IN (",
+            config.dataColumnName(), config.idColumnName(), dataTableName, config.idColumnName()));
+      String parameter = keyParameterSql();
+      for (int i = 0; i < keyCount; ++i) {
+         if (i > 0) {
+            select.append(", ");
+         }
+         select.append(parameter);
+      }
+      return select.append(')').toString();
+   }
+
    protected String initCountNonExpiredRowsSql() {
       return "SELECT COUNT(*) FROM " + dataTableName +
             " WHERE " + config.timestampColumnName() + " < 0 OR " + config.timestampColumnName() + " > ?";
@@ -515,6 +605,16 @@ public String getSelectOnlyExpiredRowsSql() {
       return selectExpiredRowsSql;
    }
 
+   /**
+    * Returns a statement that upserts the given number of rows at once, with the parameters of every row in the order
+    * of {@link #getUpsertRowSql()}.
+    *
+    * @return the statement or {@code null} if the database does not support upserting multiple rows in a statement
+    */
+   protected String initUpsertRowsSql(int rows) {
+      return null;
+   }
+
    protected String initUpsertRowSql() {
       if (dbMetadata.isSegmentedDisabled()) {
          return String.format("MERGE INTO %1$s " +
@@ -561,6 +661,125 @@ protected void preparePublishStatement(PreparedStatement ps, IntSet segments) th
       }
    }
 
+   @Override
+   public Flowable<MarshallableEntry<K, V>> publishEntries(Supplier<Connection> connectionSupplier,
+         Consumer<Connection> connectionCloser, IntSet segments, Predicate<? super K> filter, boolean fetchValue) {
+      int pageSize = jdbcConfig.scanPageSize();
+      if (!pagedScan) {
+         return super.publishEntries(connectionSupplier, connectionCloser, segments, filter, fetchValue);
+      }
+      // A segment of -1 scans the whole table
+      Flowable<Integer> scannedSegments = !dbMetadata.isSegmentedDisabled() && segments != null ?
+            Flowable.fromIterable(segments) : Flowable.just(-1);
+      return scannedSegments
+            .concatMap(segment -> Flowable.defer(() -> {
+               KeysetScan scan = new KeysetScan(segment, pageSize, connectionSupplier, connectionCloser, filter, fetchValue);
+               // The scan keeps its position, so a retry resumes after the last page that was read
+               return Flowable.generate(scan::nextPage)
+                     .retry(MAX_SCAN_RETRIES, AbstractTableManager::isTransientFailure);
+            }), 1)
+            .concatMapIterable(Function.identity(), 1);
+   }
+
+   protected String initScanSql(boolean bySegment, boolean afterId) {
+      StringBuilder select = new StringBuilder(String.format("SELECT %1$s, %2$s FROM %3$s WHERE (%4$s > ? OR %4$s < 0)",
+            config.dataColumnName(), config.idColumnName(), dataTableName, config.timestampColumnName()));
+      if (bySegment) {
+         select.append(" AND ").append(config.segmentColumnName()).append(" = ?");
+      }
+      if (afterId) {
+         select.append(" AND ").append(config.idColumnName()).append(" > ").append(keyParameterSql());
+      }
+      select.append(" ORDER BY ").append(config.idColumnName());
+      return select.toString();
+   }
+
+   /**
+    * Reads the rows of a segment, or of the whole table, in pages of rows ordered by id. Every page starts after the
+    * last id of the previous page, so that the query uses the index on the segment and id columns and the scan can be
+    * resumed from its last position.
+    */
+   private class KeysetScan {
+      private final int segment;
+      private final int pageSize;
+      private final Supplier<Connection> connectionSupplier;
+      private final Consumer<Connection> connectionCloser;
+      private final Predicate<? super K> filter;
+      private final boolean fetchValue;
+      private final String firstPageSql;
+      private final String nextPageSql;
+      private String lastId;
+      private boolean done;
+
+      KeysetScan(int segment, int pageSize, Supplier<Connection> connectionSupplier,
+                 Consumer<Connection> connectionCloser, Predicate<? super K> filter, boolean fetchValue) {
+         this.segment = segment;
+         this.pageSize = pageSize;
+         this.connectionSupplier = connectionSupplier;
+         this.connectionCloser = connectionCloser;
+         this.filter = filter;
+         this.fetchValue = fetchValue;
+         this.firstPageSql = initScanSql(segment >= 0, false);
+         this.nextPageSql = initScanSql(segment >= 0, true);
+      }
+
+      void nextPage(Emitter<List<MarshallableEntry<K, V>>> emitter) throws SQLException {
+         if (done) {
+            emitter.onComplete();
+            return;
+         }
+         String sql = lastId == null ? firstPageSql : nextPageSql;
+         if (log.isTraceEnabled()) {
+            log.tracef("Running scan sql '%s' for segment %d after id '%s'", sql, segment, lastId);
+         }
+         List<MarshallableEntry<K, V>> page = new ArrayList<>();
+         String pageLastId = lastId;
+         int rows = 0;
+         Connection connection = connectionSupplier.get();
+         try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setQueryTimeout(configuration.readQueryTimeout());
+            ps.setMaxRows(pageSize);
+            int offset = 1;
+            ps.setLong(offset, ctx.getTimeService().wallClockTime());
+            if (segment >= 0) {
+               ps.setInt(++offset, segment);
+            }
+            if (lastId != null) {
+               ps.setString(++offset, lastId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+               while (rs.next()) {
+                  rows++;
+                  pageLastId = rs.getString(2);
+                  MarshallableEntry<K, V> entry = entryFromResultSet(rs, null, fetchValue, filter);
+                  if (entry != null) {
+                     page.add(entry);
+                  }
+               }
+            }
+         } finally {
+            connectionCloser.accept(connection);
+         }
+         lastId = pageLastId;
+         done = rows < pageSize;
+         if (done && page.isEmpty()) {
+            emitter.onComplete();
+         } else {
+            // A page is emitted even if all its rows were filtered, as generate requires a signal for every request
+            emitter.onNext(page);
+         }
+      }
+   }
+
+   private static boolean isTransientFailure(Throwable t) {
+      for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+         if (cause instanceof SQLTransientException || cause instanceof SQLRecoverableException) {
+            return true;
+         }
+      }
+      return false;
+   }
+
    @ProtoTypeId(ProtoStreamTypeIds.JDBC_PERSISTED_METADATA)
    public static class MetadataImpl implements Metadata {
       final short version;
@@ -610,6 +829,53 @@ public String getSelectAllSql(IntSet segments) {
       }
    }
 
+   @Override
+   public List<MarshallableEntry<K, V>> loadEntries(Connection connection, Collection<Object> keys) throws SQLException {
+      Map<String, Object> keysByString = new HashMap<>(keys.size());
+      for (Object key : keys) {
+         keysByString.put(key2Str(key), key);
+      }
+      List<String> keyStrings = new ArrayList<>(keysByString.keySet());
+      List<MarshallableEntry<K, V>> entries = new ArrayList<>(keyStrings.size());
+      // Some databases limit the number of expressions in a list
+      int maxKeysPerSelect = Math.min(Math.max(configuration.maxBatchSize(), 1), MAX_KEYS_PER_SELECT);
+      String fullSelectSql = null;
+      for (int start = 0; start < keyStrings.size(); start += maxKeysPerSelect) {
+         List<String> selectKeys = keyStrings.subList(start, Math.min(start + maxKeysPerSelect, keyStrings.size()));
+         String selectSql;
+         if (selectKeys.size() == maxKeysPerSelect) {
+            if (fullSelectSql == null) {
+               fullSelectSql = initSelectRowsSql(maxKeysPerSelect);
+            }
+            selectSql = fullSelectSql;
+         } else {
+            selectSql = initSelectRowsSql(selectKeys.size());
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Running select rows sql '%s'", selectSql);
+         }
+         try (PreparedStatement ps = connection.prepareStatement(selectSql)) {
+            ps.setQueryTimeout(configuration.readQueryTimeout());
+            for (int i = 0; i < selectKeys.size(); ++i) {
+               ps.setString(i + 1, selectKeys.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+               while (rs.next()) {
+                  Object key = keysByString.get(rs.getString(2));
+                  if (key == null) {
+                     continue;
+                  }
+                  MarshallableEntry<K, V> entry = entryFromResultSet(rs, key, true, null);
+                  if (entry != null) {
+                     entries.add(entry);
+                  }
+               }
+            }
+         }
+      }
+      return entries;
+   }
+
    @Override
    protected void prepareKeyStatement(PreparedStatement ps, Object key) throws SQLException {
       String lockingKey = key2Str(key);
@@ -651,6 +917,11 @@ public String getUpsertRowSql() {
       return upsertRowSql;
    }
 
+   @Override
+   public String getUpsertRowsSql() {
+      return dbMetadata.isUpsertDisabled() ? null : upsertRowsSql;
+   }
+
    @Override
    public String getSizeSql() {
       return countRowsSql;
@@ -700,14 +971,31 @@ protected final void prepareValueStatement(PreparedStatement ps, int segment, Ma
       prepareValueStatement(ps, segment, key2Str(entry.getKey()), marshall(entry.getMarshalledValue(), marshaller), entry.expiryTime());
    }
 
+   @Override
+   protected final int prepareValueStatement(PreparedStatement ps, int parameterOffset, int segment, MarshallableEntry<? extends K, ? extends V> entry) throws SQLException {
+      return prepareValueStatement(ps, parameterOffset, segment, key2Str(entry.getKey()),
+            marshall(entry.getMarshalledValue(), marshaller), entry.expiryTime());
+   }
+
    protected void prepareValueStatement(PreparedStatement ps, int segment, String keyStr, ByteBuffer valueBytes, long expiryTime) throws SQLException {
-      ps.setBinaryStream(1, new ByteArrayInputStream(valueBytes.getBuf(), valueBytes.getOffset(),
+      prepareValueStatement(ps, 0, segment, keyStr, valueBytes, expiryTime);
+   }
+
+   /**
+    * Sets the parameters of a row of a multi-row insert, where the parameters of the row start after the given offset.
+    *
+    * @return the offset of the parameters of the next row
+    */
+   protected int prepareValueStatement(PreparedStatement ps, int parameterOffset, int segment, String keyStr, ByteBuffer valueBytes, long expiryTime) throws SQLException {
+      ps.setBinaryStream(parameterOffset + 1, new ByteArrayInputStream(valueBytes.getBuf(), valueBytes.getOffset(),
             valueBytes.getLength()), valueBytes.getLength());
-      ps.setLong(2, expiryTime);
-      ps.setString(3, keyStr);
-      if (!dbMetadata.isSegmentedDisabled()) {
-         ps.setInt(4, segment);
+      ps.setLong(parameterOffset + 2, expiryTime);
+      ps.setString(parameterOffset + 3, keyStr);
+      if (dbMetadata.isSegmentedDisabled()) {
+         return parameterOffset + 3;
       }
+      ps.setInt(parameterOffset + 4, segment);
+      return parameterOffset + 4;
    }
 
    @Override
@@ -1,6 +1,7 @@
 package org.infinispan.persistence.jdbc.impl.table;
 
 import java.sql.Connection;
+import java.util.Collections;
 
 import org.infinispan.persistence.jdbc.common.connectionfactory.ConnectionFactory;
 import org.infinispan.persistence.jdbc.common.logging.Log;
@@ -30,6 +31,20 @@ protected String initUpsertRowSql() {
       }
    }
 
+   @Override
+   protected String initUpsertRowsSql(int rows) {
+      String values = dbMetadata.isSegmentedDisabled() ? "(?, ?, ?)" : "(?, ?, ?, ?)";
+      String allValues = String.join(", ", Collections.nCopies(rows, values));
+      if (dbMetadata.isSegmentedDisabled()) {
+         return String.format("MERGE INTO %1$s (%2$s, %3$s, %4$s) KEY(%4$s) VALUES %5$s", dataTableName,
+               config.dataColumnName(), config.timestampColumnName(), config.idColumnName(), allValues);
+      } else {
+         return String.format("MERGE INTO %1$s (%2$s, %3$s, %4$s, %5$s) KEY(%4$s) VALUES %6$s", dataTableName,
+               config.dataColumnName(), config.timestampColumnName(), config.idColumnName(), config.segmentColumnName(),
+               allValues);
+      }
+   }
+
    @Override
    protected void dropIndex(Connection conn, String indexName) throws PersistenceException {
       String dropIndexDdl = String.format("DROP INDEX IF EXISTS  %s", getIndexName(dbMetadata.getMaxTableNameLength(), true, indexName));
@@ -39,6 +39,11 @@ public String initSelectRowSql() {
             config.idColumnName(), config.idColumnType());
    }
 
+   @Override
+   protected String keyParameterSql() {
+      return String.format("cast(? as %s)", config.idColumnType());
+   }
+
    @Override
    public String initSelectIdRowSql() {
       return String.format("SELECT %s FROM %s WHERE %s = cast(? as %s)",
@@ -61,8 +66,17 @@ public boolean isUpsertSupported() {
 
    @Override
    public String initUpsertRowSql() {
+      return initUpsertSql(getInsertRowSql());
+   }
+
+   @Override
+   protected String initUpsertRowsSql(int rows) {
+      return initUpsertSql(initInsertRowsSql(rows));
+   }
+
+   private String initUpsertSql(String insertSql) {
       return String.format("%1$s ON CONFLICT (%2$s) DO UPDATE SET %3$s = EXCLUDED.%3$s, %4$s = EXCLUDED.%4$s",
-               getInsertRowSql(), config.idColumnName(), config.dataColumnName(),
+               insertSql, config.idColumnName(), config.dataColumnName(),
                config.timestampColumnName());
    }
 }
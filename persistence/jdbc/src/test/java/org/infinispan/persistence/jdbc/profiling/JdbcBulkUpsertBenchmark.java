@@ -0,0 +1,96 @@
+package org.infinispan.persistence.jdbc.profiling;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.persistence.jdbc.UnitTestDatabaseManager;
+import org.infinispan.persistence.jdbc.common.DatabaseType;
+import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfigurationBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This benchmark measures the throughput of the batch writes of the string based JDBC store on an embedded H2 database,
+ * upserting every row with its own statement or upserting up to 16 and 128 rows with a single statement.
+ *
+ * @since 16.3
+ */
+public class JdbcBulkUpsertBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(JdbcBulkUpsertBenchmark.class.getName() + ".State.*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .forks(1)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"1", "16", "128"})
+      int bulkUpsertRows;
+
+      @Param({"1000"})
+      int batchSize;
+
+      @Param({"100000"})
+      int keys;
+
+      private DefaultCacheManager cacheManager;
+      private Cache<String, byte[]> cache;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+         global.jmx().enabled(false);
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         JdbcStringBasedStoreConfigurationBuilder store = builder.persistence()
+               .addStore(JdbcStringBasedStoreConfigurationBuilder.class)
+               .dialect(DatabaseType.H2)
+               .bulkUpsertRows(bulkUpsertRows);
+         UnitTestDatabaseManager.configureUniqueConnectionFactory(store);
+         UnitTestDatabaseManager.buildTableManipulation(store.table());
+         cacheManager = new DefaultCacheManager(global.build());
+         cacheManager.defineConfiguration("jdbc", builder.build());
+         cache = cacheManager.getCache("jdbc");
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         cacheManager.stop();
+      }
+
+      @Benchmark
+      public void putAll() {
+         ThreadLocalRandom random = ThreadLocalRandom.current();
+         Map<String, byte[]> entries = new HashMap<>(batchSize * 4 / 3 + 1);
+         for (int i = 0; i < batchSize; i++) {
+            entries.put(Integer.toString(random.nextInt(keys)), new byte[256]);
+         }
+         cache.putAll(entries);
+      }
+   }
+}
@@ -1,10 +1,32 @@
 package org.infinispan.persistence.jdbc.stringbased;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.marshall.persistence.impl.MarshalledEntryUtil;
 import org.infinispan.persistence.BaseNonBlockingStoreTest;
 import org.infinispan.persistence.jdbc.UnitTestDatabaseManager;
+import org.infinispan.persistence.jdbc.common.connectionfactory.ConnectionFactory;
 import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfigurationBuilder;
+import org.infinispan.persistence.jdbc.impl.table.AbstractTableManager;
+import org.infinispan.persistence.jdbc.impl.table.TableName;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.testng.SkipException;
 import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 
@@ -17,23 +39,39 @@
 public class JdbcStringBasedStoreTest extends BaseNonBlockingStoreTest {
 
    boolean segmented;
+   int bulkUpsertRows = 1;
+   int scanPageSize;
 
    public JdbcStringBasedStoreTest segmented(boolean segmented) {
       this.segmented = segmented;
       return this;
    }
 
+   public JdbcStringBasedStoreTest bulkUpsertRows(int bulkUpsertRows) {
+      this.bulkUpsertRows = bulkUpsertRows;
+      return this;
+   }
+
+   public JdbcStringBasedStoreTest scanPageSize(int scanPageSize) {
+      this.scanPageSize = scanPageSize;
+      return this;
+   }
+
    @Factory
    public Object[] factory() {
       return new Object[] {
             new JdbcStringBasedStoreTest().segmented(false),
             new JdbcStringBasedStoreTest().segmented(true),
+            new JdbcStringBasedStoreTest().segmented(false).bulkUpsertRows(4),
+            new JdbcStringBasedStoreTest().segmented(true).bulkUpsertRows(4),
+            new JdbcStringBasedStoreTest().segmented(false).scanPageSize(3),
+            new JdbcStringBasedStoreTest().segmented(true).scanPageSize(3),
       };
    }
 
    @Override
    protected String parameters() {
-      return "[" + segmented + "]";
+      return "[" + segmented + ", " + bulkUpsertRows + ", " + scanPageSize + "]";
    }
 
    @Override
@@ -47,8 +85,90 @@ protected Configuration buildConfig(ConfigurationBuilder configurationBuilder) {
             .persistence()
             .addStore(JdbcStringBasedStoreConfigurationBuilder.class);
       storeBuilder.segmented(segmented);
+      storeBuilder.bulkUpsertRows(bulkUpsertRows);
+      storeBuilder.scanPageSize(scanPageSize);
       UnitTestDatabaseManager.configureUniqueConnectionFactory(storeBuilder);
       UnitTestDatabaseManager.buildTableManipulation(storeBuilder.table());
       return configurationBuilder.build();
    }
+
+   public void testPagedScanResumesAfterTransientFailure() {
+      if (scanPageSize <= 0) {
+         throw new SkipException("The table is only scanned in pages with a scan page size");
+      }
+      int numberOfEntries = 10;
+      Set<Object> expectedKeys = new HashSet<>();
+      for (int i = 0; i < numberOfEntries; i++) {
+         Object key = keyToStorage("k" + i);
+         store.write(MarshalledEntryUtil.create(key, wrap(key, valueToStorage("v" + i)), getMarshaller()));
+         expectedKeys.add(key);
+      }
+
+      JdbcStringBasedStore<Object, Object> jdbcStore = (JdbcStringBasedStore<Object, Object>) store.delegate();
+      ConnectionFactory connectionFactory = jdbcStore.getConnectionFactory();
+      AtomicInteger connections = new AtomicInteger();
+      Supplier<Connection> failingSecondPage = () -> {
+         if (connections.incrementAndGet() == 2) {
+            throw new PersistenceException(new SQLTransientConnectionException("Injected failure"));
+         }
+         return connectionFactory.getConnection();
+      };
+      // Without segments the whole table is scanned at once
+      List<Object> keys = jdbcStore.getTableManager()
+            .publishEntries(failingSecondPage, connectionFactory::releaseConnection, null, null, false)
+            .map(MarshallableEntry::getKey)
+            .toList()
+            .blockingGet();
+
+      // A retry starting over would publish the keys of the first page twice
+      assertEquals(numberOfEntries, keys.size());
+      assertEquals(expectedKeys, new HashSet<>(keys));
+      // 4 pages of 3 rows, and the failed attempt to read the second page
+      assertEquals(5, connections.get());
+   }
+
+   public void testScanIndexCreatedForExistingTable() throws SQLException {
+      if (!segmented || scanPageSize <= 0) {
+         throw new SkipException("Only the segments are scanned in pages ordered by id");
+      }
+      Object key = keyToStorage("k");
+      store.write(MarshalledEntryUtil.create(key, wrap(key, valueToStorage("v")), getMarshaller()));
+
+      // A table created before the index existed
+      JdbcStringBasedStore<Object, Object> jdbcStore = (JdbcStringBasedStore<Object, Object>) store.delegate();
+      AbstractTableManager<Object, Object> tableManager = (AbstractTableManager<Object, Object>) jdbcStore.getTableManager();
+      String indexName = tableManager.getIndexName(0, false, "segment_id_index");
+      ConnectionFactory connectionFactory = jdbcStore.getConnectionFactory();
+      Connection connection = connectionFactory.getConnection();
+      try {
+         tableManager.executeUpdateSql(connection, "DROP INDEX " + tableManager.getIndexName(0, true, "segment_id_index"));
+         assertFalse(indexExists(connection, tableManager.getDataTableName(), indexName));
+      } finally {
+         connectionFactory.releaseConnection(connection);
+      }
+
+      store.stopAndWait();
+      startStore(store);
+
+      jdbcStore = (JdbcStringBasedStore<Object, Object>) store.delegate();
+      connectionFactory = jdbcStore.getConnectionFactory();
+      connection = connectionFactory.getConnection();
+      try {
+         assertTrue(indexExists(connection, tableManager.getDataTableName(), indexName));
+      } finally {
+         connectionFactory.releaseConnection(connection);
+      }
+      assertEquals(List.of(key), store.publishKeysWait(IntSets.immutableRangeSet(segmentCount), null));
+   }
+
+   private static boolean indexExists(Connection connection, TableName tableName, String indexName) throws SQLException {
+      try (ResultSet rs = connection.getMetaData().getIndexInfo(null, tableName.getSchema(), tableName.getName(), false, false)) {
+         while (rs.next()) {
+            if (indexName.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+               return true;
+            }
+         }
+      }
+      return false;
+   }
 }
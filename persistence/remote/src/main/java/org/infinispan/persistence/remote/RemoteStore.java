@@ -1,6 +1,7 @@
 package org.infinispan.persistence.remote;
 
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -278,6 +279,30 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       }
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(int publisherCount, Publisher<SegmentedPublisher<Object>> keyPublisher) {
+      if (migration) {
+         // The entries require their metadata, which getAll does not return
+         return NonBlockingStore.super.loadAll(publisherCount, keyPublisher);
+      }
+      // Every getAll is limited to the max batch size and the requests are pipelined up to the in flight limit
+      return Flowable.fromPublisher(keyPublisher)
+            .flatMap(Flowable::fromPublisher, publisherCount)
+            .map(key -> (Object) unwrap(key))
+            .buffer(configuration.maxBatchSize())
+            .flatMap(keys -> Flowable.fromCompletionStage(remoteCache.getAllAsync(new HashSet<>(keys)))
+                  .flatMapIterable(Map::entrySet), configuration.inFlightRequests())
+            .observeOn(Schedulers.from(nonBlockingExecutor))
+            .map(e -> {
+               Object key = wrap(e.getKey());
+               Object value = e.getValue();
+               if (value instanceof MarshalledValue) {
+                  return entryFactory.create(key, (MarshalledValue) value);
+               }
+               return entryFactory.create(key, value);
+            });
+   }
+
    @Override
    public CompletionStage<Boolean> containsKey(int segment, Object key) {
       key = unwrap(key);
@@ -406,30 +431,48 @@ private Object getValue(MarshallableEntry entry) {
    @Override
    public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublisher<Object>> removePublisher,
                                       Publisher<SegmentedPublisher<MarshallableEntry<K, V>>> writePublisher) {
+      int inFlightRequests = configuration.inFlightRequests();
       Completable removeCompletable = Flowable.fromPublisher(removePublisher)
             .flatMap(Flowable::fromPublisher, publisherCount)
             .map(RemoteStore::unwrap)
-            .flatMapCompletable(key -> Completable.fromCompletionStage(remoteCache.removeAsync(key)), false, 10);
+            .flatMapCompletable(key -> Completable.fromCompletionStage(remoteCache.removeAsync(key)), false, inFlightRequests);
 
-      Completable putCompletable = Flowable.fromPublisher(writePublisher)
-            .flatMap(Flowable::fromPublisher, publisherCount)
-            .groupBy(MarshallableEntry::getMetadata)
-            .flatMapCompletable(meFlowable -> meFlowable.buffer(configuration.maxBatchSize())
-                  .flatMapCompletable(meList -> {
-                     Map<Object, Object> map = meList.stream().collect(Collectors.toMap(RemoteStore::getKey, this::getValue));
-
-                     Metadata metadata = meFlowable.getKey();
-                     long lifespan = metadata != null ? toSeconds(metadata.lifespan(), "batch", LIFESPAN) : -1;
-                     long maxIdle = metadata != null ? toSeconds(metadata.maxIdle(), "batch", MAXIDLE) : -1;
-
-                     return Completable.fromCompletionStage(remoteCache.putAllAsync(map, lifespan, TimeUnit.SECONDS,
-                           maxIdle, TimeUnit.SECONDS));
-                  }));
+      Flowable<Flowable<MarshallableEntry<K, V>>> entryGroups;
+      if (configuration.segmented()) {
+         // The segments match the remote ones, so every putAll of a segment only targets its owner
+         entryGroups = Flowable.fromPublisher(writePublisher).map(Flowable::fromPublisher);
+      } else {
+         entryGroups = Flowable.just(Flowable.fromPublisher(writePublisher).flatMap(Flowable::fromPublisher, publisherCount));
+      }
+      Completable putCompletable = entryGroups
+            .flatMap(entries -> entries
+                  // Only the lifespan and max idle are sent with the entries, so they can share a putAll
+                  .groupBy(me -> Expiration.of(me.getMetadata()))
+                  .flatMap(meFlowable -> meFlowable.buffer(configuration.maxBatchSize())
+                        .map(meList -> new PutAllRequest<>(meFlowable.getKey(), meList)), Integer.MAX_VALUE), publisherCount)
+            .flatMapCompletable(request -> {
+               Map<Object, Object> map = request.entries().stream().collect(Collectors.toMap(RemoteStore::getKey, this::getValue));
+               Expiration expiration = request.expiration();
+               return Completable.fromCompletionStage(remoteCache.putAllAsync(map, expiration.lifespan(), TimeUnit.SECONDS,
+                     expiration.maxIdle(), TimeUnit.SECONDS));
+            }, false, inFlightRequests);
       return removeCompletable.mergeWith(putCompletable)
             .observeOn(Schedulers.from(nonBlockingExecutor))
             .toCompletionStage(null);
    }
 
+   private record Expiration(long lifespan, long maxIdle) {
+      static Expiration of(Metadata metadata) {
+         if (metadata == null) {
+            return new Expiration(-1, -1);
+         }
+         return new Expiration(toSeconds(metadata.lifespan(), "batch", LIFESPAN), toSeconds(metadata.maxIdle(), "batch", MAXIDLE));
+      }
+   }
+
+   private record PutAllRequest<E>(Expiration expiration, List<E> entries) {
+   }
+
    @Override
    public CompletionStage<Void> clear() {
       if (remoteCache != null) {
@@ -81,6 +81,11 @@ public SecurityConfigurationBuilder remoteSecurity() {
       return builder.remoteSecurity();
    }
 
+   @Override
+   public RemoteStoreConfigurationBuilder inFlightRequests(int inFlightRequests) {
+      return builder.inFlightRequests(inFlightRequests);
+   }
+
    @Override
    public RemoteStoreConfigurationBuilder socketTimeout(long socketTimeout) {
       return builder.socketTimeout(socketTimeout);
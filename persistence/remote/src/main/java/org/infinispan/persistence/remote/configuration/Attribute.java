@@ -24,6 +24,7 @@ public enum Attribute {
    @Deprecated(forRemoval = true, since = "12.1")
    HOTROD_WRAPPING("hotrod-wrapping"),
    FILENAME("filename"),
+   IN_FLIGHT_REQUESTS("in-flight-requests"),
    CERTIFICATE_PASSWORD("certificate-password"),
    KEY_ALIAS("key-alias"),
    TYPE("type"),
@@ -22,6 +22,7 @@ public class RemoteStoreConfiguration extends AbstractStoreConfiguration<RemoteS
    static final AttributeDefinition<String> BALANCING_STRATEGY = AttributeDefinition.builder(org.infinispan.persistence.remote.configuration.Attribute.BALANCING_STRATEGY, RoundRobinBalancingStrategy.class.getName()).immutable().build();
    static final AttributeDefinition<Long> CONNECTION_TIMEOUT = AttributeDefinition.builder(org.infinispan.persistence.remote.configuration.Attribute.CONNECT_TIMEOUT, (long) ConfigurationProperties.DEFAULT_CONNECT_TIMEOUT).build();
    static final AttributeDefinition<Boolean> FORCE_RETURN_VALUES = AttributeDefinition.builder(org.infinispan.persistence.remote.configuration.Attribute.FORCE_RETURN_VALUES, false).immutable().build();
+   static final AttributeDefinition<Integer> IN_FLIGHT_REQUESTS = AttributeDefinition.builder(org.infinispan.persistence.remote.configuration.Attribute.IN_FLIGHT_REQUESTS, 16).immutable().build();
    static final AttributeDefinition<String> MARSHALLER = AttributeDefinition.builder(org.infinispan.persistence.remote.configuration.Attribute.MARSHALLER, null, String.class).immutable().build();
    static final AttributeDefinition<ProtocolVersion> PROTOCOL_VERSION = AttributeDefinition.builder(org.infinispan.persistence.remote.configuration.Attribute.PROTOCOL_VERSION, ProtocolVersion.DEFAULT_PROTOCOL_VERSION)
          .immutable().build();
@@ -35,7 +36,7 @@ public class RemoteStoreConfiguration extends AbstractStoreConfiguration<RemoteS
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(RemoteStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), BALANCING_STRATEGY, CONNECTION_TIMEOUT, FORCE_RETURN_VALUES,
-            MARSHALLER, PROTOCOL_VERSION, REMOTE_CACHE_CONTAINER, REMOTE_CACHE_NAME, SOCKET_TIMEOUT, TCP_NO_DELAY, URI);
+            IN_FLIGHT_REQUESTS, MARSHALLER, PROTOCOL_VERSION, REMOTE_CACHE_CONTAINER, REMOTE_CACHE_NAME, SOCKET_TIMEOUT, TCP_NO_DELAY, URI);
    }
 
    private final ConnectionPoolConfiguration connectionPool;
@@ -77,6 +78,10 @@ public boolean forceReturnValues() {
       return attributes.attribute(FORCE_RETURN_VALUES).get();
    }
 
+   public int inFlightRequests() {
+      return attributes.attribute(IN_FLIGHT_REQUESTS).get();
+   }
+
    public String marshaller() {
       return attributes.attribute(MARSHALLER).get();
    }
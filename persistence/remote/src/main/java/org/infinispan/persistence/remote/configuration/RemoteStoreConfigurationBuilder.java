@@ -5,6 +5,7 @@
 import static org.infinispan.persistence.remote.configuration.RemoteStoreConfiguration.BALANCING_STRATEGY;
 import static org.infinispan.persistence.remote.configuration.RemoteStoreConfiguration.CONNECTION_TIMEOUT;
 import static org.infinispan.persistence.remote.configuration.RemoteStoreConfiguration.FORCE_RETURN_VALUES;
+import static org.infinispan.persistence.remote.configuration.RemoteStoreConfiguration.IN_FLIGHT_REQUESTS;
 import static org.infinispan.persistence.remote.configuration.RemoteStoreConfiguration.MARSHALLER;
 import static org.infinispan.persistence.remote.configuration.RemoteStoreConfiguration.PROTOCOL_VERSION;
 import static org.infinispan.persistence.remote.configuration.RemoteStoreConfiguration.REMOTE_CACHE_CONTAINER;
@@ -100,6 +101,12 @@ public RemoteStoreConfigurationBuilder protocolVersion(ProtocolVersion protocolV
       return this;
    }
 
+   @Override
+   public RemoteStoreConfigurationBuilder inFlightRequests(int inFlightRequests) {
+      attributes.attribute(IN_FLIGHT_REQUESTS).set(inFlightRequests);
+      return this;
+   }
+
    @Override
    public RemoteStoreConfigurationBuilder remoteCacheContainer(String name) {
       attributes.attribute(REMOTE_CACHE_CONTAINER).set(name);
@@ -200,5 +207,9 @@ public void validate() {
       if (attributes.attribute(SEGMENTED).get() && builder.clustering().hash().groups().isEnabled()) {
          throw CONFIG.segmentationNotSupportedWithGroups();
       }
+      int inFlightRequests = attributes.attribute(IN_FLIGHT_REQUESTS).get();
+      if (inFlightRequests < 1) {
+         throw CONFIG.invalidInFlightRequests(inFlightRequests);
+      }
    }
 }
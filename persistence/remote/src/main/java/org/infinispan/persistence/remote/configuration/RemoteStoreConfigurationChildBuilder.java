@@ -57,6 +57,13 @@
     */
    RemoteStoreConfigurationBuilder protocolVersion(ProtocolVersion protocolVersion);
 
+   /**
+    * The maximum number of requests that a batch or a bulk load keeps in flight to the remote cluster. Writes and
+    * loads are split in requests of at most the max batch size of the store, which are pipelined up to this number.
+    * Defaults to 16
+    */
+   RemoteStoreConfigurationBuilder inFlightRequests(int inFlightRequests);
+
    /**
     * Specifies the name of a shared remote cache container to use, instead of creating a dedicated instance.
     */
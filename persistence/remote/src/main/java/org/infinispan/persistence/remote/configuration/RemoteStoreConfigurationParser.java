@@ -431,6 +431,10 @@ private void parseRemoteStoreAttributes(ConfigurationReader reader, RemoteStoreC
                builder.forceReturnValues(Boolean.parseBoolean(value));
                break;
             }
+            case IN_FLIGHT_REQUESTS: {
+               builder.inFlightRequests(Integer.parseInt(value));
+               break;
+            }
             case KEY_SIZE_ESTIMATE, VALUE_SIZE_ESTIMATE, HOTROD_WRAPPING, RAW_VALUES: {
                if (reader.getSchema().since(16,0)) {
                   throw ParseUtils.unexpectedAttribute(reader, i);
@@ -62,4 +62,7 @@ static Log getLog(Class<?> clazz) {
 
    @Message(value = "Could not migrate data for cache %s, check remote store config in the target cluster. Make sure only one remote store is present and is pointing to the source cluster", id = 10016)
    CacheException couldNotMigrateData(String name);
+
+   @Message(value = "The number of in flight requests of the RemoteCacheStore must be at least 1, it was %d", id = 10017)
+   CacheConfigurationException invalidInFlightRequests(int inFlightRequests);
 }
@@ -58,6 +58,7 @@ public class RemoteStoreTest extends BaseNonBlockingStoreTest {
    private boolean segmented;
    private MediaType cacheMediaType;
    private boolean isRawValues;
+   private boolean pipelined;
 
    private final ProtoStreamMarshaller marshaller = new ProtoStreamMarshaller(ProtobufUtil.newSerializationContext());
 
@@ -76,6 +77,11 @@ public RemoteStoreTest rawValues(boolean isRawValues) {
       return this;
    }
 
+   public RemoteStoreTest pipelined(boolean pipelined) {
+      this.pipelined = pipelined;
+      return this;
+   }
+
    @Factory
    public Object[] factory() {
       return new Object[] {
@@ -87,12 +93,14 @@ public Object[] factory() {
             new RemoteStoreTest().segmented(true).cacheMediaType(MediaType.APPLICATION_OBJECT).rawValues(false),
             new RemoteStoreTest().segmented(true).cacheMediaType(MediaType.APPLICATION_PROTOSTREAM).rawValues(true),
             new RemoteStoreTest().segmented(true).cacheMediaType(MediaType.APPLICATION_PROTOSTREAM).rawValues(false),
+            new RemoteStoreTest().segmented(false).cacheMediaType(MediaType.APPLICATION_PROTOSTREAM).rawValues(false).pipelined(true),
+            new RemoteStoreTest().segmented(true).cacheMediaType(MediaType.APPLICATION_PROTOSTREAM).rawValues(false).pipelined(true),
       };
    }
 
    @Override
    protected String parameters() {
-      return "[" + segmented + ", " + cacheMediaType + ", " + isRawValues + "]";
+      return "[" + segmented + ", " + cacheMediaType + ", " + isRawValues + ", " + pipelined + "]";
    }
 
    @Override
@@ -141,6 +149,11 @@ protected Configuration buildConfig(ConfigurationBuilder cb) {
 
       storeConfigurationBuilder.segmented(segmented);
       storeConfigurationBuilder.shared(true);
+      if (pipelined) {
+         // Split the batches and bulk loads in several requests that are pipelined
+         storeConfigurationBuilder.maxBatchSize(16);
+         storeConfigurationBuilder.inFlightRequests(2);
+      }
 
       return cb.build();
    }
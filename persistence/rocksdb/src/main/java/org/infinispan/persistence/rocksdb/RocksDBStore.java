@@ -10,13 +10,17 @@
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReferenceArray;
@@ -62,12 +66,15 @@
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
+import org.rocksdb.EnvOptions;
 import org.rocksdb.FlushOptions;
+import org.rocksdb.IngestExternalFileOptions;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.SstFileWriter;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
@@ -87,6 +94,8 @@
    static final String COLUMN_FAMILY_PROPERTY_NAME_WITH_SUFFIX = "data.";
    static final byte[] META_COLUMN_FAMILY = "meta-cf".getBytes();
    static final byte[] META_COLUMN_FAMILY_KEY = "metadata".getBytes();
+   // Number of deletes written together when removing the entries of some segments from a non segmented store
+   private static final int REMOVE_BATCH_SIZE = 1024;
 
    protected RocksDBStoreConfiguration configuration;
    private RocksDB db;
@@ -134,6 +143,8 @@ public CompletionStage<Void> start(InitializationContext ctx) {
       return blockingManager.runBlocking(() -> {
          try {
             initDefaultHandler();
+            // Remove the table files of the batches that were interrupted before their ingestion
+            Util.recursiveFileRemove(getIngestLocation());
             MetadataImpl existingMeta = handler.loadMetadata();
             if (existingMeta == null && !configuration.purgeOnStartup()) {
                createMetadataIfMissing(ctx.getCache().getName());
@@ -240,6 +251,10 @@ private Path getExpirationLocation() {
       return getQualifiedLocation("expired");
    }
 
+   private Path getIngestLocation() {
+      return getQualifiedLocation("ingest");
+   }
+
    private WriteOptions dataWriteOptions() {
       if (dataWriteOptions == null)
          dataWriteOptions = new WriteOptions().setDisableWAL(false);
@@ -292,7 +307,13 @@ public CompletionStage<Void> stop() {
 
    @Override
    public Set<Characteristic> characteristics() {
-      return EnumSet.of(Characteristic.BULK_READ, Characteristic.EXPIRATION, Characteristic.SEGMENTABLE);
+      Set<Characteristic> characteristics = EnumSet.of(Characteristic.BULK_READ, Characteristic.EXPIRATION,
+            Characteristic.SEGMENTABLE);
+      if (configuration != null && configuration.ingestThreshold() > 0) {
+         // Large batches are ingested as table files
+         characteristics.add(Characteristic.BULK_WRITE);
+      }
+      return characteristics;
    }
 
    @Override
@@ -349,11 +370,18 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       return handler.load(segment, key);
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(int publisherCount, Publisher<SegmentedPublisher<Object>> keyPublisher) {
+      return handler.loadAll(publisherCount, keyPublisher);
+   }
+
    @Override
    public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublisher<Object>> removePublisher,
                                       Publisher<SegmentedPublisher<MarshallableEntry<K, V>>> writePublisher) {
       WriteBatch batch = new WriteBatch();
       Set<MarshallableEntry<K, V>> expirableEntries = new HashSet<>();
+      Map<ColumnFamilyHandle, SortedMap<byte[], byte[]>> ingestions = new HashMap<>();
+      int ingestThreshold = configuration.ingestThreshold();
       Flowable.fromPublisher(removePublisher)
             .subscribe(sp -> {
                ColumnFamilyHandle handle = handler.getHandle(sp.getSegment());
@@ -363,21 +391,39 @@ public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublis
       Flowable.fromPublisher(writePublisher)
             .subscribe(sp -> {
                ColumnFamilyHandle handle = handler.getHandle(sp.getSegment());
+               List<byte[]> segmentWrites = new ArrayList<>();
                Flowable.fromPublisher(sp)
                      .subscribe(me -> {
-                        batch.put(handle, marshall(me.getKey()), marshall(me.getMarshalledValue()));
+                        segmentWrites.add(marshall(me.getKey()));
+                        segmentWrites.add(marshall(me.getMarshalledValue()));
                         if (me.expiryTime() > -1) {
                            expirableEntries.add(me);
                         }
                      });
+               if (ingestThreshold > 0 && segmentWrites.size() >= 2 * ingestThreshold) {
+                  // The table file must hold the keys in the order of the column family comparator
+                  SortedMap<byte[], byte[]> ingestion = ingestions.computeIfAbsent(handle, h -> new TreeMap<>(Arrays::compareUnsigned));
+                  for (int i = 0; i < segmentWrites.size(); i += 2) {
+                     ingestion.put(segmentWrites.get(i), segmentWrites.get(i + 1));
+                  }
+               } else {
+                  for (int i = 0; i < segmentWrites.size(); i += 2) {
+                     batch.put(handle, segmentWrites.get(i), segmentWrites.get(i + 1));
+                  }
+               }
             });
-      if (batch.count() <= 0) {
+      if (batch.count() <= 0 && ingestions.isEmpty()) {
          batch.close();
          return CompletableFutures.completedNull();
       }
       return blockingManager.runBlocking(() -> {
          try {
-            db.write(dataWriteOptions(), batch);
+            if (batch.count() > 0) {
+               db.write(dataWriteOptions(), batch);
+            }
+            for (Map.Entry<ColumnFamilyHandle, SortedMap<byte[], byte[]>> ingestion : ingestions.entrySet()) {
+               ingest(ingestion.getKey(), ingestion.getValue());
+            }
             for (MarshallableEntry<K, V> me : expirableEntries) {
                addNewExpiry(expiredDb, me);
             }
@@ -387,6 +433,46 @@ public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublis
       }, "rocksdb-batch").whenComplete((ignore, t) -> batch.close());
    }
 
+   /**
+    * Writes the entries to a table file and moves it into the column family. The ingested entries are visible
+    * atomically and take precedence over the existing ones, without going through the memtable and the write-ahead
+    * log.
+    */
+   private void ingest(ColumnFamilyHandle handle, SortedMap<byte[], byte[]> entries) throws RocksDBException {
+      Path file = null;
+      try {
+         Path ingestLocation = getIngestLocation();
+         Files.createDirectories(ingestLocation);
+         file = Files.createTempFile(ingestLocation, "batch-", ".sst");
+         try (EnvOptions envOptions = new EnvOptions();
+              Options options = new Options().setCompressionType(configuration.compressionType().getValue());
+              SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+            writer.open(file.toString());
+            for (Map.Entry<byte[], byte[]> entry : entries.entrySet()) {
+               writer.put(entry.getKey(), entry.getValue());
+            }
+            writer.finish();
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Ingesting %d entries into column family %s", entries.size(), handle);
+         }
+         try (IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions().setMoveFiles(true)) {
+            db.ingestExternalFile(handle, Collections.singletonList(file.toString()), ingestOptions);
+         }
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      } finally {
+         if (file != null) {
+            try {
+               // The file is gone if it was moved into the database
+               Files.deleteIfExists(file);
+            } catch (IOException e) {
+               log.debugf(e, "Unable to delete the table file %s", file);
+            }
+         }
+      }
+   }
+
    @Override
    public Publisher<MarshallableEntry<K, V>> purgeExpired() {
       Publisher<List<MarshallableEntry<K, V>>> purgedBatches = blockingManager.blockingPublisher(Flowable.defer(() -> {
@@ -785,6 +871,49 @@ CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
          }
       }
 
+      Publisher<MarshallableEntry<K, V>> loadAll(int publisherCount, Publisher<SegmentedPublisher<Object>> keyPublisher) {
+         return Flowable.fromPublisher(keyPublisher)
+               .flatMap(sp -> {
+                  ColumnFamilyHandle handle = getHandle(sp.getSegment());
+                  if (handle == null) {
+                     log.trace("Ignoring load as handle is not currently configured");
+                     return Flowable.empty();
+                  }
+                  return Flowable.fromPublisher(sp)
+                        .map(key -> new AbstractMap.SimpleImmutableEntry<>(handle, key));
+               }, publisherCount)
+               .toList()
+               .flatMapPublisher(handleKeys -> {
+                  if (handleKeys.isEmpty()) {
+                     return Flowable.empty();
+                  }
+                  // A single multiGet reads the keys of all the column families
+                  return Flowable.fromCompletionStage(blockingManager.supplyBlocking(() -> {
+                     List<ColumnFamilyHandle> handles = new ArrayList<>(handleKeys.size());
+                     List<byte[]> marshalledKeys = new ArrayList<>(handleKeys.size());
+                     for (Map.Entry<ColumnFamilyHandle, Object> handleKey : handleKeys) {
+                        handles.add(handleKey.getKey());
+                        marshalledKeys.add(marshall(handleKey.getValue()));
+                     }
+                     List<byte[]> values;
+                     try {
+                        values = db.multiGetAsList(handles, marshalledKeys);
+                     } catch (RocksDBException e) {
+                        throw new PersistenceException(e);
+                     }
+                     long now = timeService.wallClockTime();
+                     List<MarshallableEntry<K, V>> entries = new ArrayList<>(values.size());
+                     for (int i = 0; i < values.size(); ++i) {
+                        MarshallableEntry<K, V> me = unmarshallEntry(handleKeys.get(i).getValue(), values.get(i));
+                        if (me != null && !me.isExpired(now)) {
+                           entries.add(me);
+                        }
+                     }
+                     return entries;
+                  }, "rocksdb-load-all")).flatMapIterable(RxJavaInterop.identityFunction());
+               });
+      }
+
       CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extends V> me) {
          ColumnFamilyHandle handle = getHandle(segment);
          if (handle == null) {
@@ -916,17 +1045,25 @@ CompletionStage<Void> clear(IntSet segments) {
             if (segments == null) {
                clearColumnFamily(defaultColumnFamilyHandle);
             } else {
-               try (ReadOptions readOptions = new ReadOptions().setFillCache(false)) {
+               try (ReadOptions readOptions = new ReadOptions().setFillCache(false);
+                    WriteBatch batch = new WriteBatch()) {
                   try (RocksIterator it = db.newIterator(defaultColumnFamilyHandle, readOptions)) {
                      for (it.seekToFirst(); it.isValid(); it.next()) {
                         byte[] keyBytes = it.key();
                         Object key = unmarshall(keyBytes);
                         int segment = keyPartitioner.getSegment(key);
                         if (segments.contains(segment)) {
-                           db.delete(defaultColumnFamilyHandle, keyBytes);
+                           batch.delete(defaultColumnFamilyHandle, keyBytes);
+                           if (batch.count() >= REMOVE_BATCH_SIZE) {
+                              db.write(dataWriteOptions(), batch);
+                              batch.clear();
+                           }
                         }
                      }
                   }
+                  if (batch.count() > 0) {
+                     db.write(dataWriteOptions(), batch);
+                  }
                } catch (Exception e) {
                   throw new PersistenceException(e);
                }
@@ -19,6 +19,7 @@ public enum Attribute {
    EXPIRED_LOCATION("expiredLocation"),
    EXPIRY_QUEUE_SIZE("expiryQueueSize"),
    IMPLEMENTATION_TYPE("implementationType"),
+   INGEST_THRESHOLD("ingest-threshold"),
    LOCATION("location"),
    PATH("path"),
    RELATIVE_TO("relative-to"),
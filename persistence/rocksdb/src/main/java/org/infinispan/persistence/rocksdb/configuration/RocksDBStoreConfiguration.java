@@ -21,9 +21,10 @@ public class RocksDBStoreConfiguration extends AbstractStoreConfiguration<RocksD
 
    static final AttributeDefinition<String> LOCATION = AttributeDefinition.builder(org.infinispan.persistence.rocksdb.configuration.Attribute.PATH, null, String.class).immutable().build();
    public static final AttributeDefinition<CompressionType> COMPRESSION_TYPE = AttributeDefinition.builder(org.infinispan.persistence.rocksdb.configuration.Attribute.COMPRESSION_TYPE, CompressionType.NONE).immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Integer> INGEST_THRESHOLD = AttributeDefinition.builder(org.infinispan.persistence.rocksdb.configuration.Attribute.INGEST_THRESHOLD, 0).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(RocksDBStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, COMPRESSION_TYPE);
+      return new AttributeSet(RocksDBStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, COMPRESSION_TYPE, INGEST_THRESHOLD);
    }
 
    private final RocksDBExpirationConfiguration expiration;
@@ -48,4 +49,8 @@ public String expiredLocation() {
    public CompressionType compressionType() {
       return attributes.attribute(COMPRESSION_TYPE).get();
    }
+
+   public int ingestThreshold() {
+      return attributes.attribute(INGEST_THRESHOLD).get();
+   }
 }
@@ -2,6 +2,7 @@
 
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBExpirationConfiguration.EXPIRED_LOCATION;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.COMPRESSION_TYPE;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.INGEST_THRESHOLD;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.LOCATION;
 
 import org.infinispan.commons.configuration.Builder;
@@ -11,11 +12,13 @@
 import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.persistence.PersistenceUtil;
+import org.infinispan.persistence.rocksdb.logging.Log;
 
 /**
  * @author <a href="mailto:rtsang@redhat.com">Ray Tsang</a>
  */
 public class RocksDBStoreConfigurationBuilder extends AbstractStoreConfigurationBuilder<RocksDBStoreConfiguration, RocksDBStoreConfigurationBuilder> {
+   private static final Log log = Log.getLog(RocksDBStoreConfigurationBuilder.class);
 
    protected RocksDBExpirationConfigurationBuilder expiration = new RocksDBExpirationConfigurationBuilder();
 
@@ -42,10 +45,25 @@ public RocksDBStoreConfigurationBuilder compressionType(CompressionType compress
       return self();
    }
 
+   /**
+    * The number of entries of a single segment that a batch must write for the store to build them as a sorted
+    * table file and ingest it, instead of inserting them one by one through the write path. Ingesting bypasses the
+    * memtable and the write-ahead log, which makes bulk loads such as an inbound state transfer bound by the disk
+    * bandwidth. Defaults to 0, which disables the ingestion.
+    */
+   public RocksDBStoreConfigurationBuilder ingestThreshold(int ingestThreshold) {
+      attributes.attribute(INGEST_THRESHOLD).set(ingestThreshold);
+      return self();
+   }
+
    @Override
    public void validate() {
       // how do you validate required attributes?
       super.validate();
+      int ingestThreshold = attributes.attribute(INGEST_THRESHOLD).get();
+      if (ingestThreshold < 0) {
+         throw log.invalidIngestThreshold(ingestThreshold);
+      }
       expiration.validate();
    }
 
@@ -61,6 +61,10 @@ private void parseRocksDBCacheStore(ConfigurationReader reader, RocksDBStoreConf
                relativeTo = ParseUtils.requireAttributeProperty(reader, i);
                break;
             }
+            case INGEST_THRESHOLD: {
+               builder.ingestThreshold(Integer.parseInt(value));
+               break;
+            }
             case CLEAR_THRESHOLD: {
                if (!reader.getSchema().since(12, 0)) {
                   ignoreAttribute(reader, i);
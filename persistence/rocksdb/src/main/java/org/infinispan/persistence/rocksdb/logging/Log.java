@@ -29,4 +29,7 @@ static Log getLog(Class<?> clazz) {
 
    @Message(value = "RocksDB properties %s, contains an unknown property", id = 23001)
    CacheConfigurationException rocksDBUnknownPropertiesSupplied(String properties);
+
+   @Message(value = "The ingest threshold of the RocksDB store must not be negative, it was %d", id = 23002)
+   CacheConfigurationException invalidIngestThreshold(int ingestThreshold);
 }
@@ -0,0 +1,88 @@
+package org.infinispan.persistence.rocksdb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.support.WaitDelegatingNonBlockingStore;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.testing.Testing;
+import org.rocksdb.RocksDB;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the state received by a joiner is written to the RocksDB store as table files.
+ *
+ * @since 16.3
+ */
+@Test(groups = "functional", testName = "persistence.rocksdb.RocksDBStateTransferIngestTest")
+public class RocksDBStateTransferIngestTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 200;
+   private static final int NUM_SEGMENTS = 4;
+
+   private final String tmpDirectory = Testing.tmpDirectory(this.getClass());
+
+   @Override
+   protected void createCacheManagers() {
+      Util.recursiveFileRemove(tmpDirectory);
+      addClusterEnabledCacheManager(cacheConfiguration(0));
+   }
+
+   @AfterClass(alwaysRun = true)
+   protected void clearTempDir() {
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   private ConfigurationBuilder cacheConfiguration(int node) {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.clustering().hash().numOwners(2).numSegments(NUM_SEGMENTS);
+      builder.persistence().addStore(RocksDBStoreConfigurationBuilder.class)
+            .segmented(true)
+            .ingestThreshold(1)
+            .location(Paths.get(tmpDirectory, "node" + node, "data").toString())
+            .expiredLocation(Paths.get(tmpDirectory, "node" + node, "expired").toString());
+      return builder;
+   }
+
+   public void testStateIngestedByJoiner() throws Exception {
+      Cache<String, String> cache0 = cache(0);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache0.put("key" + i, "value" + i);
+      }
+      // The entries written one by one are still in the memtable
+      assertEquals(0, dataTableFiles(cache0));
+
+      addClusterEnabledCacheManager(cacheConfiguration(1));
+      waitForClusterToForm();
+
+      // With two owners the joiner receives every segment, and each state chunk is ingested as a table file
+      Cache<String, String> cache1 = cache(1);
+      assertTrue(dataTableFiles(cache1) >= NUM_SEGMENTS);
+      WaitDelegatingNonBlockingStore<String, String> store = TestingUtil.getFirstStoreWait(cache1);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         MarshallableEntry<String, String> entry = store.loadEntry("key" + i);
+         assertNotNull(entry, "key" + i);
+         assertEquals("value" + i, entry.getValue());
+      }
+      assertEquals("value0", cache1.get("key0"));
+   }
+
+   private long dataTableFiles(Cache<String, String> cache) {
+      RocksDBStore<String, String> store = TestingUtil.getFirstStore(cache);
+      RocksDB db = TestingUtil.extractField(store, "db");
+      return db.getLiveFilesMetaData().stream()
+            .filter(file -> !Arrays.equals(file.columnFamilyName(), RocksDBStore.META_COLUMN_FAMILY))
+            .count();
+   }
+}
@@ -42,6 +42,7 @@ public class RocksDBStoreTest extends BaseNonBlockingStoreTest {
 
    private final String tmpDirectory = Testing.tmpDirectory(this.getClass());
    private boolean segmented;
+   private int ingestThreshold;
    public static final String KEY_1 = "key1";
    public static final String KEY_2 = "key2";
 
@@ -55,17 +56,24 @@ public RocksDBStoreTest segmented(boolean segmented) {
       return this;
    }
 
+   public RocksDBStoreTest ingestThreshold(int ingestThreshold) {
+      this.ingestThreshold = ingestThreshold;
+      return this;
+   }
+
    @Factory
    public Object[] factory() {
       return new Object[] {
             new RocksDBStoreTest().segmented(false),
             new RocksDBStoreTest().segmented(true),
+            new RocksDBStoreTest().segmented(false).ingestThreshold(1),
+            new RocksDBStoreTest().segmented(true).ingestThreshold(1),
       };
    }
 
    @Override
    protected String parameters() {
-      return "[" + segmented + "]";
+      return "[" + segmented + ", " + ingestThreshold + "]";
    }
 
    @Override
@@ -77,6 +85,7 @@ protected Configuration buildConfig(ConfigurationBuilder cb) {
    protected RocksDBStoreConfigurationBuilder createCacheStoreConfig(PersistenceConfigurationBuilder lcb) {
       RocksDBStoreConfigurationBuilder cfg = lcb.addStore(RocksDBStoreConfigurationBuilder.class);
       cfg.segmented(segmented);
+      cfg.ingestThreshold(ingestThreshold);
       cfg.location(tmpDirectory);
       cfg.expiredLocation(tmpDirectory);
       return cfg;
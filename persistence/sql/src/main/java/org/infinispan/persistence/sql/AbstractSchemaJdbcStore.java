@@ -645,6 +645,11 @@ protected void prepareKeyStatement(PreparedStatement ps, Object key) throws SQLE
 
       @Override
       protected void prepareValueStatement(PreparedStatement ps, int segment, MarshallableEntry<? extends K, ? extends V> entry) throws SQLException {
+         prepareValueStatement(ps, 0, segment, entry);
+      }
+
+      @Override
+      protected int prepareValueStatement(PreparedStatement ps, int parameterOffset, int segment, MarshallableEntry<? extends K, ? extends V> entry) throws SQLException {
          boolean embeddedKey = schemaOptions.config.schema().embeddedKey();
          Json valueJson = Json.read((String) schemaOptions.valueConversion.fromStorage(entry.getValue()));
          Json keyJson = embeddedKey ? valueJson : Json.read((String) schemaOptions.keyConversion.fromStorage(entry.getKey()));
@@ -657,11 +662,12 @@ protected void prepareValueStatement(PreparedStatement ps, int segment, Marshall
                json = parameter.unwrapJsonValue.apply(valueJson);
             }
             if (json != null) {
-               setParameter(ps, parameter.getType(), i + 1, json);
+               setParameter(ps, parameter.getType(), parameterOffset + i + 1, json);
             } else {
-               ps.setNull(i + 1, parameter.getSqlType());
+               ps.setNull(parameterOffset + i + 1, parameter.getSqlType());
             }
          }
+         return parameterOffset + upsertParameters.length;
       }
    }
 }
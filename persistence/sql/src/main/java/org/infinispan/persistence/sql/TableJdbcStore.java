@@ -33,6 +33,7 @@ public class TableTableOperations extends SchemaTableOperations<K, V, TableJdbcS
       private final String deleteSql;
       private final String deleteAllSql;
       private final String upsertSql;
+      private final String upsertRowsSql;
       private final String sizeSql;
 
       public TableTableOperations(ProtoSchemaOptions<K, V, TableJdbcStoreConfiguration> options, Parameter[] upsertParameters) {
@@ -63,6 +64,8 @@ public TableTableOperations(ProtoSchemaOptions<K, V, TableJdbcStoreConfiguration
          deleteSql = statements.getDeleteStatement(keyNames);
          deleteAllSql = statements.getDeleteAllStatement();
          upsertSql = statements.getUpsertStatement(keyNames, allNames);
+         int bulkUpsertRows = options.config.bulkUpsertRows();
+         upsertRowsSql = bulkUpsertRows > 1 ? statements.getUpsertStatement(keyNames, allNames, bulkUpsertRows) : null;
          sizeSql = statements.getSizeCommand();
       }
 
@@ -81,6 +84,11 @@ public String getUpsertRowSql() {
          return upsertSql;
       }
 
+      @Override
+      public String getUpsertRowsSql() {
+         return upsertRowsSql;
+      }
+
       @Override
       public String getSelectAllSql(IntSet segments) {
          return selectAllSql;
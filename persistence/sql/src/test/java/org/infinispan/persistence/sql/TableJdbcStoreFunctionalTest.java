@@ -11,11 +11,18 @@
 
 @Test(groups = {"functional", "smoke"}, testName = "persistence.jdbc.stringbased.TableJdbcStoreFunctionalTest")
 public class TableJdbcStoreFunctionalTest extends AbstractSQLStoreFunctionalTest {
+   int bulkUpsertRows = 1;
+
    public TableJdbcStoreFunctionalTest(DatabaseType databaseType, boolean transactionalCache,
          boolean transactionalStore) {
       super(databaseType, transactionalCache, transactionalStore);
    }
 
+   public TableJdbcStoreFunctionalTest bulkUpsertRows(int bulkUpsertRows) {
+      this.bulkUpsertRows = bulkUpsertRows;
+      return this;
+   }
+
    @Factory
    public static Object[] factory() {
 
@@ -33,16 +40,24 @@ public static Object[] factory() {
             .flatMap(dt -> Stream.of(
                   new TableJdbcStoreFunctionalTest(dt, true, true),
                   new TableJdbcStoreFunctionalTest(dt, true, false),
-                  new TableJdbcStoreFunctionalTest(dt, false, false)
+                  new TableJdbcStoreFunctionalTest(dt, false, false),
+                  new TableJdbcStoreFunctionalTest(dt, false, false).bulkUpsertRows(4)
             )).toArray();
    }
 
+   @Override
+   protected String parameters() {
+      return "[" + DB_TYPE + ", transactionalCache=" + transactionalCache + ", transactionalStore=" + transactionalStore
+            + ", bulkUpsertRows=" + bulkUpsertRows + "]";
+   }
+
    @Override
    protected PersistenceConfigurationBuilder createCacheStoreConfig(PersistenceConfigurationBuilder persistence,
          String cacheName, boolean preload) {
       TableJdbcStoreConfigurationBuilder storeBuilder = persistence
             .addStore(TableJdbcStoreConfigurationBuilder.class)
             .transactional(transactionalStore)
+            .bulkUpsertRows(bulkUpsertRows)
             .preload(preload);
       configureCommonConfiguration(storeBuilder);
 
@@ -13,6 +13,7 @@
 import org.infinispan.multimap.impl.EmbeddedMultimapListCache;
 import org.infinispan.multimap.impl.EmbeddedMultimapPairCache;
 import org.infinispan.multimap.impl.EmbeddedMultimapSortedSetCache;
+import org.infinispan.multimap.impl.EmbeddedMultimapStreamCache;
 import org.infinispan.multimap.impl.EmbeddedSetCache;
 import org.infinispan.security.AuthorizationManager;
 import org.infinispan.security.AuthorizationPermission;
@@ -30,6 +31,7 @@ public class Resp3Handler extends Resp3AuthHandler {
    protected EmbeddedMultimapPairCache<byte[], byte[], byte[]> mapMultimap;
    protected EmbeddedSetCache<byte[], byte[]> embeddedSetCache;
    protected EmbeddedMultimapSortedSetCache<byte[], byte[]> sortedSetMultimap;
+   protected EmbeddedMultimapStreamCache<byte[], byte[]> streamMultimap;
    protected EmbeddedJsonCache jsonCache;
    protected final ScheduledExecutorService scheduler;
    protected final BlockingManager blockingManager;
@@ -58,6 +60,7 @@ public void setCache(AdvancedCache<byte[], byte[]> cache) {
       mapMultimap = new EmbeddedMultimapPairCache<>(toMultimap);
       embeddedSetCache = new EmbeddedSetCache<>(toMultimap);
       sortedSetMultimap = new EmbeddedMultimapSortedSetCache<>(toMultimap);
+      streamMultimap = new EmbeddedMultimapStreamCache<>(toMultimap);
       jsonCache = new EmbeddedJsonCache(toMultimap);
    }
 
@@ -81,6 +84,10 @@ public EmbeddedMultimapSortedSetCache<byte[], byte[]> getSortedSeMultimap() {
       return sortedSetMultimap;
    }
 
+   public EmbeddedMultimapStreamCache<byte[], byte[]> getStreamMultimap() {
+      return streamMultimap;
+   }
+
    public ScheduledExecutorService getScheduler() {
       return scheduler;
    }
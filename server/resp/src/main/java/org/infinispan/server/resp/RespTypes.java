@@ -5,6 +5,7 @@
 import org.infinispan.multimap.impl.ListBucket;
 import org.infinispan.multimap.impl.SetBucket;
 import org.infinispan.multimap.impl.SortedSetBucket;
+import org.infinispan.multimap.impl.StreamBucket;
 import org.infinispan.protostream.annotations.ProtoEnumValue;
 import org.infinispan.protostream.annotations.ProtoTypeId;
 import org.infinispan.server.resp.json.JsonBucket;
@@ -54,6 +55,8 @@ public static RespTypes fromValueClass(Class<?> c) {
          return RespTypes.set;
       } else if (c == SortedSetBucket.class) {
          return RespTypes.zset;
+      } else if (c == StreamBucket.class) {
+         return RespTypes.stream;
       } else if (c == byte[].class) {
          return RespTypes.string;
       } else if (c == JsonBucket.class) {
@@ -206,6 +206,17 @@
 import org.infinispan.server.resp.commands.sortedset.ZSCORE;
 import org.infinispan.server.resp.commands.sortedset.ZUNION;
 import org.infinispan.server.resp.commands.sortedset.ZUNIONSTORE;
+import org.infinispan.server.resp.commands.stream.XACK;
+import org.infinispan.server.resp.commands.stream.XADD;
+import org.infinispan.server.resp.commands.stream.XDEL;
+import org.infinispan.server.resp.commands.stream.XGROUP;
+import org.infinispan.server.resp.commands.stream.XLEN;
+import org.infinispan.server.resp.commands.stream.XPENDING;
+import org.infinispan.server.resp.commands.stream.XRANGE;
+import org.infinispan.server.resp.commands.stream.XREAD;
+import org.infinispan.server.resp.commands.stream.XREADGROUP;
+import org.infinispan.server.resp.commands.stream.XREVRANGE;
+import org.infinispan.server.resp.commands.stream.XTRIM;
 import org.infinispan.server.resp.commands.string.APPEND;
 import org.infinispan.server.resp.commands.string.COPY;
 import org.infinispan.server.resp.commands.string.DECR;
@@ -287,6 +298,8 @@ public final class Commands {
       ALL_COMMANDS[19] = new RespCommand[]{new TTL(), new TYPE(), new TOUCH(), new TIME(), new TOPKRESERVE(), new TOPKADD(), new TOPKINCRBY(), new TOPKQUERY(), new TOPKLIST(), new TOPKINFO(), new TOPKCOUNT()};
       ALL_COMMANDS[20] = new RespCommand[]{new UNSUBSCRIBE(), new UNWATCH()};
       ALL_COMMANDS[22] = new RespCommand[]{new WATCH()};
+      ALL_COMMANDS[23] = new RespCommand[]{new XADD(), new XLEN(), new XRANGE(), new XREVRANGE(), new XREAD(), new XREADGROUP(),
+            new XACK(), new XGROUP(), new XPENDING(), new XDEL(), new XTRIM()};
       ALL_COMMANDS[25] = new RespCommand[]{new ZADD(), new ZCARD(), new ZCOUNT(), new ZLEXCOUNT(), new ZDIFF(),
             new ZDIFFSTORE(), new ZINCRBY(), new ZINTER(), new ZINTERCARD(), new ZINTERSTORE(), new ZMPOP(),
             new ZPOPMAX(), new ZPOPMIN(), new ZRANGE(), new ZRANGESTORE(), new ZREVRANGE(), new ZRANGEBYSCORE(),
@@ -0,0 +1,268 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.RespUtil;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+import org.infinispan.server.resp.commands.Resp3Command;
+import org.infinispan.server.resp.filter.EventListenerConverter;
+import org.infinispan.server.resp.filter.EventListenerKeysFilter;
+import org.infinispan.server.resp.logging.Log;
+import org.infinispan.server.resp.meta.ClientMetadata;
+import org.infinispan.server.resp.serialization.Resp3Type;
+import org.infinispan.server.resp.serialization.ResponseWriter;
+import org.infinispan.server.resp.serialization.SerializationHint;
+import org.infinispan.server.resp.tx.TransactionContext;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Base class of XREAD and XREADGROUP.
+ * <p>
+ * When the {@code BLOCK} option is given and there is nothing to read, a listener is installed on the streams and the
+ * read is repeated every time one of them is modified, until some entries are returned or the timeout elapses.
+ *
+ * @since 16.3
+ */
+public abstract class AbstractStreamRead extends RespCommand implements Resp3Command {
+   private static final Log log = Log.getLog(AbstractStreamRead.class);
+   private static final SerializationHint.KeyValueHint RESPONSE_HINT =
+         new SerializationHint.KeyValueHint(Resp3Type.BULK_STRING, StreamCommonUtils.ENTRIES);
+   private static final long NO_BLOCK = -1;
+
+   protected AbstractStreamRead(int arity, long aclMask) {
+      super(arity, 0, 0, 0, aclMask);
+   }
+
+   /**
+    * Parses the options before {@code STREAMS}.
+    *
+    * @return the position of the next argument or -1 if the argument at {@code pos} is not an option of the command
+    */
+   abstract int parseOption(ReadArguments args, List<byte[]> arguments, int pos);
+
+   /**
+    * Prepares the read, for example resolving the identifiers relative to the current state of the streams.
+    */
+   abstract CompletionStage<ReadArguments> prepare(Resp3Handler handler, ReadArguments args);
+
+   /**
+    * Reads the streams.
+    *
+    * @return the entries by stream, or {@code null} if there is nothing to return and the command can block
+    */
+   abstract CompletionStage<Map<byte[], List<StreamEntry<byte[]>>>> read(Resp3Handler handler, ReadArguments args);
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      ReadArguments args = new ReadArguments();
+      int pos = 0;
+      while (pos < arguments.size() && !RespUtil.isAsciiBytesEquals(StreamCommonUtils.STREAMS, arguments.get(pos))) {
+         byte[] arg = arguments.get(pos);
+         if (pos + 1 < arguments.size() && RespUtil.isAsciiBytesEquals(StreamCommonUtils.COUNT, arg)) {
+            args.count = StreamCommonUtils.parseCount(arguments.get(pos + 1));
+            pos += 2;
+         } else if (pos + 1 < arguments.size() && RespUtil.isAsciiBytesEquals(StreamCommonUtils.BLOCK, arg)) {
+            args.timeout = ArgumentUtils.toLong(arguments.get(pos + 1));
+            if (args.timeout < 0) {
+               handler.writer().customError("timeout is negative");
+               return handler.myStage();
+            }
+            pos += 2;
+         } else {
+            pos = parseOption(args, arguments, pos);
+            if (pos < 0) {
+               handler.writer().syntaxError();
+               return handler.myStage();
+            }
+         }
+      }
+      int remaining = arguments.size() - pos - 1;
+      if (remaining <= 0 || remaining % 2 != 0) {
+         handler.writer().customError("Unbalanced '" + getName().toLowerCase() + "' list of streams: " +
+               "for each stream key an ID or '$' must be specified.");
+         return handler.myStage();
+      }
+      int streams = remaining / 2;
+      args.keys = arguments.subList(pos + 1, pos + 1 + streams);
+      args.ids = new ArrayList<>(arguments.subList(pos + 1 + streams, arguments.size()));
+
+      CompletionStage<Map<byte[], List<StreamEntry<byte[]>>>> cs = prepare(handler, args)
+            .thenCompose(prepared -> read(handler, prepared).thenCompose(result -> {
+               // Reads from EXEC never block
+               if (result != null || prepared.timeout == NO_BLOCK || TransactionContext.isInTransactionContext(ctx)) {
+                  return CompletableFuture.completedFuture(result);
+               }
+               return addListener(handler, prepared);
+            }));
+      return handler.stageToReturn(StreamCommonUtils.translateGroupErrors(cs), ctx, AbstractStreamRead::writeResult);
+   }
+
+   private static void writeResult(Map<byte[], List<StreamEntry<byte[]>>> result, ResponseWriter writer) {
+      if (result == null) {
+         writer.nulls();
+      } else {
+         writer.map(result, RESPONSE_HINT);
+      }
+   }
+
+   /**
+    * Reads every stream, one after the other, keeping the streams with entries in the result.
+    */
+   static CompletionStage<Map<byte[], List<StreamEntry<byte[]>>>> readAll(ReadArguments args,
+                                                                         StreamReader reader) {
+      Map<byte[], List<StreamEntry<byte[]>>> result = new LinkedHashMap<>();
+      CompletionStage<Void> stage = CompletableFuture.completedFuture(null);
+      for (int i = 0; i < args.keys.size(); i++) {
+         byte[] key = args.keys.get(i);
+         byte[] id = args.ids.get(i);
+         stage = stage.thenCompose(ignore -> reader.read(key, id).thenAccept(entries -> {
+            if (entries != null) {
+               result.put(key, entries);
+            }
+         }));
+      }
+      return stage.thenApply(ignore -> result.isEmpty() ? null : result);
+   }
+
+   @FunctionalInterface
+   interface StreamReader {
+      /**
+       * @return the entries read from the stream, or {@code null} if the stream must not be in the response
+       */
+      CompletionStage<List<StreamEntry<byte[]>>> read(byte[] key, byte[] id);
+   }
+
+   private CompletionStage<Map<byte[], List<StreamEntry<byte[]>>>> addListener(Resp3Handler handler,
+                                                                             ReadArguments args) {
+      if (log.isTraceEnabled()) {
+         log.tracef("Blocking %s for keys: %s", getName(), args.keys);
+      }
+      AdvancedCache<byte[], Object> cache = handler.typedCache(null);
+      StreamListener listener = new StreamListener(handler, cache, args);
+      // The timeout is relative to when the command was issued, not to when the listener is installed
+      long deadline = args.timeout > 0
+            ? handler.respServer().getTimeService().expectedEndTime(args.timeout, TimeUnit.MILLISECONDS)
+            : 0;
+      cache.addListenerAsync(listener, new EventListenerKeysFilter(args.keys.stream()),
+                  new EventListenerConverter<Object, Object, byte[]>(cache.getValueDataConversion()))
+            .whenComplete((ignore, t) -> {
+               if (t != null) {
+                  listener.future.completeExceptionally(t);
+                  return;
+               }
+               if (args.timeout > 0) {
+                  long remaining = handler.respServer().getTimeService().remainingTime(deadline, TimeUnit.MILLISECONDS);
+                  if (remaining <= 0) {
+                     listener.future.complete(null);
+                     return;
+                  }
+                  listener.startTimer(remaining);
+               }
+               // Entries may have been added while the listener was being installed
+               listener.poll();
+            });
+      ClientMetadata metadata = handler.respServer().metadataRepository().client();
+      metadata.incrementBlockedClients();
+      metadata.recordBlockedKeys(args.keys.size());
+      listener.future.whenComplete((ignore, t) -> {
+         metadata.decrementBlockedClients();
+         metadata.recordBlockedKeys(-args.keys.size());
+      });
+      return listener.future;
+   }
+
+   static final class ReadArguments {
+      long count = Long.MAX_VALUE;
+      long timeout = NO_BLOCK;
+      String group;
+      String consumer;
+      boolean noAck;
+      List<byte[]> keys;
+      List<byte[]> ids;
+   }
+
+   @Listener(clustered = true)
+   public class StreamListener {
+      private final Resp3Handler handler;
+      private final AdvancedCache<byte[], Object> cache;
+      private final ReadArguments args;
+      private final CompletableFuture<Map<byte[], List<StreamEntry<byte[]>>>> future = new CompletableFuture<>();
+      // Number of reads requested while a read is running, these are merged in a single read
+      private final AtomicInteger requestedReads = new AtomicInteger();
+      private volatile ScheduledFuture<?> timer;
+
+      private StreamListener(Resp3Handler handler, AdvancedCache<byte[], Object> cache, ReadArguments args) {
+         this.handler = handler;
+         this.cache = cache;
+         this.args = args;
+         future.whenComplete((ignore, t) -> {
+            ScheduledFuture<?> scheduled = timer;
+            if (scheduled != null) {
+               scheduled.cancel(true);
+            }
+            cache.removeListenerAsync(this);
+         });
+      }
+
+      private void startTimer(long timeout) {
+         timer = handler.getScheduler().schedule(() -> future.complete(null), timeout, TimeUnit.MILLISECONDS);
+      }
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void onEvent(CacheEntryEvent<Object, Object> event) {
+         if (event.getValue() instanceof StreamBucket) {
+            poll();
+         }
+      }
+
+      private void poll() {
+         if (requestedReads.getAndIncrement() == 0) {
+            runRead();
+         }
+      }
+
+      private void runRead() {
+         if (future.isDone()) {
+            return;
+         }
+         read(handler, args).whenComplete((result, t) -> {
+            if (t != null) {
+               // The key was replaced by a value of another type, keep waiting like Redis does
+               if (!RespUtil.isWrongTypeError(t)) {
+                  future.completeExceptionally(t);
+                  return;
+               }
+            } else if (result != null) {
+               future.complete(result);
+               return;
+            }
+            if (requestedReads.decrementAndGet() > 0) {
+               requestedReads.set(1);
+               runRead();
+            }
+         });
+      }
+   }
+}
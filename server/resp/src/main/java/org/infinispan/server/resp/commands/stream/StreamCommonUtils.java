@@ -0,0 +1,185 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespUtil;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+import org.infinispan.server.resp.exception.RespCommandException;
+import org.infinispan.server.resp.serialization.Resp3Type;
+import org.infinispan.server.resp.serialization.ResponseWriter;
+import org.infinispan.server.resp.serialization.SerializationHint;
+
+/**
+ * Argument parsing and response serialization shared by the stream commands.
+ *
+ * @since 16.3
+ */
+public final class StreamCommonUtils {
+   public static final byte[] COUNT = "COUNT".getBytes(StandardCharsets.US_ASCII);
+   public static final byte[] BLOCK = "BLOCK".getBytes(StandardCharsets.US_ASCII);
+   public static final byte[] STREAMS = "STREAMS".getBytes(StandardCharsets.US_ASCII);
+   public static final byte[] MAXLEN = "MAXLEN".getBytes(StandardCharsets.US_ASCII);
+   public static final byte[] MINID = "MINID".getBytes(StandardCharsets.US_ASCII);
+   public static final byte[] LIMIT = "LIMIT".getBytes(StandardCharsets.US_ASCII);
+   public static final byte EXCLUDE = ((byte) '(');
+
+   /**
+    * Writes a list of entries as an array of {@code [id, [field, value, ...]]} arrays.
+    */
+   @SuppressWarnings("unchecked")
+   public static final SerializationHint.SimpleHint ENTRIES = (o, writer) ->
+         writeEntries((Collection<StreamEntry<byte[]>>) o, writer);
+
+   private StreamCommonUtils() {
+   }
+
+   public static void writeEntries(Collection<StreamEntry<byte[]>> entries, ResponseWriter writer) {
+      writer.array(entries, (entry, w) -> w.array(List.of(entry.id().toString(), entry.fieldsAndValues()), (o, ww) -> {
+         if (o instanceof Collection<?> fieldsAndValues) {
+            ww.array(fieldsAndValues, Resp3Type.BULK_STRING);
+         } else {
+            ww.string((CharSequence) o);
+         }
+      }));
+   }
+
+   /**
+    * Parses an identifier, accepting {@code -} and {@code +} for the smallest and greatest identifiers.
+    *
+    * @param missingSeqIsMax whether an identifier without sequence number is completed with the greatest sequence
+    *                        number instead of 0
+    */
+   public static StreamId parseId(byte[] arg, boolean missingSeqIsMax) {
+      if (arg.length == 1) {
+         if (arg[0] == (byte) '-') {
+            return StreamId.MIN;
+         }
+         if (arg[0] == (byte) '+') {
+            return StreamId.MAX;
+         }
+      }
+      return StreamId.parse(RespUtil.ascii(arg), missingSeqIsMax);
+   }
+
+   /**
+    * Parses the lower bound of a range, where a {@code (} prefix excludes the identifier.
+    */
+   public static StreamId parseRangeStart(byte[] arg) {
+      if (arg.length > 1 && arg[0] == EXCLUDE) {
+         StreamId id = StreamId.parse(new String(arg, 1, arg.length - 1, StandardCharsets.US_ASCII), false).next();
+         if (id == null) {
+            throw new IllegalArgumentException("invalid start ID for the interval");
+         }
+         return id;
+      }
+      return parseId(arg, false);
+   }
+
+   /**
+    * Parses the upper bound of a range, where a {@code (} prefix excludes the identifier.
+    */
+   public static StreamId parseRangeEnd(byte[] arg) {
+      if (arg.length > 1 && arg[0] == EXCLUDE) {
+         StreamId id = StreamId.parse(new String(arg, 1, arg.length - 1, StandardCharsets.US_ASCII), true).previous();
+         if (id == null) {
+            throw new IllegalArgumentException("invalid end ID for the interval");
+         }
+         return id;
+      }
+      return parseId(arg, true);
+   }
+
+   /**
+    * Parses a {@code COUNT} value, where a non-positive value means no limit.
+    */
+   public static long parseCount(byte[] arg) {
+      long count = ArgumentUtils.toLong(arg);
+      return count <= 0 ? Long.MAX_VALUE : count;
+   }
+
+   /**
+    * @return the current time, used to generate identifiers and to track the deliveries of consumer groups
+    */
+   public static long now(Resp3Handler handler) {
+      return handler.respServer().getTimeService().wallClockTime();
+   }
+
+   /**
+    * The multimap reports missing and duplicate consumer groups with messages starting with their RESP error code.
+    * These must reach the client without the generic {@code ERR} prefix.
+    */
+   public static <T> CompletionStage<T> translateGroupErrors(CompletionStage<T> stage) {
+      return stage.exceptionallyCompose(t -> {
+         for (Throwable ex = t; ex != null; ex = ex.getCause()) {
+            String message = ex.getMessage();
+            if (message != null && (message.startsWith("BUSYGROUP") || message.startsWith("NOGROUP"))) {
+               return CompletableFuture.failedFuture(new RespCommandException(message));
+            }
+         }
+         return CompletableFuture.failedFuture(t);
+      });
+   }
+
+   /**
+    * The trimming options of XADD and XTRIM: {@code MAXLEN|MINID [=|~] threshold [LIMIT count]}.
+    */
+   public static final class TrimArguments {
+      long maxLen = -1;
+      StreamId minId;
+      boolean approximate;
+      long limit = Long.MAX_VALUE;
+
+      /**
+       * Parses the trimming options starting at {@code pos}.
+       *
+       * @return the position after the options, {@code pos} if there are no trimming options there, or -1 if the
+       * options are not valid
+       */
+      int parse(List<byte[]> arguments, int pos) {
+         byte[] strategy = arguments.get(pos);
+         boolean byLength = RespUtil.isAsciiBytesEquals(MAXLEN, strategy);
+         if (!byLength && !RespUtil.isAsciiBytesEquals(MINID, strategy)) {
+            return pos;
+         }
+         if (++pos >= arguments.size()) {
+            return -1;
+         }
+         byte[] arg = arguments.get(pos);
+         if (arg.length == 1 && (arg[0] == (byte) '~' || arg[0] == (byte) '=')) {
+            approximate = arg[0] == (byte) '~';
+            if (++pos >= arguments.size()) {
+               return -1;
+            }
+            arg = arguments.get(pos);
+         }
+         if (byLength) {
+            maxLen = ArgumentUtils.toLong(arg);
+            if (maxLen < 0) {
+               throw new IllegalArgumentException("The MAXLEN argument must be >= 0.");
+            }
+         } else {
+            minId = parseId(arg, false);
+         }
+         pos++;
+         if (pos + 1 < arguments.size() && RespUtil.isAsciiBytesEquals(LIMIT, arguments.get(pos))) {
+            if (!approximate) {
+               throw new IllegalArgumentException("syntax error, LIMIT cannot be used without the special ~ option");
+            }
+            long value = ArgumentUtils.toLong(arguments.get(pos + 1));
+            if (value < 0) {
+               throw new IllegalArgumentException("The LIMIT argument must be >= 0.");
+            }
+            limit = value == 0 ? Long.MAX_VALUE : value;
+            pos += 2;
+         }
+         return pos;
+      }
+   }
+}
@@ -0,0 +1,42 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.RespUtil;
+import org.infinispan.server.resp.commands.Resp3Command;
+import org.infinispan.server.resp.serialization.ResponseWriter;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * XACK
+ *
+ * @see <a href="https://redis.io/commands/xack/">XACK</a>
+ * @since 16.3
+ */
+public class XACK extends RespCommand implements Resp3Command {
+
+   public XACK() {
+      super(-4, 1, 1, 1, AclCategory.WRITE.mask() | AclCategory.STREAM.mask() | AclCategory.FAST.mask());
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      List<StreamId> ids = new ArrayList<>(arguments.size() - 2);
+      for (int i = 2; i < arguments.size(); i++) {
+         ids.add(StreamId.parse(RespUtil.ascii(arguments.get(i)), false));
+      }
+      CompletionStage<Long> cs = handler.getStreamMultimap()
+            .acknowledge(arguments.get(0), RespUtil.utf8(arguments.get(1)), ids);
+      return handler.stageToReturn(cs, ctx, ResponseWriter.INTEGER);
+   }
+}
@@ -0,0 +1,88 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.EmbeddedMultimapStreamCache;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.RespUtil;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * XADD
+ *
+ * @see <a href="https://redis.io/commands/xadd/">XADD</a>
+ * @since 16.3
+ */
+public class XADD extends RespCommand implements Resp3Command {
+   private static final byte[] NOMKSTREAM = "NOMKSTREAM".getBytes(StandardCharsets.US_ASCII);
+
+   public XADD() {
+      super(-5, 1, 1, 1, AclCategory.WRITE.mask() | AclCategory.STREAM.mask() | AclCategory.FAST.mask());
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      byte[] key = arguments.get(0);
+      boolean noMkStream = false;
+      StreamCommonUtils.TrimArguments trim = new StreamCommonUtils.TrimArguments();
+      int pos = 1;
+      while (pos < arguments.size()) {
+         if (RespUtil.isAsciiBytesEquals(NOMKSTREAM, arguments.get(pos))) {
+            noMkStream = true;
+            pos++;
+            continue;
+         }
+         int next = trim.parse(arguments, pos);
+         if (next < 0) {
+            handler.writer().syntaxError();
+            return handler.myStage();
+         }
+         if (next == pos) {
+            break;
+         }
+         pos = next;
+      }
+
+      // The identifier is followed by at least one field-value pair
+      int pairs = arguments.size() - pos - 1;
+      if (pairs < 2 || pairs % 2 != 0) {
+         handler.writer().wrongArgumentNumber(this);
+         return handler.myStage();
+      }
+
+      byte[] idArg = arguments.get(pos);
+      StreamId id = null;
+      boolean autoSeq = false;
+      if (idArg.length != 1 || idArg[0] != (byte) '*') {
+         String value = RespUtil.ascii(idArg);
+         if (value.endsWith("-*")) {
+            id = StreamId.parse(value.substring(0, value.length() - 2), false);
+            autoSeq = true;
+         } else {
+            id = StreamId.parse(value, false);
+         }
+      }
+
+      EmbeddedMultimapStreamCache<byte[], byte[]> streamMultimap = handler.getStreamMultimap();
+      CompletionStage<StreamId> cs = streamMultimap.add(key, id, autoSeq, StreamCommonUtils.now(handler),
+            arguments.subList(pos + 1, arguments.size()), noMkStream, trim.maxLen, trim.minId, trim.approximate,
+            trim.limit);
+      return handler.stageToReturn(cs, ctx, (newId, writer) -> {
+         if (newId == null) {
+            writer.nulls();
+         } else {
+            writer.string(newId.toString());
+         }
+      });
+   }
+}
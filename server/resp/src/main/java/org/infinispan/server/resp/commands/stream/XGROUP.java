@@ -0,0 +1,40 @@
+package org.infinispan.server.resp.commands.stream;
+
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.commands.FamilyCommand;
+import org.infinispan.server.resp.commands.stream.group.CREATE;
+import org.infinispan.server.resp.commands.stream.group.CREATECONSUMER;
+import org.infinispan.server.resp.commands.stream.group.DELCONSUMER;
+import org.infinispan.server.resp.commands.stream.group.DESTROY;
+import org.infinispan.server.resp.commands.stream.group.SETID;
+
+/**
+ * XGROUP
+ *
+ * @see <a href="https://redis.io/commands/xgroup/">XGROUP</a>
+ * @since 16.3
+ */
+public class XGROUP extends FamilyCommand {
+
+   private static final RespCommand[] XGROUP_COMMANDS;
+
+   static {
+      XGROUP_COMMANDS = new RespCommand[] {
+            new CREATE(),
+            new DESTROY(),
+            new SETID(),
+            new CREATECONSUMER(),
+            new DELCONSUMER(),
+      };
+   }
+
+   public XGROUP() {
+      super(-2, 0, 0, 0, AclCategory.SLOW.mask());
+   }
+
+   @Override
+   public RespCommand[] getFamilyCommands() {
+      return XGROUP_COMMANDS;
+   }
+}
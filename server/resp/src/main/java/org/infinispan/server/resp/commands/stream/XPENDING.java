@@ -0,0 +1,137 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.StreamConsumerGroup;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.RespUtil;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+import org.infinispan.server.resp.commands.Resp3Command;
+import org.infinispan.server.resp.serialization.JavaObjectSerializer;
+import org.infinispan.server.resp.serialization.Resp3Type;
+import org.infinispan.server.resp.serialization.ResponseWriter;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * XPENDING
+ * <p>
+ * Without a range, returns a summary of the pending entries of the group: their number, the smallest and greatest
+ * identifiers, and the number of entries pending for each consumer. With a range, returns the details of each pending
+ * entry.
+ *
+ * @see <a href="https://redis.io/commands/xpending/">XPENDING</a>
+ * @since 16.3
+ */
+public class XPENDING extends RespCommand implements Resp3Command {
+   private static final byte[] IDLE = "IDLE".getBytes(StandardCharsets.US_ASCII);
+
+   public XPENDING() {
+      super(-3, 1, 1, 1, AclCategory.READ.mask() | AclCategory.STREAM.mask() | AclCategory.SLOW.mask());
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      byte[] key = arguments.get(0);
+      String group = RespUtil.utf8(arguments.get(1));
+      long now = StreamCommonUtils.now(handler);
+      if (arguments.size() == 2) {
+         CompletionStage<Summary> cs = handler.getStreamMultimap()
+               .pending(key, group, StreamId.MIN, StreamId.MAX, Long.MAX_VALUE, null, 0, now)
+               .thenApply(Summary::new);
+         return handler.stageToReturn(StreamCommonUtils.translateGroupErrors(cs), ctx, ResponseWriter.CUSTOM);
+      }
+
+      int pos = 2;
+      long minIdleTime = 0;
+      if (RespUtil.isAsciiBytesEquals(IDLE, arguments.get(pos))) {
+         if (arguments.size() < 4) {
+            handler.writer().syntaxError();
+            return handler.myStage();
+         }
+         minIdleTime = ArgumentUtils.toLong(arguments.get(pos + 1));
+         pos += 2;
+      }
+      int remaining = arguments.size() - pos;
+      if (remaining != 3 && remaining != 4) {
+         handler.writer().syntaxError();
+         return handler.myStage();
+      }
+      StreamId start = StreamCommonUtils.parseRangeStart(arguments.get(pos));
+      StreamId end = StreamCommonUtils.parseRangeEnd(arguments.get(pos + 1));
+      long count = ArgumentUtils.toLong(arguments.get(pos + 2));
+      String consumer = remaining == 4 ? RespUtil.utf8(arguments.get(pos + 3)) : null;
+      if (count <= 0) {
+         handler.writer().arrayEmpty();
+         return handler.myStage();
+      }
+      CompletionStage<Details> cs = handler.getStreamMultimap()
+            .pending(key, group, start, end, count, consumer, minIdleTime, now)
+            .thenApply(entries -> new Details(entries, now));
+      return handler.stageToReturn(StreamCommonUtils.translateGroupErrors(cs), ctx, ResponseWriter.CUSTOM);
+   }
+
+   private record Summary(List<StreamConsumerGroup.PendingEntry> entries) implements JavaObjectSerializer<Summary> {
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public void accept(Summary ignore, ResponseWriter writer) {
+         if (entries.isEmpty()) {
+            writer.array(Arrays.asList(0L, null, null, null), (o, w) -> {
+               if (o == null) {
+                  w.nulls();
+               } else {
+                  w.integers((Long) o);
+               }
+            });
+            return;
+         }
+         Map<String, Long> consumers = new LinkedHashMap<>();
+         for (StreamConsumerGroup.PendingEntry entry : entries) {
+            consumers.merge(entry.consumer(), 1L, Long::sum);
+         }
+         List<List<String>> perConsumer = new ArrayList<>(consumers.size());
+         consumers.forEach((name, pending) -> perConsumer.add(List.of(name, String.valueOf(pending))));
+         List<Object> response = List.of((long) entries.size(), entries.get(0).id().toString(),
+               entries.get(entries.size() - 1).id().toString(), perConsumer);
+         writer.array(response, (o, w) -> {
+            if (o instanceof Long count) {
+               w.integers(count);
+            } else if (o instanceof String id) {
+               w.string(id);
+            } else {
+               // Redis returns the count of each consumer as a string
+               w.array((List<List<String>>) o, (pair, pw) -> pw.array(pair, Resp3Type.BULK_STRING));
+            }
+         });
+      }
+   }
+
+   private record Details(List<StreamConsumerGroup.PendingEntry> entries, long now)
+         implements JavaObjectSerializer<Details> {
+
+      @Override
+      public void accept(Details ignore, ResponseWriter writer) {
+         writer.array(entries, (entry, w) -> w.array(List.of(entry.id().toString(), entry.consumer(),
+               Math.max(0, now - entry.deliveryTime()), entry.deliveryCount()), (o, ow) -> {
+            if (o instanceof String s) {
+               ow.string(s);
+            } else {
+               ow.integers((Long) o);
+            }
+         }));
+      }
+   }
+}
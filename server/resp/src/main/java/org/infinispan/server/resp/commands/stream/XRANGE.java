@@ -0,0 +1,56 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.RespUtil;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * XRANGE
+ *
+ * @see <a href="https://redis.io/commands/xrange/">XRANGE</a>
+ * @since 16.3
+ */
+public class XRANGE extends RespCommand implements Resp3Command {
+   private final boolean reverse;
+
+   public XRANGE() {
+      this(false);
+   }
+
+   protected XRANGE(boolean reverse) {
+      super(-4, 1, 1, 1, AclCategory.READ.mask() | AclCategory.STREAM.mask() | AclCategory.SLOW.mask());
+      this.reverse = reverse;
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      byte[] key = arguments.get(0);
+      // XREVRANGE receives the end of the range first
+      StreamId start = StreamCommonUtils.parseRangeStart(arguments.get(reverse ? 2 : 1));
+      StreamId end = StreamCommonUtils.parseRangeEnd(arguments.get(reverse ? 1 : 2));
+      long count = Long.MAX_VALUE;
+      if (arguments.size() > 3) {
+         if (arguments.size() != 5 || !RespUtil.isAsciiBytesEquals(StreamCommonUtils.COUNT, arguments.get(3))) {
+            handler.writer().syntaxError();
+            return handler.myStage();
+         }
+         count = StreamCommonUtils.parseCount(arguments.get(4));
+      }
+      CompletionStage<List<StreamEntry<byte[]>>> cs = handler.getStreamMultimap()
+            .range(key, start, end, count, reverse)
+            .thenApply(entries -> entries == null ? List.of() : entries);
+      return handler.stageToReturn(cs, ctx, StreamCommonUtils::writeEntries);
+   }
+}
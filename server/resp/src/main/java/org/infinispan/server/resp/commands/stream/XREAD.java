@@ -0,0 +1,66 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.EmbeddedMultimapStreamCache;
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespUtil;
+
+/**
+ * XREAD
+ * <p>
+ * The {@code $} identifier is resolved to the last identifier of the stream when the command is received, so a
+ * blocked client only receives the entries added after it.
+ *
+ * @see <a href="https://redis.io/commands/xread/">XREAD</a>
+ * @since 16.3
+ */
+public class XREAD extends AbstractStreamRead {
+
+   public XREAD() {
+      super(-4, AclCategory.READ.mask() | AclCategory.STREAM.mask() | AclCategory.SLOW.mask() | AclCategory.BLOCKING.mask());
+   }
+
+   @Override
+   int parseOption(ReadArguments args, List<byte[]> arguments, int pos) {
+      return -1;
+   }
+
+   @Override
+   CompletionStage<ReadArguments> prepare(Resp3Handler handler, ReadArguments args) {
+      EmbeddedMultimapStreamCache<byte[], byte[]> streamMultimap = handler.getStreamMultimap();
+      CompletionStage<Void> stage = CompletableFuture.completedFuture(null);
+      for (int i = 0; i < args.ids.size(); i++) {
+         byte[] id = args.ids.get(i);
+         if (id.length == 1 && id[0] == (byte) '$') {
+            int idx = i;
+            stage = stage.thenCompose(ignore -> streamMultimap.lastId(args.keys.get(idx))
+                  .thenAccept(last -> args.ids.set(idx, last.toString().getBytes(StandardCharsets.US_ASCII))));
+         } else {
+            // Fail before blocking if the identifier is not valid
+            StreamId.parse(RespUtil.ascii(id), false);
+         }
+      }
+      return stage.thenApply(ignore -> args);
+   }
+
+   @Override
+   CompletionStage<Map<byte[], List<StreamEntry<byte[]>>>> read(Resp3Handler handler, ReadArguments args) {
+      EmbeddedMultimapStreamCache<byte[], byte[]> streamMultimap = handler.getStreamMultimap();
+      return readAll(args, (key, id) -> {
+         StreamId start = StreamId.parse(RespUtil.ascii(id), false).next();
+         if (start == null) {
+            return CompletableFuture.completedFuture(null);
+         }
+         return streamMultimap.range(key, start, StreamId.MAX, args.count, false)
+               .thenApply(entries -> entries == null || entries.isEmpty() ? null : entries);
+      });
+   }
+}
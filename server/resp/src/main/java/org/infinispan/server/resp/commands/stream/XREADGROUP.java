@@ -0,0 +1,79 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.EmbeddedMultimapStreamCache;
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespUtil;
+
+/**
+ * XREADGROUP
+ * <p>
+ * The {@code >} identifier reads the entries never delivered to the group. Any other identifier reads the history of
+ * the consumer, that is, the entries pending for it. Only reads of new entries block.
+ *
+ * @see <a href="https://redis.io/commands/xreadgroup/">XREADGROUP</a>
+ * @since 16.3
+ */
+public class XREADGROUP extends AbstractStreamRead {
+   private static final byte[] GROUP = "GROUP".getBytes(StandardCharsets.US_ASCII);
+   private static final byte[] NOACK = "NOACK".getBytes(StandardCharsets.US_ASCII);
+
+   public XREADGROUP() {
+      super(-7, AclCategory.WRITE.mask() | AclCategory.STREAM.mask() | AclCategory.SLOW.mask() | AclCategory.BLOCKING.mask());
+   }
+
+   @Override
+   int parseOption(ReadArguments args, List<byte[]> arguments, int pos) {
+      byte[] arg = arguments.get(pos);
+      if (RespUtil.isAsciiBytesEquals(NOACK, arg)) {
+         args.noAck = true;
+         return pos + 1;
+      }
+      if (pos + 2 < arguments.size() && RespUtil.isAsciiBytesEquals(GROUP, arg)) {
+         args.group = RespUtil.utf8(arguments.get(pos + 1));
+         args.consumer = RespUtil.utf8(arguments.get(pos + 2));
+         return pos + 3;
+      }
+      return -1;
+   }
+
+   @Override
+   CompletionStage<ReadArguments> prepare(Resp3Handler handler, ReadArguments args) {
+      if (args.group == null) {
+         return CompletableFuture.failedFuture(new IllegalArgumentException("Missing GROUP option for XREADGROUP"));
+      }
+      for (byte[] id : args.ids) {
+         if (!isNew(id)) {
+            // History reads never block
+            args.timeout = -1;
+            StreamId.parse(RespUtil.ascii(id), false);
+         }
+      }
+      return CompletableFuture.completedFuture(args);
+   }
+
+   @Override
+   CompletionStage<Map<byte[], List<StreamEntry<byte[]>>>> read(Resp3Handler handler, ReadArguments args) {
+      EmbeddedMultimapStreamCache<byte[], byte[]> streamMultimap = handler.getStreamMultimap();
+      long now = StreamCommonUtils.now(handler);
+      return readAll(args, (key, id) -> {
+         boolean readNew = isNew(id);
+         StreamId start = readNew ? null : StreamId.parse(RespUtil.ascii(id), false);
+         return streamMultimap.readGroup(key, args.group, args.consumer, start, args.count, args.noAck, now)
+               // The history of a consumer is always returned, even when empty
+               .thenApply(entries -> readNew && entries.isEmpty() ? null : entries);
+      });
+   }
+
+   private static boolean isNew(byte[] id) {
+      return id.length == 1 && id[0] == (byte) '>';
+   }
+}
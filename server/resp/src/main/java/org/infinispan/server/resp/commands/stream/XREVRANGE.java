@@ -0,0 +1,14 @@
+package org.infinispan.server.resp.commands.stream;
+
+/**
+ * XREVRANGE
+ *
+ * @see <a href="https://redis.io/commands/xrevrange/">XREVRANGE</a>
+ * @since 16.3
+ */
+public class XREVRANGE extends XRANGE {
+
+   public XREVRANGE() {
+      super(true);
+   }
+}
@@ -0,0 +1,40 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.commands.Resp3Command;
+import org.infinispan.server.resp.serialization.ResponseWriter;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * XTRIM
+ *
+ * @see <a href="https://redis.io/commands/xtrim/">XTRIM</a>
+ * @since 16.3
+ */
+public class XTRIM extends RespCommand implements Resp3Command {
+
+   public XTRIM() {
+      super(-4, 1, 1, 1, AclCategory.WRITE.mask() | AclCategory.STREAM.mask() | AclCategory.SLOW.mask());
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      StreamCommonUtils.TrimArguments trim = new StreamCommonUtils.TrimArguments();
+      int pos = trim.parse(arguments, 1);
+      if (pos != arguments.size()) {
+         handler.writer().syntaxError();
+         return handler.myStage();
+      }
+      return handler.stageToReturn(handler.getStreamMultimap().trim(arguments.get(0), trim.maxLen, trim.minId,
+            trim.approximate, trim.limit), ctx, ResponseWriter.INTEGER);
+   }
+}
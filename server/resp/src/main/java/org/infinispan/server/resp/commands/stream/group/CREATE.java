@@ -0,0 +1,71 @@
+package org.infinispan.server.resp.commands.stream.group;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.RespUtil;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+import org.infinispan.server.resp.commands.Resp3Command;
+import org.infinispan.server.resp.commands.stream.StreamCommonUtils;
+import org.infinispan.server.resp.serialization.ResponseWriter;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * XGROUP CREATE
+ *
+ * @see <a href="https://redis.io/commands/xgroup-create/">XGROUP CREATE</a>
+ * @since 16.3
+ */
+public class CREATE extends RespCommand implements Resp3Command {
+   static final byte[] ENTRIESREAD = "ENTRIESREAD".getBytes(StandardCharsets.US_ASCII);
+   private static final byte[] MKSTREAM = "MKSTREAM".getBytes(StandardCharsets.US_ASCII);
+
+   public CREATE() {
+      super(-5, 2, 2, 1, AclCategory.WRITE.mask() | AclCategory.STREAM.mask() | AclCategory.SLOW.mask());
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      if (arguments.size() < 4) {
+         handler.writer().wrongArgumentNumber(this);
+         return handler.myStage();
+      }
+      byte[] key = arguments.get(1);
+      String group = RespUtil.utf8(arguments.get(2));
+      StreamId id = parseGroupId(arguments.get(3));
+      boolean mkStream = false;
+      long entriesRead = -1;
+      for (int i = 4; i < arguments.size(); i++) {
+         byte[] arg = arguments.get(i);
+         if (RespUtil.isAsciiBytesEquals(MKSTREAM, arg)) {
+            mkStream = true;
+         } else if (i + 1 < arguments.size() && RespUtil.isAsciiBytesEquals(ENTRIESREAD, arg)) {
+            entriesRead = ArgumentUtils.toLong(arguments.get(++i));
+         } else {
+            handler.writer().syntaxError();
+            return handler.myStage();
+         }
+      }
+      CompletionStage<Long> cs = handler.getStreamMultimap().createGroup(key, group, id, mkStream, entriesRead);
+      return handler.stageToReturn(StreamCommonUtils.translateGroupErrors(cs), ctx, ResponseWriter.OK);
+   }
+
+   /**
+    * @return the identifier or {@code null} for {@code $}, the last identifier of the stream
+    */
+   static StreamId parseGroupId(byte[] arg) {
+      if (arg.length == 1 && arg[0] == (byte) '$') {
+         return null;
+      }
+      return StreamCommonUtils.parseId(arg, false);
+   }
+}
@@ -0,0 +1,42 @@
+package org.infinispan.server.resp.commands.stream.group;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.RespUtil;
+import org.infinispan.server.resp.commands.Resp3Command;
+import org.infinispan.server.resp.commands.stream.StreamCommonUtils;
+import org.infinispan.server.resp.serialization.ResponseWriter;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * XGROUP CREATECONSUMER
+ *
+ * @see <a href="https://redis.io/commands/xgroup-createconsumer/">XGROUP CREATECONSUMER</a>
+ * @since 16.3
+ */
+public class CREATECONSUMER extends RespCommand implements Resp3Command {
+
+   public CREATECONSUMER() {
+      super(5, 2, 2, 1, AclCategory.WRITE.mask() | AclCategory.STREAM.mask() | AclCategory.SLOW.mask());
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      if (arguments.size() != 4) {
+         handler.writer().wrongArgumentNumber(this);
+         return handler.myStage();
+      }
+      CompletionStage<Long> cs = handler.getStreamMultimap()
+            .createConsumer(arguments.get(1), RespUtil.utf8(arguments.get(2)), RespUtil.utf8(arguments.get(3)),
+                  StreamCommonUtils.now(handler));
+      return handler.stageToReturn(StreamCommonUtils.translateGroupErrors(cs), ctx, ResponseWriter.INTEGER);
+   }
+}
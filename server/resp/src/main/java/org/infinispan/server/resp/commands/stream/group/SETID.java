@@ -0,0 +1,53 @@
+package org.infinispan.server.resp.commands.stream.group;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.StreamId;
+import org.infinispan.server.resp.AclCategory;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.RespUtil;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+import org.infinispan.server.resp.commands.Resp3Command;
+import org.infinispan.server.resp.commands.stream.StreamCommonUtils;
+import org.infinispan.server.resp.serialization.ResponseWriter;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * XGROUP SETID
+ *
+ * @see <a href="https://redis.io/commands/xgroup-setid/">XGROUP SETID</a>
+ * @since 16.3
+ */
+public class SETID extends RespCommand implements Resp3Command {
+
+   public SETID() {
+      super(-5, 2, 2, 1, AclCategory.WRITE.mask() | AclCategory.STREAM.mask() | AclCategory.SLOW.mask());
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      if (arguments.size() != 4 && arguments.size() != 6) {
+         handler.writer().wrongArgumentNumber(this);
+         return handler.myStage();
+      }
+      byte[] key = arguments.get(1);
+      String group = RespUtil.utf8(arguments.get(2));
+      StreamId id = CREATE.parseGroupId(arguments.get(3));
+      long entriesRead = -1;
+      if (arguments.size() == 6) {
+         if (!RespUtil.isAsciiBytesEquals(CREATE.ENTRIESREAD, arguments.get(4))) {
+            handler.writer().syntaxError();
+            return handler.myStage();
+         }
+         entriesRead = ArgumentUtils.toLong(arguments.get(5));
+      }
+      CompletionStage<Long> cs = handler.getStreamMultimap().setGroupId(key, group, id, entriesRead);
+      return handler.stageToReturn(StreamCommonUtils.translateGroupErrors(cs), ctx, ResponseWriter.OK);
+   }
+}
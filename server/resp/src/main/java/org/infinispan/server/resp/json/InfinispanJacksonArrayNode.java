@@ -1,5 +1,6 @@
 package org.infinispan.server.resp.json;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 
@@ -11,4 +12,14 @@ public InfinispanJacksonArrayNode(JsonNodeFactory nf) {
    public InfinispanJacksonArrayNode(InfinispanJsonNodeFactory nf, int capacity) {
       super(nf, capacity);
    }
+
+   // The default implementation would create a plain ArrayNode, losing the array semantics of the document
+   @Override
+   public ArrayNode deepCopy() {
+      ArrayNode copy = new InfinispanJacksonArrayNode(_nodeFactory);
+      for (JsonNode element : this) {
+         copy.add(element.deepCopy());
+      }
+      return copy;
+   }
 }
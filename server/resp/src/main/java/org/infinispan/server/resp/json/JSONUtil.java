@@ -65,7 +65,7 @@ public class JSONUtil {
          .options(Option.SUPPRESS_EXCEPTIONS).options(Option.DEFAULT_PATH_LEAF_TO_NULL)
          .jsonProvider(jsonNodeProvider)
          .mappingProvider(mappingProvider).build();
-   public static ParseContext parserForDefiniteMod = JsonPath.using(configForMod);
+   public static ParseContext parserForDefiniteMod = JsonPath.using(configForDefiniteMod);
 
    public static boolean isRoot(byte[] path) {
       return path != null && path.length == 1 && path[0] == JSON_ROOT_BYTE;
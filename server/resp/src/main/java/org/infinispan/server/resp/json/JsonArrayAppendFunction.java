@@ -40,7 +40,7 @@ public List<Long> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
         }
         var pathStr = new String(path, StandardCharsets.UTF_8);
         try {
-            var rootNode = JSONUtil.objectMapper.readTree(doc.value());
+            var rootNode = doc.mutableTree(pathStr);
             var jpCtxPath = JSONUtil.parserForMod.parse(rootNode);
             var jpCtx = JSONUtil.parserForGet.parse(rootNode);
             JsonPath jpath = JsonPath.compile(pathStr);
@@ -58,7 +58,7 @@ public List<Long> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
                     ArrayNode newString = destNode.addAll(srcNodes);
                     if (JSONUtil.isRoot(pathAsNode.asText().getBytes(StandardCharsets.UTF_8))) {
                         // Updating the root node by replacing the cache entry
-                        entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(newString)));
+                        entryView.set(new JsonBucket(newString));
                         resList.add((long) newString.size());
                         // changed root, returning
                         return resList;
@@ -71,7 +71,7 @@ public List<Long> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
                 }
             }
             if (changed) {
-                entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootNode)));
+                entryView.set(new JsonBucket(rootNode));
             }
             return resList;
         } catch (IOException e) {
@@ -53,10 +53,10 @@ public List<Integer> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
         if (existing.isEmpty()) {
             throw new CacheException("Path '" + RespUtil.ascii(jsonPath) + "' does not exist");
         }
-        byte[] doc = existing.get().value();
+        JsonBucket doc = existing.get();
         ObjectMapper mapper = JSONUtil.objectMapper;
         try {
-            JsonNode rootNode = mapper.readTree(RespUtil.utf8(doc));
+            JsonNode rootNode = doc.tree();
             JsonNode valueNode = mapper.readTree(RespUtil.utf8(value));
             var jpCtx = JSONUtil.parserForGet.parse(rootNode);
             ArrayNode nodeList = jpCtx.read(RespUtil.utf8(jsonPath));
@@ -17,7 +17,6 @@
 import org.infinispan.util.function.SerializableFunction;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.jayway.jsonpath.JsonPath;
 
@@ -47,10 +46,9 @@ public List<Integer> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
         if (existing.isEmpty()) {
             return null;
         }
-        byte[] doc = existing.get().value();
-        ObjectMapper mapper = JSONUtil.objectMapper;
+        JsonBucket doc = existing.get();
         try {
-            JsonNode rootNode = mapper.readTree(RespUtil.utf8(doc));
+            JsonNode rootNode = doc.mutableTree(RespUtil.utf8(path));
             ArrayNode srcNodes = JSONUtil.objectMapper.createArrayNode();
             for (byte[] value : values) {
                 srcNodes.add(JSONUtil.objectMapper.readTree(value));
@@ -70,7 +68,7 @@ public List<Integer> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
                     ArrayNode newArray = insertAll(destNode, srcNodes, index);
                     if (JSONUtil.isRoot(asText.getBytes(StandardCharsets.UTF_8))) {
                         // Updating the root node by replacing the cache entry
-                        entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(newArray)));
+                        entryView.set(new JsonBucket(newArray));
                         resList.add(newArray.size());
                         // changed root, returning
                         return resList;
@@ -82,7 +80,7 @@ public List<Integer> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
                     resList.add(null);
                 }
                 if (changed) {
-                    entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootNode)));
+                    entryView.set(new JsonBucket(rootNode));
                 }
             }
             return resList;
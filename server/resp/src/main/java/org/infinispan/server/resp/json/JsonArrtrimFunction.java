@@ -1,6 +1,5 @@
 package org.infinispan.server.resp.json;
 
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -46,7 +45,7 @@ public List<Integer> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
         }
         var pathStr = new String(path, StandardCharsets.UTF_8);
         try {
-            var rootNode = JSONUtil.objectMapper.readTree(doc.value());
+            var rootNode = doc.mutableTree(pathStr);
             var jpCtxPath = JSONUtil.parserForMod.parse(rootNode);
             var jpCtx = JSONUtil.parserForGet.parse(rootNode);
             JsonPath jpath = JsonPath.compile(pathStr);
@@ -77,7 +76,7 @@ public List<Integer> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
                     if (JSONUtil.isRoot(pathAsNode.asText().getBytes(StandardCharsets.UTF_8))) {
                         // Updating the root node by replacing the cache entry
                         if (changed) {
-                            entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(destNode)));
+                            entryView.set(new JsonBucket(destNode));
                         }
                         resList.add(destNode.size());
                         // changed root, returning
@@ -90,10 +89,12 @@ public List<Integer> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
                 }
             }
             if (changed) {
-                entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootNode)));
+                entryView.set(new JsonBucket(rootNode));
             }
             return resList;
-        } catch (IOException e) {
+        } catch (CacheException e) {
+            throw e;
+        } catch (Exception e) {
             throw new CacheException(e);
         }
     }
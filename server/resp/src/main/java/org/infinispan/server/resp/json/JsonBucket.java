@@ -1,27 +1,222 @@
 package org.infinispan.server.resp.json;
 
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.infinispan.commons.CacheException;
 import org.infinispan.commons.marshall.ProtoStreamTypeIds;
-import org.infinispan.protostream.annotations.Proto;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
 import org.infinispan.protostream.annotations.ProtoTypeId;
 import org.infinispan.server.resp.commands.connection.MemoryEntrySizeUtils;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ParseContext;
+
 /**
- * Bucket used to store Set data type.
+ * Bucket used to store JSON documents.
+ * <p>
+ * The document is kept in two forms that are both computed lazily: the serialized bytes and the parsed
+ * {@link JsonNode} tree. Path operations work on the tree, so a document that is updated repeatedly is only parsed
+ * once, and the bytes are only produced when the bucket is marshalled, for persistence or replication, or when a
+ * command needs the whole document.
+ * <p>
+ * A bucket is immutable once created. The tree returned by {@link #tree()} is shared by every reader and must not be
+ * modified; functions that update the document obtain a copy from {@link #mutableTree(String)} and store the result
+ * in a new bucket with {@link #JsonBucket(JsonNode)}. The copy only duplicates the nodes on the way to the locations
+ * that the function updates, and shares the other subtrees with this bucket.
  *
  * @author Vittorio Rigamonti
  * @since 15.0
  */
-@Proto
 @ProtoTypeId(ProtoStreamTypeIds.RESP_JSON_BUCKET)
-public record JsonBucket(byte[] value) {
-public static long memoryHeaderSize() {
-   return MemoryHeader.headerSize;
-}
+public final class JsonBucket {
+   private volatile byte[] value;
+   private volatile JsonNode tree;
 
-// Only used to get the overhead without hardcoding
-private static class MemoryHeader {
-   @SuppressWarnings("unused")
-   byte[] value;
-   static long headerSize = MemoryEntrySizeUtils.calculateSize(new MemoryHeader());
-}
+   @ProtoFactory
+   public JsonBucket(byte[] value) {
+      this.value = value;
+   }
+
+   public JsonBucket(JsonNode tree) {
+      this.tree = tree;
+   }
+
+   @ProtoField(1)
+   byte[] getValue() {
+      return value();
+   }
+
+   /**
+    * @return the serialized document
+    */
+   public byte[] value() {
+      byte[] bytes = value;
+      if (bytes == null) {
+         try {
+            bytes = JSONUtil.objectMapper.writeValueAsBytes(tree);
+         } catch (IOException e) {
+            throw new CacheException(e);
+         }
+         value = bytes;
+      }
+      return bytes;
+   }
+
+   /**
+    * @return the parsed document, which must not be modified
+    */
+   public JsonNode tree() {
+      JsonNode node = tree;
+      if (node == null) {
+         try {
+            node = JSONUtil.objectMapper.readTree(value);
+         } catch (IOException e) {
+            throw new CacheException(e);
+         }
+         tree = node;
+      }
+      return node;
+   }
+
+   /**
+    * Returns a copy of the parsed document that the caller can modify at the locations matched by {@code path}.
+    * <p>
+    * The nodes from the root to the parent of every matched location are copied without their children, and the
+    * matched nodes are copied with all their descendants. The other subtrees are shared with this bucket, so the
+    * caller must not modify anything outside the matched locations. A definite path whose last field is missing
+    * matches that field, so it can be added to the copied parent.
+    *
+    * @param path the JSONPath of the locations that the caller modifies
+    * @return a copy of the parsed document that the caller can modify at the matched locations
+    */
+   public JsonNode mutableTree(String path) {
+      JsonNode root = tree();
+      JsonPath jsonPath = JsonPath.compile(path);
+      ParseContext parser = jsonPath.isDefinite() ? JSONUtil.parserForDefiniteMod : JSONUtil.parserForMod;
+      ArrayNode locations = parser.parse(root).read(jsonPath);
+      Map<JsonNode, Boolean> copies = new IdentityHashMap<>();
+      JsonNode copy = copy(root, false, copies);
+      if (locations == null) {
+         return copy;
+      }
+      for (JsonNode location : locations) {
+         String locationPath = location.asText();
+         if ("$".equals(locationPath)) {
+            return root.deepCopy();
+         }
+         if (!copyPath(copy, locationPath, copies)) {
+            // Not a normalized path that can be followed, so copy everything
+            return root.deepCopy();
+         }
+      }
+      return copy;
+   }
+
+   /**
+    * Follows a normalized path like {@code $['a'][0]['b']}, replacing every node on the way with a copy.
+    *
+    * @return {@code false} if the path could not be parsed
+    */
+   private static boolean copyPath(JsonNode root, String path, Map<JsonNode, Boolean> copies) {
+      JsonNode parent = root;
+      int i = 1;
+      while (i < path.length()) {
+         if (Boolean.TRUE.equals(copies.get(parent))) {
+            // The descendants of a deep copy are already private
+            return true;
+         }
+         JsonNode child;
+         if (path.startsWith("['", i) && parent instanceof ObjectNode object) {
+            int end = fieldEnd(path, i + 2);
+            if (end < 0) {
+               return false;
+            }
+            String field = path.substring(i + 2, end);
+            i = end + 2;
+            child = object.get(field);
+            if (child == null) {
+               // A missing leaf, which the caller adds to the copied parent
+               return i == path.length();
+            }
+            child = copy(child, i == path.length(), copies);
+            object.set(field, child);
+         } else if (path.startsWith("[", i) && parent instanceof ArrayNode array) {
+            int end = path.indexOf(']', i);
+            int index;
+            try {
+               index = end < 0 ? -1 : Integer.parseInt(path, i + 1, end, 10);
+            } catch (NumberFormatException e) {
+               return false;
+            }
+            if (index < 0) {
+               return false;
+            }
+            i = end + 1;
+            child = array.get(index);
+            if (child == null) {
+               return i == path.length();
+            }
+            child = copy(child, i == path.length(), copies);
+            array.set(index, child);
+         } else {
+            return false;
+         }
+         parent = child;
+      }
+      return true;
+   }
+
+   private static int fieldEnd(String path, int start) {
+      int end = path.indexOf("']", start);
+      // A field name may contain the closing characters, but the normalized path continues with '[' or ends
+      while (end >= 0 && end + 2 < path.length() && path.charAt(end + 2) != '[') {
+         end = path.indexOf("']", end + 1);
+      }
+      return end;
+   }
+
+   /**
+    * @param deep {@code true} to copy the descendants of the node as well
+    */
+   private static JsonNode copy(JsonNode node, boolean deep, Map<JsonNode, Boolean> copies) {
+      Boolean copiedDeep = copies.get(node);
+      if (copiedDeep != null && (copiedDeep || !deep)) {
+         return node;
+      }
+      JsonNode copy;
+      if (deep) {
+         copy = node.deepCopy();
+      } else if (node instanceof ObjectNode object) {
+         ObjectNode objectCopy = object.objectNode();
+         objectCopy.setAll(object);
+         copy = objectCopy;
+      } else if (node instanceof ArrayNode array) {
+         // The node factory of the document creates InfinispanJacksonArrayNode instances
+         ArrayNode arrayCopy = array.arrayNode(array.size());
+         arrayCopy.addAll(array);
+         copy = arrayCopy;
+      } else {
+         // Value nodes are immutable
+         return node;
+      }
+      copies.put(copy, deep);
+      return copy;
+   }
+
+   public static long memoryHeaderSize() {
+      return MemoryHeader.headerSize;
+   }
+
+   // Only used to get the overhead without hardcoding
+   private static class MemoryHeader {
+      @SuppressWarnings("unused")
+      byte[] value;
+      static long headerSize = MemoryEntrySizeUtils.calculateSize(new MemoryHeader());
+   }
 }
@@ -41,7 +41,7 @@ public Integer apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
 
       var pathStr = new String(path, StandardCharsets.UTF_8);
       try {
-         JsonNode rootNode = JSONUtil.objectMapper.readTree(doc.value());
+         JsonNode rootNode = doc.mutableTree(pathStr);
          DocumentContext modifiableCtx = JSONUtil.parserForMod.parse(rootNode);
          DocumentContext getForContext = JSONUtil.parserForGet.parse(rootNode);
          JsonPath jpath = JsonPath.compile(pathStr);
@@ -92,7 +92,7 @@ public Integer apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
             }
          }
          if (changed > 0) {
-            entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootNode)));
+            entryView.set(new JsonBucket(rootNode));
          }
          return changed;
       } catch (CacheException e) {
@@ -46,7 +46,7 @@ public List<Long> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
          if (JSONUtil.isRoot(path)) {
             return List.of(sizeof.deepSizeOf(doc.value()));
          }
-         var rootNode = JSONUtil.objectMapper.readTree(doc.value());
+         var rootNode = doc.tree();
          var jpCtx = JSONUtil.parserForGet.parse(rootNode);
          JsonPath jpath = JsonPath.compile(pathStr);
          ArrayNode nodeList = jpCtx.read(jpath);
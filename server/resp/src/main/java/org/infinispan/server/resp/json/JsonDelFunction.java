@@ -39,20 +39,20 @@ public Long apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
       }
       byte[] jsonPath = JSONUtil.toJsonPath(path);
       try {
-         JsonNode rootObjectNode = JSONUtil.objectMapper.readTree(doc.value());
-         var jpCtx = JSONUtil.parserForGet.parse(rootObjectNode);
          if (JSONUtil.isRoot(jsonPath)) {
             entryView.remove();
             return 1L;
          }
          var pathStr = new String(jsonPath, StandardCharsets.UTF_8);
+         JsonNode rootObjectNode = doc.mutableTree(pathStr);
+         var jpCtx = JSONUtil.parserForGet.parse(rootObjectNode);
          JsonPath jpath = JsonPath.compile(pathStr);
          ArrayNode an = jpCtx.read(jpath);
          if (an.size() == 0 || an.size() == 1 && an.get(0) == null) {
             return 0L;
          }
          jpCtx = jpCtx.delete(jpath);
-         entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootObjectNode)));
+         entryView.set(new JsonBucket(rootObjectNode));
          return (long) an.size();
       } catch (IndexOutOfBoundsException e) {
          // Trying to delete a non existent index of an array return 0
@@ -61,7 +61,7 @@ public byte[] apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
       Optional<JsonBucket> existing = entryView.peek();
       if (existing.isEmpty())
          return null;
-      byte[] doc = existing.get().value();
+      JsonBucket doc = existing.get();
       ObjectMapper mapper = JSONUtil.objectMapper;
       try {
          DefaultPrettyPrinter rpp = (space.length > 0)
@@ -72,7 +72,7 @@ public byte[] apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
          rpp.indentArraysWith(ind);
          rpp.indentObjectsWith(ind);
 
-         var rootNode = mapper.readTree(new String(doc, StandardCharsets.UTF_8));
+         var rootNode = doc.tree();
          var jpCtx = JSONUtil.parserForGet.parse(rootNode);
          // If no path provided return root in legacy format
          if (paths == null || paths.size() == 0) {
@@ -41,7 +41,7 @@ public List<Long> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
          return null;
       }
       try {
-         var rootNode = JSONUtil.objectMapper.readTree(doc.value());
+         var rootNode = doc.tree();
          var jpCtx = JSONUtil.parserForGet.parse(rootNode);
          JsonPath jpath = JsonPath.compile(pathStr);
          ArrayNode nodeList = jpCtx.read(jpath);
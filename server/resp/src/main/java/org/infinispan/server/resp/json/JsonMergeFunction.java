@@ -46,7 +46,7 @@ public String apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
                 entryView.set(new JsonBucket(value));
                 return RespConstants.OK;
             } else {
-                var rootObjectNode = (ObjectNode) JSONUtil.objectMapper.readTree(doc.value());
+                var rootObjectNode = (ObjectNode) doc.mutableTree(new String(path, StandardCharsets.UTF_8));
                 if (JSONUtil.isRoot(path)) {
                     return handleRootMerge(entryView, updateNode, rootObjectNode);
                 } else {
@@ -83,7 +83,7 @@ private String handleWildcardPath(ReadWriteEntryView<byte[], JsonBucket> entryVi
             for (JsonNode pathAsNode : pathList) {
                 merge(updateNode, JsonPath.compile(pathAsNode.asText()), jpCtx);
             }
-            entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootObjectNode)));
+            entryView.set(new JsonBucket(rootObjectNode));
             return RespConstants.OK;
         }
     }
@@ -99,7 +99,7 @@ private String handleDefinitePath(ReadWriteEntryView<byte[], JsonBucket> entryVi
             } else {
                 merge(updateNode, jpath, jpCtx);
             }
-            entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootObjectNode)));
+            entryView.set(new JsonBucket(rootObjectNode));
             return RespConstants.OK;
         } catch (Exception e) {
             return null;
@@ -110,10 +110,10 @@ private String handleRootMerge(ReadWriteEntryView<byte[], JsonBucket> entryView,
                                    ObjectNode rootObjectNode)
             throws JsonProcessingException {
         if (updateNode.isNull()) {
-            entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(updateNode)));
+            entryView.set(new JsonBucket(updateNode));
         } else {
             deepMerge((ObjectNode) rootObjectNode, (ObjectNode) updateNode);
-            entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootObjectNode)));
+            entryView.set(new JsonBucket(rootObjectNode));
         }
         return RespConstants.OK;
     }
@@ -53,7 +53,7 @@ public List<Number> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
 
       var pathStr = new String(path, StandardCharsets.UTF_8);
       try {
-         JsonNode rootNode = JSONUtil.objectMapper.readTree(doc.value());
+         JsonNode rootNode = doc.mutableTree(pathStr);
          DocumentContext modifiableCtx = JSONUtil.parserForMod.parse(rootNode);
          DocumentContext getForContext = JSONUtil.parserForGet.parse(rootNode);
          JsonPath jpath = JsonPath.compile(pathStr);
@@ -99,7 +99,7 @@ public List<Number> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
             }
          }
          if (changed) {
-            entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootNode)));
+            entryView.set(new JsonBucket(rootNode));
          }
          return resList;
       } catch (CacheException e) {
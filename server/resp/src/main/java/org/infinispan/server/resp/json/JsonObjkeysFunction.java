@@ -15,9 +15,7 @@
 import org.infinispan.server.resp.RespUtil;
 import org.infinispan.util.function.SerializableFunction;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -38,11 +36,10 @@ public List<List<byte[]>> apply(ReadWriteEntryView<byte[], JsonBucket> entryView
         Optional<JsonBucket> existing = entryView.peek();
         if (existing.isEmpty())
             return null;
-        byte[] doc = existing.get().value();
-        ObjectMapper mapper = JSONUtil.objectMapper;
+        JsonBucket doc = existing.get();
         JsonNode rootNode;
         try {
-            rootNode = mapper.readTree(RespUtil.utf8(doc));
+            rootNode = doc.tree();
             var jpCtx = JSONUtil.parserForGet.parse(rootNode);
             ArrayNode nodeList = jpCtx.read(RespUtil.utf8(path));
             ArrayList<List<byte[]>> resultList = new ArrayList<>();
@@ -58,7 +55,9 @@ public List<List<byte[]>> apply(ReadWriteEntryView<byte[], JsonBucket> entryView
                 }
             }
             return resultList;
-        } catch (JsonProcessingException e) {
+        } catch (CacheException e) {
+            throw e;
+        } catch (Exception e) {
             throw new CacheException(e);
         }
     }
@@ -35,7 +35,7 @@ public List<Object> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
         }
         var pathStr = new String(path, StandardCharsets.UTF_8);
         try {
-            var rootNode = JSONUtil.objectMapper.readTree(doc.value());
+            var rootNode = doc.tree();
             var jpCtx = JSONUtil.parserForGet.parse(rootNode);
             JsonPath jpath = JsonPath.compile(pathStr);
             ArrayNode nodeList = jpCtx.read(jpath);
@@ -74,9 +74,9 @@ public String apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
          return RespConstants.OK;
       }
       try {
-         var rootObjectNode = JSONUtil.objectMapper.readTree(doc.value());
-         var jpCtx = JSONUtil.parserForSet.parse(rootObjectNode);
          var pathStr = new String(jsonPath, StandardCharsets.UTF_8);
+         var rootObjectNode = doc.mutableTree(pathStr);
+         var jpCtx = JSONUtil.parserForSet.parse(rootObjectNode);
          JsonNode node = jpCtx.read(pathStr);
          if ((node == null || node.isNull()) && xx || node != null && !node.isNull() && nx) {
             return null;
@@ -92,7 +92,7 @@ public String apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
             }
          }
          if (resObj != null) {
-            entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootObjectNode)));
+            entryView.set(new JsonBucket(rootObjectNode));
             return RespConstants.OK;
          } else {
             return null;
@@ -41,7 +41,7 @@ public List<Long> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
         }
         var pathStr = new String(path, StandardCharsets.UTF_8);
         try {
-            var rootNode = JSONUtil.objectMapper.readTree(doc.value());
+            var rootNode = doc.mutableTree(pathStr);
             var jpCtxPath = JSONUtil.parserForMod.parse(rootNode);
             var jpCtx = JSONUtil.parserForGet.parse(rootNode);
             JsonPath jpath = JsonPath.compile(pathStr);
@@ -69,7 +69,7 @@ public List<Long> apply(ReadWriteEntryView<byte[], JsonBucket> entryView) {
                 }
             }
             if (changed) {
-                entryView.set(new JsonBucket(JSONUtil.objectMapper.writeValueAsBytes(rootNode)));
+                entryView.set(new JsonBucket(rootNode));
             }
             return resList;
         } catch (IOException e) {
@@ -0,0 +1,245 @@
+package org.infinispan.server.resp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.infinispan.server.resp.test.RespTestingUtil.assertWrongType;
+import static org.infinispan.test.TestingUtil.extractComponent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.CacheNotifierImpl;
+import org.infinispan.server.resp.commands.stream.AbstractStreamRead;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.lettuce.core.Consumer;
+import io.lettuce.core.Limit;
+import io.lettuce.core.PendingMessage;
+import io.lettuce.core.PendingMessages;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.XGroupCreateArgs;
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.XReadArgs.StreamOffset;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisCommands;
+
+/**
+ * RESP Stream commands testing
+ *
+ * @since 16.3
+ */
+@Test(groups = "functional", testName = "server.resp.StreamCommandsTest")
+public class StreamCommandsTest extends SingleNodeRespBaseTest {
+
+   RedisCommands<String, String> redis;
+
+   @Override
+   public Object[] factory() {
+      return new Object[] {
+            new StreamCommandsTest(),
+            new StreamCommandsTest().withAuthorization(),
+      };
+   }
+
+   @BeforeMethod
+   public void initConnection() {
+      redis = redisConnection.sync();
+   }
+
+   private static List<String> ids(List<StreamMessage<String, String>> messages) {
+      return messages.stream().map(StreamMessage::getId).toList();
+   }
+
+   public void testXaddAndXrange() {
+      assertThat(redis.xadd("stream", XAddArgs.Builder.id("1-1"), "name", "tristan")).isEqualTo("1-1");
+      assertThat(redis.xadd("stream", XAddArgs.Builder.id("1-*"), "name", "william")).isEqualTo("1-2");
+      assertThat(redis.xadd("stream", XAddArgs.Builder.id("5"), "name", "jose", "age", "40")).isEqualTo("5-0");
+      String auto = redis.xadd("stream", "name", "pedro");
+      assertThat(auto).isNotNull();
+      assertThat(redis.xlen("stream")).isEqualTo(4);
+      assertThat(redis.type("stream")).isEqualTo("stream");
+
+      assertThatThrownBy(() -> redis.xadd("stream", XAddArgs.Builder.id("2-0"), "name", "late"))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("equal or smaller than the target stream top item");
+      assertThatThrownBy(() -> redis.xadd("other", XAddArgs.Builder.id("0-0"), "name", "zero"))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("must be greater than 0-0");
+      assertThatThrownBy(() -> redis.xadd("other", XAddArgs.Builder.id("abc"), "name", "invalid"))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("Invalid stream ID");
+
+      List<StreamMessage<String, String>> messages = redis.xrange("stream", Range.create("-", "+"));
+      assertThat(ids(messages)).containsExactly("1-1", "1-2", "5-0", auto);
+      assertThat(messages.get(2).getBody()).containsEntry("name", "jose").containsEntry("age", "40");
+
+      messages = redis.xrange("stream", Range.create("1", "1"));
+      assertThat(ids(messages)).containsExactly("1-1", "1-2");
+      messages = redis.xrange("stream", Range.from(Range.Boundary.excluding("1-1"), Range.Boundary.including("5")));
+      assertThat(ids(messages)).containsExactly("1-2", "5-0");
+      messages = redis.xrange("stream", Range.create("-", "+"), Limit.from(2));
+      assertThat(ids(messages)).containsExactly("1-1", "1-2");
+      messages = redis.xrevrange("stream", Range.create("-", "+"), Limit.from(2));
+      assertThat(ids(messages)).containsExactly(auto, "5-0");
+      assertThat(redis.xrange("unknown", Range.create("-", "+"))).isEmpty();
+      assertThat(redis.xlen("unknown")).isZero();
+   }
+
+   public void testXaddNoMkStream() {
+      assertThat(redis.xadd("stream", XAddArgs.Builder.nomkstream(), "name", "tristan")).isNull();
+      assertThat(redis.exists("stream")).isZero();
+   }
+
+   public void testXdelAndXtrim() {
+      for (int i = 1; i <= 10; i++) {
+         redis.xadd("stream", XAddArgs.Builder.id(i + "-0"), "i", Integer.toString(i));
+      }
+      assertThat(redis.xdel("stream", "2-0", "3-0", "42-0")).isEqualTo(2);
+      assertThat(redis.xlen("stream")).isEqualTo(8);
+      assertThat(redis.xtrim("stream", 5)).isEqualTo(3);
+      assertThat(ids(redis.xrange("stream", Range.create("-", "+")))).containsExactly("6-0", "7-0", "8-0", "9-0", "10-0");
+
+      redis.xadd("stream", XAddArgs.Builder.id("11-0").maxlen(2), "i", "11");
+      assertThat(ids(redis.xrange("stream", Range.create("-", "+")))).containsExactly("10-0", "11-0");
+      redis.xadd("stream", XAddArgs.Builder.id("12-0").minId("11"), "i", "12");
+      assertThat(ids(redis.xrange("stream", Range.create("-", "+")))).containsExactly("11-0", "12-0");
+   }
+
+   public void testXread() {
+      redis.xadd("s1", XAddArgs.Builder.id("1-0"), "a", "1");
+      redis.xadd("s1", XAddArgs.Builder.id("2-0"), "a", "2");
+      redis.xadd("s2", XAddArgs.Builder.id("3-0"), "b", "3");
+
+      List<StreamMessage<String, String>> messages = redis.xread(StreamOffset.from("s1", "0"), StreamOffset.from("s2", "0"));
+      assertThat(messages).extracting(StreamMessage::getStream).containsExactly("s1", "s1", "s2");
+      assertThat(ids(messages)).containsExactly("1-0", "2-0", "3-0");
+
+      messages = redis.xread(XReadArgs.Builder.count(1), StreamOffset.from("s1", "1-0"), StreamOffset.from("s2", "3-0"));
+      assertThat(ids(messages)).containsExactly("2-0");
+
+      assertThat(redis.xread(StreamOffset.latest("s1"))).isEmpty();
+   }
+
+   public void testBlockingXread() throws Exception {
+      redis.xadd("stream", XAddArgs.Builder.id("1-0"), "a", "1");
+      RedisAsyncCommands<String, String> async = newConnection().async();
+      RedisFuture<List<StreamMessage<String, String>>> future = registerListener(() ->
+            async.xread(XReadArgs.Builder.block(0), StreamOffset.latest("stream")));
+      try {
+         redis.xadd("stream", XAddArgs.Builder.id("2-0"), "a", "2");
+         assertThat(ids(future.get(10, TimeUnit.SECONDS))).containsExactly("2-0");
+      } finally {
+         verifyListenerUnregistered();
+      }
+
+      future = registerListener(() -> async.xread(XReadArgs.Builder.block(Duration.ofSeconds(1)),
+            StreamOffset.latest("stream")));
+      timeService.advance(TimeUnit.SECONDS.toMillis(2));
+      eventually(future::isDone);
+      assertThat(future.get()).isEmpty();
+      verifyListenerUnregistered();
+   }
+
+   public void testConsumerGroups() {
+      redis.xadd("stream", XAddArgs.Builder.id("1-0"), "a", "1");
+      redis.xadd("stream", XAddArgs.Builder.id("2-0"), "a", "2");
+      redis.xadd("stream", XAddArgs.Builder.id("3-0"), "a", "3");
+      assertThat(redis.xgroupCreate(StreamOffset.from("stream", "0"), "readers")).isEqualTo("OK");
+      assertThatThrownBy(() -> redis.xgroupCreate(StreamOffset.from("stream", "$"), "readers"))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageStartingWith("BUSYGROUP");
+      assertThatThrownBy(() -> redis.xgroupCreate(StreamOffset.from("missing", "$"), "readers"))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("requires the key to exist");
+      assertThat(redis.xgroupCreate(StreamOffset.from("missing", "$"), "readers", XGroupCreateArgs.Builder.mkstream()))
+            .isEqualTo("OK");
+
+      Consumer<String> alice = Consumer.from("readers", "alice");
+      Consumer<String> bob = Consumer.from("readers", "bob");
+      List<StreamMessage<String, String>> messages = redis.xreadgroup(alice, XReadArgs.Builder.count(2),
+            StreamOffset.lastConsumed("stream"));
+      assertThat(ids(messages)).containsExactly("1-0", "2-0");
+      messages = redis.xreadgroup(bob, StreamOffset.lastConsumed("stream"));
+      assertThat(ids(messages)).containsExactly("3-0");
+      assertThat(redis.xreadgroup(bob, StreamOffset.lastConsumed("stream"))).isEmpty();
+
+      // The history of a consumer is the list of entries pending for it
+      messages = redis.xreadgroup(alice, StreamOffset.from("stream", "0"));
+      assertThat(ids(messages)).containsExactly("1-0", "2-0");
+
+      PendingMessages summary = redis.xpending("stream", "readers");
+      assertThat(summary.getCount()).isEqualTo(3);
+      assertThat(summary.getMessageIds().getLower().getValue()).isEqualTo("1-0");
+      assertThat(summary.getMessageIds().getUpper().getValue()).isEqualTo("3-0");
+      assertThat(summary.getConsumerMessageCount()).containsEntry("alice", 2L).containsEntry("bob", 1L);
+
+      List<PendingMessage> pending = redis.xpending("stream", alice, Range.create("-", "+"), Limit.from(10));
+      assertThat(pending).extracting(PendingMessage::getId).containsExactly("1-0", "2-0");
+      assertThat(pending.get(0).getRedeliveryCount()).isEqualTo(2);
+
+      assertThat(redis.xack("stream", "readers", "1-0", "3-0", "42-0")).isEqualTo(2);
+      assertThat(redis.xpending("stream", "readers").getCount()).isEqualTo(1);
+
+      assertThat(redis.xgroupCreateconsumer("stream", Consumer.from("readers", "carol"))).isTrue();
+      assertThat(redis.xgroupCreateconsumer("stream", Consumer.from("readers", "carol"))).isFalse();
+      assertThat(redis.xgroupDelconsumer("stream", alice)).isEqualTo(1);
+      assertThat(redis.xpending("stream", "readers").getCount()).isZero();
+
+      assertThat(redis.xgroupSetid(StreamOffset.from("stream", "0"), "readers")).isEqualTo("OK");
+      messages = redis.xreadgroup(bob, XReadArgs.Builder.noack(true), StreamOffset.lastConsumed("stream"));
+      assertThat(ids(messages)).containsExactly("1-0", "2-0", "3-0");
+      assertThat(redis.xpending("stream", "readers").getCount()).isZero();
+
+      assertThat(redis.xgroupDestroy("stream", "readers")).isTrue();
+      assertThat(redis.xgroupDestroy("stream", "readers")).isFalse();
+      assertThatThrownBy(() -> redis.xreadgroup(bob, StreamOffset.lastConsumed("stream")))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageStartingWith("NOGROUP");
+   }
+
+   public void testBlockingXreadgroup() throws Exception {
+      redis.xgroupCreate(StreamOffset.from("stream", "$"), "readers", XGroupCreateArgs.Builder.mkstream());
+      RedisAsyncCommands<String, String> async = newConnection().async();
+      RedisFuture<List<StreamMessage<String, String>>> future = registerListener(() ->
+            async.xreadgroup(Consumer.from("readers", "alice"), XReadArgs.Builder.block(0),
+                  StreamOffset.lastConsumed("stream")));
+      try {
+         redis.xadd("stream", XAddArgs.Builder.id("1-0"), "a", "1");
+         assertThat(ids(future.get(10, TimeUnit.SECONDS))).containsExactly("1-0");
+      } finally {
+         verifyListenerUnregistered();
+      }
+      assertThat(redis.xpending("stream", "readers").getCount()).isEqualTo(1);
+   }
+
+   public void testWrongType() {
+      assertWrongType(() -> redis.set("key", "value"), () -> redis.xadd("key", "a", "1"));
+      assertWrongType(() -> {}, () -> redis.xlen("key"));
+      assertWrongType(() -> redis.rpush("list", "value"), () -> redis.xrange("list", Range.create("-", "+")));
+   }
+
+   private <T> RedisFuture<T> registerListener(Supplier<RedisFuture<T>> redisOp) {
+      CacheNotifierImpl<?, ?> cni = (CacheNotifierImpl<?, ?>) extractComponent(cache, CacheNotifier.class);
+      long pre = listenerCount(cni);
+      RedisFuture<T> rf = redisOp.get();
+      eventually(() -> listenerCount(cni) == pre + 1 || rf.isDone());
+      return rf;
+   }
+
+   private void verifyListenerUnregistered() {
+      CacheNotifierImpl<?, ?> cni = (CacheNotifierImpl<?, ?>) extractComponent(cache, CacheNotifier.class);
+      eventually(() -> listenerCount(cni) == 0);
+   }
+
+   private static long listenerCount(CacheNotifierImpl<?, ?> cni) {
+      return cni.getListeners().stream().filter(l -> l instanceof AbstractStreamRead.StreamListener).count();
+   }
+}
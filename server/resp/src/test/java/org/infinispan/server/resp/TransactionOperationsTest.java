@@ -334,7 +334,7 @@ public void testAbortBecauseOfError() {
       assertThat(redis.set(k(), v())).isNull();
 
       // Command doesn't exist.
-      redis.xadd(k(1), v(), v(1));
+      redis.lastsave();
 
       assertThatThrownBy(redis::exec)
             .isInstanceOf(RedisCommandExecutionException.class)
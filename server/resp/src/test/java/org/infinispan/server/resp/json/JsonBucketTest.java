@@ -0,0 +1,74 @@
+package org.infinispan.server.resp.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+@Test(groups = "unit", testName = "resp.json.JsonBucketTest")
+public class JsonBucketTest {
+
+   public void testTreeFromBytes() {
+      JsonBucket bucket = new JsonBucket("{\"a\":[1,2,3]}".getBytes(StandardCharsets.UTF_8));
+      JsonNode tree = bucket.tree();
+      assertThat(tree.get("a").size()).isEqualTo(3);
+      // The parsed tree is cached
+      assertThat(bucket.tree()).isSameAs(tree);
+   }
+
+   public void testBytesFromTree() throws Exception {
+      JsonNode tree = JSONUtil.objectMapper.readTree("{\"a\":\"b\"}");
+      JsonBucket bucket = new JsonBucket(tree);
+      JsonBucket copy = new JsonBucket(bucket.value());
+      assertThat(copy.tree()).isEqualTo(tree);
+   }
+
+   public void testMutableTreeIsACopy() {
+      JsonBucket bucket = new JsonBucket("{\"a\":[1]}".getBytes(StandardCharsets.UTF_8));
+      ObjectNode mutable = (ObjectNode) bucket.mutableTree("$");
+      mutable.put("b", 2);
+      assertThat(bucket.tree().has("b")).isFalse();
+      assertThat(new String(bucket.value(), StandardCharsets.UTF_8)).isEqualTo("{\"a\":[1]}");
+      assertThat(mutable.get("a")).isInstanceOf(InfinispanJacksonArrayNode.class);
+   }
+
+   public void testMutableTreeCopiesOnlyThePath() {
+      String json = "{\"a\":{\"b\":[1,{\"c\":2}]},\"d\":{\"e\":3}}";
+      JsonBucket bucket = new JsonBucket(json.getBytes(StandardCharsets.UTF_8));
+      JsonNode tree = bucket.tree();
+      ObjectNode mutable = (ObjectNode) bucket.mutableTree("$.a.b[1]");
+      assertThat(mutable).isNotSameAs(tree).isEqualTo(tree);
+      assertThat(mutable.get("a")).isNotSameAs(tree.get("a"));
+      assertThat(mutable.get("a").get("b")).isNotSameAs(tree.get("a").get("b"))
+            .isInstanceOf(InfinispanJacksonArrayNode.class);
+      assertThat(mutable.get("a").get("b").get(1)).isNotSameAs(tree.get("a").get("b").get(1));
+      // The subtrees outside the path are shared
+      assertThat(mutable.get("d")).isSameAs(tree.get("d"));
+
+      ((ObjectNode) mutable.get("a").get("b").get(1)).put("c", 5);
+      assertThat(tree.get("a").get("b").get(1).get("c").asInt()).isEqualTo(2);
+   }
+
+   public void testMutableTreeCopiesTheParentOfAMissingLeaf() {
+      JsonBucket bucket = new JsonBucket("{\"a\":{\"b\":1},\"d\":{\"e\":3}}".getBytes(StandardCharsets.UTF_8));
+      JsonNode tree = bucket.tree();
+      ObjectNode mutable = (ObjectNode) bucket.mutableTree("$.a.c");
+      ((ObjectNode) mutable.get("a")).put("c", 2);
+      assertThat(tree.get("a").has("c")).isFalse();
+      assertThat(mutable.get("d")).isSameAs(tree.get("d"));
+   }
+
+   public void testMutableTreeWithWildcard() {
+      JsonBucket bucket = new JsonBucket("{\"a\":{\"x\":1},\"b\":{\"x\":2},\"c\":3}".getBytes(StandardCharsets.UTF_8));
+      JsonNode tree = bucket.tree();
+      ObjectNode mutable = (ObjectNode) bucket.mutableTree("$..x");
+      ((ObjectNode) mutable.get("a")).put("x", 10);
+      ((ObjectNode) mutable.get("b")).put("x", 20);
+      assertThat(tree.get("a").get("x").asInt()).isEqualTo(1);
+      assertThat(tree.get("b").get("x").asInt()).isEqualTo(2);
+   }
+}
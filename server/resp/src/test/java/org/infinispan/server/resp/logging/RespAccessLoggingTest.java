@@ -64,7 +64,7 @@ public void testAccessLog() {
       redis.mset(Map.of("k1", "v1", "k2", "v2", "k3", "v3"));
 
       // Unknown command.
-      assertThatThrownBy(() -> redis.xadd("something", "kv1", "kv2"))
+      assertThatThrownBy(redis::lastsave)
             .hasMessageContaining("unknown command");
 
       server.getTransport().stop();
@@ -0,0 +1,113 @@
+package org.infinispan.server.resp.profiling;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.server.resp.json.JSONUtil;
+import org.infinispan.server.resp.json.JsonBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * This benchmark compares JSONPath reads and updates of large JSON documents kept as bytes, which are parsed and
+ * serialized by every operation, with the same operations on the parsed tree of a {@link JsonBucket}.
+ *
+ * @since 16.3
+ */
+public class JsonBucketBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(JsonBucketBenchmark.class.getName() + ".State.*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      // 2000 items make a document of about 200 KB
+      @Param({"100", "2000"})
+      int items;
+
+      private byte[] bytes;
+      private JsonBucket bucket;
+      private JsonPath getPath;
+      private JsonPath setPath;
+      private String setPathString;
+      private int counter;
+
+      @Setup
+      public void setup() throws IOException {
+         ObjectNode root = JSONUtil.objectMapper.createObjectNode();
+         root.put("counter", 0);
+         ArrayNode array = root.putArray("items");
+         for (int i = 0; i < items; i++) {
+            ObjectNode item = array.addObject();
+            item.put("id", i);
+            item.put("name", "item-" + i);
+            item.put("description", "A description long enough to make the item about a hundred bytes");
+            item.putArray("tags").add("tag-" + i % 10).add("tag-" + i % 7);
+         }
+         bytes = JSONUtil.objectMapper.writeValueAsBytes(root);
+         bucket = new JsonBucket(bytes);
+         getPath = JsonPath.compile("$.items[" + items / 2 + "].name");
+         setPathString = "$.items[" + items / 2 + "].id";
+         setPath = JsonPath.compile(setPathString);
+      }
+
+      @Benchmark
+      public Object getFromBytes() throws IOException {
+         JsonNode tree = JSONUtil.objectMapper.readTree(bytes);
+         return JSONUtil.parserForGet.parse(tree).read(getPath);
+      }
+
+      @Benchmark
+      public Object getFromTree() {
+         return JSONUtil.parserForGet.parse(bucket.tree()).read(getPath);
+      }
+
+      @Benchmark
+      public byte[] setInBytes() throws IOException {
+         JsonNode tree = JSONUtil.objectMapper.readTree(bytes);
+         setPath.set(tree, IntNode.valueOf(counter++), JSONUtil.configForDefiniteSet);
+         return JSONUtil.objectMapper.writeValueAsBytes(tree);
+      }
+
+      @Benchmark
+      public JsonBucket setInTree() {
+         JsonNode tree = bucket.mutableTree(setPathString);
+         setPath.set(tree, IntNode.valueOf(counter++), JSONUtil.configForDefiniteSet);
+         return new JsonBucket(tree);
+      }
+
+      @Benchmark
+      public JsonBucket setInDeepCopy() {
+         JsonNode tree = bucket.tree().deepCopy();
+         setPath.set(tree, IntNode.valueOf(counter++), JSONUtil.configForDefiniteSet);
+         return new JsonBucket(tree);
+      }
+   }
+}